@@ -17,12 +17,18 @@
  * History
  *
  * 12.05.2009 - [RH] - creation
+ * 18.10.2026 - [JR] - getTESTPREFETCH, getTESTSTREAMERROR
  */
 package demo;
 
+import java.util.List;
+
+import javax.rad.model.SortDefinition;
+import javax.rad.model.condition.ICondition;
 import javax.rad.persist.DataSourceException;
 
 import com.sibvisions.rad.persist.jdbc.DBStorage;
+import com.sibvisions.rad.persist.jdbc.HSQLDBAccess;
 
 /**
  * The <code>StorageDataBookTest</code> class contains objects for the 
@@ -82,6 +88,81 @@ public class StorageDataBookTest extends Session
 		return dbTest;
 	}
 	
+	/**
+	 * Returns the Test storage which fetches only the requested rows.
+	 * 
+	 * @return the Test storage without additional rows.
+	 * @throws DataSourceException if the storage couldn't be opened.
+	 */
+	public DBStorage getTESTPREFETCH() throws DataSourceException
+	{
+		DBStorage dbTest = (DBStorage)get("TESTPREFETCH");
+		
+		if (dbTest == null) 
+		{
+			HSQLDBAccess dba = new HSQLDBAccess();
+			dba.setUrl("jdbc:hsqldb:hsql://localhost/testdb");
+			dba.setUsername("sa");
+			dba.setPassword("");
+			// no time based fetch of additional rows
+			dba.setMaxTime(0);
+			dba.open();
+			
+			dbTest = new DBStorage();
+			dbTest.setDBAccess(dba);
+			dbTest.setWritebackTable("TEST");
+			dbTest.setFromClause("TEST");
+			dbTest.open();
+			
+			put("TESTPREFETCH", dbTest);
+		}
+		return dbTest;
+	}
+	
+	/**
+	 * Returns the Test storage which fails to fetch all rows after the first fetch.
+	 * 
+	 * @return the Test storage with broken fetch.
+	 * @throws DataSourceException if the storage couldn't be opened.
+	 */
+	public DBStorage getTESTSTREAMERROR() throws DataSourceException
+	{
+		DBStorage dbTest = (DBStorage)get("TESTSTREAMERROR");
+		
+		if (dbTest == null) 
+		{
+			HSQLDBAccess dba = new HSQLDBAccess();
+			dba.setUrl("jdbc:hsqldb:hsql://localhost/testdb");
+			dba.setUsername("sa");
+			dba.setPassword("");
+			// no time based fetch of additional rows
+			dba.setMaxTime(0);
+			dba.open();
+			
+			dbTest = new DBStorage()
+			{
+				@Override
+				protected List<Object[]> executeFetch(ICondition pFilter, SortDefinition pSort, int pFromRow, int pMinimumRowCount) throws DataSourceException
+				{
+					if (pFromRow > 0)
+					{
+						throw new DataSourceException("Fetch from row " + pFromRow + " failed!");
+					}
+					
+					return super.executeFetch(pFilter, pSort, pFromRow, pMinimumRowCount);
+				}
+			};
+			dbTest.setDBAccess(dba);
+			dbTest.setWritebackTable("TEST");
+			dbTest.setFromClause("TEST");
+			dbTest.open();
+			
+			put("TESTSTREAMERROR", dbTest);
+		}
+		return dbTest;
+	}
+	
+
 	/**
 	 * Returns the Detail storage.
 	 * 
@@ -0,0 +1,766 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+import javax.rad.model.IRowDefinition;
+import javax.rad.model.ModelException;
+import javax.rad.model.datatype.IDataType;
+
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>ColumnIndex</code> is a secondary index over one or more columns of the storage of a {@link MemDataPage}.
+ * It maps the column values to the storage indexes of the rows (hash index) and, for single column indexes, holds
+ * the storage indexes sorted by value (range index). The range index is created on first use.
+ * <p>
+ * The index is only used for <code>String</code>, <code>BigDecimal</code>, <code>Boolean</code> and <code>Date</code>
+ * values. If a column contains other values, the index is not usable and all lookups return <code>null</code>.
+ * All lookups return a superset of the matching rows, so the conditions have to be checked for the returned rows.
+ *
+ * @author René Jahn
+ * @see IndexPlanner
+ */
+final class ColumnIndex
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the key for <code>null</code> values. */
+	private static final Object NULL = new Object();
+
+	/** an empty result. */
+	private static final int[] EMPTY = new int[0];
+
+	/** the column indexes. */
+	private int[] iaColumnIndexes;
+
+	/** the data types of the columns. */
+	private IDataType[] dataTypes;
+
+	/** the value classes of the columns. */
+	private Class<?>[] clValueClasses;
+
+	/** the storage indexes per key. */
+	private HashMap<Object, Bucket> hmBuckets = new HashMap<Object, Bucket>();
+
+	/** the key of every storage row. */
+	private ArrayUtil<Object> auKeys = new ArrayUtil<Object>();
+
+	/** the storage indexes, sorted by value. */
+	private int[] iaSorted;
+
+	/** the values in the order of {@link #iaSorted}. */
+	private Object[] oaSorted;
+
+	/** the storage indexes, sorted by lower case value. */
+	private int[] iaSortedLower;
+
+	/** the lower case values in the order of {@link #iaSortedLower}. */
+	private String[] saSortedLower;
+
+	/** whether the index is usable. */
+	private boolean bUsable = true;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>ColumnIndex</code> for the given storage.
+	 *
+	 * @param pRowDefinition the row definition of the storage
+	 * @param pColumnNames the indexed columns
+	 * @param pStorage the storage
+	 * @throws ModelException if a column doesn't exist or a value can't be prepared
+	 */
+	ColumnIndex(IRowDefinition pRowDefinition, String[] pColumnNames, List<Object[]> pStorage) throws ModelException
+	{
+		iaColumnIndexes = new int[pColumnNames.length];
+		dataTypes = new IDataType[pColumnNames.length];
+		clValueClasses = new Class<?>[pColumnNames.length];
+
+		for (int i = 0; i < pColumnNames.length; i++)
+		{
+			iaColumnIndexes[i] = pRowDefinition.getColumnDefinitionIndex(pColumnNames[i]);
+
+			if (iaColumnIndexes[i] < 0)
+			{
+				throw new ModelException("Index column '" + pColumnNames[i] + "' doesn't exist!");
+			}
+
+			dataTypes[i] = pRowDefinition.getColumnDefinition(iaColumnIndexes[i]).getDataType();
+		}
+
+		for (int i = 0, cnt = pStorage.size(); i < cnt && bUsable; i++)
+		{
+			add(pStorage.get(i));
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the indexed column indexes.
+	 *
+	 * @return the column indexes
+	 */
+	int[] getColumnIndexes()
+	{
+		return iaColumnIndexes;
+	}
+
+	/**
+	 * Gets the data type of an indexed column.
+	 *
+	 * @param pIndex the position in the index
+	 * @return the data type
+	 */
+	IDataType getDataType(int pIndex)
+	{
+		return dataTypes[pIndex];
+	}
+
+	/**
+	 * Gets whether the index can be used.
+	 *
+	 * @return <code>true</code> if all indexed values are supported
+	 */
+	boolean isUsable()
+	{
+		return bUsable;
+	}
+
+	/**
+	 * Adds a row at the end of the storage.
+	 *
+	 * @param pValues the row storage
+	 * @throws ModelException if a value can't be prepared
+	 */
+	void add(Object[] pValues) throws ModelException
+	{
+		if (!bUsable)
+		{
+			return;
+		}
+
+		Object oKey = createKey(pValues);
+
+		int iRow = auKeys.size();
+
+		auKeys.add(oKey);
+
+		if (oKey != null)
+		{
+			getBucket(oKey).add(iRow);
+		}
+
+		clearSorted();
+	}
+
+	/**
+	 * Updates the key of a row, after the row was changed.
+	 *
+	 * @param pRow the storage index
+	 * @param pValues the row storage
+	 * @throws ModelException if a value can't be prepared
+	 */
+	void update(int pRow, Object[] pValues) throws ModelException
+	{
+		if (!bUsable)
+		{
+			return;
+		}
+
+		Object oOldKey = auKeys.get(pRow);
+		Object oNewKey = createKey(pValues);
+
+		if (oOldKey == null ? oNewKey == null : oOldKey.equals(oNewKey))
+		{
+			return;
+		}
+
+		if (oOldKey != null)
+		{
+			Bucket bucket = hmBuckets.get(oOldKey);
+
+			bucket.remove(pRow);
+
+			if (bucket.iSize == 0)
+			{
+				hmBuckets.remove(oOldKey);
+			}
+		}
+
+		if (oNewKey != null)
+		{
+			getBucket(oNewKey).add(pRow);
+		}
+
+		auKeys.set(pRow, oNewKey);
+
+		clearSorted();
+	}
+
+	/**
+	 * Gets the rows with the given values.
+	 *
+	 * @param pValues the values in the order of the index columns, already converted to the data type
+	 * @return the ascending storage indexes or <code>null</code> if the index can't be used
+	 */
+	int[] getEquals(Object[] pValues)
+	{
+		if (!bUsable)
+		{
+			return null;
+		}
+
+		Object[] oaKey = new Object[pValues.length];
+
+		for (int i = 0; i < pValues.length; i++)
+		{
+			oaKey[i] = normalize(pValues[i], i);
+
+			if (oaKey[i] == null)
+			{
+				return null;
+			}
+		}
+
+		Bucket bucket = hmBuckets.get(oaKey.length == 1 ? oaKey[0] : Arrays.asList(oaKey));
+
+		if (bucket == null)
+		{
+			return EMPTY;
+		}
+
+		return ArrayUtil.truncate(bucket.iaRows, bucket.iSize);
+	}
+
+	/**
+	 * Gets the rows with a value greater than or equal to the given value. Only single column indexes support ranges.
+	 * Equal values are always included, because the key of a <code>Timestamp</code> doesn't contain the nanos.
+	 *
+	 * @param pValue the value, already converted to the data type
+	 * @return the ascending storage indexes or <code>null</code> if the index can't be used
+	 */
+	int[] getGreater(Object pValue)
+	{
+		if (!isRangeUsable(pValue))
+		{
+			return null;
+		}
+
+		int iFrom = searchSorted(pValue == null ? null : normalize(pValue, 0), false);
+
+		return getSortedRows(iaSorted, iFrom, iaSorted.length);
+	}
+
+	/**
+	 * Gets the rows with a value less than or equal to the given value. Only single column indexes support ranges.
+	 * Equal values are always included, because the key of a <code>Timestamp</code> doesn't contain the nanos.
+	 *
+	 * @param pValue the value, already converted to the data type
+	 * @return the ascending storage indexes or <code>null</code> if the index can't be used
+	 */
+	int[] getLess(Object pValue)
+	{
+		if (!isRangeUsable(pValue))
+		{
+			return null;
+		}
+
+		int iTo = searchSorted(pValue == null ? null : normalize(pValue, 0), true);
+
+		return getSortedRows(iaSorted, 0, iTo);
+	}
+
+	/**
+	 * Gets the rows with a value which starts with the given prefix. Only single <code>String</code> column
+	 * indexes support prefix searches.
+	 *
+	 * @param pPrefix the prefix
+	 * @param pIgnoreCase <code>true</code> to compare the lower case values with the (lower case) prefix
+	 * @return the ascending storage indexes or <code>null</code> if the index can't be used
+	 */
+	int[] getPrefix(String pPrefix, boolean pIgnoreCase)
+	{
+		if (!isRangeUsable(pPrefix))
+		{
+			return null;
+		}
+
+		int[] iaRows;
+		Object[] oaValues;
+
+		if (pIgnoreCase)
+		{
+			if (iaSortedLower == null)
+			{
+				createSortedLower();
+			}
+
+			iaRows = iaSortedLower;
+			oaValues = saSortedLower;
+		}
+		else
+		{
+			iaRows = iaSorted;
+			oaValues = oaSorted;
+		}
+
+		//nulls are at the beginning
+		int iLow = 0;
+		int iHigh = oaValues.length;
+
+		while (iLow < iHigh)
+		{
+			int iMid = (iLow + iHigh) >>> 1;
+
+			if (oaValues[iMid] == null || ((String)oaValues[iMid]).compareTo(pPrefix) < 0)
+			{
+				iLow = iMid + 1;
+			}
+			else
+			{
+				iHigh = iMid;
+			}
+		}
+
+		int iTo = iLow;
+
+		while (iTo < oaValues.length && ((String)oaValues[iTo]).startsWith(pPrefix))
+		{
+			iTo++;
+		}
+
+		return getSortedRows(iaRows, iLow, iTo);
+	}
+
+	/**
+	 * Checks if the range index can be used for the given value and creates the range index, if necessary.
+	 *
+	 * @param pValue the search value
+	 * @return <code>true</code> if the range index is usable
+	 */
+	private boolean isRangeUsable(Object pValue)
+	{
+		if (!bUsable || iaColumnIndexes.length != 1)
+		{
+			return false;
+		}
+
+		if (pValue != null && (clValueClasses[0] == null || !clValueClasses[0].isInstance(pValue) || normalize(pValue, 0) == null))
+		{
+			return false;
+		}
+
+		if (iaSorted == null)
+		{
+			createSorted();
+		}
+
+		return true;
+	}
+
+	/**
+	 * Searches the position of a value in the range index.
+	 *
+	 * @param pValue the value
+	 * @param pAfter <code>true</code> to get the position after all equal values
+	 * @return the position
+	 */
+	private int searchSorted(Object pValue, boolean pAfter)
+	{
+		int iLow = 0;
+		int iHigh = oaSorted.length;
+
+		while (iLow < iHigh)
+		{
+			int iMid = (iLow + iHigh) >>> 1;
+			int iCompare = compare(oaSorted[iMid], pValue);
+
+			if (iCompare < 0 || (pAfter && iCompare == 0))
+			{
+				iLow = iMid + 1;
+			}
+			else
+			{
+				iHigh = iMid;
+			}
+		}
+
+		return iLow;
+	}
+
+	/**
+	 * Creates the range index.
+	 */
+	private void createSorted()
+	{
+		int iCount = auKeys.size();
+
+		Integer[] iaRows = new Integer[iCount];
+		final Object[] oaValues = new Object[iCount];
+
+		for (int i = 0; i < iCount; i++)
+		{
+			iaRows[i] = Integer.valueOf(i);
+
+			Object oKey = auKeys.get(i);
+
+			oaValues[i] = oKey == NULL ? null : oKey;
+		}
+
+		Arrays.sort(iaRows, new Comparator<Integer>()
+		{
+			public int compare(Integer pRow1, Integer pRow2)
+			{
+				return ColumnIndex.this.compare(oaValues[pRow1.intValue()], oaValues[pRow2.intValue()]);
+			}
+		});
+
+		iaSorted = new int[iCount];
+		oaSorted = new Object[iCount];
+
+		for (int i = 0; i < iCount; i++)
+		{
+			iaSorted[i] = iaRows[i].intValue();
+			oaSorted[i] = oaValues[iaSorted[i]];
+		}
+	}
+
+	/**
+	 * Creates the lower case range index.
+	 */
+	private void createSortedLower()
+	{
+		int iCount = auKeys.size();
+
+		Integer[] iaRows = new Integer[iCount];
+		final String[] saValues = new String[iCount];
+
+		for (int i = 0; i < iCount; i++)
+		{
+			iaRows[i] = Integer.valueOf(i);
+
+			Object oKey = auKeys.get(i);
+
+			saValues[i] = oKey == NULL ? null : ((String)oKey).toLowerCase();
+		}
+
+		Arrays.sort(iaRows, new Comparator<Integer>()
+		{
+			public int compare(Integer pRow1, Integer pRow2)
+			{
+				return ColumnIndex.this.compare(saValues[pRow1.intValue()], saValues[pRow2.intValue()]);
+			}
+		});
+
+		iaSortedLower = new int[iCount];
+		saSortedLower = new String[iCount];
+
+		for (int i = 0; i < iCount; i++)
+		{
+			iaSortedLower[i] = iaRows[i].intValue();
+			saSortedLower[i] = saValues[iaSortedLower[i]];
+		}
+	}
+
+	/**
+	 * Clears the range indexes.
+	 */
+	private void clearSorted()
+	{
+		iaSorted = null;
+		oaSorted = null;
+		iaSortedLower = null;
+		saSortedLower = null;
+	}
+
+	/**
+	 * Compares two normalized values. <code>null</code> is less than all other values, like in
+	 * {@link javax.rad.model.datatype.DataType#compareTo(Object, Object)}.
+	 *
+	 * @param pValue1 the first value
+	 * @param pValue2 the second value
+	 * @return the comparison result
+	 */
+	@SuppressWarnings("unchecked")
+	private int compare(Object pValue1, Object pValue2)
+	{
+		if (pValue1 == pValue2)
+		{
+			return 0;
+		}
+		else if (pValue1 == null)
+		{
+			return -1;
+		}
+		else if (pValue2 == null)
+		{
+			return 1;
+		}
+
+		return ((Comparable<Object>)pValue1).compareTo(pValue2);
+	}
+
+	/**
+	 * Gets a copy of the storage indexes in the given range, sorted ascending.
+	 *
+	 * @param pRows the sorted storage indexes
+	 * @param pFrom the first position (inclusive)
+	 * @param pTo the last position (exclusive)
+	 * @return the ascending storage indexes
+	 */
+	private static int[] getSortedRows(int[] pRows, int pFrom, int pTo)
+	{
+		if (pFrom >= pTo)
+		{
+			return EMPTY;
+		}
+
+		int[] iaResult = Arrays.copyOfRange(pRows, pFrom, pTo);
+
+		Arrays.sort(iaResult);
+
+		return iaResult;
+	}
+
+	/**
+	 * Gets the bucket for a key. The bucket will be created, if it doesn't exist.
+	 *
+	 * @param pKey the key
+	 * @return the bucket
+	 */
+	private Bucket getBucket(Object pKey)
+	{
+		Bucket bucket = hmBuckets.get(pKey);
+
+		if (bucket == null)
+		{
+			bucket = new Bucket();
+
+			hmBuckets.put(pKey, bucket);
+		}
+
+		return bucket;
+	}
+
+	/**
+	 * Creates the key of a row.
+	 *
+	 * @param pValues the row storage
+	 * @return the key or <code>null</code> if the index isn't usable
+	 * @throws ModelException if a value can't be prepared
+	 */
+	private Object createKey(Object[] pValues) throws ModelException
+	{
+		if (iaColumnIndexes.length == 1)
+		{
+			return getKey(pValues, 0);
+		}
+
+		Object[] oaKey = new Object[iaColumnIndexes.length];
+
+		for (int i = 0; i < iaColumnIndexes.length; i++)
+		{
+			oaKey[i] = getKey(pValues, i);
+
+			if (oaKey[i] == null)
+			{
+				return null;
+			}
+		}
+
+		return Arrays.asList(oaKey);
+	}
+
+	/**
+	 * Gets the key for a column of a row.
+	 *
+	 * @param pValues the row storage
+	 * @param pIndex the position in the index
+	 * @return the normalized value or <code>null</code> if the index isn't usable
+	 * @throws ModelException if the value can't be prepared
+	 */
+	private Object getKey(Object[] pValues, int pIndex) throws ModelException
+	{
+		int iColumn = iaColumnIndexes[pIndex];
+
+		Object oValue = iColumn < pValues.length ? pValues[iColumn] : null;
+
+		if (oValue != null)
+		{
+			oValue = dataTypes[pIndex].prepareValue(oValue);
+
+			if (clValueClasses[pIndex] == null)
+			{
+				clValueClasses[pIndex] = getValueClass(oValue);
+			}
+		}
+
+		Object oKey = normalize(oValue, pIndex);
+
+		if (oKey == null)
+		{
+			bUsable = false;
+
+			hmBuckets.clear();
+			auKeys.clear();
+		}
+
+		return oKey;
+	}
+
+	/**
+	 * Normalizes a value, that values which are equal according to their <code>compareTo</code> method
+	 * have the same key.
+	 *
+	 * @param pValue the value
+	 * @param pIndex the position in the index
+	 * @return the key or <code>null</code> if the value is not supported
+	 */
+	private Object normalize(Object pValue, int pIndex)
+	{
+		if (pValue == null)
+		{
+			return NULL;
+		}
+
+		if (clValueClasses[pIndex] != null && !clValueClasses[pIndex].isInstance(pValue))
+		{
+			return null;
+		}
+
+		if (pValue instanceof BigDecimal)
+		{
+			BigDecimal bd = (BigDecimal)pValue;
+
+			return bd.signum() == 0 ? BigDecimal.ZERO : bd.stripTrailingZeros();
+		}
+		else if (pValue instanceof Date)
+		{
+			//Timestamps with different nanos have the same key, that's ok because the condition will be checked
+			return Long.valueOf(((Date)pValue).getTime());
+		}
+		else if (pValue instanceof String || pValue instanceof Boolean)
+		{
+			return pValue;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the class which is used to check that all values of a column are comparable.
+	 *
+	 * @param pValue the value
+	 * @return the value class
+	 */
+	private static Class<?> getValueClass(Object pValue)
+	{
+		if (pValue instanceof Date)
+		{
+			return Date.class;
+		}
+
+		return pValue.getClass();
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Bucket</code> holds the ascending storage indexes of all rows with the same key.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class Bucket
+	{
+		/** the storage indexes. */
+		private int[] iaRows = new int[2];
+
+		/** the number of storage indexes. */
+		private int iSize;
+
+		/**
+		 * Adds a storage index.
+		 *
+		 * @param pRow the storage index
+		 */
+		private void add(int pRow)
+		{
+			if (iSize == iaRows.length)
+			{
+				iaRows = Arrays.copyOf(iaRows, iSize * 2);
+			}
+
+			if (iSize == 0 || iaRows[iSize - 1] < pRow)
+			{
+				iaRows[iSize++] = pRow;
+			}
+			else
+			{
+				int iPos = Arrays.binarySearch(iaRows, 0, iSize, pRow);
+
+				if (iPos < 0)
+				{
+					iPos = -iPos - 1;
+
+					System.arraycopy(iaRows, iPos, iaRows, iPos + 1, iSize - iPos);
+
+					iaRows[iPos] = pRow;
+					iSize++;
+				}
+			}
+		}
+
+		/**
+		 * Removes a storage index.
+		 *
+		 * @param pRow the storage index
+		 */
+		private void remove(int pRow)
+		{
+			int iPos = Arrays.binarySearch(iaRows, 0, iSize, pRow);
+
+			if (iPos >= 0)
+			{
+				System.arraycopy(iaRows, iPos + 1, iaRows, iPos, iSize - iPos - 1);
+
+				iSize--;
+			}
+		}
+
+	}	// Bucket
+
+}	// ColumnIndex
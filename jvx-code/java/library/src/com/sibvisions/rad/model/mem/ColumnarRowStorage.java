@@ -0,0 +1,1032 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.RandomAccess;
+
+import javax.rad.model.IRowDefinition;
+import javax.rad.model.ModelException;
+import javax.rad.model.datatype.BigDecimalDataType;
+import javax.rad.model.datatype.BooleanDataType;
+import javax.rad.model.datatype.StringDataType;
+import javax.rad.model.datatype.TimestampDataType;
+
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>ColumnarRowStorage</code> is a column oriented row storage for {@link MemDataPage}.
+ * Unchanged rows are not stored as <code>Object[]</code> but as column vectors.
+ * <code>BigDecimal</code>, <code>Timestamp</code> and <code>Boolean</code> columns are stored
+ * in primitive arrays and <code>String</code> columns are dictionary encoded. All other columns are
+ * stored in plain <code>Object[]</code> vectors.
+ * <p>
+ * Rows with change information (inserting, updating, deleting, details changed) are kept as
+ * <code>Object[]</code> because the data book changes them by reference.
+ * <p>
+ * The <code>Object[]</code> of an unchanged row will be created on {@link #get(int)} and cached in
+ * a bounded row cache, so that repeated calls return the same instance as long as the row is cached.
+ * This keeps calculated values of the row calculator and is important for sorting. Changes of such an
+ * <code>Object[]</code> have to be written back with {@link #set(int, Object[])}.
+ *
+ * @author Ren Jahn
+ */
+public class ColumnarRowStorage extends AbstractList<Object[]>
+                                implements RandomAccess
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** The initial storage size. */
+	private static final int INIT_STORAGE_SIZE = 16;
+
+	/** The minimum dictionary size before a string column falls back to an object column. */
+	private static final int MIN_DICTIONARY_SIZE = 1024;
+
+	/** The maximum size of the row cache (power of 2). */
+	private static final int MAX_ROW_CACHE_SIZE = 65536;
+
+	/** The column vectors. */
+	private ColumnVector[] columns;
+
+	/** The column slot per row or <code>-1</code> for rows stored as <code>Object[]</code>. */
+	private int[] iaSlots = new int[INIT_STORAGE_SIZE];
+
+	/** The rows stored as <code>Object[]</code>, <code>null</code> for rows stored in columns. */
+	private Object[][] oaRows = new Object[INIT_STORAGE_SIZE][];
+
+	/** The amount of rows. */
+	private int iSize = 0;
+
+	/** The reusable column slots. */
+	private int[] iaFreeSlots = new int[INIT_STORAGE_SIZE];
+
+	/** The amount of reusable column slots. */
+	private int iFreeSlotCount = 0;
+
+	/** The amount of used column slots. */
+	private int iSlotCount = 0;
+
+	/** The allocated column slots. */
+	private int iSlotCapacity = INIT_STORAGE_SIZE;
+
+	/** The column count. */
+	private int iColumnCount;
+
+	/** The cached rows, the cache position is the row index modulo the cache size. */
+	private CachedRow[] crCachedRows = new CachedRow[INIT_STORAGE_SIZE];
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>ColumnarRowStorage</code> for the given row definition. The
+	 * column vectors are chosen by the data types of the column definitions.
+	 *
+	 * @param pRowDefinition the row definition
+	 * @throws ModelException if a column definition is not available
+	 */
+	public ColumnarRowStorage(IRowDefinition pRowDefinition) throws ModelException
+	{
+		iColumnCount = pRowDefinition.getColumnCount();
+
+		columns = new ColumnVector[iColumnCount];
+
+		for (int i = 0; i < iColumnCount; i++)
+		{
+			switch (pRowDefinition.getColumnDefinition(i).getDataType().getTypeIdentifier())
+			{
+				case BigDecimalDataType.TYPE_IDENTIFIER:
+					columns[i] = new DecimalVector(iSlotCapacity);
+					break;
+				case TimestampDataType.TYPE_IDENTIFIER:
+					columns[i] = new TimestampVector(iSlotCapacity);
+					break;
+				case BooleanDataType.TYPE_IDENTIFIER:
+					columns[i] = new BooleanVector(iSlotCapacity);
+					break;
+				case StringDataType.TYPE_IDENTIFIER:
+					columns[i] = new StringVector(iSlotCapacity);
+					break;
+				default:
+					columns[i] = new ObjectVector(iSlotCapacity);
+			}
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] get(int pIndex)
+	{
+		checkIndex(pIndex, iSize);
+
+		Object[] oaRow = oaRows[pIndex];
+
+		if (oaRow != null)
+		{
+			return oaRow;
+		}
+
+		int iSlot = iaSlots[pIndex];
+
+		if (iSlot < 0)
+		{
+			return null;
+		}
+
+		CachedRow[] crCache = crCachedRows;
+
+		int iCachePos = pIndex & (crCache.length - 1);
+
+		// read the slot only once, because concurrent readers (e.g. ParallelFilter) replace it
+		CachedRow crow = crCache[iCachePos];
+
+		if (crow != null && crow.iIndex == pIndex)
+		{
+			return crow.oaRow;
+		}
+
+		oaRow = new Object[iColumnCount];
+
+		for (int i = 0; i < iColumnCount; i++)
+		{
+			oaRow[i] = columns[i].get(iSlot);
+		}
+
+		crCache[iCachePos] = new CachedRow(pIndex, oaRow);
+
+		return oaRow;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size()
+	{
+		return iSize;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(int pIndex, Object[] pRow)
+	{
+		checkIndex(pIndex, iSize + 1);
+
+		if (iSize == iaSlots.length)
+		{
+			int iNewLength = iSize * 2;
+
+			iaSlots = Arrays.copyOf(iaSlots, iNewLength);
+			oaRows = Arrays.copyOf(oaRows, iNewLength);
+
+			if (iNewLength <= MAX_ROW_CACHE_SIZE)
+			{
+				crCachedRows = new CachedRow[iNewLength];
+			}
+		}
+
+		if (pIndex < iSize)
+		{
+			System.arraycopy(iaSlots, pIndex, iaSlots, pIndex + 1, iSize - pIndex);
+			System.arraycopy(oaRows, pIndex, oaRows, pIndex + 1, iSize - pIndex);
+
+			clearRowCache();
+		}
+
+		iaSlots[pIndex] = -1;
+		oaRows[pIndex] = null;
+
+		iSize++;
+		modCount++;
+
+		store(pIndex, pRow);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] set(int pIndex, Object[] pRow)
+	{
+		Object[] oaOld = get(pIndex);
+
+		store(pIndex, pRow);
+
+		return oaOld;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object[] remove(int pIndex)
+	{
+		Object[] oaOld = get(pIndex);
+
+		releaseSlot(pIndex);
+
+		iSize--;
+
+		if (pIndex < iSize)
+		{
+			System.arraycopy(iaSlots, pIndex + 1, iaSlots, pIndex, iSize - pIndex);
+			System.arraycopy(oaRows, pIndex + 1, oaRows, pIndex, iSize - pIndex);
+
+			clearRowCache();
+		}
+		else
+		{
+			crCachedRows[pIndex & (crCachedRows.length - 1)] = null;
+		}
+
+		oaRows[iSize] = null;
+		modCount++;
+
+		return oaOld;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear()
+	{
+		Arrays.fill(oaRows, 0, iSize, null);
+
+		clearRowCache();
+
+		iSize = 0;
+		iSlotCount = 0;
+		iFreeSlotCount = 0;
+
+		for (int i = 0; i < iColumnCount; i++)
+		{
+			columns[i].clear();
+		}
+
+		modCount++;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the amount of rows which are stored as <code>Object[]</code>.
+	 *
+	 * @return the amount of rows which are not stored in column vectors
+	 */
+	public int getObjectRowCount()
+	{
+		int iCount = 0;
+
+		for (int i = 0; i < iSize; i++)
+		{
+			if (oaRows[i] != null)
+			{
+				iCount++;
+			}
+		}
+
+		return iCount;
+	}
+
+	/**
+	 * Gets whether the column with the given index is stored in an primitive or dictionary encoded vector.
+	 * A column falls back to an <code>Object[]</code> vector, if a value can't be encoded.
+	 *
+	 * @param pColumnIndex the column index
+	 * @return <code>true</code> if the column is encoded, <code>false</code> if values are stored as objects
+	 */
+	public boolean isEncoded(int pColumnIndex)
+	{
+		return !(columns[pColumnIndex] instanceof ObjectVector);
+	}
+
+	/**
+	 * Stores the given row at the given index. Rows without change information are stored in the
+	 * column vectors, all other rows are stored by reference.
+	 *
+	 * @param pIndex the row index
+	 * @param pRow the row
+	 */
+	private void store(int pIndex, Object[] pRow)
+	{
+		int iCachePos = pIndex & (crCachedRows.length - 1);
+
+		CachedRow crow = crCachedRows[iCachePos];
+
+		if (crow != null && crow.iIndex == pIndex)
+		{
+			crCachedRows[iCachePos] = null;
+		}
+
+		if (pRow == null || pRow.length != iColumnCount)
+		{
+			releaseSlot(pIndex);
+
+			oaRows[pIndex] = pRow;
+		}
+		else
+		{
+			int iSlot = iaSlots[pIndex];
+
+			if (iSlot < 0)
+			{
+				iSlot = allocateSlot();
+
+				iaSlots[pIndex] = iSlot;
+				oaRows[pIndex] = null;
+			}
+
+			for (int i = 0; i < iColumnCount; i++)
+			{
+				if (!columns[i].set(iSlot, pRow[i]))
+				{
+					ObjectVector vector = new ObjectVector(iSlotCapacity);
+
+					for (int j = 0; j < iSlotCount; j++)
+					{
+						vector.set(j, columns[i].get(j));
+					}
+
+					vector.set(iSlot, pRow[i]);
+
+					columns[i] = vector;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all rows from the row cache.
+	 */
+	private void clearRowCache()
+	{
+		Arrays.fill(crCachedRows, null);
+	}
+
+	/**
+	 * Allocates a column slot. Released slots will be reused.
+	 *
+	 * @return the slot
+	 */
+	private int allocateSlot()
+	{
+		if (iFreeSlotCount > 0)
+		{
+			iFreeSlotCount--;
+
+			return iaFreeSlots[iFreeSlotCount];
+		}
+
+		if (iSlotCount == iSlotCapacity)
+		{
+			iSlotCapacity *= 2;
+
+			for (int i = 0; i < iColumnCount; i++)
+			{
+				columns[i].ensureCapacity(iSlotCapacity);
+			}
+		}
+
+		return iSlotCount++;
+	}
+
+	/**
+	 * Releases the column slot of the row with the given index, if the row is stored in the columns.
+	 *
+	 * @param pIndex the row index
+	 */
+	private void releaseSlot(int pIndex)
+	{
+		int iSlot = iaSlots[pIndex];
+
+		if (iSlot >= 0)
+		{
+			for (int i = 0; i < iColumnCount; i++)
+			{
+				columns[i].set(iSlot, null);
+			}
+
+			if (iFreeSlotCount == iaFreeSlots.length)
+			{
+				iaFreeSlots = Arrays.copyOf(iaFreeSlots, iFreeSlotCount * 2);
+			}
+
+			iaFreeSlots[iFreeSlotCount++] = iSlot;
+			iaSlots[pIndex] = -1;
+		}
+	}
+
+	/**
+	 * Checks if the given index is between 0 and the given size (exclusive).
+	 *
+	 * @param pIndex the index
+	 * @param pSize the size
+	 */
+	private static void checkIndex(int pIndex, int pSize)
+	{
+		if (pIndex < 0 || pIndex >= pSize)
+		{
+			throw new IndexOutOfBoundsException("The index is " + pIndex + " and should be between 0 and size " + pSize + "!");
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>CachedRow</code> is an immutable entry of the row cache. The row index and the row
+	 * are published with one reference, so that concurrent readers never see the row of another index.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class CachedRow
+	{
+		/** the row index. */
+		private final int iIndex;
+
+		/** the row. */
+		private final Object[] oaRow;
+
+		/**
+		 * Creates a new instance of <code>CachedRow</code>.
+		 *
+		 * @param pIndex the row index
+		 * @param pRow the row
+		 */
+		CachedRow(int pIndex, Object[] pRow)
+		{
+			iIndex = pIndex;
+			oaRow = pRow;
+		}
+
+	}	// CachedRow
+
+	/**
+	 * The <code>ColumnVector</code> stores the values of one column.
+	 *
+	 * @author Ren Jahn
+	 */
+	private abstract static class ColumnVector
+	{
+		/**
+		 * Gets the value of the given slot.
+		 *
+		 * @param pSlot the slot
+		 * @return the value
+		 */
+		abstract Object get(int pSlot);
+
+		/**
+		 * Sets the value of the given slot.
+		 *
+		 * @param pSlot the slot
+		 * @param pValue the value
+		 * @return <code>true</code> if the value was stored, <code>false</code> if the value can't be encoded
+		 */
+		abstract boolean set(int pSlot, Object pValue);
+
+		/**
+		 * Ensures the given capacity of slots.
+		 *
+		 * @param pCapacity the capacity
+		 */
+		abstract void ensureCapacity(int pCapacity);
+
+		/**
+		 * Removes all values.
+		 */
+		void clear()
+		{
+		}
+
+	}	// ColumnVector
+
+	/**
+	 * The <code>ObjectVector</code> stores values as objects.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class ObjectVector extends ColumnVector
+	{
+		/** the values. */
+		private Object[] oaValues;
+
+		/**
+		 * Creates a new instance of <code>ObjectVector</code>.
+		 *
+		 * @param pCapacity the initial capacity
+		 */
+		ObjectVector(int pCapacity)
+		{
+			oaValues = new Object[pCapacity];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object get(int pSlot)
+		{
+			return oaValues[pSlot];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean set(int pSlot, Object pValue)
+		{
+			oaValues[pSlot] = pValue;
+
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void ensureCapacity(int pCapacity)
+		{
+			oaValues = Arrays.copyOf(oaValues, pCapacity);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void clear()
+		{
+			Arrays.fill(oaValues, null);
+		}
+
+	}	// ObjectVector
+
+	/**
+	 * The <code>DecimalVector</code> stores <code>BigDecimal</code> values as unscaled
+	 * <code>long</code> and scale.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class DecimalVector extends ColumnVector
+	{
+		/** the marker for <code>null</code> values. */
+		private static final byte NULL = Byte.MIN_VALUE;
+
+		/** the unscaled values. */
+		private long[] laUnscaled;
+
+		/** the scales. */
+		private byte[] byaScale;
+
+		/**
+		 * Creates a new instance of <code>DecimalVector</code>.
+		 *
+		 * @param pCapacity the initial capacity
+		 */
+		DecimalVector(int pCapacity)
+		{
+			laUnscaled = new long[pCapacity];
+			byaScale = new byte[pCapacity];
+
+			Arrays.fill(byaScale, NULL);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object get(int pSlot)
+		{
+			byte byScale = byaScale[pSlot];
+
+			if (byScale == NULL)
+			{
+				return null;
+			}
+
+			return BigDecimal.valueOf(laUnscaled[pSlot], byScale);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean set(int pSlot, Object pValue)
+		{
+			if (pValue == null)
+			{
+				byaScale[pSlot] = NULL;
+
+				return true;
+			}
+
+			if (pValue.getClass() != BigDecimal.class)
+			{
+				return false;
+			}
+
+			BigDecimal bdValue = (BigDecimal)pValue;
+
+			int iScale = bdValue.scale();
+
+			if (iScale <= NULL || iScale > Byte.MAX_VALUE || bdValue.unscaledValue().bitLength() > 63)
+			{
+				return false;
+			}
+
+			laUnscaled[pSlot] = bdValue.unscaledValue().longValue();
+			byaScale[pSlot] = (byte)iScale;
+
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void ensureCapacity(int pCapacity)
+		{
+			int iLength = byaScale.length;
+
+			laUnscaled = Arrays.copyOf(laUnscaled, pCapacity);
+			byaScale = Arrays.copyOf(byaScale, pCapacity);
+
+			Arrays.fill(byaScale, iLength, pCapacity, NULL);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void clear()
+		{
+			Arrays.fill(byaScale, NULL);
+		}
+
+	}	// DecimalVector
+
+	/**
+	 * The <code>TimestampVector</code> stores <code>Timestamp</code> values as milliseconds.
+	 * Nanoseconds are only stored, if they are more precise than milliseconds.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class TimestampVector extends ColumnVector
+	{
+		/** the marker for <code>null</code> values. */
+		private static final long NULL = Long.MIN_VALUE;
+
+		/** the times in milliseconds. */
+		private long[] laTime;
+
+		/** the nanos, if at least one value is more precise than milliseconds. */
+		private int[] iaNanos;
+
+		/**
+		 * Creates a new instance of <code>TimestampVector</code>.
+		 *
+		 * @param pCapacity the initial capacity
+		 */
+		TimestampVector(int pCapacity)
+		{
+			laTime = new long[pCapacity];
+
+			Arrays.fill(laTime, NULL);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object get(int pSlot)
+		{
+			long lTime = laTime[pSlot];
+
+			if (lTime == NULL)
+			{
+				return null;
+			}
+
+			Timestamp tsValue = new Timestamp(lTime);
+
+			if (iaNanos != null && iaNanos[pSlot] >= 0)
+			{
+				tsValue.setNanos(iaNanos[pSlot]);
+			}
+
+			return tsValue;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean set(int pSlot, Object pValue)
+		{
+			if (pValue == null)
+			{
+				laTime[pSlot] = NULL;
+
+				return true;
+			}
+
+			if (pValue.getClass() != Timestamp.class)
+			{
+				return false;
+			}
+
+			Timestamp tsValue = (Timestamp)pValue;
+
+			long lTime = tsValue.getTime();
+
+			if (lTime == NULL)
+			{
+				return false;
+			}
+
+			int iNanos = tsValue.getNanos();
+
+			laTime[pSlot] = lTime;
+
+			if (iNanos % 1000000 != 0)
+			{
+				if (iaNanos == null)
+				{
+					iaNanos = new int[laTime.length];
+
+					Arrays.fill(iaNanos, -1);
+				}
+
+				iaNanos[pSlot] = iNanos;
+			}
+			else if (iaNanos != null)
+			{
+				iaNanos[pSlot] = -1;
+			}
+
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void ensureCapacity(int pCapacity)
+		{
+			int iLength = laTime.length;
+
+			laTime = Arrays.copyOf(laTime, pCapacity);
+
+			Arrays.fill(laTime, iLength, pCapacity, NULL);
+
+			if (iaNanos != null)
+			{
+				iaNanos = Arrays.copyOf(iaNanos, pCapacity);
+
+				Arrays.fill(iaNanos, iLength, pCapacity, -1);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void clear()
+		{
+			Arrays.fill(laTime, NULL);
+
+			iaNanos = null;
+		}
+
+	}	// TimestampVector
+
+	/**
+	 * The <code>BooleanVector</code> stores <code>Boolean</code> values as <code>byte</code>.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class BooleanVector extends ColumnVector
+	{
+		/** the values (0 = null, 1 = false, 2 = true). */
+		private byte[] byaValues;
+
+		/**
+		 * Creates a new instance of <code>BooleanVector</code>.
+		 *
+		 * @param pCapacity the initial capacity
+		 */
+		BooleanVector(int pCapacity)
+		{
+			byaValues = new byte[pCapacity];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object get(int pSlot)
+		{
+			switch (byaValues[pSlot])
+			{
+				case 1:
+					return Boolean.FALSE;
+				case 2:
+					return Boolean.TRUE;
+				default:
+					return null;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean set(int pSlot, Object pValue)
+		{
+			if (pValue == null)
+			{
+				byaValues[pSlot] = 0;
+			}
+			else if (pValue instanceof Boolean)
+			{
+				byaValues[pSlot] = ((Boolean)pValue).booleanValue() ? (byte)2 : (byte)1;
+			}
+			else
+			{
+				return false;
+			}
+
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void ensureCapacity(int pCapacity)
+		{
+			byaValues = Arrays.copyOf(byaValues, pCapacity);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void clear()
+		{
+			Arrays.fill(byaValues, (byte)0);
+		}
+
+	}	// BooleanVector
+
+	/**
+	 * The <code>StringVector</code> stores <code>String</code> values dictionary encoded.
+	 * If the dictionary grows bigger than half of the slots, the vector refuses new values and
+	 * the column will be stored as objects.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class StringVector extends ColumnVector
+	{
+		/** the dictionary codes (-1 = null). */
+		private int[] iaCodes;
+
+		/** the dictionary. */
+		private ArrayUtil<String> auDictionary = new ArrayUtil<String>();
+
+		/** the dictionary codes by value. */
+		private HashMap<String, Integer> hmCodes = new HashMap<String, Integer>();
+
+		/**
+		 * Creates a new instance of <code>StringVector</code>.
+		 *
+		 * @param pCapacity the initial capacity
+		 */
+		StringVector(int pCapacity)
+		{
+			iaCodes = new int[pCapacity];
+
+			Arrays.fill(iaCodes, -1);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object get(int pSlot)
+		{
+			int iCode = iaCodes[pSlot];
+
+			if (iCode < 0)
+			{
+				return null;
+			}
+
+			return auDictionary.get(iCode);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean set(int pSlot, Object pValue)
+		{
+			if (pValue == null)
+			{
+				iaCodes[pSlot] = -1;
+
+				return true;
+			}
+
+			if (!(pValue instanceof String))
+			{
+				return false;
+			}
+
+			Integer iCode = hmCodes.get(pValue);
+
+			if (iCode == null)
+			{
+				int iSize = auDictionary.size();
+
+				if (iSize >= MIN_DICTIONARY_SIZE && iSize > iaCodes.length / 2)
+				{
+					return false;
+				}
+
+				iCode = Integer.valueOf(iSize);
+
+				auDictionary.add((String)pValue);
+				hmCodes.put((String)pValue, iCode);
+			}
+
+			iaCodes[pSlot] = iCode.intValue();
+
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void ensureCapacity(int pCapacity)
+		{
+			int iLength = iaCodes.length;
+
+			iaCodes = Arrays.copyOf(iaCodes, pCapacity);
+
+			Arrays.fill(iaCodes, iLength, pCapacity, -1);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void clear()
+		{
+			Arrays.fill(iaCodes, -1);
+
+			auDictionary.clear();
+			hmCodes.clear();
+		}
+
+	}	// StringVector
+
+}	// ColumnarRowStorage
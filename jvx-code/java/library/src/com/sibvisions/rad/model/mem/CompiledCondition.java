@@ -0,0 +1,868 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.rad.model.IRowDefinition;
+import javax.rad.model.ModelException;
+import javax.rad.model.condition.And;
+import javax.rad.model.condition.CompareCondition;
+import javax.rad.model.condition.ContainsIgnoreCase;
+import javax.rad.model.condition.EndsWithIgnoreCase;
+import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.Greater;
+import javax.rad.model.condition.GreaterEquals;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.Less;
+import javax.rad.model.condition.LessEquals;
+import javax.rad.model.condition.Like;
+import javax.rad.model.condition.LikeIgnoreCase;
+import javax.rad.model.condition.LikeReverse;
+import javax.rad.model.condition.LikeReverseIgnoreCase;
+import javax.rad.model.condition.Not;
+import javax.rad.model.condition.Or;
+import javax.rad.model.condition.StartsWithIgnoreCase;
+import javax.rad.model.datatype.DataType;
+import javax.rad.model.datatype.IDataType;
+
+import com.sibvisions.util.type.StringUtil;
+
+/**
+ * The <code>CompiledCondition</code> is an {@link ICondition} tree, bound to a row definition. It checks
+ * the storage of a row without a {@link DataRow}. The column indexes and data types are resolved, the compare
+ * values are converted and the wildcard patterns are transformed once, instead of for every row.
+ * The result is the same as the result of {@link ICondition#isFulfilled(javax.rad.model.IDataRow)}.
+ * <p>
+ * Only the conditions of the <code>javax.rad.model.condition</code> package can be compiled. A compiled
+ * condition is immutable, so it can be used by more than one thread, if the data types are thread-safe.
+ * The compare values are read during compilation, so the condition has to be compiled again after
+ * it was changed.
+ *
+ * @author René Jahn
+ */
+abstract class CompiledCondition
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the condition which is always fulfilled. */
+	private static final CompiledCondition TRUE = new Constant(true);
+
+	/** the condition which is never fulfilled. */
+	private static final CompiledCondition FALSE = new Constant(false);
+
+	/** whether a data type class uses the compare implementation of {@link DataType}. */
+	private static final Map<Class<?>, Boolean> DEFAULT_COMPARE = new ConcurrentHashMap<Class<?>, Boolean>();
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Abstract methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Checks if the row fulfills the condition.
+	 *
+	 * @param pStorage the storage of the row
+	 * @return <code>true</code> if the condition is fulfilled
+	 */
+	abstract boolean isFulfilled(Object[] pStorage);
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Compiles a condition for the given row definition.
+	 *
+	 * @param pCondition the condition
+	 * @param pRowDefinition the row definition of the checked rows
+	 * @return the compiled condition or <code>null</code> if the condition contains unknown conditions
+	 *         or compare values from a data row
+	 */
+	static CompiledCondition compile(ICondition pCondition, IRowDefinition pRowDefinition)
+	{
+		if (pCondition == null)
+		{
+			return null;
+		}
+
+		Class<?> clazz = pCondition.getClass();
+
+		if (clazz == And.class || clazz == Or.class)
+		{
+			boolean bAnd = clazz == And.class;
+
+			ICondition[] conditions = bAnd ? ((And)pCondition).getConditions() : ((Or)pCondition).getConditions();
+
+			CompiledCondition[] compiled = new CompiledCondition[conditions.length];
+
+			for (int i = 0; i < conditions.length; i++)
+			{
+				compiled[i] = compile(conditions[i], pRowDefinition);
+
+				if (compiled[i] == null)
+				{
+					return null;
+				}
+			}
+
+			if (compiled.length == 1)
+			{
+				return compiled[0];
+			}
+
+			return new Operator(compiled, bAnd);
+		}
+		else if (clazz == Not.class)
+		{
+			ICondition condition = ((Not)pCondition).getCondition();
+
+			if (condition == null)
+			{
+				return TRUE;
+			}
+
+			CompiledCondition compiled = compile(condition, pRowDefinition);
+
+			if (compiled == null)
+			{
+				return null;
+			}
+
+			return new Negation(compiled);
+		}
+		else if (pCondition instanceof CompareCondition)
+		{
+			return compileCompare((CompareCondition)pCondition, pRowDefinition);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Compiles a {@link CompareCondition}.
+	 *
+	 * @param pCondition the condition
+	 * @param pRowDefinition the row definition of the checked rows
+	 * @return the compiled condition or <code>null</code> if the condition can't be compiled
+	 */
+	private static CompiledCondition compileCompare(CompareCondition pCondition, IRowDefinition pRowDefinition)
+	{
+		Class<?> clazz = pCondition.getClass();
+
+		int iOperator;
+
+		if (clazz == Equals.class)
+		{
+			iOperator = Compare.EQUALS;
+		}
+		else if (clazz == Greater.class)
+		{
+			iOperator = Compare.GREATER;
+		}
+		else if (clazz == GreaterEquals.class)
+		{
+			iOperator = Compare.GREATER_EQUALS;
+		}
+		else if (clazz == Less.class)
+		{
+			iOperator = Compare.LESS;
+		}
+		else if (clazz == LessEquals.class)
+		{
+			iOperator = Compare.LESS_EQUALS;
+		}
+		else if (clazz != Like.class
+				 && clazz != LikeIgnoreCase.class
+				 && clazz != ContainsIgnoreCase.class
+				 && clazz != StartsWithIgnoreCase.class
+				 && clazz != EndsWithIgnoreCase.class
+				 && clazz != LikeReverse.class
+				 && clazz != LikeReverseIgnoreCase.class)
+		{
+			return null;
+		}
+		else
+		{
+			iOperator = -1;
+		}
+
+		// the value of a data row may change between two checks
+		if (pCondition.getDataRow() != null)
+		{
+			return null;
+		}
+
+		Object oSearch = pCondition.getValue();
+
+		if (pCondition.isIgnoreNull() && oSearch == null)
+		{
+			return TRUE;
+		}
+
+		int iColumn = pRowDefinition.getColumnDefinitionIndex(pCondition.getColumnName());
+
+		if (iColumn < 0)
+		{
+			return FALSE;
+		}
+
+		IDataType dataType;
+
+		try
+		{
+			dataType = pRowDefinition.getColumnDefinition(iColumn).getDataType();
+		}
+		catch (RuntimeException re)
+		{
+			return FALSE;
+		}
+
+		if (iOperator >= 0)
+		{
+			return new Compare(iColumn, dataType, oSearch, iOperator);
+		}
+		else if (clazz == LikeReverse.class || clazz == LikeReverseIgnoreCase.class)
+		{
+			return new LikeReverseCompare(iColumn, dataType, oSearch, clazz == LikeReverseIgnoreCase.class);
+		}
+		else
+		{
+			return new LikeCompare(iColumn, dataType, oSearch, clazz != Like.class);
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Constant</code> is a condition with a constant result.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class Constant extends CompiledCondition
+	{
+		/** the result. */
+		private final boolean bResult;
+
+		/**
+		 * Creates a new instance of <code>Constant</code>.
+		 *
+		 * @param pResult the result
+		 */
+		private Constant(boolean pResult)
+		{
+			bResult = pResult;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean isFulfilled(Object[] pStorage)
+		{
+			return bResult;
+		}
+
+	}	// Constant
+
+	/**
+	 * The <code>Operator</code> is a compiled {@link And} or {@link Or} condition.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class Operator extends CompiledCondition
+	{
+		/** the operands. */
+		private final CompiledCondition[] conditions;
+
+		/** <code>true</code> for and, <code>false</code> for or. */
+		private final boolean bAnd;
+
+		/**
+		 * Creates a new instance of <code>Operator</code>.
+		 *
+		 * @param pConditions the operands
+		 * @param pAnd <code>true</code> for and, <code>false</code> for or
+		 */
+		private Operator(CompiledCondition[] pConditions, boolean pAnd)
+		{
+			conditions = pConditions;
+			bAnd = pAnd;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean isFulfilled(Object[] pStorage)
+		{
+			for (int i = 0; i < conditions.length; i++)
+			{
+				if (conditions[i].isFulfilled(pStorage) != bAnd)
+				{
+					return !bAnd;
+				}
+			}
+
+			return bAnd;
+		}
+
+	}	// Operator
+
+	/**
+	 * The <code>Negation</code> is a compiled {@link Not} condition.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class Negation extends CompiledCondition
+	{
+		/** the negated condition. */
+		private final CompiledCondition condition;
+
+		/**
+		 * Creates a new instance of <code>Negation</code>.
+		 *
+		 * @param pCondition the negated condition
+		 */
+		private Negation(CompiledCondition pCondition)
+		{
+			condition = pCondition;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean isFulfilled(Object[] pStorage)
+		{
+			return !condition.isFulfilled(pStorage);
+		}
+
+	}	// Negation
+
+	/**
+	 * The <code>ColumnCompare</code> is the base class for compiled {@link CompareCondition}s.
+	 *
+	 * @author René Jahn
+	 */
+	private abstract static class ColumnCompare extends CompiledCondition
+	{
+		/** the column index. */
+		protected final int iColumn;
+
+		/** the data type of the column. */
+		protected final IDataType dataType;
+
+		/**
+		 * Creates a new instance of <code>ColumnCompare</code>.
+		 *
+		 * @param pColumn the column index
+		 * @param pDataType the data type of the column
+		 */
+		protected ColumnCompare(int pColumn, IDataType pDataType)
+		{
+			iColumn = pColumn;
+			dataType = pDataType;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		final boolean isFulfilled(Object[] pStorage)
+		{
+			Object oValue = pStorage == null || iColumn >= pStorage.length ? null : pStorage[iColumn];
+
+			try
+			{
+				if (oValue != null)
+				{
+					oValue = dataType.prepareValue(oValue);
+				}
+			}
+			catch (ModelException me)
+			{
+				return false;
+			}
+
+			return isFulfilled(oValue);
+		}
+
+		/**
+		 * Checks if the prepared column value fulfills the condition.
+		 *
+		 * @param pValue the prepared column value
+		 * @return <code>true</code> if the condition is fulfilled
+		 */
+		protected abstract boolean isFulfilled(Object pValue);
+
+	}	// ColumnCompare
+
+	/**
+	 * The <code>Compare</code> is a compiled {@link Equals}, {@link Greater}, {@link GreaterEquals},
+	 * {@link Less} or {@link LessEquals} condition. The compare value is converted to the type class once,
+	 * if the data type uses the default compare of {@link DataType}.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class Compare extends ColumnCompare
+	{
+		/** the equals operator. */
+		private static final int EQUALS = 0;
+
+		/** the greater operator. */
+		private static final int GREATER = 1;
+
+		/** the greater equals operator. */
+		private static final int GREATER_EQUALS = 2;
+
+		/** the less operator. */
+		private static final int LESS = 3;
+
+		/** the less equals operator. */
+		private static final int LESS_EQUALS = 4;
+
+		/** the compare value. */
+		private final Object oSearch;
+
+		/** the compare value, converted to the type class. */
+		private final Object oConverted;
+
+		/** whether the compare value can be converted to the type class. */
+		private final boolean bConverted;
+
+		/** whether the data type uses the default compare. */
+		private final boolean bDefaultCompare;
+
+		/** the operator. */
+		private final int iOperator;
+
+		/**
+		 * Creates a new instance of <code>Compare</code>.
+		 *
+		 * @param pColumn the column index
+		 * @param pDataType the data type of the column
+		 * @param pSearch the compare value
+		 * @param pOperator the operator
+		 */
+		private Compare(int pColumn, IDataType pDataType, Object pSearch, int pOperator)
+		{
+			super(pColumn, pDataType);
+
+			oSearch = pSearch;
+			iOperator = pOperator;
+			bDefaultCompare = isDefaultCompare(pDataType);
+
+			Object oValue = null;
+			boolean bValid = false;
+
+			if (bDefaultCompare && pSearch != null)
+			{
+				try
+				{
+					oValue = pDataType.convertToTypeClass(pSearch);
+					bValid = true;
+				}
+				catch (Exception e)
+				{
+					// compare fails
+				}
+			}
+
+			oConverted = oValue;
+			bConverted = bValid;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean isFulfilled(Object pValue)
+		{
+			int iCompare = bDefaultCompare ? compare(pValue) : dataType.compareTo(pValue, oSearch);
+
+			switch (iOperator)
+			{
+				case EQUALS:
+					return iCompare == 0;
+				case GREATER:
+					return iCompare > 0;
+				case GREATER_EQUALS:
+					return iCompare >= 0;
+				case LESS:
+					return iCompare < 0;
+				default:
+					return iCompare <= 0;
+			}
+		}
+
+		/**
+		 * Compares the column value with the compare value, like {@link DataType#compareTo(Object, Object)},
+		 * but with the converted compare value.
+		 *
+		 * @param pValue the column value
+		 * @return the compare result
+		 */
+		@SuppressWarnings({"unchecked", "rawtypes"})
+		private int compare(Object pValue)
+		{
+			if (pValue == oSearch)
+			{
+				return 0;
+			}
+			else if (pValue != null && oSearch != null)
+			{
+				if (pValue instanceof Comparable)
+				{
+					if (!bConverted)
+					{
+						return 1;
+					}
+
+					try
+					{
+						return ((Comparable)pValue).compareTo(oConverted);
+					}
+					catch (Exception ex)
+					{
+						return 1;
+					}
+				}
+
+				return pValue.equals(oSearch) ? 0 : 1;
+			}
+			else if (pValue == null)
+			{
+				return -1;
+			}
+
+			return 1;
+		}
+
+		/**
+		 * Gets whether the data type uses the compare implementation of {@link DataType}.
+		 *
+		 * @param pDataType the data type
+		 * @return <code>true</code> if compareTo is not overwritten
+		 */
+		private static boolean isDefaultCompare(IDataType pDataType)
+		{
+			Class<?> clazz = pDataType.getClass();
+
+			Boolean bDefault = DEFAULT_COMPARE.get(clazz);
+
+			if (bDefault == null)
+			{
+				try
+				{
+					bDefault = Boolean.valueOf(clazz.getMethod("compareTo", Object.class, Object.class).getDeclaringClass() == DataType.class);
+				}
+				catch (NoSuchMethodException nsme)
+				{
+					bDefault = Boolean.FALSE;
+				}
+
+				DEFAULT_COMPARE.put(clazz, bDefault);
+			}
+
+			return bDefault.booleanValue();
+		}
+
+	}	// Compare
+
+	/**
+	 * The <code>LikeCompare</code> is a compiled {@link Like} or {@link LikeIgnoreCase} condition,
+	 * including the subclasses of {@link LikeIgnoreCase}.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class LikeCompare extends ColumnCompare
+	{
+		/** the compare value. */
+		private final Object oSearch;
+
+		/** the transformed compare value. */
+		private final String sTransformed;
+
+		/** the wildcard pattern or <code>null</code> if the values are compared with equals. */
+		private final WildcardPattern pattern;
+
+		/** whether the case is ignored. */
+		private final boolean bIgnoreCase;
+
+		/**
+		 * Creates a new instance of <code>LikeCompare</code>.
+		 *
+		 * @param pColumn the column index
+		 * @param pDataType the data type of the column
+		 * @param pSearch the compare value
+		 * @param pIgnoreCase whether the case is ignored
+		 */
+		private LikeCompare(int pColumn, IDataType pDataType, Object pSearch, boolean pIgnoreCase)
+		{
+			super(pColumn, pDataType);
+
+			oSearch = pSearch;
+			bIgnoreCase = pIgnoreCase;
+
+			if (pSearch instanceof String)
+			{
+				String sSearch = (String)pSearch;
+
+				if (pIgnoreCase)
+				{
+					sSearch = sSearch.toLowerCase();
+				}
+
+				sTransformed = sSearch.replace('%', '*').replace('_', '?');
+				pattern = new WildcardPattern(sTransformed);
+			}
+			else if (pSearch != null)
+			{
+				sTransformed = pIgnoreCase ? pSearch.toString().toLowerCase() : pSearch.toString();
+				pattern = null;
+			}
+			else
+			{
+				sTransformed = null;
+				pattern = null;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean isFulfilled(Object pValue)
+		{
+			if (pValue == null || oSearch == null)
+			{
+				return pValue == null && oSearch == null;
+			}
+
+			String sValue = pValue instanceof String ? (String)pValue : dataType.convertToString(pValue);
+
+			if (bIgnoreCase)
+			{
+				sValue = sValue.toLowerCase();
+			}
+
+			if (pattern != null)
+			{
+				return pattern.matches(sValue);
+			}
+
+			return sTransformed.equals(sValue);
+		}
+
+	}	// LikeCompare
+
+	/**
+	 * The <code>LikeReverseCompare</code> is a compiled {@link LikeReverse} or {@link LikeReverseIgnoreCase}
+	 * condition. The column value is the pattern.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class LikeReverseCompare extends ColumnCompare
+	{
+		/** the compare value. */
+		private final Object oSearch;
+
+		/** the compare value as string. */
+		private final String sSearch;
+
+		/** whether the compare value is a string. */
+		private final boolean bString;
+
+		/** whether the case is ignored. */
+		private final boolean bIgnoreCase;
+
+		/**
+		 * Creates a new instance of <code>LikeReverseCompare</code>.
+		 *
+		 * @param pColumn the column index
+		 * @param pDataType the data type of the column
+		 * @param pSearch the compare value
+		 * @param pIgnoreCase whether the case is ignored
+		 */
+		private LikeReverseCompare(int pColumn, IDataType pDataType, Object pSearch, boolean pIgnoreCase)
+		{
+			super(pColumn, pDataType);
+
+			oSearch = pSearch;
+			bString = pSearch instanceof String;
+			bIgnoreCase = pIgnoreCase;
+
+			if (pSearch == null)
+			{
+				sSearch = null;
+			}
+			else
+			{
+				sSearch = pIgnoreCase ? pSearch.toString().toLowerCase() : pSearch.toString();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean isFulfilled(Object pValue)
+		{
+			if (pValue == null || oSearch == null)
+			{
+				return pValue == null && oSearch == null;
+			}
+
+			String sValue = pValue instanceof String ? (String)pValue : dataType.convertToString(pValue);
+
+			if (bIgnoreCase)
+			{
+				sValue = sValue.toLowerCase();
+			}
+
+			sValue = sValue.replace('%', '*').replace('_', '?');
+
+			if (bString)
+			{
+				return StringUtil.like(sSearch, sValue);
+			}
+
+			return sSearch.equals(sValue);
+		}
+
+	}	// LikeReverseCompare
+
+	/**
+	 * The <code>WildcardPattern</code> is a pattern for {@link StringUtil#like(String, String)}. Patterns
+	 * with <code>*</code> wildcards only are split into parts, which are searched with
+	 * <code>startsWith</code>, <code>indexOf</code> and <code>endsWith</code>.
+	 *
+	 * @author René Jahn
+	 */
+	static final class WildcardPattern
+	{
+		/** the pattern. */
+		private final String sPattern;
+
+		/** the parts between the * wildcards or <code>null</code> if the pattern contains ? wildcards. */
+		private final String[] saParts;
+
+		/** whether the pattern starts with a * wildcard. */
+		private final boolean bAnyStart;
+
+		/** whether the pattern ends with a * wildcard. */
+		private final boolean bAnyEnd;
+
+		/**
+		 * Creates a new instance of <code>WildcardPattern</code>.
+		 *
+		 * @param pPattern the pattern with * and ? wildcards
+		 */
+		WildcardPattern(String pPattern)
+		{
+			sPattern = pPattern;
+
+			if (pPattern.indexOf('?') >= 0)
+			{
+				saParts = null;
+				bAnyStart = false;
+				bAnyEnd = false;
+			}
+			else
+			{
+				saParts = StringUtil.separateList(pPattern, "*", false).toArray(new String[0]);
+				bAnyStart = pPattern.startsWith("*");
+				bAnyEnd = pPattern.endsWith("*");
+			}
+		}
+
+		/**
+		 * Checks if the text matches the pattern.
+		 *
+		 * @param pText the text
+		 * @return <code>true</code> if the text matches
+		 */
+		boolean matches(String pText)
+		{
+			if (saParts == null)
+			{
+				return StringUtil.like(pText, sPattern);
+			}
+
+			int iCount = saParts.length;
+
+			if (iCount == 0)
+			{
+				// only wildcards or empty
+				return bAnyStart || pText.length() == 0;
+			}
+
+			if (!bAnyStart && !bAnyEnd && iCount == 1)
+			{
+				return pText.equals(saParts[0]);
+			}
+
+			int iPos = 0;
+			int iFirst = 0;
+
+			if (!bAnyStart)
+			{
+				if (!pText.startsWith(saParts[0]))
+				{
+					return false;
+				}
+
+				iPos = saParts[0].length();
+				iFirst = 1;
+			}
+
+			int iLast = bAnyEnd ? iCount : iCount - 1;
+
+			for (int i = iFirst; i < iLast; i++)
+			{
+				int iFound = pText.indexOf(saParts[i], iPos);
+
+				if (iFound < 0)
+				{
+					return false;
+				}
+
+				iPos = iFound + saParts[i].length();
+			}
+
+			if (!bAnyEnd)
+			{
+				String sEnd = saParts[iCount - 1];
+
+				return pText.length() - sEnd.length() >= iPos && pText.endsWith(sEnd);
+			}
+
+			return true;
+		}
+
+	}	// WildcardPattern
+
+}	// CompiledCondition
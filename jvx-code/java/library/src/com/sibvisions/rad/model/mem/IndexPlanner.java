@@ -0,0 +1,367 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.util.Arrays;
+
+import javax.rad.model.IRowDefinition;
+import javax.rad.model.ModelException;
+import javax.rad.model.condition.And;
+import javax.rad.model.condition.CompareCondition;
+import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.Greater;
+import javax.rad.model.condition.GreaterEquals;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.Less;
+import javax.rad.model.condition.LessEquals;
+import javax.rad.model.condition.Like;
+import javax.rad.model.condition.LikeIgnoreCase;
+import javax.rad.model.condition.Or;
+
+/**
+ * The <code>IndexPlanner</code> determines the candidate rows of a condition with {@link ColumnIndex}es.
+ * Supported are {@link Equals}, {@link Greater}, {@link GreaterEquals}, {@link Less}, {@link LessEquals}
+ * and {@link Like}/{@link LikeIgnoreCase} with a fixed prefix, combined with {@link And} and {@link Or}.
+ * Multi column indexes are used for {@link And} conditions with {@link Equals} conditions on all index columns.
+ * <p>
+ * The candidates are a superset of the rows which fulfill the condition, so the condition has to be
+ * checked for every candidate.
+ *
+ * @author René Jahn
+ */
+final class IndexPlanner
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor, because the <code>IndexPlanner</code> is a utility class.
+	 */
+	private IndexPlanner()
+	{
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the candidate rows for a condition.
+	 *
+	 * @param pCondition the condition
+	 * @param pRowDefinition the row definition of the storage
+	 * @param pIndexes the available indexes
+	 * @return the ascending storage indexes of all candidates or <code>null</code> if all rows are candidates
+	 */
+	static int[] plan(ICondition pCondition, IRowDefinition pRowDefinition, ColumnIndex[] pIndexes)
+	{
+		if (pCondition instanceof And)
+		{
+			return planAnd(((And)pCondition).getConditions(), pRowDefinition, pIndexes);
+		}
+		else if (pCondition instanceof Or)
+		{
+			ICondition[] conditions = ((Or)pCondition).getConditions();
+
+			if (conditions.length == 0)
+			{
+				return null;
+			}
+
+			int[] iaResult = null;
+
+			for (int i = 0; i < conditions.length; i++)
+			{
+				int[] iaRows = plan(conditions[i], pRowDefinition, pIndexes);
+
+				if (iaRows == null)
+				{
+					return null;
+				}
+
+				iaResult = iaResult == null ? iaRows : union(iaResult, iaResult.length, iaRows, iaRows.length);
+			}
+
+			return iaResult;
+		}
+		else if (pCondition instanceof CompareCondition)
+		{
+			return planCompare((CompareCondition)pCondition, pRowDefinition, pIndexes);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Gets the candidate rows for an {@link And} condition.
+	 *
+	 * @param pConditions the sub conditions
+	 * @param pRowDefinition the row definition of the storage
+	 * @param pIndexes the available indexes
+	 * @return the ascending storage indexes of all candidates or <code>null</code> if all rows are candidates
+	 */
+	private static int[] planAnd(ICondition[] pConditions, IRowDefinition pRowDefinition, ColumnIndex[] pIndexes)
+	{
+		int[] iaResult = null;
+
+		//multi column indexes
+		for (int i = 0; i < pIndexes.length; i++)
+		{
+			int[] iaColumns = pIndexes[i].getColumnIndexes();
+
+			if (iaColumns.length > 1)
+			{
+				Object[] oaValues = new Object[iaColumns.length];
+
+				boolean bComplete = true;
+
+				for (int j = 0; j < iaColumns.length && bComplete; j++)
+				{
+					bComplete = false;
+
+					for (int k = 0; k < pConditions.length && !bComplete; k++)
+					{
+						if (pConditions[k].getClass() == Equals.class)
+						{
+							Equals equals = (Equals)pConditions[k];
+							Object oValue = equals.getValue();
+
+							if (!(equals.isIgnoreNull() && oValue == null)
+								&& pRowDefinition.getColumnDefinitionIndex(equals.getColumnName()) == iaColumns[j])
+							{
+								try
+								{
+									oaValues[j] = pIndexes[i].getDataType(j).convertToTypeClass(oValue);
+
+									bComplete = true;
+								}
+								catch (ModelException me)
+								{
+									//not usable
+								}
+							}
+						}
+					}
+				}
+
+				if (bComplete)
+				{
+					iaResult = intersect(iaResult, pIndexes[i].getEquals(oaValues));
+				}
+			}
+		}
+
+		for (int i = 0; i < pConditions.length; i++)
+		{
+			iaResult = intersect(iaResult, plan(pConditions[i], pRowDefinition, pIndexes));
+		}
+
+		return iaResult;
+	}
+
+	/**
+	 * Gets the candidate rows for a {@link CompareCondition}.
+	 *
+	 * @param pCondition the condition
+	 * @param pRowDefinition the row definition of the storage
+	 * @param pIndexes the available indexes
+	 * @return the ascending storage indexes of all candidates or <code>null</code> if all rows are candidates
+	 */
+	private static int[] planCompare(CompareCondition pCondition, IRowDefinition pRowDefinition, ColumnIndex[] pIndexes)
+	{
+		Object oValue = pCondition.getValue();
+
+		if (pCondition.isIgnoreNull() && oValue == null)
+		{
+			return null;
+		}
+
+		ColumnIndex index = null;
+
+		int iColumn = pRowDefinition.getColumnDefinitionIndex(pCondition.getColumnName());
+
+		for (int i = 0; i < pIndexes.length && index == null; i++)
+		{
+			int[] iaColumns = pIndexes[i].getColumnIndexes();
+
+			if (iaColumns.length == 1 && iaColumns[0] == iColumn && pIndexes[i].isUsable())
+			{
+				index = pIndexes[i];
+			}
+		}
+
+		if (index == null)
+		{
+			return null;
+		}
+
+		Class<?> clazz = pCondition.getClass();
+
+		if (pCondition instanceof LikeIgnoreCase || clazz == Like.class)
+		{
+			if (!(oValue instanceof String))
+			{
+				return null;
+			}
+
+			boolean bIgnoreCase = pCondition instanceof LikeIgnoreCase;
+
+			String sSearch = (String)oValue;
+
+			if (bIgnoreCase)
+			{
+				sSearch = sSearch.toLowerCase();
+			}
+
+			sSearch = sSearch.replace('%', '*').replace('_', '?');
+
+			int iWildcard = sSearch.length();
+
+			for (int i = 0; i < sSearch.length() && iWildcard == sSearch.length(); i++)
+			{
+				char ch = sSearch.charAt(i);
+
+				if (ch == '*' || ch == '?')
+				{
+					iWildcard = i;
+				}
+			}
+
+			if (iWildcard == 0)
+			{
+				return null;
+			}
+
+			return index.getPrefix(sSearch.substring(0, iWildcard), bIgnoreCase);
+		}
+
+		Object oConverted;
+
+		try
+		{
+			oConverted = index.getDataType(0).convertToTypeClass(oValue);
+		}
+		catch (ModelException me)
+		{
+			return null;
+		}
+
+		if (clazz == Equals.class)
+		{
+			return index.getEquals(new Object[] {oConverted});
+		}
+		else if (clazz == Greater.class || clazz == GreaterEquals.class)
+		{
+			return index.getGreater(oConverted);
+		}
+		else if (clazz == Less.class || clazz == LessEquals.class)
+		{
+			return index.getLess(oConverted);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Intersects two ascending arrays.
+	 *
+	 * @param pRows1 the first array or <code>null</code> for all rows
+	 * @param pRows2 the second array or <code>null</code> for all rows
+	 * @return the intersection or <code>null</code> if both arrays are <code>null</code>
+	 */
+	static int[] intersect(int[] pRows1, int[] pRows2)
+	{
+		if (pRows1 == null)
+		{
+			return pRows2;
+		}
+		else if (pRows2 == null)
+		{
+			return pRows1;
+		}
+
+		int[] iaResult = new int[Math.min(pRows1.length, pRows2.length)];
+
+		int iCount = 0;
+
+		for (int i = 0, j = 0; i < pRows1.length && j < pRows2.length;)
+		{
+			if (pRows1[i] < pRows2[j])
+			{
+				i++;
+			}
+			else if (pRows1[i] > pRows2[j])
+			{
+				j++;
+			}
+			else
+			{
+				iaResult[iCount++] = pRows1[i];
+
+				i++;
+				j++;
+			}
+		}
+
+		return iCount == iaResult.length ? iaResult : Arrays.copyOf(iaResult, iCount);
+	}
+
+	/**
+	 * Merges two ascending arrays.
+	 *
+	 * @param pRows1 the first array
+	 * @param pLength1 the number of used elements in the first array
+	 * @param pRows2 the second array
+	 * @param pLength2 the number of used elements in the second array
+	 * @return the ascending union without duplicates
+	 */
+	static int[] union(int[] pRows1, int pLength1, int[] pRows2, int pLength2)
+	{
+		int[] iaResult = new int[pLength1 + pLength2];
+
+		int iCount = 0;
+		int i = 0;
+		int j = 0;
+
+		while (i < pLength1 || j < pLength2)
+		{
+			if (j == pLength2 || (i < pLength1 && pRows1[i] < pRows2[j]))
+			{
+				iaResult[iCount++] = pRows1[i++];
+			}
+			else if (i == pLength1 || pRows2[j] < pRows1[i])
+			{
+				iaResult[iCount++] = pRows2[j++];
+			}
+			else
+			{
+				iaResult[iCount++] = pRows1[i];
+
+				i++;
+				j++;
+			}
+		}
+
+		return iCount == iaResult.length ? iaResult : Arrays.copyOf(iaResult, iCount);
+	}
+
+}	// IndexPlanner
@@ -100,12 +100,18 @@
  * 03.04.2014 - [RZ] - #998 - allowed values are now padded with a null with the column is nullable
  * 13.11.2014 - [RZ] - #973 - fixed possible infinite loops regarding self-joined databooks
  * 10.09.2015 - [JR] - #1461: hasControl used to reduce invokeLater calls
+ * 18.10.2026 - [JR] - columnar storage support
+ *                   - incremental sort of saved rows in MemDataPage
+ *                   - secondary indexes
+ *                   - parallel filter threshold
+ *                   - executeSaveDataPage, finishSaveDataPage
  */
 package com.sibvisions.rad.model.mem;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Hashtable;
@@ -176,6 +182,9 @@ public class MemDataBook extends ChangeableDataRow
     // Class members
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     
+    /** The default min. number of rows, for checking the mem filter in parallel. */
+    public static final int DEFAULT_PARALLEL_FILTER_THRESHOLD = 100000;
+    
     /**
      * The internal unique for the MemDataBook. Its used for new DataRow's as identifier
      * till the get a unique Primary Key value.
@@ -259,6 +268,18 @@ public class MemDataBook extends ChangeableDataRow
     /** True, if the row should be moved to the correct possition after save. */
     private transient boolean sortDataRowOnSave = true;
 
+    /** True, if the data pages should store unchanged rows column oriented. */
+    private transient boolean bColumnarStorage = false;
+    
+    /** The min. number of rows, for checking the mem filter in parallel. */
+    private transient int iParallelFilterThreshold = DEFAULT_PARALLEL_FILTER_THRESHOLD;
+    
+    /** The column names of all secondary indexes. */
+    private transient ArrayUtil<String[]> auIndexes = null;
+    
+    /** The version of the index definitions, to recognize changes in the data pages. */
+    transient int iIndexVersion = 0;
+
     /**
      * The Hashtable of all MemDataPages of the MemDataBook. It holds for each master DataRow
      * a MemDataPage. If the master DataRow is Inserting (new), the MemDataPage is stored
@@ -388,6 +409,9 @@ public class MemDataBook extends ChangeableDataRow
     /** Optimization for fast row access with singleton instance of data row for search, filter, sort. */
     protected transient DataRow rowInstance2 = null;
     
+    /** The comparator for the current mem sort. */
+    private transient SortComparator sortComparator = null;
+    
     /** The root data book. */
     protected transient IDataBook rootDataBook = this;
     
@@ -1520,6 +1544,8 @@ public class MemDataBook extends ChangeableDataRow
                 }
                 rowInstance1 = null;
                 rowInstance2 = null;
+                
+                sortComparator = null;
 
                 sSortSortableColumnsOnly = null;
                 
@@ -4548,6 +4574,7 @@ public class MemDataBook extends ChangeableDataRow
         {
             setAdditionalDataRowVisible(false);
         }
+        boolean bSaved = false;
         try
         {
             // setFilter null, to see all changed rows!
@@ -4563,6 +4590,11 @@ public class MemDataBook extends ChangeableDataRow
             
             if (iaChangedRows.length > 0)
             {
+                if (isWritebackEnabled())
+                {
+                    executeSaveDataPage(dpCurrentDataPage, iaChangedRows);
+                }
+                
                 // #391 - Wrong execution order in DataSource level
                 // no sort, do/redo all changes in the following order
                 // 1) all deletes
@@ -4630,6 +4662,7 @@ public class MemDataBook extends ChangeableDataRow
                     }
                 }
             }
+            bSaved = true;
         }
         finally
         {
@@ -4642,6 +4675,8 @@ public class MemDataBook extends ChangeableDataRow
             {
                 setAdditionalDataRowVisible(true);
             }
+            
+            finishSaveDataPage(bSaved);
         }
     }
     
@@ -4835,33 +4870,47 @@ public class MemDataBook extends ChangeableDataRow
         // if sort set, the find correct position. Otherwise use selectedRow
         if (sSort != null && sortDataRowOnSave)
         {
-            // Search, if row is smaller than a row before.
-            // Only already saved rows have to be looked at.
-            int iRow = iSelectedRowIndex;
-            IChangeableDataRow currentRow;
-            while (iRow - 1 >= 0
-                    && !((currentRow = (IChangeableDataRow)dpCurrentDataPage.getDataRow(iRow - 1)).isDeleting() || currentRow.isUpdating() || currentRow.isInserting())
-                    && compareTo(currentRow, sSort) < 0)
-            {
-                iRow--;
-            }
+            // page is sorted in memory -> binary search
+            int iRow = dpCurrentDataPage.getSortedRowIndex(iSelectedRowIndex);
+            boolean bMove = iRow >= 0;
             
-            if (iRow == iSelectedRowIndex)
+            if (!bMove)
             {
-                int size = dpCurrentDataPage.getRowCount();
-                while (iRow + 1 < size
-                        && !((currentRow = (IChangeableDataRow)dpCurrentDataPage.getDataRow(iRow + 1)).isDeleting() || currentRow.isUpdating() || currentRow.isInserting())
-                        && compareTo(currentRow, sSort) > 0)
+                // Search, if row is smaller than a row before.
+                // Only already saved rows have to be looked at.
+                iRow = iSelectedRowIndex;
+                IChangeableDataRow currentRow;
+                while (iRow - 1 >= 0
+                        && !((currentRow = (IChangeableDataRow)dpCurrentDataPage.getDataRow(iRow - 1)).isDeleting() || currentRow.isUpdating() || currentRow.isInserting())
+                        && compareTo(currentRow, sSort) < 0)
                 {
-                    iRow++;
+                    iRow--;
+                }
+                
+                if (iRow == iSelectedRowIndex)
+                {
+                    int size = dpCurrentDataPage.getRowCount();
+                    while (iRow + 1 < size
+                            && !((currentRow = (IChangeableDataRow)dpCurrentDataPage.getDataRow(iRow + 1)).isDeleting() || currentRow.isUpdating() || currentRow.isInserting())
+                            && compareTo(currentRow, sSort) > 0)
+                    {
+                        iRow++;
+                    }
                 }
             }
             
             if (iRow != iSelectedRowIndex)
             {
-                // delete row from current page
-                changeCounter += dpCurrentDataPage.delete(iSelectedRowIndex);
-                changeCounter += dpCurrentDataPage.insert(iRow, this);
+                if (bMove)
+                {
+                    dpCurrentDataPage.moveRow(iSelectedRowIndex, iRow);
+                }
+                else
+                {
+                    // delete row from current page
+                    changeCounter += dpCurrentDataPage.delete(iSelectedRowIndex);
+                    changeCounter += dpCurrentDataPage.insert(iRow, this);
+                }
 
                 if (dpOldCurrentDataPageSaveAllRows == dpCurrentDataPage)
                 {
@@ -4893,6 +4942,7 @@ public class MemDataBook extends ChangeableDataRow
     private void addDataRowAtRightPosition(MemDataPage pDataPage) throws ModelException
     {
         boolean bInFilter = true;
+        boolean bSorted = false;
         int row = 0;
         // if its refetchable(RemoteDataBook), then check filter, then sort it in.
         if (isDataPageRefetchPossible())
@@ -4914,6 +4964,17 @@ public class MemDataBook extends ChangeableDataRow
                 }
             }
         }
+        else
+        {
+            // mem filtered and sorted page -> binary search instead of re-filter and re-sort 
+            int iSortedRow = pDataPage.getSortedInsertIndex(this);
+            
+            if (iSortedRow >= 0)
+            {
+                row = iSortedRow;
+                bSorted = true;
+            }
+        }
         // if in Filter then insert it.
         // if its MemDataBook (=!isDataPageRefetchPossible()), then insert always. After that the filter/sort is cleared to refilter/resort!
         if (bInFilter)
@@ -4926,7 +4987,7 @@ public class MemDataBook extends ChangeableDataRow
                 iOldSelectedRowSaveAllRows++;
             }
         }
-        if (!isDataPageRefetchPossible())
+        if (!isDataPageRefetchPossible() && !bSorted)
         {
             // clear filter & sort; should be renewed if MemDataBook!
             pDataPage.clear();
@@ -5599,6 +5660,27 @@ public class MemDataBook extends ChangeableDataRow
         return new MemDataPage(this, pMasterDataRow);
     }
     
+    /**
+     * Gets the comparator for the given sort definition. The comparator is cached for the current sort.
+     * 
+     * @param pSort the sort definition.
+     * @return the comparator.
+     * @throws ModelException if the comparator can't be created.
+     */
+    SortComparator getSortComparator(SortDefinition pSort) throws ModelException
+    {
+        SortComparator comparator = sortComparator;
+        
+        if (comparator == null || comparator.getSortDefinition() != pSort)
+        {
+            comparator = new SortComparator(rdRowDefinition, pSort);
+            
+            sortComparator = comparator;
+        }
+        
+        return comparator;
+    }
+    
     /**
      * Returns true if the sort is handled in memory.
      *
@@ -5795,6 +5877,171 @@ public class MemDataBook extends ChangeableDataRow
         sortDataRowOnSave = pSortDataRowOnSave;
     }
     
+    /**
+     * Gets whether the data pages store unchanged rows column oriented.
+     * 
+     * @return <code>true</code> if unchanged rows are stored column oriented
+     * @see #setColumnarStorage(boolean)
+     */
+    public boolean isColumnarStorage()
+    {
+        return bColumnarStorage;
+    }
+    
+    /**
+     * Sets whether the data pages should store unchanged rows column oriented. <code>BigDecimal</code>,
+     * <code>Timestamp</code> and <code>Boolean</code> columns will be stored in primitive arrays and
+     * <code>String</code> columns will be dictionary encoded. This reduces the memory consumption
+     * of big data pages, but every row access creates a new <code>Object[]</code>.
+     * Default is <code>false</code>.
+     * 
+     * @param pColumnarStorage <code>true</code> to store unchanged rows column oriented
+     * @throws ModelException if the databook is open
+     * @see ColumnarRowStorage
+     */
+    public void setColumnarStorage(boolean pColumnarStorage) throws ModelException
+    {
+        synchronized (rootDataBook)
+        {
+            if (bIsOpen)
+            {
+                throw new ModelException(getName() + ": Changing the storage of an already open databook is not allowed.");
+            }
+            bColumnarStorage = pColumnarStorage;
+        }
+    }
+    
+    /**
+     * Gets the min. number of rows, for checking the mem filter in parallel.
+     * 
+     * @return the number of rows or <code>-1</code> if the mem filter is always checked sequential
+     * @see #setParallelFilterThreshold(int)
+     */
+    public int getParallelFilterThreshold()
+    {
+        return iParallelFilterThreshold;
+    }
+    
+    /**
+     * Sets the min. number of rows, for checking the mem filter in parallel. Data pages with more rows
+     * check the filter with the fork/join common pool. This is only done for the conditions of the
+     * <code>javax.rad.model.condition</code> package, e.g. a full text filter, because custom conditions 
+     * and data types may not be thread-safe. Default is {@link #DEFAULT_PARALLEL_FILTER_THRESHOLD}.
+     * 
+     * @param pThreshold the number of rows or <code>-1</code> to check the mem filter always sequential
+     */
+    public void setParallelFilterThreshold(int pThreshold)
+    {
+        iParallelFilterThreshold = pThreshold;
+    }
+    
+    /**
+     * Adds a secondary index on the given columns. The data pages use the index to find the rows for 
+     * {@link #setFilter(ICondition) mem filters} and {@link #searchNext(ICondition) searches}, instead of 
+     * checking every row. Single column indexes are used for <code>Equals</code>, <code>Greater</code>, 
+     * <code>GreaterEquals</code>, <code>Less</code>, <code>LessEquals</code> and for <code>Like</code>
+     * and <code>LikeIgnoreCase</code> with a fixed prefix. Multi column indexes are used for <code>And</code>
+     * conditions with <code>Equals</code> conditions on all index columns.
+     * <p>
+     * The indexes are created per data page on first use and maintained for fetched, inserted and saved rows. 
+     * An index is only used for <code>String</code>, <code>BigDecimal</code>, <code>Boolean</code> and 
+     * <code>Timestamp</code> columns. Calculated columns should not be indexed, because their values are 
+     * changed without notification.
+     * 
+     * @param pColumnNames the column names
+     * @throws ModelException if a column doesn't exist
+     * @see #removeIndex(String...)
+     */
+    public void addIndex(String... pColumnNames) throws ModelException
+    {
+        synchronized (rootDataBook)
+        {
+            if (pColumnNames == null || pColumnNames.length == 0)
+            {
+                throw new ModelException(getName() + ": An index needs at least one column.");
+            }
+            
+            for (int i = 0; i < pColumnNames.length; i++)
+            {
+                rdRowDefinition.getColumnDefinition(pColumnNames[i]);
+            }
+            
+            if (indexOfIndex(pColumnNames) < 0)
+            {
+                if (auIndexes == null)
+                {
+                    auIndexes = new ArrayUtil<String[]>();
+                }
+                
+                auIndexes.add(pColumnNames.clone());
+                
+                iIndexVersion++;
+            }
+        }
+    }
+    
+    /**
+     * Removes the secondary index on the given columns.
+     * 
+     * @param pColumnNames the column names
+     * @see #addIndex(String...)
+     */
+    public void removeIndex(String... pColumnNames)
+    {
+        synchronized (rootDataBook)
+        {
+            int iIndex = indexOfIndex(pColumnNames);
+            
+            if (iIndex >= 0)
+            {
+                auIndexes.remove(iIndex);
+                
+                iIndexVersion++;
+            }
+        }
+    }
+    
+    /**
+     * Gets the column names of all secondary indexes.
+     * 
+     * @return the column names per index or <code>null</code> if no index was added
+     * @see #addIndex(String...)
+     */
+    public String[][] getIndexes()
+    {
+        synchronized (rootDataBook)
+        {
+            if (auIndexes == null || auIndexes.isEmpty())
+            {
+                return null;
+            }
+            
+            return auIndexes.toArray(new String[auIndexes.size()][]);
+        }
+    }
+    
+    /**
+     * Gets the position of the index with the given columns.
+     * 
+     * @param pColumnNames the column names
+     * @return the position or <code>-1</code> if there's no such index
+     */
+    private int indexOfIndex(String[] pColumnNames)
+    {
+        if (auIndexes != null)
+        {
+            for (int i = 0, cnt = auIndexes.size(); i < cnt; i++)
+            {
+                if (Arrays.equals(auIndexes.get(i), pColumnNames))
+                {
+                    return i;
+                }
+            }
+        }
+        
+        return -1;
+    }
+    
     /**
      * Its called when the inserting DataRow (new row) should be inserted.
      * Derived classed should override this to implemented the needed functionality.
@@ -5834,6 +6081,33 @@ public class MemDataBook extends ChangeableDataRow
     protected void executeDelete(IChangeableDataRow pDataRow) throws ModelException
     {
     }
+    
+    /**
+     * Its called before the changed rows of a data page will be saved row by row. The rows are saved
+     * in the following order: all deleted rows, all updated rows and all inserted rows.
+     * Derived classed can override this to write all changes of the data page with one storage access.
+     * In this case, {@link #executeInsert(IChangeableDataRow)}, {@link #executeUpdate(IChangeableDataRow)} 
+     * and {@link #executeDelete(IChangeableDataRow)} have to use the results of this access.
+     * 
+     * @param pDataPage the data page
+     * @param pChangedRows the indexes of the changed rows
+     * @throws ModelException if an ModelException occur during save.
+     * @see #finishSaveDataPage(boolean)
+     */
+    protected void executeSaveDataPage(IDataPage pDataPage, int[] pChangedRows) throws ModelException
+    {
+    }
+    
+    /**
+     * Its called after all changed rows of a data page were saved, or the save failed.
+     * 
+     * @param pSaved <code>true</code> if all rows were saved, <code>false</code> if the save failed
+     * @throws ModelException if the save was not complete.
+     * @see #executeSaveDataPage(IDataPage, int[])
+     */
+    protected void finishSaveDataPage(boolean pSaved) throws ModelException
+    {
+    }
 
     /**
      * Its called before the DataRow (existing row) will be changed.
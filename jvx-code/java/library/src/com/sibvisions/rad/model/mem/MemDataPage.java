@@ -43,11 +43,17 @@
  * 10.04.2013 - [RH] - #617 - restoreAllRows fails with ArrayIndexOutOfBoundsException - fixed
  * 10.04.2013 - [RH] - #618 - restoreAllRows throws an Exception - fixed
  * 12.04.2013 - [RH] - #514 - JVx DataBook, DataPage, DataRow toString should be better formatted - fixed
+ * 18.10.2026 - [JR] - columnar storage support
+ *                   - sort with precomputed SortComparator, incremental insert and reposition of sorted rows
+ *                   - secondary indexes for filter and search
+ *                   - parallel filter
+ *                   - compiled filter and search conditions
  */
 package com.sibvisions.rad.model.mem;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.rad.model.IChangeableDataRow;
 import javax.rad.model.IDataBook;
@@ -99,7 +105,7 @@ public class MemDataPage implements IDataPage
 	/** The master row from the corresponding master DataBook. */
 	protected IDataRow			drMasterDataRow; 		
 	/** The storage array with all DataRows of the DataPage. */
-	private ArrayUtil<Object[]>	alStorage;
+	private List<Object[]>		alStorage;
 	
 	/** The array with all changes rows. */
 	private int[]			 	iaChangedRows = null;
@@ -116,6 +122,14 @@ public class MemDataPage implements IDataPage
 	private int[]				iaUsedRows = null;
 	/** The amount of rows. */
 	private int					iUsedRowCount = 0;
+	
+	/** The row index of each storage row, or -1 if the row is not used. Created on demand for index searches. */
+	private int[]				iaUsedRowPositions = null;
+	
+	/** The secondary indexes of the storage. */
+	private ColumnIndex[]		caIndexes = null;
+	/** The version of the index definitions of the MemDataBook. */
+	private int					iIndexVersion = 0;
 		
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
@@ -135,7 +149,22 @@ public class MemDataPage implements IDataPage
 		rootDataBook = dbDataBook.getRootDataBook();
 		
 		drMasterDataRow = pMasterDataRow;
-		alStorage  = new ArrayUtil<Object[]>(INIT_STORAGE_SIZE);
+
+		if (pDataBook.isColumnarStorage())
+		{
+			try
+			{
+				alStorage = new ColumnarRowStorage(rdRowDefinition);
+			}
+			catch (ModelException me)
+			{
+				throw new IllegalStateException("Columnar storage can't be created!", me);
+			}
+		}
+		else
+		{
+			alStorage = new ArrayUtil<Object[]>(INIT_STORAGE_SIZE);
+		}
 	}
 	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -317,12 +346,19 @@ public class MemDataPage implements IDataPage
 					fetchToRow(pStartIndex);
 				}
 				
+				int[] iaCandidates = getIndexCandidates(pCondition);
+				
+				CompiledCondition ccCondition = CompiledCondition.compile(pCondition, rdRowDefinition);
+				
+				if (iaCandidates != null)
+				{
+					return searchCandidates(pCondition, ccCondition, iaCandidates, pStartIndex, true);
+				}
+				
 				int rowCount = getRowCountInternal();
 				while (pStartIndex < rowCount)
 				{
-					dbDataBook.rowInstance1.oaStorage = alStorage.get(getInternalRowIndex(pStartIndex));
-							
-					if (pCondition.isFulfilled(dbDataBook.rowInstance1))
+					if (isFulfilled(pCondition, ccCondition, alStorage.get(getInternalRowIndex(pStartIndex))))
 					{
 						return pStartIndex;
 					}
@@ -380,11 +416,18 @@ public class MemDataPage implements IDataPage
 					pStartIndex--;
 				}
 				
+				int[] iaCandidates = getIndexCandidates(pCondition);
+				
+				CompiledCondition ccCondition = CompiledCondition.compile(pCondition, rdRowDefinition);
+				
+				if (iaCandidates != null)
+				{
+					return searchCandidates(pCondition, ccCondition, iaCandidates, pStartIndex, false);
+				}
+				
 				while (pStartIndex >= 0)
 				{
-					dbDataBook.rowInstance1.oaStorage = alStorage.get(getInternalRowIndex(pStartIndex));
-					
-					if (pCondition.isFulfilled(dbDataBook.rowInstance1))
+					if (isFulfilled(pCondition, ccCondition, alStorage.get(getInternalRowIndex(pStartIndex))))
 					{
 						return pStartIndex;
 					}
@@ -452,6 +495,8 @@ public class MemDataPage implements IDataPage
 	protected void addFetchedRow(Object[] pValues) throws ModelException
 	{
 		alStorage.add(pValues);
+		
+		addToIndexes(pValues);
 	}
 	
 	/**
@@ -475,6 +520,16 @@ public class MemDataPage implements IDataPage
         boolean hasChangesBefore = hasChanges();
 		if (iaUsedRows == null)
 		{
+			if (pDataRowIndex == alStorage.size())
+			{
+				addToIndexes(pDataRow.oaStorage);
+			}
+			else
+			{
+				// storage indexes are shifted
+				caIndexes = null;
+			}
+			
 			alStorage.add(pDataRowIndex, pDataRow.oaStorage);
 			addChange(pDataRowIndex, true);
 			if (!pDataRow.isChanged() && !pDataRow.isDetailChanged())
@@ -486,6 +541,10 @@ public class MemDataPage implements IDataPage
 		{
 			int pos = alStorage.size();
 			alStorage.add(pos, pDataRow.oaStorage);
+			
+			addToIndexes(pDataRow.oaStorage);
+			
+			iaUsedRowPositions = null;
 
 			if (iUsedRowCount == iaUsedRows.length)
 			{
@@ -546,8 +605,13 @@ public class MemDataPage implements IDataPage
 		// remove current row
 		alStorage.remove(iInternalIndex);		
 		
+		// storage indexes are shifted
+		caIndexes = null;
+		
 		if (iaUsedRows != null)
 		{
+			iaUsedRowPositions = null;
+			
 			iUsedRowCount--;
 			if (pDataRowIndex < iUsedRowCount)
 			{
@@ -624,9 +688,14 @@ public class MemDataPage implements IDataPage
     		
     		for (int j = 0; j < iaColumnIndicies.length; j++)
     		{
-    			dataRow[iaColumnIndicies[j]] = dataTypes[j].convertAndCheckToTypeClass(drMasterDataRow.getValue(j));		    			
+    			dataRow[iaColumnIndicies[j]] = dataTypes[j].convertAndCheckToTypeClass(drMasterDataRow.getValue(j));
     		}
-    	}		
+
+    		// write back, because the columnar storage creates a new Object[] for every get
+    		alStorage.set(i, dataRow);
+    	}
+    	
+    	caIndexes = null;
 	}
 	
 	/**
@@ -709,6 +778,14 @@ public class MemDataPage implements IDataPage
 		
 		alStorage.set(index, pRow.oaStorage);
 		
+		if (caIndexes != null)
+		{
+			for (int i = 0; i < caIndexes.length; i++)
+			{
+				caIndexes[i].update(index, pRow.oaStorage);
+			}
+		}
+		
 		// set correct Change for new Storage Object[]
 		if (pRow.isChanged() || pRow.isDetailChanged())
 		{
@@ -870,6 +947,7 @@ public class MemDataPage implements IDataPage
 	protected void clear()
 	{
 		iaUsedRows = null;
+		iaUsedRowPositions = null;
 	}
 	
 	/**
@@ -889,10 +967,36 @@ public class MemDataPage implements IDataPage
 			int rowCount = getRowCountInternal();
 			int[] newUsedRows = new int[INIT_STORAGE_SIZE];
 			int iCount = 0;
-			for (int i = 0; i < rowCount; i++)
+			
+			// check only the rows found with the secondary indexes
+			int[] iaCandidates = getIndexCandidates(cFilter);
+			if (iaCandidates != null)
+			{
+				rowCount = iaCandidates.length;
+			}
+			
+			// resolve columns, compare values and patterns only once
+			CompiledCondition ccFilter = CompiledCondition.compile(cFilter, rdRowDefinition);
+			
+			int iThreshold = dbDataBook.getParallelFilterThreshold();
+			
+			if (iThreshold >= 0 
+				&& rowCount >= iThreshold 
+				&& ParallelFilter.isAvailable() 
+				&& ParallelFilter.isThreadSafe(cFilter, rdRowDefinition))
+			{
+				iaUsedRows = ParallelFilter.filter(alStorage, rdRowDefinition, cFilter, ccFilter, iaCandidates, rowCount);
+				iUsedRowCount = iaUsedRows.length;
+				iaUsedRowPositions = null;
+				
+				return;
+			}
+			
+			for (int j = 0; j < rowCount; j++)
 			{
-				dbDataBook.rowInstance1.oaStorage = alStorage.get(i);
-				if (cFilter.isFulfilled(dbDataBook.rowInstance1))
+				int i = iaCandidates == null ? j : iaCandidates[j];
+				
+				if (isFulfilled(cFilter, ccFilter, alStorage.get(i)))
 				{
 					if (iCount == newUsedRows.length)
 					{
@@ -908,6 +1012,7 @@ public class MemDataPage implements IDataPage
 			}
 			iaUsedRows = newUsedRows;
 			iUsedRowCount = iCount;
+			iaUsedRowPositions = null;
 		}
 	}
 	
@@ -930,8 +1035,12 @@ public class MemDataPage implements IDataPage
 				iUsedRowCount = iaUsedRows.length;
 			}
 
-			quickSort(iaUsedRows, 0, iUsedRowCount - 1, sort);
-			insertionSort(iaUsedRows, 0, iUsedRowCount - 1, sort);
+			SortComparator comparator = dbDataBook.getSortComparator(sort);
+
+			quickSort(iaUsedRows, 0, iUsedRowCount - 1, comparator);
+			insertionSort(iaUsedRows, 0, iUsedRowCount - 1, comparator);
+			
+			iaUsedRowPositions = null;
 		}
 	}
 
@@ -973,29 +1082,23 @@ public class MemDataPage implements IDataPage
 	 * @param pResult the result int[] with the row indexes.
 	 * @param pFromIndex the from index to sort.
 	 * @param pToIndex the to index to sort.
-	 * @param pSort the {@link SortDefinition}
+	 * @param pComparator the comparator for the {@link SortDefinition}
 	 */
-	private void quickSort(int[] pResult, int pFromIndex, int pToIndex, SortDefinition pSort) 
+	private void quickSort(int[] pResult, int pFromIndex, int pToIndex, SortComparator pComparator) 
 	{
 		if (pToIndex - pFromIndex > 4)
 		{
 			int i = (pToIndex + pFromIndex) / 2;
 			
-			dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[pFromIndex]);
-			dbDataBook.rowInstance2.oaStorage = alStorage.get(pResult[i]);
-			if (dbDataBook.rowInstance1.compareTo(dbDataBook.rowInstance2, pSort) > 0)
+			if (pComparator.compare(alStorage.get(pResult[pFromIndex]), alStorage.get(pResult[i])) > 0)
 			{
 				swap(pResult, pFromIndex, i);
 			}
-			dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[pFromIndex]);
-			dbDataBook.rowInstance2.oaStorage = alStorage.get(pResult[pToIndex]);
-			if (dbDataBook.rowInstance1.compareTo(dbDataBook.rowInstance2, pSort) > 0)
+			if (pComparator.compare(alStorage.get(pResult[pFromIndex]), alStorage.get(pResult[pToIndex])) > 0)
 			{
 				swap(pResult, pFromIndex, pToIndex);
 			}
-			dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[i]);
-			dbDataBook.rowInstance2.oaStorage = alStorage.get(pResult[pToIndex]);
-			if (dbDataBook.rowInstance1.compareTo(dbDataBook.rowInstance2, pSort) > 0)
+			if (pComparator.compare(alStorage.get(pResult[i]), alStorage.get(pResult[pToIndex])) > 0)
 			{
 				swap(pResult, i, pToIndex);
 			}
@@ -1005,20 +1108,18 @@ public class MemDataPage implements IDataPage
 			swap(pResult, i, j);
 			i = pFromIndex;
 			
-			dbDataBook.rowInstance2.oaStorage = alStorage.get(pResult[j]);
+			Object[] oaPivot = alStorage.get(pResult[j]);
 			
 			while (true)
 			{
-				dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[++i]);
-				while (dbDataBook.rowInstance1.compareTo(dbDataBook.rowInstance2, pSort) < 0) 
+				while (pComparator.compare(alStorage.get(pResult[++i]), oaPivot) < 0) 
 				{ 
-					dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[++i]);
+					// nothing to do, find the first row >= pivot
 				}
 				
-				dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[--j]);
-				while (dbDataBook.rowInstance1.compareTo(dbDataBook.rowInstance2, pSort) > 0)
+				while (pComparator.compare(alStorage.get(pResult[--j]), oaPivot) > 0)
 				{ 
-					dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[--j]);
+					// nothing to do, find the last row <= pivot
 				}
 				
 				if (j < i)
@@ -1029,8 +1130,8 @@ public class MemDataPage implements IDataPage
 			}
 			
 			swap(pResult, i, pToIndex - 1);
-			quickSort(pResult, pFromIndex, j, pSort);
-			quickSort(pResult, i + 1, pToIndex, pSort);
+			quickSort(pResult, pFromIndex, j, pComparator);
+			quickSort(pResult, i + 1, pToIndex, pComparator);
 		}
 	}
 
@@ -1040,34 +1141,359 @@ public class MemDataPage implements IDataPage
 	 * @param pResult the result int[] with the row indexes.
 	 * @param pFromIndex the from index to sort
 	 * @param pToIndex the to index to sort
-	 * @param pSort the {@link SortDefinition}
+	 * @param pComparator the comparator for the {@link SortDefinition}
 	 */
-	private void insertionSort(int[] pResult, int pFromIndex, int pToIndex, SortDefinition pSort) 
+	private void insertionSort(int[] pResult, int pFromIndex, int pToIndex, SortComparator pComparator) 
 	{
 		for (int i = pFromIndex + 1; i <= pToIndex; i++)
 		{
 			int vIndex = pResult[i];
-			dbDataBook.rowInstance2.oaStorage = alStorage.get(vIndex);
+			Object[] oaRow = alStorage.get(vIndex);
 			
 			int j = i;
-			if (j > pFromIndex)
+			while (j > pFromIndex && pComparator.compare(alStorage.get(pResult[j - 1]), oaRow) > 0)
 			{
-				dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[j - 1]);
-				while (j > pFromIndex && dbDataBook.rowInstance1.compareTo(dbDataBook.rowInstance2, pSort) > 0)
-				{
-					pResult[j] = pResult[j - 1];
-					j--;
-					if (j > pFromIndex)
-					{
-						dbDataBook.rowInstance1.oaStorage = alStorage.get(pResult[j - 1]);
-					}
-				}
+				pResult[j] = pResult[j - 1];
+				j--;
 			}
 			
 			pResult[j] = vIndex;
 		}
 	}	
 	
+	/**
+	 * Gets the comparator for the current mem sort, if the used rows are sorted in memory.
+	 * 
+	 * @return the comparator or <code>null</code> if the used rows are not sorted in memory.
+	 * @throws ModelException if the comparator can't be created.
+	 */
+	private SortComparator getMemSortComparator() throws ModelException
+	{
+		if (iaUsedRows == null || dbDataBook == null || !dbDataBook.bMemSort)
+		{
+			return null;
+		}
+		
+		return dbDataBook.getSortComparator(dbDataBook.getSort());
+	}
+	
+	/**
+	 * Searches the first used row in the given range, which is greater than the given row storage. 
+	 * The range has to be sorted.
+	 * 
+	 * @param pComparator the comparator of the mem sort.
+	 * @param pStorage the row storage to search.
+	 * @param pFromIndex the from index (inclusive).
+	 * @param pToIndex the to index (exclusive).
+	 * @param pInclusive <code>true</code> to search the first row which is greater or equal.
+	 * @return the found row index or <code>pToIndex</code> if all rows are less (or equal).
+	 */
+	private int searchSorted(SortComparator pComparator, Object[] pStorage, int pFromIndex, int pToIndex, boolean pInclusive)
+	{
+		int iLow = pFromIndex;
+		int iHigh = pToIndex;
+		
+		while (iLow < iHigh)
+		{
+			int iMid = (iLow + iHigh) >>> 1;
+			int iCompare = pComparator.compare(alStorage.get(iaUsedRows[iMid]), pStorage);
+			
+			if (iCompare > 0 || (pInclusive && iCompare == 0))
+			{
+				iHigh = iMid;
+			}
+			else
+			{
+				iLow = iMid + 1;
+			}
+		}
+		
+		return iLow;
+	}
+	
+	/**
+	 * Gets the row index, where the given row should be inserted, to keep the mem filter and sort valid. 
+	 * It's a binary search in the sorted rows, instead of a re-sort of the whole page.
+	 * 
+	 * @param pDataRow the new row.
+	 * @return the row index or <code>-1</code> if the row is not visible because of the mem filter, 
+	 *         or if the page is not filtered or sorted in memory. The mem filter and sort has to be 
+	 *         cleared in that case.
+	 * @throws ModelException if the filter can't be checked.
+	 */
+	protected int getSortedInsertIndex(ChangeableDataRow pDataRow) throws ModelException
+	{
+		if (iaUsedRows == null || dbDataBook == null)
+		{
+			return -1;
+		}
+		
+		if (dbDataBook.bMemFilter)
+		{
+			ICondition cFilter = dbDataBook.getFilter();
+			
+			if (cFilter != null && !cFilter.isFulfilled(pDataRow))
+			{
+				return -1;
+			}
+		}
+		
+		SortComparator comparator = getMemSortComparator();
+		
+		if (comparator == null)
+		{
+			// filtered rows keep the storage order, new rows are added at the end of the storage
+			return iUsedRowCount;
+		}
+		
+		return searchSorted(comparator, pDataRow.oaStorage, 0, iUsedRowCount, false);
+	}
+	
+	/**
+	 * Gets the row index, where the given row should be moved to, after its sort columns were changed.
+	 * The row is moved over all rows with a wrong order, like a linear search would do, but with a binary search.
+	 * It's only possible, if the page is sorted in memory and no other row is changed, because the 
+	 * position of changed rows is not defined.
+	 * 
+	 * @param pDataRowIndex the current row index of the changed row.
+	 * @return the new row index or <code>-1</code> if the row can't be repositioned incrementally.
+	 * @throws ModelException if the comparator can't be created.
+	 */
+	protected int getSortedRowIndex(int pDataRowIndex) throws ModelException
+	{
+		SortComparator comparator = getMemSortComparator();
+		
+		if (comparator == null 
+			|| pDataRowIndex < 0 
+			|| pDataRowIndex >= iUsedRowCount
+			|| iChangedRowCount > 1
+			|| (iChangedRowCount == 1 && iaChangedRows[0] != iaUsedRows[pDataRowIndex]))
+		{
+			return -1;
+		}
+		
+		Object[] oaRow = alStorage.get(iaUsedRows[pDataRowIndex]);
+		
+		if (pDataRowIndex > 0 && comparator.compare(alStorage.get(iaUsedRows[pDataRowIndex - 1]), oaRow) > 0)
+		{
+			return searchSorted(comparator, oaRow, 0, pDataRowIndex - 1, false);
+		}
+		else if (pDataRowIndex + 1 < iUsedRowCount && comparator.compare(alStorage.get(iaUsedRows[pDataRowIndex + 1]), oaRow) < 0)
+		{
+			return searchSorted(comparator, oaRow, pDataRowIndex + 2, iUsedRowCount, true) - 1;
+		}
+		
+		return pDataRowIndex;
+	}
+	
+	/**
+	 * Moves a row to another row index. Only the used row indexes are changed, the storage and the changes
+	 * are not touched.
+	 * 
+	 * @param pFromIndex the current row index.
+	 * @param pToIndex the new row index.
+	 */
+	protected void moveRow(int pFromIndex, int pToIndex)
+	{
+		if (iaUsedRows == null)
+		{
+			throw new IllegalStateException("Rows are not sorted or filtered in memory!");
+		}
+		
+		int iRow = iaUsedRows[pFromIndex];
+		
+		if (pFromIndex < pToIndex)
+		{
+			System.arraycopy(iaUsedRows, pFromIndex + 1, iaUsedRows, pFromIndex, pToIndex - pFromIndex);
+		}
+		else if (pFromIndex > pToIndex)
+		{
+			System.arraycopy(iaUsedRows, pToIndex, iaUsedRows, pToIndex + 1, pFromIndex - pToIndex);
+		}
+		
+		iaUsedRows[pToIndex] = iRow;
+		
+		iaUsedRowPositions = null;
+	}
+	
+	/**
+	 * Gets the secondary indexes of this page. The indexes are created on first use and after the
+	 * index definitions of the MemDataBook were changed.
+	 * 
+	 * @return the indexes or <code>null</code> if the MemDataBook has no indexes.
+	 * @throws ModelException if an index can't be created.
+	 */
+	private ColumnIndex[] getIndexes() throws ModelException
+	{
+		if (dbDataBook == null)
+		{
+			return null;
+		}
+		
+		if (caIndexes == null || iIndexVersion != dbDataBook.iIndexVersion)
+		{
+			String[][] saIndexes = dbDataBook.getIndexes();
+			
+			if (saIndexes == null)
+			{
+				caIndexes = null;
+			}
+			else
+			{
+				caIndexes = new ColumnIndex[saIndexes.length];
+				
+				for (int i = 0; i < saIndexes.length; i++)
+				{
+					caIndexes[i] = new ColumnIndex(rdRowDefinition, saIndexes[i], alStorage);
+				}
+			}
+			
+			iIndexVersion = dbDataBook.iIndexVersion;
+		}
+		
+		return caIndexes;
+	}
+	
+	/**
+	 * Adds an appended storage row to the secondary indexes, if they are already created.
+	 * 
+	 * @param pValues the storage of the row.
+	 * @throws ModelException if the row can't be added.
+	 */
+	private void addToIndexes(Object[] pValues) throws ModelException
+	{
+		if (caIndexes != null)
+		{
+			for (int i = 0; i < caIndexes.length; i++)
+			{
+				caIndexes[i].add(pValues);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the storage indexes of all rows which may fulfill the given condition, with the help of the 
+	 * secondary indexes. Changed rows are always candidates, because their values may be changed without
+	 * notification.
+	 * 
+	 * @param pCondition the condition.
+	 * @return the ascending storage indexes or <code>null</code> if all rows have to be checked.
+	 * @throws ModelException if an index can't be created.
+	 */
+	private int[] getIndexCandidates(ICondition pCondition) throws ModelException
+	{
+		if (!bAllFetched || pCondition == null)
+		{
+			return null;
+		}
+		
+		ColumnIndex[] indexes = getIndexes();
+		
+		if (indexes == null)
+		{
+			return null;
+		}
+		
+		int[] iaCandidates = IndexPlanner.plan(pCondition, rdRowDefinition, indexes);
+		
+		if (iaCandidates != null && iChangedRowCount > 0)
+		{
+			iaCandidates = IndexPlanner.union(iaCandidates, iaCandidates.length, iaChangedRows, iChangedRowCount);
+		}
+		
+		return iaCandidates;
+	}
+	
+	/**
+	 * Searches the next or previous row, which fulfills the condition, only in the given candidates.
+	 * 
+	 * @param pCondition the condition.
+	 * @param pCompiled the compiled condition or <code>null</code> if the condition isn't compiled.
+	 * @param pCandidates the ascending storage indexes of the candidates.
+	 * @param pStartIndex the first row index to check.
+	 * @param pForward <code>true</code> to search the next row, <code>false</code> to search the previous row.
+	 * @return the found row index or <code>-1</code>.
+	 * @throws ModelException if the condition can't be checked.
+	 */
+	private int searchCandidates(ICondition pCondition, CompiledCondition pCompiled, int[] pCandidates, int pStartIndex, boolean pForward) throws ModelException
+	{
+		int[] iaRows;
+		int iCount = 0;
+		
+		if (iaUsedRows == null)
+		{
+			// the storage index is the row index
+			iaRows = pCandidates;
+			iCount = pCandidates.length;
+		}
+		else
+		{
+			if (iaUsedRowPositions == null)
+			{
+				iaUsedRowPositions = new int[alStorage.size()];
+				
+				Arrays.fill(iaUsedRowPositions, -1);
+				
+				for (int i = 0; i < iUsedRowCount; i++)
+				{
+					iaUsedRowPositions[iaUsedRows[i]] = i;
+				}
+			}
+			
+			iaRows = new int[pCandidates.length];
+			
+			for (int i = 0; i < pCandidates.length; i++)
+			{
+				if (pCandidates[i] < iaUsedRowPositions.length && iaUsedRowPositions[pCandidates[i]] >= 0)
+				{
+					iaRows[iCount++] = iaUsedRowPositions[pCandidates[i]];
+				}
+			}
+			
+			Arrays.sort(iaRows, 0, iCount);
+		}
+		
+		int iPos = Arrays.binarySearch(iaRows, 0, iCount, pStartIndex);
+		
+		if (iPos < 0)
+		{
+			// the insertion point is the first greater row 
+			iPos = pForward ? -iPos - 1 : -iPos - 2;
+		}
+		
+		while (iPos >= 0 && iPos < iCount)
+		{
+			if (isFulfilled(pCondition, pCompiled, alStorage.get(getInternalRowIndex(iaRows[iPos]))))
+			{
+				return iaRows[iPos];
+			}
+			
+			iPos += pForward ? 1 : -1;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Checks if a row fulfills the condition. The compiled condition is used, if available.
+	 * 
+	 * @param pCondition the condition.
+	 * @param pCompiled the compiled condition or <code>null</code> if the condition isn't compiled.
+	 * @param pStorage the storage of the row.
+	 * @return <code>true</code> if the row fulfills the condition.
+	 */
+	private boolean isFulfilled(ICondition pCondition, CompiledCondition pCompiled, Object[] pStorage)
+	{
+		if (pCompiled != null)
+		{
+			return pCompiled.isFulfilled(pStorage);
+		}
+		
+		dbDataBook.rowInstance1.oaStorage = pStorage;
+		
+		return pCondition.isFulfilled(dbDataBook.rowInstance1);
+	}
+	
 	/**
 	 * Dumps this data page as string.
 	 * 
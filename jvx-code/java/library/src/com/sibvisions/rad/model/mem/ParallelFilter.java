@@ -0,0 +1,315 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ *                   - compiled conditions
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import javax.rad.model.IRowDefinition;
+import javax.rad.model.condition.And;
+import javax.rad.model.condition.CompareCondition;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.Not;
+import javax.rad.model.condition.Or;
+import javax.rad.model.datatype.BinaryDataType;
+import javax.rad.model.datatype.IDataType;
+import javax.rad.model.datatype.StringDataType;
+
+/**
+ * The <code>ParallelFilter</code> checks a filter condition for a range of storage rows with the
+ * fork/join common pool. Every task uses its own {@link DataRow} instance and the results of the
+ * tasks are merged in storage order, so the result is the same as the result of a sequential filter.
+ * A {@link CompiledCondition} is immutable and is shared by all tasks.
+ * <p>
+ * Only conditions which are known to be thread-safe are checked in parallel: the conditions of
+ * the <code>javax.rad.model.condition</code> package, without a data row as value source, on columns
+ * with a data type of the <code>javax.rad.model.datatype</code> package.
+ *
+ * @author René Jahn
+ */
+final class ParallelFilter extends RecursiveTask<int[]>
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the serial version UID. */
+	private static final long serialVersionUID = 1L;
+
+	/** the min. number of rows per task. */
+	private static final int MIN_ROWS_PER_TASK = 4096;
+
+	/** the storage of the data page. */
+	private List<Object[]> alStorage;
+
+	/** the row definition of the storage. */
+	private IRowDefinition rdRowDefinition;
+
+	/** the filter condition. */
+	private ICondition cFilter;
+
+	/** the compiled filter condition or <code>null</code> if the condition isn't compiled. */
+	private CompiledCondition ccFilter;
+
+	/** the storage indexes to check or <code>null</code> to check all rows. */
+	private int[] iaCandidates;
+
+	/** the first row to check. */
+	private int iFrom;
+
+	/** the end of the rows to check (exclusive). */
+	private int iTo;
+
+	/** the max. number of rows, checked without splitting the task. */
+	private int iRowsPerTask;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>ParallelFilter</code>.
+	 *
+	 * @param pStorage the storage of the data page
+	 * @param pRowDefinition the row definition of the storage
+	 * @param pFilter the filter condition
+	 * @param pCompiled the compiled filter condition or <code>null</code> if the condition isn't compiled
+	 * @param pCandidates the storage indexes to check or <code>null</code> to check all rows
+	 * @param pFrom the first row to check
+	 * @param pTo the end of the rows to check (exclusive)
+	 * @param pRowsPerTask the max. number of rows, checked without splitting the task
+	 */
+	private ParallelFilter(List<Object[]> pStorage, IRowDefinition pRowDefinition, ICondition pFilter, CompiledCondition pCompiled,
+			               int[] pCandidates, int pFrom, int pTo, int pRowsPerTask)
+	{
+		alStorage = pStorage;
+		rdRowDefinition = pRowDefinition;
+		cFilter = pFilter;
+		ccFilter = pCompiled;
+		iaCandidates = pCandidates;
+		iFrom = pFrom;
+		iTo = pTo;
+		iRowsPerTask = pRowsPerTask;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Abstract methods implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Checks the rows of this task or splits the task.
+	 *
+	 * @return the ascending storage indexes of all rows, which fulfill the condition
+	 */
+	@Override
+	protected int[] compute()
+	{
+		if (iTo - iFrom <= iRowsPerTask)
+		{
+			return filterRange();
+		}
+
+		int iMid = (iFrom + iTo) >>> 1;
+
+		ParallelFilter left = new ParallelFilter(alStorage, rdRowDefinition, cFilter, ccFilter, iaCandidates, iFrom, iMid, iRowsPerTask);
+		ParallelFilter right = new ParallelFilter(alStorage, rdRowDefinition, cFilter, ccFilter, iaCandidates, iMid, iTo, iRowsPerTask);
+
+		left.fork();
+
+		int[] iaRight = right.compute();
+		int[] iaLeft = left.join();
+
+		if (iaRight.length == 0)
+		{
+			return iaLeft;
+		}
+		else if (iaLeft.length == 0)
+		{
+			return iaRight;
+		}
+
+		int[] iaResult = Arrays.copyOf(iaLeft, iaLeft.length + iaRight.length);
+
+		System.arraycopy(iaRight, 0, iaResult, iaLeft.length, iaRight.length);
+
+		return iaResult;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Checks all rows of this task.
+	 *
+	 * @return the ascending storage indexes of all rows, which fulfill the condition
+	 */
+	private int[] filterRange()
+	{
+		DataRow row = ccFilter == null ? new DataRow(rdRowDefinition) : null;
+
+		int[] iaResult = new int[Math.min(iTo - iFrom, 1024)];
+		int iCount = 0;
+
+		for (int j = iFrom; j < iTo; j++)
+		{
+			int i = iaCandidates == null ? j : iaCandidates[j];
+
+			boolean bFulfilled;
+
+			if (ccFilter != null)
+			{
+				bFulfilled = ccFilter.isFulfilled(alStorage.get(i));
+			}
+			else
+			{
+				row.oaStorage = alStorage.get(i);
+
+				bFulfilled = cFilter.isFulfilled(row);
+			}
+
+			if (bFulfilled)
+			{
+				if (iCount == iaResult.length)
+				{
+					iaResult = Arrays.copyOf(iaResult, iCount * 2);
+				}
+
+				iaResult[iCount++] = i;
+			}
+		}
+
+		return iCount == iaResult.length ? iaResult : Arrays.copyOf(iaResult, iCount);
+	}
+
+	/**
+	 * Checks the given rows in parallel.
+	 *
+	 * @param pStorage the storage of the data page
+	 * @param pRowDefinition the row definition of the storage
+	 * @param pFilter the filter condition
+	 * @param pCompiled the compiled filter condition or <code>null</code> if the condition isn't compiled
+	 * @param pCandidates the storage indexes to check or <code>null</code> to check all rows
+	 * @param pRowCount the number of rows or candidates to check
+	 * @return the ascending storage indexes of all rows, which fulfill the condition
+	 */
+	static int[] filter(List<Object[]> pStorage, IRowDefinition pRowDefinition, ICondition pFilter, CompiledCondition pCompiled,
+			            int[] pCandidates, int pRowCount)
+	{
+		// a few tasks per thread, to balance conditions with different costs
+		int iRowsPerTask = Math.max(MIN_ROWS_PER_TASK, pRowCount / (ForkJoinPool.getCommonPoolParallelism() * 4) + 1);
+
+		return ForkJoinPool.commonPool().invoke(new ParallelFilter(pStorage, pRowDefinition, pFilter, pCompiled, pCandidates, 0, pRowCount, iRowsPerTask));
+	}
+
+	/**
+	 * Gets whether parallel checks are possible.
+	 *
+	 * @return <code>true</code> if the common pool has more than one thread
+	 */
+	static boolean isAvailable()
+	{
+		return ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+
+	/**
+	 * Gets whether the condition can be checked concurrently by more than one thread.
+	 *
+	 * @param pCondition the condition
+	 * @param pRowDefinition the row definition of the storage
+	 * @return <code>true</code> if the condition and the used data types are thread-safe
+	 */
+	static boolean isThreadSafe(ICondition pCondition, IRowDefinition pRowDefinition)
+	{
+		if (pCondition == null)
+		{
+			return false;
+		}
+
+		Class<?> clazz = pCondition.getClass();
+
+		if (clazz == And.class || clazz == Or.class)
+		{
+			ICondition[] conditions = clazz == And.class ? ((And)pCondition).getConditions() : ((Or)pCondition).getConditions();
+
+			for (int i = 0; i < conditions.length; i++)
+			{
+				if (!isThreadSafe(conditions[i], pRowDefinition))
+				{
+					return false;
+				}
+			}
+
+			return true;
+		}
+		else if (clazz == Not.class)
+		{
+			return isThreadSafe(((Not)pCondition).getCondition(), pRowDefinition);
+		}
+		else if (pCondition instanceof CompareCondition && isBuiltIn(clazz, CompareCondition.class))
+		{
+			CompareCondition compare = (CompareCondition)pCondition;
+
+			// a data row as value source would be accessed by all threads
+			if (compare.getDataRow() != null)
+			{
+				return false;
+			}
+
+			int iColumn = pRowDefinition.getColumnDefinitionIndex(compare.getColumnName());
+
+			if (iColumn < 0)
+			{
+				// the condition is never fulfilled
+				return true;
+			}
+
+			IDataType type = pRowDefinition.getColumnDefinition(iColumn).getDataType();
+
+			return isBuiltIn(type.getClass(), IDataType.class)
+				   && !(type instanceof BinaryDataType)
+				   && !(type instanceof StringDataType && ((StringDataType)type).getTranslator() != null);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Gets whether a class is in the same package as the given built-in class.
+	 *
+	 * @param pClass the class to check
+	 * @param pBuiltIn a built-in class
+	 * @return <code>true</code> if both classes are in the same package
+	 */
+	private static boolean isBuiltIn(Class<?> pClass, Class<?> pBuiltIn)
+	{
+		String sName = pClass.getName();
+		String sBuiltIn = pBuiltIn.getName();
+
+		int iPos = sBuiltIn.lastIndexOf('.');
+
+		return sName.lastIndexOf('.') == iPos && sName.regionMatches(0, sBuiltIn, 0, iPos + 1);
+	}
+
+}	// ParallelFilter
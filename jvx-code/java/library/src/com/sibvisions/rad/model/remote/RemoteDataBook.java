@@ -39,11 +39,16 @@
  *                     * createNewRow: moved default value to MemDataBook 
  * 09.06.2011 - [RH] - #387 - RemoteDataBook open doesn't check if the name is null
  * 19.08.2011 - [JR] - #459: setMetaDataCacheEnabled
+ * 18.10.2026 - [JR] - streaming fetch
+ *                   - asynchronous prefetch
+ *                   - batched save
  */
 package com.sibvisions.rad.model.remote;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Map.Entry;
 
 import javax.rad.genui.UIFactoryManager;
@@ -52,6 +57,7 @@ import javax.rad.model.ColumnDefinition;
 import javax.rad.model.ColumnView;
 import javax.rad.model.IChangeableDataRow;
 import javax.rad.model.IDataBook;
+import javax.rad.model.IDataPage;
 import javax.rad.model.IDataRow;
 import javax.rad.model.IDataSource;
 import javax.rad.model.MetaDataCacheOption;
@@ -68,6 +74,7 @@ import javax.rad.persist.MetaData;
 import javax.rad.persist.MetaData.Feature;
 import javax.rad.remote.AbstractConnection;
 import javax.rad.ui.celleditor.ILinkedCellEditor;
+import javax.rad.util.EventHandler;
 
 import com.sibvisions.rad.model.mem.MemDataBook;
 import com.sibvisions.rad.model.mem.MemDataPage;
@@ -133,6 +140,27 @@ public class RemoteDataBook extends MemDataBook
 	/** If fetch is disabled, no fetch call to server is done. This is for performance tuning reasons. */
 	private transient boolean bFetchEnabled = true;
 
+	/** whether the rows are fetched with a fetch stream. */
+	private transient boolean bStreamingFetch = false;
+	
+	/** whether the next rows are prefetched in the background. */
+	private transient boolean bPrefetchEnabled = false;
+	
+	/** the number of row requests which were served from prefetched rows. */
+	private transient int iPrefetchHitCount = 0;
+	
+	/** the number of row requests which had to wait for a fetch. */
+	private transient int iPrefetchMissCount = 0;
+	
+	/** the data pages with a running fetch stream or prefetch. */
+	private transient ArrayUtil<RemoteDataPage> auBackgroundFetchDataPages = null;
+	
+	/** whether all changes of a data page are saved with one remote call. */
+	private transient boolean bBatchSaveEnabled = false;
+	
+	/** the results of the batched save, which are not yet used. */
+	private transient ArrayUtil<BatchEntry> auBatch = null;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -469,6 +497,8 @@ public class RemoteDataBook extends MemDataBook
 			{
 				htFetchedRowsForBlock = null;
 
+				cancelBackgroundFetches();
+				
                 super.close();
 			}
     	}
@@ -535,9 +565,22 @@ public class RemoteDataBook extends MemDataBook
 		{
 			long lMillis = System.currentTimeMillis();
 			
-			Object[] oResult = (Object[])getConnection().call(getName(), "insert", pDataRow.getValues(saMetaDataColumnNames));
+			Object[] oValues = pDataRow.getValues(saMetaDataColumnNames);
+			
+			Object[] oResult;
+			
+			BatchEntry entry = removeBatchEntry(BatchEntry.INSERT, null, oValues);
+			
+			if (entry != null)
+			{
+				oResult = (Object[])entry.result;
+			}
+			else
+			{
+				oResult = (Object[])getConnection().call(getName(), "insert", oValues);
+			}
 				
-			if (logger.isEnabled(LogLevel.DEBUG))
+			if (entry == null && logger.isEnabled(LogLevel.DEBUG))
 			{
 				logger.debug("acConnection.insert(", getName(), ",", pDataRow.getValues(saMetaDataColumnNames), ") in ",
 							 Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
@@ -569,12 +612,23 @@ public class RemoteDataBook extends MemDataBook
 		{
 			long lMillis = System.currentTimeMillis();
 			
-			Object[] oResult = (Object[])getConnection().call(getName(), 
-					                                          "update", 
-					                                          pDataRow.getOriginalDataRow().getValues(saMetaDataColumnNames), 
-					                                          pDataRow.getValues(saMetaDataColumnNames));
+			Object[] oOldValues = pDataRow.getOriginalDataRow().getValues(saMetaDataColumnNames);
+			Object[] oNewValues = pDataRow.getValues(saMetaDataColumnNames);
+			
+			Object[] oResult;
+			
+			BatchEntry entry = removeBatchEntry(BatchEntry.UPDATE, oOldValues, oNewValues);
+			
+			if (entry != null)
+			{
+				oResult = (Object[])entry.result;
+			}
+			else
+			{
+				oResult = (Object[])getConnection().call(getName(), "update", oOldValues, oNewValues);
+			}
 				
-			if (logger.isEnabled(LogLevel.DEBUG))
+			if (entry == null && logger.isEnabled(LogLevel.DEBUG))
 			{
 				logger.debug("acConnection.update(", getName(), ",", pDataRow.getOriginalDataRow().getValues(saMetaDataColumnNames), ",",
 						pDataRow.getValues(saMetaDataColumnNames), ") in ",
@@ -607,9 +661,16 @@ public class RemoteDataBook extends MemDataBook
 		{
 			long lMillis = System.currentTimeMillis();
 			
-			getConnection().call(getName(), "delete", pDataRow.getOriginalDataRow().getValues(saMetaDataColumnNames));
+			Object[] oValues = pDataRow.getOriginalDataRow().getValues(saMetaDataColumnNames);
+			
+			BatchEntry entry = removeBatchEntry(BatchEntry.DELETE, oValues, null);
+			
+			if (entry == null)
+			{
+				getConnection().call(getName(), "delete", oValues);
+			}
 				
-			if (logger.isEnabled(LogLevel.DEBUG))
+			if (entry == null && logger.isEnabled(LogLevel.DEBUG))
 			{
 				logger.debug("acConnection.delete(", getName(), ",", pDataRow.getOriginalDataRow().getValues(saMetaDataColumnNames), ") in ",
 							 Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
@@ -621,12 +682,126 @@ public class RemoteDataBook extends MemDataBook
 		}				
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void executeSaveDataPage(IDataPage pDataPage, int[] pChangedRows) throws ModelException
+	{
+		auBatch = null;
+		
+		if (!bBatchSaveEnabled || pChangedRows.length < 2 || !isBatchSavePossible(pDataPage, pChangedRows))
+		{
+			return;
+		}
+		
+		try
+		{
+			long lMillis = System.currentTimeMillis();
+
+			ArrayUtil<BatchEntry> auEntries = new ArrayUtil<BatchEntry>();
+			
+			// same order as MemDataBook: deletes, updates, inserts
+			for (int iType = BatchEntry.DELETE; iType <= BatchEntry.INSERT; iType++)
+			{
+				for (int i = 0; i < pChangedRows.length; i++)
+				{
+					IChangeableDataRow row = pDataPage.getDataRow(pChangedRows[i]);
+					
+					if (iType == BatchEntry.DELETE && row.isDeleting())
+					{
+						auEntries.add(new BatchEntry(iType, row.getOriginalDataRow().getValues(saMetaDataColumnNames), null));
+					}
+					else if (iType == BatchEntry.UPDATE && row.isUpdating() && !row.isDeleting() && row.isWritableColumnChanged())
+					{
+						auEntries.add(new BatchEntry(iType, row.getOriginalDataRow().getValues(saMetaDataColumnNames), 
+								                     row.getValues(saMetaDataColumnNames)));
+					}
+					else if (iType == BatchEntry.INSERT && row.isInserting() && !row.isDeleting() && !row.isUpdating())
+					{
+						auEntries.add(new BatchEntry(iType, null, row.getValues(saMetaDataColumnNames)));
+					}
+				}
+			}
+
+			int iCount = auEntries.size();
+			
+			if (iCount < 2)
+			{
+				return;
+			}
+			
+			ArrayUtil<Object[]> auDeletes = new ArrayUtil<Object[]>();
+			ArrayUtil<Object[]> auOldValues = new ArrayUtil<Object[]>();
+			ArrayUtil<Object[]> auNewValues = new ArrayUtil<Object[]>();
+			ArrayUtil<Object[]> auInserts = new ArrayUtil<Object[]>();
+			
+			for (int i = 0; i < iCount; i++)
+			{
+				BatchEntry entry = auEntries.get(i);
+				
+				switch (entry.type)
+				{
+					case BatchEntry.DELETE:
+						auDeletes.add(entry.oldValues);
+						break;
+					case BatchEntry.UPDATE:
+						auOldValues.add(entry.oldValues);
+						auNewValues.add(entry.newValues);
+						break;
+					default:
+						auInserts.add(entry.newValues);
+				}
+			}
+			
+			// all changes are saved in one transaction, so nothing is saved if the call fails
+			List<?> liResult = (List<?>)getConnection().call(getName(), "saveAll", auDeletes, auOldValues, auNewValues, auInserts);
+			
+			// the results of the updates are followed by the results of the inserts
+			for (int i = auDeletes.size(), j = 0; i < iCount; i++, j++)
+			{
+				auEntries.get(i).result = liResult.get(j);
+			}
+			
+			auBatch = auEntries;
+			
+			if (logger.isEnabled(LogLevel.DEBUG))
+			{
+				logger.debug("acConnection.saveAll(", getName(), ",", Integer.valueOf(iCount), " rows) in ",
+							 Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+			}
+		}
+		catch (Throwable throwable)
+		{
+			throw new ModelException("Execute Save DataPage failed!", throwable);
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void finishSaveDataPage(boolean pSaved) throws ModelException
+	{
+		int iUnused = auBatch != null ? auBatch.size() : 0;
+		
+		auBatch = null;
+		
+		// the server saved rows, which are still changed in the data book
+		if (pSaved && iUnused > 0)
+		{
+			throw new ModelException("Batched save of " + getName() + " failed! " + iUnused + " saved rows were not found in the data page.");
+		}
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	protected void executeRefresh()  throws ModelException
 	{
+		cancelBackgroundFetches();
+		
 		super.clear();
 		
 		htFetchedRowsForBlock = null;
@@ -638,6 +813,8 @@ public class RemoteDataBook extends MemDataBook
 	@Override
 	protected void executeRefreshDataPage()  throws ModelException
 	{
+		cancelBackgroundFetches();
+		
 		clearCurrentDataPage();
 	}
 
@@ -811,6 +988,141 @@ public class RemoteDataBook extends MemDataBook
 		bFetchEnabled = pFetchEnabled;
 	}	
 
+	/**
+	 * Gets whether the rows are fetched with a fetch stream.
+	 * 
+	 * @return <code>true</code> if the rows are fetched with a fetch stream
+	 * @see #setStreamingFetch(boolean)
+	 */
+	public boolean isStreamingFetch()
+	{
+		return bStreamingFetch;
+	}
+	
+	/**
+	 * Sets whether the rows should be fetched with a fetch stream. A fetch stream sends the filter and sort
+	 * only once and the server continues reading the same cursor. The rows up to the requested row and 
+	 * the read ahead rows are fetched immediately, all other rows are fetched in the background and added
+	 * to the data page when they arrive. This allows controls to show the first rows before all rows are
+	 * fetched. Fetching all rows waits for the running stream.
+	 * <p>
+	 * Block fetch doesn't use fetch streams. If the server storage doesn't support fetch streams,
+	 * the option is disabled automatically.
+	 * 
+	 * @param pStreamingFetch <code>true</code> to fetch with a fetch stream
+	 */
+	public void setStreamingFetch(boolean pStreamingFetch)
+	{
+		bStreamingFetch = pStreamingFetch;
+	}
+	
+	/**
+	 * Gets whether all changes of a data page are saved with one remote call.
+	 * 
+	 * @return <code>true</code> if batched save is enabled
+	 * @see #setBatchSaveEnabled(boolean)
+	 */
+	public boolean isBatchSaveEnabled()
+	{
+		return bBatchSaveEnabled;
+	}
+	
+	/**
+	 * Sets whether all changes of a data page should be saved with one remote call. If enabled,
+	 * {@link #saveAllRows()} and {@link #saveDataPage()} send the deletes, updates and inserts of
+	 * a data page with one <code>saveAll</code> call to the server storage, instead of one call per row.
+	 * The server storage has to be an {@link com.sibvisions.rad.persist.AbstractStorage}. A 
+	 * {@link com.sibvisions.rad.persist.jdbc.DBStorage} saves all changes in one transaction, so nothing
+	 * is saved if one change fails. The events are fired for every row, as usual.
+	 * <p>
+	 * The changes are saved row by row, if the data book is self-joined, if the master row of the
+	 * data page is inserting, if rows with details are deleted, or if listeners for the before inserted,
+	 * updated or deleted events are registered, because these listeners can change the rows.
+	 * 
+	 * @param pBatchSaveEnabled <code>true</code> to save all changes of a data page with one remote call
+	 */
+	public void setBatchSaveEnabled(boolean pBatchSaveEnabled)
+	{
+		bBatchSaveEnabled = pBatchSaveEnabled;
+	}
+	
+	/**
+	 * Gets whether the next rows are prefetched in the background.
+	 * 
+	 * @return <code>true</code> if prefetch is enabled
+	 * @see #setPrefetchEnabled(boolean)
+	 */
+	public boolean isPrefetchEnabled()
+	{
+		return bPrefetchEnabled;
+	}
+	
+	/**
+	 * Sets whether the next rows should be prefetched in the background. If a requested row is within 
+	 * the read ahead distance to the end of the fetched rows, the next {@link #getReadAhead()} rows
+	 * are fetched by a background thread. The rows are added when they arrive and readers of already
+	 * fetched rows are not blocked. Use {@link #getPrefetchHitRate()} to tune the read ahead.
+	 * <p>
+	 * Prefetch is not used for block fetch, fetch streams or if read ahead is disabled.
+	 * 
+	 * @param pPrefetchEnabled <code>true</code> to prefetch rows in the background
+	 */
+	public void setPrefetchEnabled(boolean pPrefetchEnabled)
+	{
+		bPrefetchEnabled = pPrefetchEnabled;
+	}
+	
+	/**
+	 * Gets the number of row requests which were served from prefetched rows. Every prefetched
+	 * block is counted once, when the first of its rows is requested.
+	 * 
+	 * @return the hit count
+	 */
+	public int getPrefetchHitCount()
+	{
+		return iPrefetchHitCount;
+	}
+	
+	/**
+	 * Gets the number of row requests which had to wait for a fetch, because the row wasn't 
+	 * prefetched. The first fetch of a data page isn't counted.
+	 * 
+	 * @return the miss count
+	 */
+	public int getPrefetchMissCount()
+	{
+		return iPrefetchMissCount;
+	}
+	
+	/**
+	 * Gets the ratio of prefetch hits to all counted row requests. A low hit rate means that 
+	 * the read ahead is too small for the scroll speed of the user.
+	 * 
+	 * @return the hit rate between <code>0</code> and <code>1</code>, or <code>0</code> if 
+	 *         nothing was counted
+	 */
+	public float getPrefetchHitRate()
+	{
+		int iTotal = iPrefetchHitCount + iPrefetchMissCount;
+		
+		if (iTotal == 0)
+		{
+			return 0f;
+		}
+		
+		return (float)iPrefetchHitCount / iTotal;
+	}
+	
+	/**
+	 * Resets the prefetch hit and miss counters.
+	 */
+	public void resetPrefetchStatistics()
+	{
+		iPrefetchHitCount = 0;
+		iPrefetchMissCount = 0;
+	}
+	
+
 	/**
 	 * Returns the block fetch columns.
 	 * The block fetch columns have to be a subset of the master link columns.
@@ -1061,4 +1373,195 @@ public class RemoteDataBook extends MemDataBook
 		return bCachingStorage;
 	}
 
+	/**
+	 * Counts a row request for the prefetch statistics.
+	 * 
+	 * @param pHit <code>true</code> if the row was prefetched, <code>false</code> if the request had to wait
+	 */
+	void countPrefetch(boolean pHit)
+	{
+		if (pHit)
+		{
+			iPrefetchHitCount++;
+		}
+		else
+		{
+			iPrefetchMissCount++;
+		}
+	}
+	
+	/**
+	 * Registers a data page with a running fetch stream or prefetch.
+	 * 
+	 * @param pDataPage the data page
+	 */
+	void addBackgroundFetchDataPage(RemoteDataPage pDataPage)
+	{
+		if (auBackgroundFetchDataPages == null)
+		{
+			auBackgroundFetchDataPages = new ArrayUtil<RemoteDataPage>();
+		}
+		
+		if (!auBackgroundFetchDataPages.containsReference(pDataPage))
+		{
+			auBackgroundFetchDataPages.add(pDataPage);
+		}
+	}
+	
+	/**
+	 * Removes a data page which has no running fetch stream or prefetch.
+	 * 
+	 * @param pDataPage the data page
+	 */
+	void removeBackgroundFetchDataPage(RemoteDataPage pDataPage)
+	{
+		if (auBackgroundFetchDataPages != null)
+		{
+			int iIndex = auBackgroundFetchDataPages.indexOfReference(pDataPage);
+			
+			if (iIndex >= 0)
+			{
+				auBackgroundFetchDataPages.remove(iIndex);
+			}
+		}
+
+	}
+	
+	/**
+	 * Gets whether the changed rows of a data page can be saved with one remote call.
+	 * 
+	 * @param pDataPage the data page
+	 * @param pChangedRows the indexes of the changed rows
+	 * @return <code>true</code> if the rows are independent of each other and of listeners
+	 * @throws ModelException if the row states can't be determined
+	 */
+	private boolean isBatchSavePossible(IDataPage pDataPage, int[] pChangedRows) throws ModelException
+	{
+		if (isSelfJoined()
+			|| EventHandler.isDispatchable(eventBeforeInserted())
+			|| EventHandler.isDispatchable(eventBeforeUpdated())
+			|| EventHandler.isDispatchable(eventBeforeDeleted()))
+		{
+			return false;
+		}
+		
+		// inserting masters have to be saved first, because the details need the keys
+		IDataRow drMaster = pDataPage.getMasterDataRow();
+		
+		if (drMaster instanceof IChangeableDataRow && ((IChangeableDataRow)drMaster).isInserting())
+		{
+			return false;
+		}
+		
+		// details are deleted before their master
+		IDataBook[] details = getDetailDataBooks();
+		
+		if (details != null && details.length > 0)
+		{
+			for (int i = 0; i < pChangedRows.length; i++)
+			{
+				if (pDataPage.getDataRow(pChangedRows[i]).isDeleting())
+				{
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Removes the unused result of the batched save for a row.
+	 * 
+	 * @param pType the type of the change
+	 * @param pOldValues the original values or <code>null</code> for inserts
+	 * @param pNewValues the new values or <code>null</code> for deletes
+	 * @return the batch entry or <code>null</code> if the row was not saved with the batched save
+	 */
+	private BatchEntry removeBatchEntry(int pType, Object[] pOldValues, Object[] pNewValues)
+	{
+		if (auBatch != null)
+		{
+			for (int i = 0, cnt = auBatch.size(); i < cnt; i++)
+			{
+				BatchEntry entry = auBatch.get(i);
+				
+				if (entry.type == pType
+					&& Arrays.deepEquals(entry.oldValues, pOldValues) 
+					&& Arrays.deepEquals(entry.newValues, pNewValues))
+				{
+					return auBatch.remove(i);
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Cancels all running fetch streams and prefetches, because the data pages will be discarded.
+	 */
+	private void cancelBackgroundFetches()
+	{
+		if (auBackgroundFetchDataPages != null)
+		{
+			RemoteDataPage[] pages = auBackgroundFetchDataPages.toArray(new RemoteDataPage[auBackgroundFetchDataPages.size()]);
+			
+			auBackgroundFetchDataPages = null;
+			
+			for (int i = 0; i < pages.length; i++)
+			{
+				pages[i].cancelBackgroundFetch();
+			}
+		}
+	}
+	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+	
+	/**
+	 * The <code>BatchEntry</code> is a change of a row, which was sent with the batched save. 
+	 * 
+	 * @author Ren Jahn
+	 */
+	private static final class BatchEntry
+	{
+		/** the delete type. */
+		private static final int DELETE = 0;
+		
+		/** the update type. */
+		private static final int UPDATE = 1;
+		
+		/** the insert type. */
+		private static final int INSERT = 2;
+		
+		/** the type of the change. */
+		private int type;
+		
+		/** the original values or <code>null</code> for inserts. */
+		private Object[] oldValues;
+		
+		/** the new values or <code>null</code> for deletes. */
+		private Object[] newValues;
+		
+		/** the result of the server call. */
+		private Object result;
+		
+		/**
+		 * Creates a new instance of <code>BatchEntry</code>.
+		 * 
+		 * @param pType the type of the change
+		 * @param pOldValues the original values or <code>null</code> for inserts
+		 * @param pNewValues the new values or <code>null</code> for deletes
+		 */
+		private BatchEntry(int pType, Object[] pOldValues, Object[] pNewValues)
+		{
+			type = pType;
+			oldValues = pOldValues;
+			newValues = pNewValues;
+		}
+		
+	}	// BatchEntry
+
 }	// RemoteDataBook
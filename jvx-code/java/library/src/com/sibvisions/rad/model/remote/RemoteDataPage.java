@@ -30,11 +30,14 @@
  * 17.02.2011 - [RH] - #290: if the master DataBook is in DATASOURCE level && Inserting() no fetch is necessary, because no rows can exists!
  * 30.05.2011 - [HM] - #374 - If an insert happens, after that more rows have to be fetched, then wrong rows will be fetched
  * 10.02.2012 - [JR] - #546: getCompleteFilter: clone existing filter
+ * 18.10.2026 - [JR] - streaming fetch
+ *                   - asynchronous prefetch
  */
 package com.sibvisions.rad.model.remote;
 
 import java.util.List;
 
+import javax.rad.model.IChangeableDataRow;
 import javax.rad.model.IDataRow;
 import javax.rad.model.ModelException;
 import javax.rad.model.SortDefinition;
@@ -46,6 +49,7 @@ import com.sibvisions.rad.model.mem.MemDataBook;
 import com.sibvisions.rad.model.mem.MemDataPage;
 import com.sibvisions.util.ArrayUtil;
 import com.sibvisions.util.Internalize;
+import com.sibvisions.util.ThreadHandler;
 import com.sibvisions.util.log.ILogger;
 import com.sibvisions.util.log.LoggerFactory;
 
@@ -64,10 +68,20 @@ public class RemoteDataPage extends MemDataPage
 	// Class members
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	/** The amount of rows which will be fetched with one fetch stream call. */
+	private static final int STREAM_CHUNK_SIZE = 500;
+	
 	/** The logger. */
 	private static ILogger logger = LoggerFactory.getInstance(RemoteDataPage.class);
+	
 	/** The amount of already fetched rows. */
 	private int fetchedRows = 0;
+	/** The running fetch stream. */
+	private FetchStream fsStream = null;
+	/** The running prefetch. */
+	private Prefetch pfPrefetch = null;
+	/** The index of the first prefetched row which was not requested yet. */
+	private int iFirstPrefetchedRow = -1;
 
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
@@ -100,6 +114,47 @@ public class RemoteDataPage extends MemDataPage
 		return (RemoteDataBook)super.getDataBook();
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public IChangeableDataRow getDataRow(int pDataRowIndex) throws ModelException
+	{
+		synchronized (rootDataBook)
+		{
+			IChangeableDataRow row = super.getDataRow(pDataRowIndex);
+			
+			if (row != null)
+			{
+				if (iFirstPrefetchedRow >= 0 && pDataRowIndex >= iFirstPrefetchedRow)
+				{
+					iFirstPrefetchedRow = -1;
+					
+					getDataBook().countPrefetch(true);
+				}
+				
+				prefetch(pDataRowIndex);
+			}
+			
+			return row;
+		}
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRowCount() throws ModelException
+	{
+		synchronized (rootDataBook)
+		{
+			// the rows of a failed fetch stream are incomplete
+			checkFetchStream(fsStream);
+			
+			return super.getRowCount();
+		}
+	}
+	
 	/**
 	 * It adds an new IDataRow to the DataPage in the object[] storage.
 	 * 
@@ -132,6 +187,42 @@ public class RemoteDataPage extends MemDataPage
 			{
 				RemoteDataBook rdb = getDataBook();
 				
+				if (pRowIndex >= 0 && fetchedRows > 0 && rdb.isPrefetchEnabled())
+				{
+					rdb.countPrefetch(false);
+				}
+				
+				if (pfPrefetch != null)
+				{
+					waitForPrefetch(pRowIndex);
+					
+					if (isAllFetched() || (pRowIndex >= 0 && pRowIndex < getRowCountInternal()))
+					{
+						return;
+					}
+					// otherwise the prefetched rows are not enough
+				}
+				
+				if (fsStream != null)
+				{
+					waitForFetchStream(pRowIndex);
+					
+					if (isAllFetched() || (pRowIndex >= 0 && pRowIndex < getRowCountInternal()))
+					{
+						return;
+					}
+					// otherwise the stream was cancelled
+				}
+				
+				if (rdb.isStreamingFetch() 
+					&& pRowIndex >= 0 
+					&& rdb.getReadAhead() >= 0
+					&& rdb.getMasterColumnIndexesForBlock() == null
+					&& openFetchStream(pRowIndex))
+				{
+					return;
+				}
+				
 				// #290- if the master DataBook is in DATASOURCE level && isInserting() no fetch is necessary, because no rows can exists!
 				// moved to getDataPageIntern, because the detail page hasn't to be the corresponding to the current selected master
 				// e.g. getDataPage, Tree, ...
@@ -213,20 +304,7 @@ public class RemoteDataPage extends MemDataPage
 							}
 							else
 							{
-								if (data.length != fetchColumnIndexes.length)
-								{
-									throw new ModelException("Remote storage returned " + data.length + " value(s) but " + 
-											                 fetchColumnIndexes.length + " were expected (check meta data)!");
-								}
-								
-								Object[] values = new Object[columnCount];
-								
-								for (int j = 0; j < fetchColumnIndexes.length; j++)
-								{
-									int index = fetchColumnIndexes[j];
-									// Lost internalize due to Ticket: 1643
-									values[index] = Internalize.intern(rdRowDefinition.getColumnDefinition(index).getDataType().convertToTypeClass(data[j]));
-								}
+								Object[] values = createFetchedRow(data, fetchColumnIndexes, columnCount);
 								
 								if (masterColumnIndexes == null)
 								{
@@ -313,6 +391,316 @@ public class RemoteDataPage extends MemDataPage
 	// User-defined methods
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~	
 	
+	/**
+	 * Creates the storage for a fetched row.
+	 * 
+	 * @param pData the values from the remote storage
+	 * @param pFetchColumnIndexes the column indexes of the fetched values
+	 * @param pColumnCount the column count of the row definition
+	 * @return the row storage
+	 * @throws ModelException if the value count doesn't match or a value couldn't be converted
+	 */
+	private Object[] createFetchedRow(Object[] pData, int[] pFetchColumnIndexes, int pColumnCount) throws ModelException
+	{
+		if (pData.length != pFetchColumnIndexes.length)
+		{
+			throw new ModelException("Remote storage returned " + pData.length + " value(s) but " + 
+					                 pFetchColumnIndexes.length + " were expected (check meta data)!");
+		}
+		
+		Object[] values = new Object[pColumnCount];
+		
+		for (int j = 0; j < pFetchColumnIndexes.length; j++)
+		{
+			int index = pFetchColumnIndexes[j];
+			// Lost internalize due to Ticket: 1643
+			values[index] = Internalize.intern(rdRowDefinition.getColumnDefinition(index).getDataType().convertToTypeClass(pData[j]));
+		}
+		
+		return values;
+	}
+	
+	/**
+	 * Adds the rows of a fetch stream chunk. If the chunk contains the end marker or no rows, 
+	 * the page is marked as all fetched.
+	 * 
+	 * @param pRows the fetched rows
+	 * @throws ModelException if a row couldn't be added
+	 */
+	private void addFetchedRows(List<Object[]> pRows) throws ModelException
+	{
+		int columnCount = rdRowDefinition.getColumnCount();
+		int[] fetchColumnIndexes = getDataBook().getFetchColumnIndexes();
+		
+		if (pRows.isEmpty())
+		{
+			setAllFetched(true);
+		}
+		
+		for (int i = 0, cnt = pRows.size(); i < cnt; i++)
+		{
+			Object[] data = pRows.get(i);
+			
+			if (data == null)
+			{
+				setAllFetched(true);
+			}
+			else
+			{
+				addFetchedRow(createFetchedRow(data, fetchColumnIndexes, columnCount));
+			}
+		}
+	}
+	
+	/**
+	 * Opens a fetch stream and fetches the rows up to the given row index. All other rows will be 
+	 * fetched in the background.
+	 * 
+	 * @param pRowIndex the row index to use
+	 * @return <code>true</code> if the stream was opened, <code>false</code> if the remote storage
+	 *         doesn't support fetch streams
+	 * @throws ModelException if fetch fails
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean openFetchStream(int pRowIndex) throws ModelException
+	{
+		RemoteDataBook rdb = getDataBook();
+		
+		String sRdbName = rdb.getName();
+		
+		try
+		{
+			long lMillis = System.currentTimeMillis();
+			
+			Integer iMinimumRowCount = Integer.valueOf(pRowIndex + rdb.getReadAhead() - fetchedRows + 1);
+			
+			SortDefinition sort;
+			if (rdb.isMemSort())
+			{
+				sort = null;
+			}
+			else
+			{
+				sort = rdb.getSort();
+			}
+			ICondition filter = getCompleteFilter();
+			
+			// the storage creates the stream identifier
+			Object[] oaResult = (Object[])rdb.getConnection().call(
+					sRdbName, 
+					"openFetchStream",
+					filter, 
+					sort, 
+					Integer.valueOf(fetchedRows), 
+					iMinimumRowCount);
+			logger.debug("acConnection.openFetchStream(", sRdbName, ",",
+						 filter, ",", sort, ",", 
+					     Integer.valueOf(fetchedRows), ",", 
+					     iMinimumRowCount, 
+					     ") = ", oaResult[0], " in ", Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+			
+			addFetchedRows((List<Object[]>)oaResult[1]);
+			
+			if (!isAllFetched())
+			{
+				fsStream = new FetchStream(oaResult[0]);
+				
+				rdb.addBackgroundFetchDataPage(this);
+				
+				ThreadHandler.start(fsStream);
+			}
+			
+			return true;
+		}
+		catch (NoSuchMethodException nsme)
+		{
+			logger.debug("Storage ", sRdbName, " doesn't support fetch streams");
+			
+			rdb.setStreamingFetch(false);
+			
+			return false;
+		}
+		catch (Throwable throwable)
+		{
+			setAllFetched(true);
+
+			throw new ModelException("Fetch to Row failed!", throwable);
+		}
+		finally
+		{
+			rdb.notifyRepaintControls();
+		}
+	}
+	
+	/**
+	 * Waits until the running fetch stream has fetched the given row index, all rows or until the
+	 * stream was cancelled.
+	 * 
+	 * @param pRowIndex the row index to use or <code>-1</code> to wait for all rows
+	 * @throws ModelException if the fetch stream failed or waiting was interrupted
+	 */
+	private void waitForFetchStream(int pRowIndex) throws ModelException
+	{
+		FetchStream stream = fsStream;
+		
+		try
+		{
+			while (fsStream == stream && stream.error == null && !isAllFetched() && (pRowIndex < 0 || pRowIndex >= getRowCountInternal()))
+			{
+				rootDataBook.wait();
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			throw new ModelException("Fetch to Row interrupted!", ie);
+		}
+		
+		checkFetchStream(stream);
+	}
+	
+	/**
+	 * Throws the error of the given fetch stream, if it failed. The failed stream will be removed from
+	 * the page, so that the next fetch continues with the next row.
+	 * 
+	 * @param pStream the fetch stream
+	 * @throws ModelException if the fetch stream failed
+	 */
+	private void checkFetchStream(FetchStream pStream) throws ModelException
+	{
+		if (pStream != null && pStream.error != null)
+		{
+			if (fsStream == pStream)
+			{
+				fsStream = null;
+				
+				finishBackgroundFetch();
+			}
+			
+			throw new ModelException("Fetch to Row failed!", pStream.error);
+		}
+	}
+	
+	/**
+	 * Starts a prefetch of the next rows, if prefetch is enabled and the given row index is within the
+	 * read ahead distance to the end of the fetched rows.
+	 * 
+	 * @param pDataRowIndex the requested row index
+	 * @throws ModelException if the filter couldn't be created
+	 */
+	private void prefetch(int pDataRowIndex) throws ModelException
+	{
+		RemoteDataBook rdb = getDataBook();
+		
+		int iReadAhead = rdb.getReadAhead();
+		
+		if (rdb.isPrefetchEnabled()
+			&& !rdb.isStreamingFetch()
+			&& pfPrefetch == null
+			&& fsStream == null
+			&& iReadAhead > 0
+			&& pDataRowIndex >= getRowCountInternal() - iReadAhead
+			&& rdb.getMasterColumnIndexesForBlock() == null
+			&& !isAllFetched())
+		{
+			SortDefinition sort;
+			if (rdb.isMemSort())
+			{
+				sort = null;
+			}
+			else
+			{
+				sort = rdb.getSort();
+			}
+			
+			pfPrefetch = new Prefetch(getCompleteFilter(), sort, fetchedRows, iReadAhead);
+			
+			rdb.addBackgroundFetchDataPage(this);
+			
+			ThreadHandler.start(pfPrefetch);
+		}
+	}
+	
+	/**
+	 * Waits until the running prefetch is finished or cancelled.
+	 * 
+	 * @param pRowIndex the row index to use or <code>-1</code> for all rows
+	 * @throws ModelException if the prefetch failed or waiting was interrupted
+	 */
+	private void waitForPrefetch(int pRowIndex) throws ModelException
+	{
+		Prefetch prefetch = pfPrefetch;
+		
+		try
+		{
+			while (pfPrefetch == prefetch && !isAllFetched() && (pRowIndex < 0 || pRowIndex >= getRowCountInternal()))
+			{
+				rootDataBook.wait();
+			}
+		}
+		catch (InterruptedException ie)
+		{
+			throw new ModelException("Fetch to Row interrupted!", ie);
+		}
+		
+		if (prefetch.error != null)
+		{
+			throw new ModelException("Fetch to Row failed!", prefetch.error);
+		}
+	}
+	
+	/**
+	 * Waits until the running prefetch, if any, is finished or cancelled.
+	 * 
+	 * @throws ModelException if the prefetch failed or waiting was interrupted
+	 */
+	void waitForPrefetch() throws ModelException
+	{
+		synchronized (rootDataBook)
+		{
+			if (pfPrefetch != null)
+			{
+				waitForPrefetch(-1);
+			}
+		}
+	}
+	
+	/**
+	 * Cancels the running fetch stream and prefetch. The already fetched rows are kept and the next 
+	 * {@link #fetchToRow(int)} continues with the next row.
+	 */
+	void cancelBackgroundFetch()
+	{
+		synchronized (rootDataBook)
+		{
+			if (fsStream != null)
+			{
+				fsStream.bCancelled = true;
+				fsStream = null;
+			}
+			
+			if (pfPrefetch != null)
+			{
+				pfPrefetch.bCancelled = true;
+				pfPrefetch = null;
+			}
+			
+			iFirstPrefetchedRow = -1;
+			
+			rootDataBook.notifyAll();
+		}
+	}
+	
+	/**
+	 * Removes this page from the pages with background fetches, if no fetch stream or prefetch is running.
+	 */
+	private void finishBackgroundFetch()
+	{
+		if (fsStream == null && pfPrefetch == null)
+		{
+			getDataBook().removeBackgroundFetchDataPage(this);
+		}
+	}
+	
 	/**
 	 * Returns the complete filter - getFilter() + MasterReference() - for this RemoteDataPage.
 	 * This is used to fetch only the data for this RemoteDataPage.  
@@ -372,4 +760,238 @@ public class RemoteDataPage extends MemDataPage
 		return cCompleteFilter;
 	}	
 	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>FetchStream</code> fetches the remaining rows of an open fetch stream
+	 * in the background and adds them to the page.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private final class FetchStream implements Runnable
+	{
+		/** the stream identifier. */
+		private Object oStreamId;
+		
+		/** the error, if fetching failed. */
+		private Throwable error;
+		
+		/** whether the stream was cancelled. */
+		private volatile boolean bCancelled;
+		
+		/**
+		 * Creates a new instance of <code>FetchStream</code>.
+		 * 
+		 * @param pStreamId the stream identifier
+		 */
+		private FetchStream(Object pStreamId)
+		{
+			oStreamId = pStreamId;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@SuppressWarnings("unchecked")
+		public void run()
+		{
+			RemoteDataBook rdb = getDataBook();
+			
+			String sRdbName = rdb.getName();
+			
+			boolean bFinished = false;
+			
+			try
+			{
+				while (!bFinished && !bCancelled)
+				{
+					long lMillis = System.currentTimeMillis();
+					
+					List<Object[]> lResult = (List<Object[]>)rdb.getConnection().call(
+							sRdbName,
+							"fetchStream",
+							oStreamId,
+							Integer.valueOf(STREAM_CHUNK_SIZE));
+					logger.debug("acConnection.fetchStream(", sRdbName, ",", oStreamId, ",",
+							     Integer.valueOf(STREAM_CHUNK_SIZE), 
+							     ") in ", Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+					
+					synchronized (rootDataBook)
+					{
+						if (!bCancelled)
+						{
+							addFetchedRows(lResult);
+							
+							if (isAllFetched())
+							{
+								bFinished = true;
+								
+								fsStream = null;
+							}
+							
+							rootDataBook.notifyAll();
+						}
+					}
+					
+					rdb.notifyRepaintControls();
+				}
+			}
+			catch (Throwable th)
+			{
+				synchronized (rootDataBook)
+				{
+					if (!bCancelled)
+					{
+						logger.error("Fetch stream ", oStreamId, " of ", sRdbName, " failed!", th);
+						
+						// the stream stays at the page and the next fetch throws the error
+						error = th;
+						
+						rootDataBook.notifyAll();
+					}
+				}
+			}
+			finally
+			{
+				synchronized (rootDataBook)
+				{
+					// a cancelled page could already use a new stream
+					finishBackgroundFetch();
+				}
+				
+				if (!bFinished)
+				{
+					try
+					{
+						rdb.getConnection().call(sRdbName, "closeFetchStream", oStreamId);
+					}
+					catch (Throwable th)
+					{
+						logger.debug("Closing fetch stream ", oStreamId, " of ", sRdbName, " failed!", th);
+					}
+				}
+			}
+		}
+		
+	}	// FetchStream
+	
+	/**
+	 * The <code>Prefetch</code> fetches the next rows in the background and adds them to the page,
+	 * if no other fetch was done in the meantime.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private final class Prefetch implements Runnable
+	{
+		/** the filter. */
+		private ICondition filter;
+		
+		/** the sort definition. */
+		private SortDefinition sort;
+		
+		/** the row index from to fetch. */
+		private int iFromRow;
+		
+		/** the minimum row count. */
+		private int iMinimumRowCount;
+		
+		/** whether the prefetch was cancelled. */
+		private volatile boolean bCancelled;
+		
+		/** the error, if the prefetch failed. */
+		private volatile Throwable error;
+		
+		/**
+		 * Creates a new instance of <code>Prefetch</code>.
+		 * 
+		 * @param pFilter the filter
+		 * @param pSort the sort definition
+		 * @param pFromRow the row index from to fetch
+		 * @param pMinimumRowCount the minimum row count
+		 */
+		private Prefetch(ICondition pFilter, SortDefinition pSort, int pFromRow, int pMinimumRowCount)
+		{
+			filter = pFilter;
+			sort = pSort;
+			iFromRow = pFromRow;
+			iMinimumRowCount = pMinimumRowCount;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@SuppressWarnings("unchecked")
+		public void run()
+		{
+			RemoteDataBook rdb = getDataBook();
+			
+			String sRdbName = rdb.getName();
+			
+			try
+			{
+				long lMillis = System.currentTimeMillis();
+				
+				List<Object[]> lResult = (List<Object[]>)rdb.getConnection().call(
+						sRdbName, 
+						"fetch",
+						filter, 
+						sort, 
+						Integer.valueOf(iFromRow), 
+						Integer.valueOf(iMinimumRowCount));
+				logger.debug("acConnection.fetch(", sRdbName, ",", 
+							 filter, ",", sort, ",", 
+						     Integer.valueOf(iFromRow), ",", 
+						     Integer.valueOf(iMinimumRowCount), 
+						     ") as prefetch in ", Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+				
+				synchronized (rootDataBook)
+				{
+					// ignore the rows if another fetch was faster
+					if (!bCancelled && fetchedRows == iFromRow)
+					{
+						int iFirstRow = getRowCountInternal();
+						
+						addFetchedRows(lResult);
+						
+						if (iFirstPrefetchedRow < 0 && getRowCountInternal() > iFirstRow)
+						{
+							iFirstPrefetchedRow = iFirstRow;
+						}
+					}
+				}
+			}
+			catch (Throwable th)
+			{
+				if (!bCancelled)
+				{
+					// a reader which waits for this prefetch gets the error
+					error = th;
+					
+					logger.error("Prefetch of ", sRdbName, " failed!", th);
+				}
+			}
+			finally
+			{
+				synchronized (rootDataBook)
+				{
+					if (pfPrefetch == this)
+					{
+						pfPrefetch = null;
+					}
+					
+					finishBackgroundFetch();
+					
+					rootDataBook.notifyAll();
+				}
+				
+				rdb.notifyRepaintControls();
+			}
+		}
+		
+	}	// Prefetch
+	
+
 } // RemoteDataPage
+
@@ -31,14 +31,21 @@
  * 28.02.2014 - [JR] - #961: fixed NPE in setPropertyNameForColumn and introduced getPropertyNameForColumn
  * 27.11.2014 - [JR] - #1192: update(T, T) added
  * 08.02.2019 - [JR] - #1985: put/getObject implmented
+ * 18.10.2026 - [JR] - fetch streams implemented
+ *                   - insertAll, updateAll, deleteAll, saveAll
  */
 package com.sibvisions.rad.persist;
 
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.rad.io.IFileHandle;
 import javax.rad.io.RemoteFileHandle;
@@ -91,6 +98,12 @@ public abstract class AbstractStorage implements IStorage,
 	/** undefined value to get a guaranteed difference. */
 	private static final StringBuilder UNDEFINED_VALUE = new StringBuilder();
 
+	/** the maximum number of open fetch streams per session. */
+	private static final int MAX_FETCHSTREAMS = 10;
+	
+	/** the maximum number of open fetch streams of all sessions. */
+	private static final int MAX_FETCHSTREAMS_TOTAL = 1000;
+	
 	/** the logger. */
 	private static ILogger logger = null;
 	
@@ -127,6 +140,12 @@ public abstract class AbstractStorage implements IStorage,
 	/** the storage name. */
 	private String sName;
 
+	/** the open fetch streams, by session and stream identifier. */
+	private final ConcurrentHashMap<Object, FetchStream> chmFetchStreams = new ConcurrentHashMap<Object, FetchStream>();
+	
+	/** the last fetch stream identifier. */
+	private final AtomicInteger aiLastStreamId = new AtomicInteger();
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Interface implementation
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -1631,6 +1650,241 @@ public abstract class AbstractStorage implements IStorage,
 		executeDelete(pDeleteDataRow);
 	}
 	
+	/**
+	 * Inserts all given rows. If no insert event is dispatchable, the rows are inserted with 
+	 * {@link #executeInsert(List)}, otherwise every row is inserted with {@link #insert(Object[])}.
+	 * 
+	 * @param pDataRows the new rows to insert
+	 * @return the newly inserted rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during insert the rows to the storage
+	 */
+	public final List<Object[]> insertAll(List<Object[]> pDataRows) throws DataSourceException
+	{
+		List<Object[]> liResult = new ArrayList<Object[]>(pDataRows.size());
+		
+		if (EventHandler.isDispatchable(eventBeforeInsert)
+			|| EventHandler.isDispatchable(eventInsteadOfInsert)
+			|| EventHandler.isDispatchable(eventAfterInsert)
+			|| EventHandler.isDispatchable(eventCalculateRow))
+		{
+			for (int i = 0, cnt = pDataRows.size(); i < cnt; i++)
+			{
+				liResult.add(insert(pDataRows.get(i)));
+			}
+			
+			return liResult;
+		}
+		
+		if (isRefetch())
+		{
+			// Clone the arrays to make sure that they are not modified (see insert).
+			List<Object[]> liRows = new ArrayList<Object[]>(pDataRows.size());
+			
+			for (int i = 0, cnt = pDataRows.size(); i < cnt; i++)
+			{
+				liRows.add(pDataRows.get(i).clone());
+			}
+			
+			List<Object[]> liInserted = executeInsert(liRows);
+			
+			for (int i = 0, cnt = pDataRows.size(); i < cnt; i++)
+			{
+				liResult.add(trimArray(liInserted.get(i), pDataRows.get(i)));
+			}
+		}
+		else
+		{
+			executeInsert(pDataRows);
+			
+			liResult.addAll(pDataRows);
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Updates all given rows. If no update event is dispatchable, the rows are updated with 
+	 * {@link #executeUpdate(List, List)}, otherwise every row is updated with {@link #update(Object[], Object[])}.
+	 * 
+	 * @param pOldDataRows the old rows
+	 * @param pNewDataRows the new rows, in the order of the old rows
+	 * @return the updated rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during updating the rows
+	 */
+	public final List<Object[]> updateAll(List<Object[]> pOldDataRows, List<Object[]> pNewDataRows) throws DataSourceException
+	{
+		if (pOldDataRows.size() != pNewDataRows.size())
+		{
+			throw new DataSourceException("The count of old rows is different to the count of new rows!");
+		}
+		
+		List<Object[]> liResult = new ArrayList<Object[]>(pNewDataRows.size());
+		
+		if (EventHandler.isDispatchable(eventBeforeUpdate)
+			|| EventHandler.isDispatchable(eventInsteadOfUpdate)
+			|| EventHandler.isDispatchable(eventAfterUpdate)
+			|| EventHandler.isDispatchable(eventCalculateRow))
+		{
+			for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+			{
+				liResult.add(update(pOldDataRows.get(i), pNewDataRows.get(i)));
+			}
+			
+			return liResult;
+		}
+		
+		if (isRefetch())
+		{
+			List<Object[]> liRows = new ArrayList<Object[]>(pNewDataRows.size());
+			
+			for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+			{
+				liRows.add(pNewDataRows.get(i).clone());
+			}
+			
+			List<Object[]> liUpdated = executeUpdate(pOldDataRows, liRows);
+			
+			for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+			{
+				liResult.add(trimArray(liUpdated.get(i), pNewDataRows.get(i)));
+			}
+		}
+		else
+		{
+			executeUpdate(pOldDataRows, pNewDataRows);
+			
+			liResult.addAll(pNewDataRows);
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Deletes all given rows. If no delete event is dispatchable, the rows are deleted with 
+	 * {@link #executeDelete(List)}, otherwise every row is deleted with {@link #delete(Object[])}.
+	 * 
+	 * @param pDeleteDataRows the rows to delete
+	 * @throws DataSourceException if an <code>Exception</code> occur during deleting the rows
+	 */
+	public final void deleteAll(List<Object[]> pDeleteDataRows) throws DataSourceException
+	{
+		if (EventHandler.isDispatchable(eventBeforeDelete)
+			|| EventHandler.isDispatchable(eventInsteadOfDelete)
+			|| EventHandler.isDispatchable(eventAfterDelete))
+		{
+			for (int i = 0, cnt = pDeleteDataRows.size(); i < cnt; i++)
+			{
+				delete(pDeleteDataRows.get(i));
+			}
+		}
+		else
+		{
+			executeDelete(pDeleteDataRows);
+		}
+	}
+	
+	/**
+	 * Saves all changes of a data page: all deletes, all updates and all inserts, in this order.
+	 * The changes are saved with {@link #executeSaveAll(List, List, List, List)}.
+	 * 
+	 * @param pDeleteDataRows the rows to delete
+	 * @param pOldDataRows the old rows of the updates
+	 * @param pNewDataRows the new rows of the updates, in the order of the old rows
+	 * @param pInsertDataRows the new rows to insert
+	 * @return the updated rows followed by the inserted rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during saving the rows
+	 */
+	public final List<Object[]> saveAll(List<Object[]> pDeleteDataRows, List<Object[]> pOldDataRows, 
+			                            List<Object[]> pNewDataRows, List<Object[]> pInsertDataRows) throws DataSourceException
+	{
+		return executeSaveAll(pDeleteDataRows, pOldDataRows, pNewDataRows, pInsertDataRows);
+	}
+	
+	/**
+	 * Saves all changes with {@link #deleteAll(List)}, {@link #updateAll(List, List)} and {@link #insertAll(List)}.
+	 * The default implementation doesn't handle transactions. Storage implementations should override this method
+	 * to save all changes in one transaction.
+	 * 
+	 * @param pDeleteDataRows the rows to delete
+	 * @param pOldDataRows the old rows of the updates
+	 * @param pNewDataRows the new rows of the updates, in the order of the old rows
+	 * @param pInsertDataRows the new rows to insert
+	 * @return the updated rows followed by the inserted rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during saving the rows
+	 * @see #saveAll(List, List, List, List)
+	 */
+	protected List<Object[]> executeSaveAll(List<Object[]> pDeleteDataRows, List<Object[]> pOldDataRows, 
+			                                List<Object[]> pNewDataRows, List<Object[]> pInsertDataRows) throws DataSourceException
+	{
+		List<Object[]> liResult = new ArrayList<Object[]>(pNewDataRows.size() + pInsertDataRows.size());
+		
+		deleteAll(pDeleteDataRows);
+		
+		liResult.addAll(updateAll(pOldDataRows, pNewDataRows));
+		liResult.addAll(insertAll(pInsertDataRows));
+		
+		return liResult;
+	}
+	
+	/**
+	 * Inserts all given rows. The default implementation inserts every row with {@link #executeInsert(Object[])}.
+	 * Storage implementations should override this method if they support bulk inserts.
+	 * 
+	 * @param pDataRows the new rows to insert
+	 * @return the newly inserted rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during insert the rows to the storage
+	 * @see #insertAll(List)
+	 */
+	protected List<Object[]> executeInsert(List<Object[]> pDataRows) throws DataSourceException
+	{
+		List<Object[]> liResult = new ArrayList<Object[]>(pDataRows.size());
+		
+		for (int i = 0, cnt = pDataRows.size(); i < cnt; i++)
+		{
+			liResult.add(executeInsert(pDataRows.get(i)));
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Updates all given rows. The default implementation updates every row with {@link #executeUpdate(Object[], Object[])}.
+	 * Storage implementations should override this method if they support bulk updates.
+	 * 
+	 * @param pOldDataRows the old rows
+	 * @param pNewDataRows the new rows, in the order of the old rows
+	 * @return the updated rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during updating the rows
+	 * @see #updateAll(List, List)
+	 */
+	protected List<Object[]> executeUpdate(List<Object[]> pOldDataRows, List<Object[]> pNewDataRows) throws DataSourceException
+	{
+		List<Object[]> liResult = new ArrayList<Object[]>(pNewDataRows.size());
+		
+		for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+		{
+			liResult.add(executeUpdate(pOldDataRows.get(i), pNewDataRows.get(i)));
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Deletes all given rows. The default implementation deletes every row with {@link #executeDelete(Object[])}.
+	 * Storage implementations should override this method if they support bulk deletes.
+	 * 
+	 * @param pDeleteDataRows the rows to delete
+	 * @throws DataSourceException if an <code>Exception</code> occur during deleting the rows
+	 * @see #deleteAll(List)
+	 */
+	protected void executeDelete(List<Object[]> pDeleteDataRows) throws DataSourceException
+	{
+		for (int i = 0, cnt = pDeleteDataRows.size(); i < cnt; i++)
+		{
+			executeDelete(pDeleteDataRows.get(i));
+		}
+	}
+	
 	/**
 	 * Puts an additional cached object to this storage.
 	 * 
@@ -1685,6 +1939,194 @@ public abstract class AbstractStorage implements IStorage,
 		return hmpObjects.get(pName);
 	}
 	
+	/**
+	 * Opens a fetch stream and fetches the first rows. The stream remembers the filter, the sort and the
+	 * position of the last fetched row. All further rows are fetched with {@link #fetchStream(Object, int)}
+	 * and only the stream identifier has to be sent. Storages with a cursor cache, e.g. the {@link com.sibvisions.rad.persist.jdbc.DBStorage},
+	 * continue reading the same cursor.
+	 * <p>
+	 * The stream identifier is created by the storage and the stream is only available for the session
+	 * which opened it.
+	 * 
+	 * @param pFilter the filter
+	 * @param pSort the sort definition
+	 * @param pFromRow the row index from to fetch
+	 * @param pMinimumRowCount the minimum row count of the first chunk
+	 * @return an array with the stream identifier and the fetched rows. The stream identifier is <code>null</code>,
+	 *         if all rows were fetched. A <code>null</code> row marks the end of the stream.
+	 * @throws DataSourceException if fetch fails
+	 * @see #fetchStream(Object, int)
+	 * @see #closeFetchStream(Object)
+	 */
+	public Object[] openFetchStream(ICondition pFilter, SortDefinition pSort, 
+			                        int pFromRow, int pMinimumRowCount) throws DataSourceException
+	{
+		List<Object[]> liRows = fetch(pFilter, pSort, pFromRow, pMinimumRowCount);
+		
+		if (isLastChunk(liRows))
+		{
+			return new Object[] {null, liRows};
+		}
+		
+		Integer iStreamId = Integer.valueOf(aiLastStreamId.incrementAndGet());
+		
+		Object oSessionId = getSessionId();
+		
+		synchronized (chmFetchStreams)
+		{
+			// forget the stream with the oldest access of the session, it was not closed by the client
+			removeEldestFetchStream(oSessionId, MAX_FETCHSTREAMS);
+			removeEldestFetchStream(null, MAX_FETCHSTREAMS_TOTAL);
+			
+			chmFetchStreams.put(createFetchStreamKey(oSessionId, iStreamId), 
+					            new FetchStream(oSessionId, pFilter, pSort, pFromRow + liRows.size()));
+		}
+		
+		return new Object[] {iStreamId, liRows};
+	}
+	
+	/**
+	 * Fetches the next rows of an open fetch stream. Concurrent calls for the same stream are
+	 * serialized, so that every call fetches the next rows.
+	 * 
+	 * @param pStreamId the stream identifier
+	 * @param pMinimumRowCount the minimum row count to fetch
+	 * @return the fetched rows. A <code>null</code> row marks the end of the stream and the stream is closed.
+	 * @throws DataSourceException if the stream is not open or fetch fails
+	 * @see #openFetchStream(ICondition, SortDefinition, int, int)
+	 */
+	public List<Object[]> fetchStream(Object pStreamId, int pMinimumRowCount) throws DataSourceException
+	{
+		Object oKey = createFetchStreamKey(getSessionId(), pStreamId);
+		
+		FetchStream stream = chmFetchStreams.get(oKey);
+		
+		if (stream == null)
+		{
+			throw new DataSourceException("Fetch stream '" + pStreamId + "' is not open!");
+		}
+		
+		synchronized (stream)
+		{
+			// closed while waiting for the lock
+			if (chmFetchStreams.get(oKey) != stream)
+			{
+				throw new DataSourceException("Fetch stream '" + pStreamId + "' is not open!");
+			}
+			
+			List<Object[]> liRows;
+			
+			try
+			{
+				liRows = fetch(stream.filter, stream.sort, stream.iNextRow, pMinimumRowCount);
+			}
+			catch (DataSourceException dse)
+			{
+				chmFetchStreams.remove(oKey, stream);
+				
+				throw dse;
+			}
+			
+			if (isLastChunk(liRows))
+			{
+				chmFetchStreams.remove(oKey, stream);
+			}
+			else
+			{
+				stream.iNextRow += liRows.size();
+				stream.lLastAccess = System.currentTimeMillis();
+			}
+			
+			return liRows;
+		}
+	}
+	
+	/**
+	 * Closes a fetch stream. It's not necessary to close a stream after all rows were fetched.
+	 * 
+	 * @param pStreamId the stream identifier
+	 */
+	public void closeFetchStream(Object pStreamId)
+	{
+		chmFetchStreams.remove(createFetchStreamKey(getSessionId(), pStreamId));
+	}
+	
+	/**
+	 * Removes the open fetch stream with the oldest access, if the given session has at least the given
+	 * number of open fetch streams.
+	 * 
+	 * @param pSessionId the session identifier or <code>null</code> to count the streams of all sessions
+	 * @param pMaxStreams the maximum number of open fetch streams
+	 */
+	private void removeEldestFetchStream(Object pSessionId, int pMaxStreams)
+	{
+		Object oEldest = null;
+		long lEldest = Long.MAX_VALUE;
+		int iCount = 0;
+		
+		for (Map.Entry<Object, FetchStream> entry : chmFetchStreams.entrySet())
+		{
+			FetchStream stream = entry.getValue();
+			
+			if (pSessionId == null || pSessionId.equals(stream.oSessionId))
+			{
+				iCount++;
+				
+				if (stream.lLastAccess < lEldest)
+				{
+					oEldest = entry.getKey();
+					lEldest = stream.lLastAccess;
+				}
+			}
+		}
+		
+		if (iCount >= pMaxStreams && oEldest != null)
+		{
+			chmFetchStreams.remove(oEldest);
+		}
+	}
+	
+	/**
+	 * Gets the identifier of the current session.
+	 * 
+	 * @return the session identifier or <code>null</code> if the storage is not used from a session
+	 */
+	private static Object getSessionId()
+	{
+		ISession session = SessionContext.getCurrentSession();
+		
+		if (session == null)
+		{
+			return null;
+		}
+		
+		return session.getId();
+	}
+	
+	/**
+	 * Creates the key of a fetch stream for the given session and stream identifier.
+	 * 
+	 * @param pSessionId the session identifier
+	 * @param pStreamId the stream identifier
+	 * @return the key
+	 */
+	private static Object createFetchStreamKey(Object pSessionId, Object pStreamId)
+	{
+		return Arrays.asList(pSessionId, pStreamId);
+	}
+	
+	/**
+	 * Gets whether the given rows are the last rows of a fetch.
+	 * 
+	 * @param pRows the fetched rows
+	 * @return <code>true</code> if there are no more rows
+	 */
+	private static boolean isLastChunk(List<Object[]> pRows)
+	{
+		return pRows == null || pRows.isEmpty() || pRows.get(pRows.size() - 1) == null;
+
+	}
+	
 	/**
 	 * Checks if the given string contains invalid characters.
 	 * 
@@ -1913,4 +2355,46 @@ public abstract class AbstractStorage implements IStorage,
         
     }	// ChangeableBean
 
+	/**
+	 * The <code>FetchStream</code> stores the fetch parameters of an open fetch stream.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private static final class FetchStream
+	{
+		/** the session identifier. */
+		private Object oSessionId;
+		
+		/** the filter. */
+		private ICondition filter;
+		
+		/** the sort definition. */
+		private SortDefinition sort;
+		
+		/** the next row index, guarded by the stream. */
+		private int iNextRow;
+		
+		/** the last access time. */
+		private volatile long lLastAccess;
+		
+		/**
+		 * Creates a new instance of <code>FetchStream</code>.
+		 * 
+		 * @param pSessionId the session identifier
+		 * @param pFilter the filter
+		 * @param pSort the sort definition
+		 * @param pNextRow the next row index
+		 */
+		private FetchStream(Object pSessionId, ICondition pFilter, SortDefinition pSort, int pNextRow)
+		{
+			oSessionId = pSessionId;
+			filter = pFilter;
+			sort = pSort;
+			iNextRow = pNextRow;
+			lLastAccess = System.currentTimeMillis();
+		}
+		
+	}	// FetchStream
+	
+
 }	// AbstractStorage
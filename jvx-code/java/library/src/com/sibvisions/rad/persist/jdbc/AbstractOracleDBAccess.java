@@ -18,6 +18,7 @@
  *
  * 01.08.2017 - [JR] - creation
  * 20.02.2020 - [DJ] - #2207: is alive query
+ * 18.10.2026 - [JR] - supportsBatchInsert overwritten
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -172,6 +173,16 @@ public abstract class AbstractOracleDBAccess extends DBAccess
 		}
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsBatchInsert()
+	{
+		// the database specific insert isn't used for batches
+		return false;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
@@ -121,6 +121,12 @@
  * 20.02.2020 - [DJ] - #2207: is alive query
  * 24.02.2020 - [JR] - #2046: storage events
  * 17.03.2020 - [JR] - #2237: use all available parameters for BLOB selects
+ * 18.10.2026 - [JR] - metadata caches: MetaDataCache with single-flight loading, time to live, maximum size and statistics
+ *                   - cache accessors aren't synchronized anymore
+ *                   - insert/update/delete, commit: FetchResultCache invalidation
+ *                   - fetch: FetchResultCache lookup with the created select statement
+ *                   - getDBAccess(DBCredentials): DBConnectionPool support
+ *                   - batch insert/update/delete
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -336,21 +342,21 @@ public class DBAccess implements IDBAccess,
 	private static KeyValueList<String, WeakReference<DBAccess>>          kvlDBAccessByIdentifier = new KeyValueList<String, WeakReference<DBAccess>>();
 	
 	/** Cache of <code>ForeignKey</code>'s to improve performance. */
-	private static GroupHashtable<String, String, List<ForeignKey>>	      ghtFKsCache = new GroupHashtable<String, String, List<ForeignKey>>();
+	private static MetaDataCache<List<ForeignKey>>                        ghtFKsCache = new MetaDataCache<List<ForeignKey>>();
 	/** Cache of <code>PrimaryKey</code>'s to improve performance. */
-	private static GroupHashtable<String, String, Key>	                  ghtPKCache = new GroupHashtable<String, String, Key>();
+	private static MetaDataCache<Key>                                     ghtPKCache = new MetaDataCache<Key>();
 	/** Cache of <code>UniqueKey</code>'s to improve performance. */
-	private static GroupHashtable<String, String, List<Key>>	          ghtUKsCache = new GroupHashtable<String, String, List<Key>>();
+	private static MetaDataCache<List<Key>>                               ghtUKsCache = new MetaDataCache<List<Key>>();
 	/** Cache of <code>AllowedValues</code>'s to improve performance. */
-	private static GroupHashtable<String, String, Map<String, Object[]>>  ghtAllowedValuesCache = new GroupHashtable<String, String, Map<String, Object[]>>();
+	private static MetaDataCache<Map<String, Object[]>>                   ghtAllowedValuesCache = new MetaDataCache<Map<String, Object[]>>();
 	/** Cache of <code>DefaultValues</code>'s to improve performance. */
-	private static GroupHashtable<String, String, Map<String, Object>>	  ghtDefaultValuesCache = new GroupHashtable<String, String, Map<String, Object>>();
+	private static MetaDataCache<Map<String, Object>>                     ghtDefaultValuesCache = new MetaDataCache<Map<String, Object>>();
 	/** Cache of <code>ColumnMetaData</code>'s to improve performance. */
-	private static GroupHashtable<String, String, ServerColumnMetaData[]> ghtColumnMetaDataCache = new GroupHashtable<String, String, ServerColumnMetaData[]>();
+	private static MetaDataCache<ServerColumnMetaData[]>                  ghtColumnMetaDataCache = new MetaDataCache<ServerColumnMetaData[]>();
 	/** Cache of <code>TableInfo</code>'s to improve performance. */
-	private static GroupHashtable<String, String, TableInfo>	          ghtTableInfoCache = new GroupHashtable<String, String, TableInfo>();
+	private static MetaDataCache<TableInfo>                               ghtTableInfoCache = new MetaDataCache<TableInfo>();
 	/** Cache of <code>TableInfo</code>'s to improve performance. */
-	private static GroupHashtable<String, String, String>	              ghtTableNameCache = new GroupHashtable<String, String, String>();
+	private static MetaDataCache<String>                                  ghtTableNameCache = new MetaDataCache<String>();
     /** Cache for last meta data check. */
     private static GroupHashtable<String, String, Long>                   ghtLastMetaDataCheck = new GroupHashtable<String, String, Long>();
     /** Cache for last meta data check. */
@@ -359,6 +365,9 @@ public class DBAccess implements IDBAccess,
     /** The minimum meta data check intervall in seconds. */
     private static int defaultMinMetaDataCheckInterval = 30;
     
+    /** The time to live of cached metadata in seconds. */
+    private static int iMetaDataCacheTimeToLive = -1;
+    
     /** The event handler for open DBAccess. */
     private static EventHandler<IOpenDBAccessListener>					eventOpenedDBAccess = null;
     /** The event handler for close DBAccess. */
@@ -480,6 +489,8 @@ public class DBAccess implements IDBAccess,
     private int                             iQueryTimeout = -1;
     /** Transaction time out, which is used as limit for insert, update and delete. */
     private int                             iTransactionTimeout = -1;
+    /** The max. number of rows per JDBC batch. */
+    private int                             iBatchSize = 1000;
     /** stores the max. column length in this database. */
 	private int 							iMaxColumnLength;
 
@@ -501,6 +512,8 @@ public class DBAccess implements IDBAccess,
     
     /** Autocommit state. */
     private boolean                         bAutoCommit = true;
+    /** the changed tables of the current transaction. */
+    private Set<String>                     setModifiedTables = null;
     /** Open state. */
     private boolean                         bOpen = false;
     /** DBAccess is just now closing. */
@@ -658,7 +671,8 @@ public class DBAccess implements IDBAccess,
 	}
 	
 	/**
-	 * Gets the suitable DBAccess for the given {@link DBCredentials}.
+	 * Gets the suitable DBAccess for the given {@link DBCredentials}. If the credentials have a pool size,
+	 * the connections are borrowed from a shared {@link DBConnectionPool}.
 	 * 
 	 * @param pCredentials the database credentials.
 	 * @return the suitable DBAccess.
@@ -671,6 +685,16 @@ public class DBAccess implements IDBAccess,
 			return null;
 		}
 		
+		if (pCredentials.isPoolEnabled() && isJdbc(pCredentials.getUrl()))
+		{
+			DBAccess dbAccess = getDBAccess(DBConnectionPool.getInstance(pCredentials));
+			
+			//release the connection after every call, if possible
+			dbAccess.setConnectionPoolEnabled(true);
+			
+			return dbAccess;
+		}
+		
 		DBAccess dbAccess = getDBAccess(pCredentials.getUrl(), pCredentials.getUserName(), pCredentials.getPassword());
 
 		if (dbAccess == null)
@@ -1150,27 +1174,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIdentifier(pCatalog, pSchema, pTable);
 			
-			uks = ghtUKsCache.get(dbAccessIdentifier, tableIdentifier);
-			if (uks == null)
+			uks = ghtUKsCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<List<Key>>()
 			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_UKS, pCatalog, pSchema, pTable);
-
-                try
-                {
-    				uks = getUniqueKeysIntern(pCatalog, pSchema, pTable);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-                
-				if (uks == null)
-				{
-					uks = UKS_NULL;
-				}
-				
-				ghtUKsCache.put(dbAccessIdentifier, tableIdentifier, uks);
-			}
+			    public List<Key> load() throws DataSourceException
+			    {
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_UKS, pCatalog, pSchema, pTable);
+			        
+			        try
+			        {
+			            List<Key> result = getUniqueKeysIntern(pCatalog, pSchema, pTable);
+			            
+			            return result != null ? result : UKS_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
+			    }
+			});
 			
 			if (uks == UKS_NULL)
 			{
@@ -1228,26 +1249,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIdentifier(pCatalog, pSchema, pTable);
 			
-			pk = ghtPKCache.get(dbAccessIdentifier, tableIdentifier);
-			if (pk == null)
+			pk = ghtPKCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<Key>()
 			{
-			    Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_PK, pCatalog, pSchema, pTable);
-
-			    try
-			    {
-    				pk = getPrimaryKeyIntern(pCatalog, pSchema, pTable);
-			    }
-			    finally
+			    public Key load() throws DataSourceException
 			    {
-			        CommonUtil.close(record);
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_PK, pCatalog, pSchema, pTable);
+			        
+			        try
+			        {
+			            Key result = getPrimaryKeyIntern(pCatalog, pSchema, pTable);
+			            
+			            return result != null ? result : PKS_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
 			    }
-				if (pk == null)
-				{
-					pk = PKS_NULL;
-				}
-				
-				ghtPKCache.put(dbAccessIdentifier, tableIdentifier, pk);
-			}
+			});
 
 			if (pk == PKS_NULL)
 			{
@@ -1305,27 +1324,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIdentifier(pCatalog, pSchema, pTable);
 			
-			fks = ghtFKsCache.get(dbAccessIdentifier, tableIdentifier);
-			if (fks == null)
+			fks = ghtFKsCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<List<ForeignKey>>()
 			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_FKS, pCatalog, pSchema, pTable);
-
-                try
-                {
-                    fks = getForeignKeysIntern(pCatalog, pSchema, pTable);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-				
-				if (fks == null)
-				{
-					fks = FKS_NULL;
-				}
-				
-				ghtFKsCache.put(dbAccessIdentifier, tableIdentifier, fks);
-			}
+			    public List<ForeignKey> load() throws DataSourceException
+			    {
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_FKS, pCatalog, pSchema, pTable);
+			        
+			        try
+			        {
+			            List<ForeignKey> result = getForeignKeysIntern(pCatalog, pSchema, pTable);
+			            
+			            return result != null ? result : FKS_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
+			    }
+			});
 			
 			if (fks == FKS_NULL)
 			{
@@ -1381,27 +1397,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIgnoreCaseIdentifier(pSynonym);
 			
-			tableName = ghtTableNameCache.get(dbAccessIdentifier, tableIdentifier);
-			if (tableName == null)
+			tableName = ghtTableNameCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<String>()
 			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_TABLESYNONYM, pSynonym);
-
-                try
-                {
-    				tableName = getTableForSynonymIntern(pSynonym);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-                
-				if (tableName == null)
-				{
-					tableName = TABLENAME_NULL;
-				}
-				
-				ghtTableNameCache.put(dbAccessIdentifier, tableIdentifier, tableName);
-			}
+			    public String load() throws DataSourceException
+			    {
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_TABLESYNONYM, pSynonym);
+			        
+			        try
+			        {
+			            String result = getTableForSynonymIntern(pSynonym);
+			            
+			            return result != null ? result : TABLENAME_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
+			    }
+			});
 			
 			if (tableName == TABLENAME_NULL)
 			{
@@ -1712,6 +1725,34 @@ public class DBAccess implements IDBAccess,
     		    }
     		}
     		
+    		long lCacheTimeToLive = FetchResultCache.takeFetchTimeToLive();
+    		long lCacheGeneration = -1;
+    		
+    		//uncommitted changes are only visible for the own transaction
+    		if (lCacheTimeToLive > 0 && !isModifiedTableUsed(selectStatement.getStatement()))
+    		{
+    		    FetchResultCache cache = FetchResultCache.getInstance();
+    		    
+    		    List<Object[]> liCached = cache.get(getIdentifier(), selectStatement.getStatement(), selectStatement.getValuesAsArray(), 
+    		                                        pFromRow, pMinimumRowCount);
+    		    
+    		    if (liCached != null)
+    		    {
+    		        if (record != null)
+    		        {
+    		            record.setCount(liCached.size() - 1);
+    		        }
+    		        
+    		        return liCached;
+    		    }
+    		    
+    		    lCacheGeneration = cache.getGeneration();
+    		}
+    		else
+    		{
+    		    lCacheTimeToLive = -1;
+    		}
+    		
     		ServerColumnMetaData[] scmd = pServerMetaData.getServerColumnMetaData();
     
             List<Object[]> auResult = new ArrayUtil<Object[]>();
@@ -1808,6 +1849,8 @@ public class DBAccess implements IDBAccess,
     		                    record.setCount(auResult.size() - 1);
     		                }
     						
+    		                putFetchResult(selectStatement, pFromRow, pMinimumRowCount, auResult, lCacheTimeToLive, lCacheGeneration);
+    		                
     						return auResult;
     					}
     					rsResultSet.getObject(1); // We have to read any object per row, as otherwise some jdbc driver runs into an internal bug 
@@ -2068,6 +2111,8 @@ public class DBAccess implements IDBAccess,
 
                         size = auResult.size() - 1;
 
+                        putFetchResult(selectStatement, pFromRow, pMinimumRowCount, auResult, lCacheTimeToLive, lCacheGeneration);
+                        
     					return auResult;
     				}				
     			}
@@ -2082,6 +2127,8 @@ public class DBAccess implements IDBAccess,
                     {
                         record.setCount(0);
                     }
+                    
+                    putFetchResult(selectStatement, pFromRow, pMinimumRowCount, auResult, lCacheTimeToLive, lCacheGeneration);
     			}
     			else
     			{
@@ -2264,6 +2311,7 @@ public class DBAccess implements IDBAccess,
     		pNewDataRow = insertDatabaseSpecific(pWriteBackTable, sInsertStatement.toString(), pServerMetaData, pNewDataRow, sDummyColumn);
 
     		setModified(Boolean.TRUE);
+    		setTableModified(pWriteBackTable);
     		
     		if (isDebugLogEnabled)
     		{
@@ -2466,6 +2514,7 @@ public class DBAccess implements IDBAccess,
     					                        pOld, pNew, pPKFilter);
     			
     			setModified(Boolean.TRUE);
+    			setTableModified(pWriteBackTable);
     			
     			if (isDebugLogEnabled)
     			{
@@ -2618,25 +2667,7 @@ public class DBAccess implements IDBAccess,
     			throw new DataSourceException("PK Columns empty! - delete not possible!");
     		}
     		
-    		ICondition pPKFilter = null;
-    		
-    		ServerColumnMetaData[] pServerColumnMetaData = pServerMetaData.getServerColumnMetaData();
-    		String[] pPKColumns = pServerMetaData.getPrimaryKeyColumnNames();
-    		
-    		if (pServerColumnMetaData != null)
-    		{
-    			pPKFilter = Filter.createEqualsFilter(pPKColumns, pDelete, pServerMetaData.getMetaData().getColumnMetaData());
-    		}
-    		else
-    		{
-    			// if pColumnMetaData is set, we use the pDelete columns as it is as values for the Equals
-    			// over the primary key columns
-    			pPKFilter = new Equals(pPKColumns[0], pDelete[0]);
-    			for (int i = 1; i < pPKColumns.length; i++)
-    			{
-    				pPKFilter = pPKFilter.and(new Equals(pPKColumns[i], pDelete[i]));
-    			}
-    		}
+    		ICondition pPKFilter = createPrimaryKeyFilter(pServerMetaData, pDelete);
     		
     		StringBuilder sDeleteStatement = new StringBuilder("DELETE FROM ");
     		sDeleteStatement.append(pWriteBackTable);
@@ -2673,6 +2704,7 @@ public class DBAccess implements IDBAccess,
     			int iCount = psDelete.executeUpdate();
     			
     			setModified(Boolean.TRUE);
+    			setTableModified(pWriteBackTable);
     			
     			if (isLogEnabled(LogLevel.DEBUG))
     			{
@@ -2714,6 +2746,262 @@ public class DBAccess implements IDBAccess,
             CommonUtil.close(record);
         }
 	}
+	
+	/**
+	 * Inserts the given rows and returns the newly inserted rows. Consecutive rows with the same
+	 * INSERT statement are inserted with one JDBC batch, with max. {@link #getBatchSize()} rows per batch.
+	 * Rows without values and rows which need generated keys, if the database doesn't return generated
+	 * keys for batches, are inserted with {@link #insert(String, ServerMetaData, Object[])}.
+	 * 
+	 * @param pWriteBackTable	the table to use for the insert
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pNewDataRows		the new rows (Object[]) with the values to insert
+	 * @return the newly inserted rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during insert to the storage
+	 * @see #supportsBatchInsert()
+	 * @see #supportsBatchGeneratedKeys()
+	 */
+	public List<Object[]> insert(String pWriteBackTable, ServerMetaData pServerMetaData, List<Object[]> pNewDataRows) throws DataSourceException
+	{
+		checkIsOpen();
+		
+		if (pWriteBackTable == null)
+		{
+			throw new DataSourceException("Missing WriteBackTable!");
+		}
+		
+		List<Object[]> liResult = new ArrayList<Object[]>(pNewDataRows.size());
+		
+		if (pNewDataRows.size() < 2 || !supportsBatchInsert())
+		{
+			for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+			{
+				liResult.add(insert(pWriteBackTable, pServerMetaData, pNewDataRows.get(i)));
+			}
+			
+			return liResult;
+		}
+		
+		ServerColumnMetaData[] cmdServerColumnMetaData = pServerMetaData.getServerColumnMetaData();
+		int[] iaWriteables = pServerMetaData.getWritableColumnIndices();
+		
+		boolean bGeneratedKeys = supportsGetGeneratedKeys() && supportsBatchGeneratedKeys();
+		
+		List<Object[]> liBatch = new ArrayList<Object[]>();
+		String sBatchStatement = null;
+		
+		for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+		{
+			Object[] oNew = pNewDataRows.get(i);
+			
+			String sInsertStatement = null;
+			
+			if (bGeneratedKeys || !isPrimaryKeyEmpty(pServerMetaData, oNew))
+			{
+				sInsertStatement = createInsertStatement(pWriteBackTable, cmdServerColumnMetaData, iaWriteables, oNew);
+			}
+			
+			if (sBatchStatement != null && (liBatch.size() >= iBatchSize || !sBatchStatement.equals(sInsertStatement)))
+			{
+				insertBatch(pWriteBackTable, sBatchStatement, pServerMetaData, liBatch, bGeneratedKeys);
+				
+				liResult.addAll(liBatch);
+				liBatch.clear();
+				
+				sBatchStatement = null;
+			}
+			
+			if (sInsertStatement == null)
+			{
+				liResult.add(insert(pWriteBackTable, pServerMetaData, oNew));
+			}
+			else
+			{
+				sBatchStatement = sInsertStatement;
+				
+				liBatch.add(oNew);
+			}
+		}
+		
+		if (sBatchStatement != null)
+		{
+			insertBatch(pWriteBackTable, sBatchStatement, pServerMetaData, liBatch, bGeneratedKeys);
+			
+			liResult.addAll(liBatch);
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Updates the given rows and returns the updated rows. Consecutive rows with the same
+	 * UPDATE statement are updated with one JDBC batch, with max. {@link #getBatchSize()} rows per batch.
+	 * Rows without changed values and rows with file handles are updated with 
+	 * {@link #update(String, ServerMetaData, Object[], Object[])}. If a row doesn't exist, it will be inserted. 
+	 * 
+	 * @param pWriteBackTable	the table to use for the update
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pOld				the old rows (values) to use.
+	 * @param pNew				the new rows (values) to use.
+	 * @return the updated rows, in the order of the given rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during update to the storage
+	 * @see #supportsBatchUpdates()
+	 */
+	public List<Object[]> update(String pWriteBackTable, ServerMetaData pServerMetaData, List<Object[]> pOld, List<Object[]> pNew) throws DataSourceException
+	{
+		checkIsOpen();
+		
+		if (pWriteBackTable == null)
+		{
+			throw new DataSourceException("Missing WriteBackTable!");
+		}
+		
+		if (pServerMetaData.getPrimaryKeyColumnNames() == null || pServerMetaData.getPrimaryKeyColumnNames().length == 0)
+		{
+			throw new DataSourceException("PK Columns empty! - update not possible!");
+		}
+		
+		if (pOld.size() != pNew.size())
+		{
+			throw new DataSourceException("Update failed ! - Count of old rows != count of new rows!");
+		}
+		
+		List<Object[]> liResult = new ArrayList<Object[]>(pNew.size());
+		
+		if (pNew.size() < 2 || !supportsBatchUpdates())
+		{
+			for (int i = 0, cnt = pNew.size(); i < cnt; i++)
+			{
+				liResult.add(update(pWriteBackTable, pServerMetaData, pOld.get(i), pNew.get(i)));
+			}
+			
+			return liResult;
+		}
+		
+		List<Object[]> liBatchOld = new ArrayList<Object[]>();
+		List<Object[]> liBatchNew = new ArrayList<Object[]>();
+		String sBatchStatement = null;
+		
+		// one more iteration, for the last batch
+		for (int i = 0, cnt = pNew.size(); i <= cnt; i++)
+		{
+			Object[] oOld = null;
+			Object[] oNew = null;
+			
+			String sUpdateStatement = null;
+			
+			if (i < cnt)
+			{
+				oOld = pOld.get(i);
+				oNew = pNew.get(i);
+				
+				sUpdateStatement = createUpdateStatement(pWriteBackTable, pServerMetaData, oOld, oNew);
+			}
+			
+			if (sBatchStatement != null && (liBatchNew.size() >= iBatchSize || !sBatchStatement.equals(sUpdateStatement)))
+			{
+				int[] iaCount = updateBatch(pWriteBackTable, sBatchStatement, pServerMetaData, liBatchOld, liBatchNew);
+				
+				for (int j = 0; j < iaCount.length; j++)
+				{
+					// the same as for single row updates: insert if the row doesn't exist
+					if (iaCount[j] == 0)
+					{
+						liResult.add(insert(pWriteBackTable, pServerMetaData, liBatchNew.get(j).clone()));
+					}
+					else if (iaCount[j] == 1 || iaCount[j] == Statement.SUCCESS_NO_INFO)
+					{
+						liResult.add(liBatchNew.get(j).clone());
+					}
+					else
+					{
+						throw new DataSourceException("Update failed ! - Result row count != 1 ! - " + sBatchStatement);
+					}
+				}
+				
+				liBatchOld.clear();
+				liBatchNew.clear();
+				
+				sBatchStatement = null;
+			}
+			
+			if (i < cnt)
+			{
+				if (sUpdateStatement == null)
+				{
+					liResult.add(update(pWriteBackTable, pServerMetaData, oOld, oNew));
+				}
+				else
+				{
+					sBatchStatement = sUpdateStatement;
+					
+					liBatchOld.add(oOld);
+					liBatchNew.add(oNew);
+				}
+			}
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Deletes the given rows. Consecutive rows with the same DELETE statement are deleted with
+	 * one JDBC batch, with max. {@link #getBatchSize()} rows per batch.
+	 * 
+	 * @param pWriteBackTable	the table to use for the delete
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pDelete			the rows to delete
+	 * @throws DataSourceException if an <code>Exception</code> occur during delete from the storage
+	 * @see #supportsBatchUpdates()
+	 */
+	public void delete(String pWriteBackTable, ServerMetaData pServerMetaData, List<Object[]> pDelete) throws DataSourceException
+	{
+		checkIsOpen();
+		
+		if (pWriteBackTable == null)
+		{
+			throw new DataSourceException("Missing WriteBackTable!");
+		}
+		
+		if (pServerMetaData.getPrimaryKeyColumnNames() == null || pServerMetaData.getPrimaryKeyColumnNames().length == 0)
+		{
+			throw new DataSourceException("PK Columns empty! - delete not possible!");
+		}
+		
+		if (pDelete.size() < 2 || !supportsBatchUpdates())
+		{
+			for (int i = 0, cnt = pDelete.size(); i < cnt; i++)
+			{
+				delete(pWriteBackTable, pServerMetaData, pDelete.get(i));
+			}
+			
+			return;
+		}
+		
+		List<Object[]> liBatch = new ArrayList<Object[]>();
+		String sBatchStatement = null;
+		
+		for (int i = 0, cnt = pDelete.size(); i < cnt; i++)
+		{
+			Object[] oDelete = pDelete.get(i);
+			
+			String sDeleteStatement = "DELETE FROM " + pWriteBackTable 
+					                  + getWhereClause(pServerMetaData, createPrimaryKeyFilter(pServerMetaData, oDelete), null, false);
+			
+			if (sBatchStatement != null && (liBatch.size() >= iBatchSize || !sBatchStatement.equals(sDeleteStatement)))
+			{
+				deleteBatch(pWriteBackTable, sBatchStatement, pServerMetaData, liBatch);
+				
+				liBatch.clear();
+			}
+			
+			sBatchStatement = sDeleteStatement;
+			
+			liBatch.add(oDelete);
+		}
+		
+		deleteBatch(pWriteBackTable, sBatchStatement, pServerMetaData, liBatch);
+	}
 
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Overwritten methods
@@ -3436,6 +3724,12 @@ public class DBAccess implements IDBAccess,
 		
 		setModified(Boolean.FALSE);
 		
+		//enabling auto-commit commits the transaction
+		if (bAutoCommit)
+		{
+			invalidateModifiedTables();
+		}
+		
 		if (isOpen())
 		{
 		    try
@@ -3526,6 +3820,8 @@ public class DBAccess implements IDBAccess,
 			}
 			
             setModified(Boolean.FALSE);
+            
+            setModifiedTables = null;
 
 			releaseConnectionIntern();
 		}
@@ -3556,6 +3852,8 @@ public class DBAccess implements IDBAccess,
 			
 			setModified(Boolean.FALSE);
 			
+			invalidateModifiedTables();
+			
 			releaseConnectionIntern();
 		}
 		catch (SQLException sqlException)
@@ -3620,6 +3918,29 @@ public class DBAccess implements IDBAccess,
 		iTransactionTimeout = pTransactionTimeout;
 	}
 	
+	/**
+	 * Gets the max. number of rows per JDBC batch.
+	 * 
+	 * @return the max. number of rows per batch
+	 * @see #insert(String, ServerMetaData, List)
+	 */
+	public int getBatchSize()
+	{
+		return iBatchSize;
+	}
+	
+	/**
+	 * Sets the max. number of rows per JDBC batch.
+	 * default is 1000
+	 * 
+	 * @param pBatchSize the max. number of rows per batch
+	 * @see #insert(String, ServerMetaData, List)
+	 */
+	public void setBatchSize(int pBatchSize)
+	{
+		iBatchSize = Math.max(1, pBatchSize);
+	}
+	
 	/**
 	 * Returns the <code>connection</code> to the database.
 	 * 
@@ -5697,6 +6018,47 @@ public class DBAccess implements IDBAccess,
 			return false;
 		}
 	}
+	
+	/**
+	 * Returns if this Database supports JDBC batches.
+	 * 
+	 * @return <code>true</code> if the JDBC driver supports batch updates
+	 */
+	public boolean supportsBatchUpdates()
+	{
+		try
+		{
+			return getConnectionIntern().getMetaData().supportsBatchUpdates();
+		}
+		catch (SQLException sqlException)
+		{
+			return false;
+		}
+	}
+	
+	/**
+	 * Returns if this Database specific supports batch inserts. Database specific implementations which
+	 * override {@link #insertDatabaseSpecific(String, String, ServerMetaData, Object[], String)} should
+	 * return <code>false</code>, because batch inserts are done with 
+	 * {@link #insertBatch(String, String, ServerMetaData, List, boolean)}.
+	 * 
+	 * @return <code>true</code> if rows could be inserted with JDBC batches
+	 */
+	public boolean supportsBatchInsert()
+	{
+		return supportsBatchUpdates();
+	}
+	
+	/**
+	 * Returns if this Database specific returns the generated keys of all rows of a JDBC batch.
+	 * If not, rows with an empty PrimaryKey aren't inserted with JDBC batches.
+	 * 
+	 * @return <code>true</code> if the generated keys of all batch rows are returned
+	 */
+	public boolean supportsBatchGeneratedKeys()
+	{
+		return false;
+	}
 
 	/**
 	 * Returns the newly inserted row from a Ansi SQL Database. <br>
@@ -5830,54 +6192,493 @@ public class DBAccess implements IDBAccess,
 	}
 	
 	/**
-	 * Returns the meta data information for the specified query, and configures all columns with defaults.
+	 * Inserts the given rows with one JDBC batch.
 	 * 
-	 * @param pBeforeQueryColumns	the before query columns
-	 * @param pQueryColumns			the query columns	
-	 * @param pFromClause			the from clause with query tables and join definitions
-	 * @param pWhereClause			the last where condition in query
-	 * @param pAfterWhereClause		the after where clause in query
-	 * @throws DataSourceException 
-	 *            if an <code>Exception</code> occur during getting the meta data or 
-	 *            if the storage is not opened or 
-	 *            if one columns SQL type is not supported
+	 * @param pWriteBackTable	the table to use for the insert
+	 * @param pInsertStatement	the SQL Statement to use for all rows
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pNewDataRows		the new rows (Object[]) with the values to insert. The generated keys
+	 *                          are set into the rows.
+	 * @param pGeneratedKeys	<code>true</code> to read the generated keys of all rows
+	 * @throws DataSourceException if an <code>Exception</code> occur during insert to the storage
 	 */
-    protected void getAndStoreMetaDataIntern(String pFromClause, 
-								     	             String[] pQueryColumns,
-								     	             String pBeforeQueryColumns, 
-								     	             String pWhereClause, 
-								     	             String pAfterWhereClause) throws DataSourceException
+	protected void insertBatch(String pWriteBackTable, String pInsertStatement, ServerMetaData pServerMetaData, 
+							   List<Object[]> pNewDataRows, boolean pGeneratedKeys) throws DataSourceException
 	{
-    	String tableIdentifier = createIgnoreCaseIdentifier(pFromClause, pQueryColumns, pBeforeQueryColumns);
-    	
-    	if (cachedMetaDataIdentifier == null || !cachedMetaDataIdentifier.equals(tableIdentifier))
+		Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_INSERT, pWriteBackTable);
+		
+		long lMillis = System.currentTimeMillis();
+		
+		PreparedStatement psInsert = null;
+		ResultSet rsPK = null;
+		
+		try
 		{
-    		cachedMetaDataIdentifier = null;
-    		cachedColumnMetaData = null;
-    		cachedCatalogInfo = null;
-    		cachedSchemaInfo = null;
-    		cachedTableInfo = null;
-    		
-			long lMillis = System.currentTimeMillis();
-			
-			if (pWhereClause == null)
+			if (record != null)
 			{
-				pWhereClause = getMetaDataWhereClause();
-			}		
-			else
+				record.setParameter(pInsertStatement);
+				record.setCount(pNewDataRows.size());
+			}
+			
+			psInsert = getPreparedStatement(pInsertStatement, pGeneratedKeys);
+			
+			if (iTransactionTimeout >= 0)
 			{
-				pWhereClause += " AND " + getMetaDataWhereClause();
+				try
+				{
+					psInsert.setQueryTimeout(iTransactionTimeout);
+				}
+				catch (Throwable ex)
+				{
+					// Ignore not implemented Exceptions.
+				}
 			}
-	
-			PreparedStatement psQueryMetaData = null;
-			ResultSet rsQueryMetaData = null;
-			String fromClauseWithAlias = pFromClause.trim();
-			if (fromClauseWithAlias.startsWith("(") && fromClauseWithAlias.endsWith(")")) // some databases need an alias in sub selects
+			
+			ServerColumnMetaData[] cmdServerColumnMetaData = pServerMetaData.getServerColumnMetaData();
+			int[] iaWriteables = pServerMetaData.getWritableColumnIndices();
+			
+			for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
 			{
-			    fromClauseWithAlias += " m";
+				setColumnsToStore(psInsert, cmdServerColumnMetaData, iaWriteables, pNewDataRows.get(i), null);
+				
+				psInsert.addBatch();
 			}
 			
-			ParameterizedStatement selectStatement = getParameterizedSelectStatement(null,
+			setSavepoint();
+			
+			int[] iaCount = psInsert.executeBatch();
+			
+			for (int i = 0; i < iaCount.length; i++)
+			{
+				if (iaCount[i] != 1 && iaCount[i] != Statement.SUCCESS_NO_INFO)
+				{
+					throw new DataSourceException("Insert failed! - Result row count != 1" + pInsertStatement);
+				}
+			}
+			
+			if (pGeneratedKeys)
+			{
+				try
+				{
+					rsPK = psInsert.getGeneratedKeys();
+					
+					for (int i = 0, cnt = pNewDataRows.size(); i < cnt && rsPK.next(); i++)
+					{
+						updateColumnsWithGeneratedKeys(pNewDataRows.get(i), rsPK, pServerMetaData);
+					}
+				}
+				catch (SQLException sqlException)
+				{
+					throw new DataSourceException("The generated keys couldn't read! - " + pInsertStatement, formatSQLException(sqlException));
+				}
+			}
+			
+			setModified(Boolean.TRUE);
+			setTableModified(pWriteBackTable);
+			
+			if (isLogEnabled(LogLevel.DEBUG))
+			{
+				debug(pInsertStatement, "\ninserted rows: ", Integer.valueOf(pNewDataRows.size()),
+				      "\ncomplete time: ", Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+			}
+			
+			for (int i = 0, cnt = pNewDataRows.size(); i < cnt; i++)
+			{
+				if (isPrimaryKeyEmpty(pServerMetaData, pNewDataRows.get(i)))
+				{
+					throw new DataSourceException("Primary key column empty after insert! " + pWriteBackTable);
+				}
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			rollbackToSavepoint();
+			
+			throw new DataSourceException("Insert failed! - " + pInsertStatement, formatSQLException(sqlException));
+		}
+		finally
+		{
+			releaseSavepoint();
+			CommonUtil.close(rsPK, psInsert);
+			CommonUtil.close(record);
+		}
+	}
+	
+	/**
+	 * Updates the given rows with one JDBC batch and returns the count of affected rows per row.
+	 * 
+	 * @param pWriteBackTable	the table to use for the update
+	 * @param pUpdateStatement	the SQL Statement to use for all rows
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pOld				the old rows (values) to use.
+	 * @param pNew				the new rows (values) to use.
+	 * @return the count of updated rows per row, or {@link Statement#SUCCESS_NO_INFO}
+	 * @throws DataSourceException if an <code>Exception</code> occur during update to the storage
+	 */
+	protected int[] updateBatch(String pWriteBackTable, String pUpdateStatement, ServerMetaData pServerMetaData, 
+								List<Object[]> pOld, List<Object[]> pNew) throws DataSourceException
+	{
+		Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_UPDATE, pWriteBackTable);
+		
+		long lMillis = System.currentTimeMillis();
+		
+		PreparedStatement psUpdate = null;
+		
+		try
+		{
+			psUpdate = getPreparedStatement(pUpdateStatement);
+			
+			if (iTransactionTimeout >= 0)
+			{
+				try
+				{
+					psUpdate.setQueryTimeout(iTransactionTimeout);
+				}
+				catch (Throwable ex)
+				{
+					// Ignore not implemented Exceptions.
+				}
+			}
+			
+			ServerColumnMetaData[] cmdServerColumnMetaData = pServerMetaData.getServerColumnMetaData();
+			int[] iaWriteables = pServerMetaData.getWritableColumnIndices();
+			
+			for (int i = 0, cnt = pNew.size(); i < cnt; i++)
+			{
+				int iLastParameterIndex = setColumnsToStore(psUpdate, cmdServerColumnMetaData, iaWriteables, pNew.get(i), pOld.get(i)) + 1;
+				
+				setFilterParameter(iLastParameterIndex, psUpdate, getParameter(createPrimaryKeyFilter(pServerMetaData, pOld.get(i))));
+				
+				psUpdate.addBatch();
+			}
+			
+			setSavepoint();
+			
+			int[] iaCount = psUpdate.executeBatch();
+			
+			setModified(Boolean.TRUE);
+			setTableModified(pWriteBackTable);
+			
+			if (record != null)
+			{
+				record.setParameter(pUpdateStatement);
+				record.setCount(pNew.size());
+			}
+			
+			if (isLogEnabled(LogLevel.DEBUG))
+			{
+				debug(pUpdateStatement, "\nupdated rows: ", Integer.valueOf(pNew.size()),
+				      "\ncomplete time: ", Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+			}
+			
+			return iaCount;
+		}
+		catch (SQLException sqlException)
+		{
+			rollbackToSavepoint();
+			
+			throw new DataSourceException("Update failed! - " + pUpdateStatement, formatSQLException(sqlException));
+		}
+		finally
+		{
+			releaseSavepoint();
+			CommonUtil.close(psUpdate);
+			CommonUtil.close(record);
+		}
+	}
+	
+	/**
+	 * Deletes the given rows with one JDBC batch.
+	 * 
+	 * @param pWriteBackTable	the table to use for the delete
+	 * @param pDeleteStatement	the SQL Statement to use for all rows
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pDelete			the rows to delete
+	 * @throws DataSourceException if an <code>Exception</code> occur during delete from the storage
+	 */
+	protected void deleteBatch(String pWriteBackTable, String pDeleteStatement, ServerMetaData pServerMetaData, 
+							   List<Object[]> pDelete) throws DataSourceException
+	{
+		Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_DELETE, pWriteBackTable);
+		
+		long lMillis = System.currentTimeMillis();
+		
+		PreparedStatement psDelete = null;
+		
+		try
+		{
+			psDelete = getPreparedStatement(pDeleteStatement);
+			
+			if (iTransactionTimeout >= 0)
+			{
+				try
+				{
+					psDelete.setQueryTimeout(iTransactionTimeout);
+				}
+				catch (Throwable ex)
+				{
+					// Ignore not implemented Exceptions.
+				}
+			}
+			
+			for (int i = 0, cnt = pDelete.size(); i < cnt; i++)
+			{
+				setFilterParameter(1, psDelete, getParameter(createPrimaryKeyFilter(pServerMetaData, pDelete.get(i))));
+				
+				psDelete.addBatch();
+			}
+			
+			setSavepoint();
+			
+			int[] iaCount = psDelete.executeBatch();
+			
+			setModified(Boolean.TRUE);
+			setTableModified(pWriteBackTable);
+			
+			if (isLogEnabled(LogLevel.DEBUG))
+			{
+				debug(pDeleteStatement, "\ndeleted rows: ", Integer.valueOf(pDelete.size()),
+				      "\ncomplete time: ", Long.valueOf(System.currentTimeMillis() - lMillis), "ms");
+			}
+			
+			for (int i = 0; i < iaCount.length; i++)
+			{
+				if (iaCount[i] > 1)
+				{
+					throw new DataSourceException("Delete failed ! - Result row count > 1 ! - " + iaCount[i] + "," + pDeleteStatement);
+				}
+			}
+			
+			if (record != null)
+			{
+				record.setParameter(pDeleteStatement);
+				record.setCount(pDelete.size());
+			}
+		}
+		catch (SQLException sqlException)
+		{
+			rollbackToSavepoint();
+			
+			throw new DataSourceException("Delete failed! - " + pDeleteStatement, formatSQLException(sqlException));
+		}
+		finally
+		{
+			releaseSavepoint();
+			CommonUtil.close(psDelete);
+			CommonUtil.close(record);
+		}
+	}
+	
+	/**
+	 * Creates the INSERT statement for the given row. The statement contains all writable columns
+	 * with a value.
+	 * 
+	 * @param pWriteBackTable			the table to use for the insert
+	 * @param pServerColumnMetaData		the column meta data to use.
+	 * @param pWriteables				the writable columns as int index array
+	 * @param pNewDataRow				the new row (Object[]) with the values to insert
+	 * @return the INSERT statement or <code>null</code> if the row has no value
+	 */
+	private String createInsertStatement(String pWriteBackTable, ServerColumnMetaData[] pServerColumnMetaData, 
+										 int[] pWriteables, Object[] pNewDataRow)
+	{
+		StringBuilder sbColumns = new StringBuilder();
+		StringBuilder sbValues = new StringBuilder();
+		
+		for (int i = 0; i < pWriteables.length; i++)
+		{
+			if (pNewDataRow[pWriteables[i]] != null)
+			{
+				if (sbColumns.length() > 0)
+				{
+					sbColumns.append(", ");
+					sbValues.append(", ");
+				}
+				
+				sbColumns.append(pServerColumnMetaData[pWriteables[i]].getColumnName().getQuotedName());
+				sbValues.append("?");
+			}
+		}
+		
+		if (sbColumns.length() == 0)
+		{
+			return null;
+		}
+		
+		StringBuilder sbInsert = new StringBuilder("INSERT INTO ");
+		sbInsert.append(pWriteBackTable);
+		sbInsert.append(" (");
+		sbInsert.append(sbColumns);
+		sbInsert.append(") VALUES (");
+		sbInsert.append(sbValues);
+		sbInsert.append(")");
+		
+		return sbInsert.toString();
+	}
+	
+	/**
+	 * Creates the UPDATE statement for the given rows. The statement contains all writable columns
+	 * with changed values.
+	 * 
+	 * @param pWriteBackTable	the table to use for the update
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pOld				the old row (values) to use.
+	 * @param pNew				the new row (values) to use.
+	 * @return the UPDATE statement or <code>null</code> if no value was changed or the rows contain file handles
+	 * @throws DataSourceException if the where clause couldn't be created
+	 */
+	private String createUpdateStatement(String pWriteBackTable, ServerMetaData pServerMetaData, Object[] pOld, Object[] pNew) throws DataSourceException
+	{
+		ServerColumnMetaData[] cmdServerColumnMetaData = pServerMetaData.getServerColumnMetaData();
+		int[] iaWriteables = pServerMetaData.getWritableColumnIndices();
+		
+		StringBuilder sbUpdate = new StringBuilder("UPDATE ");
+		sbUpdate.append(pWriteBackTable);
+		sbUpdate.append(" SET ");
+		
+		int iColumnCount = 0;
+		
+		for (int i = 0; i < iaWriteables.length; i++)
+		{
+			Object newObject = pNew[iaWriteables[i]];
+			Object oldObject = pOld[iaWriteables[i]];
+			
+			// file handles are read by the update of a single row 
+			if (newObject instanceof IFileHandle || oldObject instanceof IFileHandle)
+			{
+				return null;
+			}
+			
+			if (cmdServerColumnMetaData[iaWriteables[i]].getDataType().compareTo(newObject, oldObject) != 0)
+			{
+				if (iColumnCount > 0)
+				{
+					sbUpdate.append(", ");
+				}
+				sbUpdate.append(cmdServerColumnMetaData[iaWriteables[i]].getColumnName().getQuotedName());
+				sbUpdate.append(" = ? ");
+				iColumnCount++;
+			}
+		}
+		
+		if (iColumnCount == 0)
+		{
+			return null;
+		}
+		
+		sbUpdate.append(getWhereClause(pServerMetaData, createPrimaryKeyFilter(pServerMetaData, pOld), null, false));
+		
+		return sbUpdate.toString();
+	}
+	
+	/**
+	 * Creates the PrimaryKey filter for the given row.
+	 * 
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pDataRow			the row
+	 * @return the EQUALS filter over all PrimaryKey columns
+	 */
+	private ICondition createPrimaryKeyFilter(ServerMetaData pServerMetaData, Object[] pDataRow)
+	{
+		String[] sPKColumns = pServerMetaData.getPrimaryKeyColumnNames();
+		
+		if (pServerMetaData.getServerColumnMetaData() != null)
+		{
+			return Filter.createEqualsFilter(sPKColumns, pDataRow, pServerMetaData.getMetaData().getColumnMetaData());
+		}
+		
+		// if no column meta data is set, we use the pDataRow columns as it is as values for the Equals
+		// over the primary key columns
+		ICondition cFilter = new Equals(sPKColumns[0], pDataRow[0]);
+		
+		for (int i = 1; i < sPKColumns.length; i++)
+		{
+			cFilter = cFilter.and(new Equals(sPKColumns[i], pDataRow[i]));
+		}
+		
+		return cFilter;
+	}
+	
+	/**
+	 * Gets whether the PrimaryKey of the given row is empty.
+	 * 
+	 * @param pServerMetaData	the meta data to use.
+	 * @param pDataRow			the row
+	 * @return <code>true</code> if all PrimaryKey columns are <code>null</code>, <code>false</code> otherwise or
+	 *         if all columns are used as PrimaryKey
+	 */
+	private boolean isPrimaryKeyEmpty(ServerMetaData pServerMetaData, Object[] pDataRow)
+	{
+		if (pServerMetaData.getPrimaryKeyType() == PrimaryKeyType.AllColumns)
+		{
+			return false;
+		}
+		
+		int[] iPKColsIndices = pServerMetaData.getPrimaryKeyColumnIndices();
+		
+		if (iPKColsIndices != null)
+		{
+			for (int i = 0; i < iPKColsIndices.length; i++)
+			{
+				if (pDataRow[iPKColsIndices[i]] != null)
+				{
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the meta data information for the specified query, and configures all columns with defaults.
+	 * 
+	 * @param pBeforeQueryColumns	the before query columns
+	 * @param pQueryColumns			the query columns	
+	 * @param pFromClause			the from clause with query tables and join definitions
+	 * @param pWhereClause			the last where condition in query
+	 * @param pAfterWhereClause		the after where clause in query
+	 * @throws DataSourceException 
+	 *            if an <code>Exception</code> occur during getting the meta data or 
+	 *            if the storage is not opened or 
+	 *            if one columns SQL type is not supported
+	 */
+    protected void getAndStoreMetaDataIntern(String pFromClause, 
+								     	             String[] pQueryColumns,
+								     	             String pBeforeQueryColumns, 
+								     	             String pWhereClause, 
+								     	             String pAfterWhereClause) throws DataSourceException
+	{
+    	String tableIdentifier = createIgnoreCaseIdentifier(pFromClause, pQueryColumns, pBeforeQueryColumns);
+    	
+    	if (cachedMetaDataIdentifier == null || !cachedMetaDataIdentifier.equals(tableIdentifier))
+		{
+    		cachedMetaDataIdentifier = null;
+    		cachedColumnMetaData = null;
+    		cachedCatalogInfo = null;
+    		cachedSchemaInfo = null;
+    		cachedTableInfo = null;
+    		
+			long lMillis = System.currentTimeMillis();
+			
+			if (pWhereClause == null)
+			{
+				pWhereClause = getMetaDataWhereClause();
+			}		
+			else
+			{
+				pWhereClause += " AND " + getMetaDataWhereClause();
+			}
+	
+			PreparedStatement psQueryMetaData = null;
+			ResultSet rsQueryMetaData = null;
+			String fromClauseWithAlias = pFromClause.trim();
+			if (fromClauseWithAlias.startsWith("(") && fromClauseWithAlias.endsWith(")")) // some databases need an alias in sub selects
+			{
+			    fromClauseWithAlias += " m";
+			}
+			
+			ParameterizedStatement selectStatement = getParameterizedSelectStatement(null,
 	                                                                				 pBeforeQueryColumns,
 	                                                                				 pQueryColumns,
 	                                                                				 fromClauseWithAlias,
@@ -6362,28 +7163,32 @@ public class DBAccess implements IDBAccess,
 	        String dbAccessIdentifier = getIdentifier();
 	        String tableIdentifier = createIgnoreCaseIdentifier(pFromClause, pQueryColumns, pBeforeQueryColumns);
 
-	        metaData = ghtColumnMetaDataCache.get(dbAccessIdentifier, tableIdentifier);
-	        if (metaData == null)
-			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_COLUMNMETADATA, pFromClause);
-
-                try
-                {
-    				metaData = getColumnMetaDataIntern(pFromClause, pQueryColumns, pBeforeQueryColumns, pWhereClause, pAfterWhereClause);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-                
-				ghtColumnMetaDataCache.put(dbAccessIdentifier, tableIdentifier, metaData == null ? COLUMNMETADATA_NULL : metaData);
-				
-                // Store default MetaData for Query, they are the same.
-				if (pQueryColumns == null && pBeforeQueryColumns == null && metaData != null)
-				{
-				    createAndStorePossibleQueryMetaData(pFromClause, metaData);
-				}
-			}
+	        metaData = ghtColumnMetaDataCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<ServerColumnMetaData[]>()
+	        {
+	            public ServerColumnMetaData[] load() throws DataSourceException
+	            {
+	                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_COLUMNMETADATA, pFromClause);
+	                
+	                ServerColumnMetaData[] result;
+	                
+	                try
+	                {
+	                    result = getColumnMetaDataIntern(pFromClause, pQueryColumns, pBeforeQueryColumns, pWhereClause, pAfterWhereClause);
+	                }
+	                finally
+	                {
+	                    CommonUtil.close(record);
+	                }
+	                
+	                // Store default MetaData for Query, they are the same.
+	                if (pQueryColumns == null && pBeforeQueryColumns == null && result != null)
+	                {
+	                    createAndStorePossibleQueryMetaData(pFromClause, result);
+	                }
+	                
+	                return result != null ? result : COLUMNMETADATA_NULL;
+	            }
+	        });
 			
 	        return cloneServerColumnMetaData(metaData);
 		}
@@ -6530,27 +7335,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIgnoreCaseIdentifier(pWriteBackTable);
 			
-			tableInfo = ghtTableInfoCache.get(dbAccessIdentifier, tableIdentifier);
-			if (tableInfo == null)
+			tableInfo = ghtTableInfoCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<TableInfo>()
 			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_TABLEINFO, pWriteBackTable);
-
-                try
-                {
-    				tableInfo = getTableInfoIntern(pWriteBackTable);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-                
-				if (tableInfo == null)
-				{
-					tableInfo = TABLEINFO_NULL;
-				}
-				
-				ghtTableInfoCache.put(dbAccessIdentifier, tableIdentifier, tableInfo);
-			}
+			    public TableInfo load() throws DataSourceException
+			    {
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_TABLEINFO, pWriteBackTable);
+			        
+			        try
+			        {
+			            TableInfo result = getTableInfoIntern(pWriteBackTable);
+			            
+			            return result != null ? result : TABLEINFO_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
+			    }
+			});
 			
 			if (tableInfo == TABLEINFO_NULL)
 			{
@@ -6702,27 +7504,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIdentifier(pCatalog, pSchema, pTable);
 			
-			defaultValues = ghtDefaultValuesCache.get(dbAccessIdentifier, tableIdentifier);
-			if (defaultValues == null)
+			defaultValues = ghtDefaultValuesCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<Map<String, Object>>()
 			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_DEFAULTVALUES, pCatalog, pSchema, pTable);
-
-                try
-                {
-			        defaultValues = getDefaultValuesIntern(pCatalog, pSchema, pTable);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-                
-				if (defaultValues == null)
-				{
-					defaultValues = DEFAULT_VALUES_NULL;
-				}
-
-				ghtDefaultValuesCache.put(dbAccessIdentifier, tableIdentifier, defaultValues);
-			}
+			    public Map<String, Object> load() throws DataSourceException
+			    {
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_DEFAULTVALUES, pCatalog, pSchema, pTable);
+			        
+			        try
+			        {
+			            Map<String, Object> result = getDefaultValuesIntern(pCatalog, pSchema, pTable);
+			            
+			            return result != null ? result : DEFAULT_VALUES_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
+			    }
+			});
 			
 			if (defaultValues == DEFAULT_VALUES_NULL)
 			{
@@ -7000,27 +7799,24 @@ public class DBAccess implements IDBAccess,
 			String dbAccessIdentifier = getIdentifier();
 			String tableIdentifier = createIdentifier(pCatalog, pSchema, pTable);
 			
-			allowedValues = ghtAllowedValuesCache.get(dbAccessIdentifier, tableIdentifier);
-			if (allowedValues == null)
+			allowedValues = ghtAllowedValuesCache.get(dbAccessIdentifier, tableIdentifier, getMetaDataTimeToLive(), new MetaDataCache.ILoader<Map<String, Object[]>>()
 			{
-                Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_ALLOWEDVALUES, pCatalog, pSchema, pTable);
-
-                try
-                {
-    				allowedValues = getAllowedValuesIntern(pCatalog, pSchema, pTable);
-                }
-                finally
-                {
-                    CommonUtil.close(record);
-                }
-                
-				if (allowedValues == null)
-				{
-					allowedValues = ALLOWED_VALUES_NULL;
-				}
-
-				ghtAllowedValuesCache.put(dbAccessIdentifier, tableIdentifier, allowedValues);
-			}
+			    public Map<String, Object[]> load() throws DataSourceException
+			    {
+			        Record record = ProtocolFactory.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_GET_ALLOWEDVALUES, pCatalog, pSchema, pTable);
+			        
+			        try
+			        {
+			            Map<String, Object[]> result = getAllowedValuesIntern(pCatalog, pSchema, pTable);
+			            
+			            return result != null ? result : ALLOWED_VALUES_NULL;
+			        }
+			        finally
+			        {
+			            CommonUtil.close(record);
+			        }
+			    }
+			});
 			
 			if (allowedValues == ALLOWED_VALUES_NULL)
 			{
@@ -7960,7 +8756,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the ForeignKey cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, List<ForeignKey>> getForeignKeyCache(String pIdentifier)
+	public static Hashtable<String, List<ForeignKey>> getForeignKeyCache(String pIdentifier)
 	{
 		return ghtFKsCache.get(pIdentifier);
 	}
@@ -7970,7 +8766,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pForeignKeyCache the ForeignKey cache for a given identifier.
 	 */
-	public static synchronized void setForeignKeyCache(String pIdentifier, Hashtable<String, List<ForeignKey>> pForeignKeyCache)
+	public static void setForeignKeyCache(String pIdentifier, Hashtable<String, List<ForeignKey>> pForeignKeyCache)
 	{
 		ghtFKsCache.put(pIdentifier, pForeignKeyCache);
 	}
@@ -7981,7 +8777,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the PrimaryKey cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, Key> getPrimaryKeyCache(String pIdentifier)
+	public static Hashtable<String, Key> getPrimaryKeyCache(String pIdentifier)
 	{
 		return ghtPKCache.get(pIdentifier);
 	}
@@ -7992,7 +8788,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pPrimaryKeyCache the PrimaryKey cache for a given identifier.
 	 */
-	public static synchronized void setPrimaryKeyCache(String pIdentifier, Hashtable<String, Key> pPrimaryKeyCache)
+	public static void setPrimaryKeyCache(String pIdentifier, Hashtable<String, Key> pPrimaryKeyCache)
 	{
 		ghtPKCache.put(pIdentifier, pPrimaryKeyCache);
 	}
@@ -8003,7 +8799,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the UniqueKey cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, List<Key>> getUniqueKeyCache(String pIdentifier)
+	public static Hashtable<String, List<Key>> getUniqueKeyCache(String pIdentifier)
 	{
 		return ghtUKsCache.get(pIdentifier);
 	}
@@ -8014,7 +8810,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pUniqueKeyCache the UniqueKey cache for a given identifier.
 	 */
-	public static synchronized void setUniqueKeyCache(String pIdentifier, Hashtable<String, List<Key>> pUniqueKeyCache)
+	public static void setUniqueKeyCache(String pIdentifier, Hashtable<String, List<Key>> pUniqueKeyCache)
 	{
 		ghtUKsCache.put(pIdentifier, pUniqueKeyCache);
 	}
@@ -8025,7 +8821,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the AllowedValues cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, Map<String, Object[]>> getAllowedValuesCache(String pIdentifier)
+	public static Hashtable<String, Map<String, Object[]>> getAllowedValuesCache(String pIdentifier)
 	{
 		return ghtAllowedValuesCache.get(pIdentifier);
 	}
@@ -8036,7 +8832,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pAllowedValuesCache the AllowedValues cache for a given identifier.
 	 */
-	public static synchronized void setAllowedValuesCache(String pIdentifier, Hashtable<String, Map<String, Object[]>> pAllowedValuesCache)
+	public static void setAllowedValuesCache(String pIdentifier, Hashtable<String, Map<String, Object[]>> pAllowedValuesCache)
 	{
 		ghtAllowedValuesCache.put(pIdentifier, pAllowedValuesCache);
 	}
@@ -8047,7 +8843,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the DefaultValues cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, Map<String, Object>> getDefaultValuesCache(String pIdentifier)
+	public static Hashtable<String, Map<String, Object>> getDefaultValuesCache(String pIdentifier)
 	{
 		return ghtDefaultValuesCache.get(pIdentifier);
 	}
@@ -8058,7 +8854,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pDefaultValuesCache the DefaultValues cache for a given identifier.
 	 */
-	public static synchronized void setDefaultValuesCache(String pIdentifier, Hashtable<String, Map<String, Object>> pDefaultValuesCache)
+	public static void setDefaultValuesCache(String pIdentifier, Hashtable<String, Map<String, Object>> pDefaultValuesCache)
 	{
 		ghtDefaultValuesCache.put(pIdentifier, pDefaultValuesCache);
 	}
@@ -8069,7 +8865,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the ColumnMetaData cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, ServerColumnMetaData[]> getColumnMetaDataCache(String pIdentifier)
+	public static Hashtable<String, ServerColumnMetaData[]> getColumnMetaDataCache(String pIdentifier)
 	{
 		return ghtColumnMetaDataCache.get(pIdentifier);
 	}
@@ -8079,7 +8875,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pColumnMetaDataCache the ColumnMetaData cache for a given identifier.
 	 */
-	public static synchronized void setColumnMetaDataCache(String pIdentifier, Hashtable<String, ServerColumnMetaData[]> pColumnMetaDataCache)
+	public static void setColumnMetaDataCache(String pIdentifier, Hashtable<String, ServerColumnMetaData[]> pColumnMetaDataCache)
 	{
 		ghtColumnMetaDataCache.put(pIdentifier, pColumnMetaDataCache);
 	}
@@ -8090,7 +8886,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the TableInfo cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, TableInfo> getTableInfoCache(String pIdentifier)
+	public static Hashtable<String, TableInfo> getTableInfoCache(String pIdentifier)
 	{
 		return ghtTableInfoCache.get(pIdentifier);
 	}
@@ -8101,7 +8897,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pTableInfoCache the TableInfo cache for a given identifier.
 	 */
-	public static synchronized void setTableInfoCache(String pIdentifier, Hashtable<String, TableInfo> pTableInfoCache)
+	public static void setTableInfoCache(String pIdentifier, Hashtable<String, TableInfo> pTableInfoCache)
 	{
 		ghtTableInfoCache.put(pIdentifier, pTableInfoCache);
 	}
@@ -8112,7 +8908,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @return the TableName cache for a given identifier.
 	 */
-	public static synchronized Hashtable<String, String> getTableNameCache(String pIdentifier)
+	public static Hashtable<String, String> getTableNameCache(String pIdentifier)
 	{
 		return ghtTableNameCache.get(pIdentifier);
 	}
@@ -8123,7 +8919,7 @@ public class DBAccess implements IDBAccess,
 	 * @param pIdentifier the identifier.
 	 * @param pTableNameCache the TableNameC cache for a given identifier.
 	 */
-	public static synchronized void setTableNameCache(String pIdentifier, Hashtable<String, String> pTableNameCache)
+	public static void setTableNameCache(String pIdentifier, Hashtable<String, String> pTableNameCache)
 	{
 		ghtTableNameCache.put(pIdentifier, pTableNameCache);
 	}
@@ -8172,6 +8968,167 @@ public class DBAccess implements IDBAccess,
         minMetaDataCheckInterval = pMinMetaDataCheckInterval;
     }
     
+    /**
+     * Sets the time to live of cached metadata. Cached metadata will be loaded again after the
+     * time to live, if the database doesn't report metadata changes. The time to live is not
+     * used if the metadata cache is disabled.
+     * 
+     * @param pSeconds the time to live in seconds or a value &lt;= 0 if cached metadata doesn't expire
+     * @see #getMinMetaDataCheckInterval()
+     * @see #setMetaDataCacheOption(MetaDataCacheOption)
+     */
+    public static void setMetaDataCacheTimeToLive(int pSeconds)
+    {
+        iMetaDataCacheTimeToLive = pSeconds > 0 ? pSeconds : -1;
+    }
+    
+    /**
+     * Gets the time to live of cached metadata.
+     * 
+     * @return the time to live in seconds or <code>-1</code> if cached metadata doesn't expire
+     * @see #setMetaDataCacheTimeToLive(int)
+     */
+    public static int getMetaDataCacheTimeToLive()
+    {
+        return iMetaDataCacheTimeToLive;
+    }
+    
+    /**
+     * Sets the maximum number of cached tables per metadata cache and identifier. If a cache
+     * exceeds the maximum size, the oldest metadata will be removed. Metadata which was loaded
+     * for all tables at once won't be removed.
+     * 
+     * @param pMaxSize the maximum number of tables or a value &lt;= 0 for an unbounded cache
+     */
+    public static void setMetaDataCacheMaxSize(int pMaxSize)
+    {
+        for (MetaDataCache<?> cache : getMetaDataCaches())
+        {
+            cache.setMaxSize(pMaxSize);
+        }
+    }
+    
+    /**
+     * Gets the maximum number of cached tables per metadata cache and identifier.
+     * 
+     * @return the maximum number of tables or <code>-1</code> if the cache is unbounded
+     * @see #setMetaDataCacheMaxSize(int)
+     */
+    public static int getMetaDataCacheMaxSize()
+    {
+        return ghtPKCache.getMaxSize();
+    }
+    
+    /**
+     * Gets how often cached metadata was found.
+     * 
+     * @return the hit count of all metadata caches
+     */
+    public static long getMetaDataCacheHitCount()
+    {
+        long lCount = 0;
+        
+        for (MetaDataCache<?> cache : getMetaDataCaches())
+        {
+            lCount += cache.getHitCount();
+        }
+        
+        return lCount;
+    }
+    
+    /**
+     * Gets how often metadata wasn't cached.
+     * 
+     * @return the miss count of all metadata caches
+     */
+    public static long getMetaDataCacheMissCount()
+    {
+        long lCount = 0;
+        
+        for (MetaDataCache<?> cache : getMetaDataCaches())
+        {
+            lCount += cache.getMissCount();
+        }
+        
+        return lCount;
+    }
+    
+    /**
+     * Gets how often metadata was loaded from the database. Concurrent requests for the same
+     * metadata are loaded only once.
+     * 
+     * @return the load count of all metadata caches
+     */
+    public static long getMetaDataCacheLoadCount()
+    {
+        long lCount = 0;
+        
+        for (MetaDataCache<?> cache : getMetaDataCaches())
+        {
+            lCount += cache.getLoadCount();
+        }
+        
+        return lCount;
+    }
+    
+    /**
+     * Gets the total time of all metadata loads.
+     * 
+     * @return the load time of all metadata caches in millis
+     */
+    public static long getMetaDataCacheLoadTime()
+    {
+        long lTime = 0;
+        
+        for (MetaDataCache<?> cache : getMetaDataCaches())
+        {
+            lTime += cache.getLoadTime();
+        }
+        
+        return lTime;
+    }
+    
+    /**
+     * Resets the statistics of all metadata caches.
+     */
+    public static void resetMetaDataCacheStatistics()
+    {
+        for (MetaDataCache<?> cache : getMetaDataCaches())
+        {
+            cache.resetStatistics();
+        }
+    }
+    
+    /**
+     * Gets all metadata caches of this class.
+     * 
+     * @return the metadata caches
+     */
+    private static MetaDataCache<?>[] getMetaDataCaches()
+    {
+        return new MetaDataCache<?>[] {ghtFKsCache, ghtPKCache, ghtUKsCache, ghtAllowedValuesCache, ghtDefaultValuesCache, 
+                                       ghtColumnMetaDataCache, ghtTableInfoCache, ghtTableNameCache};
+    }
+    
+    /**
+     * Gets the time to live of cached metadata for this instance. The time to live is only used
+     * if the database doesn't report metadata changes.
+     * 
+     * @return the time to live in millis or <code>-1</code> if cached metadata doesn't expire
+     * @see #setMetaDataCacheTimeToLive(int)
+     */
+    protected long getMetaDataTimeToLive()
+    {
+        int iTimeToLive = iMetaDataCacheTimeToLive;
+        
+        if (iTimeToLive > 0 && (minMetaDataCheckInterval < 0 || !ghtLastMetaDataChange.containsGroup(getIdentifier())))
+        {
+            return iTimeToLive * 1000L;
+        }
+        
+        return -1;
+    }
+    
     /**
      * Gets the last meta data change in database.
      * Null means, that the database cannot detect the change date of table and views ddl.
@@ -8555,6 +9512,82 @@ public class DBAccess implements IDBAccess,
 		}
 	}
 	
+	/**
+	 * Sets a table modified. The cached fetch results of the table will be removed immediately, if
+	 * auto-commit is enabled, otherwise with the next commit.
+	 * 
+	 * @param pWriteBackTable the changed table
+	 * @see FetchResultCache
+	 */
+	private void setTableModified(String pWriteBackTable)
+	{
+		if (isAutoCommit())
+		{
+			FetchResultCache.getInstance().invalidate(getIdentifier(), pWriteBackTable);
+		}
+		else
+		{
+			if (setModifiedTables == null)
+			{
+				setModifiedTables = new HashSet<String>();
+			}
+			
+			setModifiedTables.add(pWriteBackTable);
+		}
+	}
+	
+	/**
+	 * Removes the cached fetch results of all tables which were changed in the current transaction.
+	 * 
+	 * @see FetchResultCache
+	 */
+	private void invalidateModifiedTables()
+	{
+		if (setModifiedTables != null)
+		{
+			for (String sTable : setModifiedTables)
+			{
+				FetchResultCache.getInstance().invalidate(getIdentifier(), sTable);
+			}
+			
+			setModifiedTables = null;
+		}
+	}
+	
+	/**
+	 * Caches a complete fetch result in the shared {@link FetchResultCache}, if the fetch was
+	 * requested with a time to live.
+	 * 
+	 * @param pStatement the select statement
+	 * @param pFromRow the first row
+	 * @param pMinimumRowCount the minimum number of rows
+	 * @param pRows the fetched rows
+	 * @param pTimeToLive the time to live or <code>-1</code> if the result shouldn't be cached
+	 * @param pGeneration the invalidation generation before the fetch
+	 * @see FetchResultCache#setFetchTimeToLive(long)
+	 */
+	private void putFetchResult(ParameterizedStatement pStatement, int pFromRow, int pMinimumRowCount, 
+	                            List<Object[]> pRows, long pTimeToLive, long pGeneration)
+	{
+		if (pTimeToLive > 0)
+		{
+			FetchResultCache.getInstance().put(getIdentifier(), pStatement.getStatement(), pStatement.getValuesAsArray(), 
+			                                   pFromRow, pMinimumRowCount, pRows, pTimeToLive, pGeneration);
+		}
+	}
+	
+	/**
+	 * Gets whether the given statement uses a table which was changed in the current transaction.
+	 * Cached fetch results of such statements don't contain the uncommitted changes.
+	 * 
+	 * @param pStatement the select statement
+	 * @return <code>true</code> if the statement uses a changed table
+	 */
+	private boolean isModifiedTableUsed(String pStatement)
+	{
+		return setModifiedTables != null && FetchResultCache.containsTable(pStatement, setModifiedTables);
+	}
+	
 	/**
 	 * Gets whether the database access is modified.
 	 * 
@@ -0,0 +1,1489 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.rad.persist.DataSourceException;
+
+import com.sibvisions.util.log.ILogger;
+import com.sibvisions.util.log.LoggerFactory;
+import com.sibvisions.util.type.CommonUtil;
+
+/**
+ * The <code>DBConnectionPool</code> is a native JDBC connection pool, for environments without a container
+ * <code>DataSource</code>, e.g. an embedded server or batch jobs. Idle connections are kept in a lock-free
+ * deque and the number of connections is limited with a semaphore.
+ * <p>
+ * Idle connections will be closed after the idle timeout, but the pool keeps at least the minimum number of
+ * connections. A connection which was idle for longer than the validation interval, will be validated with
+ * the alive query of the {@link DBAccess} for the url, before it's used. Prepared statements are cached per
+ * physical connection and will be reused after the statement was closed.
+ * </p>
+ * <p>
+ * The pool can be configured for a datasource in config.xml:
+ * </p>
+ * <pre>
+ * &lt;db name="default"&gt;
+ *   &lt;url&gt;jdbc:hsqldb:hsql://localhost/db&lt;/url&gt;
+ *   &lt;username&gt;sa&lt;/username&gt;
+ *   &lt;password&gt;&lt;/password&gt;
+ *   &lt;pool&gt;
+ *     &lt;minsize&gt;2&lt;/minsize&gt;
+ *     &lt;maxsize&gt;20&lt;/maxsize&gt;
+ *   &lt;/pool&gt;
+ * &lt;/db&gt;
+ * </pre>
+ *
+ * @author René Jahn
+ * @see DBAccess#getDBAccess(IConnectionPool)
+ * @see DBCredentials#setPoolSize(int, int)
+ */
+public class DBConnectionPool implements IConnectionPool
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the statement setters which will be reset before a cached statement will be reused. */
+	private static final String[] STATEMENT_SETTINGS = new String[] {"FetchSize", "MaxRows", "QueryTimeout", "MaxFieldSize", "FetchDirection"};
+
+	/** the shared pools per credentials. */
+	private static ConcurrentHashMap<DBCredentials, DBConnectionPool> chmPools = new ConcurrentHashMap<DBCredentials, DBConnectionPool>();
+
+	/** the proxy interfaces per implementation class. */
+	private static ConcurrentHashMap<Class<?>, Class<?>[]> chmInterfaces = new ConcurrentHashMap<Class<?>, Class<?>[]>();
+
+	/** The logger. */
+	private static ILogger logger;
+
+	/** the template for creating connections. */
+	private DBAccess dbaTemplate;
+
+	/** the idle connections, the most recently used first. */
+	private ConcurrentLinkedDeque<PooledConnection> cldIdle = new ConcurrentLinkedDeque<PooledConnection>();
+
+	/** the available connections. */
+	private Semaphore semAvailable;
+
+	/** the number of physical connections. */
+	private AtomicInteger aiTotal = new AtomicInteger();
+
+	/** the number of borrowed connections. */
+	private AtomicInteger aiActive = new AtomicInteger();
+
+	/** the time of the last eviction. */
+	private AtomicLong alLastEviction = new AtomicLong(System.currentTimeMillis());
+
+	/** the number of waiting requests. */
+	private LongAdder ladWaitCount = new LongAdder();
+
+	/** the wait time in nanos. */
+	private LongAdder ladWaitTime = new LongAdder();
+
+	/** the number of created connections. */
+	private LongAdder ladCreated = new LongAdder();
+
+	/** the number of closed connections. */
+	private LongAdder ladClosed = new LongAdder();
+
+	/** the number of reused statements. */
+	private LongAdder ladStatementHits = new LongAdder();
+
+	/** the number of prepared statements. */
+	private LongAdder ladStatementMisses = new LongAdder();
+
+	/** the username. */
+	private String sUserName;
+
+	/** the password. */
+	private String sPassword;
+
+	/** the minimum number of connections. */
+	private int iMinSize;
+
+	/** the maximum number of connections. */
+	private int iMaxSize;
+
+	/** the maximum wait time in millis. */
+	private long lMaxWait = 30000;
+
+	/** the idle timeout in millis. */
+	private long lIdleTimeout = 600000;
+
+	/** the validation interval in millis. */
+	private long lValidationInterval = 5000;
+
+	/** the maximum number of cached statements per connection. */
+	private int iStatementCacheSize = 32;
+
+	/** whether the minimum connections were created. */
+	private volatile boolean bInitialized;
+
+	/** whether the pool is closed. */
+	private volatile boolean bClosed;
+
+	/** whether the pool was replaced by a pool with another password. */
+	private volatile boolean bRetired;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>DBConnectionPool</code> with the pool size of the credentials. If the
+	 * credentials don't define a pool size, the pool allows max. 10 connections.
+	 *
+	 * @param pCredentials the credentials
+	 * @throws DataSourceException if the url is not a JDBC url or the driver is not available
+	 */
+	public DBConnectionPool(DBCredentials pCredentials) throws DataSourceException
+	{
+		this(pCredentials, pCredentials.getPoolMinSize(), pCredentials.isPoolEnabled() ? pCredentials.getPoolMaxSize() : 10);
+	}
+
+	/**
+	 * Creates a new instance of <code>DBConnectionPool</code>.
+	 *
+	 * @param pCredentials the credentials
+	 * @param pMinSize the minimum number of connections
+	 * @param pMaxSize the maximum number of connections
+	 * @throws DataSourceException if the url is not a JDBC url or the driver is not available
+	 */
+	public DBConnectionPool(DBCredentials pCredentials, int pMinSize, int pMaxSize) throws DataSourceException
+	{
+		if (pMaxSize <= 0 || pMinSize < 0 || pMinSize > pMaxSize)
+		{
+			throw new IllegalArgumentException("Invalid pool size: " + pMinSize + " - " + pMaxSize);
+		}
+
+		if (!DBAccess.isJdbc(pCredentials.getUrl()))
+		{
+			throw new DataSourceException("The pool needs a JDBC url: " + pCredentials.getUrl());
+		}
+
+		dbaTemplate = DBAccess.getDBAccess(pCredentials.getUrl());
+
+		if (pCredentials.getDriver() != null)
+		{
+			dbaTemplate.setDriver(pCredentials.getDriver());
+		}
+
+		if (dbaTemplate.getDriver() == null)
+		{
+			throw new DataSourceException("Jdbc Driver is null!");
+		}
+
+		try
+		{
+			Class.forName(dbaTemplate.getDriver());
+		}
+		catch (Exception exception)
+		{
+			throw new DataSourceException("Jdbc driver not found!", exception);
+		}
+
+		sUserName = pCredentials.getUserName();
+		sPassword = pCredentials.getPassword();
+
+		iMinSize = pMinSize;
+		iMaxSize = pMaxSize;
+
+		semAvailable = new Semaphore(pMaxSize);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Connection getConnection() throws SQLException
+	{
+		if (bClosed)
+		{
+			throw new SQLException("Connection pool is closed!");
+		}
+
+		if (!bInitialized)
+		{
+			initialize();
+		}
+
+		if (!semAvailable.tryAcquire())
+		{
+			long lStart = System.nanoTime();
+
+			ladWaitCount.increment();
+
+			boolean bAcquired;
+
+			try
+			{
+				bAcquired = semAvailable.tryAcquire(lMaxWait, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+
+				throw new SQLException("Waiting for a connection was interrupted!", ie);
+			}
+			finally
+			{
+				ladWaitTime.add(System.nanoTime() - lStart);
+			}
+
+			if (!bAcquired)
+			{
+				throw new SQLException("No connection available within " + lMaxWait + "ms (active: " + aiActive.get() + ", max: " + iMaxSize + ")");
+			}
+		}
+
+		try
+		{
+			PooledConnection pcon = cldIdle.pollFirst();
+
+			while (pcon != null && !validate(pcon))
+			{
+				closePhysical(pcon);
+
+				pcon = cldIdle.pollFirst();
+			}
+
+			if (pcon == null)
+			{
+				pcon = createPooledConnection();
+			}
+
+			aiActive.incrementAndGet();
+
+			return pcon.lease();
+		}
+		catch (SQLException se)
+		{
+			semAvailable.release();
+
+			throw se;
+		}
+		catch (RuntimeException re)
+		{
+			semAvailable.release();
+
+			throw re;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void releaseConnection(Connection pConnection)
+	{
+		if (pConnection == null)
+		{
+			return;
+		}
+
+		ConnectionHandler handler = null;
+
+		if (Proxy.isProxyClass(pConnection.getClass()))
+		{
+			InvocationHandler ih = Proxy.getInvocationHandler(pConnection);
+
+			if (ih instanceof ConnectionHandler && ((ConnectionHandler)ih).pooled.pool == this)
+			{
+				handler = (ConnectionHandler)ih;
+			}
+		}
+
+		if (handler == null)
+		{
+			//not a connection of this pool
+			CommonUtil.close(pConnection);
+
+			return;
+		}
+
+		if (!handler.release())
+		{
+			//already released
+			return;
+		}
+
+		PooledConnection pcon = handler.pooled;
+
+		aiActive.decrementAndGet();
+
+		try
+		{
+			if (!bClosed && !bRetired && pcon.reset())
+			{
+				pcon.lLastUsed = System.currentTimeMillis();
+
+				cldIdle.addFirst(pcon);
+
+				//closed or retired in the meantime
+				if ((bClosed || bRetired) && cldIdle.remove(pcon))
+				{
+					closePhysical(pcon);
+				}
+			}
+			else
+			{
+				closePhysical(pcon);
+			}
+		}
+		finally
+		{
+			semAvailable.release();
+		}
+
+		long lNow = System.currentTimeMillis();
+		long lLast = alLastEviction.get();
+
+		if (lNow - lLast > Math.min(lIdleTimeout, 60000) && alLastEviction.compareAndSet(lLast, lNow))
+		{
+			evictIdleConnections();
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the shared pool for the given credentials. The pool will be created if it doesn't exist. If the
+	 * password was changed, the old pool will be retired: it's not shared anymore, but it's still usable for
+	 * all {@link DBAccess} instances which use it.
+	 *
+	 * @param pCredentials the credentials
+	 * @return the pool
+	 * @throws DataSourceException if the pool can't be created
+	 */
+	public static DBConnectionPool getInstance(DBCredentials pCredentials) throws DataSourceException
+	{
+		DBConnectionPool pool = chmPools.get(pCredentials);
+
+		if (!isUsable(pool, pCredentials))
+		{
+			synchronized (chmPools)
+			{
+				pool = chmPools.get(pCredentials);
+
+				if (!isUsable(pool, pCredentials))
+				{
+					if (pool != null)
+					{
+						pool.retire();
+					}
+
+					pool = new DBConnectionPool(pCredentials);
+
+					chmPools.put(pCredentials, pool);
+				}
+			}
+		}
+
+		return pool;
+	}
+
+	/**
+	 * Gets whether a shared pool can be used for the given credentials.
+	 *
+	 * @param pPool the pool
+	 * @param pCredentials the credentials
+	 * @return <code>true</code> if the pool is open and uses the same password
+	 */
+	private static boolean isUsable(DBConnectionPool pPool, DBCredentials pCredentials)
+	{
+		return pPool != null && !pPool.isClosed() && CommonUtil.equals(pPool.sPassword, pCredentials.getPassword());
+	}
+
+	/**
+	 * Closes all idle connections and rejects new requests. Borrowed connections will be closed when they are
+	 * released.
+	 */
+	public void close()
+	{
+		bClosed = true;
+
+		chmPools.values().remove(this);
+
+		PooledConnection pcon;
+
+		while ((pcon = cldIdle.pollFirst()) != null)
+		{
+			closePhysical(pcon);
+		}
+	}
+
+	/**
+	 * Retires the pool. The idle connections will be closed and released connections won't be pooled anymore,
+	 * but new connections are still available. A retired pool doesn't keep connections, so it's not necessary
+	 * to close it.
+	 */
+	private void retire()
+	{
+		bRetired = true;
+
+		chmPools.values().remove(this);
+
+		PooledConnection pcon;
+
+		while ((pcon = cldIdle.pollFirst()) != null)
+		{
+			closePhysical(pcon);
+		}
+	}
+
+	/**
+	 * Gets whether the pool is closed.
+	 *
+	 * @return <code>true</code> if the pool is closed
+	 */
+	public boolean isClosed()
+	{
+		return bClosed;
+	}
+
+	/**
+	 * Closes idle connections which weren't used for longer than the idle timeout, but keeps the minimum number of
+	 * connections. This method will be called automatically when connections are released.
+	 *
+	 * @return the number of closed connections
+	 */
+	public int evictIdleConnections()
+	{
+		long lOldest = System.currentTimeMillis() - lIdleTimeout;
+
+		int iEvicted = 0;
+
+		PooledConnection pcon;
+
+		while (aiTotal.get() > iMinSize && (pcon = cldIdle.pollLast()) != null)
+		{
+			if (pcon.lLastUsed > lOldest)
+			{
+				cldIdle.addLast(pcon);
+
+				break;
+			}
+
+			closePhysical(pcon);
+
+			iEvicted++;
+		}
+
+		if (iEvicted > 0)
+		{
+			debug("Evicted ", Integer.valueOf(iEvicted), " idle connections of ", dbaTemplate.getUrl());
+		}
+
+		return iEvicted;
+	}
+
+	/**
+	 * Creates the minimum number of connections.
+	 *
+	 * @throws SQLException if a connection can't be created
+	 */
+	private synchronized void initialize() throws SQLException
+	{
+		if (!bInitialized)
+		{
+			while (aiTotal.get() < iMinSize)
+			{
+				PooledConnection pcon = createPooledConnection();
+				pcon.lLastUsed = System.currentTimeMillis();
+
+				cldIdle.addLast(pcon);
+			}
+
+			bInitialized = true;
+		}
+	}
+
+	/**
+	 * Creates a new pooled connection.
+	 *
+	 * @return the connection
+	 * @throws SQLException if the connection can't be created
+	 */
+	private PooledConnection createPooledConnection() throws SQLException
+	{
+		PooledConnection pcon = new PooledConnection(this, createConnection());
+
+		aiTotal.incrementAndGet();
+		ladCreated.increment();
+
+		return pcon;
+	}
+
+	/**
+	 * Creates a new physical connection.
+	 *
+	 * @return the connection
+	 * @throws SQLException if the connection can't be created
+	 */
+	protected Connection createConnection() throws SQLException
+	{
+		Properties propCopy = new Properties();
+		propCopy.putAll(dbaTemplate.getDBProperties());
+
+		String sPlainUserName = dbaTemplate.translateQuotes(sUserName);
+
+		if (sPlainUserName != null)
+		{
+			propCopy.setProperty("user", sPlainUserName);
+		}
+
+		if (sPassword != null)
+		{
+			propCopy.setProperty("password", sPassword);
+		}
+
+		Connection con = DriverManager.getConnection(dbaTemplate.getUrl(), propCopy);
+
+		debug("Created connection for ", dbaTemplate.getUrl());
+
+		return con;
+	}
+
+	/**
+	 * Validates an idle connection with the alive query, if it wasn't used within the validation interval.
+	 *
+	 * @param pConnection the connection
+	 * @return <code>true</code> if the connection is valid
+	 */
+	private boolean validate(PooledConnection pConnection)
+	{
+		if (System.currentTimeMillis() - pConnection.lLastUsed < lValidationInterval)
+		{
+			return true;
+		}
+
+		Statement stmt = null;
+
+		try
+		{
+			if (pConnection.connection.isClosed())
+			{
+				return false;
+			}
+
+			stmt = pConnection.connection.createStatement();
+			CommonUtil.close(stmt.executeQuery(dbaTemplate.getAliveQuery()));
+
+			return true;
+		}
+		catch (Exception e)
+		{
+			debug("Invalid connection of ", dbaTemplate.getUrl(), e);
+
+			return false;
+		}
+		finally
+		{
+			CommonUtil.close(stmt);
+		}
+	}
+
+	/**
+	 * Closes a physical connection with all cached statements.
+	 *
+	 * @param pConnection the connection
+	 */
+	private void closePhysical(PooledConnection pConnection)
+	{
+		aiTotal.decrementAndGet();
+		ladClosed.increment();
+
+		pConnection.closeStatements();
+
+		CommonUtil.close(pConnection.connection);
+	}
+
+	/**
+	 * Gets all public interfaces of a class, for creating a proxy. The proxy implements vendor specific
+	 * interfaces as well, e.g. <code>OracleConnection</code>.
+	 *
+	 * @param pClass the implementation class
+	 * @param pDefault the interface which has to be implemented
+	 * @return the interfaces
+	 */
+	static Class<?>[] getInterfaces(Class<?> pClass, Class<?> pDefault)
+	{
+		Class<?>[] interfaces = chmInterfaces.get(pClass);
+
+		if (interfaces == null)
+		{
+			LinkedHashSet<Class<?>> setInterfaces = new LinkedHashSet<Class<?>>();
+			setInterfaces.add(pDefault);
+
+			for (Class<?> clazz = pClass; clazz != null; clazz = clazz.getSuperclass())
+			{
+				for (Class<?> clsInterface : clazz.getInterfaces())
+				{
+					if (Modifier.isPublic(clsInterface.getModifiers()))
+					{
+						setInterfaces.add(clsInterface);
+					}
+				}
+			}
+
+			interfaces = setInterfaces.toArray(new Class<?>[setInterfaces.size()]);
+
+			try
+			{
+				//checks whether the proxy class can be defined
+				Proxy.newProxyInstance(pClass.getClassLoader(), interfaces, new InvocationHandler()
+				{
+					public Object invoke(Object pProxy, Method pMethod, Object[] pArgs)
+					{
+						return null;
+					}
+				});
+			}
+			catch (IllegalArgumentException iae)
+			{
+				//interfaces are not visible or conflicting
+				interfaces = new Class<?>[] {pDefault};
+			}
+
+			chmInterfaces.put(pClass, interfaces);
+		}
+
+		return interfaces;
+	}
+
+	/**
+	 * Creates a proxy for the given object.
+	 *
+	 * @param pObject the object
+	 * @param pDefault the interface which has to be implemented
+	 * @param pHandler the invocation handler
+	 * @return the proxy
+	 */
+	static Object createProxy(Object pObject, Class<?> pDefault, InvocationHandler pHandler)
+	{
+		Class<?>[] interfaces = getInterfaces(pObject.getClass(), pDefault);
+
+		ClassLoader loader = interfaces.length == 1 ? DBConnectionPool.class.getClassLoader() : pObject.getClass().getClassLoader();
+
+		return Proxy.newProxyInstance(loader, interfaces, pHandler);
+	}
+
+	/**
+	 * Invokes a method and unwraps the {@link InvocationTargetException}.
+	 *
+	 * @param pObject the object
+	 * @param pMethod the method
+	 * @param pArgs the arguments
+	 * @return the result
+	 * @throws Throwable the cause of the invocation exception
+	 */
+	static Object invoke(Object pObject, Method pMethod, Object[] pArgs) throws Throwable
+	{
+		try
+		{
+			return pMethod.invoke(pObject, pArgs);
+		}
+		catch (InvocationTargetException ite)
+		{
+			throw ite.getCause();
+		}
+	}
+
+	/**
+	 * Gets the number of physical connections.
+	 *
+	 * @return the number of connections
+	 */
+	public int getTotalCount()
+	{
+		return aiTotal.get();
+	}
+
+	/**
+	 * Gets the number of borrowed connections.
+	 *
+	 * @return the number of connections
+	 */
+	public int getActiveCount()
+	{
+		return aiActive.get();
+	}
+
+	/**
+	 * Gets the number of idle connections.
+	 *
+	 * @return the number of connections
+	 */
+	public int getIdleCount()
+	{
+		return cldIdle.size();
+	}
+
+	/**
+	 * Gets how often a request had to wait for a connection.
+	 *
+	 * @return the number of waiting requests
+	 */
+	public long getWaitCount()
+	{
+		return ladWaitCount.sum();
+	}
+
+	/**
+	 * Gets the summed up wait time of all requests.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getWaitTime()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(ladWaitTime.sum());
+	}
+
+	/**
+	 * Gets the number of created physical connections.
+	 *
+	 * @return the number of connections
+	 */
+	public long getCreatedCount()
+	{
+		return ladCreated.sum();
+	}
+
+	/**
+	 * Gets the number of closed physical connections.
+	 *
+	 * @return the number of connections
+	 */
+	public long getClosedCount()
+	{
+		return ladClosed.sum();
+	}
+
+	/**
+	 * Gets how often a cached statement was reused.
+	 *
+	 * @return the number of reused statements
+	 */
+	public long getStatementCacheHitCount()
+	{
+		return ladStatementHits.sum();
+	}
+
+	/**
+	 * Gets how often a statement was prepared.
+	 *
+	 * @return the number of prepared statements
+	 */
+	public long getStatementCacheMissCount()
+	{
+		return ladStatementMisses.sum();
+	}
+
+	/**
+	 * Gets the minimum number of connections.
+	 *
+	 * @return the minimum
+	 */
+	public int getMinSize()
+	{
+		return iMinSize;
+	}
+
+	/**
+	 * Gets the maximum number of connections.
+	 *
+	 * @return the maximum
+	 */
+	public int getMaxSize()
+	{
+		return iMaxSize;
+	}
+
+	/**
+	 * Sets the maximum time to wait for a connection, if all connections are in use.
+	 *
+	 * @param pMillis the time in milliseconds
+	 */
+	public void setMaxWait(long pMillis)
+	{
+		lMaxWait = pMillis;
+	}
+
+	/**
+	 * Gets the maximum time to wait for a connection.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getMaxWait()
+	{
+		return lMaxWait;
+	}
+
+	/**
+	 * Sets the time after that an idle connection will be closed.
+	 *
+	 * @param pMillis the time in milliseconds
+	 */
+	public void setIdleTimeout(long pMillis)
+	{
+		lIdleTimeout = pMillis;
+	}
+
+	/**
+	 * Gets the time after that an idle connection will be closed.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getIdleTimeout()
+	{
+		return lIdleTimeout;
+	}
+
+	/**
+	 * Sets the time after that an idle connection will be validated before it's used.
+	 *
+	 * @param pMillis the time in milliseconds, <code>0</code> to validate always
+	 */
+	public void setValidationInterval(long pMillis)
+	{
+		lValidationInterval = pMillis;
+	}
+
+	/**
+	 * Gets the time after that an idle connection will be validated before it's used.
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getValidationInterval()
+	{
+		return lValidationInterval;
+	}
+
+	/**
+	 * Sets the maximum number of cached prepared statements per connection.
+	 *
+	 * @param pSize the number of statements, <code>0</code> to disable caching
+	 */
+	public void setStatementCacheSize(int pSize)
+	{
+		iStatementCacheSize = pSize;
+	}
+
+	/**
+	 * Gets the maximum number of cached prepared statements per connection.
+	 *
+	 * @return the number of statements
+	 */
+	public int getStatementCacheSize()
+	{
+		return iStatementCacheSize;
+	}
+
+	/**
+	 * Logs debug information.
+	 *
+	 * @param pInfo the debug information
+	 */
+	protected static void debug(Object... pInfo)
+	{
+		if (logger == null)
+		{
+			logger = LoggerFactory.getInstance(DBConnectionPool.class);
+		}
+
+		logger.debug(pInfo);
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>PooledConnection</code> is a physical connection with its statement cache.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class PooledConnection
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the pool. */
+		private DBConnectionPool pool;
+
+		/** the physical connection. */
+		private Connection connection;
+
+		/** the cached statements, the least recently used first. */
+		private LinkedHashMap<String, StatementHandler> lhmStatements = new LinkedHashMap<String, StatementHandler>(16, 0.75f, true);
+
+		/** the open statements of the current lease. */
+		private List<StatementHandler> liOpenStatements = new ArrayList<StatementHandler>();
+
+		/** the current lease. */
+		private ConnectionHandler handler;
+
+		/** the time of the last usage. */
+		private volatile long lLastUsed;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new instance of <code>PooledConnection</code>.
+		 *
+		 * @param pPool the pool
+		 * @param pConnection the physical connection
+		 */
+		private PooledConnection(DBConnectionPool pPool, Connection pConnection)
+		{
+			pool = pPool;
+			connection = pConnection;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new connection proxy for the caller.
+		 *
+		 * @return the connection proxy
+		 */
+		private Connection lease()
+		{
+			handler = new ConnectionHandler(this);
+			handler.proxy = (Connection)createProxy(connection, Connection.class, handler);
+
+			return handler.proxy;
+		}
+
+		/**
+		 * Closes all statements of the current lease and resets the connection state.
+		 *
+		 * @return <code>true</code> if the connection can be reused, <code>false</code> otherwise
+		 */
+		private boolean reset()
+		{
+			for (int i = liOpenStatements.size() - 1; i >= 0; i--)
+			{
+				liOpenStatements.get(i).closeLogical();
+			}
+
+			liOpenStatements.clear();
+
+			handler = null;
+
+			try
+			{
+				if (connection.isClosed())
+				{
+					return false;
+				}
+
+				if (!connection.getAutoCommit())
+				{
+					connection.rollback();
+					connection.setAutoCommit(true);
+				}
+
+				connection.clearWarnings();
+
+				return true;
+			}
+			catch (SQLException se)
+			{
+				debug("Reset connection failed", se);
+
+				return false;
+			}
+		}
+
+		/**
+		 * Prepares a statement or reuses a cached statement.
+		 *
+		 * @param pMethod the prepare method
+		 * @param pArgs the arguments
+		 * @return the statement proxy
+		 * @throws Throwable if preparing fails
+		 */
+		private Object prepare(Method pMethod, Object[] pArgs) throws Throwable
+		{
+			StringBuilder sbKey = new StringBuilder(pMethod.getName());
+
+			for (int i = 1; i < pArgs.length && sbKey != null; i++)
+			{
+				if (pArgs[i] instanceof Integer)
+				{
+					sbKey.append('\u0000');
+					sbKey.append(pArgs[i]);
+				}
+				else
+				{
+					//e.g. column names for generated keys -> not cached
+					sbKey = null;
+				}
+			}
+
+			String sKey = null;
+
+			StatementHandler sthCached = null;
+
+			if (sbKey != null)
+			{
+				sbKey.append('\u0000');
+				sbKey.append(pArgs[0]);
+
+				sKey = sbKey.toString();
+
+				sthCached = lhmStatements.get(sKey);
+			}
+
+			if (sthCached != null)
+			{
+				if (!sthCached.bInUse)
+				{
+					boolean bClosed;
+
+					try
+					{
+						bClosed = sthCached.statement.isClosed();
+					}
+					catch (Throwable th)
+					{
+						bClosed = true;
+					}
+
+					if (!bClosed)
+					{
+						pool.ladStatementHits.increment();
+
+						return sthCached.open();
+					}
+
+					lhmStatements.remove(sKey);
+				}
+				else
+				{
+					//in use, e.g. by an open cursor -> don't cache the new statement
+					sKey = null;
+				}
+			}
+
+			pool.ladStatementMisses.increment();
+
+			Statement stmt = (Statement)invoke(connection, pMethod, pArgs);
+
+			StatementHandler sth = new StatementHandler(this, stmt, pool.iStatementCacheSize > 0 ? sKey : null);
+			sth.proxy = (Statement)createProxy(stmt, pMethod.getReturnType(), sth);
+
+			if (sth.sKey != null)
+			{
+				lhmStatements.put(sKey, sth);
+
+				if (lhmStatements.size() > pool.iStatementCacheSize)
+				{
+					for (Iterator<StatementHandler> it = lhmStatements.values().iterator(); it.hasNext() && lhmStatements.size() > pool.iStatementCacheSize;)
+					{
+						StatementHandler sthOld = it.next();
+
+						if (!sthOld.bInUse)
+						{
+							it.remove();
+
+							CommonUtil.close(sthOld.statement);
+						}
+					}
+				}
+			}
+
+			return sth.open();
+		}
+
+		/**
+		 * Closes all cached statements.
+		 */
+		private void closeStatements()
+		{
+			for (StatementHandler sth : lhmStatements.values())
+			{
+				CommonUtil.close(sth.statement);
+			}
+
+			lhmStatements.clear();
+		}
+
+	}	// PooledConnection
+
+	/**
+	 * The <code>ConnectionHandler</code> is the invocation handler for a borrowed connection. Closing the
+	 * connection releases it to the pool.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class ConnectionHandler implements InvocationHandler
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the pooled connection. */
+		private PooledConnection pooled;
+
+		/** the proxy. */
+		private Connection proxy;
+
+		/** whether the connection was released. */
+		private AtomicInteger aiReleased = new AtomicInteger();
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new instance of <code>ConnectionHandler</code>.
+		 *
+		 * @param pPooled the pooled connection
+		 */
+		private ConnectionHandler(PooledConnection pPooled)
+		{
+			pooled = pPooled;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Interface implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object invoke(Object pProxy, Method pMethod, Object[] pArgs) throws Throwable
+		{
+			String sName = pMethod.getName();
+
+			if ("close".equals(sName) && pArgs == null)
+			{
+				pooled.pool.releaseConnection(proxy);
+
+				return null;
+			}
+			else if ("isClosed".equals(sName) && pArgs == null)
+			{
+				return Boolean.valueOf(aiReleased.get() != 0 || pooled.connection.isClosed());
+			}
+			else if ("equals".equals(sName) && pArgs != null && pArgs.length == 1)
+			{
+				return Boolean.valueOf(pProxy == pArgs[0]);
+			}
+			else if ("hashCode".equals(sName) && pArgs == null)
+			{
+				return Integer.valueOf(System.identityHashCode(pProxy));
+			}
+			else if ("toString".equals(sName) && pArgs == null)
+			{
+				return "Pooled " + pooled.connection;
+			}
+
+			if (aiReleased.get() != 0)
+			{
+				throw new SQLException("Connection was released to the pool!");
+			}
+
+			if (pArgs != null
+				&& pArgs.length > 0
+				&& pArgs[0] instanceof String
+				&& ("prepareStatement".equals(sName) || "prepareCall".equals(sName)))
+			{
+				return pooled.prepare(pMethod, pArgs);
+			}
+
+			Object oResult = DBConnectionPool.invoke(pooled.connection, pMethod, pArgs);
+
+			if (oResult instanceof Statement)
+			{
+				StatementHandler sth = new StatementHandler(pooled, (Statement)oResult, null);
+				sth.proxy = (Statement)createProxy(oResult, pMethod.getReturnType(), sth);
+
+				return sth.open();
+			}
+
+			return oResult;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Marks the connection as released.
+		 *
+		 * @return <code>true</code> if the connection wasn't released before
+		 */
+		private boolean release()
+		{
+			return aiReleased.compareAndSet(0, 1);
+		}
+
+	}	// ConnectionHandler
+
+	/**
+	 * The <code>StatementHandler</code> is the invocation handler for statements. Closing a cached statement
+	 * returns it to the statement cache of the connection.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class StatementHandler implements InvocationHandler
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the pooled connection. */
+		private PooledConnection pooled;
+
+		/** the physical statement. */
+		private Statement statement;
+
+		/** the proxy. */
+		private Statement proxy;
+
+		/** the cache key or <code>null</code> if the statement is not cached. */
+		private String sKey;
+
+		/** the changed settings with the original values. */
+		private Map<String, Object> mpSettings;
+
+		/** the open result sets. */
+		private List<ResultSet> liResults;
+
+		/** whether the statement is in use. */
+		private boolean bInUse;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new instance of <code>StatementHandler</code>.
+		 *
+		 * @param pPooled the pooled connection
+		 * @param pStatement the physical statement
+		 * @param pKey the cache key or <code>null</code> if the statement shouldn't be cached
+		 */
+		private StatementHandler(PooledConnection pPooled, Statement pStatement, String pKey)
+		{
+			pooled = pPooled;
+			statement = pStatement;
+			sKey = pKey;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Interface implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object invoke(Object pProxy, Method pMethod, Object[] pArgs) throws Throwable
+		{
+			String sName = pMethod.getName();
+
+			if ("close".equals(sName) && pArgs == null)
+			{
+				closeLogical();
+
+				pooled.liOpenStatements.remove(this);
+
+				return null;
+			}
+			else if ("isClosed".equals(sName) && pArgs == null)
+			{
+				return Boolean.valueOf(!bInUse || statement.isClosed());
+			}
+			else if ("getConnection".equals(sName) && pArgs == null)
+			{
+				return pooled.handler != null ? pooled.handler.proxy : null;
+			}
+			else if ("equals".equals(sName) && pArgs != null && pArgs.length == 1)
+			{
+				return Boolean.valueOf(pProxy == pArgs[0]);
+			}
+			else if ("hashCode".equals(sName) && pArgs == null)
+			{
+				return Integer.valueOf(System.identityHashCode(pProxy));
+			}
+			else if ("toString".equals(sName) && pArgs == null)
+			{
+				return statement.toString();
+			}
+
+			if (!bInUse)
+			{
+				throw new SQLException("Statement is closed!");
+			}
+
+			if (sKey != null && pArgs != null && pArgs.length == 1 && sName.startsWith("set"))
+			{
+				String sSetting = sName.substring(3);
+
+				for (int i = 0; i < STATEMENT_SETTINGS.length; i++)
+				{
+					if (STATEMENT_SETTINGS[i].equals(sSetting))
+					{
+						if (mpSettings == null)
+						{
+							mpSettings = new HashMap<String, Object>();
+						}
+
+						if (!mpSettings.containsKey(sSetting))
+						{
+							mpSettings.put(sSetting, Statement.class.getMethod("get" + sSetting).invoke(statement));
+						}
+
+						break;
+					}
+				}
+			}
+
+			Object oResult = DBConnectionPool.invoke(statement, pMethod, pArgs);
+
+			if (sKey != null && oResult instanceof ResultSet)
+			{
+				if (liResults == null)
+				{
+					liResults = new ArrayList<ResultSet>();
+				}
+
+				liResults.add((ResultSet)oResult);
+			}
+
+			return oResult;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Marks the statement as used by the current lease.
+		 *
+		 * @return the proxy
+		 */
+		private Statement open()
+		{
+			bInUse = true;
+
+			pooled.liOpenStatements.add(this);
+
+			return proxy;
+		}
+
+		/**
+		 * Closes the statement. A cached statement will be reset and stays open for reuse.
+		 */
+		private void closeLogical()
+		{
+			if (!bInUse)
+			{
+				return;
+			}
+
+			bInUse = false;
+
+			if (sKey == null)
+			{
+				CommonUtil.close(statement);
+
+				return;
+			}
+
+			try
+			{
+				if (liResults != null)
+				{
+					for (int i = 0, cnt = liResults.size(); i < cnt; i++)
+					{
+						CommonUtil.close(liResults.get(i));
+					}
+
+					liResults = null;
+				}
+
+				if (statement instanceof java.sql.PreparedStatement)
+				{
+					((java.sql.PreparedStatement)statement).clearParameters();
+				}
+
+				statement.clearWarnings();
+
+				if (mpSettings != null)
+				{
+					for (Map.Entry<String, Object> entry : mpSettings.entrySet())
+					{
+						Statement.class.getMethod("set" + entry.getKey(), int.class).invoke(statement, entry.getValue());
+					}
+
+					mpSettings = null;
+				}
+			}
+			catch (Throwable th)
+			{
+				//not reusable
+				pooled.lhmStatements.remove(sKey);
+
+				CommonUtil.close(statement);
+			}
+		}
+
+	}	// StatementHandler
+
+}	// DBConnectionPool
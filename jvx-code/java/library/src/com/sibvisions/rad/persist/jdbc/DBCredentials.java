@@ -20,6 +20,7 @@
  * 02.12.2010 - [JR] - don't use password in equals and hashCode, because it causes problems
  *                     after password changes (old/new credentials in combination with caching)
  * 03.12.2010 - [JR] - #200: allow empty password                     
+ * 18.10.2026 - [JR] - connection pool size
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -52,6 +53,12 @@ public class DBCredentials
 	/** the calculated hascode. */
 	private int iHash;
 	
+	/** the minimum number of pooled connections. */
+	private int iPoolMinSize = 0;
+	
+	/** the maximum number of pooled connections (0 means no pool). */
+	private int iPoolMaxSize = 0;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -220,4 +227,48 @@ public class DBCredentials
 		return sPassword;
 	}
 	
+	/**
+	 * Sets the size of the connection pool. If the maximum size is greater than 0, {@link DBAccess#getDBAccess(DBCredentials)}
+	 * uses a shared {@link DBConnectionPool} for the credentials. The pool size is not relevant for 
+	 * {@link #equals(Object)}.
+	 * 
+	 * @param pMinSize the minimum number of connections
+	 * @param pMaxSize the maximum number of connections, <code>0</code> to disable the pool
+	 */
+	public void setPoolSize(int pMinSize, int pMaxSize)
+	{
+		iPoolMinSize = pMinSize;
+		iPoolMaxSize = pMaxSize;
+	}
+	
+	/**
+	 * Gets the minimum number of pooled connections.
+	 * 
+	 * @return the minimum number of connections
+	 */
+	public int getPoolMinSize()
+	{
+		return iPoolMinSize;
+	}
+	
+	/**
+	 * Gets the maximum number of pooled connections.
+	 * 
+	 * @return the maximum number of connections, <code>0</code> if the pool is disabled
+	 */
+	public int getPoolMaxSize()
+	{
+		return iPoolMaxSize;
+	}
+	
+	/**
+	 * Gets whether a connection pool should be used.
+	 * 
+	 * @return <code>true</code> if the maximum pool size is greater than 0
+	 */
+	public boolean isPoolEnabled()
+	{
+		return iPoolMaxSize > 0;
+	}
+	
 }	// DBCredentials
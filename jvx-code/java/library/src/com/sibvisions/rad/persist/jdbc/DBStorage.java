@@ -99,17 +99,27 @@
  * 06.02.2015 - [JR] - #1256: writeCSV now uses client columns for fetching data (and lazy fetching)     
  * 25.08.2016 - [JR] - #1676: writeBack feature if insteadOf events are used    
  * 11.12.2019 - [JR] - #2136: pre/postConfigureAutomaticLinkStorage introduced               
+ * 18.10.2026 - [JR] - executeFetch: FetchResultCache support
+ *                   - protocol records with storage name, row count and exception
+ *                   - batch insert/update/delete with bulk refetch
+ *                   - batched lookup and cache of not database automatic link values
+ *                   - executeSaveAll: save all changes in one transaction
  */
 package com.sibvisions.rad.persist.jdbc;
 
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.rad.model.ModelException;
 import javax.rad.model.RowDefinition;
@@ -118,6 +128,7 @@ import javax.rad.model.condition.And;
 import javax.rad.model.condition.CompareCondition;
 import javax.rad.model.condition.Equals;
 import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.Or;
 import javax.rad.model.datatype.BinaryDataType;
 import javax.rad.model.datatype.IDataType;
 import javax.rad.model.datatype.StringDataType;
@@ -138,7 +149,6 @@ import javax.rad.util.TranslationMap;
 import com.sibvisions.rad.model.DataBookCSVExporter;
 import com.sibvisions.rad.model.Filter;
 import com.sibvisions.rad.persist.AbstractCachedStorage;
-import com.sibvisions.rad.persist.AbstractStorage;
 import com.sibvisions.rad.persist.jdbc.DBAccess.ParameterizedStatement;
 import com.sibvisions.rad.persist.jdbc.ServerMetaData.PrimaryKeyType;
 import com.sibvisions.rad.server.annotation.Accessible;
@@ -208,6 +218,12 @@ public class DBStorage extends AbstractCachedStorage
 	
 	/** dummy automatic link entry. */
     private static final Bean DUMMY_AUTOMATIC_LINK_ENTRY = new Bean();
+    
+    /** the max. number of rows, refetched with one select. */
+    private static final int REFETCH_ROWS = 100;
+    
+    /** the max. number of not database automatic link values, fetched with one condition. */
+    private static final int AUTOLINK_LOOKUP_KEYS = 100;
 	
 	/** The server storage meta data. */
 	private ServerMetaData mdServerMetaData = new ServerMetaData();
@@ -314,6 +330,15 @@ public class DBStorage extends AbstractCachedStorage
 	/** Determines whether the values over available not database link references should be loaded. */
 	private boolean         bLoadNotDatabaseAutoLinkValues = false;
 	
+	/** the time to live of cached fetch results in millis. */
+	private long            lFetchResultCacheTimeToLive = -1;
+	
+	/** the cached values of not database automatic link references. */
+	private ConcurrentHashMap<String, AutoLinkValueCache> chmAutoLinkValues = new ConcurrentHashMap<String, AutoLinkValueCache>();
+	
+	/** the max. number of cached values per not database automatic link reference. */
+	private int             iAutoLinkValueCacheSize = 1000;
+	
 	/** The filter of the substorages. */
 	private ICondition 		subStorageConditions = null;
 	
@@ -530,7 +555,7 @@ public class DBStorage extends AbstractCachedStorage
 	@Override
 	public void open() throws DataSourceException
 	{
-        Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_OPEN);
+        Record record = openRecord(ICommandConstants.STORAGE_OPEN);
         
         try
         {
@@ -566,7 +591,7 @@ public class DBStorage extends AbstractCachedStorage
 	@Override
 	protected List<Object[]> executeFetch(ICondition pFilter, SortDefinition pSort, int pFromRow, int pMinimumRowCount) throws DataSourceException
 	{
-        Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_FETCH);
+        Record record = openRecord(ICommandConstants.STORAGE_EXEC_FETCH);
         
         try
         {
@@ -596,26 +621,49 @@ public class DBStorage extends AbstractCachedStorage
                 record.setParameter(pFilter, pSort, Integer.valueOf(pFromRow), Integer.valueOf(pMinimumRowCount));
             }
             
-    		List<Object[]> liResult = dbAccess.fetch(
-    				mdServerMetaData,
-    				sBeforeQueryColumns,
-    				saQueryColumns,
-    				getFromClauseIntern(),
-    				pFilter,
-    				sWhereClause, sAfterWhereClause,
-    				pSort,
-    				sOrderByClause,
-    				pFromRow,
-    				pMinimumRowCount,
-    				bLazyFetchEnabled);
+    		List<Object[]> liResult;
+    		
+    		if (lFetchResultCacheTimeToLive > 0)
+    		{
+    			liResult = fetchCached(pFilter, pSort, pFromRow, pMinimumRowCount);
+    		}
+    		else
+    		{
+    			liResult = dbAccess.fetch(
+    					mdServerMetaData,
+    					sBeforeQueryColumns,
+    					saQueryColumns,
+    					getFromClauseIntern(),
+    					pFilter,
+    					sWhereClause, sAfterWhereClause,
+    					pSort,
+    					sOrderByClause,
+    					pFromRow,
+    					pMinimumRowCount,
+    					bLazyFetchEnabled);
+    		}
     		
     		if (bLoadNotDatabaseAutoLinkValues && isAutoLinkReference())
             {
-                setNotDatabaseAutoLinkValues(liResult);
+                setNotDatabaseAutoLinkValues(liResult, pFromRow <= 0);
             }
     		
+    		if (record != null)
+    		{
+    			int iSize = liResult.size();
+    			
+    			//ignore the "end of fetch" marker
+    			record.setCount(iSize > 0 && liResult.get(iSize - 1) == null ? iSize - 1 : iSize);
+    		}
+    		
     		return liResult;
 	    }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
 		finally
 		{
 		    CommonUtil.close(record);
@@ -628,7 +676,7 @@ public class DBStorage extends AbstractCachedStorage
 	@Override
 	protected Object[] executeRefetchRow(Object[] pDataRow) throws DataSourceException
 	{
-        Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_REFETCH);
+        Record record = openRecord(ICommandConstants.STORAGE_EXEC_REFETCH);
 
         try
         {
@@ -639,6 +687,12 @@ public class DBStorage extends AbstractCachedStorage
 
 		    return refetchRow(pDataRow, isLockOnRefetch());
 		}
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
 		finally
 		{
             CommonUtil.close(record);
@@ -651,7 +705,7 @@ public class DBStorage extends AbstractCachedStorage
 	@Override
 	protected Object[] executeInsert(Object[] pDataRow) throws DataSourceException
 	{
-	    Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_INSERT);
+	    Record record = openRecord(ICommandConstants.STORAGE_EXEC_INSERT);
 	    
 	    try
 	    {
@@ -666,6 +720,11 @@ public class DBStorage extends AbstractCachedStorage
     
     		Object[] oResult = dbAccess.insert(getWritebackTable(), mdServerMetaData, pDataRow);
     		
+    		if (record != null)
+    		{
+    			record.setCount(1);
+    		}
+    		
     		if (isRefetch())
     		{
     			Object[] oRefetchedRow = refetchRow(oResult, false);
@@ -676,6 +735,12 @@ public class DBStorage extends AbstractCachedStorage
     		}
     		return oResult;
 	    }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
 	    finally
 	    {
             CommonUtil.close(record);
@@ -688,7 +753,7 @@ public class DBStorage extends AbstractCachedStorage
 	@Override
 	protected Object[] executeUpdate(Object[] pOldDataRow, Object[] pNewDataRow) throws DataSourceException
 	{
-        Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_UPDATE);
+        Record record = openRecord(ICommandConstants.STORAGE_EXEC_UPDATE);
         
         try
         {
@@ -703,6 +768,11 @@ public class DBStorage extends AbstractCachedStorage
     
     		Object[] oResult = dbAccess.update(getWritebackTable(),	mdServerMetaData, pOldDataRow, pNewDataRow);
     		
+    		if (record != null)
+    		{
+    			record.setCount(1);
+    		}
+    		
     		if (isRefetch())
     		{
     			Object[] oRefetchedRow = refetchRow(oResult, false); // ensure oResult is not null, if refetch fails.
@@ -714,6 +784,12 @@ public class DBStorage extends AbstractCachedStorage
     		
     		return oResult;
         }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
         finally
         {
             CommonUtil.close(record);
@@ -726,7 +802,7 @@ public class DBStorage extends AbstractCachedStorage
 	@Override
 	protected void executeDelete(Object[] pDeleteDataRow) throws DataSourceException
 	{
-        Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_DELETE);
+        Record record = openRecord(ICommandConstants.STORAGE_EXEC_DELETE);
         
         try
         {
@@ -740,6 +816,175 @@ public class DBStorage extends AbstractCachedStorage
     			return;
     		}
     		dbAccess.delete(getWritebackTable(), mdServerMetaData, pDeleteDataRow);
+    		
+    		if (record != null)
+    		{
+    			record.setCount(1);
+    		}
+        }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
+        finally
+        {
+            CommonUtil.close(record);
+        }
+	}	
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The rows are inserted with JDBC batches and refetched with one select per 100 rows. If 
+	 * {@link #executeInsert(Object[])} is overwritten, every row is inserted with it.
+	 * 
+	 * @see DBAccess#insert(String, ServerMetaData, List)
+	 */
+	@Override
+	protected List<Object[]> executeInsert(List<Object[]> pDataRows) throws DataSourceException
+	{
+		if (!isBatchable("executeInsert", Object[].class))
+		{
+			return super.executeInsert(pDataRows);
+		}
+		
+	    Record record = openRecord(ICommandConstants.STORAGE_EXEC_INSERT);
+	    
+	    try
+	    {
+    		if (!isOpen())
+    		{
+    			throw new DataSourceException("DBStorage isn't open!");
+    		}
+    		if (getWritebackTable() == null)
+    		{
+    			return Arrays.asList(new Object[pDataRows.size()][]);
+    		}
+    
+    		List<Object[]> liResult = dbAccess.insert(getWritebackTable(), mdServerMetaData, pDataRows);
+    		
+    		if (record != null)
+    		{
+    			record.setCount(pDataRows.size());
+    		}
+    		
+    		if (isRefetch())
+    		{
+    			return refetchRows(liResult);
+    		}
+    		return liResult;
+	    }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
+	    finally
+	    {
+            CommonUtil.close(record);
+	    }
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The rows are updated with JDBC batches and refetched with one select per 100 rows. If 
+	 * {@link #executeUpdate(Object[], Object[])} is overwritten, every row is updated with it.
+	 * 
+	 * @see DBAccess#update(String, ServerMetaData, List, List)
+	 */
+	@Override
+	protected List<Object[]> executeUpdate(List<Object[]> pOldDataRows, List<Object[]> pNewDataRows) throws DataSourceException
+	{
+		if (!isBatchable("executeUpdate", Object[].class, Object[].class))
+		{
+			return super.executeUpdate(pOldDataRows, pNewDataRows);
+		}
+		
+        Record record = openRecord(ICommandConstants.STORAGE_EXEC_UPDATE);
+        
+        try
+        {
+    		if (!isOpen())
+    		{
+    			throw new DataSourceException("DBStorage isn't open!");
+    		}
+    		if (getWritebackTable() == null)
+    		{
+    			return Arrays.asList(new Object[pNewDataRows.size()][]);
+    		}
+    
+    		List<Object[]> liResult = dbAccess.update(getWritebackTable(), mdServerMetaData, pOldDataRows, pNewDataRows);
+    		
+    		if (record != null)
+    		{
+    			record.setCount(pNewDataRows.size());
+    		}
+    		
+    		if (isRefetch())
+    		{
+    			return refetchRows(liResult);
+    		}
+    		return liResult;
+        }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
+        }
+        finally
+        {
+            CommonUtil.close(record);
+        }
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The rows are deleted with JDBC batches. If {@link #executeDelete(Object[])} is overwritten, 
+	 * every row is deleted with it.
+	 * 
+	 * @see DBAccess#delete(String, ServerMetaData, List)
+	 */
+	@Override
+	protected void executeDelete(List<Object[]> pDeleteDataRows) throws DataSourceException
+	{
+		if (!isBatchable("executeDelete", Object[].class))
+		{
+			super.executeDelete(pDeleteDataRows);
+			
+			return;
+		}
+		
+        Record record = openRecord(ICommandConstants.STORAGE_EXEC_DELETE);
+        
+        try
+        {
+    		if (!isOpen())
+    		{
+    			throw new DataSourceException("DBStorage isn't open!");			
+    		}
+    
+    		if (getWritebackTable() == null)
+    		{
+    			return;
+    		}
+    		dbAccess.delete(getWritebackTable(), mdServerMetaData, pDeleteDataRows);
+    		
+    		if (record != null)
+    		{
+    			record.setCount(pDeleteDataRows.size());
+    		}
+        }
+        catch (DataSourceException dse)
+        {
+        	setException(record, dse);
+        	
+        	throw dse;
         }
         finally
         {
@@ -747,6 +992,91 @@ public class DBStorage extends AbstractCachedStorage
         }
 	}	
 	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * All changes are saved in one transaction. If auto-commit is enabled, the changes are committed
+	 * at the end. Otherwise, the changes are part of the current transaction and a savepoint is set
+	 * before the first change. If saving fails, all changes are rolled back: the own transaction or
+	 * the changes after the savepoint.
+	 */
+	@Override
+	protected List<Object[]> executeSaveAll(List<Object[]> pDeleteDataRows, List<Object[]> pOldDataRows, 
+			                                List<Object[]> pNewDataRows, List<Object[]> pInsertDataRows) throws DataSourceException
+	{
+		if (!isOpen())
+		{
+			throw new DataSourceException("DBStorage isn't open!");			
+		}
+
+		boolean bAutoCommit = dbAccess.isAutoCommit();
+		
+		Savepoint spSaveAll = null;
+		
+		if (bAutoCommit)
+		{
+			dbAccess.setAutoCommit(false);
+		}
+		else
+		{
+			try
+			{
+				spSaveAll = dbAccess.getConnectionIntern().setSavepoint();
+			}
+			catch (SQLException ex)
+			{
+				throw new DataSourceException("Setting savepoint failed!", dbAccess.formatSQLException(ex));
+			}
+		}
+		
+		boolean bSaved = false;
+		
+		try
+		{
+			List<Object[]> liResult = super.executeSaveAll(pDeleteDataRows, pOldDataRows, pNewDataRows, pInsertDataRows);
+			
+			if (bAutoCommit)
+			{
+				dbAccess.commit();
+			}
+			
+			bSaved = true;
+			
+			return liResult;
+		}
+		finally
+		{
+			try
+			{
+				if (!bSaved)
+				{
+					if (bAutoCommit)
+					{
+						dbAccess.rollback();
+					}
+					else
+					{
+						dbAccess.getConnectionIntern().rollback(spSaveAll);
+					}
+				}
+				else if (spSaveAll != null)
+				{
+					dbAccess.getConnectionIntern().releaseSavepoint(spSaveAll);
+				}
+			}
+			catch (Exception ex)
+			{
+				// don't hide the original exception
+				debug(ex);
+			}
+			
+			if (bAutoCommit)
+			{
+				dbAccess.setAutoCommit(true);
+			}
+        }
+	}	
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Interface implementation
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -1430,7 +1760,7 @@ public class DBStorage extends AbstractCachedStorage
 	 */
 	protected void createAutomaticLinkStorage(StorageReferenceDefinition pReferenceDefinition, String[] pWritebackColumnNames) throws DataSourceException
 	{
-        Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_CREATE_AUTOLINK);
+        Record record = openRecord(ICommandConstants.STORAGE_CREATE_AUTOLINK);
 
         try
         {
@@ -2684,6 +3014,7 @@ public class DBStorage extends AbstractCachedStorage
 		setQueryColumns(saQueryColumnsBeforeOpen);
 		auAutomaticLinkReferences.clear();
 		auSortedAutomaticLinkReferences.clear();
+		chmAutoLinkValues.clear();
 	}
 	
 	/**
@@ -3201,65 +3532,200 @@ public class DBStorage extends AbstractCachedStorage
 	}
 
 	/**
-	 * True, if refetch should lock the row.
+	 * Sets the time to live of cached fetch results. If the time to live is set, complete fetch results
+	 * will be shared with all storages which use the same database, select statement and parameters.
+	 * The cache should be used for read-mostly data, e.g. lookup tables. The results will be removed if
+	 * a {@link DBAccess} changes a table of the select statement. Other changes, and changes of the base
+	 * tables of a view, are visible after the time to live.
 	 * 
-	 * @return <code>true</code> if refetch should lock the row.
+	 * @param pTimeToLive the time to live in millis. A value &lt;= 0 disables the cache (default).
+	 * @see FetchResultCache
 	 */
-	public boolean isLockOnRefetch()
+	public void setFetchResultCacheTimeToLive(long pTimeToLive)
 	{
-		return bLockOnRefetch;
+		lFetchResultCacheTimeToLive = pTimeToLive;
 	}
 	
 	/**
-	 * True, if refetch should lock the row.
+	 * Gets the time to live of cached fetch results.
 	 * 
-	 * @param pLockOnRefetch if refetch should lock the row.
+	 * @return the time to live in millis. A value &lt;= 0 means that the cache is disabled.
+	 * @see #setFetchResultCacheTimeToLive(long)
 	 */
-	public void setLockOnRefetch(boolean pLockOnRefetch)
+	public long getFetchResultCacheTimeToLive()
 	{
-		bLockOnRefetch = pLockOnRefetch;
+		return lFetchResultCacheTimeToLive;
 	}
 	
 	/**
-	 * Gets the catalog name of the writeback table. 
+	 * Sets the max. number of cached values per automatic link reference to a substorage which is not
+	 * a {@link DBStorage}. The values of such substorages are fetched for every fetched block, but only for
+	 * keys which are not cached. If the first block is fetched, the values of all keys of the block are fetched again.
 	 * 
-	 * @return the detected catalog name or <code>null</code> if no writeback table is set.
+	 * @param pCacheSize the max. number of cached values. A value &lt;= 0 caches the values only for one block.
 	 */
-	protected String getWritebackTableCatalog()
+	public void setAutoLinkValueCacheSize(int pCacheSize)
 	{
-		return sCatalog;
+		iAutoLinkValueCacheSize = pCacheSize;
+		
+		chmAutoLinkValues.clear();
 	}
 	
 	/**
-	 * Gets the schema name of the writeback table. 
+	 * Gets the max. number of cached values per automatic link reference to a substorage which is not
+	 * a {@link DBStorage}.
 	 * 
-	 * @return the detected schema name or <code>null</code> if no writeback table is set.
+	 * @return the max. number of cached values
+	 * @see #setAutoLinkValueCacheSize(int)
 	 */
-	protected String getWritebackTableSchema()
+	public int getAutoLinkValueCacheSize()
 	{
-		return sSchema;
+		return iAutoLinkValueCacheSize;
 	}
+	
 	/**
-	 * Refetch and optional locks the specified DataRow via PK.
+	 * Opens a protocol record for this storage. The record name is the storage name, or the write back table
+	 * or the from clause if the storage has no name.
 	 * 
-	 * @param pDataRow the DataRow to refetch.
-	 * @param pLock true if the row is locked before. 
-	 * @return the refetched DataRow.
-	 * @throws DataSourceException if the refetch fails.
+	 * @param pCommand the command
+	 * @return the record or <code>null</code> if protocol is not enabled
+	 * @see ProtocolFactory#openRecord(String, String, Object...)
 	 */
-	protected Object[] refetchRow(Object[] pDataRow, boolean pLock) throws DataSourceException 
+	private Record openRecord(String pCommand)
 	{
-		if (pDataRow == null)
+		Record record = ProtocolFactory.openRecord(ICategoryConstants.STORAGE, pCommand);
+		
+		if (record != null)
 		{
-			return null;
+			String sName = getName();
+			
+			if (sName == null)
+			{
+				sName = getWritebackTable();
+				
+				if (sName == null)
+				{
+					sName = getFromClause();
+				}
+			}
+			
+			record.setName(sName);
 		}
-		if (getWritebackTable() == null)
+		
+		return record;
+	}
+	
+	/**
+	 * Sets the exception of a protocol record.
+	 * 
+	 * @param pRecord the record or <code>null</code>
+	 * @param pException the exception
+	 */
+	private static void setException(Record pRecord, Throwable pException)
+	{
+		if (pRecord != null)
 		{
-			return null;
+			pRecord.setException(pException);
 		}
-
-		// construct Filter over PK cols...
-		ICondition cFilter = Filter.createEqualsFilter(saRefetchPrimaryKeyColumns == null ? mdServerMetaData.getPrimaryKeyColumnNames() : saRefetchPrimaryKeyColumns, 
+	}
+	
+	/**
+	 * Fetches the rows with the shared {@link FetchResultCache}. The {@link DBAccess} uses the cache with the
+	 * created select statement. The rows will be fetched from the database and cached, if no valid result is
+	 * cached or if the select statement uses tables which were changed in the current transaction.
+	 * 
+	 * @param pFilter the filter
+	 * @param pSort the sort definition
+	 * @param pFromRow the first row
+	 * @param pMinimumRowCount the minimum number of rows
+	 * @return the fetched rows
+	 * @throws DataSourceException if the fetch fails
+	 */
+	private List<Object[]> fetchCached(ICondition pFilter, SortDefinition pSort, int pFromRow, int pMinimumRowCount) throws DataSourceException
+	{
+		FetchResultCache.setFetchTimeToLive(lFetchResultCacheTimeToLive);
+		
+		try
+		{
+			return dbAccess.fetch(mdServerMetaData,
+			                      sBeforeQueryColumns,
+			                      saQueryColumns,
+			                      getFromClauseIntern(),
+			                      pFilter,
+			                      sWhereClause, sAfterWhereClause,
+			                      pSort,
+			                      sOrderByClause,
+			                      pFromRow,
+			                      pMinimumRowCount,
+			                      bLazyFetchEnabled);
+		}
+		finally
+		{
+			//if the fetch was overwritten without cache support
+			FetchResultCache.setFetchTimeToLive(-1);
+		}
+	}
+
+	/**
+	 * True, if refetch should lock the row.
+	 * 
+	 * @return <code>true</code> if refetch should lock the row.
+	 */
+	public boolean isLockOnRefetch()
+	{
+		return bLockOnRefetch;
+	}
+	
+	/**
+	 * True, if refetch should lock the row.
+	 * 
+	 * @param pLockOnRefetch if refetch should lock the row.
+	 */
+	public void setLockOnRefetch(boolean pLockOnRefetch)
+	{
+		bLockOnRefetch = pLockOnRefetch;
+	}
+	
+	/**
+	 * Gets the catalog name of the writeback table. 
+	 * 
+	 * @return the detected catalog name or <code>null</code> if no writeback table is set.
+	 */
+	protected String getWritebackTableCatalog()
+	{
+		return sCatalog;
+	}
+	
+	/**
+	 * Gets the schema name of the writeback table. 
+	 * 
+	 * @return the detected schema name or <code>null</code> if no writeback table is set.
+	 */
+	protected String getWritebackTableSchema()
+	{
+		return sSchema;
+	}
+	/**
+	 * Refetch and optional locks the specified DataRow via PK.
+	 * 
+	 * @param pDataRow the DataRow to refetch.
+	 * @param pLock true if the row is locked before. 
+	 * @return the refetched DataRow.
+	 * @throws DataSourceException if the refetch fails.
+	 */
+	protected Object[] refetchRow(Object[] pDataRow, boolean pLock) throws DataSourceException 
+	{
+		if (pDataRow == null)
+		{
+			return null;
+		}
+		if (getWritebackTable() == null)
+		{
+			return null;
+		}
+
+		// construct Filter over PK cols...
+		ICondition cFilter = Filter.createEqualsFilter(saRefetchPrimaryKeyColumns == null ? mdServerMetaData.getPrimaryKeyColumnNames() : saRefetchPrimaryKeyColumns, 
 				pDataRow, mdServerMetaData.getMetaData().getColumnMetaData());
 		if (isRefetchIncludeRestrictCondition() && getRestrictCondition() != null)
 		{
@@ -3287,7 +3753,7 @@ public class DBStorage extends AbstractCachedStorage
 		
 		if (bLoadNotDatabaseAutoLinkValues && isAutoLinkReference())
         {
-            setNotDatabaseAutoLinkValues(olResult);
+            setNotDatabaseAutoLinkValues(olResult, false);
         }
 
 		if (olResult != null && olResult.size() == 2 && olResult.get(1) == null)
@@ -3307,6 +3773,194 @@ public class DBStorage extends AbstractCachedStorage
 		}
 		return null;
 	}
+	
+	/**
+	 * Refetches the given rows. Up to {@link #REFETCH_ROWS} rows are refetched with one select, 
+	 * filtered by the PK columns of all rows.
+	 * 
+	 * @param pDataRows the rows to refetch
+	 * @return the refetched rows, in the order of the given rows. If a row wasn't found, the given row
+	 *         is used instead.
+	 * @throws DataSourceException if an <code>Exception</code> occur during interacting with the storage
+	 * @see #refetchRow(Object[], boolean)
+	 */
+	protected List<Object[]> refetchRows(List<Object[]> pDataRows) throws DataSourceException
+	{
+		List<Object[]> liResult = new ArrayList<Object[]>(pDataRows);
+		
+		if (getWritebackTable() == null)
+		{
+			return liResult;
+		}
+		
+		String[] saPKColumns = saRefetchPrimaryKeyColumns == null ? mdServerMetaData.getPrimaryKeyColumnNames() : saRefetchPrimaryKeyColumns;
+		
+		int[] iaPKColumns = new int[saPKColumns == null ? 0 : saPKColumns.length];
+		IDataType[] dtPKColumns = new IDataType[iaPKColumns.length];
+		
+		for (int i = 0; i < iaPKColumns.length; i++)
+		{
+			iaPKColumns[i] = mdServerMetaData.getServerColumnMetaDataIndex(saPKColumns[i]);
+			
+			if (iaPKColumns[i] < 0)
+			{
+				iaPKColumns = null;
+				break;
+			}
+			
+			dtPKColumns[i] = mdServerMetaData.getServerColumnMetaData(iaPKColumns[i]).getDataType();
+		}
+		
+		if (iaPKColumns == null || iaPKColumns.length == 0)
+		{
+			// the rows can't be identified
+			for (int i = 0, cnt = liResult.size(); i < cnt; i++)
+			{
+				Object[] oRefetchedRow = refetchRow(liResult.get(i), false);
+				
+				if (oRefetchedRow != null)
+				{
+					liResult.set(i, oRefetchedRow);
+				}
+			}
+			
+			return liResult;
+		}
+		
+		ColumnMetaData[] cmdColumns = mdServerMetaData.getMetaData().getColumnMetaData();
+		
+		for (int iStart = 0, cnt = pDataRows.size(); iStart < cnt; iStart += REFETCH_ROWS)
+		{
+			int iEnd = Math.min(cnt, iStart + REFETCH_ROWS);
+			
+			Or orRows = new Or();
+			
+			for (int i = iStart; i < iEnd; i++)
+			{
+				if (pDataRows.get(i) != null)
+				{
+					orRows.add(Filter.createEqualsFilter(saPKColumns, pDataRows.get(i), cmdColumns));
+				}
+			}
+			
+			if (orRows.getConditions().length == 0)
+			{
+				continue;
+			}
+			
+			ICondition cFilter = orRows;
+			
+			if (isRefetchIncludeRestrictCondition() && getRestrictCondition() != null)
+			{
+				cFilter = new And(cFilter, getRestrictCondition());
+			}
+			
+			if (subStorageConditions != null)
+			{
+				cFilter = new And(subStorageConditions, cFilter);
+			}
+			
+			List<Object[]> olResult = dbAccess.fetch(mdServerMetaData, sBeforeQueryColumns, saQueryColumns, getFromClauseIntern(),
+					                                 cFilter, sWhereClause, sAfterWhereClause, 
+					                                 null, 0, -1,
+					                                 bLazyFetchEnabled);
+			
+			if (bLoadNotDatabaseAutoLinkValues && isAutoLinkReference())
+			{
+				setNotDatabaseAutoLinkValues(olResult, false);
+			}
+			
+			boolean[] baFound = new boolean[iEnd - iStart];
+			
+			for (int j = 0, resultCount = olResult.size(); j < resultCount; j++)
+			{
+				Object[] result = olResult.get(j);
+				
+				if (result != null)
+				{
+					int iRow = -1;
+					
+					for (int i = iStart; i < iEnd && iRow < 0; i++)
+					{
+						if (!baFound[i - iStart] && pDataRows.get(i) != null && isPrimaryKeyEqual(result, pDataRows.get(i), iaPKColumns, dtPKColumns))
+						{
+							iRow = i;
+						}
+					}
+					
+					if (iRow >= 0)
+					{
+						Object[] oDataRow = pDataRows.get(iRow);
+						
+						for (int i = 0; i < result.length; i++)
+						{
+							// Ensure, that values not coming from the database are available in the result again.
+							if (i < oDataRow.length && mdServerMetaData.getServerColumnMetaData(i) == null)
+							{
+								result[i] = oDataRow[i];
+							}
+						}
+						
+						baFound[iRow - iStart] = true;
+						
+						liResult.set(iRow, result);
+					}
+				}
+			}
+		}
+		
+		return liResult;
+	}
+	
+	/**
+	 * Gets whether the given single row method is not overwritten by a sub class. The batch methods
+	 * don't call the single row methods, so they are only used if the single row methods of 
+	 * <code>DBStorage</code> are used.
+	 * 
+	 * @param pMethodName the method name
+	 * @param pParameterTypes the parameter types
+	 * @return <code>true</code> if the method is not overwritten
+	 */
+	private boolean isBatchable(String pMethodName, Class<?>... pParameterTypes)
+	{
+		for (Class<?> clazz = getClass(); clazz != DBStorage.class; clazz = clazz.getSuperclass())
+		{
+			try
+			{
+				clazz.getDeclaredMethod(pMethodName, pParameterTypes);
+				
+				return false;
+			}
+			catch (NoSuchMethodException nsme)
+			{
+				// not overwritten by this class
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Gets whether the PK values of two rows are equal.
+	 * 
+	 * @param pRow1 the first row
+	 * @param pRow2 the second row
+	 * @param pPKColumns the PK column indexes
+	 * @param pDataTypes the data types of the PK columns
+	 * @return <code>true</code> if all PK values are equal
+	 */
+	private static boolean isPrimaryKeyEqual(Object[] pRow1, Object[] pRow2, int[] pPKColumns, IDataType[] pDataTypes)
+	{
+		for (int i = 0; i < pPKColumns.length; i++)
+		{
+			if (pDataTypes[i].compareTo(pRow1[pPKColumns[i]], pRow2[pPKColumns[i]]) != 0)
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
 
 	/**
 	 * Creates the filter based on the {@link #cRestrictCondition},
@@ -3397,130 +4051,223 @@ public class DBStorage extends AbstractCachedStorage
     }
 	
 	/**
-     * Loads the combo box values from not database substorages defined in manual link references.
+     * Gets the key of a not database automatic link reference for the values of a row.
      * 
-     * @param pWritableColumns the writable columns
-     * @return the combobox values {@link HashMap}
-     * @throws DataSourceException if load fails
+     * @param pColumnIndexes the indexes of the common columns
+     * @param pRowData the row data
+     * @return the value of the common column, or the composed key of all common columns
+     *         or <code>null</code> if the value of a single common column is <code>null</code>
      */
-    private HashMap<String, HashMap<Object, IBean>> loadNotDatabaseComboBoxValues(String[] pWritableColumns) throws DataSourceException
+    private static Object getAutoLinkKey(int[] pColumnIndexes, Object[] pRowData)
     {
-        long lStartMillis = System.currentTimeMillis();
+        if (pColumnIndexes.length == 1)
+        {
+            return pRowData[pColumnIndexes[0]];
+        }
         
-        HashMap<String, HashMap<Object, IBean>> hmComboBoxValues = new HashMap<String, HashMap<Object, IBean>>();
+        ArrayUtil<Object> auComposedKey = new ArrayUtil<Object>();
         
-        for (StorageReferenceDefinition srdLinkRef : auAutomaticLinkReferences)
+        for (int i = 0; i < pColumnIndexes.length; i++)
+        {
+            auComposedKey.add(pRowData[pColumnIndexes[i]]);
+        }
+        
+        return auComposedKey;
+    }
+    
+    /**
+     * Gets the key of a not database automatic link reference for the values of a bean. The values are 
+     * converted to the data types of the common columns, because the substorage may use other types.
+     * 
+     * @param pLinkRef the {@link StorageReferenceDefinition}
+     * @param pColumns the common columns
+     * @param pDataTypes the data types of the common columns
+     * @param pBean the bean of the substorage
+     * @return the value of the common column or the composed key of all common columns
+     */
+    private static Object getAutoLinkKey(StorageReferenceDefinition pLinkRef, String[] pColumns, IDataType[] pDataTypes, IBean pBean)
+    {
+        ArrayUtil<Object> auComposedKey = new ArrayUtil<Object>();
+        
+        for (int i = 0; i < pColumns.length; i++)
         {
-            ISubStorage iSubStorage = getSubStorage(srdLinkRef.getReferencedStorage());
+            Object oValue = pBean.get(pLinkRef.getReferencedColumnName(pColumns[i]));
             
-            if (iSubStorage != null && !(iSubStorage instanceof DBStorage))
+            try
             {
-                AbstractStorage as = (AbstractStorage)iSubStorage;
-                
-                HashMap<Object, IBean> hmComboBoxValuesInner = new HashMap<Object, IBean>();
-                
-                String[] saCommonColumns = ArrayUtil.intersect(srdLinkRef.getColumnNames(), pWritableColumns);
-                
-                if (saCommonColumns.length > 0)
-                {
-                    List<IBean> liComboBoxValues;
-                    
-                    try
-                    {
-                        liComboBoxValues = as.fetchBean(null, null, 0, -1);
-                        
-                        if (saCommonColumns.length == 1)
-                        {
-                            for (IBean bnComboBoxValue : liComboBoxValues)
-                            {
-                                hmComboBoxValuesInner.put(bnComboBoxValue.get(srdLinkRef.getReferencedColumnName(saCommonColumns[0])), bnComboBoxValue);
-                            }
-                        }
-                        else
-                        {
-                            for (IBean bnComboBoxValue : liComboBoxValues)
-                            {
-                                ArrayUtil<Object> auCommonValues = getComposedKey(srdLinkRef, saCommonColumns, bnComboBoxValue);
-                                
-                                hmComboBoxValuesInner.put(auCommonValues, bnComboBoxValue);
-                            }
-                        }
-                        
-                        hmComboBoxValues.put(srdLinkRef.getReferencedStorage(), hmComboBoxValuesInner);
-                    }
-                    catch (DataSourceException e)
-                    {
-                        error("Loading values from substorage: " + srdLinkRef.getReferencedStorage() + " failed!");
-                    }
-                }
+                oValue = pDataTypes[i].convertToTypeClass(oValue);
             }
+            catch (ModelException me)
+            {
+                //not convertible -> compare the original value
+            }
+            
+            if (pColumns.length == 1)
+            {
+                return oValue;
+            }
+            
+            auComposedKey.add(oValue);
         }
         
-        long lEndMillis = System.currentTimeMillis();
-        
-        debug("Loading combobox values duration: " + (lEndMillis - lStartMillis) + " ms");
-        
-        return hmComboBoxValues;
+        return auComposedKey;
     }
-	
-	/**
-     * Creates the composed key.
+    
+    /**
+     * Creates the condition for the given keys of a not database automatic link reference.
      * 
      * @param pLinkRef the {@link StorageReferenceDefinition}
-     * @param pColumns the columns
-     * @param pBean the bean
-     * @return the composed key
+     * @param pColumns the common columns
+     * @param pKeys the keys
+     * @param pFrom the first key
+     * @param pTo the end of the keys (exclusive)
+     * @return an {@link Or} condition with one {@link Equals} condition or one {@link And} condition per key
      */
-    private ArrayUtil<Object> getComposedKey(StorageReferenceDefinition pLinkRef, String[] pColumns, IBean pBean)
+    private static ICondition createAutoLinkCondition(StorageReferenceDefinition pLinkRef, String[] pColumns, List<Object> pKeys, int pFrom, int pTo)
     {
-        ArrayUtil<Object> auComposedKey = new ArrayUtil<Object>();
+        Or orKeys = new Or();
         
-        for (String sColumn : pColumns)
+        for (int i = pFrom; i < pTo; i++)
         {
-            auComposedKey.add(pBean.get(pLinkRef.getReferencedColumnName(sColumn)));
+            Object oKey = pKeys.get(i);
+            
+            if (pColumns.length == 1)
+            {
+                orKeys.add(new Equals(pLinkRef.getReferencedColumnName(pColumns[0]), oKey));
+            }
+            else
+            {
+                List<?> liKey = (List<?>)oKey;
+                
+                And andKey = new And();
+                
+                for (int j = 0; j < pColumns.length; j++)
+                {
+                    andKey.add(new Equals(pLinkRef.getReferencedColumnName(pColumns[j]), liKey.get(j)));
+                }
+                
+                orKeys.add(andKey);
+            }
         }
         
-        return auComposedKey;
+        return orKeys;
     }
     
     /**
-     * Creates the composed key.
+     * Loads the values of a not database automatic link reference for all given rows. All keys which 
+     * are not cached are fetched with one condition per {@link #AUTOLINK_LOOKUP_KEYS} keys.
      * 
      * @param pLinkRef the {@link StorageReferenceDefinition}
-     * @param pColumns the columns
-     * @param pRowData the row data
-     * @return the composed key {@link ArrayUtil}
-     * @throws DataSourceException if an error occurs
+     * @param pStorage the substorage
+     * @param pColumns the common columns
+     * @param pColumnIndexes the indexes of the common columns
+     * @param pFetchData the fetched rows
+     * @param pCache the cached values of the link reference
+     * @param pReload <code>true</code> to fetch the values of all keys, and not only of the keys which are not cached
+     * @return the values for all keys of the rows
+     * @throws DataSourceException if the fetch fails
      */
-    private ArrayUtil<Object> getComposedKey(StorageReferenceDefinition pLinkRef, String[] pColumns, Object[] pRowData) throws DataSourceException
+    private HashMap<Object, IBean> loadNotDatabaseAutoLinkValues(StorageReferenceDefinition pLinkRef, ISubStorage pStorage, String[] pColumns, 
+                                                                 int[] pColumnIndexes, List<Object[]> pFetchData, AutoLinkValueCache pCache,
+                                                                 boolean pReload) throws DataSourceException
     {
-        ArrayUtil<Object> auComposedKey = new ArrayUtil<Object>();
+        HashMap<Object, IBean> hmValues = new HashMap<Object, IBean>();
+        
+        ArrayUtil<Object> auMissing = new ArrayUtil<Object>();
+        
+        // the cache is shared with other fetches, and the access order is changed by get
+        synchronized (pCache)
+        {
+            for (Object[] oaFetchRow : pFetchData)
+            {
+                if (oaFetchRow != null)
+                {
+                    Object oKey = getAutoLinkKey(pColumnIndexes, oaFetchRow);
+                    
+                    if (oKey != null && !hmValues.containsKey(oKey))
+                    {
+                        IBean bnCached = pReload ? null : pCache.get(oKey);
+                        
+                        hmValues.put(oKey, bnCached);
+                        
+                        if (bnCached == null)
+                        {
+                            auMissing.add(oKey);
+                        }
+                    }
+                }
+            }
+        }
         
-        for (String sColumn : pColumns)
+        if (auMissing.size() > 0)
         {
-            int iColumnIndex = getMetaData().getColumnMetaDataIndex(sColumn);
+            MetaData metaData = getMetaData();
+            
+            IDataType[] dataTypes = new IDataType[pColumns.length];
+            
+            for (int i = 0; i < pColumns.length; i++)
+            {
+                dataTypes[i] = metaData.getColumnMetaData(pColumnIndexes[i]).getDataType();
+            }
             
-            auComposedKey.add(pRowData[iColumnIndex]);
+            for (int i = 0, anz = auMissing.size(); i < anz; i += AUTOLINK_LOOKUP_KEYS)
+            {
+                List<IBean> liBeans = pStorage.fetchBean(createAutoLinkCondition(pLinkRef, pColumns, auMissing, i, Math.min(anz, i + AUTOLINK_LOOKUP_KEYS)), 
+                                                         null, 0, -1);
+                
+                for (IBean bean : liBeans)
+                {
+                    Object oKey = getAutoLinkKey(pLinkRef, pColumns, dataTypes, bean);
+                    
+                    //only requested keys, and the first bean if there are more beans for a key 
+                    if (hmValues.containsKey(oKey) && hmValues.get(oKey) == null)
+                    {
+                        hmValues.put(oKey, bean);
+                    }
+                }
+            }
+            
+            synchronized (pCache)
+            {
+                for (Object oKey : auMissing)
+                {
+                    IBean bean = hmValues.get(oKey);
+                    
+                    if (bean == null)
+                    {
+                        bean = DUMMY_AUTOMATIC_LINK_ENTRY;
+                        
+                        hmValues.put(oKey, bean);
+                    }
+                    
+                    pCache.put(oKey, bean);
+                }
+            }
         }
         
-        return auComposedKey;
+        return hmValues;
     }
     
     /**
-     * Sets the values over available not database link references into given row.
+     * Sets the values over available not database link references.
      * 
-     * @param pRowData the row data
-     * @param pComboBoxValues the combobox values
-     * @param pWritableColumns the writable columns
-     * @throws DataSourceException if an error occurs
+     * @param pFetchData the fetch data
+     * @param pReload <code>true</code> to fetch the values of all keys of the fetch data again, e.g. if the first block is fetched
+     * @throws DataSourceException if it fails
      */
-    private void setNotDatabaseAutoLinkValues(Object[] pRowData, HashMap<String, HashMap<Object, IBean>> pComboBoxValues, String[] pWritableColumns) throws DataSourceException
+    private void setNotDatabaseAutoLinkValues(List<Object[]> pFetchData, boolean pReload) throws DataSourceException
     {
-        if (pComboBoxValues == null || pRowData == null)
+        if (pFetchData == null)
         {
             return;
         }
         
+        long lStartMillis = System.currentTimeMillis();
+        
+        String[] saWritableColumns = mdServerMetaData.getWritableColumnNames();
+        
+        MetaData metaData = getMetaData();
+        
         for (StorageReferenceDefinition srdLinkRef : auAutomaticLinkReferences)
         {
             String sReferencedStorage = srdLinkRef.getReferencedStorage();
@@ -3528,112 +4275,78 @@ public class DBStorage extends AbstractCachedStorage
             
             if (iSubStorage != null && !(iSubStorage instanceof DBStorage))
             {
-                HashMap<Object, IBean> hmComboBoxValuesSingle = pComboBoxValues.get(sReferencedStorage);
+                String[] saCommonColumns = ArrayUtil.intersect(srdLinkRef.getColumnNames(), saWritableColumns);
                 
-                if (hmComboBoxValuesSingle != null)
+                if (saCommonColumns.length > 0)
                 {
-                    String[] saCommonColumns = ArrayUtil.intersect(srdLinkRef.getColumnNames(), pWritableColumns);
+                    int[] iaCommonColumns = new int[saCommonColumns.length];
                     
-                    String[] saReferencedColumnNames = srdLinkRef.getReferencedColumnNames();
-                    String[] saColumnNames = srdLinkRef.getColumnNames();
+                    String sCacheKey = sReferencedStorage;
                     
-                    if (saCommonColumns.length == 1)
+                    for (int i = 0; i < saCommonColumns.length; i++)
                     {
-                        String sFKColumn = saCommonColumns[0];
+                        iaCommonColumns[i] = metaData.getColumnMetaDataIndex(saCommonColumns[i]);
                         
-                        int iFKColumnIndex = getMetaData().getColumnMetaDataIndex(sFKColumn);
+                        sCacheKey += ";" + srdLinkRef.getReferencedColumnName(saCommonColumns[i]);
+                    }
+                    
+                    AutoLinkValueCache cache = chmAutoLinkValues.get(sCacheKey);
+                    
+                    if (cache == null)
+                    {
+                        // a size <= 0 keeps no values, so the values are cached only for one block
+                        cache = new AutoLinkValueCache(Math.max(0, iAutoLinkValueCacheSize));
                         
-                        Object oFKValue = pRowData[iFKColumnIndex];
+                        AutoLinkValueCache cacheOther = chmAutoLinkValues.putIfAbsent(sCacheKey, cache);
                         
-                        if (oFKValue != null)
+                        if (cacheOther != null)
                         {
-                            IBean iBean = hmComboBoxValuesSingle.get(pRowData[iFKColumnIndex]);
-                            
-                            if (iBean == null)
-                            {
-                                AbstractStorage as = (AbstractStorage)iSubStorage;
-                                
-                                List<IBean> liComboBoxValues = as.fetchBean(new Equals(srdLinkRef.getReferencedColumnName(sFKColumn), oFKValue), null, 0, -1);
-                                
-                                if (liComboBoxValues.size() > 0)
-                                {
-                                    iBean = liComboBoxValues.get(0);
-                                }
-                                
-                                if (iBean == null)
-                                {
-                                    iBean = DUMMY_AUTOMATIC_LINK_ENTRY;
-                                }
-                                
-                                hmComboBoxValuesSingle.put(oFKValue, iBean);
-                            }
-                            
-                            if (iBean != null && !iBean.equals(DUMMY_AUTOMATIC_LINK_ENTRY))
-                            {
-                                for (int i = 0; i < saColumnNames.length; i++)
-                                {
-                                    if (!saColumnNames[i].equals(sFKColumn))
-                                    {
-                                        int iColumnIndex = getMetaData().getColumnMetaDataIndex(saColumnNames[i]);
-                                        pRowData[iColumnIndex] = iBean.get(saReferencedColumnNames[i]);
-                                    }
-                                }
-                            }
+                            cache = cacheOther;
                         }
                     }
-                    else
+                    
+                    HashMap<Object, IBean> hmValues;
+                    
+                    try
+                    {
+                        hmValues = loadNotDatabaseAutoLinkValues(srdLinkRef, iSubStorage, saCommonColumns, iaCommonColumns, pFetchData, cache, pReload);
+                    }
+                    catch (DataSourceException e)
+                    {
+                        error("Loading values from substorage: " + sReferencedStorage + " failed!", e);
+                        
+                        hmValues = null;
+                    }
+                    
+                    if (hmValues != null)
                     {
-                        ArrayUtil<Object> auComposedKey = getComposedKey(srdLinkRef, saCommonColumns, pRowData);
+                        String[] saReferencedColumnNames = srdLinkRef.getReferencedColumnNames();
+                        String[] saColumnNames = srdLinkRef.getColumnNames();
                         
-                        IBean iBean = hmComboBoxValuesSingle.get(auComposedKey);
+                        int[] iaColumns = new int[saColumnNames.length];
                         
-                        if (iBean == null)
+                        for (int i = 0; i < saColumnNames.length; i++)
                         {
-                            AbstractStorage as = (AbstractStorage)iSubStorage;
-                            
-                            ICondition icond = null;
-                            
-                            for (int i = 0; i < saCommonColumns.length; i++)
-                            {
-                                String sCommonColumn = saCommonColumns[i];
-                                
-                                int iFKColumnIndex = getMetaData().getColumnMetaDataIndex(sCommonColumn);
-                                
-                                Equals equals = new Equals(srdLinkRef.getReferencedColumnName(sCommonColumn), pRowData[iFKColumnIndex]);
-                                
-                                if (i == 0)
-                                {
-                                    icond = equals;
-                                }
-                                else
-                                {
-                                    icond.and(equals);
-                                }
-                            }
-                            
-                            List<IBean> liComboBoxValues = as.fetchBean(icond, null, 0, -1);
-                            
-                            if (liComboBoxValues.size() > 0)
-                            {
-                                iBean = liComboBoxValues.get(0);
-                            }
-                            
-                            if (iBean == null)
-                            {
-                                iBean = DUMMY_AUTOMATIC_LINK_ENTRY;
-                            }
-                            
-                            hmComboBoxValuesSingle.put(auComposedKey, iBean);
+                            iaColumns[i] = ArrayUtil.contains(saCommonColumns, saColumnNames[i]) ? -1 : metaData.getColumnMetaDataIndex(saColumnNames[i]);
                         }
                         
-                        if (iBean != null && !iBean.equals(DUMMY_AUTOMATIC_LINK_ENTRY))
+                        for (Object[] oaFetchRow : pFetchData)
                         {
-                            for (int i = 0; i < saColumnNames.length; i++)
+                            if (oaFetchRow != null)
                             {
-                                if (!ArrayUtil.contains(saCommonColumns, saColumnNames[i]))
+                                Object oKey = getAutoLinkKey(iaCommonColumns, oaFetchRow);
+                                
+                                IBean bean = oKey != null ? hmValues.get(oKey) : null;
+                                
+                                if (bean != null && bean != DUMMY_AUTOMATIC_LINK_ENTRY)
                                 {
-                                    int iColumnIndex = getMetaData().getColumnMetaDataIndex(saColumnNames[i]);
-                                    pRowData[iColumnIndex] = iBean.get(saReferencedColumnNames[i]);
+                                    for (int i = 0; i < saColumnNames.length; i++)
+                                    {
+                                        if (iaColumns[i] >= 0)
+                                        {
+                                            oaFetchRow[iaColumns[i]] = bean.get(saReferencedColumnNames[i]);
+                                        }
+                                    }
                                 }
                             }
                         }
@@ -3641,24 +4354,62 @@ public class DBStorage extends AbstractCachedStorage
                 }
             }
         }
+        
+        debug("Loading combobox values duration: ", Long.valueOf(System.currentTimeMillis() - lStartMillis), " ms");
     }
+	
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
     
     /**
-     * Sets the values over available not database link references.
+     * The <code>AutoLinkValueCache</code> caches the values of a not database automatic link reference.
+     * The least recently used values are removed, if the cache is full. The cache is not synchronized,
+     * so every access has to be synchronized with the cache.
      * 
-     * @param pFetchData the fetch data
-     * @throws DataSourceException if it fails
+     * @author Ren Jahn
      */
-    private void setNotDatabaseAutoLinkValues(List<Object[]> pFetchData) throws DataSourceException
+    private static final class AutoLinkValueCache extends LinkedHashMap<Object, IBean>
     {
-        String[] saWritableColumns = mdServerMetaData.getWritableColumnNames();
-        HashMap<String, HashMap<Object, IBean>> hmComboBoxValues = loadNotDatabaseComboBoxValues(saWritableColumns);
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Class members
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /** the serial version UID. */
+        private static final long serialVersionUID = 1L;
         
+        /** the maximum number of cached values. */
+        private int iMaxSize;
         
-        for (Object[] oaFetchRow : pFetchData)
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Initialization
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * Creates a new instance of <code>AutoLinkValueCache</code>.
+         * 
+         * @param pMaxSize the maximum number of cached values
+         */
+        private AutoLinkValueCache(int pMaxSize)
         {
-            setNotDatabaseAutoLinkValues(oaFetchRow, hmComboBoxValues, saWritableColumns);
+            super(16, 0.75f, true);
+            
+            iMaxSize = pMaxSize;
         }
-    }
+        
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Overwritten methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, IBean> pEldest)
+        {
+            return size() > iMaxSize;
+        }
+        
+    }   // AutoLinkValueCache
 	
 } 	// DBStorage
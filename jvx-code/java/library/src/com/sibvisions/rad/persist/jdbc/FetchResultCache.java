@@ -0,0 +1,836 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.rad.io.IFileHandle;
+
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * The <code>FetchResultCache</code> caches complete fetch results of {@link DBStorage}s for all sessions.
+ * The results are cached per {@link DBAccess} identifier, select statement, bind values and row range.
+ * <p>
+ * A write of a {@link DBStorage} removes all results with a select statement that contains the name
+ * of the write back table. Changes which were not made through a {@link DBStorage} are only visible
+ * after the time to live of the results. The invalidation only compares the words of the select
+ * statement with the table name. A select from a view or a synonym, or a select which uses the changed
+ * table only in a function, won't be invalidated by a write to the base table. Such results are only
+ * refreshed after the time to live, so the time to live should be short or the cache should not be used
+ * for such storages.
+ * </p>
+ * <p>
+ * The memory of the cache is estimated. If the maximum memory is reached, the results with the
+ * oldest access will be removed.
+ * </p>
+ *
+ * @author Ren Jahn
+ * @see DBStorage#setFetchResultCacheTimeToLive(long)
+ */
+public class FetchResultCache
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the default maximum memory (32 MB). */
+	private static final long MAX_MEMORY = 32L * 1024 * 1024;
+
+	/** the shared instance. */
+	private static FetchResultCache instance = new FetchResultCache();
+
+	/** the time to live for the next fetch of the current thread. */
+	private static ThreadLocal<Long> thlFetchTimeToLive = new ThreadLocal<Long>();
+
+	/** the cached results. */
+	private ConcurrentHashMap<Key, Entry> chmEntries = new ConcurrentHashMap<Key, Entry>();
+
+	/** the estimated memory of all results. */
+	private AtomicLong alMemory = new AtomicLong();
+
+	/** the invalidation generation. */
+	private AtomicLong alGeneration = new AtomicLong();
+
+	/** whether an eviction is running. */
+	private AtomicBoolean abEvicting = new AtomicBoolean();
+
+	/** the hit count. */
+	private LongAdder ladHitCount = new LongAdder();
+
+	/** the miss count. */
+	private LongAdder ladMissCount = new LongAdder();
+
+	/** the invalidation count. */
+	private LongAdder ladInvalidationCount = new LongAdder();
+
+	/** the eviction count. */
+	private LongAdder ladEvictionCount = new LongAdder();
+
+	/** the maximum memory in bytes. */
+	private volatile long lMaxMemory = MAX_MEMORY;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the shared cache of all {@link DBStorage}s.
+	 *
+	 * @return the shared cache
+	 */
+	public static FetchResultCache getInstance()
+	{
+		return instance;
+	}
+
+	/**
+	 * Sets the time to live for the next fetch of the current thread. The next {@link DBAccess} fetch
+	 * uses the cache with its select statement, so the statement is only created once.
+	 *
+	 * @param pTimeToLive the time to live in millis or a value &lt;= 0 to remove the time to live
+	 * @see #takeFetchTimeToLive()
+	 */
+	static void setFetchTimeToLive(long pTimeToLive)
+	{
+		if (pTimeToLive > 0)
+		{
+			thlFetchTimeToLive.set(Long.valueOf(pTimeToLive));
+		}
+		else
+		{
+			thlFetchTimeToLive.remove();
+		}
+	}
+
+	/**
+	 * Gets and removes the time to live for the fetch of the current thread. Only the first fetch
+	 * uses the time to live, because additional fetches, e.g. of a database specific {@link DBAccess},
+	 * fetch other rows.
+	 *
+	 * @return the time to live in millis or <code>-1</code> if the fetch shouldn't use the cache
+	 * @see #setFetchTimeToLive(long)
+	 */
+	static long takeFetchTimeToLive()
+	{
+		Long lTimeToLive = thlFetchTimeToLive.get();
+
+		if (lTimeToLive == null)
+		{
+			return -1;
+		}
+
+		thlFetchTimeToLive.remove();
+
+		return lTimeToLive.longValue();
+	}
+
+	/**
+	 * Gets a cached result. The result is a copy and can be changed.
+	 *
+	 * @param pIdentifier the {@link DBAccess} identifier
+	 * @param pStatement the select statement
+	 * @param pValues the bind values
+	 * @param pFromRow the first row
+	 * @param pMinimumRowCount the minimum number of rows
+	 * @return the result or <code>null</code> if no valid result is cached
+	 */
+	public List<Object[]> get(String pIdentifier, String pStatement, Object[] pValues, int pFromRow, int pMinimumRowCount)
+	{
+		Key key = new Key(pIdentifier, pStatement, pValues, pFromRow, pMinimumRowCount);
+
+		Entry entry = chmEntries.get(key);
+
+		if (entry != null)
+		{
+			long lNow = System.currentTimeMillis();
+
+			if (entry.expiration >= lNow)
+			{
+				entry.access = lNow;
+
+				ladHitCount.increment();
+
+				return copy(entry.rows);
+			}
+
+			remove(key, entry);
+		}
+
+		ladMissCount.increment();
+
+		return null;
+	}
+
+	/**
+	 * Gets the current invalidation generation. The generation should be read before the fetch of a result,
+	 * because {@link #put(String, String, Object[], int, int, List, long, long)} ignores a result if an
+	 * invalidation was done in the meantime.
+	 *
+	 * @return the generation
+	 */
+	public long getGeneration()
+	{
+		return alGeneration.get();
+	}
+
+	/**
+	 * Caches a result. Only complete results are cached, without lazy loaded large objects.
+	 *
+	 * @param pIdentifier the {@link DBAccess} identifier
+	 * @param pStatement the select statement
+	 * @param pValues the bind values
+	 * @param pFromRow the first row
+	 * @param pMinimumRowCount the minimum number of rows
+	 * @param pRows the fetched rows
+	 * @param pTimeToLive the time to live in millis
+	 * @param pGeneration the invalidation generation before the fetch
+	 * @return <code>true</code> if the result was cached, <code>false</code> otherwise
+	 * @see #getGeneration()
+	 */
+	public boolean put(String pIdentifier, String pStatement, Object[] pValues, int pFromRow, int pMinimumRowCount,
+	                   List<Object[]> pRows, long pTimeToLive, long pGeneration)
+	{
+		int iSize = pRows.size();
+
+		//only complete results are correct for all fetches with the same parameters
+		if (pTimeToLive <= 0 || iSize == 0 || pRows.get(iSize - 1) != null)
+		{
+			return false;
+		}
+
+		long lMemory = estimateMemory(pStatement) + estimateMemory(pValues);
+
+		Object[] oRow;
+
+		for (int i = 0; i < iSize - 1; i++)
+		{
+			oRow = pRows.get(i);
+
+			for (int j = 0; j < oRow.length; j++)
+			{
+				//file handles are bound to the connection of a session
+				if (oRow[j] instanceof IFileHandle)
+				{
+					return false;
+				}
+			}
+
+			lMemory += estimateMemory(oRow);
+		}
+
+		long lMax = lMaxMemory;
+
+		if (lMemory > lMax / 4)
+		{
+			return false;
+		}
+
+		Key key = new Key(pIdentifier, pStatement, pValues, pFromRow, pMinimumRowCount);
+
+		Entry entry = new Entry(copy(pRows), getWords(pStatement), System.currentTimeMillis() + pTimeToLive, lMemory);
+
+		Entry entryOld = chmEntries.put(key, entry);
+
+		alMemory.addAndGet(lMemory - (entryOld != null ? entryOld.memory : 0));
+
+		//an invalidation during the fetch
+		if (alGeneration.get() != pGeneration)
+		{
+			remove(key, entry);
+
+			return false;
+		}
+
+		if (alMemory.get() > lMax)
+		{
+			evict(lMax);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Removes all results with a select statement that contains the given table.
+	 *
+	 * @param pIdentifier the {@link DBAccess} identifier
+	 * @param pTable the table name, with or without schema
+	 */
+	public void invalidate(String pIdentifier, String pTable)
+	{
+		alGeneration.incrementAndGet();
+
+		if (chmEntries.isEmpty())
+		{
+			return;
+		}
+
+		String sTable = getTableWord(pTable);
+
+		Map.Entry<Key, Entry> entry;
+
+		for (Iterator<Map.Entry<Key, Entry>> it = chmEntries.entrySet().iterator(); it.hasNext();)
+		{
+			entry = it.next();
+
+			if (entry.getKey().identifier.equals(pIdentifier) && entry.getValue().words.contains(sTable))
+			{
+				if (remove(entry.getKey(), entry.getValue()))
+				{
+					ladInvalidationCount.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all results.
+	 */
+	public void clear()
+	{
+		alGeneration.incrementAndGet();
+
+		for (Map.Entry<Key, Entry> entry : chmEntries.entrySet())
+		{
+			remove(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Gets whether the given statement contains one of the given tables.
+	 *
+	 * @param pStatement the select statement
+	 * @param pTables the table names, with or without schema
+	 * @return <code>true</code> if the statement contains at least one table
+	 */
+	static boolean containsTable(String pStatement, Collection<String> pTables)
+	{
+		Set<String> setWords = getWords(pStatement);
+
+		for (String sTable : pTables)
+		{
+			if (setWords.contains(getTableWord(sTable)))
+			{
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Sets the maximum memory for all results.
+	 *
+	 * @param pMaxMemory the estimated maximum memory in bytes. If the value is &lt;= 0, the default
+	 *                   value (32 MB) will be used.
+	 */
+	public void setMaxMemory(long pMaxMemory)
+	{
+		if (pMaxMemory <= 0)
+		{
+			lMaxMemory = MAX_MEMORY;
+		}
+		else
+		{
+			lMaxMemory = pMaxMemory;
+		}
+
+		if (alMemory.get() > lMaxMemory)
+		{
+			evict(lMaxMemory);
+		}
+	}
+
+	/**
+	 * Gets the maximum memory for all results.
+	 *
+	 * @return the estimated maximum memory in bytes
+	 */
+	public long getMaxMemory()
+	{
+		return lMaxMemory;
+	}
+
+	/**
+	 * Gets the estimated memory of all results.
+	 *
+	 * @return the memory in bytes
+	 */
+	public long getMemory()
+	{
+		return alMemory.get();
+	}
+
+	/**
+	 * Gets the number of cached results.
+	 *
+	 * @return the number of results
+	 */
+	public int size()
+	{
+		return chmEntries.size();
+	}
+
+	/**
+	 * Gets the number of fetches which were answered from the cache.
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount()
+	{
+		return ladHitCount.sum();
+	}
+
+	/**
+	 * Gets the number of fetches which were not answered from the cache.
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount()
+	{
+		return ladMissCount.sum();
+	}
+
+	/**
+	 * Gets the number of results which were removed because of a write.
+	 *
+	 * @return the invalidation count
+	 */
+	public long getInvalidationCount()
+	{
+		return ladInvalidationCount.sum();
+	}
+
+	/**
+	 * Gets the number of results which were removed because the maximum memory was reached.
+	 *
+	 * @return the eviction count
+	 */
+	public long getEvictionCount()
+	{
+		return ladEvictionCount.sum();
+	}
+
+	/**
+	 * Resets the hit, miss, invalidation and eviction count.
+	 */
+	public void resetStatistics()
+	{
+		ladHitCount.reset();
+		ladMissCount.reset();
+		ladInvalidationCount.reset();
+		ladEvictionCount.reset();
+	}
+
+	/**
+	 * Removes a result if it's still cached.
+	 *
+	 * @param pKey the key
+	 * @param pEntry the expected entry
+	 * @return <code>true</code> if the result was removed
+	 */
+	private boolean remove(Key pKey, Entry pEntry)
+	{
+		if (chmEntries.remove(pKey, pEntry))
+		{
+			alMemory.addAndGet(-pEntry.memory);
+
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Removes expired results and the results with the oldest access, until the memory is below
+	 * 90% of the maximum memory.
+	 *
+	 * @param pMaxMemory the maximum memory
+	 */
+	private void evict(long pMaxMemory)
+	{
+		if (!abEvicting.compareAndSet(false, true))
+		{
+			return;
+		}
+
+		try
+		{
+			long lNow = System.currentTimeMillis();
+
+			for (Map.Entry<Key, Entry> entry : chmEntries.entrySet())
+			{
+				if (entry.getValue().expiration < lNow)
+				{
+					remove(entry.getKey(), entry.getValue());
+				}
+			}
+
+			long lTarget = pMaxMemory / 10 * 9;
+
+			if (alMemory.get() <= lTarget)
+			{
+				return;
+			}
+
+			//snapshot of the access times, because they change during sort
+			ArrayUtil<Map.Entry<Key, Entry>> auEntries = new ArrayUtil<Map.Entry<Key, Entry>>(chmEntries.entrySet());
+
+			long[] lAccess = new long[auEntries.size()];
+
+			for (int i = 0; i < lAccess.length; i++)
+			{
+				lAccess[i] = auEntries.get(i).getValue().access;
+			}
+
+			long[] lSorted = lAccess.clone();
+
+			Arrays.sort(lSorted);
+
+			for (int i = 0; i < lSorted.length && alMemory.get() > lTarget; i++)
+			{
+				for (int j = 0; j < lAccess.length && alMemory.get() > lTarget; j++)
+				{
+					Map.Entry<Key, Entry> entry = auEntries.get(j);
+
+					if (lAccess[j] == lSorted[i] && entry != null)
+					{
+						if (remove(entry.getKey(), entry.getValue()))
+						{
+							ladEvictionCount.increment();
+						}
+
+						auEntries.set(j, null);
+
+						break;
+					}
+				}
+			}
+		}
+		finally
+		{
+			abEvicting.set(false);
+		}
+	}
+
+	/**
+	 * Creates a copy of the rows, because the rows are changed after fetch, e.g. by
+	 * not database auto link values.
+	 *
+	 * @param pRows the rows
+	 * @return the copy
+	 */
+	private static List<Object[]> copy(List<Object[]> pRows)
+	{
+		ArrayUtil<Object[]> auCopy = new ArrayUtil<Object[]>(pRows.size());
+
+		Object[] oRow;
+
+		for (int i = 0, anz = pRows.size(); i < anz; i++)
+		{
+			oRow = pRows.get(i);
+
+			auCopy.add(oRow != null ? oRow.clone() : null);
+		}
+
+		return auCopy;
+	}
+
+	/**
+	 * Gets all identifier words of a statement in upper case.
+	 *
+	 * @param pStatement the statement
+	 * @return the words
+	 */
+	private static Set<String> getWords(String pStatement)
+	{
+		Set<String> setWords = new HashSet<String>();
+
+		String sStatement = pStatement.toUpperCase();
+
+		int iStart = -1;
+
+		for (int i = 0, anz = sStatement.length(); i <= anz; i++)
+		{
+			if (i < anz && isIdentifierPart(sStatement.charAt(i)))
+			{
+				if (iStart < 0)
+				{
+					iStart = i;
+				}
+			}
+			else if (iStart >= 0)
+			{
+				setWords.add(sStatement.substring(iStart, i));
+
+				iStart = -1;
+			}
+		}
+
+		return setWords;
+	}
+
+	/**
+	 * Gets the table name without schema and quotes in upper case.
+	 *
+	 * @param pTable the table name
+	 * @return the word to search
+	 */
+	private static String getTableWord(String pTable)
+	{
+		String sTable = pTable.toUpperCase();
+
+		int iEnd = sTable.length();
+
+		while (iEnd > 0 && !isIdentifierPart(sTable.charAt(iEnd - 1)))
+		{
+			iEnd--;
+		}
+
+		int iStart = iEnd;
+
+		while (iStart > 0 && isIdentifierPart(sTable.charAt(iStart - 1)))
+		{
+			iStart--;
+		}
+
+		return sTable.substring(iStart, iEnd);
+	}
+
+	/**
+	 * Gets whether the character is part of an identifier.
+	 *
+	 * @param pChar the character
+	 * @return <code>true</code> if it's a letter, digit, <code>_</code>, <code>$</code> or <code>#</code>
+	 */
+	private static boolean isIdentifierPart(char pChar)
+	{
+		return Character.isLetterOrDigit(pChar) || pChar == '_' || pChar == '$' || pChar == '#';
+	}
+
+	/**
+	 * Estimates the memory of an object.
+	 *
+	 * @param pObject the object
+	 * @return the estimated memory in bytes
+	 */
+	private static long estimateMemory(Object pObject)
+	{
+		if (pObject == null)
+		{
+			return 0;
+		}
+		else if (pObject instanceof String)
+		{
+			return 40 + 2L * ((String)pObject).length();
+		}
+		else if (pObject instanceof BigDecimal)
+		{
+			return 64;
+		}
+		else if (pObject instanceof byte[])
+		{
+			return 16 + ((byte[])pObject).length;
+		}
+		else if (pObject instanceof Object[])
+		{
+			Object[] oValues = (Object[])pObject;
+
+			long lMemory = 16 + 4L * oValues.length;
+
+			for (int i = 0; i < oValues.length; i++)
+			{
+				lMemory += estimateMemory(oValues[i]);
+			}
+
+			return lMemory;
+		}
+		else
+		{
+			return 32;
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Key</code> identifies a fetch result.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class Key
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the {@link DBAccess} identifier. */
+		private String identifier;
+
+		/** the select statement. */
+		private String statement;
+
+		/** the bind values. */
+		private Object[] values;
+
+		/** the first row. */
+		private int fromRow;
+
+		/** the minimum number of rows. */
+		private int minimumRowCount;
+
+		/** the hash code. */
+		private int hashCode;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new instance of <code>Key</code>.
+		 *
+		 * @param pIdentifier the {@link DBAccess} identifier
+		 * @param pStatement the select statement
+		 * @param pValues the bind values
+		 * @param pFromRow the first row
+		 * @param pMinimumRowCount the minimum number of rows
+		 */
+		private Key(String pIdentifier, String pStatement, Object[] pValues, int pFromRow, int pMinimumRowCount)
+		{
+			identifier = pIdentifier;
+			statement = pStatement;
+			values = pValues;
+			fromRow = pFromRow;
+			minimumRowCount = pMinimumRowCount;
+
+			int iHash = identifier.hashCode();
+			iHash = 31 * iHash + statement.hashCode();
+			iHash = 31 * iHash + Arrays.deepHashCode(values);
+			iHash = 31 * iHash + fromRow;
+			iHash = 31 * iHash + minimumRowCount;
+
+			hashCode = iHash;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Overwritten methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode()
+		{
+			return hashCode;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object pObject)
+		{
+			if (this == pObject)
+			{
+				return true;
+			}
+
+			if (!(pObject instanceof Key))
+			{
+				return false;
+			}
+
+			Key key = (Key)pObject;
+
+			return hashCode == key.hashCode
+			       && fromRow == key.fromRow
+			       && minimumRowCount == key.minimumRowCount
+			       && identifier.equals(key.identifier)
+			       && statement.equals(key.statement)
+			       && Arrays.deepEquals(values, key.values);
+		}
+
+	}	// Key
+
+	/**
+	 * The <code>Entry</code> is a cached fetch result.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class Entry
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the rows. */
+		private List<Object[]> rows;
+
+		/** the identifier words of the statement. */
+		private Set<String> words;
+
+		/** the expiration time. */
+		private long expiration;
+
+		/** the estimated memory. */
+		private long memory;
+
+		/** the last access time. */
+		private volatile long access;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new instance of <code>Entry</code>.
+		 *
+		 * @param pRows the rows
+		 * @param pWords the identifier words of the statement
+		 * @param pExpiration the expiration time
+		 * @param pMemory the estimated memory
+		 */
+		private Entry(List<Object[]> pRows, Set<String> pWords, long pExpiration, long pMemory)
+		{
+			rows = pRows;
+			words = pWords;
+			expiration = pExpiration;
+			memory = pMemory;
+			access = System.currentTimeMillis();
+		}
+
+	}	// Entry
+
+}	// FetchResultCache
@@ -29,6 +29,7 @@
  * 15.05.2014 - [JR] - #1038: CommonUtil.close used   
  * 09.12.2019 - [JR] - #2128: support ignore-case conditions for non string columns
  * 20.02.2020 - [DJ] - #2207: is alive query
+ * 18.10.2026 - [JR] - supportsBatchGeneratedKeys overwritten
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -144,6 +145,15 @@ public class HSQLDBAccess extends DBAccess
 		return super.getDefaultValuesIntern(pCatalog, pSchema, pTable.toUpperCase());
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsBatchGeneratedKeys()
+	{
+		return true;
+	}
+	
 	/**
 	 * {@inheritDoc}
 	 */
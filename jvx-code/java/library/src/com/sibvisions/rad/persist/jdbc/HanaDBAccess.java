@@ -18,6 +18,7 @@
  * 
  * 04.11.2014 - [TL] - creation.
  * 11.11.2014 - [TL] - Primary Keys are now get from the MetaData.
+ * 18.10.2026 - [JR] - supportsBatchInsert overwritten
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -299,6 +300,16 @@ public class HanaDBAccess extends DBAccess
 	{
 		return insertHana(pWriteBackTable, pInsertStatement, pServerMetaData, pNewDataRow, pDummyColumn);
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsBatchInsert()
+	{
+		// the database specific insert isn't used for batches
+		return false;
+	}
 
 	/**
 	 * {@inheritDoc}
@@ -26,6 +26,7 @@
  * 21.07.2011 - [RH] - #437: MSSQLDBAccess should translate quote in addMSSQLSpecificAutoIncSupport
  * 14.09.2011 - [JR] - #470: changed default schema detection                 
  * 15.05.2014 - [JR] - #1038: CommonUtil.close used                            
+ * 18.10.2026 - [JR] - supportsBatchInsert overwritten
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -238,6 +239,16 @@ public class MSSQLDBAccess extends DBAccess
 	{
 		super.setUsername(DBAccess.removeQuotes(pUsername));
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsBatchInsert()
+	{
+		// the database specific insert isn't used for batches
+		return false;
+	}
 		
 	/** 
 	 * {@inheritDoc}
@@ -0,0 +1,510 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.rad.persist.DataSourceException;
+
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.GroupHashtable;
+
+/**
+ * The <code>MetaDataCache</code> caches metadata grouped by the {@link DBAccess} identifier.
+ * It loads missing metadata only once, even if many threads request the same metadata at the
+ * same time: the first thread loads and all other threads wait for the result.
+ * <p>
+ * The number of cached entries per identifier can be bounded and entries can be loaded again
+ * after a time to live. Groups which were set at once with {@link #put(String, Hashtable)}
+ * contain the metadata of all tables. These groups won't be shrinked and will be removed
+ * completely if the time to live is reached.
+ *
+ * @author Ren Jahn
+ *
+ * @param <V> the metadata class
+ */
+public class MetaDataCache<V> extends GroupHashtable<String, String, V>
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the load time of single entries, per group. */
+	private ConcurrentHashMap<String, ConcurrentHashMap<String, Long>> chmLoadTime = new ConcurrentHashMap<String, ConcurrentHashMap<String, Long>>();
+
+	/** the load time of groups which were set at once. */
+	private ConcurrentHashMap<String, Long> chmGroupLoadTime = new ConcurrentHashMap<String, Long>();
+
+	/** the running loads. */
+	private ConcurrentHashMap<String, Load> chmLoading = new ConcurrentHashMap<String, Load>();
+
+	/** the hit count. */
+	private LongAdder ladHitCount = new LongAdder();
+
+	/** the miss count. */
+	private LongAdder ladMissCount = new LongAdder();
+
+	/** the load count. */
+	private LongAdder ladLoadCount = new LongAdder();
+
+	/** the load time in nanos. */
+	private LongAdder ladLoadTime = new LongAdder();
+
+	/** the maximum number of entries per group. */
+	private volatile int iMaxSize = -1;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Overwritten methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(String pGroup, String pKey, V pValue)
+	{
+		super.put(pGroup, pKey, pValue);
+
+		if (!chmGroupLoadTime.containsKey(pGroup))
+		{
+			ConcurrentHashMap<String, Long> chmTimes = chmLoadTime.get(pGroup);
+
+			if (chmTimes == null)
+			{
+				chmTimes = new ConcurrentHashMap<String, Long>();
+
+				ConcurrentHashMap<String, Long> chmExisting = chmLoadTime.putIfAbsent(pGroup, chmTimes);
+
+				if (chmExisting != null)
+				{
+					chmTimes = chmExisting;
+				}
+			}
+
+			chmTimes.put(pKey, Long.valueOf(System.currentTimeMillis()));
+
+			int iMax = iMaxSize;
+
+			if (iMax > 0 && size(pGroup) > iMax)
+			{
+				shrink(pGroup, chmTimes, iMax);
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void put(String pGroup, Hashtable<String, V> pValues)
+	{
+		super.put(pGroup, pValues);
+
+		chmGroupLoadTime.put(pGroup, Long.valueOf(System.currentTimeMillis()));
+		chmLoadTime.remove(pGroup);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(String pGroup)
+	{
+		chmGroupLoadTime.remove(pGroup);
+		chmLoadTime.remove(pGroup);
+
+		return super.remove(pGroup);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public V remove(String pGroup, String pKey)
+	{
+		Map<String, Long> mapTimes = chmLoadTime.get(pGroup);
+
+		if (mapTimes != null)
+		{
+			mapTimes.remove(pKey);
+		}
+
+		return super.remove(pGroup, pKey);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear()
+	{
+		chmGroupLoadTime.clear();
+		chmLoadTime.clear();
+
+		super.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear(String pGroup)
+	{
+		chmGroupLoadTime.remove(pGroup);
+		chmLoadTime.remove(pGroup);
+
+		super.clear(pGroup);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the cached value or loads and caches the value if it's not cached or expired. If
+	 * another thread loads the same value, this thread waits for the result.
+	 *
+	 * @param pGroup the group identifier
+	 * @param pKey the key
+	 * @param pTimeToLive the time to live in millis or a value &lt;= 0 if cached values don't expire
+	 * @param pLoader the loader for a missing value
+	 * @return the value or <code>null</code> if the loader returned <code>null</code>
+	 * @throws DataSourceException if loading fails
+	 */
+	public V get(String pGroup, String pKey, long pTimeToLive, ILoader<V> pLoader) throws DataSourceException
+	{
+		if (pTimeToLive > 0)
+		{
+			removeExpired(pGroup, pKey, pTimeToLive);
+		}
+
+		V value = get(pGroup, pKey);
+
+		if (value != null)
+		{
+			ladHitCount.increment();
+
+			return value;
+		}
+
+		ladMissCount.increment();
+
+		String sLoadKey = pGroup + "\n" + pKey;
+
+		Load load = new Load();
+
+		Load loadRunning = chmLoading.putIfAbsent(sLoadKey, load);
+
+		if (loadRunning != null)
+		{
+			//the same thread would wait for itself
+			if (loadRunning.thread != Thread.currentThread())
+			{
+				return loadRunning.await();
+			}
+
+			return pLoader.load();
+		}
+
+		try
+		{
+			//maybe loaded while adding the load
+			value = get(pGroup, pKey);
+
+			if (value == null)
+			{
+				long lStart = System.nanoTime();
+
+				value = pLoader.load();
+
+				ladLoadCount.increment();
+				ladLoadTime.add(System.nanoTime() - lStart);
+
+				if (value != null)
+				{
+					put(pGroup, pKey, value);
+				}
+			}
+
+			load.value = value;
+
+			return value;
+		}
+		catch (DataSourceException dse)
+		{
+			load.error = dse;
+
+			throw dse;
+		}
+		catch (RuntimeException re)
+		{
+			load.error = re;
+
+			throw re;
+		}
+		catch (Error e)
+		{
+			load.error = e;
+
+			throw e;
+		}
+		finally
+		{
+			chmLoading.remove(sLoadKey, load);
+
+			load.latch.countDown();
+		}
+	}
+
+	/**
+	 * Sets the maximum number of entries per group. If a group exceeds the maximum size, the
+	 * oldest entries will be removed.
+	 *
+	 * @param pMaxSize the maximum number of entries or a value &lt;= 0 for unbounded groups
+	 */
+	public void setMaxSize(int pMaxSize)
+	{
+		iMaxSize = pMaxSize > 0 ? pMaxSize : -1;
+	}
+
+	/**
+	 * Gets the maximum number of entries per group.
+	 *
+	 * @return the maximum number of entries or <code>-1</code> if groups are unbounded
+	 */
+	public int getMaxSize()
+	{
+		return iMaxSize;
+	}
+
+	/**
+	 * Gets the number of {@link #get(String, String, long, ILoader)} calls which found a cached value.
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount()
+	{
+		return ladHitCount.sum();
+	}
+
+	/**
+	 * Gets the number of {@link #get(String, String, long, ILoader)} calls which didn't find a cached value.
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount()
+	{
+		return ladMissCount.sum();
+	}
+
+	/**
+	 * Gets the number of loaded values. Threads which waited for the value of another thread
+	 * are not counted.
+	 *
+	 * @return the load count
+	 */
+	public long getLoadCount()
+	{
+		return ladLoadCount.sum();
+	}
+
+	/**
+	 * Gets the total time of all loads.
+	 *
+	 * @return the load time in millis
+	 */
+	public long getLoadTime()
+	{
+		return ladLoadTime.sum() / 1000000L;
+	}
+
+	/**
+	 * Resets the hit, miss and load statistics.
+	 */
+	public void resetStatistics()
+	{
+		ladHitCount.reset();
+		ladMissCount.reset();
+		ladLoadCount.reset();
+		ladLoadTime.reset();
+	}
+
+	/**
+	 * Removes the value or the whole group, if it's expired.
+	 *
+	 * @param pGroup the group identifier
+	 * @param pKey the key
+	 * @param pTimeToLive the time to live in millis
+	 */
+	private void removeExpired(String pGroup, String pKey, long pTimeToLive)
+	{
+		long lExpired = System.currentTimeMillis() - pTimeToLive;
+
+		Long lGroupTime = chmGroupLoadTime.get(pGroup);
+
+		if (lGroupTime != null)
+		{
+			if (lGroupTime.longValue() < lExpired)
+			{
+				remove(pGroup);
+			}
+		}
+		else
+		{
+			Map<String, Long> mapTimes = chmLoadTime.get(pGroup);
+
+			if (mapTimes != null)
+			{
+				Long lTime = mapTimes.get(pKey);
+
+				if (lTime != null && lTime.longValue() < lExpired)
+				{
+					remove(pGroup, pKey);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes the oldest entries of a group. The group will be shrinked to 90 percent of the
+	 * maximum size, to avoid a shrink with every put.
+	 *
+	 * @param pGroup the group identifier
+	 * @param pTimes the load times of the group
+	 * @param pMaxSize the maximum size
+	 */
+	private void shrink(String pGroup, Map<String, Long> pTimes, int pMaxSize)
+	{
+		ArrayUtil<Map.Entry<String, Long>> auEntries = new ArrayUtil<Map.Entry<String, Long>>(pTimes.entrySet());
+
+		int iRemove = auEntries.size() - (pMaxSize - pMaxSize / 10);
+
+		if (iRemove > 0)
+		{
+			long[] laTimes = new long[auEntries.size()];
+
+			for (int i = 0; i < laTimes.length; i++)
+			{
+				laTimes[i] = auEntries.get(i).getValue().longValue();
+			}
+
+			long[] laSorted = laTimes.clone();
+			Arrays.sort(laSorted);
+
+			long lLimit = laSorted[iRemove - 1];
+
+			for (int i = 0; i < laTimes.length && iRemove > 0; i++)
+			{
+				if (laTimes[i] <= lLimit)
+				{
+					remove(pGroup, auEntries.get(i).getKey());
+
+					iRemove--;
+				}
+			}
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>ILoader</code> loads a missing value.
+	 *
+	 * @author Ren Jahn
+	 *
+	 * @param <V> the metadata class
+	 */
+	public interface ILoader<V>
+	{
+		/**
+		 * Loads the value.
+		 *
+		 * @return the value
+		 * @throws DataSourceException if loading fails
+		 */
+		public V load() throws DataSourceException;
+
+	}	// ILoader
+
+	/**
+	 * The <code>Load</code> is a running load. Other threads wait for the result.
+	 *
+	 * @author Ren Jahn
+	 */
+	private final class Load
+	{
+		/** the loading thread. */
+		private Thread thread = Thread.currentThread();
+
+		/** signals the end of the load. */
+		private CountDownLatch latch = new CountDownLatch(1);
+
+		/** the loaded value. */
+		private volatile V value;
+
+		/** the load error. */
+		private volatile Throwable error;
+
+		/**
+		 * Waits until the load is finished.
+		 *
+		 * @return the loaded value
+		 * @throws DataSourceException if the load failed or the thread was interrupted
+		 */
+		private V await() throws DataSourceException
+		{
+			try
+			{
+				latch.await();
+			}
+			catch (InterruptedException ie)
+			{
+				Thread.currentThread().interrupt();
+
+				throw new DataSourceException("Waiting for metadata was interrupted!", ie);
+			}
+
+			if (error instanceof DataSourceException)
+			{
+				throw (DataSourceException)error;
+			}
+			else if (error instanceof RuntimeException)
+			{
+				throw (RuntimeException)error;
+			}
+			else if (error instanceof Error)
+			{
+				throw (Error)error;
+			}
+
+			return value;
+		}
+
+	}	// Load
+
+}	// MetaDataCache
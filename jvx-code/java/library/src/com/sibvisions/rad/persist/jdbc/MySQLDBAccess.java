@@ -31,6 +31,7 @@
  *                   - #528: createStorage
  * 15.05.2014 - [JR] - #1038: CommonUtil.close used     
  * 15.10.2018 - [JR] - #1956: ConnectorJ 8.x support                       
+ * 18.10.2026 - [JR] - supportsBatchGeneratedKeys overwritten
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -349,6 +350,15 @@ public class MySQLDBAccess extends DBAccess
 		return new TableInfo(null, tableInfo.getCatalog(), sTable);
 	}
 	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean supportsBatchGeneratedKeys()
+	{
+		return true;
+	}
+	
 	/** 
 	 * {@inheritDoc}
 	 */
@@ -31,6 +31,7 @@
  * 08.09.2013 - [RH] - #787: PostgreSQLDBAccess connect error
  * 12.04.2014 - [JR] - #1007: fixed enum detection
  * 15.05.2014 - [JR] - #1038: CommonUtil.close used                            
+ * 18.10.2026 - [JR] - supportsBatchInsert overwritten
  */
 package com.sibvisions.rad.persist.jdbc;
 
@@ -335,6 +336,16 @@ public class PostgreSQLDBAccess extends DBAccess
         return insertPostgres(pWritebackTable, pInsertStatement, pServerMetaData, pNewDataRow, pDummyColumn);
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supportsBatchInsert()
+    {
+        // the database specific insert isn't used for batches
+        return false;
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -57,6 +57,8 @@
  * 12.01.2017 - [JR] - #1744: send NOPARAMETER instead of null       
  * 01.11.2017 - [JR] - decrease communication id even if disabled during call execution  
  * 04.05.2019 - [JR] - #2023: check SessionExpired and avoid calls                          
+ * 18.10.2026 - [JR] - open: announce row block support
+ *                   - negotiated compression codecs
  */
 package com.sibvisions.rad.remote;
 
@@ -72,8 +74,6 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Properties;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.rad.remote.ConnectionException;
 import javax.rad.remote.ConnectionInfo;
@@ -89,6 +89,8 @@ import javax.rad.remote.event.ICallBackResultListener;
 import javax.rad.remote.event.IConnectionPropertyChangedListener;
 import javax.rad.remote.event.PropertyEvent;
 
+import com.sibvisions.rad.remote.compression.CompressionCodecs;
+import com.sibvisions.rad.remote.compression.ICompressionCodec;
 import com.sibvisions.util.ArrayUtil;
 import com.sibvisions.util.ChangedHashtable;
 import com.sibvisions.util.KeyValueList;
@@ -112,6 +114,9 @@ public abstract class AbstractSerializedConnection implements IConnection
 	/** the property name for the serializer. */
 	public static final String PROP_SERIALIZER = "serializer";
 	
+	/** the property name for the preferred compression codecs. */
+	public static final String PROP_COMPRESSION_CODECS = "compressionCodecs";
+	
 	/** the magic byte sequence. */
 	private static final byte[] MAGIC_BYTES = new byte[] {(byte)0x80, (byte)0x17, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF};
 	
@@ -160,6 +165,9 @@ public abstract class AbstractSerializedConnection implements IConnection
     /** whether retry should be checked during alive check call. */
     private boolean bRetryAlive = false;
 
+    /** the preferred compression codecs for requests. */
+    private ICompressionCodec[] compressionCodecs = new ICompressionCodec[] {CompressionCodecs.GZIP};
+    
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -170,6 +178,7 @@ public abstract class AbstractSerializedConnection implements IConnection
 	 * keys are:
 	 * <ul>
 	 *   <li>AbstractSerializedConnection.PROP_SERIALIZER</li>
+	 *   <li>AbstractSerializedConnection.PROP_COMPRESSION_CODECS</li>
 	 * </ul>
 	 * 
 	 * @param pProperties the properties for the connection
@@ -178,6 +187,13 @@ public abstract class AbstractSerializedConnection implements IConnection
 	public AbstractSerializedConnection(Properties pProperties) throws ClassNotFoundException
 	{
 		this(createSerializer(pProperties.getProperty(PROP_SERIALIZER)));
+		
+		ICompressionCodec[] codecs = CompressionCodecs.parse(pProperties.getProperty(PROP_COMPRESSION_CODECS));
+		
+		if (codecs != null)
+		{
+		    compressionCodecs = codecs;
+		}
 	}
 
 	/**
@@ -209,6 +225,15 @@ public abstract class AbstractSerializedConnection implements IConnection
 	 */
 	public void open(ConnectionInfo pConnectionInfo) throws Throwable
 	{
+		//the server writes row blocks only if we are able to read them
+		if (serializer instanceof UniversalSerializer)
+		{
+			pConnectionInfo.getProperties().put(IConnectionConstants.ROWBLOCK, "true");
+		}
+		
+		//the server uses other codecs than GZIP only if we are able to read them
+		pConnectionInfo.getProperties().put(IConnectionConstants.COMPRESSION_CODECS_CLIENT, CompressionCodecs.getNames());
+		
 		Object oConnectionId = callInternSynced(pConnectionInfo,
     										    new String[] {IConnection.OBJ_SESSION}, 
     										    new String[] {IConnection.MET_SESSION_CREATE}, 
@@ -226,6 +251,8 @@ public abstract class AbstractSerializedConnection implements IConnection
 	 */
 	public void openSub(ConnectionInfo pConnectionInfo, ConnectionInfo pConnectionInfoSub) throws Throwable
 	{
+		pConnectionInfoSub.getProperties().put(IConnectionConstants.COMPRESSION_CODECS_CLIENT, CompressionCodecs.getNames());
+		
 		//Don't call through the existing session, because the properties will not
 		//set into the sub session!
 		Object oConnectionId = callInternSynced(pConnectionInfoSub,
@@ -946,14 +973,24 @@ public abstract class AbstractSerializedConnection implements IConnection
                     
                         boolean bCompressionSupported = Boolean.parseBoolean((String)pConnectionInfo.getProperties().get(IConnectionConstants.COMPRESSION));
 
-                        //Use compression when the compression mode is enabled and the maximum number of uncompressed bytes are reached 
-                        if (bCompressionSupported && baosContent.size() >= IConnection.COMPRESSION_BYTES)
+                        //Use compression when the compression mode is enabled and the maximum number of uncompressed bytes are reached,
+                        //with the first preferred codec which the server is able to read
+                        ICompressionCodec codec = null;
+                        
+                        if (bCompressionSupported)
                         {
-                            osRequest.write(IConnection.MODE_COMPRESSED);
+                            codec = CompressionCodecs.select(compressionCodecs, 
+                                                             (String)pConnectionInfo.getProperties().get(IConnectionConstants.COMPRESSION_CODECS_SERVER), 
+                                                             baosContent.size());
+                        }
+                        
+                        if (codec != null)
+                        {
+                            osRequest.write(codec.getMode());
                             
-                            GZIPOutputStream zosContent = new GZIPOutputStream(osRequest);
+                            OutputStream zosContent = codec.createOutputStream(osRequest);
                             baosContent.writeTo(zosContent);
-                            zosContent.finish();
+                            zosContent.close();
                             
                             if (bWriteMagicByte)
                             {
@@ -1032,17 +1069,17 @@ public abstract class AbstractSerializedConnection implements IConnection
                         InputStream isResponse;                        
 
                         //Handle compression
-                        if (iMode == IConnection.MODE_COMPRESSED)
+                        if (iMode != IConnection.MODE_UNCOMPRESSED)
                         {
                             if (bReadMagicByte)
                             {
                                 mbisResponse = new MagicByteInputStream(isResponseOrig, MAGIC_BYTES, isAutoEOFEnabled());
                                 
-                                isResponse = new GZIPInputStream(mbisResponse);
+                                isResponse = CompressionCodecs.createInputStream(iMode, mbisResponse);
                             }
                             else
                             {
-                                isResponse = new GZIPInputStream(isResponseOrig);
+                                isResponse = CompressionCodecs.createInputStream(iMode, isResponseOrig);
                             }
                         }
                         else
@@ -1488,6 +1525,28 @@ public abstract class AbstractSerializedConnection implements IConnection
 		}
 	}
 
+	/**
+	 * Sets the preferred compression codecs for requests. The first codec which is supported by the server
+	 * and accepts the request size will be used.
+	 * 
+	 * @param pCodecs the codecs in order of preference
+	 * @see CompressionCodecs#select(ICompressionCodec[], String, long)
+	 */
+	public void setCompressionCodecs(ICompressionCodec... pCodecs)
+	{
+	    compressionCodecs = pCodecs;
+	}
+	
+	/**
+	 * Gets the preferred compression codecs for requests.
+	 * 
+	 * @return the codecs in order of preference
+	 */
+	public ICompressionCodec[] getCompressionCodecs()
+	{
+	    return compressionCodecs;
+	}
+	
 	/**
 	 * The number of retries before the connection will be marked as broken.
 	 * 
@@ -18,6 +18,7 @@
  *
  * 20.01.2010 - [HM] - creation
  * 03.04.2012 - [JR] - #84: enum serialization support
+ * 18.10.2026 - [JR] - row block support
  */
 package com.sibvisions.rad.remote;
 
@@ -26,6 +27,7 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
+import java.util.List;
 
 import com.sibvisions.rad.remote.serializer.ArraySerializer;
 import com.sibvisions.rad.remote.serializer.BeanSerializer;
@@ -53,6 +55,7 @@ import com.sibvisions.rad.remote.serializer.LongSerializer;
 import com.sibvisions.rad.remote.serializer.MapSerializer;
 import com.sibvisions.rad.remote.serializer.NullSerializer;
 import com.sibvisions.rad.remote.serializer.ObjectSerializer;
+import com.sibvisions.rad.remote.serializer.RowBlockSerializer;
 import com.sibvisions.rad.remote.serializer.SetSerializer;
 import com.sibvisions.rad.remote.serializer.ShortArraySerializer;
 import com.sibvisions.rad.remote.serializer.ShortSerializer;
@@ -91,6 +94,12 @@ public final class UniversalSerializer implements ISerializer
 	/** Caches all standard types for serialization. */
 	private HashMap<Class, ITypeSerializer> instanceOfCache = new HashMap<Class, ITypeSerializer>();
 	
+	/** Row block serializer. */
+	private RowBlockSerializer rowBlockSerializer = new RowBlockSerializer();
+	
+	/** whether lists of rows are written as row blocks. */
+	private boolean bRowBlockEnabled = false;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Initialization
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -133,7 +142,10 @@ public final class UniversalSerializer implements ISerializer
 		registerTypeSerializer(new EnumSerializer());             //  71
 		registerTypeSerializer(new ThrowableSerializer());        //  69
 		registerTypeSerializer(new XmlNodeSerializer());          //  72
-		// Free: 20 - 29, 76 - 78
+		
+		// row blocks are read always, but written only if enabled
+		deserializerTypes[RowBlockSerializer.TYPE_ROWBLOCK] = rowBlockSerializer; //  20
+		// Free: 21 - 29, 76 - 78
 	}
 	
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -189,9 +201,42 @@ public final class UniversalSerializer implements ISerializer
 	 */
 	public final void write(DataOutputStream pOut, Object pObject, TypeCache pCache) throws Exception
 	{
-		getTypeSerializer(pObject).write(this, pOut, pObject, pCache);		
+		if (bRowBlockEnabled && pObject instanceof List && rowBlockSerializer.isRowBlock((List<?>)pObject))
+		{
+			rowBlockSerializer.write(this, pOut, (List<?>)pObject, pCache);
+		}
+		else
+		{
+			getTypeSerializer(pObject).write(this, pOut, pObject, pCache);
+		}
 	}
 	
+	/**
+	 * Sets whether lists of <code>Object[]</code> rows, e.g. fetch results, should be written as
+	 * row blocks. A row block is written column by column with dictionaries and delta encoding, 
+	 * which reduces the size of the stream. Row blocks are always readable, but older versions 
+	 * of the serializer can't read them. Enable row blocks only if the reader supports them.
+	 * 
+	 * @param pRowBlockEnabled <code>true</code> to write row blocks
+	 * @see RowBlockSerializer
+	 */
+	public void setRowBlockEnabled(boolean pRowBlockEnabled)
+	{
+		bRowBlockEnabled = pRowBlockEnabled;
+	}
+	
+	/**
+	 * Gets whether lists of <code>Object[]</code> rows are written as row blocks.
+	 * 
+	 * @return <code>true</code> if row blocks are written
+	 * @see #setRowBlockEnabled(boolean)
+	 */
+	public boolean isRowBlockEnabled()
+	{
+		return bRowBlockEnabled;
+	}
+
+	
 	/**
 	 * Registers a type serializer.
 	 * 
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+/**
+ * The <code>AbstractCompressionCodec</code> is an {@link ICompressionCodec} with a compression level and
+ * a min. number of bytes.
+ *
+ * @author René Jahn
+ */
+public abstract class AbstractCompressionCodec implements ICompressionCodec
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the compression level. */
+    private int iLevel;
+
+    /** the min. number of bytes. */
+    private int iMinimumBytes;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>AbstractCompressionCodec</code>.
+     *
+     * @param pLevel the compression level, codec specific
+     * @param pMinimumBytes the min. number of bytes for using this codec
+     */
+    protected AbstractCompressionCodec(int pLevel, int pMinimumBytes)
+    {
+        iLevel = pLevel;
+        iMinimumBytes = pMinimumBytes;
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Abstract methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of this codec with other options.
+     *
+     * @param pLevel the compression level, codec specific
+     * @param pMinimumBytes the min. number of bytes for using this codec
+     * @return the new codec
+     */
+    public abstract AbstractCompressionCodec newInstance(int pLevel, int pMinimumBytes);
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Interface implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getMinimumBytes()
+    {
+        return iMinimumBytes;
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Overwritten methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return getName() + ":" + iLevel + ":" + iMinimumBytes;
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Gets the compression level.
+     *
+     * @return the compression level, codec specific
+     */
+    public int getLevel()
+    {
+        return iLevel;
+    }
+
+}   // AbstractCompressionCodec
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.rad.remote.IConnection;
+
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.type.StringUtil;
+
+/**
+ * The <code>CompressionCodecs</code> is the registry of all {@link ICompressionCodec}s which can be read.
+ * Client and server exchange the names of their readable codecs and the writer selects the first codec
+ * of its preferred codecs, which the reader supports and which fits the content size. {@link GZIPCodec} is
+ * supported by all clients and servers, also by older versions without negotiation.
+ * <p>
+ * Preferred codecs are defined as comma separated list: <code>name[:level[:minimumBytes]]</code>, e.g.
+ * <code>deflate:9:65536,lz</code> compresses contents with min. 64K with best deflate compression and
+ * smaller contents with the fast LZ compression.
+ *
+ * @author René Jahn
+ */
+public final class CompressionCodecs
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the default GZIP codec. */
+    public static final ICompressionCodec GZIP = new GZIPCodec();
+
+    /** the readable codecs by mode. */
+    private static Map<Integer, ICompressionCodec> mpCodecsByMode = new ConcurrentHashMap<Integer, ICompressionCodec>();
+
+    /** the readable codecs by name. */
+    private static Map<String, ICompressionCodec> mpCodecsByName = new ConcurrentHashMap<String, ICompressionCodec>();
+
+    /** the names of all readable codecs. */
+    private static volatile String sNames;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    static
+    {
+        register(new LZCodec());
+        register(new DeflateCodec());
+        register(GZIP);
+    }
+
+    /**
+     * Invisible constructor because <code>CompressionCodecs</code> is a utility class.
+     */
+    private CompressionCodecs()
+    {
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Registers a readable codec. A codec with the same mode or name will be replaced.
+     *
+     * @param pCodec the codec
+     * @throws IllegalArgumentException if the mode is reserved for uncompressed communication
+     */
+    public static synchronized void register(ICompressionCodec pCodec)
+    {
+        if (pCodec.getMode() == IConnection.MODE_UNCOMPRESSED)
+        {
+            throw new IllegalArgumentException("Mode " + pCodec.getMode() + " is reserved!");
+        }
+
+        ICompressionCodec codecOld = mpCodecsByMode.put(Integer.valueOf(pCodec.getMode()), pCodec);
+
+        if (codecOld != null)
+        {
+            mpCodecsByName.remove(codecOld.getName());
+        }
+
+        mpCodecsByName.put(pCodec.getName(), pCodec);
+
+        StringBuilder sbNames = new StringBuilder();
+
+        for (ICompressionCodec codec : mpCodecsByMode.values())
+        {
+            if (sbNames.length() > 0)
+            {
+                sbNames.append(',');
+            }
+
+            sbNames.append(codec.getName());
+        }
+
+        sNames = sbNames.toString();
+    }
+
+    /**
+     * Gets the codec for the given mode.
+     *
+     * @param pMode the mode from the stream header
+     * @return the codec or <code>null</code> if the mode is unknown
+     */
+    public static ICompressionCodec get(int pMode)
+    {
+        return mpCodecsByMode.get(Integer.valueOf(pMode));
+    }
+
+    /**
+     * Gets the codec with the given name.
+     *
+     * @param pName the name
+     * @return the codec or <code>null</code> if the name is unknown
+     */
+    public static ICompressionCodec get(String pName)
+    {
+        return mpCodecsByName.get(pName);
+    }
+
+    /**
+     * Gets the names of all readable codecs.
+     *
+     * @return the comma separated names
+     */
+    public static String getNames()
+    {
+        return sNames;
+    }
+
+    /**
+     * Creates a decompressing stream for the given mode.
+     *
+     * @param pMode the mode from the stream header
+     * @param pStream the compressed data
+     * @return the decompressing stream
+     * @throws IOException if the mode is unknown or creating the stream fails
+     */
+    public static InputStream createInputStream(int pMode, InputStream pStream) throws IOException
+    {
+        ICompressionCodec codec = get(pMode);
+
+        if (codec == null)
+        {
+            throw new IOException("Unsupported compression mode " + pMode);
+        }
+
+        return codec.createInputStream(pStream);
+    }
+
+    /**
+     * Parses preferred codecs.
+     *
+     * @param pCodecs the comma separated codecs: <code>name[:level[:minimumBytes]]</code>
+     * @return the codecs or <code>null</code> if <code>pCodecs</code> is empty
+     * @throws IllegalArgumentException if a codec is unknown or the options are invalid
+     */
+    public static ICompressionCodec[] parse(String pCodecs)
+    {
+        if (StringUtil.isEmpty(pCodecs))
+        {
+            return null;
+        }
+
+        List<String> liCodecs = StringUtil.separateList(pCodecs, ",", true);
+
+        ArrayUtil<ICompressionCodec> auCodecs = new ArrayUtil<ICompressionCodec>(liCodecs.size());
+
+        for (String sCodec : liCodecs)
+        {
+            String[] sOptions = sCodec.split(":");
+
+            ICompressionCodec codec = get(sOptions[0].trim());
+
+            if (codec == null)
+            {
+                throw new IllegalArgumentException("Unknown compression codec '" + sOptions[0] + "'");
+            }
+
+            if (sOptions.length > 1)
+            {
+                if (!(codec instanceof AbstractCompressionCodec))
+                {
+                    throw new IllegalArgumentException("Compression codec '" + sOptions[0] + "' has no options");
+                }
+
+                AbstractCompressionCodec acodec = (AbstractCompressionCodec)codec;
+
+                int iLevel = Integer.parseInt(sOptions[1].trim());
+                int iMinimumBytes = sOptions.length > 2 ? Integer.parseInt(sOptions[2].trim()) : acodec.getMinimumBytes();
+
+                codec = acodec.newInstance(iLevel, iMinimumBytes);
+            }
+
+            auCodecs.add(codec);
+        }
+
+        return auCodecs.toArray(new ICompressionCodec[auCodecs.size()]);
+    }
+
+    /**
+     * Selects the codec for writing a content.
+     *
+     * @param pPreferred the preferred codecs of the writer, in order
+     * @param pAccepted the comma separated names of the codecs, which the reader supports or <code>null</code>
+     *                  if the reader supports only {@link GZIPCodec}
+     * @param pBytes the number of content bytes
+     * @return the first preferred codec which the reader supports and which accepts the number of bytes
+     *         or <code>null</code> if the content shouldn't be compressed
+     */
+    public static ICompressionCodec select(ICompressionCodec[] pPreferred, String pAccepted, long pBytes)
+    {
+        if (pPreferred == null)
+        {
+            return null;
+        }
+
+        ICompressionCodec codec;
+
+        for (int i = 0; i < pPreferred.length; i++)
+        {
+            codec = pPreferred[i];
+
+            if (pBytes >= codec.getMinimumBytes()
+                && (codec.getMode() == IConnection.MODE_COMPRESSED || containsName(pAccepted, codec.getName())))
+            {
+                return codec;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks whether a comma separated list contains a name.
+     *
+     * @param pNames the comma separated names or <code>null</code>
+     * @param pName the name
+     * @return <code>true</code> if the name is in the list
+     */
+    private static boolean containsName(String pNames, String pName)
+    {
+        if (pNames == null)
+        {
+            return false;
+        }
+
+        int iLength = pName.length();
+        int iPos = pNames.indexOf(pName);
+
+        while (iPos >= 0)
+        {
+            if ((iPos == 0 || pNames.charAt(iPos - 1) == ',')
+                && (iPos + iLength == pNames.length() || pNames.charAt(iPos + iLength) == ','))
+            {
+                return true;
+            }
+
+            iPos = pNames.indexOf(pName, iPos + 1);
+        }
+
+        return false;
+    }
+
+}   // CompressionCodecs
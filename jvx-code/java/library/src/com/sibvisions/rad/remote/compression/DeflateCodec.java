@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import javax.rad.remote.IConnection;
+
+import com.sibvisions.util.io.GZIPLevelOutputStream;
+
+/**
+ * The <code>DeflateCodec</code> is the raw deflate compression, without GZIP header and checksum. The
+ * compression level can be set, e.g. {@link GZIPLevelOutputStream#BESTSPEED_COMPRESSION} for fast networks
+ * or {@link GZIPLevelOutputStream#BEST_COMPRESSION} for slow networks.
+ *
+ * @author René Jahn
+ */
+public class DeflateCodec extends AbstractCompressionCodec
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the codec name. */
+    public static final String NAME = "deflate";
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>DeflateCodec</code> with fast compression.
+     */
+    public DeflateCodec()
+    {
+        this(GZIPLevelOutputStream.FAST_COMPRESSION, IConnection.COMPRESSION_BYTES);
+    }
+
+    /**
+     * Creates a new instance of <code>DeflateCodec</code>.
+     *
+     * @param pLevel the compression level, see {@link GZIPLevelOutputStream}
+     * @param pMinimumBytes the min. number of bytes for using this codec
+     */
+    public DeflateCodec(int pLevel, int pMinimumBytes)
+    {
+        super(pLevel, pMinimumBytes);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Interface implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName()
+    {
+        return NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getMode()
+    {
+        return IConnection.MODE_DEFLATE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public OutputStream createOutputStream(OutputStream pStream) throws IOException
+    {
+        return new FinishingOutputStream(pStream, new Deflater(getLevel(), true));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public InputStream createInputStream(InputStream pStream) throws IOException
+    {
+        return new InflaterInputStream(pStream, new Inflater(true), 8192)
+        {
+            /** whether the stream is closed. */
+            private boolean bClosed;
+
+            @Override
+            public void close() throws IOException
+            {
+                if (!bClosed)
+                {
+                    bClosed = true;
+
+                    inf.end();
+
+                    super.close();
+                }
+            }
+        };
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Abstract methods implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AbstractCompressionCodec newInstance(int pLevel, int pMinimumBytes)
+    {
+        return new DeflateCodec(pLevel, pMinimumBytes);
+    }
+
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
+
+    /**
+     * The <code>FinishingOutputStream</code> finishes the compressed data on close, without closing the
+     * underlying stream.
+     *
+     * @author René Jahn
+     */
+    private static final class FinishingOutputStream extends DeflaterOutputStream
+    {
+        /** whether the stream is closed. */
+        private boolean bClosed;
+
+        /**
+         * Creates a new instance of <code>FinishingOutputStream</code>.
+         *
+         * @param pStream the stream for the compressed data
+         * @param pDeflater the compressor
+         */
+        private FinishingOutputStream(OutputStream pStream, Deflater pDeflater)
+        {
+            super(pStream, pDeflater, 8192);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException
+        {
+            if (!bClosed)
+            {
+                bClosed = true;
+
+                try
+                {
+                    finish();
+
+                    out.flush();
+                }
+                finally
+                {
+                    def.end();
+                }
+            }
+        }
+
+    }   // FinishingOutputStream
+
+}   // DeflateCodec
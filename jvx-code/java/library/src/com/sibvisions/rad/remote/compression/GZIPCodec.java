@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+
+import javax.rad.remote.IConnection;
+
+import com.sibvisions.util.io.GZIPLevelOutputStream;
+
+/**
+ * The <code>GZIPCodec</code> is the GZIP compression, which is supported by all clients and servers.
+ *
+ * @author René Jahn
+ */
+public class GZIPCodec extends AbstractCompressionCodec
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the codec name. */
+    public static final String NAME = "gzip";
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>GZIPCodec</code> with default compression level.
+     */
+    public GZIPCodec()
+    {
+        this(GZIPLevelOutputStream.DEFAULT_COMPRESSION, IConnection.COMPRESSION_BYTES);
+    }
+
+    /**
+     * Creates a new instance of <code>GZIPCodec</code>.
+     *
+     * @param pLevel the compression level, see {@link GZIPLevelOutputStream}
+     * @param pMinimumBytes the min. number of bytes for using this codec
+     */
+    public GZIPCodec(int pLevel, int pMinimumBytes)
+    {
+        super(pLevel, pMinimumBytes);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Interface implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName()
+    {
+        return NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getMode()
+    {
+        return IConnection.MODE_COMPRESSED;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public OutputStream createOutputStream(OutputStream pStream) throws IOException
+    {
+        return new FinishingOutputStream(pStream, getLevel());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public InputStream createInputStream(InputStream pStream) throws IOException
+    {
+        return new GZIPInputStream(pStream, 8192);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Abstract methods implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AbstractCompressionCodec newInstance(int pLevel, int pMinimumBytes)
+    {
+        return new GZIPCodec(pLevel, pMinimumBytes);
+    }
+
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
+
+    /**
+     * The <code>FinishingOutputStream</code> finishes the compressed data on close, without closing the
+     * underlying stream.
+     *
+     * @author René Jahn
+     */
+    private static final class FinishingOutputStream extends GZIPLevelOutputStream
+    {
+        /** whether the stream is closed. */
+        private boolean bClosed;
+
+        /**
+         * Creates a new instance of <code>FinishingOutputStream</code>.
+         *
+         * @param pStream the stream for the compressed data
+         * @param pLevel the compression level
+         * @throws IOException if writing the header fails
+         */
+        private FinishingOutputStream(OutputStream pStream, int pLevel) throws IOException
+        {
+            super(pStream, pLevel);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException
+        {
+            if (!bClosed)
+            {
+                bClosed = true;
+
+                try
+                {
+                    finish();
+
+                    out.flush();
+                }
+                finally
+                {
+                    def.end();
+                }
+            }
+        }
+
+    }   // FinishingOutputStream
+
+}   // GZIPCodec
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * The <code>ICompressionCodec</code> defines a compression for the communication between client and server.
+ * The codec is identified by its mode byte in the stream header, and by its name during negotiation.
+ *
+ * @author René Jahn
+ * @see CompressionCodecs
+ */
+public interface ICompressionCodec
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Method definitions
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Gets the name of the codec, used for negotiation between client and server.
+     *
+     * @return the name
+     */
+    public String getName();
+
+    /**
+     * Gets the mode byte which identifies the codec in the stream header.
+     *
+     * @return the mode, e.g. {@link javax.rad.remote.IConnection#MODE_COMPRESSED}
+     */
+    public int getMode();
+
+    /**
+     * Gets the min. number of bytes for using this codec. Smaller contents won't be compressed with this codec.
+     *
+     * @return the number of bytes
+     */
+    public int getMinimumBytes();
+
+    /**
+     * Creates a stream which compresses all written bytes. Closing the stream writes all compressed data
+     * but doesn't close the given stream.
+     *
+     * @param pStream the stream for the compressed data
+     * @return the compressing stream
+     * @throws IOException if creating the stream fails
+     */
+    public OutputStream createOutputStream(OutputStream pStream) throws IOException;
+
+    /**
+     * Creates a stream which decompresses the given stream.
+     *
+     * @param pStream the compressed data
+     * @return the decompressing stream
+     * @throws IOException if creating the stream fails
+     */
+    public InputStream createInputStream(InputStream pStream) throws IOException;
+
+}   // ICompressionCodec
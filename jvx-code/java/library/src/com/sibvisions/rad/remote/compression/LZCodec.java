@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javax.rad.remote.IConnection;
+
+import com.sibvisions.util.io.LZInputStream;
+import com.sibvisions.util.io.LZOutputStream;
+
+/**
+ * The <code>LZCodec</code> is a fast LZ compression, for fast networks where the CPU time of deflate
+ * is more expensive than the transfer. The compression level is not used.
+ *
+ * @author René Jahn
+ * @see LZOutputStream
+ */
+public class LZCodec extends AbstractCompressionCodec
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the codec name. */
+    public static final String NAME = "lz";
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>LZCodec</code>.
+     */
+    public LZCodec()
+    {
+        this(IConnection.COMPRESSION_BYTES);
+    }
+
+    /**
+     * Creates a new instance of <code>LZCodec</code>.
+     *
+     * @param pMinimumBytes the min. number of bytes for using this codec
+     */
+    public LZCodec(int pMinimumBytes)
+    {
+        super(0, pMinimumBytes);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Interface implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getName()
+    {
+        return NAME;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int getMode()
+    {
+        return IConnection.MODE_LZ;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public OutputStream createOutputStream(OutputStream pStream) throws IOException
+    {
+        return new LZOutputStream(pStream)
+        {
+            @Override
+            public void close() throws IOException
+            {
+                finish();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public InputStream createInputStream(InputStream pStream) throws IOException
+    {
+        return new LZInputStream(pStream);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Abstract methods implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AbstractCompressionCodec newInstance(int pLevel, int pMinimumBytes)
+    {
+        return new LZCodec(pMinimumBytes);
+    }
+
+}   // LZCodec
@@ -0,0 +1,725 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.serializer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.sibvisions.rad.remote.UniversalSerializer;
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.ImmutableTimestamp;
+
+/**
+ * The serializer for row blocks. A row block is a {@link List} of <code>Object[]</code> rows with the same
+ * length, e.g. a fetch result. An optional <code>null</code> element at the end of the list is supported.
+ * <p>
+ * The rows are written column by column. Every column has a null bitmap and an encoding which depends
+ * on the column values:
+ * <ul>
+ *   <li>Strings with many equal values are written as dictionary and indexes</li>
+ *   <li><code>Integer</code>, <code>Long</code>, <code>BigDecimal</code> and <code>Date</code> values
+ *       are written as variable length delta to the previous value</li>
+ *   <li>All other values are written with the {@link UniversalSerializer}</li>
+ * </ul>
+ * The result of reading a row block is equal to the result of reading the same list with the
+ * {@link ListSerializer}.
+ *
+ * @author Ren Jahn
+ */
+public class RowBlockSerializer implements ITypeSerializer<List<?>>
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** row block type. */
+	public static final int TYPE_ROWBLOCK = 20;
+
+	/** the minimum number of rows for a row block. */
+	private static final int MIN_ROWS = 2;
+
+	/** the list is an {@link ArrayUtil}. */
+	private static final int FLAG_ARRAYUTIL = 1;
+
+	/** the list ends with <code>null</code>. */
+	private static final int FLAG_END = 2;
+
+	/** the column contains <code>null</code> values. */
+	private static final int FLAG_NULLS = 0x80;
+
+	/** all column values are <code>null</code>. */
+	private static final int COLUMN_NULL = 0;
+
+	/** the column values are written with the {@link UniversalSerializer}. */
+	private static final int COLUMN_OBJECT = 1;
+
+	/** the column values are strings. */
+	private static final int COLUMN_STRING = 2;
+
+	/** the column values are strings with a dictionary. */
+	private static final int COLUMN_STRING_DICTIONARY = 3;
+
+	/** the column values are integers. */
+	private static final int COLUMN_INTEGER = 4;
+
+	/** the column values are longs. */
+	private static final int COLUMN_LONG = 5;
+
+	/** the column values are dates without time zone. */
+	private static final int COLUMN_DATE = 6;
+
+	/** the column values are decimals with an unscaled value which fits in a long. */
+	private static final int COLUMN_DECIMAL = 7;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Interface Implementation
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	public Class<List<?>> getTypeClass()
+	{
+		return (Class<List<?>>)(Class<?>)List.class;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getMinValue()
+	{
+		return TYPE_ROWBLOCK;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getMaxValue()
+	{
+		return TYPE_ROWBLOCK;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public List<?> read(UniversalSerializer pSerializer, DataInputStream pIn, int pTypeValue, TypeCache pCache) throws Exception
+	{
+		int iFlags = pIn.readUnsignedByte();
+		int iRowCount = readVarInt(pIn);
+		int iColumnCount = readVarInt(pIn);
+
+		Object[][] rows = new Object[iRowCount][iColumnCount];
+
+		for (int i = 0; i < iColumnCount; i++)
+		{
+			readColumn(pSerializer, pIn, pCache, rows, i);
+		}
+
+		List<Object[]> list;
+
+		if ((iFlags & FLAG_ARRAYUTIL) != 0)
+		{
+			list = new ArrayUtil<Object[]>(iRowCount + 1);
+		}
+		else
+		{
+			list = new ArrayList<Object[]>(iRowCount + 1);
+		}
+
+		for (int i = 0; i < iRowCount; i++)
+		{
+			list.add(rows[i]);
+		}
+
+		if ((iFlags & FLAG_END) != 0)
+		{
+			list.add(null);
+		}
+
+		return list;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void write(UniversalSerializer pSerializer, DataOutputStream pOut, List<?> pObject, TypeCache pCache) throws Exception
+	{
+		int iRowCount = pObject.size();
+
+		int iFlags = 0;
+
+		if (pObject.getClass() == ArrayUtil.class)
+		{
+			iFlags |= FLAG_ARRAYUTIL;
+		}
+
+		if (iRowCount > 0 && pObject.get(iRowCount - 1) == null)
+		{
+			iFlags |= FLAG_END;
+
+			iRowCount--;
+		}
+
+		Object[][] rows = new Object[iRowCount][];
+
+		for (int i = 0; i < iRowCount; i++)
+		{
+			rows[i] = (Object[])pObject.get(i);
+		}
+
+		int iColumnCount = iRowCount > 0 ? rows[0].length : 0;
+
+		pOut.writeByte(TYPE_ROWBLOCK);
+		pOut.writeByte(iFlags);
+		writeVarInt(pOut, iRowCount);
+		writeVarInt(pOut, iColumnCount);
+
+		for (int i = 0; i < iColumnCount; i++)
+		{
+			writeColumn(pSerializer, pOut, pCache, rows, i);
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets whether the given list can be written as row block. The list has to be an {@link ArrayList}
+	 * or an {@link ArrayUtil} with at least two <code>Object[]</code> rows of the same length. Only the
+	 * last element may be <code>null</code>.
+	 *
+	 * @param pList the list
+	 * @return <code>true</code> if the list is a row block
+	 */
+	public boolean isRowBlock(List<?> pList)
+	{
+		Class<?> clazz = pList.getClass();
+
+		if (clazz != ArrayList.class && clazz != ArrayUtil.class)
+		{
+			return false;
+		}
+
+		int iSize = pList.size();
+
+		if (iSize > 0 && pList.get(iSize - 1) == null)
+		{
+			iSize--;
+		}
+
+		if (iSize < MIN_ROWS)
+		{
+			return false;
+		}
+
+		int iLength = -1;
+
+		for (int i = 0; i < iSize; i++)
+		{
+			Object oRow = pList.get(i);
+
+			if (oRow == null || oRow.getClass() != Object[].class)
+			{
+				return false;
+			}
+
+			if (iLength < 0)
+			{
+				iLength = ((Object[])oRow).length;
+			}
+			else if (iLength != ((Object[])oRow).length)
+			{
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Writes the values of a column.
+	 *
+	 * @param pSerializer the universal serializer
+	 * @param pOut the output stream
+	 * @param pCache the type cache
+	 * @param pRows the rows
+	 * @param pColumn the column index
+	 * @throws Exception if writing fails
+	 */
+	private void writeColumn(UniversalSerializer pSerializer, DataOutputStream pOut, TypeCache pCache,
+			                 Object[][] pRows, int pColumn) throws Exception
+	{
+		int iRowCount = pRows.length;
+		int iNullCount = 0;
+		int iType = COLUMN_NULL;
+
+		for (int i = 0; i < iRowCount; i++)
+		{
+			Object oValue = pRows[i][pColumn];
+
+			if (oValue == null)
+			{
+				iNullCount++;
+			}
+			else if (iType != COLUMN_OBJECT)
+			{
+				int iValueType = getColumnType(oValue);
+
+				if (iType == COLUMN_NULL)
+				{
+					iType = iValueType;
+				}
+				else if (iType != iValueType)
+				{
+					iType = COLUMN_OBJECT;
+				}
+			}
+		}
+
+		if (iType == COLUMN_NULL)
+		{
+			pOut.writeByte(COLUMN_NULL);
+
+			return;
+		}
+
+		HashMap<String, Integer> hmDictionary = null;
+
+		if (iType == COLUMN_STRING)
+		{
+			hmDictionary = new HashMap<String, Integer>();
+
+			for (int i = 0; i < iRowCount; i++)
+			{
+				String sValue = (String)pRows[i][pColumn];
+
+				if (sValue != null && !hmDictionary.containsKey(sValue))
+				{
+					hmDictionary.put(sValue, Integer.valueOf(hmDictionary.size()));
+				}
+			}
+
+			// a dictionary is only useful for repeated values
+			if (hmDictionary.size() * 2 <= iRowCount - iNullCount)
+			{
+				iType = COLUMN_STRING_DICTIONARY;
+			}
+		}
+
+		if (iNullCount > 0)
+		{
+			pOut.writeByte(iType | FLAG_NULLS);
+
+			byte[] byNulls = new byte[(iRowCount + 7) >> 3];
+
+			for (int i = 0; i < iRowCount; i++)
+			{
+				if (pRows[i][pColumn] == null)
+				{
+					byNulls[i >> 3] |= 1 << (i & 7);
+				}
+			}
+
+			pOut.write(byNulls);
+		}
+		else
+		{
+			pOut.writeByte(iType);
+		}
+
+		switch (iType)
+		{
+			case COLUMN_STRING:
+				for (int i = 0; i < iRowCount; i++)
+				{
+					String sValue = (String)pRows[i][pColumn];
+
+					if (sValue != null)
+					{
+						writeString(pOut, sValue);
+					}
+				}
+				break;
+
+			case COLUMN_STRING_DICTIONARY:
+				String[] sEntries = new String[hmDictionary.size()];
+
+				for (Entry<String, Integer> entry : hmDictionary.entrySet())
+				{
+					sEntries[entry.getValue().intValue()] = entry.getKey();
+				}
+
+				writeVarInt(pOut, sEntries.length);
+
+				for (int i = 0; i < sEntries.length; i++)
+				{
+					writeString(pOut, sEntries[i]);
+				}
+
+				for (int i = 0; i < iRowCount; i++)
+				{
+					String sValue = (String)pRows[i][pColumn];
+
+					if (sValue != null)
+					{
+						writeVarInt(pOut, hmDictionary.get(sValue).intValue());
+					}
+				}
+				break;
+
+			case COLUMN_INTEGER:
+			case COLUMN_LONG:
+			case COLUMN_DATE:
+				long lLast = 0;
+
+				for (int i = 0; i < iRowCount; i++)
+				{
+					Object oValue = pRows[i][pColumn];
+
+					if (oValue != null)
+					{
+						long lValue;
+
+						if (iType == COLUMN_DATE)
+						{
+							lValue = ((Date)oValue).getTime();
+						}
+						else
+						{
+							lValue = ((Number)oValue).longValue();
+						}
+
+						writeVarLong(pOut, zigZag(lValue - lLast));
+
+						lLast = lValue;
+					}
+				}
+				break;
+
+			case COLUMN_DECIMAL:
+				long lLastUnscaled = 0;
+				int iLastScale = 0;
+
+				for (int i = 0; i < iRowCount; i++)
+				{
+					BigDecimal bdValue = (BigDecimal)pRows[i][pColumn];
+
+					if (bdValue != null)
+					{
+						long lUnscaled = bdValue.unscaledValue().longValue();
+						int iScale = bdValue.scale();
+
+						writeVarLong(pOut, zigZag(iScale - iLastScale));
+						writeVarLong(pOut, zigZag(lUnscaled - lLastUnscaled));
+
+						lLastUnscaled = lUnscaled;
+						iLastScale = iScale;
+					}
+				}
+				break;
+
+			default:
+				for (int i = 0; i < iRowCount; i++)
+				{
+					Object oValue = pRows[i][pColumn];
+
+					if (oValue != null)
+					{
+						pSerializer.write(pOut, oValue, pCache);
+					}
+				}
+		}
+	}
+
+	/**
+	 * Reads the values of a column.
+	 *
+	 * @param pSerializer the universal serializer
+	 * @param pIn the input stream
+	 * @param pCache the type cache
+	 * @param pRows the rows
+	 * @param pColumn the column index
+	 * @throws Exception if reading fails
+	 */
+	private void readColumn(UniversalSerializer pSerializer, DataInputStream pIn, TypeCache pCache,
+			                Object[][] pRows, int pColumn) throws Exception
+	{
+		int iType = pIn.readUnsignedByte();
+
+		if (iType == COLUMN_NULL)
+		{
+			return;
+		}
+
+		int iRowCount = pRows.length;
+
+		byte[] byNulls = null;
+
+		if ((iType & FLAG_NULLS) != 0)
+		{
+			iType &= ~FLAG_NULLS;
+
+			byNulls = new byte[(iRowCount + 7) >> 3];
+
+			pIn.readFully(byNulls);
+		}
+
+		String[] sEntries = null;
+
+		if (iType == COLUMN_STRING_DICTIONARY)
+		{
+			sEntries = new String[readVarInt(pIn)];
+
+			for (int i = 0; i < sEntries.length; i++)
+			{
+				sEntries[i] = readString(pIn);
+			}
+		}
+
+		long lLast = 0;
+		int iLastScale = 0;
+
+		for (int i = 0; i < iRowCount; i++)
+		{
+			if (byNulls == null || (byNulls[i >> 3] & (1 << (i & 7))) == 0)
+			{
+				Object oValue;
+
+				switch (iType)
+				{
+					case COLUMN_STRING:
+						oValue = readString(pIn);
+						break;
+
+					case COLUMN_STRING_DICTIONARY:
+						oValue = sEntries[readVarInt(pIn)];
+						break;
+
+					case COLUMN_INTEGER:
+						lLast += unZigZag(readVarLong(pIn));
+						oValue = Integer.valueOf((int)lLast);
+						break;
+
+					case COLUMN_LONG:
+						lLast += unZigZag(readVarLong(pIn));
+						oValue = Long.valueOf(lLast);
+						break;
+
+					case COLUMN_DATE:
+						lLast += unZigZag(readVarLong(pIn));
+						oValue = new ImmutableTimestamp(lLast);
+						break;
+
+					case COLUMN_DECIMAL:
+						iLastScale += (int)unZigZag(readVarLong(pIn));
+						lLast += unZigZag(readVarLong(pIn));
+						oValue = BigDecimal.valueOf(lLast, iLastScale);
+						break;
+
+					case COLUMN_OBJECT:
+						oValue = pSerializer.read(pIn, pCache);
+						break;
+
+					default:
+						throw new IOException("Invalid column type " + iType + "!");
+				}
+
+				pRows[i][pColumn] = oValue;
+			}
+		}
+	}
+
+	/**
+	 * Gets the column type for a value.
+	 *
+	 * @param pValue the value
+	 * @return the column type
+	 */
+	private static int getColumnType(Object pValue)
+	{
+		Class<?> clazz = pValue.getClass();
+
+		if (clazz == String.class)
+		{
+			return COLUMN_STRING;
+		}
+		else if (clazz == BigDecimal.class)
+		{
+			// 18 digits fit in a long
+			if (((BigDecimal)pValue).precision() <= 18)
+			{
+				return COLUMN_DECIMAL;
+			}
+		}
+		else if (clazz == Integer.class)
+		{
+			return COLUMN_INTEGER;
+		}
+		else if (clazz == Long.class)
+		{
+			return COLUMN_LONG;
+		}
+		else if (pValue instanceof Date)
+		{
+			// the DateSerializer writes the time zone
+			if (!(pValue instanceof ImmutableTimestamp) || !((ImmutableTimestamp)pValue).isTimeZoneSet())
+			{
+				return COLUMN_DATE;
+			}
+		}
+
+		return COLUMN_OBJECT;
+	}
+
+	/**
+	 * Writes a string as UTF-8 with a variable length.
+	 *
+	 * @param pOut the output stream
+	 * @param pValue the string
+	 * @throws IOException if writing fails
+	 */
+	private static void writeString(DataOutputStream pOut, String pValue) throws IOException
+	{
+		byte[] byContent = pValue.getBytes("UTF8");
+
+		writeVarInt(pOut, byContent.length);
+		pOut.write(byContent);
+	}
+
+	/**
+	 * Reads a string written with {@link #writeString(DataOutputStream, String)}.
+	 *
+	 * @param pIn the input stream
+	 * @return the string
+	 * @throws IOException if reading fails
+	 */
+	private static String readString(DataInputStream pIn) throws IOException
+	{
+		byte[] byContent = new byte[readVarInt(pIn)];
+
+		pIn.readFully(byContent);
+
+		return new String(byContent, "UTF8");
+	}
+
+	/**
+	 * Writes a positive int with a variable length.
+	 *
+	 * @param pOut the output stream
+	 * @param pValue the value
+	 * @throws IOException if writing fails
+	 */
+	private static void writeVarInt(DataOutputStream pOut, int pValue) throws IOException
+	{
+		writeVarLong(pOut, pValue);
+	}
+
+	/**
+	 * Reads an int written with {@link #writeVarInt(DataOutputStream, int)}.
+	 *
+	 * @param pIn the input stream
+	 * @return the value
+	 * @throws IOException if reading fails
+	 */
+	private static int readVarInt(DataInputStream pIn) throws IOException
+	{
+		return (int)readVarLong(pIn);
+	}
+
+	/**
+	 * Writes a long with 7 bits per byte. The highest bit marks that another byte follows.
+	 *
+	 * @param pOut the output stream
+	 * @param pValue the value
+	 * @throws IOException if writing fails
+	 */
+	private static void writeVarLong(DataOutputStream pOut, long pValue) throws IOException
+	{
+		long lValue = pValue;
+
+		while ((lValue & ~0x7FL) != 0)
+		{
+			pOut.writeByte((int)(lValue & 0x7F) | 0x80);
+
+			lValue >>>= 7;
+		}
+
+		pOut.writeByte((int)lValue);
+	}
+
+	/**
+	 * Reads a long written with {@link #writeVarLong(DataOutputStream, long)}.
+	 *
+	 * @param pIn the input stream
+	 * @return the value
+	 * @throws IOException if reading fails
+	 */
+	private static long readVarLong(DataInputStream pIn) throws IOException
+	{
+		long lValue = 0;
+		int iShift = 0;
+		int iByte;
+
+		do
+		{
+			iByte = pIn.readUnsignedByte();
+
+			lValue |= (long)(iByte & 0x7F) << iShift;
+
+			iShift += 7;
+		}
+		while ((iByte & 0x80) != 0);
+
+		return lValue;
+	}
+
+	/**
+	 * Maps a signed value to an unsigned value, so that small negative values are small as well.
+	 *
+	 * @param pValue the signed value
+	 * @return the unsigned value
+	 */
+	private static long zigZag(long pValue)
+	{
+		return (pValue << 1) ^ (pValue >> 63);
+	}
+
+	/**
+	 * Maps a value created with {@link #zigZag(long)} back to the signed value.
+	 *
+	 * @param pValue the unsigned value
+	 * @return the signed value
+	 */
+	private static long unZigZag(long pValue)
+	{
+		return (pValue >>> 1) ^ -(pValue & 1);
+	}
+
+}	// RowBlockSerializer
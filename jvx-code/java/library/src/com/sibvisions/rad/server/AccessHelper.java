@@ -17,9 +17,11 @@
  * History
  * 
  * 28.06.2019 - [JR] - creation
+ * 18.10.2026 - [JR] - getEnvironments, isEnvironment for precomputed access decisions
  */
 package com.sibvisions.rad.server;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.List;
 
@@ -29,6 +31,7 @@ import javax.rad.server.SessionContext;
 
 import com.sibvisions.rad.server.annotation.Accessible;
 import com.sibvisions.rad.server.annotation.NotAccessible;
+import com.sibvisions.util.ArrayUtil;
 import com.sibvisions.util.Reflective;
 import com.sibvisions.util.type.StringUtil;
 
@@ -69,43 +72,7 @@ public final class AccessHelper
 			return false;
 		}
 		
-		String sEnv = getEnvironmentName();
-		
-		List<Accessible> liAccess = Reflective.getAnnotation(pMethod, Accessible.class);
-		
-		if (liAccess != null)
-		{
-			//no environment available -> only allow ALL environments and don't allow specific environments
-
-			for (int i = 0, cnt = liAccess.size(); i < cnt; i++)
-			{
-				String sValidEnv = liAccess.get(i).environment();
-				
-				if (sValidEnv == null)
-				{
-					return true;
-				}
-				
-				for (String env : StringUtil.separateList(sValidEnv, ",", true))
-				{
-					if (Accessible.ENVIRONMENT_ALL.equalsIgnoreCase(env))
-					{
-						return true;
-					}
-
-					//only compare environment, if environment is known - otherwise the environment is ignore completely
-					if (sEnv != null)
-					{
-						if (sEnv.equalsIgnoreCase(env))
-						{
-							return true;
-						}
-					}
-				}
-			}
-		}
-		
-		return false;
+		return isEnvironment(getEnvironments(pMethod, Accessible.class));
 	}
 	
 	/**
@@ -122,39 +89,79 @@ public final class AccessHelper
 			return true;
 		}
 		
-		String sEnv = getEnvironmentName();
+		return isEnvironment(getEnvironments(pMethod, NotAccessible.class));
+	}
+	
+	/**
+	 * Gets the environments of all {@link Accessible} or {@link NotAccessible} annotations of the given method.
+	 * An annotation without environment is returned as {@link Accessible#ENVIRONMENT_ALL}.
+	 * 
+	 * @param pMethod the method
+	 * @param pAnnotation the annotation type ({@link Accessible} or {@link NotAccessible})
+	 * @return the environments or an empty array if the annotation is not present
+	 */
+	static String[] getEnvironments(Method pMethod, Class<? extends Annotation> pAnnotation)
+	{
+		List<? extends Annotation> liAccess = Reflective.getAnnotation(pMethod, pAnnotation);
 		
-		List<NotAccessible> liAccess = Reflective.getAnnotation(pMethod, NotAccessible.class);
+		ArrayUtil<String> auEnvironments = new ArrayUtil<String>();
 		
-		if (liAccess != null)
+		for (int i = 0, cnt = liAccess.size(); i < cnt; i++)
 		{
-			//no environment available -> only allow ALL environments and don't allow specific environments
-
-			for (int i = 0, cnt = liAccess.size(); i < cnt; i++)
+			Annotation anno = liAccess.get(i);
+			
+			String sValidEnv;
+			
+			if (anno instanceof Accessible)
 			{
-				String sValidEnv = liAccess.get(i).environment();
-				
-				if (sValidEnv == null)
-				{
-					return true;
-				}
-				
-				for (String env : StringUtil.separateList(sValidEnv, ",", true))
-				{
-					if (NotAccessible.ENVIRONMENT_ALL.equalsIgnoreCase(env))
-					{
-						return true;
-					}
-
-					//only compare environment, if environment is known - otherwise the environment is ignored completely
-					if (sEnv != null)
-					{
-						if (sEnv.equalsIgnoreCase(env))
-						{
-							return true;
-						}
-					}
-				}
+				sValidEnv = ((Accessible)anno).environment();
+			}
+			else
+			{
+				sValidEnv = ((NotAccessible)anno).environment();
+			}
+			
+			if (sValidEnv == null)
+			{
+				auEnvironments.add(Accessible.ENVIRONMENT_ALL);
+			}
+			else
+			{
+				auEnvironments.addAll(StringUtil.separateList(sValidEnv, ",", true));
+			}
+		}
+		
+		return auEnvironments.toArray(new String[auEnvironments.size()]);
+	}
+	
+	/**
+	 * Checks whether the environment of the current master session is one of the given environments.
+	 * 
+	 * @param pEnvironments the environments, see {@link #getEnvironments(Method, Class)}
+	 * @return <code>true</code> if the given environments contain {@link Accessible#ENVIRONMENT_ALL} or
+	 *         the current environment
+	 */
+	static boolean isEnvironment(String[] pEnvironments)
+	{
+		if (pEnvironments.length == 0)
+		{
+			return false;
+		}
+		
+		//no environment available -> only allow ALL environments and don't allow specific environments
+		String sEnv = getEnvironmentName();
+		
+		for (int i = 0; i < pEnvironments.length; i++)
+		{
+			if (Accessible.ENVIRONMENT_ALL.equalsIgnoreCase(pEnvironments[i]))
+			{
+				return true;
+			}
+			
+			//only compare environment, if environment is known - otherwise the environment is ignored completely
+			if (sEnv != null && sEnv.equalsIgnoreCase(pEnvironments[i]))
+			{
+				return true;
 			}
 		}
 		
@@ -48,6 +48,8 @@
  * 09.03.2015 - [JR] - #965: Used existing annotations
  * 29.05.2015 - [JR] - #1397: notify callhandler about object creation
  * 21.02.2019 - [JR] - #1990: initial method/object name set
+ * 18.10.2026 - [JR] - getObject for warm-up without session lock
+ *                   - getObject, invoke: cached method resolution via InvocationCache
  */
 package com.sibvisions.rad.server;
 
@@ -77,7 +79,6 @@ import javax.rad.type.bean.Bean;
 
 import com.sibvisions.rad.server.annotation.Accessible;
 import com.sibvisions.rad.server.annotation.NotAccessible;
-import com.sibvisions.rad.server.annotation.Replacement;
 import com.sibvisions.rad.server.annotation.StrictIsolation;
 import com.sibvisions.rad.server.config.Configuration;
 import com.sibvisions.rad.server.security.IAccessController;
@@ -193,157 +194,182 @@ public class DefaultObjectProvider extends AbstractObjectProvider
     {
         synchronized (pSession)
         {
-            Map mapLifeCycle = getSessionObject(pSession);
-            
-            //#1105
-            if (mapLifeCycle instanceof ImplicitLifeCycleObject)
+            return getObjectIntern(pSession, pObjectName);
+        }
+    }
+    
+    /**
+     * Gets an object for the warm-up of a session. The object access doesn't lock the session, because
+     * the objects of a warm-up step are created in parallel. This is safe, because the session is not
+     * available for the client before the warm-up is finished, the life-cycle object already exists and
+     * the objects of a step are different properties of the life-cycle object. The properties are stored 
+     * with the synchronized {@link GenericBean#put(String, Object)}. Objects which are shared by the 
+     * objects of a step have to be created in an earlier step.
+     * 
+     * @param pSession the accessing session
+     * @param pObjectName the object name
+     * @return the object
+     * @throws Throwable if the object is not available or the creation failed
+     */
+    Object getWarmUpObject(ISession pSession, String pObjectName) throws Throwable
+    {
+        return getObjectIntern(pSession, pObjectName);
+    }
+    
+    /**
+     * Gets an object from the life-cycle object of a session. The caller is responsible for the lock.
+     * 
+     * @param pSession the accessing session
+     * @param pObjectName the object name
+     * @return the object
+     * @throws Throwable if the object is not available or the creation failed
+     */
+    private Object getObjectIntern(ISession pSession, String pObjectName) throws Throwable
+    {
+        Map mapLifeCycle = getSessionObject(pSession);
+        
+        //#1105
+        if (mapLifeCycle instanceof ImplicitLifeCycleObject)
+        {
+            throw new ClassNotFoundException("Missing instance name");              
+        }
+        
+        //search the object name within the life-cycle object
+        
+        if (pObjectName == null || pObjectName.trim().length() == 0)
+        {
+            if (mapLifeCycle == null)
             {
-                throw new ClassNotFoundException("Missing instance name");              
+                throw new UnknownObjectException(pSession.getLifeCycleName());
             }
             
-            //search the object name within the life-cycle object
+            //an action call doesn't need an object name
+            return mapLifeCycle;
+        }
+        else
+        {
+            //search the desired object
+            ArrayUtil<String> auNames = StringUtil.separateList(pObjectName, ".", true);
             
-            if (pObjectName == null || pObjectName.trim().length() == 0)
+            //get the callable object
+            Object oInvoke = mapLifeCycle;
+            Object oResult;
+            String sObjectName;
+            
+            StringBuilder sbCurrentObjectName = new StringBuilder();
+            
+            AbstractSessionContext context = ((AbstractSessionContext)SessionContext.getCurrentInstance());
+            
+            String sOriginalMethodName = context.getMethodName();
+            
+            context.setInitialMethodName(sOriginalMethodName);
+            context.setInitialObjectName(context.getObjectName());
+            context.setMethodName(null);
+            
+            IObjectAccessController controller = getObjectAccessController();
+            
+            for (int i = 0, anz = auNames.size(); i < anz; i++)
             {
-                if (mapLifeCycle == null)
+                sObjectName = auNames.get(i);
+                
+                if (sbCurrentObjectName.length() > 0)
                 {
-                    throw new UnknownObjectException(pSession.getLifeCycleName());
+                    sbCurrentObjectName.append(".");
                 }
                 
-                //an action call doesn't need an object name
-                return mapLifeCycle;
-            }
-            else
-            {
-                //search the desired object
-                ArrayUtil<String> auNames = StringUtil.separateList(pObjectName, ".", true);
-                
-                //get the callable object
-                Object oInvoke = mapLifeCycle;
-                Object oResult;
-                String sObjectName;
-                
-                StringBuilder sbCurrentObjectName = new StringBuilder();
+                sbCurrentObjectName.append(sObjectName);
                 
-                AbstractSessionContext context = ((AbstractSessionContext)SessionContext.getCurrentInstance());
+                context.setObjectName(sbCurrentObjectName.toString());
                 
-                String sOriginalMethodName = context.getMethodName();
+                if (i == anz - 1)
+                {
+                    context.setMethodName(sOriginalMethodName);
+                }
+
+                if (oInvoke == null)
+                {
+                    throw new UnknownObjectException(sbCurrentObjectName.toString());
+                }
                 
-                context.setInitialMethodName(sOriginalMethodName);
-                context.setInitialObjectName(context.getObjectName());
-                context.setMethodName(null);
+                String sMethodName = StringUtil.formatMethodName("get", sObjectName);
                 
-                IObjectAccessController controller = getObjectAccessController();
+                InvocationCache.Invocation invocation = InvocationCache.getMethod(oInvoke.getClass(), sMethodName); 
                 
-                for (int i = 0, anz = auNames.size(); i < anz; i++)
+                NoSuchMethodException nsme = null;
+
+                if (invocation != null)
                 {
-                    sObjectName = auNames.get(i);
-                    
-                    if (sbCurrentObjectName.length() > 0)
-                    {
-                        sbCurrentObjectName.append(".");
-                    }
-                    
-                    sbCurrentObjectName.append(sObjectName);
-                    
-                    context.setObjectName(sbCurrentObjectName.toString());
-                    
-                    if (i == anz - 1)
-                    {
-                        context.setMethodName(sOriginalMethodName);
-                    }
-    
-                    if (oInvoke == null)
-                    {
-                        throw new UnknownObjectException(sbCurrentObjectName.toString());
-                    }
-                    
                     try
                     {
-                        String sMethodName = StringUtil.formatMethodName("get", sObjectName);
-                        
-                        Method met = Reflective.getMethod(oInvoke.getClass(), sMethodName); 
-
                         if (i > 0)
                         {
-                            oInvoke = invokeSubMethod(pSession, met, oInvoke, sbCurrentObjectName);
+                            oInvoke = invokeSubMethod(pSession, invocation, oInvoke, sbCurrentObjectName);
                         }
                         else
                         {
-                            oInvoke = invokeMethod(pSession, met, oInvoke, sbCurrentObjectName);
+                            oInvoke = invokeMethod(pSession, invocation, oInvoke, sbCurrentObjectName);
                         }
                     }
-                    catch (NoSuchMethodException nsme)
+                    catch (NoSuchMethodException ex)
                     {
-                        boolean bFound = false;
+                        nsme = ex;
                         
-                        //first object: check replacements
-                        if (i == 0)
-                        {
-                            Replacement replace;
+                        invocation = null;
+                    }
+                }
+                
+                if (invocation == null)
+                {
+                    boolean bFound = false;
+                    
+                    //first object: check replacements
+                    if (i == 0)
+                    {
+                        Method met = InvocationCache.getReplacement(oInvoke.getClass(), true, sObjectName);
                         
-                            Method[] methods = oInvoke.getClass().getMethods();
+                        if (met != null)
+                        {
+                            oInvoke = invokeMethod(pSession, InvocationCache.getMethod(oInvoke.getClass(), met.getName()), oInvoke, sbCurrentObjectName);
                             
-                            if (methods != null)
-                            {
-                                for (int j = 0; j < methods.length && !bFound; j++)
-                                {                                    
-                                    if (methods[j].getParameterTypes().length == 0 && methods[j].getReturnType() != Void.TYPE)
-                                    {
-                                        replace = methods[j].getAnnotation(Replacement.class);
-                                        
-                                        if (replace != null)
-                                        {
-                                            if (sObjectName.equals(replace.name()))
-                                            {
-                                                if (i > 0)
-                                                {
-                                                    oInvoke = invokeSubMethod(pSession, methods[j], oInvoke, sbCurrentObjectName);
-                                                }
-                                                else
-                                                {
-                                                    oInvoke = invokeMethod(pSession, methods[j], oInvoke, sbCurrentObjectName);
-                                                }
-                                                
-                                                bFound = true;
-                                            }
-                                        }
-                                    }
-                                }
-                            }
+                            bFound = true;
                         }
+                    }
 
-                        if (!bFound)
+                    if (!bFound)
+                    {
+                        if (oInvoke instanceof Map)
                         {
-                            if (oInvoke instanceof Map)
+                            oResult = ((Map)oInvoke).get(sObjectName);
+                            
+                            if (oResult == null && !((Map)oInvoke).containsKey(sObjectName))
                             {
-                                oResult = ((Map)oInvoke).get(sObjectName);
-                                
-                                if (oResult == null && !((Map)oInvoke).containsKey(sObjectName))
-                                {
-                                    throw new UnknownObjectException(sObjectName);
-                                }
-                                
-                                //use the result!
-                                oInvoke = oResult;
+                                throw new UnknownObjectException(sObjectName);
                             }
-                            else
+                            
+                            //use the result!
+                            oInvoke = oResult;
+                        }
+                        else
+                        {
+                            if (nsme == null)
                             {
-                                throw new UnknownObjectException(sObjectName, nsme);
+                                nsme = new NoSuchMethodException(Reflective.getMethodDeclaration(oInvoke.getClass(), sMethodName));
                             }
+                            
+                            throw new UnknownObjectException(sObjectName, nsme);
                         }
                     }
-                    
-                    //#535
-                    if (controller != null && !controller.isObjectAccessAllowed(this, pSession, mapLifeCycle, sbCurrentObjectName.toString(), oInvoke))
-                    {
-                        throw new SecurityException("Access to '" + sObjectName + "' is denied!");
-                    }
                 }
                 
-                //don't check null, because a getXXX method exists and returns null (maybe expected)!
-                return oInvoke;
+                //#535
+                if (controller != null && !controller.isObjectAccessAllowed(this, pSession, mapLifeCycle, sbCurrentObjectName.toString(), oInvoke))
+                {
+                    throw new SecurityException("Access to '" + sObjectName + "' is denied!");
+                }
             }
+            
+            //don't check null, because a getXXX method exists and returns null (maybe expected)!
+            return oInvoke;
         }
     }
     
@@ -458,30 +484,17 @@ public class DefaultObjectProvider extends AbstractObjectProvider
 //                	return Reflective.call(obj, method, pParams);
                     
                     //call the action by name, and all methods because we are not a generic bean
-                    return Reflective.call(obj, pMethodName, pParams);
+                    return InvocationCache.call(obj, false, pMethodName, pParams);
                 }
             }
             catch (NoSuchMethodException nsme)
             {
                 //check replacements
-                Replacement replace;
-            
-                Method[] methods = obj.getClass().getDeclaredMethods();
+                Method met = InvocationCache.getReplacement(obj.getClass(), false, pMethodName);
                 
-                if (methods != null)
+                if (met != null)
                 {
-                    for (int i = 0; i < methods.length; i++)
-                    {                                    
-                        replace = methods[i].getAnnotation(Replacement.class);
-                        
-                        if (replace != null)
-                        {
-                            if (pMethodName.equals(replace.name()))
-                            {
-                                return Reflective.call(obj, true, methods[i].getName(), pParams);
-                            }
-                        }
-                    }
+                    return InvocationCache.call(obj, true, met.getName(), pParams);
                 }
                 
                 throw nsme;
@@ -1339,28 +1352,21 @@ public class DefaultObjectProvider extends AbstractObjectProvider
      * annotation is present.
      * 
      * @param pSession the session to use
-     * @param pMethod the method to call
+     * @param pInvocation the method to call
      * @param pObject the object that contains the method
      * @param pObjectName the object name (only for exception handling)
      * @return the result of the method call
      * @throws Throwable if method call fails
      * @throws SecurityException if access to method was explicitely denied
      */
-    private Object invokeMethod(ISession pSession, Method pMethod, Object pObject, StringBuilder pObjectName) throws Throwable
+    private Object invokeMethod(ISession pSession, InvocationCache.Invocation pInvocation, Object pObject, StringBuilder pObjectName) throws Throwable
     {
-    	if (AccessHelper.isNotAccesible(pMethod))
+    	if (pInvocation.isNotAccessible())
         {
             throw new SecurityException("Access to " + pObjectName + " denied!");
         }
         
-        try
-        {
-            return pMethod.invoke(pObject);
-        }
-        catch (InvocationTargetException ite)
-        {
-            throw ite.getCause();
-        }
+        return pInvocation.invoke(pObject);
     }
 
     /**
@@ -1368,21 +1374,21 @@ public class DefaultObjectProvider extends AbstractObjectProvider
      * annotation is present and the environment check is valid.
      * 
      * @param pSession the session to use
-     * @param pMethod the method to call
+     * @param pInvocation the method to call
      * @param pObject the object that contains the method
      * @param pObjectName the object name (only for exception handling)
      * @return the result of the method call
-     * @throws Exception if method call fails
+     * @throws Throwable if method call fails
      * @throws SecurityException if access to method was not explicitly granted
      */
-    private Object invokeSubMethod(ISession pSession, Method pMethod, Object pObject, StringBuilder pObjectName) throws Exception
+    private Object invokeSubMethod(ISession pSession, InvocationCache.Invocation pInvocation, Object pObject, StringBuilder pObjectName) throws Throwable
     {
-        if (!AccessHelper.isAccessible(pMethod))
+        if (!pInvocation.isAccessible())
         {
             throw new SecurityException("Access to " + pObjectName + " denied!");
         }
         
-        return pMethod.invoke(pObject);
+        return pInvocation.invoke(pObject);
     }
     
     /**
@@ -46,24 +46,41 @@
  * 08.06.2016 - [JR] - #25: isValid implemented
  * 23.06.2016 - [JR] - push feature   
  * 12.03.2019 - [JR] - #1998: destroy method implemented                       
+ * 18.10.2026 - [JR] - parallel warm-up of master session objects
+ *                   - getInitialProperties: announce readable compression codecs
  */
 package com.sibvisions.rad.server;
 
+import java.lang.reflect.Method;
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.rad.remote.IConnectionConstants;
 import javax.rad.remote.SessionExpiredException;
 import javax.rad.remote.SessionInvalidatedException;
+import javax.rad.server.AbstractObjectProvider;
 import javax.rad.server.AbstractSessionManager;
 import javax.rad.server.IConfiguration;
 import javax.rad.server.ISession;
 import javax.rad.server.ServerContext;
+import javax.rad.server.SessionContext;
 import javax.rad.server.event.FailedSessionEvent;
 import javax.rad.server.event.IFailedSessionListener;
 import javax.rad.server.event.ISessionListener;
@@ -72,6 +89,8 @@ import javax.rad.server.push.IPushReceiver;
 import javax.rad.server.push.PushMessage;
 
 import com.sibvisions.rad.remote.ISerializer;
+import com.sibvisions.rad.remote.compression.CompressionCodecs;
+import com.sibvisions.rad.server.annotation.WarmUp;
 import com.sibvisions.rad.server.http.HttpContext;
 import com.sibvisions.rad.server.protocol.ICategoryConstants;
 import com.sibvisions.rad.server.protocol.ICommandConstants;
@@ -88,6 +107,7 @@ import com.sibvisions.util.log.ILogger;
 import com.sibvisions.util.log.LoggerFactory;
 import com.sibvisions.util.type.CommonUtil;
 import com.sibvisions.util.type.StringUtil;
+import com.sibvisions.util.xml.XmlNode;
 
 /**
  * The <code>DefaultSessionManager</code> handles the access to all sessions
@@ -114,6 +134,9 @@ public class DefaultSessionManager extends AbstractSessionManager
 	/** delay for the <code>Controller</code> between two checks. */
 	private static final long CONTROLLER_INTERVAL = 10000L;
 
+	/** the default number of threads for the warm-up of sessions. */
+	private static final int WARMUP_THREADS = 4;
+
 	/** the relevant system properties. */
 	private static final String[] USED_SYSPROPS = {"user.timezone", "user.name", "os.name", "os.version", 
 												   "os.arch", "java.vendor", "java.version", 
@@ -159,6 +182,12 @@ public class DefaultSessionManager extends AbstractSessionManager
 	
 	/** the controller check interval. */
 	private static long lControllerInterval = CONTROLLER_INTERVAL;
+	
+	/** the executor for the warm-up of sessions. */
+	private static ThreadPoolExecutor tpeWarmUp = null;
+	
+	/** the number of threads for the warm-up of sessions. */
+	private static int iWarmUpThreads = WARMUP_THREADS;
 		
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
@@ -487,6 +516,8 @@ public class DefaultSessionManager extends AbstractSessionManager
             			throw th;
             		}
             		
+            		warmUp(session);
+            		
             		return session.getId();
                 }
                 finally
@@ -1439,6 +1470,9 @@ public class DefaultSessionManager extends AbstractSessionManager
 		    chtProperties.put(IConnectionConstants.PREFIX_SERVER + "usingProtocol", "true");
 		}
 		
+		//the client uses other codecs than GZIP only if we are able to read them
+		chtProperties.put(IConnectionConstants.COMPRESSION_CODECS_SERVER, CompressionCodecs.getNames());
+		
 		//-----------------------------------------------------------
 		// System Properties
 		//-----------------------------------------------------------
@@ -1613,6 +1647,278 @@ public class DefaultSessionManager extends AbstractSessionManager
 		return lControllerInterval;
 	}
 	
+	/**
+	 * Sets the number of threads for the warm-up of sessions. The threads are shared by all sessions.
+	 * 
+	 * @param pThreads the number of threads. If the value is &lt;= 0, the default value will be used.
+	 */
+	public static synchronized void setWarmUpThreads(int pThreads)
+	{
+		if (pThreads <= 0)
+		{
+			iWarmUpThreads = WARMUP_THREADS;
+		}
+		else
+		{
+			iWarmUpThreads = pThreads;
+		}
+		
+		if (tpeWarmUp != null)
+		{
+			//the core size must not be greater than the maximum size
+			if (iWarmUpThreads > tpeWarmUp.getMaximumPoolSize())
+			{
+				tpeWarmUp.setMaximumPoolSize(iWarmUpThreads);
+				tpeWarmUp.setCorePoolSize(iWarmUpThreads);
+			}
+			else
+			{
+				tpeWarmUp.setCorePoolSize(iWarmUpThreads);
+				tpeWarmUp.setMaximumPoolSize(iWarmUpThreads);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the number of threads for the warm-up of sessions.
+	 * 
+	 * @return the number of threads
+	 */
+	public static int getWarmUpThreads()
+	{
+		return iWarmUpThreads;
+	}
+	
+	/**
+	 * Gets the executor for the warm-up of sessions. The threads of the executor will be stopped
+	 * if they are not used.
+	 * 
+	 * @return the executor
+	 */
+	private static synchronized ThreadPoolExecutor getWarmUpExecutor()
+	{
+		if (tpeWarmUp == null)
+		{
+			tpeWarmUp = new ThreadPoolExecutor(iWarmUpThreads, iWarmUpThreads, 60, TimeUnit.SECONDS, 
+			                                   new LinkedBlockingQueue<Runnable>(),
+			                                   new ThreadFactory()
+			{
+				/** the thread number. */
+				private AtomicInteger aiNumber = new AtomicInteger();
+				
+				public Thread newThread(Runnable pRunnable)
+				{
+					Thread th = new Thread(pRunnable, "WarmUp-" + aiNumber.incrementAndGet());
+					th.setDaemon(true);
+					
+					return th;
+				}
+			});
+			tpeWarmUp.allowCoreThreadTimeOut(true);
+		}
+		
+		return tpeWarmUp;
+	}
+	
+	/**
+	 * Creates the warm-up objects of a master session, before the session will be used from the client.
+	 * The objects are configured in the application configuration (<code>/application/lifecycle/warmup/step</code>,
+	 * comma separated object names per step) or marked with the {@link WarmUp} annotation. The objects of a step 
+	 * are created in parallel, and the steps are processed in ascending order.
+	 * <p>
+	 * A failed object creation will be logged, because the object will be created again with the first call.
+	 * </p>
+	 * 
+	 * @param pSession the master session
+	 */
+	private void warmUp(MasterSession pSession)
+	{
+		AbstractObjectProvider objProvider = pSession.getObjectProvider();
+		
+		if (!(objProvider instanceof DefaultObjectProvider))
+		{
+			return;
+		}
+		
+		TreeMap<Integer, List<String>> tmSteps = getWarmUpSteps(pSession);
+		
+		if (tmSteps.isEmpty())
+		{
+			return;
+		}
+		
+		DefaultObjectProvider provider = (DefaultObjectProvider)objProvider;
+		
+		Record record = ProtocolFactory.openRecord(ICategoryConstants.SESSION_MANAGER, ICommandConstants.SESSMAN_WARMUP);
+		
+		try
+		{
+			if (record != null)
+			{
+				record.setParameter(pSession.getLifeCycleName(), tmSteps.values());
+			}
+			
+			List<Future<Throwable>> liFutures = new ArrayList<Future<Throwable>>();
+			
+			try
+			{
+				//the life-cycle object is needed before the parallel access
+				provider.getSessionObject(pSession);
+				
+				for (List<String> liNames : tmSteps.values())
+				{
+					liFutures.clear();
+					
+					for (int i = 1, anz = liNames.size(); i < anz; i++)
+					{
+						liFutures.add(getWarmUpExecutor().submit(new WarmUpWorker(pSession, provider, liNames.get(i))));
+					}
+					
+					//the first object will be created by the current thread
+					logWarmUpError(liNames.get(0), new WarmUpWorker(pSession, provider, liNames.get(0)).call());
+					
+					for (int i = 0, anz = liFutures.size(); i < anz; i++)
+					{
+						logWarmUpError(liNames.get(i + 1), liFutures.get(i).get());
+					}
+				}
+			}
+			catch (InterruptedException ie)
+			{
+				for (int i = 0, anz = liFutures.size(); i < anz; i++)
+				{
+					liFutures.get(i).cancel(false);
+				}
+				
+				Thread.currentThread().interrupt();
+			}
+			catch (Throwable th)
+			{
+				if (th instanceof ExecutionException)
+				{
+					th = th.getCause();
+				}
+				
+				if (record != null)
+				{
+					record.setException(th);
+				}
+				
+				log.error(th);
+			}
+		}
+		finally
+		{
+			CommonUtil.close(record);
+		}
+	}
+	
+	/**
+	 * Logs the error of an object creation during warm-up.
+	 * 
+	 * @param pObjectName the object name
+	 * @param pError the error or <code>null</code> if the object was created
+	 */
+	private void logWarmUpError(String pObjectName, Throwable pError)
+	{
+		if (pError != null)
+		{
+			log.error("Warm-up of '", pObjectName, "' failed!", pError);
+		}
+	}
+	
+	/**
+	 * Gets the warm-up objects of a master session, grouped by step.
+	 * 
+	 * @param pSession the master session
+	 * @return the object names per step
+	 * @see #warmUp(MasterSession)
+	 */
+	private TreeMap<Integer, List<String>> getWarmUpSteps(MasterSession pSession)
+	{
+		TreeMap<Integer, List<String>> tmSteps = new TreeMap<Integer, List<String>>();
+		
+		Set<String> setNames = new HashSet<String>();
+		
+		try
+		{
+			List<XmlNode> liSteps = pSession.getApplicationZone().getNodes("/application/lifecycle/warmup/step");
+			
+			if (liSteps != null)
+			{
+				for (int i = 0, anz = liSteps.size(); i < anz; i++)
+				{
+					for (String sName : StringUtil.separateList(liSteps.get(i).getValue(), ",", true))
+					{
+						addWarmUpObject(tmSteps, setNames, i, sName);
+					}
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			log.debug(e);
+		}
+		
+		String sLcoName = pSession.getLifeCycleName();
+		
+		if (!StringUtil.isEmpty(sLcoName))
+		{
+			try
+			{
+				WarmUp warmup;
+				
+				String sMethodName;
+				
+				for (Method method : pSession.getClass(sLcoName).getMethods())
+				{
+					warmup = method.getAnnotation(WarmUp.class);
+					
+					if (warmup != null && method.getParameterTypes().length == 0)
+					{
+						sMethodName = method.getName();
+						
+						if (sMethodName.startsWith("get") && sMethodName.length() > 3)
+						{
+							addWarmUpObject(tmSteps, setNames, warmup.step(), StringUtil.formatMemberName(sMethodName.substring(3)));
+						}
+					}
+				}
+			}
+			catch (ClassNotFoundException cnfe)
+			{
+				log.debug(cnfe);
+			}
+		}
+		
+		return tmSteps;
+	}
+	
+	/**
+	 * Adds an object to a warm-up step if it's not already added to another step.
+	 * 
+	 * @param pSteps the object names per step
+	 * @param pNames the already added object names
+	 * @param pStep the step
+	 * @param pObjectName the object name
+	 */
+	private static void addWarmUpObject(TreeMap<Integer, List<String>> pSteps, Set<String> pNames, int pStep, String pObjectName)
+	{
+		if (!StringUtil.isEmpty(pObjectName) && pNames.add(pObjectName))
+		{
+			List<String> liNames = pSteps.get(Integer.valueOf(pStep));
+			
+			if (liNames == null)
+			{
+				liNames = new ArrayList<String>();
+				
+				pSteps.put(Integer.valueOf(pStep), liNames);
+			}
+			
+			liNames.add(pObjectName);
+		}
+	}
+	
 	/**
 	 * Gets the expected cache mode for the given session.
 	 * 
@@ -1752,6 +2058,96 @@ public class DefaultSessionManager extends AbstractSessionManager
 		
 	}	// Controller
 	
+	/**
+	 * The <code>WarmUpWorker</code> creates an object of a master session during the warm-up.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private final class WarmUpWorker implements Callable<Throwable>
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/** the session. */
+		private MasterSession session;
+		
+		/** the object provider. */
+		private DefaultObjectProvider provider;
+		
+		/** the object name. */
+		private String objectName;
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Creates a new instance of <code>WarmUpWorker</code>.
+		 * 
+		 * @param pSession the session
+		 * @param pProvider the object provider
+		 * @param pObjectName the object name
+		 */
+		private WarmUpWorker(MasterSession pSession, DefaultObjectProvider pProvider, String pObjectName)
+		{
+			session = pSession;
+			provider = pProvider;
+			objectName = pObjectName;
+		}
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Interface implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Creates the object.
+		 * 
+		 * @return <code>null</code> if the object was created, otherwise the error
+		 */
+		public Throwable call()
+		{
+			//null if the current thread has a context
+			ServerContext ctxt = ((Server)getServer()).createServerContext();
+			
+			try
+			{
+				if (ctxt instanceof AbstractServerContext)
+				{
+					((AbstractServerContext)ctxt).setSession(session);
+				}
+				
+				SessionContext context = session.createSessionContext(objectName, null);
+				
+				try
+				{
+					provider.getWarmUpObject(session, objectName);
+					
+					return null;
+				}
+				finally
+				{
+					if (context != null)
+					{
+						context.release();
+					}
+				}
+			}
+			catch (Throwable th)
+			{
+				return th;
+			}
+			finally
+			{
+				if (ctxt != null)
+				{
+					ctxt.release();
+				}
+			}
+		}
+		
+	}	// WarmUpWorker
+	
 	/**
 	 * The <code>SystemIdentifier</code> is a non serializable property wrapper.
 	 * 
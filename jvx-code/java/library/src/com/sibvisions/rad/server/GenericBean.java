@@ -32,6 +32,8 @@
  * 24.05.2018 - [JR] - #1927: get(Object) overwritten
  * 21.02.2019 - [JR] - #1992: introduced invoker
  *                   - #1993: don't put new object in get if getXXX method was called
+ * 18.10.2026 - [JR] - synchronized put and recursive call detection per thread for parallel warm-up
+ *                   - invoke: cached method resolution via InvocationCache
  */
 package com.sibvisions.rad.server;
 
@@ -328,14 +330,17 @@ public abstract class GenericBean extends Bean
     /** the binding between properties and classes. */
     private Hashtable<PropertyDefinition, Class<?>> htProperties = new Hashtable<PropertyDefinition, Class<?>>();
 	
-	/** the property access for recursive call detection. */
-	private boolean[] bPropertyAccess;
+	/** the creating thread per property, for recursive call detection. */
+	private Thread[] thPropertyAccess;
+	
+	/** the creating threads, for which other creating threads wait. */
+	private Hashtable<Thread, Thread> htWaitingFor;
 	
 	/** whether the superclass check was done. */
 	private boolean bInitialized = false;
 	
-	/** whether get requests should ignore object initialization. */
-	private boolean bIgnoreInitialization = false;
+	/** the thread, whose get requests should ignore object initialization. */
+	private Thread thIgnoreInitialization = null;
 	
 	/** whether the instance is already destroyed. */
 	private boolean bDestroyed = false;
@@ -728,16 +733,20 @@ public abstract class GenericBean extends Bean
 
         setName(pValue, pPropertyName);
 		
-		//avoid object initialization -> only get existing (initialized) objects
-		bIgnoreInitialization = true;
-		
-		try
-		{
-			return super.put(pPropertyName, pValue);
-		}
-		finally
+		//synchronized, because the objects of a warm-up are created in parallel
+		synchronized (this)
 		{
-			bIgnoreInitialization = false;
+			//avoid object initialization -> only get existing (initialized) objects
+			thIgnoreInitialization = Thread.currentThread();
+			
+			try
+			{
+				return super.put(pPropertyName, pValue);
+			}
+			finally
+			{
+				thIgnoreInitialization = null;
+			}
 		}
 	}
 	
@@ -761,7 +770,7 @@ public abstract class GenericBean extends Bean
 	{
         initBeanType();
 
-        if (bIgnoreInitialization)
+        if (thIgnoreInitialization == Thread.currentThread())
 		{
 			return super.get(pIndex);
 		}
@@ -965,16 +974,16 @@ public abstract class GenericBean extends Bean
 	 */
     private Object invoke(Class<?> pBaseClass, boolean pOnlyDeclared, String pMethod, Object... pParams) throws Throwable
     {
-    	Method method = Reflective.getMethodForCall(pBaseClass, pOnlyDeclared, pMethod, pParams);
+    	InvocationCache.Invocation invocation = InvocationCache.getMethodForCall(pBaseClass, pOnlyDeclared, pMethod, pParams);
 
-        if (method != null)
+        if (invocation != null)
         {
-            if (AccessHelper.isNotAccesible(method))
+            if (invocation.isNotAccessible())
             {
                 throw new SecurityException("Access to " + pMethod + " denied!");
             }
             
-            return Reflective.call(this, method, pParams);
+            return invocation.invoke(this, pParams);
         }
         
         throw new NoSuchMethodException(Reflective.getMethodDeclaration(pBaseClass, pMethod, pParams));
@@ -1001,31 +1010,76 @@ public abstract class GenericBean extends Bean
 	    {
 	        return null;
 	    }
-	    else if (bPropertyAccess == null)
-		{
-		    bPropertyAccess = new boolean[pIndex + 1];
-		}
-		else if (pIndex >= bPropertyAccess.length)
-		{
-			boolean[] baCopy = new boolean[Math.max(beanType.getPropertyCount(), pIndex + 1)];
-			
-			System.arraycopy(bPropertyAccess, 0, baCopy, 0, bPropertyAccess.length);
-			
-			bPropertyAccess = baCopy;
-		}
 		
         Object oValue = super.get(pIndex);
         
-        //avoid recursive calls with the same object name 
-		if (oValue != null || bPropertyAccess[pIndex])
+		if (oValue != null)
 		{
 			return oValue;
 		}
 		
-		try
+		Thread thCurrent = Thread.currentThread();
+		
+		//synchronized, because the objects of a warm-up are created in parallel
+		synchronized (this)
 		{
-		    bPropertyAccess[pIndex] = true;
+			if (thPropertyAccess == null)
+			{
+				thPropertyAccess = new Thread[Math.max(beanType.getPropertyCount(), pIndex + 1)];
+			}
+			else if (pIndex >= thPropertyAccess.length)
+			{
+				Thread[] thaCopy = new Thread[Math.max(beanType.getPropertyCount(), pIndex + 1)];
+				
+				System.arraycopy(thPropertyAccess, 0, thaCopy, 0, thPropertyAccess.length);
+				
+				thPropertyAccess = thaCopy;
+			}
+			
+			//another thread creates the object -> wait for its result
+			while (thPropertyAccess[pIndex] != null)
+			{
+				//avoid recursive calls with the same object name and cyclic waits of creating threads
+				if (isWaitingFor(thPropertyAccess[pIndex], thCurrent))
+				{
+					return super.get(pIndex);
+				}
+				
+				if (htWaitingFor == null)
+				{
+					htWaitingFor = new Hashtable<Thread, Thread>();
+				}
+				
+				htWaitingFor.put(thCurrent, thPropertyAccess[pIndex]);
+				
+				try
+				{
+					wait();
+				}
+				catch (InterruptedException ie)
+				{
+					thCurrent.interrupt();
+					
+					throw new RuntimeException("Waiting for " + beanType.getPropertyDefinition(pIndex).getName() + " was interrupted!", ie);
+				}
+				finally
+				{
+					htWaitingFor.remove(thCurrent);
+				}
+			}
+			
+			oValue = super.get(pIndex);
 			
+			if (oValue != null)
+			{
+				return oValue;
+			}
+			
+			thPropertyAccess[pIndex] = thCurrent;
+		}
+		
+		try
+		{
 			PropertyDefinition propdef = beanType.getPropertyDefinition(pIndex); 
 			
 			String sPropertyName = propdef.getName();
@@ -1122,10 +1176,41 @@ public abstract class GenericBean extends Bean
 		}
 		finally
 		{
-		    bPropertyAccess[pIndex] = false;
+			synchronized (this)
+			{
+				thPropertyAccess[pIndex] = null;
+				
+				notifyAll();
+			}
 		}
 	}
 	
+	/**
+	 * Gets whether the given creating thread is the given thread or waits, directly or
+	 * indirectly, for an object which is created by the given thread.
+	 * 
+	 * @param pCreator the creating thread
+	 * @param pThread the thread
+	 * @return <code>true</code> if <code>pCreator</code> waits for <code>pThread</code> or
+	 *         both are the same thread
+	 */
+	private boolean isWaitingFor(Thread pCreator, Thread pThread)
+	{
+		Thread thread = pCreator;
+		
+		while (thread != null)
+		{
+			if (thread == pThread)
+			{
+				return true;
+			}
+			
+			thread = htWaitingFor != null ? htWaitingFor.get(thread) : null;
+		}
+		
+		return false;
+	}
+	
 	/**
 	 * Gets a method for a member variable.
 	 * 
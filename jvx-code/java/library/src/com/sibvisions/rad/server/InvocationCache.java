@@ -0,0 +1,483 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.sibvisions.rad.server.annotation.Accessible;
+import com.sibvisions.rad.server.annotation.NotAccessible;
+import com.sibvisions.rad.server.annotation.Replacement;
+import com.sibvisions.util.Reflective;
+import com.sibvisions.util.Reflective.Parameter;
+
+/**
+ * The <code>InvocationCache</code> resolves server-side method calls once per class, method name and
+ * argument types. The resolved {@link Invocation} contains a {@link MethodHandle} and the precomputed
+ * {@link Accessible}/{@link NotAccessible} environments of the method.
+ * <p>
+ * The cache is bound to the {@link Class} via {@link ClassValue}. If a life-cycle class loader is
+ * replaced, the classes of the new class loader get new cache entries and the old entries are garbage
+ * collected together with the old class loader.
+ * </p>
+ *
+ * @author René Jahn
+ */
+public final class InvocationCache
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the lookup type for public methods. */
+    private static final int TYPE_CALL = 0;
+
+    /** the lookup type for declared methods. */
+    private static final int TYPE_CALL_DECLARED = 1;
+
+    /** the lookup type for getter methods. */
+    private static final int TYPE_GETTER = 2;
+
+    /** the lookup type for replacements of declared methods. */
+    private static final int TYPE_REPLACEMENT = 3;
+
+    /** the lookup type for replacements of getter methods. */
+    private static final int TYPE_REPLACEMENT_GETTER = 4;
+
+    /** the maximum number of cached signatures per class. */
+    private static final int MAX_SIGNATURES = 1024;
+
+    /** the marker for methods which are not available. */
+    private static final Object NOT_FOUND = new Object();
+
+    /** the cached signatures per class. */
+    private static final ClassValue<ConcurrentHashMap<Signature, Object>> CACHE = new ClassValue<ConcurrentHashMap<Signature, Object>>()
+    {
+        @Override
+        protected ConcurrentHashMap<Signature, Object> computeValue(Class<?> pClass)
+        {
+            return new ConcurrentHashMap<Signature, Object>();
+        }
+    };
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Invisible constructor because <code>InvocationCache</code> is a utility class.
+     */
+    private InvocationCache()
+    {
+        // No instance needed.
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Invokes the method of an object. It's the same as {@link Reflective#call(Object, boolean, String, Object...)},
+     * but the method resolution is cached.
+     *
+     * @param pObject the object with the desired method
+     * @param pOnlyDeclared <code>true</code> to use only declared methods
+     * @param pMethod the method name
+     * @param pParams the parameters for the method
+     * @return the return value from the method invocation
+     * @throws Throwable if it is not possible to invoke the method or the method throws an exception
+     */
+    public static Object call(Object pObject, boolean pOnlyDeclared, String pMethod, Object... pParams) throws Throwable
+    {
+        Class<?> clazz = pObject.getClass();
+
+        Invocation invocation = getMethodForCall(clazz, pOnlyDeclared, pMethod, pParams);
+
+        if (invocation == null)
+        {
+            throw new NoSuchMethodException(Reflective.getMethodDeclaration(clazz, pMethod, pParams));
+        }
+
+        return invocation.invoke(pObject, pParams);
+    }
+
+    /**
+     * Gets the invocation for a method call with the given parameters. The method will be found with
+     * {@link Reflective#getMethodForCall(Class, boolean, String, Object...)}.
+     *
+     * @param pClass the object class or a super class from which the method will be called
+     * @param pOnlyDeclared <code>true</code> to use only declared methods
+     * @param pMethod the method name
+     * @param pParams the parameters for the method
+     * @return the invocation or <code>null</code> if no method was found
+     * @throws Throwable if the method lookup fails
+     */
+    public static Invocation getMethodForCall(Class<?> pClass, boolean pOnlyDeclared, String pMethod, Object... pParams) throws Throwable
+    {
+        Class<?>[] types = null;
+
+        if (pParams != null)
+        {
+            types = new Class<?>[pParams.length];
+
+            for (int i = 0; i < pParams.length; i++)
+            {
+                if (pParams[i] instanceof Parameter)
+                {
+                    //the parameter type is not the type of the value -> don't cache
+                    Method method = Reflective.getMethodForCall(pClass, pOnlyDeclared, pMethod, pParams);
+
+                    return method == null ? null : new Invocation(method);
+                }
+
+                if (pParams[i] != null)
+                {
+                    types[i] = pParams[i].getClass();
+                }
+            }
+        }
+
+        Signature signature = new Signature(pOnlyDeclared ? TYPE_CALL_DECLARED : TYPE_CALL, pMethod, types);
+
+        ConcurrentHashMap<Signature, Object> chmSignatures = CACHE.get(pClass);
+
+        Object oInvocation = chmSignatures.get(signature);
+
+        if (oInvocation == null)
+        {
+            Method method = Reflective.getMethodForCall(pClass, pOnlyDeclared, pMethod, pParams);
+
+            oInvocation = put(chmSignatures, signature, method == null ? NOT_FOUND : new Invocation(method));
+        }
+
+        return oInvocation == NOT_FOUND ? null : (Invocation)oInvocation;
+    }
+
+    /**
+     * Gets the invocation for a public method without parameters, e.g. a getter method.
+     *
+     * @param pClass the object class
+     * @param pMethod the method name
+     * @return the invocation or <code>null</code> if the method is not available
+     */
+    public static Invocation getMethod(Class<?> pClass, String pMethod)
+    {
+        Signature signature = new Signature(TYPE_GETTER, pMethod, null);
+
+        ConcurrentHashMap<Signature, Object> chmSignatures = CACHE.get(pClass);
+
+        Object oInvocation = chmSignatures.get(signature);
+
+        if (oInvocation == null)
+        {
+            try
+            {
+                oInvocation = put(chmSignatures, signature, new Invocation(pClass.getMethod(pMethod)));
+            }
+            catch (NoSuchMethodException nsme)
+            {
+                oInvocation = put(chmSignatures, signature, NOT_FOUND);
+            }
+        }
+
+        return oInvocation == NOT_FOUND ? null : (Invocation)oInvocation;
+    }
+
+    /**
+     * Gets the method which is annotated with the given {@link Replacement} name.
+     *
+     * @param pClass the object class
+     * @param pGetter <code>true</code> to search a public getter method (without parameters and with
+     *                return value), <code>false</code> to search all declared methods
+     * @param pName the replacement name
+     * @return the method or <code>null</code> if no method has the given replacement name
+     */
+    public static Method getReplacement(Class<?> pClass, boolean pGetter, String pName)
+    {
+        Signature signature = new Signature(pGetter ? TYPE_REPLACEMENT_GETTER : TYPE_REPLACEMENT, pName, null);
+
+        ConcurrentHashMap<Signature, Object> chmSignatures = CACHE.get(pClass);
+
+        Object oMethod = chmSignatures.get(signature);
+
+        if (oMethod == null)
+        {
+            Method[] methods = pGetter ? pClass.getMethods() : pClass.getDeclaredMethods();
+
+            Replacement replace;
+
+            oMethod = NOT_FOUND;
+
+            for (int i = 0; i < methods.length && oMethod == NOT_FOUND; i++)
+            {
+                if (!pGetter || (methods[i].getParameterTypes().length == 0 && methods[i].getReturnType() != Void.TYPE))
+                {
+                    replace = methods[i].getAnnotation(Replacement.class);
+
+                    if (replace != null && pName.equals(replace.name()))
+                    {
+                        oMethod = methods[i];
+                    }
+                }
+            }
+
+            oMethod = put(chmSignatures, signature, oMethod);
+        }
+
+        return oMethod == NOT_FOUND ? null : (Method)oMethod;
+    }
+
+    /**
+     * Caches a resolved signature. The cache of the class will be cleared if it contains too many
+     * signatures, e.g. because of many calls of unknown methods.
+     *
+     * @param pSignatures the signature cache of the class
+     * @param pSignature the signature
+     * @param pValue the resolved value
+     * @return the cached value
+     */
+    private static Object put(ConcurrentHashMap<Signature, Object> pSignatures, Signature pSignature, Object pValue)
+    {
+        if (pSignatures.size() >= MAX_SIGNATURES)
+        {
+            pSignatures.clear();
+        }
+
+        Object oOld = pSignatures.putIfAbsent(pSignature, pValue);
+
+        return oOld != null ? oOld : pValue;
+    }
+
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
+
+    /**
+     * The <code>Invocation</code> is a resolved method with its {@link MethodHandle} and the precomputed
+     * access environments.
+     *
+     * @author René Jahn
+     */
+    public static final class Invocation
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Class members
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /** the method. */
+        private Method method;
+
+        /** the parameter types of the method. */
+        private Class<?>[] parameterTypes;
+
+        /** whether the method has variable arguments. */
+        private boolean bVarArgs;
+
+        /** the method handle with type (Object, Object[])Object or <code>null</code> if the method isn't accessible via method handle. */
+        private MethodHandle mhInvoker;
+
+        /** the environments of the {@link Accessible} annotations. */
+        private String[] saAccessible;
+
+        /** the environments of the {@link NotAccessible} annotations. */
+        private String[] saNotAccessible;
+
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Initialization
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * Creates a new instance of <code>Invocation</code>.
+         *
+         * @param pMethod the method
+         */
+        Invocation(Method pMethod)
+        {
+            method = pMethod;
+            parameterTypes = pMethod.getParameterTypes();
+            bVarArgs = pMethod.isVarArgs();
+
+            saAccessible = AccessHelper.getEnvironments(pMethod, Accessible.class);
+            saNotAccessible = AccessHelper.getEnvironments(pMethod, NotAccessible.class);
+
+            try
+            {
+                MethodHandle mh = MethodHandles.publicLookup().unreflect(pMethod).asFixedArity();
+
+                if (Modifier.isStatic(pMethod.getModifiers()))
+                {
+                    mh = MethodHandles.dropArguments(mh, 0, Object.class);
+                }
+
+                mhInvoker = mh.asType(MethodType.genericMethodType(parameterTypes.length + 1))
+                              .asSpreader(Object[].class, parameterTypes.length);
+            }
+            catch (IllegalAccessException iae)
+            {
+                //e.g. public method of a non public class -> use reflection
+                mhInvoker = null;
+            }
+        }
+
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // User-defined methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * Gets the method.
+         *
+         * @return the method
+         */
+        public Method getMethod()
+        {
+            return method;
+        }
+
+        /**
+         * Checks whether the method is {@link Accessible} for the environment of the current master session.
+         *
+         * @return <code>true</code> if the method is accessible, <code>false</code> otherwise
+         * @see AccessHelper#isAccessible(Method)
+         */
+        public boolean isAccessible()
+        {
+            return AccessHelper.isEnvironment(saAccessible);
+        }
+
+        /**
+         * Checks whether the method is {@link NotAccessible} for the environment of the current master session.
+         *
+         * @return <code>true</code> if the method is not accessible, <code>false</code> otherwise
+         * @see AccessHelper#isNotAccesible(Method)
+         */
+        public boolean isNotAccessible()
+        {
+            return AccessHelper.isEnvironment(saNotAccessible);
+        }
+
+        /**
+         * Invokes the method.
+         *
+         * @param pObject the object with the method
+         * @param pParams the parameters for the method
+         * @return the return value from the method invocation
+         * @throws Throwable if the method throws an exception
+         */
+        public Object invoke(Object pObject, Object... pParams) throws Throwable
+        {
+            if (mhInvoker == null)
+            {
+                return Reflective.call(pObject, method, pParams);
+            }
+
+            return (Object)mhInvoker.invokeExact(pObject, Reflective.convertParameters(parameterTypes, pParams, bVarArgs));
+        }
+
+    }   // Invocation
+
+    /**
+     * The <code>Signature</code> is the cache key of a method lookup.
+     *
+     * @author René Jahn
+     */
+    private static final class Signature
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Class members
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /** the lookup type. */
+        private int iType;
+
+        /** the method name. */
+        private String sName;
+
+        /** the argument types or <code>null</code> if the argument array is <code>null</code>. */
+        private Class<?>[] types;
+
+        /** the hash code. */
+        private int iHashCode;
+
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Initialization
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * Creates a new instance of <code>Signature</code>.
+         *
+         * @param pType the lookup type
+         * @param pName the method name
+         * @param pTypes the argument types, <code>null</code> elements for <code>null</code> arguments
+         */
+        Signature(int pType, String pName, Class<?>[] pTypes)
+        {
+            iType = pType;
+            sName = pName;
+            types = pTypes;
+
+            iHashCode = (31 * pType + pName.hashCode()) * 31 + Arrays.hashCode(pTypes);
+        }
+
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Overwritten methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode()
+        {
+            return iHashCode;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object pObject)
+        {
+            if (pObject == this)
+            {
+                return true;
+            }
+
+            if (!(pObject instanceof Signature))
+            {
+                return false;
+            }
+
+            Signature sig = (Signature)pObject;
+
+            return iHashCode == sig.iHashCode
+                   && iType == sig.iType
+                   && sName.equals(sig.sName)
+                   && Arrays.equals(types, sig.types);
+        }
+
+    }   // Signature
+
+}   // InvocationCache
@@ -19,17 +19,23 @@
  * 01.10.2008 - [JR] - creation
  * 11.05.2011 - [JR] - closeConnections implemented
  * 25.01.2019 - [JR] - close connection listener implemented
+ * 18.10.2026 - [JR] - object cache statistics
+ *                   - protocol metrics
  */
 package com.sibvisions.rad.server;
 
 import java.util.List;
+import java.util.Map;
 
 import javax.rad.server.ISession;
 import javax.rad.server.event.ISessionListener;
 
 import com.sibvisions.rad.server.monitoring.ICloseConnectionListener;
+import com.sibvisions.rad.server.protocol.MetricsProtocolFactory;
+import com.sibvisions.rad.server.protocol.MetricsProtocolWriter;
 import com.sibvisions.rad.server.security.ISecurityManager;
 import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.ObjectCache;
 
 /**
  * The <code>Monitoring</code> class will be used as server-side object for
@@ -303,6 +309,80 @@ public final class Monitoring implements ISessionListener
     	server.getSessionManager().removeSecurityManagersFromCache(pApplicationName);
     }
     
+    /**
+     * Gets the number of objects in the {@link ObjectCache}.
+     * 
+     * @return the number of cached objects
+     */
+    public int getObjectCacheSize()
+    {
+        return ObjectCache.size();
+    }
+    
+    /**
+     * Gets the number of successful {@link ObjectCache} accesses.
+     * 
+     * @return the hit count
+     */
+    public long getObjectCacheHitCount()
+    {
+        return ObjectCache.getHitCount();
+    }
+    
+    /**
+     * Gets the number of {@link ObjectCache} accesses which didn't find a valid object.
+     * 
+     * @return the miss count
+     */
+    public long getObjectCacheMissCount()
+    {
+        return ObjectCache.getMissCount();
+    }
+    
+    /**
+     * Gets the number of objects which were evicted from the {@link ObjectCache} because
+     * the maximum size was exceeded.
+     * 
+     * @return the eviction count
+     */
+    public long getObjectCacheEvictionCount()
+    {
+        return ObjectCache.getEvictionCount();
+    }
+    
+    /**
+     * Gets whether protocol metrics are collected. The metrics are collected if the 
+     * {@link MetricsProtocolFactory} is configured.
+     * 
+     * @return <code>true</code> if metrics are collected, <code>false</code> otherwise
+     */
+    public boolean isProtocolMetricsEnabled()
+    {
+        return MetricsProtocolWriter.isEnabled();
+    }
+    
+    /**
+     * Gets the protocol metrics, sorted by the total time, descending. Every metric contains the 
+     * category, command, name (e.g. the storage name), the number of calls, rows, bytes and errors 
+     * and the latency percentiles p50, p90, p99, p999 and max in milliseconds.
+     * 
+     * @param pCategory the category, e.g. <code>STORAGE</code> or <code>null</code> for all categories
+     * @return the metrics
+     */
+    public List<Map<String, Object>> getProtocolMetrics(String pCategory)
+    {
+        return MetricsProtocolWriter.getStatistics(pCategory);
+    }
+    
+    /**
+     * Removes all collected protocol metrics.
+     */
+    public void resetProtocolMetrics()
+    {
+        MetricsProtocolWriter.reset();
+    }
+    
+
 	/**
 	 * Adds an {@link ICloseConnectionListener} to the list of known listeners.
 	 * 
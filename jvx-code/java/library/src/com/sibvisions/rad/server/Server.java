@@ -56,10 +56,17 @@
  * 05.05.2017 - [JR] - #1788: don't remove default serializer
  * 21.11.2017 - [JR] - #1856: session lock mechanism used
  * 12.03.2019 - [JR] - #1998: stop now destroys session manager and sets instance to null
+ * 18.10.2026 - [JR] - createSessionIntern: enable row blocks if supported by the client
+ *                   - protocol factory configuration
+ *                   - configurable maximum size of the object cache
+ *                   - DefaultSessionManager.setWarmUpThreads called
+ *                   - process: big responses are streamed, cached responses are spilled to disk
+ *                   - process: negotiated compression codecs
  */
 package com.sibvisions.rad.server;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
@@ -76,8 +83,6 @@ import java.util.Map.Entry;
 import java.util.ServiceLoader;
 import java.util.WeakHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.naming.InitialContext;
 import javax.rad.remote.IConnection;
@@ -96,6 +101,8 @@ import javax.rad.server.push.PushMessage;
 import com.sibvisions.rad.IPackageSetup;
 import com.sibvisions.rad.remote.ISerializer;
 import com.sibvisions.rad.remote.UniversalSerializer;
+import com.sibvisions.rad.remote.compression.CompressionCodecs;
+import com.sibvisions.rad.remote.compression.ICompressionCodec;
 import com.sibvisions.rad.remote.mfa.MFAException;
 import com.sibvisions.rad.server.config.Configuration;
 import com.sibvisions.rad.server.config.ServerZone;
@@ -107,10 +114,12 @@ import com.sibvisions.rad.server.protocol.Record;
 import com.sibvisions.rad.server.security.AbstractSecurityManager;
 import com.sibvisions.util.ArrayUtil;
 import com.sibvisions.util.ChangedHashtable;
+import com.sibvisions.util.ObjectCache;
 import com.sibvisions.util.Reflective;
 import com.sibvisions.util.ThreadHandler;
 import com.sibvisions.util.io.MagicByteInputStream;
 import com.sibvisions.util.io.NonClosingInputStream;
+import com.sibvisions.util.io.ReplayOutputStream;
 import com.sibvisions.util.log.ILogger;
 import com.sibvisions.util.log.ILogger.LogLevel;
 import com.sibvisions.util.log.LoggerFactory;
@@ -139,6 +148,9 @@ public class Server implements IDirectServer
     /** the magic byte sequence. */
     private static final byte[] MAGIC_BYTES = new byte[] {(byte)0x80, (byte)0x17, (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF};
     
+    /** the default number of response bytes in memory. */
+    private static final int DEFAULT_RESPONSE_BUFFERSIZE = 1024 * 1024;
+    
     /** the server sequence. */
     private static AtomicInteger aiSequence = new AtomicInteger(0);
     
@@ -178,6 +190,12 @@ public class Server implements IDirectServer
     /** the startup time. */
     private long lStartupTime = System.currentTimeMillis();
     
+    /** the number of response bytes in memory before the response will be streamed. */
+    private int iResponseBufferSize = DEFAULT_RESPONSE_BUFFERSIZE;
+    
+    /** the preferred compression codecs for responses. */
+    private ICompressionCodec[] compressionCodecs = new ICompressionCodec[] {CompressionCodecs.GZIP};
+    
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Initialization
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -282,15 +300,79 @@ public class Server implements IDirectServer
             {
                 DefaultSessionManager.setControllerInterval(Long.parseLong(sInterval));
             }
+            
+            String sThreads = zone.getProperty("/server/sessionmanager/warmupThreads");
+            
+            if (!StringUtil.isEmpty(sThreads))
+            {
+                DefaultSessionManager.setWarmUpThreads(Integer.parseInt(sThreads));
+            }
+        }
+        catch (Throwable th)
+        {
+            log.debug(th);
+        }
+        
+        try
+        {
+            String sProtocolFactory = zone.getProperty("/server/protocol/factory");
+            
+            if (!StringUtil.isEmpty(sProtocolFactory))
+            {
+                ProtocolFactory.init(sProtocolFactory);
+            }
+        }
+        catch (Throwable th)
+        {
+            log.debug(th);
+        }
+        
+        try
+        {
+            String sMaxSize = zone.getProperty("/server/objectcache/maxsize");
+            
+            if (!StringUtil.isEmpty(sMaxSize))
+            {
+                ObjectCache.setMaxSize(Integer.parseInt(sMaxSize));
+            }
+        }
+        catch (Throwable th)
+        {
+            log.debug(th);
+        }
+        
+        try
+        {
+            String sBufferSize = zone.getProperty("/server/response/bufferSize");
+            
+            if (!StringUtil.isEmpty(sBufferSize))
+            {
+                setResponseBufferSize(Integer.parseInt(sBufferSize));
+            }
         }
         catch (Throwable th)
         {
             log.debug(th);
         }
         
+        try
+        {
+            ICompressionCodec[] codecs = CompressionCodecs.parse(zone.getProperty("/server/compression/codecs"));
+            
+            if (codecs != null)
+            {
+                setCompressionCodecs(codecs);
+            }
+        }
+        catch (Throwable th)
+        {
+            log.error(th);
+        }
+        
         try
         {
             String sObjProvider = zone.getProperty("/server/objectprovider/class");
+
         
             objectprov = (AbstractObjectProvider)Reflective.construct(sObjProvider, this);
             
@@ -1524,6 +1606,50 @@ public class Server implements IDirectServer
         return lStartupTime;
     }
     
+    /**
+     * Sets the number of response bytes which will be kept in memory. If a response is bigger, it will be
+     * sent while serializing and the copy for the retry mechanism will be stored in a temporary file.
+     * 
+     * @param pBufferSize the number of bytes or <code>-1</code> to keep all responses in memory
+     */
+    public void setResponseBufferSize(int pBufferSize)
+    {
+        iResponseBufferSize = pBufferSize;
+    }
+    
+    /**
+     * Gets the number of response bytes which will be kept in memory.
+     * 
+     * @return the number of bytes or <code>-1</code> if all responses will be kept in memory
+     * @see #setResponseBufferSize(int)
+     */
+    public int getResponseBufferSize()
+    {
+        return iResponseBufferSize;
+    }
+    
+    /**
+     * Sets the preferred compression codecs for responses. The first codec which is supported by the client
+     * and accepts the response size will be used.
+     * 
+     * @param pCodecs the codecs in order of preference
+     * @see CompressionCodecs#select(ICompressionCodec[], String, long)
+     */
+    public void setCompressionCodecs(ICompressionCodec... pCodecs)
+    {
+        compressionCodecs = pCodecs;
+    }
+    
+    /**
+     * Gets the preferred compression codecs for responses.
+     * 
+     * @return the codecs in order of preference
+     */
+    public ICompressionCodec[] getCompressionCodecs()
+    {
+        return compressionCodecs;
+    }
+    
     /**
      * Processes client requests which uses the communication protocol.
      * 
@@ -1543,11 +1669,13 @@ public class Server implements IDirectServer
 
             AbstractSession session = null;
 
+            ResponseContent content = null;
+            
             try
             {
                 InputStream in;
                 
-                ByteArrayOutputStream baosResponse;
+                ReplayOutputStream rosResponse;
                 
                 ISerializer serializer = null;
                 
@@ -1624,11 +1752,11 @@ public class Server implements IDirectServer
                     InputStream isContent;
                     
                     //Check compression option
-                    if (iMode == IConnection.MODE_COMPRESSED)
+                    if (iMode != IConnection.MODE_UNCOMPRESSED)
                     {
                         mbisRequest = new MagicByteInputStream(new NonClosingInputStream(in), MAGIC_BYTES);
        
-                        isContent = new GZIPInputStream(mbisRequest);
+                        isContent = CompressionCodecs.createInputStream(iMode, mbisRequest);
                     }
                     else
                     {
@@ -1780,7 +1908,7 @@ public class Server implements IDirectServer
                             
                             crPending = new CachedResponse(lCommunicationId);
                             
-                            whmResponse.put(sessMaster, crPending);
+                            release(whmResponse.put(sessMaster, crPending));
                         }
                         
                         oRead = serializer.read(disContent);
@@ -2018,8 +2146,6 @@ public class Server implements IDirectServer
                         // RESPONSE
                         //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
             
-                        baosResponse = new ByteArrayOutputStream();
-                        
                         //Response-Header (same as in AbstractSerializedConnection.java)
                         //
                         //<STREAM-IDENTIFIER>  1Byte  (E = Established; B = Broken) 
@@ -2034,10 +2160,12 @@ public class Server implements IDirectServer
                             //Without serializer the only possibility to send back an error messages is serialization 
                             //via DataOutputStream e.g when the session timed out
                             
-                            baosResponse.write(IConnection.FLAG_BROKEN);
-                            baosResponse.write(IConnection.MODE_UNCOMPRESSED);
+                            rosResponse = new ReplayOutputStream(Integer.MAX_VALUE);
                             
-                            DataOutputStream dosContent  = new DataOutputStream(baosResponse);
+                            rosResponse.write(IConnection.FLAG_BROKEN);
+                            rosResponse.write(IConnection.MODE_UNCOMPRESSED);
+                            
+                            DataOutputStream dosContent  = new DataOutputStream(rosResponse);
                             
                             try
                             {
@@ -2168,8 +2296,18 @@ public class Server implements IDirectServer
                             
                             iCallCount = auOrderedResult != null ? auOrderedResult.size() : 0;
     
-                            ByteArrayOutputStream baosContent = new ByteArrayOutputStream();
-                            DataOutputStream dosContent  = new DataOutputStream(baosContent);
+                            //Compression will be used when the client-support for compression is enabled
+                            boolean bCompressionSupported = session != null 
+                                                            //getProperties().get -> don't change the access/alive time because the session will not time out!
+                                                            && Boolean.parseBoolean((String)session.getProperties().get(IConnectionConstants.COMPRESSION));
+            
+                            //big results will be sent while serializing
+                            content = new ResponseContent(pResponse, 
+                                                          bCompressionSupported ? compressionCodecs : null,
+                                                          bCompressionSupported ? (String)session.getProperties().get(IConnectionConstants.COMPRESSION_CODECS_CLIENT) : null,
+                                                          iResponseBufferSize);
+                            
+                            DataOutputStream dosContent  = new DataOutputStream(content);
                             
                             try
                             {
@@ -2201,11 +2339,15 @@ public class Server implements IDirectServer
                                     catch (Exception e)
                                     {
                                         //serialization failed!
-                                        dosContent.close();
+                                        if (content.isStreaming())
+                                        {
+                                            //the response is partially sent -> it's not possible to send the error
+                                            throw e;
+                                        }
                                         
                                         //re-create
-                                        baosContent = new ByteArrayOutputStream();
-                                        dosContent  = new DataOutputStream(baosContent);
+                                        content.reset();
+                                        dosContent  = new DataOutputStream(content);
                                         
                                         //write "wrong" count, to be sure that the client validation (if any) doesn't fail
                                         serializer.write(dosContent, Integer.valueOf(iCallCount));
@@ -2221,34 +2363,16 @@ public class Server implements IDirectServer
                                 dosContent.close();
                             }
                 
-                            baosResponse.write(IConnection.FLAG_ESTABLISHED);
-                            
-                            //Compression will be used when the client-support for compression is enabled
-                            boolean bCompressionSupported = session != null 
-                                                            //getProperties().get -> don't change the access/alive time because the session will not time out!
-                                                            && Boolean.parseBoolean((String)session.getProperties().get(IConnectionConstants.COMPRESSION));
-            
-                            if (bCompressionSupported && baosContent.size() > IConnection.COMPRESSION_BYTES)
-                            {
-                                baosResponse.write(IConnection.MODE_COMPRESSED);
-                                
-                                GZIPOutputStream zosContent = new GZIPOutputStream(baosResponse);
-                                baosContent.writeTo(zosContent);
-                                zosContent.close();
-    
-                                baosResponse.write(MAGIC_BYTES);
-                            }
-                            else
-                            {
-                                baosResponse.write(IConnection.MODE_UNCOMPRESSED);
-    
-                                baosContent.writeTo(baosResponse);
-                            }
+                            rosResponse = content.finish();
                         }
             
+                        boolean bCached = false;
+                        
                         if (crPending != null)
                         {
-                            crPending.content = baosResponse;
+                            crPending.content = rosResponse;
+                            
+                            bCached = true;
                             
                             synchronized (crPending)
                             {
@@ -2264,11 +2388,31 @@ public class Server implements IDirectServer
                             if (crOld == null || crOld.id.longValue() + 1 == lCommunicationId.longValue())
                             {
                                 //only put new session
-                                whmResponse.put(sessman.getMasterSession(session), new CachedResponse(lCommunicationId, baosResponse));
+                                release(whmResponse.put(sessman.getMasterSession(session), new CachedResponse(lCommunicationId, rosResponse)));
+                                
+                                bCached = true;
                             }
                         }
     
-                        sendContent(pResponse, baosResponse);
+                        try
+                        {
+                            if (content != null && content.isStreaming())
+                            {
+                                //already sent
+                                pResponse.close();
+                            }
+                            else
+                            {
+                                sendContent(pResponse, rosResponse);
+                            }
+                        }
+                        finally
+                        {
+                            if (!bCached)
+                            {
+                                rosResponse.release();
+                            }
+                        }
                     }
                 }
     
@@ -2276,6 +2420,11 @@ public class Server implements IDirectServer
             }
             catch (Exception e)
             {
+                if (content != null)
+                {
+                    content.abort();
+                }
+                
                 if (record != null)
                 {
                     record.setException(e);
@@ -2309,7 +2458,7 @@ public class Server implements IDirectServer
      * @param pContent the content to send
      * @throws IOException if sending fails
      */
-    private void sendContent(IResponse pResponse, ByteArrayOutputStream pContent) throws IOException
+    private void sendContent(IResponse pResponse, ReplayOutputStream pContent) throws IOException
     {
         try
         {
@@ -2324,6 +2473,19 @@ public class Server implements IDirectServer
         }
     }
     
+    /**
+     * Releases the content of a cached response, e.g. the temporary file of a big response.
+     * 
+     * @param pResponse the replaced or removed response or <code>null</code>
+     */
+    private void release(CachedResponse pResponse)
+    {
+        if (pResponse != null && pResponse.content != null)
+        {
+            pResponse.content.release();
+        }
+    }
+    
     /**
      * Executes a remote method call request.
      *
@@ -2518,8 +2680,15 @@ public class Server implements IDirectServer
                                        ISerializer pSerializer, 
                                        ChangedHashtable<String, Object> pProperties) throws Throwable
     {
+        //row blocks can be read by the client
+        if (pSerializer instanceof UniversalSerializer && pProperties != null)
+        {
+            ((UniversalSerializer)pSerializer).setRowBlockEnabled(Boolean.parseBoolean((String)pProperties.get(IConnectionConstants.ROWBLOCK)));
+        }
+        
         return sessman.createSession(pRequest, pSerializer, pProperties);
     }
+
     
     /**
      * Creates a sub session through the session manager.
@@ -2947,7 +3116,7 @@ public class Server implements IDirectServer
         protected Long id;
 
         /** the cached data. */
-        protected ByteArrayOutputStream content;
+        protected ReplayOutputStream content;
         
         //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
         // Initialization
@@ -2969,7 +3138,7 @@ public class Server implements IDirectServer
          * @param pId the id
          * @param pContent the content
          */
-        private CachedResponse(Long pId, ByteArrayOutputStream pContent)
+        private CachedResponse(Long pId, ReplayOutputStream pContent)
         {
             id = pId;
             content = pContent;
@@ -2977,6 +3146,245 @@ public class Server implements IDirectServer
         
     }   // CachedResponse
     
+    /**
+     * The <code>ResponseContent</code> collects the serialized results of a request. Up to the buffer size, 
+     * the results are kept in memory and sent after serialization, as before. Bigger results will be sent 
+     * while serializing, compressed if supported, and recorded for the retry mechanism. The compression codec
+     * is selected by the content size and the codecs which the client supports.
+     * 
+     * @author Ren Jahn
+     */
+    private static final class ResponseContent extends OutputStream
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Class members
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /** the response. */
+        private IResponse response;
+        
+        /** the preferred compression codecs or <code>null</code> if the client doesn't support compression. */
+        private ICompressionCodec[] codecs;
+        
+        /** the names of the compression codecs, which the client supports. */
+        private String sAcceptedCodecs;
+        
+        /** the number of bytes in memory or <code>-1</code> to keep all bytes in memory. */
+        private int iBufferSize;
+        
+        /** the buffered content. */
+        private ByteArrayOutputStream baosContent = new ByteArrayOutputStream();
+        
+        /** the sent and recorded response. */
+        private ReplayOutputStream rosResponse;
+        
+        /** the compression stream. */
+        private OutputStream zosContent;
+        
+        /** the stream for the content, while streaming. */
+        private OutputStream osContent;
+        
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Initialization
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * Creates a new instance of <code>ResponseContent</code>.
+         * 
+         * @param pResponse the response
+         * @param pCodecs the preferred compression codecs or <code>null</code> if the client doesn't support compression
+         * @param pAcceptedCodecs the names of the compression codecs, which the client supports
+         * @param pBufferSize the number of bytes in memory or <code>-1</code> to keep all bytes in memory
+         */
+        private ResponseContent(IResponse pResponse, ICompressionCodec[] pCodecs, String pAcceptedCodecs, int pBufferSize)
+        {
+            response = pResponse;
+            codecs = pCodecs;
+            sAcceptedCodecs = pAcceptedCodecs;
+            iBufferSize = pBufferSize;
+        }
+        
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Overwritten methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(int pByte) throws IOException
+        {
+            if (osContent == null)
+            {
+                if (iBufferSize < 0 || baosContent.size() < iBufferSize)
+                {
+                    baosContent.write(pByte);
+                    
+                    return;
+                }
+                
+                startStreaming();
+            }
+            
+            osContent.write(pByte);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void write(byte[] pBytes, int pOffset, int pLength) throws IOException
+        {
+            if (osContent == null)
+            {
+                if (iBufferSize < 0 || baosContent.size() + pLength <= iBufferSize)
+                {
+                    baosContent.write(pBytes, pOffset, pLength);
+                    
+                    return;
+                }
+                
+                startStreaming();
+            }
+            
+            osContent.write(pBytes, pOffset, pLength);
+        }
+        
+        /**
+         * Does nothing, because the content will be completed with {@link #finish()}.
+         */
+        @Override
+        public void close()
+        {
+        }
+        
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // User-defined methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * Writes the response header and the buffered content to the response and continues with streaming.
+         * 
+         * @throws IOException if writing fails
+         */
+        private void startStreaming() throws IOException
+        {
+            rosResponse = new ReplayOutputStream(new BufferedOutputStream(response.getOutputStream(), 8192), iBufferSize);
+            
+            rosResponse.write(IConnection.FLAG_ESTABLISHED);
+            
+            //the content is bigger than the buffer
+            ICompressionCodec codec = CompressionCodecs.select(codecs, sAcceptedCodecs, iBufferSize + 1L);
+            
+            if (codec != null)
+            {
+                rosResponse.write(codec.getMode());
+                
+                zosContent = codec.createOutputStream(rosResponse);
+                
+                osContent = zosContent;
+            }
+            else
+            {
+                rosResponse.write(IConnection.MODE_UNCOMPRESSED);
+                
+                osContent = rosResponse;
+            }
+            
+            baosContent.writeTo(osContent);
+            baosContent = null;
+        }
+        
+        /**
+         * Gets whether the content is sent while serializing.
+         * 
+         * @return <code>true</code> if the response is (partially) sent, <code>false</code> if the content is in memory
+         */
+        private boolean isStreaming()
+        {
+            return osContent != null;
+        }
+        
+        /**
+         * Removes the buffered content.
+         * 
+         * @throws IllegalStateException if the response is already (partially) sent
+         */
+        private void reset()
+        {
+            if (isStreaming())
+            {
+                throw new IllegalStateException("Response is already sent!");
+            }
+            
+            baosContent = new ByteArrayOutputStream();
+        }
+        
+        /**
+         * Completes the response. The response is already sent if {@link #isStreaming()} returns <code>true</code>.
+         * 
+         * @return the complete response, for sending and the retry mechanism
+         * @throws IOException if writing fails
+         */
+        private ReplayOutputStream finish() throws IOException
+        {
+            if (isStreaming())
+            {
+                if (zosContent != null)
+                {
+                    zosContent.close();
+                    
+                    rosResponse.write(MAGIC_BYTES);
+                }
+                
+                rosResponse.flush();
+                
+                return rosResponse;
+            }
+            
+            ReplayOutputStream rosContent = new ReplayOutputStream(Integer.MAX_VALUE);
+            
+            rosContent.write(IConnection.FLAG_ESTABLISHED);
+            
+            ICompressionCodec codec = CompressionCodecs.select(codecs, sAcceptedCodecs, baosContent.size());
+            
+            if (codec != null)
+            {
+                rosContent.write(codec.getMode());
+                
+                OutputStream zos = codec.createOutputStream(rosContent);
+                baosContent.writeTo(zos);
+                zos.close();
+
+                rosContent.write(MAGIC_BYTES);
+            }
+            else
+            {
+                rosContent.write(IConnection.MODE_UNCOMPRESSED);
+
+                baosContent.writeTo(rosContent);
+            }
+            
+            baosContent = null;
+            
+            return rosContent;
+        }
+        
+        /**
+         * Aborts a streamed response because of an error.
+         */
+        private void abort()
+        {
+            if (isStreaming())
+            {
+                rosResponse.release();
+                
+                response.close();
+            }
+        }
+        
+    }   // ResponseContent
+    
     /**
      * The <code>SerializerInfo</code> is a simple container for a serializer class name 
      * and the object creation time. It will be used for caching.
@@ -3058,7 +3466,7 @@ public class Server implements IDirectServer
         public void sessionDestroyed(ISession pSession)
         {
             //clear cache (only an instance of MasterSession will clear the cache)
-            server.whmResponse.remove(pSession);
+            server.release(server.whmResponse.remove(pSession));
             
             if (pSession instanceof AbstractSession)
             {
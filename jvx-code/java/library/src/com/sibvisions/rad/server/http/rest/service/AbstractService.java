@@ -19,6 +19,7 @@
  * 18.09.2014 - [JR] - creation
  * 04.09.2018 - [JR] - #1945: use prefix and postfix for code parameter
  * 05.03.2021 - [JR] - #2605: set content-disposition
+ * 18.10.2026 - [JR] - configureObjectMapper
  */
 package com.sibvisions.rad.server.http.rest.service;
 
@@ -351,17 +352,25 @@ abstract class AbstractService extends ServerResource
         {
 	        JacksonRepresentation rep = new JacksonRepresentation(pObject);
 	        
-	        ObjectMapper mapper = rep.getObjectMapper();
-	        
-	        JSONUtil.configureObjectMapper(mapper);
-	        
-	        mapper.addMixInAnnotations(DBAccess.class, DBAccessMixin.class);
-	        mapper.addMixInAnnotations(BeanConverter.class, BeanConverterMixin.class);
+	        configureObjectMapper(rep.getObjectMapper());
 	        
 	        return rep;
         }
     }
     
+    /**
+     * Configures the object mapper for JSON responses.
+     * 
+     * @param pMapper the object mapper
+     */
+    protected void configureObjectMapper(ObjectMapper pMapper)
+    {
+        JSONUtil.configureObjectMapper(pMapper);
+        
+        pMapper.addMixInAnnotations(DBAccess.class, DBAccessMixin.class);
+        pMapper.addMixInAnnotations(BeanConverter.class, BeanConverterMixin.class);
+    }
+    
     /**
      * Converts an error bean to a html response.
      * 
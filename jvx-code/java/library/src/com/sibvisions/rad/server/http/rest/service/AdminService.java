@@ -19,6 +19,7 @@
  * 11.12.2011 - [JR] - creation
  * 18.06.2015 - [JR] - #1413: IFileHandle support
  * 21.06.2018 - [JR] - recording implemented
+ * 18.10.2026 - [JR] - metrics service
  */
 package com.sibvisions.rad.server.http.rest.service;
 
@@ -42,6 +43,7 @@ import com.sibvisions.rad.server.config.Configuration;
 import com.sibvisions.rad.server.http.rest.RESTAdapter;
 import com.sibvisions.rad.server.protocol.ICategoryConstants;
 import com.sibvisions.rad.server.protocol.ICommandConstants;
+import com.sibvisions.rad.server.protocol.MetricsProtocolWriter;
 import com.sibvisions.rad.server.protocol.ProtocolFactory;
 import com.sibvisions.rad.server.protocol.Record;
 import com.sibvisions.rad.server.security.DBSecurityManager;
@@ -141,6 +143,31 @@ public class AdminService extends AbstractCustomService
 						return null;
 					}
 				}
+				else if ("metrics".equals(sAction))
+				{
+					if (bDefaultEnabled)
+					{
+						//the parameter is an optional category
+						if (MetricsProtocolWriter.isEnabled())
+						{
+							return toInternalRepresentation(MetricsProtocolWriter.getStatistics(sParam));
+						}
+						else
+						{
+							setStatus(Status.SERVER_ERROR_SERVICE_UNAVAILABLE);
+							
+							return null;
+						}
+					}
+					else
+					{
+						debug("Default admin service '", sAction, "' is not enabled!");
+
+						setStatus(Status.CLIENT_ERROR_NOT_FOUND);
+						
+						return null;
+					}
+				}
 				else
 				{
 					if (((RESTAdapter)getApplication()).isAdminServiceEnabled(sAction))
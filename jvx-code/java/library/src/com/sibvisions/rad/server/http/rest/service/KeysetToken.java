@@ -0,0 +1,424 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ *            - [JR] - offset fallback for rows without simple values
+ */
+package com.sibvisions.rad.server.http.rest.service;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.rad.model.ModelException;
+import javax.rad.model.SortDefinition;
+import javax.rad.model.condition.And;
+import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.Greater;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.Less;
+import javax.rad.model.condition.Or;
+import javax.rad.model.datatype.IDataType;
+import javax.rad.model.datatype.TimestampDataType;
+import javax.rad.persist.MetaData;
+import javax.rad.type.bean.IBean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sibvisions.rad.server.http.rest.JSONUtil;
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.type.CodecUtil;
+
+/**
+ * The <code>KeysetToken</code> is the position of a row in a sorted result. It is used for keyset pagination:
+ * the next page starts after the last row of the previous page, without counting the rows before. The sort
+ * definition always contains the primary key columns, so the position of a row is unique.
+ * <p>
+ * If the position of a row can't be described, e.g. because a sort value is <code>null</code>, the token
+ * keeps the last known position and counts the rows after it. The next page skips these rows (offset paging),
+ * so the pagination never stops too early.
+ * </p>
+ * <p>
+ * The token is transferred as URL-safe Base64 encoded JSON text.
+ * </p>
+ *
+ * @author René Jahn
+ */
+final class KeysetToken
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the property name for the column names. */
+	private static final String PROP_COLUMNS = "c";
+
+	/** the property name for the sort directions. */
+	private static final String PROP_ASCENDING = "a";
+
+	/** the property name for the values. */
+	private static final String PROP_VALUES = "v";
+
+	/** the property name for the offset. */
+	private static final String PROP_OFFSET = "o";
+
+	/** the sort column names. */
+	private String[] saColumns;
+
+	/** the sort directions. */
+	private boolean[] baAscending;
+
+	/** the values of the last row or <code>null</code> for the start of the result. */
+	private Object[] oaValues;
+
+	/** the number of rows to skip after the position. */
+	private int iOffset;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>KeysetToken</code>.
+	 *
+	 * @param pColumns the sort column names
+	 * @param pAscending the sort directions
+	 * @param pValues the values of the last row or <code>null</code> for the start of the result
+	 * @param pOffset the number of rows to skip after the position
+	 */
+	private KeysetToken(String[] pColumns, boolean[] pAscending, Object[] pValues, int pOffset)
+	{
+		saColumns = pColumns;
+		baAscending = pAscending;
+		oaValues = pValues;
+		iOffset = pOffset;
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates the sort definition for keyset pagination. The primary key columns are appended
+	 * to the given sort definition, if they are not already sorted.
+	 *
+	 * @param pSort the requested sort definition or <code>null</code>
+	 * @param pPKColumns the primary key columns
+	 * @return the sort definition or <code>null</code> if keyset pagination isn't possible, because
+	 *         the storage has no primary key
+	 */
+	static SortDefinition createSortDefinition(SortDefinition pSort, String[] pPKColumns)
+	{
+		if (pPKColumns == null || pPKColumns.length == 0)
+		{
+			return null;
+		}
+
+		String[] sColumns = pSort != null ? pSort.getColumns() : null;
+		boolean[] bAscending = pSort != null ? pSort.isAscending() : null;
+
+		if (sColumns == null)
+		{
+			sColumns = new String[0];
+		}
+
+		int iCount = sColumns.length;
+
+		String[] sNewColumns = Arrays.copyOf(sColumns, iCount + pPKColumns.length);
+		boolean[] bNewAscending = new boolean[sNewColumns.length];
+
+		for (int i = 0; i < iCount; i++)
+		{
+			bNewAscending[i] = bAscending == null || i >= bAscending.length || bAscending[i];
+		}
+
+		for (int i = 0; i < pPKColumns.length; i++)
+		{
+			if (ArrayUtil.indexOf(sColumns, pPKColumns[i]) < 0)
+			{
+				sNewColumns[iCount] = pPKColumns[i];
+				bNewAscending[iCount] = true;
+
+				iCount++;
+			}
+		}
+
+		return new SortDefinition(Arrays.copyOf(sNewColumns, iCount), Arrays.copyOf(bNewAscending, iCount));
+	}
+
+	/**
+	 * Creates the token for the position of the given row.
+	 *
+	 * @param pSort the sort definition, created with {@link #createSortDefinition(SortDefinition, String[])}
+	 * @param pBean the last row of a page
+	 * @return the token or <code>null</code> if the position can't be described, because a value is <code>null</code>
+	 *         or not a simple value
+	 */
+	static KeysetToken create(SortDefinition pSort, IBean pBean)
+	{
+		String[] sColumns = pSort.getColumns();
+
+		Object[] oValues = new Object[sColumns.length];
+
+		for (int i = 0; i < sColumns.length; i++)
+		{
+			Object oValue = pBean.get(sColumns[i]);
+
+			if (!(oValue instanceof Number || oValue instanceof String || oValue instanceof Date || oValue instanceof Boolean))
+			{
+				return null;
+			}
+
+			oValues[i] = oValue;
+		}
+
+		return new KeysetToken(sColumns, pSort.isAscending(), oValues, 0);
+	}
+
+	/**
+	 * Creates the token for the next page, if the position of the last row of a page can't be described.
+	 * The position of the previous token is kept and the offset is increased by the rows of the page.
+	 *
+	 * @param pSort the sort definition, created with {@link #createSortDefinition(SortDefinition, String[])}
+	 * @param pPrevious the token of the current page or <code>null</code> for the first page
+	 * @param pRows the number of rows of the current page
+	 * @return the token
+	 */
+	static KeysetToken createOffset(SortDefinition pSort, KeysetToken pPrevious, int pRows)
+	{
+		if (pPrevious == null)
+		{
+			return new KeysetToken(pSort.getColumns(), pSort.isAscending(), null, pRows);
+		}
+
+		return new KeysetToken(pPrevious.saColumns, pPrevious.baAscending, pPrevious.oaValues, pPrevious.iOffset + pRows);
+	}
+
+	/**
+	 * Decodes a token and converts the values to the types of the columns.
+	 *
+	 * @param pToken the encoded token
+	 * @param pMetaData the meta data of the storage
+	 * @return the token
+	 * @throws IllegalArgumentException if the token is invalid
+	 */
+	static KeysetToken decode(String pToken, MetaData pMetaData)
+	{
+		try
+		{
+			ObjectMapper mapper = JSONUtil.createObjectMapper();
+
+			Map<?, ?> mpToken = mapper.readValue(CodecUtil.decodeBase64(pToken), Map.class);
+
+			List<?> liColumns = (List<?>)mpToken.get(PROP_COLUMNS);
+			List<?> liAscending = (List<?>)mpToken.get(PROP_ASCENDING);
+			List<?> liValues = (List<?>)mpToken.get(PROP_VALUES);
+			Number nOffset = (Number)mpToken.get(PROP_OFFSET);
+
+			int iCount = liColumns.size();
+			int iOffset = nOffset != null ? nOffset.intValue() : 0;
+
+			if (iCount == 0 || liAscending.size() != iCount || iOffset < 0
+				|| (liValues == null ? iOffset == 0 : liValues.size() != iCount))
+			{
+				throw new IllegalArgumentException("Invalid keyset token: " + pToken);
+			}
+
+			String[] sColumns = new String[iCount];
+			boolean[] bAscending = new boolean[iCount];
+			Object[] oValues = liValues != null ? new Object[iCount] : null;
+
+			for (int i = 0; i < iCount; i++)
+			{
+				sColumns[i] = (String)liColumns.get(i);
+				bAscending[i] = ((Boolean)liAscending.get(i)).booleanValue();
+
+				if (oValues != null)
+				{
+					oValues[i] = toTypeClass(pMetaData.getColumnMetaData(sColumns[i]).getDataType(), liValues.get(i));
+
+					if (oValues[i] == null)
+					{
+						throw new IllegalArgumentException("Invalid keyset token: " + pToken);
+					}
+				}
+			}
+
+			return new KeysetToken(sColumns, bAscending, oValues, iOffset);
+		}
+		catch (IllegalArgumentException iae)
+		{
+			throw iae;
+		}
+		catch (Exception e)
+		{
+			// malformed Base64, JSON or structure
+			throw new IllegalArgumentException("Invalid keyset token: " + pToken, e);
+		}
+	}
+
+	/**
+	 * Encodes this token.
+	 *
+	 * @return the URL-safe Base64 encoded JSON text
+	 */
+	String encode()
+	{
+		Map<String, Object> mpToken = new HashMap<String, Object>();
+
+		mpToken.put(PROP_COLUMNS, saColumns);
+		mpToken.put(PROP_ASCENDING, baAscending);
+
+		if (oaValues != null)
+		{
+			Object[] oValues = oaValues.clone();
+
+			for (int i = 0; i < oValues.length; i++)
+			{
+				// without loss of precision
+				if (oValues[i] instanceof Timestamp)
+				{
+					oValues[i] = oValues[i].toString();
+				}
+				else if (oValues[i] instanceof Date)
+				{
+					oValues[i] = Long.valueOf(((Date)oValues[i]).getTime());
+				}
+			}
+
+			mpToken.put(PROP_VALUES, oValues);
+		}
+
+		if (iOffset > 0)
+		{
+			mpToken.put(PROP_OFFSET, Integer.valueOf(iOffset));
+		}
+
+		try
+		{
+			ObjectMapper mapper = JSONUtil.createObjectMapper();
+
+			return CodecUtil.encodeBase64Url(mapper.writeValueAsBytes(mpToken));
+		}
+		catch (Exception e)
+		{
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Gets whether this token describes a position for the given sort definition.
+	 *
+	 * @param pSort the sort definition
+	 * @return <code>true</code> if the sort columns and directions are the same
+	 */
+	boolean isSortedBy(SortDefinition pSort)
+	{
+		return pSort != null
+			   && Arrays.equals(saColumns, pSort.getColumns())
+			   && Arrays.equals(baAscending, pSort.isAscending());
+	}
+
+	/**
+	 * Creates the condition for all rows after the position of this token. It is
+	 * <code>(s1 &gt; v1) OR (s1 = v1 AND s2 &gt; v2) OR ...</code>, with &lt; for descending columns.
+	 *
+	 * @return the condition or <code>null</code> if the token starts at the beginning of the result
+	 */
+	ICondition createCondition()
+	{
+		if (oaValues == null)
+		{
+			return null;
+		}
+
+		ICondition[] conditions = new ICondition[saColumns.length];
+
+		for (int i = 0; i < saColumns.length; i++)
+		{
+			ICondition[] condAnd = new ICondition[i + 1];
+
+			for (int j = 0; j < i; j++)
+			{
+				condAnd[j] = new Equals(saColumns[j], oaValues[j]);
+			}
+
+			if (baAscending[i])
+			{
+				condAnd[i] = new Greater(saColumns[i], oaValues[i]);
+			}
+			else
+			{
+				condAnd[i] = new Less(saColumns[i], oaValues[i]);
+			}
+
+			conditions[i] = i == 0 ? condAnd[0] : new And(condAnd);
+		}
+
+		return conditions.length == 1 ? conditions[0] : new Or(conditions);
+	}
+
+	/**
+	 * Converts a decoded value to the type class of a column. Timestamps are converted without the
+	 * data type, because the value has to be exactly the same as the stored value.
+	 *
+	 * @param pDataType the data type of the column
+	 * @param pValue the decoded value
+	 * @return the converted value
+	 * @throws ModelException if the conversion fails
+	 */
+	private static Object toTypeClass(IDataType pDataType, Object pValue) throws ModelException
+	{
+		if (pDataType instanceof TimestampDataType)
+		{
+			if (pValue instanceof String)
+			{
+				return Timestamp.valueOf((String)pValue);
+			}
+			else if (pValue instanceof Number)
+			{
+				return new Timestamp(((Number)pValue).longValue());
+			}
+		}
+
+		return pDataType.convertToTypeClass(pValue);
+	}
+
+	/**
+	 * Gets the values of the last row.
+	 *
+	 * @return the values in the order of the sort columns or <code>null</code> for the start of the result
+	 */
+	Object[] getValues()
+	{
+		return oaValues;
+	}
+
+	/**
+	 * Gets the number of rows to skip after the position.
+	 *
+	 * @return the offset
+	 */
+	int getOffset()
+	{
+		return iOffset;
+	}
+
+}	// KeysetToken
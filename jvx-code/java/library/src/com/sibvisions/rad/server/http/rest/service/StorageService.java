@@ -22,12 +22,17 @@
  *                   - #1934: set SessionContext
  * 04.10.2018 - [JR] - sort definition support for fetch operation   
  * 05.03.2021 - [JR] - #2606: ISO8601 support for parameters              
+ * 18.10.2026 - [JR] - streamed fetch, keyset pagination and entity tags
  */
 package com.sibvisions.rad.server.http.rest.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.security.MessageDigest;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
@@ -56,8 +61,11 @@ import javax.rad.util.SilentAbortException;
 
 import org.restlet.Context;
 import org.restlet.data.Form;
+import org.restlet.data.MediaType;
 import org.restlet.data.Parameter;
 import org.restlet.data.Status;
+import org.restlet.data.Tag;
+import org.restlet.representation.OutputRepresentation;
 import org.restlet.representation.Representation;
 import org.restlet.resource.Delete;
 import org.restlet.resource.Get;
@@ -65,6 +73,11 @@ import org.restlet.resource.Options;
 import org.restlet.resource.Post;
 import org.restlet.resource.Put;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.sibvisions.rad.persist.AbstractStorage;
 import com.sibvisions.rad.persist.jdbc.DBAccess;
@@ -105,6 +118,12 @@ public class StorageService extends AbstractService
 	/** RFC1123 format. */
 	private static final SimpleDateFormat DATE_FORMAT_STR_RFC1123 	= new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz");
 	
+	/** the response header with the keyset token for the next page. */
+	public static final String HEADER_NEXT_AFTER = "X-Next-After";
+	
+	/** the number of records, fetched with one call (the cursor cache is used for exports, from 500 records). */
+	private static final int FETCH_BLOCK_SIZE = 1000;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Overwritten methods
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -211,111 +230,161 @@ public class StorageService extends AbstractService
 		        	}
 		        }
 		
+		        SortDefinition sort = getSortDefinition();
+		        
+		        ICondition cond = getCondition(storage);
+		        
+		        //support keyset pagination
+		        String sAfter = query.getFirstValue("_after");
+		        
+		        boolean bKeyset = sAfter != null;
+		        
+		        KeysetToken tokAfter = null;
+		        
+		        if (bKeyset)
+		        {
+		        	MetaData md = storage.getMetaData();
+		        	
+		        	sort = KeysetToken.createSortDefinition(sort, md.getPrimaryKeyColumnNames());
+		        	
+		        	if (sort == null)
+		        	{
+		        		setStatus(Status.CLIENT_ERROR_BAD_REQUEST, "Keyset pagination needs a primary key");
+		        		return null;
+		        	}
+		        	
+		        	//empty means the first page
+		        	if (sAfter.length() > 0)
+		        	{
+		        		try
+		        		{
+		        			tokAfter = KeysetToken.decode(sAfter, md);
+		        		}
+		        		catch (IllegalArgumentException iae)
+		        		{
+		        			debug(iae);
+		        			
+		        			setStatus(Status.CLIENT_ERROR_BAD_REQUEST, "Invalid keyset token");
+		        			return null;
+		        		}
+		        		
+		        		if (!tokAfter.isSortedBy(sort))
+		        		{
+		        			setStatus(Status.CLIENT_ERROR_BAD_REQUEST, "Keyset token doesn't match the sort definition");
+		        			return null;
+		        		}
+		        		
+		        		ICondition condAfter = tokAfter.createCondition();
+		        		
+		        		if (cond == null)
+		        		{
+		        			cond = condAfter;
+		        		}
+		        		else if (condAfter != null)
+		        		{
+		        			cond = cond.and(condAfter);
+		        		}
+		        	}
+		        	
+		        	//the position is defined by the token
+		        	iStart = tokAfter != null ? tokAfter.getOffset() : 0;
+		        }
+		        else if (iStart < 0)
+		        {
+		        	iStart = 0;
+		        }
+		        
+		        ServerContext sctxt = ServerContext.getCurrentInstance();
+		        
+		        boolean bManaged = sctxt instanceof RESTServerContextImpl && ((RESTServerContextImpl)sctxt).isManaged();
+		        
 		        List<IBean> liBeans;
 		        
-		        int iOldMaxTime = -1;
+		        boolean bComplete;
+		        
+		        int iOldMaxTime = setMaxTime(storage, -1);
 		        
 		        try
 		        {
-		        	//available as request Parameter?
-			        if (iStart >= 0 || iMaxRows >= 0)
+			        //the first block is fetched immediately, to detect errors before the response is sent
+			        int iBlockSize = getBlockSize(0, iMaxRows);
+			        
+			        liBeans = fetchBlock(storage, cond, sort, iStart, iBlockSize);
+			        
+			        bComplete = isComplete(liBeans.size(), iBlockSize, liBeans.size(), iMaxRows);
+			        
+			        //the session of a managed request is available until the response is sent, so the remaining
+			        //blocks are fetched while writing. A keyset page needs its last row for the next token.
+			        if (!bComplete && (bKeyset || !bManaged))
 			        {
-				        if (storage instanceof DBStorage)
-				        {
-				        	iOldMaxTime = ((DBAccess)((DBStorage)storage).getDBAccess()).getMaxTime();
-				        	
-				        	((DBAccess)((DBStorage)storage).getDBAccess()).setMaxTime(-1);
-				        }
-			        }
+			        	liBeans = new ArrayList<IBean>(liBeans);
 			        	
-			        if (iStart < 0)
-			        {
-			        	iStart = 0;
-			        }
-
-			        if (iMaxRows < 0)
-			        {
-			        	iMaxRows = -1;
+			        	List<IBean> liBlock;
+			        	
+			        	do
+			        	{
+			        		iBlockSize = getBlockSize(liBeans.size(), iMaxRows);
+			        		
+			        		liBlock = fetchBlock(storage, cond, sort, iStart + liBeans.size(), iBlockSize);
+			        		
+			        		liBeans.addAll(liBlock);
+			        	}
+			        	while (!isComplete(liBlock.size(), iBlockSize, liBeans.size(), iMaxRows));
+			        	
+			        	bComplete = true;
 			        }
-			        
-					org.restlet.Application app = org.restlet.Application.getCurrent();
-					Context ctxtOrig = Context.getCurrent();
-					
-					Context ctxtNew = new Context();
-					
-					try
-					{
-						//without setting the application, calls in the application will be child calls
-						org.restlet.Application.setCurrent(null);
-						
-						Context.setCurrent(ctxtNew);
-			        
-						liBeans = storage.fetchBean(getCondition(storage), getSortDefinition(), iStart, iMaxRows);
-					}
-					finally
-					{
-						org.restlet.Application.setCurrent(app);
-						
-						Context.setCurrent(ctxtOrig);
-					}
 		        }
 		        finally
 		        {
 		        	//reset
-		        	if (iOldMaxTime >= 0)
-		        	{
-		        		((DBAccess)((DBStorage)storage).getDBAccess()).setMaxTime(iOldMaxTime);
-		        	}
+		        	setMaxTime(storage, iOldMaxTime);
+		        }
+		        
+		        if (iMaxRows >= 0 && liBeans.size() > iMaxRows)
+		        {
+		        	liBeans = liBeans.subList(0, iMaxRows);
 		        }
 	
 				//only show visible columns!
+				String[] sColumns = getVisibleColumnNames(storage);
 				
-				MetaData md = storage.getMetaData();
-				
-				String[] sVisCols = md.getVisibleColumnNames();
+				FetchRepresentation rep = new FetchRepresentation(liBeans, sColumns);
 				
-				if (sVisCols != null && sVisCols.length > 0)
+				if (bComplete)
 				{
-					String[] sRemoveCols = ArrayUtil.removeAll(md.getColumnNames(), sVisCols);
-					
-					if (sRemoveCols != null && sRemoveCols.length > 0)
+					if (bKeyset && iMaxRows > 0 && liBeans.size() == iMaxRows)
 					{
-						IBean bean;
-
-						IBeanType btStorage = storage.getBeanConverter().getBeanType();						
-						BeanType btNew = new BeanType();
+						KeysetToken token = KeysetToken.create(sort, liBeans.get(iMaxRows - 1));
 						
-						PropertyDefinition pdef;
-						
-						for (int i = 0, cnt = btStorage.getPropertyCount(); i < cnt; i++)
+						if (token == null)
 						{
-							pdef = btStorage.getPropertyDefinition(i);
-							
-							if (ArrayUtil.contains(sVisCols, pdef.getName()))
-							{
-								btNew.addPropertyDefinition(pdef);
-							}
+							//the position of the last row can't be described -> continue with the offset
+							token = KeysetToken.createOffset(sort, tokAfter, iMaxRows);
 						}
 						
-						//replace beans with cleaned properties
-						for (int i = 0, cnt = liBeans.size(); i < cnt; i++)
+						getResponse().getHeaders().add(HEADER_NEXT_AFTER, token.encode());
+					}
+					
+					Tag tag = createTag(liBeans, sColumns);
+					
+					//unchanged result -> don't send the records
+					for (Tag tagMatch : getRequest().getConditions().getNoneMatch())
+					{
+						if (Tag.ALL.equals(tagMatch) || tag.getName().equals(tagMatch.getName()))
 						{
-							bean = liBeans.get(i);
-
-							Bean bnNew = new Bean(btNew);
+							setStatus(Status.REDIRECTION_NOT_MODIFIED);
 							
-							for (int j = 0; j < sVisCols.length; j++)
-							{
-								bnNew.put(sVisCols[j], bean.get(sVisCols[j]));								
-							}
-							
-							liBeans.set(i, bnNew);
+							return null;
 						}
 					}
+					
+					rep.setTag(tag);
+				}
+				else
+				{
+					rep.setRemaining(session, sObjectName, storage, cond, sort, iStart + liBeans.size(), iMaxRows < 0 ? -1 : iMaxRows - liBeans.size());
 				}
 		        
-				Representation rep = toInternalRepresentation(liBeans);
-				
 	            setStatus(Status.SUCCESS_OK);
 	
 	            return rep;
@@ -1000,6 +1069,213 @@ public class StorageService extends AbstractService
 		return null;
 	}
 	
+	/**
+	 * Fetches a block of records. The records are fetched outside of the current restlet application,
+	 * because calls in the application would be child calls.
+	 * 
+	 * @param pStorage the storage
+	 * @param pCondition the condition
+	 * @param pSort the sort definition
+	 * @param pFromRow the first row
+	 * @param pRowCount the number of rows
+	 * @return the records
+	 * @throws DataSourceException if fetching fails
+	 */
+	private List<IBean> fetchBlock(AbstractStorage pStorage, ICondition pCondition, SortDefinition pSort, 
+			                       int pFromRow, int pRowCount) throws DataSourceException
+	{
+		org.restlet.Application app = org.restlet.Application.getCurrent();
+		Context ctxtOrig = Context.getCurrent();
+		
+		Context ctxtNew = new Context();
+		
+		try
+		{
+			//without setting the application, calls in the application will be child calls
+			org.restlet.Application.setCurrent(null);
+			
+			Context.setCurrent(ctxtNew);
+        
+			return pStorage.fetchBean(pCondition, pSort, pFromRow, pRowCount);
+		}
+		finally
+		{
+			org.restlet.Application.setCurrent(app);
+			
+			Context.setCurrent(ctxtOrig);
+		}
+	}
+	
+	/**
+	 * Sets the max. fetch time of a database storage. The time limit is not used while fetching blocks,
+	 * because a block should contain exactly the requested number of rows.
+	 * 
+	 * @param pStorage the storage
+	 * @param pMaxTime the max. time in milliseconds
+	 * @return the previous max. time or <code>-1</code> if the storage isn't a database storage
+	 */
+	private static int setMaxTime(AbstractStorage pStorage, int pMaxTime)
+	{
+		if (pStorage instanceof DBStorage)
+		{
+			DBAccess dba = (DBAccess)((DBStorage)pStorage).getDBAccess();
+			
+			int iOldMaxTime = dba.getMaxTime();
+			
+			dba.setMaxTime(pMaxTime);
+			
+			return iOldMaxTime;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Gets the number of rows for the next block.
+	 * 
+	 * @param pFetched the number of already fetched rows
+	 * @param pMaxRows the max. number of rows or <code>-1</code> for all rows
+	 * @return the number of rows
+	 */
+	private static int getBlockSize(int pFetched, int pMaxRows)
+	{
+		if (pMaxRows < 0)
+		{
+			return FETCH_BLOCK_SIZE;
+		}
+		
+		return Math.min(pMaxRows - pFetched, FETCH_BLOCK_SIZE);
+	}
+	
+	/**
+	 * Gets whether all rows are fetched.
+	 * 
+	 * @param pBlockRows the number of rows of the last block
+	 * @param pBlockSize the requested number of rows of the last block
+	 * @param pFetched the number of fetched rows
+	 * @param pMaxRows the max. number of rows or <code>-1</code> for all rows
+	 * @return <code>true</code> if the last block wasn't full or the max. number of rows is reached
+	 */
+	private static boolean isComplete(int pBlockRows, int pBlockSize, int pFetched, int pMaxRows)
+	{
+		return pBlockRows < pBlockSize || (pMaxRows >= 0 && pFetched >= pMaxRows);
+	}
+	
+	/**
+	 * Gets the visible columns of a storage, in the order of the bean type.
+	 * 
+	 * @param pStorage the storage
+	 * @return the visible columns or <code>null</code> if all columns are visible
+	 * @throws DataSourceException if metadata detection fails
+	 */
+	private String[] getVisibleColumnNames(AbstractStorage pStorage) throws DataSourceException
+	{
+		MetaData md = pStorage.getMetaData();
+		
+		String[] sVisCols = md.getVisibleColumnNames();
+		
+		if (sVisCols != null && sVisCols.length > 0)
+		{
+			String[] sRemoveCols = ArrayUtil.removeAll(md.getColumnNames(), sVisCols);
+			
+			if (sRemoveCols != null && sRemoveCols.length > 0)
+			{
+				IBeanType btStorage = pStorage.getBeanConverter().getBeanType();
+				
+				ArrayUtil<String> auColumns = new ArrayUtil<String>();
+				
+				String sName;
+				
+				for (int i = 0, cnt = btStorage.getPropertyCount(); i < cnt; i++)
+				{
+					sName = btStorage.getPropertyDefinition(i).getName();
+					
+					if (ArrayUtil.contains(sVisCols, sName))
+					{
+						auColumns.add(sName);
+					}
+				}
+				
+				return auColumns.toArray(new String[auColumns.size()]);
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Creates the entity tag for a result. The tag is a digest of all values.
+	 * 
+	 * @param pBeans the records
+	 * @param pColumns the visible columns or <code>null</code> if all columns are visible
+	 * @return the entity tag
+	 * @throws Exception if creating the digest fails
+	 */
+	private static Tag createTag(List<IBean> pBeans, String[] pColumns) throws Exception
+	{
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		
+		String[] sColumns = pColumns;
+		
+		IBean bean;
+		
+		for (int i = 0, cnt = pBeans.size(); i < cnt; i++)
+		{
+			bean = pBeans.get(i);
+			
+			if (pColumns == null)
+			{
+				sColumns = bean.getBeanType().getPropertyNames();
+			}
+			
+			for (int j = 0; j < sColumns.length; j++)
+			{
+				updateDigest(digest, sColumns[j]);
+				updateDigest(digest, bean.get(sColumns[j]));
+			}
+			
+			//end of record
+			digest.update((byte)2);
+		}
+		
+		return new Tag(CodecUtil.encodeHex(digest.digest()), false);
+	}
+	
+	/**
+	 * Adds a value to a digest. The length of the value is added, to separate the values. 
+	 * 
+	 * @param pDigest the digest
+	 * @param pValue the value
+	 * @throws Exception if the value can't be encoded
+	 */
+	private static void updateDigest(MessageDigest pDigest, Object pValue) throws Exception
+	{
+		if (pValue == null)
+		{
+			pDigest.update((byte)0);
+		}
+		else
+		{
+			byte[] byValue;
+			
+			if (pValue instanceof byte[])
+			{
+				byValue = (byte[])pValue;
+			}
+			else
+			{
+				byValue = pValue.toString().getBytes("UTF-8");
+			}
+			
+			pDigest.update((byte)1);
+			pDigest.update((byte)(byValue.length >>> 24));
+			pDigest.update((byte)(byValue.length >>> 16));
+			pDigest.update((byte)(byValue.length >>> 8));
+			pDigest.update((byte)byValue.length);
+			pDigest.update(byValue);
+		}
+	}
+	
 	/**
 	 * Converts pseudo java code to a java code string. If the pseudo code isn't already marked as
 	 * java code, it will be marked automatically.
@@ -1237,6 +1513,218 @@ public class StorageService extends AbstractService
     // Subclass definition
     //****************************************************************
 	
+	/**
+	 * The <code>FetchRepresentation</code> writes records as JSON array. The records are written one by one,
+	 * without an intermediate list of objects. If not all records were fetched, the remaining records are fetched
+	 * in blocks while writing. The fetches in blocks use the cursor cache of {@link DBAccess}.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private final class FetchRepresentation extends OutputRepresentation
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/** the fetched records. */
+		private List<IBean> liBeans;
+		
+		/** the visible columns or <code>null</code> if all columns are visible. */
+		private String[] saColumns;
+		
+		/** the session for fetching the remaining records. */
+		private ISession session;
+		
+		/** the object name of the storage. */
+		private String sObjectName;
+		
+		/** the storage or <code>null</code> if all records were fetched. */
+		private AbstractStorage storage;
+		
+		/** the condition. */
+		private ICondition condition;
+		
+		/** the sort definition. */
+		private SortDefinition sort;
+		
+		/** the first remaining row. */
+		private int iFromRow;
+		
+		/** the max. number of remaining rows or <code>-1</code> for all rows. */
+		private int iMaxRows;
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Creates a new instance of <code>FetchRepresentation</code>.
+		 * 
+		 * @param pBeans the fetched records
+		 * @param pColumns the visible columns or <code>null</code> if all columns are visible
+		 */
+		private FetchRepresentation(List<IBean> pBeans, String[] pColumns)
+		{
+			super(MediaType.APPLICATION_JSON);
+			
+			liBeans = pBeans;
+			saColumns = pColumns;
+		}
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Abstract methods implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void write(OutputStream pStream) throws IOException
+		{
+			JsonFactory factory = new JsonFactory();
+			factory.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+			
+			ObjectMapper mapper = new ObjectMapper(factory);
+			
+			configureObjectMapper(mapper);
+			
+			//flush after every block instead of every value
+			mapper.configure(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, false);
+			
+			JsonGenerator generator = factory.createGenerator(pStream, JsonEncoding.UTF8);
+			generator.setCodec(mapper);
+			
+			generator.writeStartArray();
+			
+			writeBeans(generator, liBeans);
+			
+			if (storage != null)
+			{
+				generator.flush();
+				
+				writeRemaining(generator);
+			}
+			
+			generator.writeEndArray();
+			generator.flush();
+		}
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Sets the remaining records, which will be fetched while writing.
+		 * 
+		 * @param pSession the session
+		 * @param pObjectName the object name of the storage
+		 * @param pStorage the storage
+		 * @param pCondition the condition
+		 * @param pSort the sort definition
+		 * @param pFromRow the first remaining row
+		 * @param pMaxRows the max. number of remaining rows or <code>-1</code> for all rows
+		 */
+		private void setRemaining(ISession pSession, String pObjectName, AbstractStorage pStorage, ICondition pCondition, 
+				                  SortDefinition pSort, int pFromRow, int pMaxRows)
+		{
+			session = pSession;
+			sObjectName = pObjectName;
+			storage = pStorage;
+			condition = pCondition;
+			sort = pSort;
+			iFromRow = pFromRow;
+			iMaxRows = pMaxRows;
+		}
+		
+		/**
+		 * Fetches and writes the remaining records, block by block.
+		 * 
+		 * @param pGenerator the JSON generator
+		 * @throws IOException if fetching or writing fails
+		 */
+		private void writeRemaining(JsonGenerator pGenerator) throws IOException
+		{
+			SessionContext ctxt = createSessionContext(session, sObjectName, "get");
+			
+			int iOldMaxTime = setMaxTime(storage, -1);
+			
+			try
+			{
+				int iFetched = 0;
+				int iBlockSize;
+				
+				List<IBean> liBlock;
+				
+				do
+				{
+					iBlockSize = getBlockSize(iFetched, iMaxRows);
+					
+					liBlock = fetchBlock(storage, condition, sort, iFromRow + iFetched, iBlockSize);
+					
+					if (liBlock.size() > iBlockSize)
+					{
+						liBlock = liBlock.subList(0, iBlockSize);
+					}
+					
+					iFetched += liBlock.size();
+					
+					writeBeans(pGenerator, liBlock);
+					
+					pGenerator.flush();
+				}
+				while (!isComplete(liBlock.size(), iBlockSize, iFetched, iMaxRows));
+			}
+			catch (DataSourceException dse)
+			{
+				//the response is already started, so the status can't be changed
+				error(dse);
+				
+				throw new IOException(dse);
+			}
+			finally
+			{
+				setMaxTime(storage, iOldMaxTime);
+				
+				ctxt.release();
+			}
+		}
+		
+		/**
+		 * Writes records.
+		 * 
+		 * @param pGenerator the JSON generator
+		 * @param pBeans the records
+		 * @throws IOException if writing fails
+		 */
+		private void writeBeans(JsonGenerator pGenerator, List<IBean> pBeans) throws IOException
+		{
+			IBean bean;
+			
+			for (int i = 0, cnt = pBeans.size(); i < cnt; i++)
+			{
+				bean = pBeans.get(i);
+				
+				if (saColumns == null)
+				{
+					pGenerator.writeObject(bean);
+				}
+				else
+				{
+					pGenerator.writeStartObject();
+					
+					for (int j = 0; j < saColumns.length; j++)
+					{
+						pGenerator.writeFieldName(saColumns[j]);
+						pGenerator.writeObject(bean.get(saColumns[j]));
+					}
+					
+					pGenerator.writeEndObject();
+				}
+			}
+		}
+		
+	}	// FetchRepresentation
+	
 	/**
 	 * The <code>OptionDisabledException</code> is a marker Exception to define that an Option is disabled.
 	 * 
@@ -135,6 +135,9 @@ public interface ICommandConstants
     /** the validate sessions command. */
     public static final String SESSMAN_VALIDATE           = "VALIDATESESSIONS";
 
+    /** the session warm-up command. */
+    public static final String SESSMAN_WARMUP             = "WARMUP";
+
     
     //----------------------------------------------------------------
     // Session
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server.protocol;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The <code>LatencyHistogram</code> is a lock-free histogram for latencies in microseconds. The buckets
+ * are log-linear, like in HDR histograms: every power of two is split into {@value #SUB_BUCKET_COUNT} linear
+ * sub buckets, so the relative error of a percentile is at most about 3% and the memory is constant.
+ *
+ * @author René Jahn
+ */
+public class LatencyHistogram
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the number of bits for the sub buckets. */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /** the number of linear sub buckets per power of two. */
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** the highest trackable exponent (2^40 micros are more than 12 days). */
+    private static final int MAX_EXPONENT = 40;
+
+    /** the bucket counts. */
+    private AtomicLongArray alaCounts = new AtomicLongArray((MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT);
+
+    /** the number of recorded values. */
+    private AtomicLong alCount = new AtomicLong();
+
+    /** the sum of all recorded values. */
+    private AtomicLong alSum = new AtomicLong();
+
+    /** the highest recorded value. */
+    private AtomicLong alMax = new AtomicLong();
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Records a value.
+     *
+     * @param pMicros the value in microseconds. Negative values are recorded as 0.
+     */
+    public void record(long pMicros)
+    {
+        long lValue = Math.max(0, pMicros);
+
+        alaCounts.incrementAndGet(getIndex(lValue));
+        alCount.incrementAndGet();
+        alSum.addAndGet(lValue);
+
+        long lMax = alMax.get();
+
+        while (lValue > lMax && !alMax.compareAndSet(lMax, lValue))
+        {
+            lMax = alMax.get();
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the number of values
+     */
+    public long getCount()
+    {
+        return alCount.get();
+    }
+
+    /**
+     * Gets the sum of all recorded values.
+     *
+     * @return the sum in microseconds
+     */
+    public long getSum()
+    {
+        return alSum.get();
+    }
+
+    /**
+     * Gets the highest recorded value.
+     *
+     * @return the value in microseconds
+     */
+    public long getMax()
+    {
+        return alMax.get();
+    }
+
+    /**
+     * Gets the mean of all recorded values.
+     *
+     * @return the mean in microseconds or <code>0</code> if no value was recorded
+     */
+    public double getMean()
+    {
+        long lCount = alCount.get();
+
+        if (lCount == 0)
+        {
+            return 0;
+        }
+
+        return (double)alSum.get() / lCount;
+    }
+
+    /**
+     * Gets the value at the given percentile. The value is the highest value of the bucket which contains
+     * the percentile, but not more than the highest recorded value.
+     *
+     * @param pPercentile the percentile (0 - 100)
+     * @return the value in microseconds or <code>0</code> if no value was recorded
+     */
+    public long getValueAtPercentile(double pPercentile)
+    {
+        long[] lCounts = new long[alaCounts.length()];
+
+        long lTotal = 0;
+
+        for (int i = 0; i < lCounts.length; i++)
+        {
+            lCounts[i] = alaCounts.get(i);
+            lTotal += lCounts[i];
+        }
+
+        if (lTotal == 0)
+        {
+            return 0;
+        }
+
+        double dPercentile = Math.min(100, Math.max(0, pPercentile));
+
+        long lRank = Math.max(1, (long)Math.ceil(dPercentile / 100 * lTotal));
+
+        long lSum = 0;
+
+        for (int i = 0; i < lCounts.length; i++)
+        {
+            lSum += lCounts[i];
+
+            if (lSum >= lRank)
+            {
+                return Math.min(getHighestValue(i), alMax.get());
+            }
+        }
+
+        return alMax.get();
+    }
+
+    /**
+     * Gets the bucket index for a value.
+     *
+     * @param pValue the value (&gt;= 0)
+     * @return the index
+     */
+    static int getIndex(long pValue)
+    {
+        if (pValue < SUB_BUCKET_COUNT)
+        {
+            return (int)pValue;
+        }
+
+        int iExponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(pValue));
+
+        if (iExponent == MAX_EXPONENT)
+        {
+            //overflow bucket
+            return (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT - 1;
+        }
+
+        int iShift = iExponent - SUB_BUCKET_BITS;
+
+        return (iShift + 1) * SUB_BUCKET_COUNT + (int)((pValue >>> iShift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    /**
+     * Gets the highest value of a bucket.
+     *
+     * @param pIndex the bucket index
+     * @return the highest value
+     */
+    static long getHighestValue(int pIndex)
+    {
+        if (pIndex < SUB_BUCKET_COUNT)
+        {
+            return pIndex;
+        }
+
+        int iShift = pIndex / SUB_BUCKET_COUNT - 1;
+
+        long lLowest = (long)(SUB_BUCKET_COUNT + pIndex % SUB_BUCKET_COUNT) << iShift;
+
+        return lLowest + (1L << iShift) - 1;
+    }
+
+}   // LatencyHistogram
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server.protocol;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The <code>Metric</code> aggregates all {@link Record}s with the same category, command and name. It counts
+ * the calls, rows, bytes and errors and records the durations in a {@link LatencyHistogram}.
+ *
+ * @author René Jahn
+ * @see MetricsProtocolWriter
+ */
+public class Metric
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the category. */
+    private String sCategory;
+
+    /** the command. */
+    private String sCommand;
+
+    /** the name, e.g. the storage name. */
+    private String sName;
+
+    /** the latencies. */
+    private LatencyHistogram histogram = new LatencyHistogram();
+
+    /** the number of rows. */
+    private LongAdder ladRows = new LongAdder();
+
+    /** the number of bytes. */
+    private LongAdder ladBytes = new LongAdder();
+
+    /** the number of errors. */
+    private LongAdder ladErrors = new LongAdder();
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>Metric</code>.
+     *
+     * @param pCategory the category
+     * @param pCommand the command
+     * @param pName the name or <code>null</code>
+     */
+    public Metric(String pCategory, String pCommand, String pName)
+    {
+        sCategory = pCategory;
+        sCommand = pCommand;
+        sName = pName;
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Adds a closed record.
+     *
+     * @param pRecord the record
+     */
+    public void add(Record pRecord)
+    {
+        histogram.record(pRecord.getDuration() / 1000);
+
+        if (pRecord.getCount() > 0)
+        {
+            ladRows.add(pRecord.getCount());
+        }
+
+        if (pRecord.getMemoryConsumption() > 0)
+        {
+            ladBytes.add(pRecord.getMemoryConsumption());
+        }
+
+        if (pRecord.getException() != null)
+        {
+            ladErrors.increment();
+        }
+    }
+
+    /**
+     * Gets the category.
+     *
+     * @return the category
+     */
+    public String getCategory()
+    {
+        return sCategory;
+    }
+
+    /**
+     * Gets the command.
+     *
+     * @return the command
+     */
+    public String getCommand()
+    {
+        return sCommand;
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name, e.g. the storage name
+     */
+    public String getName()
+    {
+        return sName;
+    }
+
+    /**
+     * Gets the number of calls.
+     *
+     * @return the number of calls
+     */
+    public long getCalls()
+    {
+        return histogram.getCount();
+    }
+
+    /**
+     * Gets the number of rows, summed up from {@link Record#getCount()}.
+     *
+     * @return the number of rows
+     */
+    public long getRows()
+    {
+        return ladRows.sum();
+    }
+
+    /**
+     * Gets the number of bytes, summed up from {@link Record#getMemoryConsumption()}.
+     *
+     * @return the number of bytes
+     */
+    public long getBytes()
+    {
+        return ladBytes.sum();
+    }
+
+    /**
+     * Gets the number of failed calls.
+     *
+     * @return the number of errors
+     */
+    public long getErrors()
+    {
+        return ladErrors.sum();
+    }
+
+    /**
+     * Gets the latency histogram.
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getHistogram()
+    {
+        return histogram;
+    }
+
+    /**
+     * Gets the statistics of this metric. The times are in milliseconds.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics()
+    {
+        Map<String, Object> mpStatistics = new LinkedHashMap<String, Object>();
+        mpStatistics.put("category", sCategory);
+        mpStatistics.put("command", sCommand);
+        mpStatistics.put("name", sName);
+        mpStatistics.put("calls", Long.valueOf(getCalls()));
+        mpStatistics.put("rows", Long.valueOf(getRows()));
+        mpStatistics.put("bytes", Long.valueOf(getBytes()));
+        mpStatistics.put("errors", Long.valueOf(getErrors()));
+        mpStatistics.put("total", toMillis(histogram.getSum()));
+        mpStatistics.put("mean", toMillis(histogram.getMean()));
+        mpStatistics.put("p50", toMillis(histogram.getValueAtPercentile(50)));
+        mpStatistics.put("p90", toMillis(histogram.getValueAtPercentile(90)));
+        mpStatistics.put("p99", toMillis(histogram.getValueAtPercentile(99)));
+        mpStatistics.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+        mpStatistics.put("max", toMillis(histogram.getMax()));
+
+        return mpStatistics;
+    }
+
+    /**
+     * Converts microseconds to milliseconds.
+     *
+     * @param pMicros the microseconds
+     * @return the milliseconds
+     */
+    private static Double toMillis(double pMicros)
+    {
+        return Double.valueOf(Math.round(pMicros) / 1000d);
+    }
+
+}   // Metric
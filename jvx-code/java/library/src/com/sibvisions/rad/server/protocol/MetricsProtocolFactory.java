@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server.protocol;
+
+/**
+ * The <code>MetricsProtocolFactory</code> creates {@link MetricsProtocolWriter}s. Use
+ * <code>ProtocolFactory.init(MetricsProtocolFactory.class.getName())</code> or the server configuration
+ * <code>/server/protocol/factory</code> to collect metrics.
+ *
+ * @author René Jahn
+ */
+public class MetricsProtocolFactory extends ProtocolFactory
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Abstract methods implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IProtocolWriter createWriter()
+    {
+        return new MetricsProtocolWriter();
+    }
+
+}   // MetricsProtocolFactory
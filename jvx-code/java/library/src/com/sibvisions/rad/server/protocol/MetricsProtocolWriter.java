@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server.protocol;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The <code>MetricsProtocolWriter</code> aggregates closed {@link Record}s per category, command and name
+ * into {@link Metric}s. A record without name inherits the name of the enclosing record, so that database
+ * records are assigned to the storage which executed them.
+ * <p>
+ * The writer is created per thread by the {@link MetricsProtocolFactory}, but all writers share the same
+ * metrics.
+ * </p>
+ *
+ * @author René Jahn
+ */
+public class MetricsProtocolWriter implements IProtocolWriter
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the maximum number of open records per thread, to avoid leaks if records weren't closed. */
+    private static final int MAX_OPEN_RECORDS = 128;
+
+    /** the metrics of all writers. */
+    private static ConcurrentHashMap<String, Metric> chmMetrics = new ConcurrentHashMap<String, Metric>();
+
+    /** the open records of the current thread. */
+    private ArrayList<Record> liOpenRecords = new ArrayList<Record>();
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Interface implementation
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    public Record openRecord(String pCategory, String pCommand)
+    {
+        Record record = new Record(this, pCategory, pCommand);
+
+        int iSize = liOpenRecords.size();
+
+        if (iSize > 0)
+        {
+            record.setName(liOpenRecords.get(iSize - 1).getName());
+
+            if (iSize >= MAX_OPEN_RECORDS)
+            {
+                liOpenRecords.remove(0);
+            }
+        }
+
+        liOpenRecords.add(record);
+
+        return record;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void closeRecord(Record pRecord)
+    {
+        for (int i = liOpenRecords.size() - 1; i >= 0; i--)
+        {
+            if (liOpenRecords.get(i) == pRecord)
+            {
+                liOpenRecords.remove(i);
+
+                break;
+            }
+        }
+
+        getMetric(pRecord.getCategory(), pRecord.getCommand(), pRecord.getName()).add(pRecord);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Gets whether the metrics are collected, i.e. whether the {@link MetricsProtocolFactory} is the current
+     * {@link ProtocolFactory}.
+     *
+     * @return <code>true</code> if metrics are collected, <code>false</code> otherwise
+     */
+    public static boolean isEnabled()
+    {
+        return ProtocolFactory.getInstance() instanceof MetricsProtocolFactory;
+    }
+
+    /**
+     * Gets the metric for the given category, command and name. The metric will be created if it doesn't exist.
+     *
+     * @param pCategory the category
+     * @param pCommand the command
+     * @param pName the name or <code>null</code>
+     * @return the metric
+     */
+    public static Metric getMetric(String pCategory, String pCommand, String pName)
+    {
+        String sKey = pCategory + "\u0000" + pCommand + "\u0000" + pName;
+
+        Metric metric = chmMetrics.get(sKey);
+
+        if (metric == null)
+        {
+            metric = new Metric(pCategory, pCommand, pName);
+
+            Metric metricOld = chmMetrics.putIfAbsent(sKey, metric);
+
+            if (metricOld != null)
+            {
+                metric = metricOld;
+            }
+        }
+
+        return metric;
+    }
+
+    /**
+     * Gets all metrics of the given category, sorted by the total time, descending.
+     *
+     * @param pCategory the category or <code>null</code> for all categories
+     * @return the metrics
+     */
+    public static List<Metric> getMetrics(String pCategory)
+    {
+        List<Metric> liMetrics = new ArrayList<Metric>();
+
+        for (Metric metric : chmMetrics.values())
+        {
+            if (pCategory == null || pCategory.equals(metric.getCategory()))
+            {
+                liMetrics.add(metric);
+            }
+        }
+
+        Collections.sort(liMetrics, new Comparator<Metric>()
+        {
+            public int compare(Metric pFirst, Metric pSecond)
+            {
+                return Long.compare(pSecond.getHistogram().getSum(), pFirst.getHistogram().getSum());
+            }
+        });
+
+        return liMetrics;
+    }
+
+    /**
+     * Gets the statistics of all metrics of the given category, sorted by the total time, descending.
+     *
+     * @param pCategory the category or <code>null</code> for all categories
+     * @return the statistics
+     * @see Metric#getStatistics()
+     */
+    public static List<Map<String, Object>> getStatistics(String pCategory)
+    {
+        List<Map<String, Object>> liStatistics = new ArrayList<Map<String, Object>>();
+
+        for (Metric metric : getMetrics(pCategory))
+        {
+            liStatistics.add(metric.getStatistics());
+        }
+
+        return liStatistics;
+    }
+
+    /**
+     * Removes all metrics.
+     */
+    public static void reset()
+    {
+        chmMetrics.clear();
+    }
+
+}   // MetricsProtocolWriter
@@ -17,6 +17,7 @@
  * History
  * 
  * 14.11.2014 - [JR] - creation
+ * 18.10.2026 - [JR] - getWriter without synchronization
  */
 package com.sibvisions.rad.server.protocol;
 
@@ -35,10 +36,10 @@ public abstract class ProtocolFactory
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
     /** the protocol factory implementation. */
-    private static ProtocolFactory factory = null;
+    private static volatile ProtocolFactory factory = null;
 
     /** the protocol writer. */
-    private static ThreadLocal<IProtocolWriter> thlWriter = null;
+    private static final ThreadLocal<IProtocolWriter> thlWriter = new ThreadLocal<IProtocolWriter>();
     
     //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
     // Initialization
@@ -114,46 +115,37 @@ public abstract class ProtocolFactory
      * @return the current factory instnance or <code>null</code> if no instance was initialized
      * @see #init(String)
      */
-    public static synchronized ProtocolFactory getInstance()
+    public static ProtocolFactory getInstance()
     {
         return factory;
     }
     
     /**
      * Construct (if necessary) and return an {@link IProtocolWriter} instance, using the factory's
-     * current set of configuration attributes.
+     * current set of configuration attributes. This method is not synchronized, because it's called
+     * for every record and should be (nearly) free if no factory was initialized.
      * 
      * @return the writer or <code>null</code> if factory was not initialized
      * @see #init(String)
      */
-    public static synchronized IProtocolWriter getWriter()
+    public static IProtocolWriter getWriter()
     {
-        if (factory == null)
+        ProtocolFactory fac = factory;
+        
+        if (fac == null)
         {
             return null;
         }
         
-        if (thlWriter == null)
+        IProtocolWriter writer = thlWriter.get();
+        
+        if (writer == null)
         {
-            IProtocolWriter writer = factory.createWriter(); 
-            
-            thlWriter = new ThreadLocal<IProtocolWriter>();
+            writer = fac.createWriter();
             thlWriter.set(writer);
-            
-            return writer;
-        }
-        else
-        {
-            IProtocolWriter writer = thlWriter.get();
-            
-            if (writer == null)
-            {
-                writer = factory.createWriter();
-                thlWriter.set(writer);
-            }
-            
-            return writer;
         }
+        
+        return writer;
     }    
 
     /**
@@ -19,6 +19,7 @@
  * 19.11.2014 - [JR] - creation
  * 26.01.2015 - [JR] - #1238: Exception property added
  * 08.11.2017 - [JR] - toString implemented  
+ * 18.10.2026 - [JR] - name property added
  */
 package com.sibvisions.rad.server.protocol;
 
@@ -59,6 +60,9 @@ public class Record implements ICloseable
     /** the command. */
     protected String sCommand;
 
+    /** the name, e.g. of the storage. */
+    protected String sName;
+    
     /** the identifier. */
     protected Object[] oIdentifier;
     
@@ -146,6 +150,8 @@ public class Record implements ICloseable
         sb.append(sCategory);
         sb.append("\", Command = \"");
         sb.append(sCommand);
+        sb.append("\", Name = \"");
+        sb.append(sName);
         sb.append("\", Identifier = ");
         sb.append(StringUtil.toString(oIdentifier));
         sb.append(", Parameter = ");
@@ -195,6 +201,27 @@ public class Record implements ICloseable
         return sCommand;
     }
     
+    /**
+     * Sets the name of the object which created the record, e.g. the storage name. The name 
+     * will be used to aggregate records.
+     * 
+     * @param pName the name
+     */
+    public void setName(String pName)
+    {
+        sName = pName;
+    }
+    
+    /**
+     * Gets the name of the object which created the record.
+     * 
+     * @return the name or <code>null</code> if not set
+     */
+    public String getName()
+    {
+        return sName;
+    }
+    
     /**
      * Gets the creation time.
      * 
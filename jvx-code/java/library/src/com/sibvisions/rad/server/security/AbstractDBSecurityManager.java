@@ -18,6 +18,7 @@
  * 
  * 28.01.2014 - [JR] - creation
  * 15.03.2019 - [JR] - createDBAccess introduced
+ * 18.10.2026 - [JR] - keep the connection pool size of the credentials
  */
 package com.sibvisions.rad.server.security;
 
@@ -203,7 +204,10 @@ public abstract class AbstractDBSecurityManager extends AbstractSecurityManager
     			if (dba != null)
     			{
     			    //create a new instance with the detected driver, hopefully!
-    				dbcred = new DBCredentials(dba.getDriver(), dbcred.getUrl(), dbcred.getUserName(), dbcred.getPassword());
+    			    DBCredentials dbcredDriver = new DBCredentials(dba.getDriver(), dbcred.getUrl(), dbcred.getUserName(), dbcred.getPassword());
+    			    dbcredDriver.setPoolSize(dbcred.getPoolMinSize(), dbcred.getPoolMaxSize());
+    			    
+    				dbcred = dbcredDriver;
     				
     				if (dbcred.getDriver() == null)
     				{
@@ -18,6 +18,7 @@
  *
  * 01.12.2010 - [JR] - creation
  * 07.07.2015 - [JR] - #1433: replace placeholders
+ * 18.10.2026 - [JR] - connection pool configuration
  */
 package com.sibvisions.rad.server.security;
 
@@ -208,6 +209,10 @@ public final class DataSourceHandler
 	 *              &lt;url&gt;connection url&lt;/url&gt;
 	 *              &lt;username&gt;username&lt;/username&gt;
 	 *              &lt;password&gt;password&lt;/password&gt;
+	 *              &lt;pool&gt; <b>(optional tag)</b>
+	 *                &lt;minsize&gt;minimum number of connections&lt;/minsize&gt;
+	 *                &lt;maxsize&gt;maximum number of connections&lt;/maxsize&gt;
+	 *              &lt;/pool&gt;
 	 *              </pre>
      * @param pEnvironment the environment name for credentials detection. The environment name will be used for
      *                     accessing tag names, as suffix.
@@ -260,10 +265,22 @@ public final class DataSourceHandler
                 }
 	            
                 //#1431
-                return new DBCredentials(StringUtil.replacePlaceholder(sDriver), 
-                                         StringUtil.replacePlaceholder(getValue(xmnURL)), 
-                                         StringUtil.replacePlaceholder(sUserName), 
-                                         StringUtil.replacePlaceholder(sPassword));
+                DBCredentials dbcred = new DBCredentials(StringUtil.replacePlaceholder(sDriver), 
+                                                         StringUtil.replacePlaceholder(getValue(xmnURL)), 
+                                                         StringUtil.replacePlaceholder(sUserName), 
+                                                         StringUtil.replacePlaceholder(sPassword));
+                
+                String sMaxSize = getValue(pNode.getNode("/pool/maxsize"));
+                
+                if (!StringUtil.isEmpty(sMaxSize))
+                {
+                    String sMinSize = getValue(pNode.getNode("/pool/minsize"));
+                    
+                    dbcred.setPoolSize(StringUtil.isEmpty(sMinSize) ? 0 : Integer.parseInt(sMinSize.trim()), 
+                                       Integer.parseInt(sMaxSize.trim()));
+                }
+                
+                return dbcred;
 			}
 		}
 		
@@ -19,17 +19,21 @@
  * 01.10.2008 - [JR] - creation
  * 12.06.2014 - [JR] - synchronized methods
  *                   - removeKey returns a list of all remoed objects
+ * 18.10.2026 - [JR] - ConcurrentHashMap for the groups instead of synchronized methods
  */
 package com.sibvisions.util;
 
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 
 /**
  * The <code>GroupHashtable</code> is a utility class to group multiple key/value pairs
- * with a single group key.<br> Its implementation has a Hashtable, for the group, which 
- * contains multiple Hashtables, for the key/value pairs.
+ * with a single group key.<br> Its implementation has a ConcurrentHashMap, for the group, which 
+ * contains multiple Hashtables, for the key/value pairs. Access to different groups is not
+ * synchronized.
  * 
  * @author Ren Jahn
  *
@@ -44,7 +48,10 @@ public class GroupHashtable<G, K, V>
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 	/** contains the group mapping. */
-	private Hashtable<G, Hashtable<K, V>> htGroup = null;
+	private ConcurrentHashMap<G, Hashtable<K, V>> chmGroup = new ConcurrentHashMap<G, Hashtable<K, V>>();
+	
+	/** whether a group was mapped. */
+	private volatile boolean bGroupMapped = false;
 	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// User-defined methods
@@ -57,28 +64,27 @@ public class GroupHashtable<G, K, V>
 	 * @param pKey key with which the specified value is to be associated
 	 * @param pValue value to be associated with the specified key
 	 */
-	public synchronized void put(G pGroup, K pKey, V pValue)
+	public void put(G pGroup, final K pKey, final V pValue)
 	{
-		Hashtable<K, V> htValues = null;
-		
-		
-		if (htGroup == null)
-		{
-			htGroup = new Hashtable<G, Hashtable<K, V>>();
-		}
-		else
-		{
-			htValues = htGroup.get(pGroup);
-		}
+		bGroupMapped = true;
 		
-		if (htValues == null)
+		//atomic, otherwise the value could be added to a group which was removed concurrently
+		chmGroup.compute(pGroup, new BiFunction<G, Hashtable<K, V>, Hashtable<K, V>>()
 		{
-			htValues = new Hashtable<K, V>();
-			
-			htGroup.put(pGroup, htValues);
-		}
-		
-		htValues.put(pKey, pValue);
+			public Hashtable<K, V> apply(G pMappedGroup, Hashtable<K, V> pValues)
+			{
+				Hashtable<K, V> htValues = pValues;
+				
+				if (htValues == null)
+				{
+					htValues = new Hashtable<K, V>();
+				}
+				
+				htValues.put(pKey, pValue);
+				
+				return htValues;
+			}
+		});
 	}
 
 	/**
@@ -87,14 +93,11 @@ public class GroupHashtable<G, K, V>
 	 * @param pGroup group identifier
 	 * @param pValues values to be associated with the specified group
 	 */
-	public synchronized void put(G pGroup, Hashtable<K, V> pValues)
+	public void put(G pGroup, Hashtable<K, V> pValues)
 	{
-		if (htGroup == null)
-		{
-			htGroup = new Hashtable<G, Hashtable<K, V>>();
-		}
+		bGroupMapped = true;
 		
-		htGroup.put(pGroup, pValues);
+		chmGroup.put(pGroup, pValues);
 	}
 
 	/**
@@ -105,7 +108,7 @@ public class GroupHashtable<G, K, V>
 	 * @return the value to which the specified key is mapped or null
 	 *         if the key or the group is not mapped. 
 	 */
-	public synchronized V get(G pGroup, K pKey)
+	public V get(G pGroup, K pKey)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 		
@@ -127,16 +130,9 @@ public class GroupHashtable<G, K, V>
 	 * @return the <code>Hashtable</code> which is mapped to the specified group or <code>null</code>
 	 *         if the <code>pGroup</code> is not mapped
 	 */
-	public synchronized Hashtable<K, V> get(G pGroup)
+	public Hashtable<K, V> get(G pGroup)
 	{
-		if (htGroup == null)
-		{
-			return null;
-		}
-		else
-		{
-			return htGroup.get(pGroup);
-		}
+		return chmGroup.get(pGroup);
 	}
 	
 	/**
@@ -146,14 +142,9 @@ public class GroupHashtable<G, K, V>
 	 * @return true if the group was removed, false if the group is not present 
 	 *         or can not be removed
 	 */
-	public synchronized boolean remove(G pGroup)
+	public boolean remove(G pGroup)
 	{
-		if (htGroup != null)
-		{
-			return htGroup.remove(pGroup) != null;
-		}
-		
-		return false;
+		return chmGroup.remove(pGroup) != null;
 	}
 	
 	/**
@@ -164,7 +155,7 @@ public class GroupHashtable<G, K, V>
 	 * @return the previous value associated with the key or 
 	 *         null if there is no mapping the key
 	 */
-	public synchronized V remove(G pGroup, K pKey)
+	public V remove(G pGroup, K pKey)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 		
@@ -184,14 +175,9 @@ public class GroupHashtable<G, K, V>
 	 * 
 	 * @return number of groups
 	 */
-	public synchronized int size()
+	public int size()
 	{
-		if (htGroup == null)
-		{
-			return 0;
-		}
-		
-		return htGroup.size();
+		return chmGroup.size();
 	}
 	
 	/**
@@ -200,26 +186,16 @@ public class GroupHashtable<G, K, V>
 	 * @param pGroup group identifier
 	 * @return number of group elements
 	 */
-	public synchronized int size(G pGroup)
+	public int size(G pGroup)
 	{
-		Hashtable<K, V> htValues;
-		
+		Hashtable<K, V> htValues = chmGroup.get(pGroup);
 		
-		if (htGroup == null)
+		if (htValues == null)
 		{
 			return 0;
 		}
-		else
-		{
-			htValues = htGroup.get(pGroup);
-			
-			if (htValues == null)
-			{
-				return 0;
-			}
-			
-			return htValues.size();
-		}
+		
+		return htValues.size();
 	}
 	
 	/**
@@ -230,7 +206,7 @@ public class GroupHashtable<G, K, V>
 	 * @param pGroup group identifier
 	 * @return an enumeration of the values in this hashtable
 	 */
-	public synchronized Enumeration<V> elements(G pGroup)
+	public Enumeration<V> elements(G pGroup)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 		
@@ -252,7 +228,7 @@ public class GroupHashtable<G, K, V>
 	 * @param pGroup group identifier
 	 * @return enumeration of the keys in this hashtable
 	 */
-	public synchronized Enumeration<K> keys(G pGroup)
+	public Enumeration<K> keys(G pGroup)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 		
@@ -270,17 +246,17 @@ public class GroupHashtable<G, K, V>
 	/**
 	 * Returns an enumeration of all groups.
 	 * 
-	 * @return enumeration of groups
+	 * @return enumeration of groups or <code>null</code> if no group was mapped
 	 */
-	public synchronized Enumeration<G> groups()
+	public Enumeration<G> groups()
 	{
-	    if (htGroup == null)
+	    if (!bGroupMapped)
 	    {
 	        return null;
 	    }
 	    else
 	    {
-	        return htGroup.keys();
+	        return chmGroup.keys();
 	    }
 	}
 
@@ -290,21 +266,18 @@ public class GroupHashtable<G, K, V>
 	 * @param pKey the key to remove
 	 * @return the list of removed values or <code>null</code> if no value was removed
 	 */
-	public synchronized List<V> removeKey(K pKey)
+	public List<V> removeKey(K pKey)
 	{
-	    if (htGroup != null)
+	    List<V> liValues = new ArrayUtil<V>();
+	    
+	    for (Hashtable<K, V> htValues : chmGroup.values())
+	    {
+	        liValues.add(htValues.remove(pKey));
+	    }
+	    
+	    if (!liValues.isEmpty())
 	    {
-	        List<V> liValues = new ArrayUtil<V>();
-	        
-	        for (Enumeration<Hashtable<K, V>> enElements = htGroup.elements(); enElements.hasMoreElements();)
-	        {
-	            liValues.add(enElements.nextElement().remove(pKey));
-	        }
-	        
-	        if (!liValues.isEmpty())
-	        {
-	            return liValues;
-	        }
+	        return liValues;
 	    }
 	    
 	    return null;
@@ -316,14 +289,9 @@ public class GroupHashtable<G, K, V>
 	 * @param pGroup the group identifier
 	 * @return <code>true</code> if the group exists, <code>false</code> otherwise
 	 */
-	public synchronized boolean containsGroup(G pGroup)
+	public boolean containsGroup(G pGroup)
 	{
-	    if (htGroup == null)
-	    {
-	        return false;
-	    }
-	    
-	    return htGroup.containsKey(pGroup);
+	    return chmGroup.containsKey(pGroup);
 	}
 	
 	/**
@@ -333,7 +301,7 @@ public class GroupHashtable<G, K, V>
 	 * @param pValue value whose presence is to be tested
 	 * @return true if the group maps one or more keys to the specified value, false otherwise
 	 */
-	public synchronized boolean containsValue(G pGroup, V pValue)
+	public boolean containsValue(G pGroup, V pValue)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 		
@@ -355,7 +323,7 @@ public class GroupHashtable<G, K, V>
 	 * @param pKey possible key
 	 * @return true if and only if the specified key is mapped in the group, false otherwise
 	 */
-	public synchronized boolean containsKey(G pGroup, K pKey)
+	public boolean containsKey(G pGroup, K pKey)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 		
@@ -372,12 +340,9 @@ public class GroupHashtable<G, K, V>
 	/**
 	 * Clears all entries.
 	 */
-	public synchronized void clear()
+	public void clear()
 	{
-		if (htGroup != null)
-		{
-			htGroup.clear();
-		}
+		chmGroup.clear();
 	}
 	
 	/**
@@ -385,7 +350,7 @@ public class GroupHashtable<G, K, V>
 	 * 
 	 * @param pGroup the group identifier
 	 */
-	public synchronized void clear(G pGroup)
+	public void clear(G pGroup)
 	{
 		Hashtable<K, V> htValues = get(pGroup);
 
@@ -17,17 +17,27 @@
  * History
  *
  * 01.10.2008 - [HM] - creation
+ * 18.10.2026 - [JR] - striped segments with lock-free lookup, type pools and statistics
  */
 package com.sibvisions.util;
 
 import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.sql.Timestamp;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Intern functionality for all immutable Objects.
  * It's about 2 times faster than String.intern().
+ * <p>
+ * The cache is split into pools for <code>String</code>, <code>BigDecimal</code>, <code>Timestamp</code> and
+ * all other objects. Every pool is striped into segments with their own lock, so concurrent threads don't
+ * block each other. Already interned objects are found without locking.
  * 
  * @author Martin Handsteiner
  */
@@ -40,17 +50,47 @@ public final class Internalize
 	/** the minimum size of the internal object cache. */
 	private static final int MIN_SIZE = 63719; //9337; //63719;//63709; //64969; //573473;
 	
-	/** out of memory detected. */
-	private static boolean outOfMemoryDetectedOrMaxSizeReached = false;
+	/** the minimum size of the cache of a segment. */
+	private static final int MIN_SEGMENT_SIZE = 1021;
 
-	/** rehash counter. */
-	private static long nextRehashCheck = -1;
+	/** the maximum number of segments per pool. */
+	private static final int MAX_SEGMENTS = 64;
 
-	/** size used. */
-	private static int size = 0;
+	/** the pool for all other objects. */
+	private static final int POOL_OBJECT = 0;
 
-	/** the object cache. */
-	private static WeakReference<?>[] cache = new WeakReference<?>[MIN_SIZE];
+	/** the pool for strings. */
+	private static final int POOL_STRING = 1;
+
+	/** the pool for big decimals. */
+	private static final int POOL_BIGDECIMAL = 2;
+
+	/** the pool for timestamps. */
+	private static final int POOL_TIMESTAMP = 3;
+
+	/** the number of pools. */
+	private static final int POOL_COUNT = 4;
+
+	/** the segments of all pools. */
+	private static Segment[] segments;
+
+	/** the number of segments per pool (power of two). */
+	private static int segmentCount;
+
+	/** the minimum size of the cache of a segment. */
+	private static int segmentMinSize;
+
+	/** the summarized size of the caches of all segments. */
+	private static AtomicInteger capacity = new AtomicInteger();
+
+	/** the hit count. */
+	private static LongAdder ladHitCount = new LongAdder();
+
+	/** the miss count. */
+	private static LongAdder ladMissCount = new LongAdder();
+
+	/** the number of lock acquisitions which had to wait for another thread. */
+	private static LongAdder ladContentionCount = new LongAdder();
 
 	/** the maximum size of the internal object cache. */
 	private static int maxSize;
@@ -108,6 +148,34 @@ public final class Internalize
 			minimalRehashCheckInterval = 10000;
 		}
 		
+		int segmentsPerPool;
+
+		try
+		{
+			segmentsPerPool = Integer.valueOf(System.getProperty("com.sibvisions.util.Internalize.segments")).intValue();
+		}
+		catch (Exception ex)
+		{
+			// a few segments per cpu, to reduce the probability of collisions
+			segmentsPerPool = Runtime.getRuntime().availableProcessors() * 2;
+		}
+
+		segmentCount = 1;
+
+		while (segmentCount < segmentsPerPool && segmentCount < MAX_SEGMENTS)
+		{
+			segmentCount <<= 1;
+		}
+
+		segmentMinSize = Math.max(MIN_SEGMENT_SIZE, (MIN_SIZE / segmentCount) | 1);
+
+		segments = new Segment[POOL_COUNT * segmentCount];
+
+		for (int i = 0; i < segments.length; i++)
+		{
+			segments[i] = new Segment();
+		}
+
 		useNativeStringIntern = "1.7".compareTo(System.getProperty("java.specification.version")) <= 0;
 		
 		for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++)
@@ -154,10 +222,23 @@ public final class Internalize
 	/**
 	 * Clears the interned objects. 
 	 */
-	public static final synchronized void clearCache()
+	public static final void clearCache()
 	{
-		cache = new WeakReference<?>[MIN_SIZE];
-		size = 0;
+		for (int i = 0; i < segments.length; i++)
+		{
+			Segment segment = segments[i];
+
+			segment.lockSegment();
+
+			try
+			{
+				segment.clear();
+			}
+			finally
+			{
+				segment.unlock();
+			}
+		}
 	}
 	
 	/**
@@ -212,7 +293,14 @@ public final class Internalize
 	 */
 	public static final int getObjectCount()
 	{
-		return size;
+		int count = 0;
+
+		for (int i = 0; i < segments.length; i++)
+		{
+			count += segments[i].size;
+		}
+
+		return count;
 	}
 	
 	/**
@@ -239,13 +327,65 @@ public final class Internalize
 		maxSize = pMaximumInternalizedObjectCount * 2;
 	}
 	
+	/**
+	 * Gets the number of segments per pool. Every segment has its own lock.
+	 *
+	 * @return the number of segments per pool.
+	 */
+	public static final int getSegmentCount()
+	{
+		return segmentCount;
+	}
+
+	/**
+	 * Gets the number of objects which were found in the cache. Objects of the fixed cache
+	 * and natively interned strings are not counted.
+	 *
+	 * @return the hit count.
+	 */
+	public static final long getHitCount()
+	{
+		return ladHitCount.sum();
+	}
+
+	/**
+	 * Gets the number of objects which were not found in the cache. Objects of the fixed cache
+	 * and natively interned strings are not counted.
+	 *
+	 * @return the miss count.
+	 */
+	public static final long getMissCount()
+	{
+		return ladMissCount.sum();
+	}
+
+	/**
+	 * Gets the number of segment locks, which had to wait for another thread.
+	 *
+	 * @return the contention count.
+	 */
+	public static final long getContentionCount()
+	{
+		return ladContentionCount.sum();
+	}
+
+	/**
+	 * Resets the hit, miss and contention count.
+	 */
+	public static final void resetStatistics()
+	{
+		ladHitCount.reset();
+		ladMissCount.reset();
+		ladContentionCount.reset();
+	}
+
 	/**
 	 * Create wide spreading hash code.
 	 * @param pHashCode the original hash code.
 	 * @param pClass the class.
 	 * @return wide spreading hash code,
 	 */
-	private static final int hashCode(int pHashCode, Class pClass)
+	private static final int hashCode(int pHashCode, Class<?> pClass)
 	{
 		if (pClass == BigDecimal.class || pClass == BigInteger.class)
 		{
@@ -261,20 +401,53 @@ public final class Internalize
 	}
 	
 	/**
-	 * Internalizes any Immutable Object. The function is synchronized.
+	 * Gets the segment for an object.
+	 *
+	 * @param pClass the class of the object.
+	 * @param pHashCode the wide spreading hash code of the object.
+	 * @return the segment.
+	 */
+	private static final Segment segmentFor(Class<?> pClass, int pHashCode)
+	{
+		int pool;
+
+		if (pClass == String.class)
+		{
+			pool = POOL_STRING;
+		}
+		else if (pClass == BigDecimal.class)
+		{
+			pool = POOL_BIGDECIMAL;
+		}
+		else if (pClass == Timestamp.class)
+		{
+			pool = POOL_TIMESTAMP;
+		}
+		else
+		{
+			pool = POOL_OBJECT;
+		}
+
+		// the index in the cache of the segment uses the modulo, so the segment uses other bits
+		return segments[pool * segmentCount + (((pHashCode * 0x9E3779B9) >>> 16) & (segmentCount - 1))];
+	}
+
+	/**
+	 * Internalizes any Immutable Object. The function is thread-safe.
 	 * 
 	 * @param <T> any immutable Object.
 	 * @param pObject the Object to internalize.
 	 * @return the internalized Object.
 	 */
-	public static final synchronized <T> T intern(T pObject)
+	public static final <T> T intern(T pObject)
 	{
 		return internNoSync(pObject);
 	}
 	
 	/**
-	 * Internalizes any Immutable Object. The function is not synchronized.
-	 * It is provided for fast usage, in loops. The implementation has to be like:
+	 * Internalizes any Immutable Object. The function is the same as {@link #intern(Object)} and is thread-safe,
+	 * because every segment of the cache has its own lock. The synchronization with the <code>Internalize</code>
+	 * class is not necessary anymore, but it's still possible:
 	 * <pre>
 	 *   synchronized(Internalize.class)
 	 *   {
@@ -306,10 +479,154 @@ public final class Internalize
 		        return (T)fixed;
 		    }
 
-			int index = hashCode(pObject.hashCode(), pObject.getClass()) % cache.length;
+		    Class<?> clazz = pObject.getClass();
+
+		    int hash = hashCode(pObject.hashCode(), clazz);
+
+		    Segment segment = segmentFor(clazz, hash);
+
+		    Object result = segment.get(pObject, hash);
+
+		    if (result != null)
+		    {
+		    	ladHitCount.increment();
+		    }
+		    else
+		    {
+			    segment.lockSegment();
+
+			    try
+			    {
+			    	result = segment.intern(pObject, hash);
+			    }
+			    finally
+			    {
+			    	segment.unlock();
+			    }
+		    }
+
+		    return (T)result;
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Segment</code> is a part of the object cache with its own lock. The objects are
+	 * found without locking, but changes are only allowed with the lock.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class Segment extends ReentrantLock
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the serial version UID. */
+		private static final long serialVersionUID = 1L;
+
+		/** the object cache or <code>null</code> if the segment wasn't used. */
+		private volatile AtomicReferenceArray<WeakReference<Object>> cache;
+
+		/** size used. */
+		private int size = 0;
+
+		/** out of memory detected. */
+		private boolean outOfMemoryDetectedOrMaxSizeReached = false;
+
+		/** rehash counter. */
+		private long nextRehashCheck = -1;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Locks the segment and counts the contention, if the lock is held by another thread.
+		 */
+		private void lockSegment()
+		{
+			if (!tryLock())
+			{
+				ladContentionCount.increment();
+
+				lock();
+			}
+		}
+
+		/**
+		 * Searches an object without locking. A concurrent change of the segment may hide an
+		 * interned object, so <code>null</code> has to be checked with {@link #intern(Object, int)}.
+		 *
+		 * @param pObject the Object to search.
+		 * @param pHashCode the wide spreading hash code of the object.
+		 * @return the internalized Object or <code>null</code> if the object wasn't found.
+		 */
+		private Object get(Object pObject, int pHashCode)
+		{
+			AtomicReferenceArray<WeakReference<Object>> table = cache;
+
+			if (table == null)
+			{
+				return null;
+			}
+
+			int length = table.length();
+			int index = pHashCode % length;
+
+			for (int i = 0; i < length; i++)
+			{
+				WeakReference<Object> result = table.get(index);
+
+				if (result == null)
+				{
+					return null;
+				}
+
+				Object resultObject = result.get();
+
+				if (resultObject != null && pObject.equals(resultObject))
+				{
+					return resultObject;
+				}
+
+				if (++index == length)
+				{
+					index = 0;
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Internalizes an Object. The segment has to be locked.
+		 *
+		 * @param pObject the Object to internalize.
+		 * @param pHashCode the wide spreading hash code of the object.
+		 * @return the internalized Object.
+		 */
+		private Object intern(Object pObject, int pHashCode)
+		{
+			AtomicReferenceArray<WeakReference<Object>> table = cache;
+
+			if (table == null)
+			{
+				table = new AtomicReferenceArray<WeakReference<Object>>(segmentMinSize);
+
+				capacity.addAndGet(segmentMinSize);
+
+				cache = table;
+			}
+
+			int length = table.length();
+			int index = pHashCode % length;
 			 
 			int newFreeIndex = -1;
-			WeakReference<?> result = cache[index];
+			WeakReference<Object> result = table.get(index);
 			Object resultObject = null;
 			while (result != null && !pObject.equals(resultObject = result.get()))
 			{
@@ -322,18 +639,20 @@ public final class Internalize
 						newFreeIndex = index;
 					}
 
-					cache[index] = null;
+					table.lazySet(index, null);
 					size--;
 				}
-				if (++index == cache.length)
+				if (++index == length)
 				{
 					index = 0;
 				}
-				result = cache[index];
+				result = table.get(index);
 			}
 			
 			if (result == null) 
 			{
+				ladMissCount.increment();
+
 				if (outOfMemoryDetectedOrMaxSizeReached)
 				{
 					// Out of Memory detected.
@@ -350,15 +669,15 @@ public final class Internalize
 					// new Free Place in hash array for storing Object
 					if (newFreeIndex >= 0)
 					{
-						cache[newFreeIndex] = new WeakReference<Object>(pObject, null);
+						table.lazySet(newFreeIndex, new WeakReference<Object>(pObject, null));
 					}
 					else
 					{
-						cache[index] = new WeakReference<Object>(pObject, null);
+						table.lazySet(index, new WeakReference<Object>(pObject, null));
 					}
 
 					size++;
-					if (size > cache.length / 2)
+					if (size > length / 2)
 					{
 						rehashAndClearUnused();
 					}
@@ -367,97 +686,137 @@ public final class Internalize
 			}
 			else
 			{
+				ladHitCount.increment();
+
 				// new Free Place in hash array for storing Object
 				if (newFreeIndex >= 0)
 				{
-					cache[index] = null;
-					cache[newFreeIndex] = result;
+					table.lazySet(newFreeIndex, result);
+					table.lazySet(index, null);
 				}
-				return (T)resultObject;
+				return resultObject;
 			}
 		}
-	}
 
-	/**
-	 * Rehash the cache if it is to small or to large.
-	 */ 
-	private static final void rehashAndClearUnused()
-	{
-		// First of all drop all empty references
-		WeakReference<?> result;
-		for (int i = 0; i < cache.length; i++)
+		/**
+		 * Rehash the cache if it is to small or to large. The segment has to be locked.
+		 */
+		private void rehashAndClearUnused()
 		{
-			result = cache[i];
-			if (result != null && result.get() == null)
+			AtomicReferenceArray<WeakReference<Object>> table = cache;
+
+			int length = table.length();
+
+			// First of all drop all empty references
+			WeakReference<Object> result;
+			for (int i = 0; i < length; i++)
 			{
-				cache[i] = null;
-				size--;
+				result = table.get(i);
+				if (result != null && result.get() == null)
+				{
+					table.lazySet(i, null);
+					size--;
+				}
 			}
-		}
-		// check new length
-		int newLength = cache.length;
-		if (size > newLength / 2)
-		{
-			newLength *= 3;
-		}
-		else
-		{
-            outOfMemoryDetectedOrMaxSizeReached = false;
-			while (newLength > MIN_SIZE && size < newLength / 8)
+			// check new length
+			int newLength = length;
+			if (size > newLength / 2)
 			{
-				newLength /= 3;
+				newLength *= 3;
 			}
-		}
-		if (newLength > maxSize || outOfMemoryDetectedOrMaxSizeReached)
-		{
-			outOfMemoryDetectedOrMaxSizeReached = true;
-
-			nextRehashCheck = System.currentTimeMillis() + minimalRehashCheckInterval;
-		}
-		else if (newLength != cache.length)
-		{
-			try
+			else
+			{
+	            outOfMemoryDetectedOrMaxSizeReached = false;
+				while (newLength > segmentMinSize && size < newLength / 8)
+				{
+					newLength /= 3;
+				}
+			}
+			// the maximum size is the limit for all segments
+			if (capacity.get() - length + newLength > maxSize || outOfMemoryDetectedOrMaxSizeReached)
 			{
-				WeakReference<?>[] newCache = new WeakReference<?>[newLength];
+				outOfMemoryDetectedOrMaxSizeReached = true;
 
-				// do rehash
-				for (int i = 0; i < cache.length; i++)
+				nextRehashCheck = System.currentTimeMillis() + minimalRehashCheckInterval;
+			}
+			else if (newLength != length)
+			{
+				try
 				{
-					result = cache[i];
-					if (result != null)
+					AtomicReferenceArray<WeakReference<Object>> newCache = new AtomicReferenceArray<WeakReference<Object>>(newLength);
+
+					// do rehash
+					for (int i = 0; i < length; i++)
 					{
-						Object object = result.get();
-						// Prevent NullPointer caused from threading
-						if (object == null)
-						{
-							size--;
-						}
-						else
+						result = table.get(i);
+						if (result != null)
 						{
-							int index = hashCode(object.hashCode(), object.getClass()) % newCache.length;
-
-							while (newCache[index] != null)
+							Object object = result.get();
+							// Prevent NullPointer caused from threading
+							if (object == null)
+							{
+								size--;
+							}
+							else
 							{
-								if (++index == newCache.length)
+								int index = Internalize.hashCode(object.hashCode(), object.getClass()) % newLength;
+
+								while (newCache.get(index) != null)
 								{
-									index = 0;
+									if (++index == newLength)
+									{
+										index = 0;
+									}
 								}
+								newCache.lazySet(index, result);
+							}
+						}
+					}
+					capacity.addAndGet(newLength - length);
+
+					cache = newCache;
+				}
+				catch (OutOfMemoryError pOutOfMemoryError)
+				{
+					// Directly release all WeakReferenceObjects, to release as much memory as possible.
+					// Other segments are only cleared if they are not locked, to avoid dead locks.
+					clear();
+
+					for (int i = 0; i < segments.length; i++)
+					{
+						if (segments[i] != this && segments[i].tryLock())
+						{
+							try
+							{
+								segments[i].clear();
+							}
+							finally
+							{
+								segments[i].unlock();
 							}
-							newCache[index] = result;
 						}
 					}
 				}
-				cache = newCache;
 			}
-			catch (OutOfMemoryError pOutOfMemoryError)
+		}
+
+		/**
+		 * Clears the interned objects. The segment has to be locked.
+		 */
+		private void clear()
+		{
+			AtomicReferenceArray<WeakReference<Object>> table = cache;
+
+			if (table != null)
 			{
-			    clearCache(); // Directly release all WeakReferenceObjects, to release as much memory as possible.
-			    
-//              outOfMemoryDetectedOrMaxSizeReached = true;
-//
-//              nextRehashCheck = System.currentTimeMillis() + minimalRehashCheckInterval;
+				capacity.addAndGet(-table.length());
+
+				cache = null;
 			}
+
+			size = 0;
 		}
-	}
+
+	}	// Segment
 	
 }	// Internalize
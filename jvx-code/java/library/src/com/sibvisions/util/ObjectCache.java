@@ -26,6 +26,7 @@
  * 17.09.2013 - [JR] - removed Memory.gc
  * 04.02.2014 - [JR] - used clone instead of unsynchronized copy creation
  * 23.07.2015 - [JR] - used ObjectCacheInstance as singleton           
+ * 18.10.2026 - [JR] - size, maximum size and statistics
  */
 package com.sibvisions.util;
 
@@ -211,4 +212,75 @@ public final class ObjectCache
 	    return cache.remove(pKey);
 	}
 	
+	/**
+	 * Gets the number of cached objects.
+	 * 
+	 * @return the number of cached objects
+	 * @see ObjectCacheInstance#size()
+	 */
+	public static int size()
+	{
+		return cache.size();
+	}
+	
+	/**
+	 * Sets the maximum number of cached objects.
+	 * 
+	 * @param pMaxSize the maximum number of objects or <code>-1</code> for an unbounded cache
+	 * @see ObjectCacheInstance#setMaxSize(int)
+	 */
+	public static void setMaxSize(int pMaxSize)
+	{
+		cache.setMaxSize(pMaxSize);
+	}
+	
+	/**
+	 * Gets the maximum number of cached objects.
+	 * 
+	 * @return the maximum number of objects or <code>-1</code> if the cache is unbounded
+	 */
+	public static int getMaxSize()
+	{
+		return cache.getMaxSize();
+	}
+	
+	/**
+	 * Gets the number of successful {@link #get(Object)} calls.
+	 * 
+	 * @return the hit count
+	 */
+	public static long getHitCount()
+	{
+		return cache.getHitCount();
+	}
+	
+	/**
+	 * Gets the number of {@link #get(Object)} calls which didn't find a valid object.
+	 * 
+	 * @return the miss count
+	 */
+	public static long getMissCount()
+	{
+		return cache.getMissCount();
+	}
+	
+	/**
+	 * Gets the number of objects which were removed because the cache exceeded the maximum size.
+	 * 
+	 * @return the eviction count
+	 */
+	public static long getEvictionCount()
+	{
+		return cache.getEvictionCount();
+	}
+	
+	/**
+	 * Resets the hit, miss and eviction count.
+	 */
+	public static void resetStatistics()
+	{
+		cache.resetStatistics();
+	}
+	
+
 }	// ObjectCache
@@ -17,18 +17,33 @@
  * History
  * 
  * 23.07.2015 - [JR] - creation
+ * 18.10.2026 - [JR] - ConcurrentHashMap instead of Hashtable
+ *                   - expiration via DelayQueue instead of cloning the store
+ *                   - maximum size with LRU eviction
+ *                   - hit/miss/eviction statistics
  */
 package com.sibvisions.util;
 
-import java.util.Hashtable;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The <code>ObjectCacheInstance</code> is a utility class to cache/store objects for a
  * period of time. The cache handles the object expiration and the access to the
  * cached objects. The cache stores an object with a unique access key. With this
  * access key it's possible to access the object from the store.
+ * <p>
+ * Read access is lock-free. Objects with a timeout are expired by the check thread
+ * exactly when the timeout is reached. Validatable objects are checked every
+ * 30 seconds. If a maximum size is set, the least recently used objects will be evicted
+ * as soon as the cache exceeds the maximum size.
  * 
  * @author Ren Jahn
  */
@@ -38,14 +53,32 @@ public class ObjectCacheInstance
 	// Class members
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	/** the current timeout-check interval. */
+	/** the current validation-check interval. */
 	private static final long CHECK_DELAY = 30000L;
 	
     /** the object cache. */
-	private Hashtable<Object, Element> htStore = new Hashtable<Object, Element>();
+	private ConcurrentHashMap<Object, Element> chmStore = new ConcurrentHashMap<Object, Element>();
+
+	/** the elements with timeout, ordered by expiration. */
+	private DelayQueue<Element> dqExpiration = new DelayQueue<Element>();
+
+	/** whether an eviction is running. */
+	private AtomicBoolean abEviction = new AtomicBoolean(false);
+
+	/** the hit count. */
+	private LongAdder ladHitCount = new LongAdder();
+
+	/** the miss count. */
+	private LongAdder ladMissCount = new LongAdder();
+
+	/** the eviction count. */
+	private LongAdder ladEvictionCount = new LongAdder();
 	
 	/** the timeout-check thread. */
-	private Thread thCheckTimeout = null;
+	private volatile Thread thCheckTimeout = null;
+
+	/** the maximum number of cached objects. */
+	private volatile int iMaxSize = -1;
 	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
@@ -171,11 +204,11 @@ public class ObjectCacheInstance
 	{
 		if (pObject == null)
 		{
-			return htStore.remove(pKey);
+			return remove(pKey);
 		}
 		else
 		{
-			return put(pKey, new Element(pObject, pTimeout, pInvalidator));
+			return put(pKey, new Element(pKey, pObject, pTimeout, pInvalidator));
 		}
 	}
 
@@ -205,11 +238,11 @@ public class ObjectCacheInstance
 	{
 		if (pObject == null)
 		{
-			return htStore.remove(pKey);
+			return remove(pKey);
 		}
 		else
 		{
-			return put(pKey, new Element(pObject, pInvalidator));
+			return put(pKey, new Element(pKey, pObject, pInvalidator));
 		}
 	}
 
@@ -227,21 +260,37 @@ public class ObjectCacheInstance
 			return null;
 		}
 		
-		Element element = htStore.get(pKey);
+		Element element = chmStore.get(pKey);
 		
 		if (element == null)
 		{
+			ladMissCount.increment();
+
 			return null;
 		}
 		else 
 		{
-			if (element.isValid())
+			Object object = element.object;
+
+			if (object != null && element.isValid())
 			{
-				return element.object;
+				if (iMaxSize > 0)
+				{
+					element.access = System.nanoTime();
+				}
+
+				ladHitCount.increment();
+
+				return object;
 			}
 			else
 			{
-				htStore.remove(pKey);
+				if (chmStore.remove(pKey, element))
+				{
+					element.object = null;
+				}
+
+				ladMissCount.increment();
 				
 				return null;
 			}
@@ -257,14 +306,90 @@ public class ObjectCacheInstance
 	 */
 	public Object remove(Object pKey)
 	{
-		Element element = htStore.remove(pKey);
-		
-		if (element != null && element.isValid())
+		return release(chmStore.remove(pKey));
+	}
+	
+	/**
+	 * Gets the number of cached objects. The number contains expired objects which
+	 * were not removed yet.
+	 *
+	 * @return the number of cached objects
+	 */
+	public int size()
+	{
+		return chmStore.size();
+	}
+
+	/**
+	 * Sets the maximum number of cached objects. If the cache exceeds the maximum size,
+	 * the least recently used objects will be removed and invalidated.
+	 *
+	 * @param pMaxSize the maximum number of objects or <code>-1</code> for an unbounded cache
+	 */
+	public void setMaxSize(int pMaxSize)
+	{
+		if (pMaxSize <= 0)
 		{
-			return element.object;
+			iMaxSize = -1;
 		}
+		else
+		{
+			iMaxSize = pMaxSize;
 		
-		return null;
+			evict();
+		}
+	}
+
+	/**
+	 * Gets the maximum number of cached objects.
+	 *
+	 * @return the maximum number of objects or <code>-1</code> if the cache is unbounded
+	 * @see #setMaxSize(int)
+	 */
+	public int getMaxSize()
+	{
+		return iMaxSize;
+	}
+
+	/**
+	 * Gets the number of successful {@link #get(Object)} calls.
+	 *
+	 * @return the hit count
+	 */
+	public long getHitCount()
+	{
+		return ladHitCount.sum();
+	}
+
+	/**
+	 * Gets the number of {@link #get(Object)} calls which didn't find a valid object.
+	 *
+	 * @return the miss count
+	 */
+	public long getMissCount()
+	{
+		return ladMissCount.sum();
+	}
+
+	/**
+	 * Gets the number of objects which were removed because the cache exceeded the maximum size.
+	 *
+	 * @return the eviction count
+	 * @see #setMaxSize(int)
+	 */
+	public long getEvictionCount()
+	{
+		return ladEvictionCount.sum();
+	}
+
+	/**
+	 * Resets the hit, miss and eviction count.
+	 */
+	public void resetStatistics()
+	{
+		ladHitCount.reset();
+		ladMissCount.reset();
+		ladEvictionCount.reset();
 	}
 	
 	/**
@@ -277,18 +402,124 @@ public class ObjectCacheInstance
 	 */
 	private Object put(Object pKey, Element pElement)
 	{
-		Element elOld = htStore.put(pKey, pElement);
+		Element elOld = chmStore.put(pKey, pElement);
+
+		if (pElement.timeout > 0)
+		{
+			dqExpiration.offer(pElement);
+		}
 		
 		startTimeoutCheck();
 		
-		if (elOld != null && elOld.isValid())
+		if (iMaxSize > 0 && elOld == null)
 		{
-			return elOld.object;
+			evict();
 		}
-		else
+
+		return release(elOld);
+	}
+
+	/**
+	 * Releases an element which was removed from the store. The element may stay in the
+	 * expiration queue until its timeout, so the reference to the cached object will be
+	 * cleared.
+	 *
+	 * @param pElement the removed element or <code>null</code>
+	 * @return the cached object or <code>null</code> if the object is expired or
+	 *         <code>pElement</code> is <code>null</code>
+	 */
+	private static Object release(Element pElement)
+	{
+		if (pElement == null)
 		{
 			return null;
 		}
+
+		Object object = pElement.object;
+
+		boolean bValid = object != null && pElement.isValid();
+
+		pElement.object = null;
+
+		return bValid ? object : null;
+	}
+
+	/**
+	 * Removes the least recently used objects, if the cache exceeds the maximum size. The
+	 * cache will be shrinked to 90 percent of the maximum size, to avoid an eviction with
+	 * every put. Only one thread evicts at the same time.
+	 */
+	private void evict()
+	{
+		int iMax = iMaxSize;
+
+		if (iMax <= 0 || chmStore.size() <= iMax || !abEviction.compareAndSet(false, true))
+		{
+			return;
+		}
+
+		try
+		{
+			Element[] elements = chmStore.values().toArray(new Element[0]);
+
+			int iRemove = elements.length - (iMax - iMax / 10);
+
+			if (iRemove > 0)
+			{
+				//the access time changes concurrently, so the snapshot will be used
+				long[] laAccess = new long[elements.length];
+
+				for (int i = 0; i < elements.length; i++)
+				{
+					laAccess[i] = elements[i].access;
+				}
+
+				long[] laSorted = laAccess.clone();
+				Arrays.sort(laSorted);
+
+				long lLimit = laSorted[iRemove - 1];
+
+				for (int i = 0; i < elements.length && iRemove > 0; i++)
+				{
+					if (laAccess[i] <= lLimit && chmStore.remove(elements[i].key, elements[i]))
+					{
+						ladEvictionCount.increment();
+
+						invalidate(elements[i]);
+
+						iRemove--;
+					}
+				}
+			}
+		}
+		finally
+		{
+			abEviction.set(false);
+		}
+	}
+
+	/**
+	 * Calls the invalidator of a removed element and releases the cached object.
+	 *
+	 * @param pElement the removed element
+	 */
+	private static void invalidate(Element pElement)
+	{
+		Object object = pElement.object;
+
+		pElement.object = null;
+
+		if (object != null)
+		{
+			if (pElement.invalidator != null)
+			{
+				pElement.invalidator.invalidate(object);
+			}
+			else if (object instanceof IInvalidator)
+			{
+				((IInvalidator)object).invalidate(object);
+			}
+		}
 	}
 	
 	/**
@@ -296,9 +527,18 @@ public class ObjectCacheInstance
 	 */
 	private void startTimeoutCheck()
 	{
-		if (ThreadHandler.isStopped(thCheckTimeout))
+		Thread thCheck = thCheckTimeout;
+
+		//avoids the synchronized ThreadHandler check for every put
+		if (thCheck == null || !thCheck.isAlive())
 		{
-			thCheckTimeout = ThreadHandler.start(new Check());
+			synchronized (this)
+			{
+				if (ThreadHandler.isStopped(thCheckTimeout))
+				{
+					thCheckTimeout = ThreadHandler.start(new Check());
+				}
+			}
 		}
 	}
 	
@@ -313,7 +553,7 @@ public class ObjectCacheInstance
 	 * 
 	 * @author Ren Jahn
 	 */
-	private static final class Element
+	private static final class Element implements Delayed
 	{
 		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 		// Class members
@@ -322,11 +562,17 @@ public class ObjectCacheInstance
 		/** the creation time. Needed to calculate the expiration. */
 		private long creation = System.currentTimeMillis();
 		
+		/** the last access time (nanos), for LRU eviction. Only updated if the cache is bounded. */
+		private long access = System.nanoTime();
+
 		/** element timeout. Needed to calculate the expiration. */
 		private long timeout;
 
-		/** the cached object. */
-		private Object object;
+		/** the access key. */
+		private Object key;
+
+		/** the cached object or <code>null</code> if the element was removed. */
+		private volatile Object object;
 		
 		/** the invalidatable. */
 		private IInvalidator invalidator;
@@ -342,12 +588,14 @@ public class ObjectCacheInstance
 		 * Creates a new instance of <code>Element</code> with an object
 		 * and the desired timeout.
 		 * 
+		 * @param pKey the access key
 		 * @param pObject the cached object
 		 * @param pTimeout the timeout (in millis)
 		 * @param pInvalidator the invalidatable object.
 		 */
-		private Element(Object pObject, long pTimeout, IInvalidator pInvalidator)
+		private Element(Object pKey, Object pObject, long pTimeout, IInvalidator pInvalidator)
 		{
+			key = pKey;
 			object = pObject;
 			timeout = pTimeout;
 			invalidator = pInvalidator;
@@ -356,15 +604,39 @@ public class ObjectCacheInstance
 		/**
 		 * Creates a new instance of {@link Element}.
 		 * 
+		 * @param pKey the access key
 		 * @param pObject the validatable object.
 		 * @param pInvalidator the invalidatable object.
 		 */
-		private Element(IValidatable pObject, IInvalidator pInvalidator)
+		private Element(Object pKey, IValidatable pObject, IInvalidator pInvalidator)
 		{
+			key = pKey;
 			object = pObject;
 			isValidatable = true;
 			invalidator = pInvalidator;
 		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Interface implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public long getDelay(TimeUnit pUnit)
+		{
+			return pUnit.convert(creation + timeout - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public int compareTo(Delayed pDelayed)
+		{
+			Element element = (Element)pDelayed;
+
+			return Long.compare(creation + timeout, element.creation + element.timeout);
+		}
 		
 		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 		// User-defined methods
@@ -382,8 +654,10 @@ public class ObjectCacheInstance
 		{
 			if (isValidatable)
 			{
+				Object obj = object;
+
 				// Let the object decide itself if it is valid or not.
-				return ((IValidatable)object).isValid();
+				return obj != null && ((IValidatable)obj).isValid();
 			}
 			else
 			{
@@ -406,43 +680,52 @@ public class ObjectCacheInstance
 		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 		/**
-		 * Checks the valid state of {@link Element}s.
+		 * Removes expired {@link Element}s as soon as they time out and checks the
+		 * validatable {@link Element}s periodically.
 		 */
 		public void run()
 		{
 			try
 			{
-				while (!ThreadHandler.isStopped(thCheckTimeout))
+				long lNextCheck = System.currentTimeMillis() + CHECK_DELAY;
+
+				//the current thread, because thCheckTimeout is maybe not set yet
+				while (!ThreadHandler.isStopped())
 				{
-					Thread.sleep(CHECK_DELAY);
+					long lWait = lNextCheck - System.currentTimeMillis();
 					
-				    Hashtable<Object, Element> htClone = (Hashtable<Object, Element>)htStore.clone();
+					if (lWait > 0)
+					{
+						Element element = dqExpiration.poll(lWait, TimeUnit.MILLISECONDS);
 
-				    Element eRemoved;
-				    
-					//remove invalid elements from the store
-					for (Map.Entry<Object, Element> entry : htClone.entrySet())
+						//maybe already removed or replaced in other thread
+						if (element != null && chmStore.remove(element.key, element))
+						{
+							invalidate(element);
+						}
+					}
+					else
 					{
-						if (!entry.getValue().isValid())
+						//iterates without copying the store
+						for (Element element : chmStore.values())
 						{
-							eRemoved = htStore.remove(entry.getKey());
-							
-							//maybe already removed in other thread
-							if (eRemoved != null)
+							if (element.isValidatable && !element.isValid() && chmStore.remove(element.key, element))
 							{
-								if (eRemoved.invalidator != null)
-								{
-									eRemoved.invalidator.invalidate(eRemoved.object);
-								}
-								else if (eRemoved.object instanceof IInvalidator)
-								{
-									((IInvalidator)eRemoved.object).invalidate(eRemoved.object);
-								}
+								invalidate(element);
 							}
 						}
+
+						//removed and replaced elements are released and not needed until the timeout
+						for (Iterator<Element> it = dqExpiration.iterator(); it.hasNext();)
+						{
+							if (it.next().object == null)
+							{
+								it.remove();
+							}
+						}
+
+						lNextCheck = System.currentTimeMillis() + CHECK_DELAY;
 					}
-					
-					htClone = null;
 				}
 			}
 			catch (InterruptedException ie)
@@ -30,6 +30,7 @@
  * 01.08.2012 - [JR] - #594: Parameter class introduced
  * 17.10.2013 - [JR] - #842: getConstructor created with code from construct    
  * 12.02.2016 - [JR] - split call in getMethodForCall and call(Method) for better external usage
+ * 18.10.2026 - [JR] - convertParameters is public (cached method handle invocation)
  */
 package com.sibvisions.util;
 
@@ -378,14 +379,16 @@ public final class Reflective
 	}
 	
 	/**
-	 * Converts the parameters to the correct array type, in case of varArgs. 
+	 * Converts the parameters to the correct array type, in case of varArgs. The result can be used
+	 * to invoke a method, found with {@link #getMethodForCall(Class, boolean, String, Object...)}, 
+	 * without further conversion.
 	 * 
 	 * @param pTypes desired class list
 	 * @param pParams parameter list
 	 * @param pVarArg check varArg parameter.
 	 * @return the correct array type, in case of varArgs. 
 	 */
-	private static final Object[] convertParameters(Class<?>[] pTypes, Object[] pParams, boolean pVarArg)
+	public static final Object[] convertParameters(Class<?>[] pTypes, Object[] pParams, boolean pVarArg)
 	{
 		int iParamCount = (pParams == null ? 0 : pParams.length);
 		int iTypeCount = (pTypes == null ? 0 : pTypes.length);
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util.io;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The <code>LZInputStream</code> decompresses data, written with {@link LZOutputStream}. The stream
+ * doesn't read more bytes than the compressed data.
+ *
+ * @author René Jahn
+ * @see LZOutputStream
+ */
+public class LZInputStream extends FilterInputStream
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the uncompressed block. */
+    private byte[] byBlock = new byte[LZOutputStream.BLOCK_SIZE];
+
+    /** the compressed block. */
+    private byte[] byCompressed = new byte[LZOutputStream.getMaxCompressedLength(LZOutputStream.BLOCK_SIZE)];
+
+    /** the block header. */
+    private byte[] byHeader = new byte[4];
+
+    /** the number of bytes in the uncompressed block. */
+    private int iLength;
+
+    /** the read position in the uncompressed block. */
+    private int iPosition;
+
+    /** whether the end of stream was read. */
+    private boolean bEOF;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>LZInputStream</code>.
+     *
+     * @param pStream the stream with compressed data
+     */
+    public LZInputStream(InputStream pStream)
+    {
+        super(pStream);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Overwritten methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException
+    {
+        if (iPosition == iLength && !readBlock())
+        {
+            return -1;
+        }
+
+        return byBlock[iPosition++] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] pBytes, int pOffset, int pLength) throws IOException
+    {
+        if (pLength == 0)
+        {
+            return 0;
+        }
+
+        if (iPosition == iLength && !readBlock())
+        {
+            return -1;
+        }
+
+        int iRead = Math.min(pLength, iLength - iPosition);
+
+        System.arraycopy(byBlock, iPosition, pBytes, pOffset, iRead);
+
+        iPosition += iRead;
+
+        return iRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long skip(long pCount) throws IOException
+    {
+        long lSkipped = 0;
+
+        while (lSkipped < pCount && (iPosition < iLength || readBlock()))
+        {
+            int iSkip = (int)Math.min(pCount - lSkipped, iLength - iPosition);
+
+            iPosition += iSkip;
+            lSkipped += iSkip;
+        }
+
+        return lSkipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int available()
+    {
+        return iLength - iPosition;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean markSupported()
+    {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void mark(int pReadLimit)
+    {
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reset() throws IOException
+    {
+        throw new IOException("mark/reset not supported");
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Reads and decompresses the next block.
+     *
+     * @return <code>true</code> if a block was read, <code>false</code> if the end of stream was read
+     * @throws IOException if reading fails or the data is invalid
+     */
+    private boolean readBlock() throws IOException
+    {
+        iPosition = 0;
+        iLength = 0;
+
+        if (bEOF)
+        {
+            return false;
+        }
+
+        readFully(byHeader, 4);
+
+        int iHeader = (byHeader[0] & 0xFF) << 24
+                      | (byHeader[1] & 0xFF) << 16
+                      | (byHeader[2] & 0xFF) << 8
+                      | (byHeader[3] & 0xFF);
+
+        if (iHeader == 0)
+        {
+            bEOF = true;
+
+            return false;
+        }
+
+        if (iHeader < 0)
+        {
+            if (-iHeader > byBlock.length)
+            {
+                throw new IOException("Invalid block length " + -iHeader);
+            }
+
+            readFully(byBlock, -iHeader);
+
+            iLength = -iHeader;
+        }
+        else
+        {
+            if (iHeader > byCompressed.length)
+            {
+                throw new IOException("Invalid block length " + iHeader);
+            }
+
+            readFully(byCompressed, iHeader);
+
+            try
+            {
+                iLength = decompress(byCompressed, iHeader, byBlock);
+            }
+            catch (ArrayIndexOutOfBoundsException e)
+            {
+                throw new IOException("Invalid compressed data!");
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads the given number of bytes.
+     *
+     * @param pBytes the buffer
+     * @param pLength the number of bytes to read
+     * @throws IOException if reading fails or the stream ends
+     */
+    private void readFully(byte[] pBytes, int pLength) throws IOException
+    {
+        int iRead = 0;
+        int iCount;
+
+        while (iRead < pLength)
+        {
+            iCount = in.read(pBytes, iRead, pLength - iRead);
+
+            if (iCount < 0)
+            {
+                throw new EOFException("Unexpected end of compressed data!");
+            }
+
+            iRead += iCount;
+        }
+    }
+
+    /**
+     * Decompresses a block.
+     *
+     * @param pSource the compressed bytes
+     * @param pLength the number of compressed bytes
+     * @param pTarget the uncompressed bytes
+     * @return the number of uncompressed bytes
+     * @throws IOException if the data is invalid
+     */
+    private static int decompress(byte[] pSource, int pLength, byte[] pTarget) throws IOException
+    {
+        int iSource = 0;
+        int iTarget = 0;
+
+        int iToken;
+        int iCount;
+        int iValue;
+
+        while (true)
+        {
+            iToken = pSource[iSource++] & 0xFF;
+
+            //literals
+            iCount = iToken >>> 4;
+
+            if (iCount == 15)
+            {
+                do
+                {
+                    iValue = pSource[iSource++] & 0xFF;
+                    iCount += iValue;
+                }
+                while (iValue == 255);
+            }
+
+            System.arraycopy(pSource, iSource, pTarget, iTarget, iCount);
+
+            iSource += iCount;
+            iTarget += iCount;
+
+            if (iSource >= pLength)
+            {
+                return iTarget;
+            }
+
+            //match
+            int iOffset = (pSource[iSource++] & 0xFF) | (pSource[iSource++] & 0xFF) << 8;
+
+            if (iOffset == 0 || iOffset > iTarget)
+            {
+                throw new IOException("Invalid match offset " + iOffset);
+            }
+
+            iCount = iToken & 0x0F;
+
+            if (iCount == 15)
+            {
+                do
+                {
+                    iValue = pSource[iSource++] & 0xFF;
+                    iCount += iValue;
+                }
+                while (iValue == 255);
+            }
+
+            iCount += LZOutputStream.MIN_MATCH;
+
+            int iRef = iTarget - iOffset;
+
+            if (iOffset >= iCount)
+            {
+                System.arraycopy(pTarget, iRef, pTarget, iTarget, iCount);
+
+                iTarget += iCount;
+            }
+            else
+            {
+                //overlapping match -> repeats the last bytes
+                for (int i = 0; i < iCount; i++)
+                {
+                    pTarget[iTarget++] = pTarget[iRef++];
+                }
+            }
+        }
+    }
+
+}   // LZInputStream
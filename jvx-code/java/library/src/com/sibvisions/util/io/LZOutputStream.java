@@ -0,0 +1,415 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * The <code>LZOutputStream</code> is a fast LZ77 compressor, similar to the LZ4 block format. It trades compression
+ * ratio for speed and is useful for fast networks, where deflate costs more time than it saves.
+ * <p>
+ * The data is split into blocks with max. {@link #BLOCK_SIZE} bytes. Every block starts with a 4 byte header:
+ * <ul>
+ *   <li><code>&gt; 0</code>: the length of the compressed block</li>
+ *   <li><code>&lt; 0</code>: the negative length of an uncompressed block</li>
+ *   <li><code>0</code>: end of stream</li>
+ * </ul>
+ * A compressed block is a list of sequences: a token byte (4 bits literal length, 4 bits match length),
+ * the literals, the offset of the match (2 bytes, little endian) and the extended lengths.
+ *
+ * @author René Jahn
+ * @see LZInputStream
+ */
+public class LZOutputStream extends FilterOutputStream
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the max. number of bytes per block. */
+    public static final int BLOCK_SIZE = 65536;
+
+    /** the min. length of a match. */
+    static final int MIN_MATCH = 4;
+
+    /** the number of literals at the end of a block. */
+    private static final int LAST_LITERALS = 5;
+
+    /** the min. number of bytes after a match start. */
+    private static final int MATCH_LIMIT = 12;
+
+    /** the max. offset of a match. */
+    private static final int MAX_OFFSET = 65535;
+
+    /** the number of bits for the hash table. */
+    private static final int HASH_BITS = 12;
+
+    /** the uncompressed block. */
+    private byte[] byBlock = new byte[BLOCK_SIZE];
+
+    /** the compressed block. */
+    private byte[] byCompressed = new byte[4 + getMaxCompressedLength(BLOCK_SIZE)];
+
+    /** the positions of the last hashed bytes. */
+    private int[] iaHash = new int[1 << HASH_BITS];
+
+    /** the number of bytes in the uncompressed block. */
+    private int iLength;
+
+    /** whether the stream is finished. */
+    private boolean bFinished;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>LZOutputStream</code>.
+     *
+     * @param pStream the stream for the compressed data
+     */
+    public LZOutputStream(OutputStream pStream)
+    {
+        super(pStream);
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Overwritten methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int pByte) throws IOException
+    {
+        if (iLength == BLOCK_SIZE)
+        {
+            writeBlock();
+        }
+
+        byBlock[iLength++] = (byte)pByte;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] pBytes, int pOffset, int pLength) throws IOException
+    {
+        int iOffset = pOffset;
+        int iRemaining = pLength;
+
+        while (iRemaining > 0)
+        {
+            if (iLength == BLOCK_SIZE)
+            {
+                writeBlock();
+            }
+
+            int iCopy = Math.min(iRemaining, BLOCK_SIZE - iLength);
+
+            System.arraycopy(pBytes, iOffset, byBlock, iLength, iCopy);
+
+            iLength += iCopy;
+            iOffset += iCopy;
+            iRemaining -= iCopy;
+        }
+    }
+
+    /**
+     * Compresses the buffered bytes and flushes the stream.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        writeBlock();
+
+        out.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException
+    {
+        finish();
+
+        out.close();
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Writes all compressed data and the end of stream, without closing the underlying stream.
+     *
+     * @throws IOException if writing fails
+     */
+    public void finish() throws IOException
+    {
+        if (!bFinished)
+        {
+            writeBlock();
+            writeHeader(0);
+
+            out.flush();
+
+            bFinished = true;
+        }
+    }
+
+    /**
+     * Compresses and writes the buffered bytes.
+     *
+     * @throws IOException if writing fails
+     */
+    private void writeBlock() throws IOException
+    {
+        if (bFinished)
+        {
+            throw new IOException("Stream is finished!");
+        }
+
+        if (iLength == 0)
+        {
+            return;
+        }
+
+        int iCompressed = compress(byBlock, iLength, byCompressed, 4);
+
+        if (iCompressed < iLength)
+        {
+            writeInt(byCompressed, 0, iCompressed);
+
+            out.write(byCompressed, 0, 4 + iCompressed);
+        }
+        else
+        {
+            writeHeader(-iLength);
+
+            out.write(byBlock, 0, iLength);
+        }
+
+        iLength = 0;
+    }
+
+    /**
+     * Writes a block header.
+     *
+     * @param pHeader the header
+     * @throws IOException if writing fails
+     */
+    private void writeHeader(int pHeader) throws IOException
+    {
+        writeInt(byCompressed, 0, pHeader);
+
+        out.write(byCompressed, 0, 4);
+    }
+
+    /**
+     * Compresses a block.
+     *
+     * @param pSource the uncompressed bytes
+     * @param pLength the number of uncompressed bytes
+     * @param pTarget the target for the compressed bytes, with at least {@link #getMaxCompressedLength(int)} bytes
+     * @param pOffset the start offset in the target
+     * @return the number of compressed bytes
+     */
+    private int compress(byte[] pSource, int pLength, byte[] pTarget, int pOffset)
+    {
+        int iTarget = pOffset;
+        int iAnchor = 0;
+
+        if (pLength >= MATCH_LIMIT + 1)
+        {
+            Arrays.fill(iaHash, -1);
+
+            int iMatchStartLimit = pLength - MATCH_LIMIT;
+            int iMatchEndLimit = pLength - LAST_LITERALS;
+
+            int iPos = 0;
+            int iRef;
+            int iSequence;
+            int iHash;
+
+            while (iPos < iMatchStartLimit)
+            {
+                iSequence = readInt(pSource, iPos);
+                iHash = (iSequence * -1640531535) >>> (32 - HASH_BITS);
+
+                iRef = iaHash[iHash];
+                iaHash[iHash] = iPos;
+
+                if (iRef < 0
+                    || iPos - iRef > MAX_OFFSET
+                    || readInt(pSource, iRef) != iSequence)
+                {
+                    //skip faster through data without matches
+                    iPos += 1 + ((iPos - iAnchor) >>> 6);
+
+                    continue;
+                }
+
+                //extend backwards
+                while (iPos > iAnchor && iRef > 0 && pSource[iPos - 1] == pSource[iRef - 1])
+                {
+                    iPos--;
+                    iRef--;
+                }
+
+                int iMatchLength = MIN_MATCH;
+
+                while (iPos + iMatchLength < iMatchEndLimit && pSource[iPos + iMatchLength] == pSource[iRef + iMatchLength])
+                {
+                    iMatchLength++;
+                }
+
+                int iLiterals = iPos - iAnchor;
+                int iMatchToken = iMatchLength - MIN_MATCH;
+
+                pTarget[iTarget++] = (byte)((Math.min(iLiterals, 15) << 4) | Math.min(iMatchToken, 15));
+
+                iTarget = writeLiterals(pSource, iAnchor, iLiterals, pTarget, iTarget);
+
+                int iOffset = iPos - iRef;
+
+                pTarget[iTarget++] = (byte)iOffset;
+                pTarget[iTarget++] = (byte)(iOffset >>> 8);
+
+                if (iMatchToken >= 15)
+                {
+                    iTarget = writeLength(iMatchToken - 15, pTarget, iTarget);
+                }
+
+                iPos += iMatchLength;
+                iAnchor = iPos;
+            }
+        }
+
+        //last literals
+        int iLiterals = pLength - iAnchor;
+
+        pTarget[iTarget++] = (byte)(Math.min(iLiterals, 15) << 4);
+
+        iTarget = writeLiterals(pSource, iAnchor, iLiterals, pTarget, iTarget);
+
+        return iTarget - pOffset;
+    }
+
+    /**
+     * Writes the extended literal length and the literals.
+     *
+     * @param pSource the uncompressed bytes
+     * @param pStart the first literal
+     * @param pLiterals the number of literals
+     * @param pTarget the compressed bytes
+     * @param pOffset the position in the compressed bytes
+     * @return the new position in the compressed bytes
+     */
+    private static int writeLiterals(byte[] pSource, int pStart, int pLiterals, byte[] pTarget, int pOffset)
+    {
+        int iTarget = pOffset;
+
+        if (pLiterals >= 15)
+        {
+            iTarget = writeLength(pLiterals - 15, pTarget, iTarget);
+        }
+
+        System.arraycopy(pSource, pStart, pTarget, iTarget, pLiterals);
+
+        return iTarget + pLiterals;
+    }
+
+    /**
+     * Writes an extended length.
+     *
+     * @param pLength the length
+     * @param pTarget the compressed bytes
+     * @param pOffset the position in the compressed bytes
+     * @return the new position in the compressed bytes
+     */
+    private static int writeLength(int pLength, byte[] pTarget, int pOffset)
+    {
+        int iTarget = pOffset;
+        int iLength = pLength;
+
+        while (iLength >= 255)
+        {
+            pTarget[iTarget++] = (byte)255;
+
+            iLength -= 255;
+        }
+
+        pTarget[iTarget++] = (byte)iLength;
+
+        return iTarget;
+    }
+
+    /**
+     * Reads 4 bytes as little endian int.
+     *
+     * @param pBytes the bytes
+     * @param pOffset the position
+     * @return the value
+     */
+    private static int readInt(byte[] pBytes, int pOffset)
+    {
+        return (pBytes[pOffset] & 0xFF)
+               | (pBytes[pOffset + 1] & 0xFF) << 8
+               | (pBytes[pOffset + 2] & 0xFF) << 16
+               | (pBytes[pOffset + 3] & 0xFF) << 24;
+    }
+
+    /**
+     * Writes an int as big endian.
+     *
+     * @param pBytes the bytes
+     * @param pOffset the position
+     * @param pValue the value
+     */
+    static void writeInt(byte[] pBytes, int pOffset, int pValue)
+    {
+        pBytes[pOffset] = (byte)(pValue >>> 24);
+        pBytes[pOffset + 1] = (byte)(pValue >>> 16);
+        pBytes[pOffset + 2] = (byte)(pValue >>> 8);
+        pBytes[pOffset + 3] = (byte)pValue;
+    }
+
+    /**
+     * Gets the max. length of a compressed block.
+     *
+     * @param pLength the number of uncompressed bytes
+     * @return the max. number of compressed bytes
+     */
+    static int getMaxCompressedLength(int pLength)
+    {
+        return pLength + pLength / 255 + 16;
+    }
+
+}   // LZOutputStream
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.sibvisions.util.type.FileUtil;
+
+/**
+ * The <code>ReplayOutputStream</code> records all written bytes, to write them again with {@link #writeTo(OutputStream)}.
+ * The bytes are kept in memory up to a limit. If more bytes are written, all bytes will be moved to a temporary
+ * file. Optionally, all bytes will be forwarded to another stream, e.g. to send and record a response at the
+ * same time.
+ *
+ * @author René Jahn
+ */
+public class ReplayOutputStream extends OutputStream
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the stream which gets all written bytes. */
+    private OutputStream osForward;
+
+    /** the maximum number of bytes in memory. */
+    private int iMemoryLimit;
+
+    /** the bytes in memory. */
+    private ByteArrayOutputStream baosMemory = new ByteArrayOutputStream();
+
+    /** the temporary file. */
+    private File fiSpill;
+
+    /** the stream to the temporary file. */
+    private OutputStream osSpill;
+
+    /** the number of written bytes. */
+    private long lSize;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Creates a new instance of <code>ReplayOutputStream</code>.
+     *
+     * @param pMemoryLimit the maximum number of bytes in memory
+     */
+    public ReplayOutputStream(int pMemoryLimit)
+    {
+        this(null, pMemoryLimit);
+    }
+
+    /**
+     * Creates a new instance of <code>ReplayOutputStream</code> which forwards all written bytes.
+     *
+     * @param pForward the stream which gets all written bytes or <code>null</code> to record only. The stream
+     *                 won't be closed.
+     * @param pMemoryLimit the maximum number of bytes in memory
+     */
+    public ReplayOutputStream(OutputStream pForward, int pMemoryLimit)
+    {
+        osForward = pForward;
+        iMemoryLimit = pMemoryLimit;
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Overwritten methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int pByte) throws IOException
+    {
+        if (osForward != null)
+        {
+            osForward.write(pByte);
+        }
+
+        getRecordStream(1).write(pByte);
+
+        lSize++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] pBytes, int pOffset, int pLength) throws IOException
+    {
+        if (osForward != null)
+        {
+            osForward.write(pBytes, pOffset, pLength);
+        }
+
+        getRecordStream(pLength).write(pBytes, pOffset, pLength);
+
+        lSize += pLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws IOException
+    {
+        if (osForward != null)
+        {
+            osForward.flush();
+        }
+
+        if (osSpill != null)
+        {
+            osSpill.flush();
+        }
+    }
+
+    /**
+     * Flushes all bytes. The recorded bytes are still available and the forward stream won't be closed.
+     *
+     * @throws IOException if flushing fails
+     */
+    @Override
+    public void close() throws IOException
+    {
+        flush();
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Gets the stream for recording the given number of bytes. All bytes will be moved to a temporary file,
+     * if the memory limit would be exceeded.
+     *
+     * @param pLength the number of bytes to record
+     * @return the memory or file stream
+     * @throws IOException if the stream is released or the temporary file can't be created
+     */
+    private OutputStream getRecordStream(int pLength) throws IOException
+    {
+        if (osSpill != null)
+        {
+            return osSpill;
+        }
+
+        if (baosMemory == null)
+        {
+            throw new IOException("Stream is released!");
+        }
+
+        if (baosMemory.size() + pLength > iMemoryLimit)
+        {
+            fiSpill = File.createTempFile(getClass().getSimpleName(), ".tmp");
+            fiSpill.deleteOnExit();
+
+            osSpill = new BufferedOutputStream(new FileOutputStream(fiSpill));
+
+            baosMemory.writeTo(osSpill);
+            baosMemory = null;
+
+            return osSpill;
+        }
+
+        return baosMemory;
+    }
+
+    /**
+     * Writes all recorded bytes to the given stream.
+     *
+     * @param pStream the stream
+     * @throws IOException if writing fails or the stream is released
+     */
+    public void writeTo(OutputStream pStream) throws IOException
+    {
+        if (fiSpill != null)
+        {
+            osSpill.flush();
+
+            FileUtil.copy(new FileInputStream(fiSpill), true, pStream, false);
+        }
+        else if (baosMemory != null)
+        {
+            baosMemory.writeTo(pStream);
+        }
+        else
+        {
+            throw new IOException("Stream is released!");
+        }
+    }
+
+    /**
+     * Gets the number of written bytes.
+     *
+     * @return the number of bytes
+     */
+    public long size()
+    {
+        return lSize;
+    }
+
+    /**
+     * Gets whether the recorded bytes were moved to a temporary file.
+     *
+     * @return <code>true</code> if a temporary file is used, <code>false</code> if all bytes are in memory
+     */
+    public boolean isSpilled()
+    {
+        return fiSpill != null;
+    }
+
+    /**
+     * Releases the recorded bytes and deletes the temporary file, if used.
+     */
+    public void release()
+    {
+        baosMemory = null;
+
+        if (osSpill != null)
+        {
+            try
+            {
+                osSpill.close();
+            }
+            catch (IOException ioe)
+            {
+                //ignore
+            }
+
+            fiSpill.delete();
+            
+            osSpill = null;
+            fiSpill = null;
+        }
+    }
+
+}   // ReplayOutputStream
@@ -19,6 +19,7 @@
  * 01.10.2008 - [HM] - creation
  * 17.11.2008 - [RH] - transients added, optimized
  * 19.11.2008 - [RH] - filter redesign
+ * 18.10.2026 - [JR] - thread-safe column cache
  */
 package javax.rad.model.condition;
 
@@ -54,14 +55,8 @@ public abstract class CompareCondition extends BaseCondition
     /** The column name in the IDataRow to use for the compare. */
     private transient String    sDataRowColumnName;
 
-    /** The row definition used the last time, to optimize speed. */
-    private transient IRowDefinition lastRowDefinition;
-
-    /** The data type used the last time, to optimize speed. */
-    private transient IDataType    lastDataType;
-
-    /** The column index used the last time, to optimize speed. */
-    private transient int    lastColumnIndex;
+    /** The column used the last time, to optimize speed. */
+    private transient LastColumn lastColumn;
 
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
@@ -213,26 +208,22 @@ public abstract class CompareCondition extends BaseCondition
 		{
 			try
 			{
-				if (pDataRow.getRowDefinition() != lastRowDefinition)
+				// the cache is replaced with a single write, to allow concurrent checks
+				LastColumn column = lastColumn;
+				
+				if (column == null || pDataRow.getRowDefinition() != column.rowDefinition)
 				{
-					lastRowDefinition = pDataRow.getRowDefinition();
-					lastColumnIndex = lastRowDefinition.getColumnDefinitionIndex(sColumnName);
-					if (lastColumnIndex < 0)
-					{
-						lastDataType = null;
-					}
-					else
-					{
-						lastDataType =  lastRowDefinition.getColumnDefinition(lastColumnIndex).getDataType();
-					}
+					column = new LastColumn(pDataRow.getRowDefinition(), sColumnName);
+					
+					lastColumn = column;
 				}
-				if (lastDataType == null)
+				if (column.dataType == null)
 				{
 					return false;
 				}
 				else
 				{
-					return isFulfilled(lastDataType, pDataRow.getValue(lastColumnIndex));
+					return isFulfilled(column.dataType, pDataRow.getValue(column.columnIndex));
 				}
 			}
 			catch (ModelException modelException)
@@ -379,4 +370,50 @@ public abstract class CompareCondition extends BaseCondition
     	bIgnoreNull = pIgnoreNull;
     }   
 	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+	
+	/**
+	 * The <code>LastColumn</code> caches the column index and data type of the compare column
+	 * for a row definition. It is immutable, so threads which check the same condition concurrently
+	 * always see a matching row definition, column index and data type.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private static final class LastColumn
+	{
+		/** The row definition. */
+		private final IRowDefinition rowDefinition;
+		
+		/** The column index or <code>-1</code> if the column doesn't exist. */
+		private final int columnIndex;
+		
+		/** The data type or <code>null</code> if the column doesn't exist. */
+		private final IDataType dataType;
+		
+		/**
+		 * Creates a new instance of <code>LastColumn</code>.
+		 * 
+		 * @param pRowDefinition the row definition
+		 * @param pColumnName the column name
+		 * @throws ModelException if the column definition can't be accessed
+		 */
+		private LastColumn(IRowDefinition pRowDefinition, String pColumnName) throws ModelException
+		{
+			rowDefinition = pRowDefinition;
+			columnIndex = pRowDefinition.getColumnDefinitionIndex(pColumnName);
+			
+			if (columnIndex < 0)
+			{
+				dataType = null;
+			}
+			else
+			{
+				dataType = pRowDefinition.getColumnDefinition(columnIndex).getDataType();
+			}
+		}
+		
+	}	// LastColumn
+	
 }	// CompareCondition
@@ -17,6 +17,7 @@
  * History
  *
  * 19.11.2008 - [RH] - creation
+ * 18.10.2026 - [JR] - thread-safe search cache
  */
 package javax.rad.model.condition;
 
@@ -30,6 +31,12 @@ import javax.rad.model.IDataRow;
  */
 public class ContainsIgnoreCase extends LikeIgnoreCase
 {
+ 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class Members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** The last value and its transformed value. */
+	private transient SearchCache scValue;
 	
  	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
@@ -151,34 +158,37 @@ public class ContainsIgnoreCase extends LikeIgnoreCase
     	{
     		return null;
     	}
-    	else if (search instanceof String)
-		{
-			if (search != searchValue)
-			{
-				searchTransformed = ((String)search).toLowerCase().replace('%', '*').replace('_', '?');
-				if (!searchTransformed.startsWith("*"))
-				{
-					searchTransformed = "*" + searchTransformed;
-				}
-				if (!searchTransformed.endsWith("*"))
-				{
-					searchTransformed = searchTransformed + "*";
-				}
-				
-				searchValue = search;
-			}
-			return searchTransformed;
-		}
-		else
-		{
-			if (search != searchValue)
-			{
-				searchTransformed = "*" + search.toString().toLowerCase() + "*";
-				
-				searchValue = search;
-			}
-			return searchTransformed;
-		}
+    	
+    	// the cache is replaced with a single write, to allow concurrent checks
+    	SearchCache cache = scValue;
+    	
+    	if (cache == null || cache.search != search)
+    	{
+    		String transformed;
+    		
+    		if (search instanceof String)
+    		{
+    			transformed = ((String)search).toLowerCase().replace('%', '*').replace('_', '?');
+    			if (!transformed.startsWith("*"))
+    			{
+    				transformed = "*" + transformed;
+    			}
+    			if (!transformed.endsWith("*"))
+    			{
+    				transformed = transformed + "*";
+    			}
+    		}
+    		else
+    		{
+    			transformed = "*" + search.toString().toLowerCase() + "*";
+    		}
+    		
+    		cache = new SearchCache(search, transformed);
+    		
+    		scValue = cache;
+    	}
+    	
+    	return cache.transformed;
     }
     
 	
@@ -19,6 +19,7 @@
  * 01.10.2008 - [RH] - creation
  * 17.11.2008 - [RH] - new constructors for IDataRow and ColumnName added
  * 18.11.2008 - [RH] - class simplified
+ * 18.10.2026 - [JR] - thread-safe search cache
  */
 package javax.rad.model.condition;
 
@@ -40,11 +41,24 @@ public class Like extends CompareCondition
 	// Class Members
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	/** The last search value. */
+	/**
+	 * The last search value.
+	 * 
+	 * @deprecated not thread-safe, the value is only set for compatibility.
+	 */
+	@Deprecated
 	protected Object searchValue;
-	/** The transformed search value. */
+	/**
+	 * The transformed search value.
+	 * 
+	 * @deprecated not thread-safe, the value is only set for compatibility.
+	 */
+	@Deprecated
 	protected String searchTransformed;
 	
+	/** The last search value and its transformed value. */
+	private transient SearchCache scSearch;
+	
  	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -179,25 +193,34 @@ public class Like extends CompareCondition
 			{
 				value = pDataType.convertToString(pValue);
 			}
+			// the cache is replaced with a single write, to allow concurrent checks
+			SearchCache cache = scSearch;
+			
 			if (search instanceof String)
 			{
-				if (search != searchValue)
+				if (cache == null || cache.search != search)
 				{
-					searchTransformed = ((String)search).replace('%', '*').replace('_', '?');
+					cache = new SearchCache(search, ((String)search).replace('%', '*').replace('_', '?'));
+					
+					scSearch = cache;
 					
 					searchValue = search;
+					searchTransformed = cache.transformed;
 				}
-				return StringUtil.like(value, searchTransformed);
+				return StringUtil.like(value, cache.transformed);
 			}
 			else
 			{
-				if (search != searchValue)
+				if (cache == null || cache.search != search)
 				{
-					searchTransformed = search.toString();
+					cache = new SearchCache(search, search.toString());
+					
+					scSearch = cache;
 					
 					searchValue = search;
+					searchTransformed = cache.transformed;
 				}
-				return searchTransformed.equals(value);
+				return cache.transformed.equals(value);
 			}
 	    }
 	}
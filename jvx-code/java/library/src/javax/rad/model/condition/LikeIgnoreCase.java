@@ -17,6 +17,7 @@
  * History
  *
  * 19.11.2008 - [RH] - creation
+ * 18.10.2026 - [JR] - thread-safe search cache
  */
 package javax.rad.model.condition;
 
@@ -39,11 +40,24 @@ public class LikeIgnoreCase extends CompareCondition
 	// Class Members
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	/** The last search value. */
+	/**
+	 * The last search value.
+	 * 
+	 * @deprecated not thread-safe, the value is only set for compatibility.
+	 */
+	@Deprecated
 	protected Object searchValue;
-	/** The transformed search value. */
+	/**
+	 * The transformed search value.
+	 * 
+	 * @deprecated not thread-safe, the value is only set for compatibility.
+	 */
+	@Deprecated
 	protected String searchTransformed;
 	
+	/** The last search value and its transformed value. */
+	private transient SearchCache scSearch;
+	
  	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -178,25 +192,34 @@ public class LikeIgnoreCase extends CompareCondition
 			{
 				value = pDataType.convertToString(pValue).toLowerCase();
 			}
+			// the cache is replaced with a single write, to allow concurrent checks
+			SearchCache cache = scSearch;
+			
 			if (search instanceof String)
 			{
-				if (search != searchValue)
+				if (cache == null || cache.search != search)
 				{
-					searchTransformed = ((String)search).toLowerCase().replace('%', '*').replace('_', '?');
+					cache = new SearchCache(search, ((String)search).toLowerCase().replace('%', '*').replace('_', '?'));
+					
+					scSearch = cache;
 					
 					searchValue = search;
+					searchTransformed = cache.transformed;
 				}
-				return StringUtil.like(value, searchTransformed);
+				return StringUtil.like(value, cache.transformed);
 			}
 			else
 			{
-				if (search != searchValue)
+				if (cache == null || cache.search != search)
 				{
-					searchTransformed = search.toString().toLowerCase();
+					cache = new SearchCache(search, search.toString().toLowerCase());
+					
+					scSearch = cache;
 					
 					searchValue = search;
+					searchTransformed = cache.transformed;
 				}
-				return searchTransformed.equals(value);
+				return cache.transformed.equals(value);
 			}
 	    }
 	}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package javax.rad.model.condition;
+
+/**
+ * The <code>SearchCache</code> holds a search value and its transformed value. It is immutable,
+ * so the conditions can replace their cache with a single write, and threads which evaluate the
+ * same condition concurrently always see a matching pair of values.
+ *
+ * @author René Jahn
+ */
+final class SearchCache
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the search value. */
+	final Object search;
+
+	/** the transformed search value. */
+	final String transformed;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>SearchCache</code>.
+	 *
+	 * @param pSearch the search value
+	 * @param pTransformed the transformed search value
+	 */
+	SearchCache(Object pSearch, String pTransformed)
+	{
+		search = pSearch;
+		transformed = pTransformed;
+	}
+
+}	// SearchCache
@@ -23,6 +23,7 @@
  * 13.03.2010 - [JR] - #88: getTypeIdentifier implemented
  * 24.06.2011 - [JR] - #401: trim strings in automatic conversion
  * 26.05.2013 - [RH] - #663: BigDecimalDataType return wrong size, if scale == -1 and precision==0 
+ * 18.10.2026 - [JR] - thread-safe format and parse
  */
 package javax.rad.model.datatype;
 
@@ -30,6 +31,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.Types;
 import java.util.Date;
+import java.util.HashMap;
 
 import javax.rad.model.ModelException;
 import javax.rad.model.ui.ICellEditor;
@@ -53,6 +55,9 @@ public class BigDecimalDataType extends DataType
 	/** the type identifier. */
 	public static final int TYPE_IDENTIFIER = Types.DECIMAL;
 	
+	/** the number utils per thread and pattern, because the formats are not thread-safe. */
+	private static ThreadLocal<HashMap<String, NumberUtil>> thlNumberUtils = new ThreadLocal<HashMap<String, NumberUtil>>();
+	
 	/** The scale of the <code>BigDecimalDataType</code>. */
 	private int	iScale			= -1;
 	
@@ -65,6 +70,9 @@ public class BigDecimalDataType extends DataType
 	/** The cell renderer. */
 	private NumberUtil numberUtil = new NumberUtil();
 	
+	/** the number pattern of the number utils per thread. */
+	private transient volatile String sNumberPattern;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -144,7 +152,7 @@ public class BigDecimalDataType extends DataType
 		
 		try
 		{
-			return numberUtil.format((Number)pObject);
+			return getNumberUtil().format((Number)pObject);
 		}
 		catch (Exception ex)
 		{
@@ -250,7 +258,7 @@ public class BigDecimalDataType extends DataType
 			{
 				try
 				{
-					return removeExponent((BigDecimal)numberUtil.parse(sObject));
+					return removeExponent((BigDecimal)getNumberUtil().parse(sObject));
 				}
 				catch (Exception exc)
 				{
@@ -448,6 +456,46 @@ public class BigDecimalDataType extends DataType
 	public void setNumberFormat(String pNumberFormat)
 	{
 		numberUtil.setNumberPattern(pNumberFormat);
+		
+		sNumberPattern = null;
+	}
+	
+	/**
+	 * Gets the number util for the current thread. The instances are cached per thread and pattern, 
+	 * so all data types with the same pattern use the same instance.
+	 * 
+	 * @return the number util of the current thread
+	 */
+	private NumberUtil getNumberUtil()
+	{
+		String sPattern = sNumberPattern;
+		
+		if (sPattern == null)
+		{
+			sPattern = numberUtil.getNumberPattern();
+			
+			sNumberPattern = sPattern;
+		}
+		
+		HashMap<String, NumberUtil> hmpUtils = thlNumberUtils.get();
+		
+		if (hmpUtils == null)
+		{
+			hmpUtils = new HashMap<String, NumberUtil>();
+			
+			thlNumberUtils.set(hmpUtils);
+		}
+		
+		NumberUtil util = hmpUtils.get(sPattern);
+		
+		if (util == null)
+		{
+			util = new NumberUtil(sPattern);
+			
+			hmpUtils.put(sPattern, util);
+		}
+		
+		return util;
 	}
 	
 } 	// BigDecimalDataType
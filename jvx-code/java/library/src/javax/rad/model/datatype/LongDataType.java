@@ -23,12 +23,14 @@
  * 13.03.2010 - [JR] - #88: getTypeIdentifier implemented
  * 24.06.2011 - [JR] - #401: trim strings in automatic conversion
  * 26.05.2013 - [RH] - #663: BigDecimalDataType return wrong size, if scale == -1 and precision==0 
+ * 18.10.2026 - [JR] - thread-safe format and parse
  */
 package javax.rad.model.datatype;
 
 import java.math.BigDecimal;
 import java.sql.Types;
 import java.util.Date;
+import java.util.HashMap;
 
 import javax.rad.model.ModelException;
 import javax.rad.model.ui.ICellEditor;
@@ -51,12 +53,18 @@ public class LongDataType extends DataType
 	/** the type identifier. */
 	public static final int TYPE_IDENTIFIER = Types.BIGINT;
 	
+	/** the number utils per thread and pattern, because the formats are not thread-safe. */
+	private static ThreadLocal<HashMap<String, NumberUtil>> thlNumberUtils = new ThreadLocal<HashMap<String, NumberUtil>>();
+	
 	/** Indicates if the <code>BigDecimalDataType</code> is signed. */
 	private boolean	bSigned		= true;
 	
 	/** The cell renderer. */
 	private NumberUtil numberUtil = new NumberUtil();
 	
+	/** the number pattern of the number utils per thread. */
+	private transient volatile String sNumberPattern;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -110,7 +118,7 @@ public class LongDataType extends DataType
 		
 		try
 		{
-			return numberUtil.format((Number)pObject);
+			return getNumberUtil().format((Number)pObject);
 		}
 		catch (Exception ex)
 		{
@@ -168,7 +176,7 @@ public class LongDataType extends DataType
 			{
 				try
 				{
-					return Long.valueOf(((BigDecimal)numberUtil.parse(sObject)).longValue());
+					return Long.valueOf(((BigDecimal)getNumberUtil().parse(sObject)).longValue());
 				}
 				catch (Exception exc)
 				{
@@ -221,7 +229,13 @@ public class LongDataType extends DataType
 	@Override
 	public LongDataType clone()
 	{
-		return (LongDataType) super.clone();
+		LongDataType dataType = (LongDataType)super.clone();
+		
+		// don't share the formats
+		dataType.numberUtil = new NumberUtil();
+		dataType.setNumberFormat(getNumberFormat());
+		
+		return dataType;
 	}
 	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -267,6 +281,46 @@ public class LongDataType extends DataType
 	public void setNumberFormat(String pNumberFormat)
 	{
 		numberUtil.setNumberPattern(pNumberFormat);
+		
+		sNumberPattern = null;
+	}
+	
+	/**
+	 * Gets the number util for the current thread. The instances are cached per thread and pattern, 
+	 * so all data types with the same pattern use the same instance.
+	 * 
+	 * @return the number util of the current thread
+	 */
+	private NumberUtil getNumberUtil()
+	{
+		String sPattern = sNumberPattern;
+		
+		if (sPattern == null)
+		{
+			sPattern = numberUtil.getNumberPattern();
+			
+			sNumberPattern = sPattern;
+		}
+		
+		HashMap<String, NumberUtil> hmpUtils = thlNumberUtils.get();
+		
+		if (hmpUtils == null)
+		{
+			hmpUtils = new HashMap<String, NumberUtil>();
+			
+			thlNumberUtils.set(hmpUtils);
+		}
+		
+		NumberUtil util = hmpUtils.get(sPattern);
+		
+		if (util == null)
+		{
+			util = new NumberUtil(sPattern);
+			
+			hmpUtils.put(sPattern, util);
+		}
+		
+		return util;
 	}
 	
 } 	// LongDataType
@@ -21,12 +21,14 @@
  * 13.11.2008 - [RH] - clone moved to DataType()
  * 13.03.2010 - [JR] - #88: getTypeIdentifier implemented
  * 12.04.2013 - [JR] - convertToTypeClass: check Timestamp.valueOf first
+ * 18.10.2026 - [JR] - thread-safe format and parse
  */
 package javax.rad.model.datatype;
 
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.util.Date;
+import java.util.HashMap;
 
 import javax.rad.model.ModelException;
 import javax.rad.model.ui.ICellEditor;
@@ -52,6 +54,9 @@ public class TimestampDataType extends DataType
 	/** The format to convert a String to a Timestamp. */
 	private static final String FORMAT = "0000-01-01 00:00:00.000000000";
 	
+	/** the date utils per thread and pattern, because the formats are not thread-safe. */
+	private static ThreadLocal<HashMap<String, DateUtil>> thlDateUtils = new ThreadLocal<HashMap<String, DateUtil>>();
+	
 	/** The fractional seconds precision. */
 	private int iFractionalSecondsPrecision = 0;
 	
@@ -61,6 +66,9 @@ public class TimestampDataType extends DataType
 	/** The cell renderer. */
 	private DateUtil dateUtil = new DateUtil();
 	
+	/** the date pattern of the date utils per thread. */
+	private transient volatile String sDatePattern;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Intitialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -114,7 +122,7 @@ public class TimestampDataType extends DataType
 		
 		try
 		{
-			return dateUtil.format((Date)pObject);
+			return getDateUtil().format((Date)pObject);
 		}
 		catch (Exception ex)
 		{
@@ -199,7 +207,7 @@ public class TimestampDataType extends DataType
 			{
 				try
 				{
-					return truncFractionalSecondsPrecision(new Timestamp(((Date)dateUtil.parse(sObject)).getTime()));
+					return truncFractionalSecondsPrecision(new Timestamp(((Date)getDateUtil().parse(sObject)).getTime()));
 				}
 				catch (Exception exc)
 				{
@@ -284,6 +292,8 @@ public class TimestampDataType extends DataType
 	public void setDateFormat(String pDateFormat)
 	{
 		dateUtil.setDatePattern(pDateFormat);
+		
+		sDatePattern = null;
 	}
 
 	/**
@@ -323,5 +333,43 @@ public class TimestampDataType extends DataType
         }
     }
 	
+	/**
+	 * Gets the date util for the current thread. The instances are cached per thread and pattern, 
+	 * so all data types with the same pattern use the same instance.
+	 * 
+	 * @return the date util of the current thread
+	 */
+	private DateUtil getDateUtil()
+	{
+		String sPattern = sDatePattern;
+		
+		if (sPattern == null)
+		{
+			sPattern = dateUtil.getDatePattern();
+			
+			sDatePattern = sPattern;
+		}
+		
+		HashMap<String, DateUtil> hmpUtils = thlDateUtils.get();
+		
+		if (hmpUtils == null)
+		{
+			hmpUtils = new HashMap<String, DateUtil>();
+			
+			thlDateUtils.set(hmpUtils);
+		}
+		
+		DateUtil util = hmpUtils.get(sPattern);
+		
+		if (util == null)
+		{
+			util = new DateUtil(sPattern);
+			
+			hmpUtils.put(sPattern, util);
+		}
+		
+		return util;
+	}
+	
 } 	// TimestampDataType
 
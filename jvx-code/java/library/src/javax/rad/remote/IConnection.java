@@ -26,6 +26,7 @@
  * 04.04.2014 - [RZ] - #997: added addPropertyChangedListener and removePropertyChangedListener
  * 08.06.2016 - [JR] - #25: defined TYPE_CALLBACKRESULT_RESULT 
  * 12.01.2017 - [JR] - #1744: defined NOPARAMETER
+ * 18.10.2026 - [JR] - MODE_DEFLATE, MODE_LZ defined
  */
 package javax.rad.remote;
 
@@ -56,6 +57,12 @@ public interface IConnection
 	/** Constant type for compressed communication. */
 	public static final int MODE_COMPRESSED = 0x02;
 	
+	/** Constant type for raw deflate compressed communication. */
+	public static final int MODE_DEFLATE = 0x03;
+
+	/** Constant type for fast LZ compressed communication. */
+	public static final int MODE_LZ = 0x04;
+	
 	
 	/** the acknowledge flag. */
 	public static final int FLAG_ACKNOWLEDGE = 'A';
@@ -23,6 +23,8 @@
  * 15.10.2013 - [JR] - SESSIONTIMEOUT_AS_SECONDS defined
  * 08.04.2014 - [JR] - ISOLATION defined
  * 07.10.2014 - [JR] - TIME constants defined
+ * 18.10.2026 - [JR] - ROWBLOCK defined
+ *                   - COMPRESSION_CODECS_CLIENT, COMPRESSION_CODECS_SERVER defined
  */
 package javax.rad.remote;
 
@@ -95,6 +97,13 @@ public interface IConnectionConstants
 	/** the key for the compression. */
 	public static final String COMPRESSION		            = PREFIX_CLIENT + PREFIX_SESSION + "compression";
 	
+	/** the key for the row block support of the serializer. */
+	public static final String ROWBLOCK		                = PREFIX_CLIENT + PREFIX_SESSION + "rowblock";
+	
+	/** the key for the compression codecs which the client is able to read. */
+	public static final String COMPRESSION_CODECS_CLIENT    = PREFIX_CLIENT + PREFIX_SESSION + "compression.codecs";
+	
+
 	/** the key for the alive interval. */
 	public static final String ALIVEINTERVAL	            = PREFIX_CLIENT + "alive.interval";
 	
@@ -147,6 +156,9 @@ public interface IConnectionConstants
     /** the key for the security environment. */
     public static final String SECURITY_ENVIRONMENT	        = PREFIX_SERVER + PREFIX_SESSION + "securityEnvironment";
     
+    /** the key for the compression codecs which the server is able to read. */
+    public static final String COMPRESSION_CODECS_SERVER    = PREFIX_SERVER + PREFIX_SESSION + "compression.codecs";
+    
     /** the multi-factor authentication prefix. */
     public static final String PREFIX_MFA   				= PREFIX_CLIENT + "mfa.";
     /** the multi-factor authentication property prefix. */
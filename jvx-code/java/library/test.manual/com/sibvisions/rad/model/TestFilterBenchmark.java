@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model;
+
+import java.math.BigDecimal;
+
+import javax.rad.model.ColumnDefinition;
+import javax.rad.model.IDataRow;
+import javax.rad.model.RowDefinition;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.datatype.BigDecimalDataType;
+
+import org.junit.Test;
+
+import com.sibvisions.rad.model.mem.MemDataBook;
+import com.sibvisions.util.Benchmark;
+
+/**
+ * Benchmarks the evaluation of full text filters, created with {@link Filter#createFullTextFilter(javax.rad.model.IDataBook, String, String...)}.
+ *
+ * @author Ren Jahn
+ * @see Benchmark
+ */
+public class TestFilterBenchmark
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Benchmarks the evaluation of a full text filter for all rows.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testFullTextFilter() throws Throwable
+	{
+		for (int iRows : Benchmark.getRowCounts())
+		{
+			RowDefinition rowdef = new RowDefinition();
+			rowdef.addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+			rowdef.addColumnDefinition(new ColumnDefinition("NAME"));
+			rowdef.addColumnDefinition(new ColumnDefinition("CITY"));
+			rowdef.addColumnDefinition(new ColumnDefinition("REMARKS"));
+
+			MemDataBook book = new MemDataBook(rowdef);
+			book.setName("fulltext");
+			book.open();
+
+			String[] sCity = new String[] {"Vienna", "Graz", "Linz", "Salzburg", "Innsbruck"};
+
+			final IDataRow[] rows = new IDataRow[iRows];
+
+			for (int i = 0; i < iRows; i++)
+			{
+				book.insert(false);
+				book.setValues(null, new Object[] {BigDecimal.valueOf(i),
+				                                   "Customer " + (i * 7919 % iRows),
+				                                   sCity[i % sCity.length],
+				                                   i % 4 == 0 ? "Some remarks for customer " + i : null});
+
+				rows[i] = book.createDataRow(null);
+			}
+
+			for (String sSearch : new String[] {"graz", "customer 12 graz"})
+			{
+				final ICondition cond = Filter.createFullTextFilter(book, sSearch, "ID", "NAME", "CITY", "REMARKS");
+
+				Benchmark.run("Filter", "fullText(" + sSearch + ")", "rows=" + iRows, new Benchmark.Operation()
+				{
+					@Override
+					public int run() throws Throwable
+					{
+						int iFound = 0;
+
+						for (int i = 0; i < rows.length; i++)
+						{
+							if (cond.isFulfilled(rows[i]))
+							{
+								iFound++;
+							}
+						}
+
+						Benchmark.consume(Integer.valueOf(iFound));
+
+						return rows.length;
+					}
+				});
+			}
+
+			book.close();
+		}
+	}
+
+}	// TestFilterBenchmark
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import javax.rad.model.ColumnDefinition;
+import javax.rad.model.IDataRow;
+import javax.rad.model.ModelException;
+import javax.rad.model.RowDefinition;
+import javax.rad.model.SortDefinition;
+import javax.rad.model.datatype.BigDecimalDataType;
+import javax.rad.model.datatype.BooleanDataType;
+import javax.rad.model.datatype.StringDataType;
+import javax.rad.model.datatype.TimestampDataType;
+
+import org.junit.Test;
+
+import com.sibvisions.util.MemoryInfo;
+
+/**
+ * Compares memory consumption and fetch performance of the default row storage
+ * and the {@link ColumnarRowStorage}.
+ *
+ * @author Ren Jahn
+ */
+public class TestColumnarRowStoragePerformance extends MemoryInfo
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the amount of rows. */
+	private static final int ROW_COUNT = 500000;
+
+	/** a hard reference to the fetched book to measure the memory. */
+	private MemDataBook mdbFetched;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Compares memory consumption and fetch time.
+	 *
+	 * @throws ModelException if using the databook fails
+	 */
+	@Test
+	public void testFetchAndMemory() throws ModelException
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			measure(false);
+			measure(true);
+		}
+	}
+
+	/**
+	 * Compares the sort performance.
+	 *
+	 * @throws ModelException if using the databook fails
+	 */
+	@Test
+	public void testSort() throws ModelException
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			sort(false);
+			sort(true);
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Fetches all rows and prints the duration and used heap.
+	 *
+	 * @param pColumnar <code>true</code> to use the columnar storage
+	 * @throws ModelException if using the databook fails
+	 */
+	private void measure(boolean pColumnar) throws ModelException
+	{
+		mdbFetched = null;
+
+		freeMem();
+
+		long lHeap = usedMXHeap();
+		long lStart = System.nanoTime();
+
+		mdbFetched = createDataBook(pColumnar);
+		mdbFetched.getRowCount();
+
+		long lDuration = System.nanoTime() - lStart;
+
+		freeMem();
+
+		System.out.println((pColumnar ? "Columnar" : "Object[]") + " fetch: " + lDuration / 1000000 + "ms" +
+		                   "  HeapMem: " + (usedMXHeap() - lHeap) / 1024 + "kB");
+
+		mdbFetched.close();
+		mdbFetched = null;
+	}
+
+	/**
+	 * Sorts all rows and prints the duration.
+	 *
+	 * @param pColumnar <code>true</code> to use the columnar storage
+	 * @throws ModelException if using the databook fails
+	 */
+	private void sort(boolean pColumnar) throws ModelException
+	{
+		MemDataBook mdb = createDataBook(pColumnar);
+		mdb.getRowCount();
+
+		long lStart = System.nanoTime();
+
+		mdb.setSort(new SortDefinition(new String[] {"NAME", "ID"}, new boolean[] {true, false}));
+		mdb.getRowCount();
+
+		System.out.println((pColumnar ? "Columnar" : "Object[]") + " sort: " + (System.nanoTime() - lStart) / 1000000 + "ms");
+
+		mdb.close();
+	}
+
+	/**
+	 * Creates a databook with generated fetched rows.
+	 *
+	 * @param pColumnar <code>true</code> to use the columnar storage
+	 * @return the opened databook
+	 * @throws ModelException if opening the databook fails
+	 */
+	private static MemDataBook createDataBook(boolean pColumnar) throws ModelException
+	{
+		RowDefinition rowdef = new RowDefinition();
+		rowdef.addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("AMOUNT", new BigDecimalDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("NAME", new StringDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("STATUS", new StringDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("CREATED", new TimestampDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("CHANGED", new TimestampDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("ACTIVE", new BooleanDataType()));
+
+		MemDataBook mdb = new MemDataBook(rowdef)
+		{
+			@Override
+			protected MemDataPage createDataPage(IDataRow pMasterDataRow)
+			{
+				MemDataPage page = new MemDataPage(this, pMasterDataRow);
+
+				try
+				{
+					long lTime = System.currentTimeMillis();
+
+					for (int i = 0; i < ROW_COUNT; i++)
+					{
+						page.addFetchedRow(new Object[] {BigDecimal.valueOf(i),
+						                                 BigDecimal.valueOf(i * 17L % 100000, 2),
+						                                 "Customer " + (i % 5000),
+						                                 "STATE_" + (i % 7),
+						                                 new Timestamp(lTime - i * 60000L),
+						                                 new Timestamp(lTime - i * 1000L),
+						                                 Boolean.valueOf(i % 3 == 0)});
+					}
+				}
+				catch (ModelException me)
+				{
+					throw new RuntimeException(me);
+				}
+
+				return page;
+			}
+		};
+
+		mdb.setName("performance");
+		mdb.setColumnarStorage(pColumnar);
+		mdb.open();
+
+		return mdb;
+	}
+
+}	// TestColumnarRowStoragePerformance
@@ -0,0 +1,480 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ *                   - testSaveSorted
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.rad.model.ColumnDefinition;
+import javax.rad.model.IDataBook.WriteBackIsolationLevel;
+import javax.rad.model.IDataRow;
+import javax.rad.model.ModelException;
+import javax.rad.model.RowDefinition;
+import javax.rad.model.SortDefinition;
+import javax.rad.model.condition.BaseCondition;
+import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.LikeIgnoreCase;
+import javax.rad.model.datatype.BigDecimalDataType;
+
+import org.junit.Test;
+
+import com.sibvisions.rad.model.Filter;
+import com.sibvisions.util.Benchmark;
+
+/**
+ * Benchmarks the insert, save, filter, search and sort performance of {@link MemDataBook} and {@link MemDataPage}.
+ * The row counts are configured with the system property <code>benchmark.rows</code>.
+ *
+ * @author Ren Jahn
+ * @see Benchmark
+ */
+public class TestMemDataBookBenchmark
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the suite name. */
+	private static final String SUITE = "MemDataBook";
+
+	/** the filter condition. */
+	private static final ICondition FILTER = new Equals("STATUS", "OPEN").and(new LikeIgnoreCase("NAME", "*7*"));
+
+	/** the sort definition. */
+	private static final SortDefinition SORT = new SortDefinition(new String[] {"COUNTRY", "NAME"}, new boolean[] {true, false});
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Benchmarks insert and setValues.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testInsert() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			Benchmark.run(SUITE, "insert", "rows=" + iRows, new Benchmark.Operation()
+			{
+				private MemDataBook book;
+
+				@Override
+				public void setUp() throws Throwable
+				{
+					book = createDataBook();
+				}
+
+				@Override
+				public int run() throws Throwable
+				{
+					fill(book, iRows);
+
+					return iRows;
+				}
+
+				@Override
+				public void tearDown() throws Throwable
+				{
+					book.close();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Benchmarks saveAllRows of inserted rows.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testSaveAllRows() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			Benchmark.run(SUITE, "saveAllRows", "rows=" + iRows, new Benchmark.Operation()
+			{
+				private MemDataBook book;
+
+				@Override
+				public void setUp() throws Throwable
+				{
+					book = createDataBook();
+
+					fill(book, iRows);
+				}
+
+				@Override
+				public int run() throws Throwable
+				{
+					book.saveAllRows();
+
+					return iRows;
+				}
+
+				@Override
+				public void tearDown() throws Throwable
+				{
+					book.close();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Benchmarks the memory filter of the data page.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testFilter() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			final MemDataBook book = createDataBook();
+
+			fill(book, iRows);
+
+			book.saveAllRows();
+
+			Benchmark.run(SUITE, "filter", "rows=" + iRows, new Benchmark.Operation()
+			{
+				@Override
+				public void setUp() throws Throwable
+				{
+					book.setFilter(null);
+					book.getRowCount();
+				}
+
+				@Override
+				public int run() throws Throwable
+				{
+					book.setFilter(FILTER);
+
+					Benchmark.consume(Integer.valueOf(book.getRowCount()));
+
+					return iRows;
+				}
+			});
+
+			book.close();
+		}
+	}
+
+	/**
+	 * Benchmarks the memory sort of the data page.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testSort() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			final MemDataBook book = createDataBook();
+
+			fill(book, iRows);
+
+			book.saveAllRows();
+
+			Benchmark.run(SUITE, "sort", "rows=" + iRows, new Benchmark.Operation()
+			{
+				@Override
+				public void setUp() throws Throwable
+				{
+					book.setSort(new SortDefinition("ID"));
+					book.getRowCount();
+				}
+
+				@Override
+				public int run() throws Throwable
+				{
+					book.setSort(SORT);
+
+					Benchmark.consume(Integer.valueOf(book.getRowCount()));
+
+					return iRows;
+				}
+			});
+
+			book.close();
+		}
+	}
+
+	/**
+	 * Benchmarks saving of single rows with changed sort columns, in a sorted data page.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testSaveSorted() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			final MemDataBook book = createDataBook();
+
+			fill(book, iRows);
+
+			book.saveAllRows();
+			book.setSort(SORT);
+			book.getRowCount();
+
+			Benchmark.run(SUITE, "saveSorted", "rows=" + iRows, new Benchmark.Operation()
+			{
+				private int iCounter;
+
+				@Override
+				public int run() throws Throwable
+				{
+					for (int i = 0; i < 100; i++)
+					{
+						book.setSelectedRow(iCounter * 7919 % iRows);
+						book.setValue("NAME", "Customer " + (iCounter * 104729 % iRows));
+						book.saveSelectedRow();
+
+						iCounter++;
+					}
+
+					return 100;
+				}
+			});
+
+			book.close();
+		}
+	}
+
+	/**
+	 * Benchmarks a full text filter, checked sequential and in parallel. The number of threads is the
+	 * parallelism of the fork/join common pool, configured with the system property
+	 * <code>java.util.concurrent.ForkJoinPool.common.parallelism</code>.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testFilterParallel() throws Throwable
+	{
+		final ICondition filter = Filter.createFullTextFilter(createDataBook(), "77", "NAME", "COUNTRY", "STATUS", "AMOUNT");
+		
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			final MemDataBook book = createDataBook();
+
+			fill(book, iRows);
+
+			book.saveAllRows();
+
+			for (final boolean bParallel : new boolean[] {false, true})
+			{
+				book.setParallelFilterThreshold(bParallel ? 0 : -1);
+				
+				Benchmark.run(SUITE, "filterFullText", "rows=" + iRows + ", threads=" + (bParallel ? ForkJoinPool.getCommonPoolParallelism() : 1), 
+						      new Benchmark.Operation()
+				{
+					@Override
+					public void setUp() throws Throwable
+					{
+						book.setFilter(null);
+						book.getRowCount();
+					}
+
+					@Override
+					public int run() throws Throwable
+					{
+						book.setFilter(filter);
+
+						Benchmark.consume(Integer.valueOf(book.getRowCount()));
+
+						return iRows;
+					}
+				});
+			}
+
+			book.close();
+		}
+	}
+
+	/**
+	 * Benchmarks filter with a compiled condition and with the same condition, wrapped in a custom
+	 * condition which can't be compiled.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testFilterCompiled() throws Throwable
+	{
+		final ICondition interpreted = new BaseCondition()
+		{
+			public boolean isFulfilled(IDataRow pDataRow)
+			{
+				return FILTER.isFulfilled(pDataRow);
+			}
+		};
+		
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			final MemDataBook book = createDataBook();
+
+			fill(book, iRows);
+
+			book.saveAllRows();
+			book.setParallelFilterThreshold(-1);
+
+			for (final boolean bCompiled : new boolean[] {false, true})
+			{
+				Benchmark.run(SUITE, "filterCompiled", "rows=" + iRows + ", compiled=" + bCompiled, new Benchmark.Operation()
+				{
+					@Override
+					public void setUp() throws Throwable
+					{
+						book.setFilter(null);
+						book.getRowCount();
+					}
+
+					@Override
+					public int run() throws Throwable
+					{
+						book.setFilter(bCompiled ? FILTER : interpreted);
+
+						Benchmark.consume(Integer.valueOf(book.getRowCount()));
+
+						return iRows;
+					}
+				});
+			}
+
+			book.close();
+		}
+	}
+
+	/**
+	 * Benchmarks searchNext and filter with an equals condition, with and without secondary index.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testSearchIndexed() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			for (final boolean bIndexed : new boolean[] {false, true})
+			{
+				final MemDataBook book = createDataBook();
+
+				fill(book, iRows);
+
+				book.saveAllRows();
+
+				if (bIndexed)
+				{
+					book.addIndex("NAME");
+				}
+
+				Benchmark.run(SUITE, "searchNext", "rows=" + iRows + ", indexed=" + bIndexed, new Benchmark.Operation()
+				{
+					private int iCounter;
+
+					@Override
+					public int run() throws Throwable
+					{
+						for (int i = 0; i < 100; i++)
+						{
+							Benchmark.consume(Integer.valueOf(book.searchNext(new Equals("NAME", "Customer " + (iCounter++ % iRows)))));
+						}
+
+						return 100;
+					}
+				});
+
+				Benchmark.run(SUITE, "filterEquals", "rows=" + iRows + ", indexed=" + bIndexed, new Benchmark.Operation()
+				{
+					private int iCounter;
+
+					@Override
+					public int run() throws Throwable
+					{
+						book.setFilter(new Equals("NAME", "Customer " + (iCounter++ % iRows)));
+
+						Benchmark.consume(Integer.valueOf(book.getRowCount()));
+
+						return 1;
+					}
+				});
+
+				book.close();
+			}
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates an opened data book.
+	 *
+	 * @return the data book
+	 * @throws ModelException if the creation fails
+	 */
+	private static MemDataBook createDataBook() throws ModelException
+	{
+		RowDefinition rowdef = new RowDefinition();
+		rowdef.addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("NAME"));
+		rowdef.addColumnDefinition(new ColumnDefinition("COUNTRY"));
+		rowdef.addColumnDefinition(new ColumnDefinition("STATUS"));
+		rowdef.addColumnDefinition(new ColumnDefinition("AMOUNT", new BigDecimalDataType()));
+
+		MemDataBook book = new MemDataBook(rowdef);
+		book.setName("benchmark");
+		book.setWritebackIsolationLevel(WriteBackIsolationLevel.DATASOURCE);
+		book.open();
+
+		return book;
+	}
+
+	/**
+	 * Inserts rows.
+	 *
+	 * @param pBook the data book
+	 * @param pRows the number of rows
+	 * @throws ModelException if the insert fails
+	 */
+	private static void fill(MemDataBook pBook, int pRows) throws ModelException
+	{
+		String[] sStatus = new String[] {"OPEN", "IN PROGRESS", "CLOSED", "CANCELLED"};
+		String[] sCountry = new String[] {"Austria", "Germany", "Switzerland", "Italy", "France", "Hungary"};
+
+		for (int i = 0; i < pRows; i++)
+		{
+			pBook.insert(false);
+			pBook.setValues(null, new Object[] {BigDecimal.valueOf(i),
+			                                    "Customer " + (i * 7919 % pRows),
+			                                    sCountry[i % sCountry.length],
+			                                    sStatus[i % sStatus.length],
+			                                    BigDecimal.valueOf(i * 37L % 1000000, 2)});
+		}
+	}
+
+}	// TestMemDataBookBenchmark
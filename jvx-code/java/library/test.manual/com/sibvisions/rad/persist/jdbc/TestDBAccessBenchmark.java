@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ *                   - insert benchmark
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.ICondition;
+
+import org.junit.Test;
+
+import com.sibvisions.util.Benchmark;
+import com.sibvisions.util.type.CommonUtil;
+
+/**
+ * Benchmarks the fetch and insert of {@link DBAccess} via {@link DBStorage}, with embedded in-memory HSQLDB and H2
+ * databases.
+ *
+ * @author Ren Jahn
+ * @see Benchmark
+ */
+public class TestDBAccessBenchmark
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Benchmarks the fetch with HSQLDB.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testFetchHSQLDB() throws Throwable
+	{
+		benchmarkFetch("HSQLDB", "jdbc:hsqldb:mem:benchmark");
+	}
+
+	/**
+	 * Benchmarks the fetch with H2.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testFetchH2() throws Throwable
+	{
+		benchmarkFetch("H2", "jdbc:h2:mem:benchmark");
+	}
+
+	/**
+	 * Benchmarks the insert of single rows and the batch insert with HSQLDB.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testInsertHSQLDB() throws Throwable
+	{
+		benchmarkInsert("HSQLDB", "jdbc:hsqldb:mem:benchmark");
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Fetches all rows and a filtered subset of a table.
+	 *
+	 * @param pDatabase the database name for the results
+	 * @param pUrl the JDBC url
+	 * @throws Throwable if the benchmark fails
+	 */
+	private static void benchmarkFetch(String pDatabase, String pUrl) throws Throwable
+	{
+		DBAccess dba = DBAccess.getDBAccess(pUrl);
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+
+		try
+		{
+			for (final int iRows : Benchmark.getRowCounts())
+			{
+				createTable(dba, iRows);
+
+				final DBStorage dbs = new DBStorage();
+				dbs.setDBAccess(dba);
+				dbs.setWritebackTable("BENCHMARK");
+				dbs.open();
+
+				Benchmark.run("DBAccess", "fetch(" + pDatabase + ")", "rows=" + iRows, new Benchmark.Operation()
+				{
+					@Override
+					public int run() throws Throwable
+					{
+						Benchmark.consume(dbs.fetch(null, null, 0, -1));
+
+						return iRows;
+					}
+				});
+
+				final ICondition cond = new Equals("STATUS", "OPEN");
+
+				Benchmark.run("DBAccess", "fetchFiltered(" + pDatabase + ")", "rows=" + iRows, new Benchmark.Operation()
+				{
+					@Override
+					public int run() throws Throwable
+					{
+						Benchmark.consume(dbs.fetch(cond, null, 0, -1));
+
+						return iRows / 4;
+					}
+				});
+
+				dbs.close();
+			}
+		}
+		finally
+		{
+			dba.close();
+		}
+	}
+
+	/**
+	 * Inserts rows one by one and with {@link DBStorage#insertAll(List)}.
+	 *
+	 * @param pDatabase the database name for the results
+	 * @param pUrl the JDBC url
+	 * @throws Throwable if the benchmark fails
+	 */
+	private static void benchmarkInsert(String pDatabase, String pUrl) throws Throwable
+	{
+		final DBAccess dba = DBAccess.getDBAccess(pUrl);
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+
+		try
+		{
+			dba.executeStatement("drop table if exists BENCHMARK_INSERT");
+			dba.executeStatement("create table BENCHMARK_INSERT (ID integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+			                     + "NAME varchar(100), STATUS varchar(20), AMOUNT decimal(12,2))");
+
+			final DBStorage dbs = new DBStorage();
+			dbs.setDBAccess(dba);
+			dbs.setWritebackTable("BENCHMARK_INSERT");
+			dbs.open();
+
+			final int iName = dbs.getMetaData().getColumnMetaDataIndex("NAME");
+			final int iStatus = dbs.getMetaData().getColumnMetaDataIndex("STATUS");
+			final int iAmount = dbs.getMetaData().getColumnMetaDataIndex("AMOUNT");
+			final int iColumns = dbs.getMetaData().getColumnMetaData().length;
+
+			for (final int iRows : Benchmark.getRowCounts())
+			{
+				final List<Object[]> liRows = new ArrayList<Object[]>(iRows);
+
+				Benchmark.Operation insert = new Benchmark.Operation()
+				{
+					@Override
+					public void setUp() throws Throwable
+					{
+						dba.executeStatement("delete from BENCHMARK_INSERT");
+
+						liRows.clear();
+
+						for (int i = 0; i < iRows; i++)
+						{
+							Object[] oRow = new Object[iColumns];
+							oRow[iName] = "Customer " + i;
+							oRow[iStatus] = i % 2 == 0 ? "OPEN" : "CLOSED";
+							oRow[iAmount] = BigDecimal.valueOf(i * 37L % 1000000, 2);
+
+							liRows.add(oRow);
+						}
+					}
+
+					@Override
+					public int run() throws Throwable
+					{
+						for (int i = 0; i < iRows; i++)
+						{
+							Benchmark.consume(dbs.insert(liRows.get(i)));
+						}
+
+						return iRows;
+					}
+				};
+
+				Benchmark.run("DBAccess", "insert(" + pDatabase + ")", "rows=" + iRows, insert);
+
+				Benchmark.Operation insertAll = new Benchmark.Operation()
+				{
+					@Override
+					public void setUp() throws Throwable
+					{
+						insert.setUp();
+					}
+
+					@Override
+					public int run() throws Throwable
+					{
+						Benchmark.consume(dbs.insertAll(liRows));
+
+						return iRows;
+					}
+				};
+
+				Benchmark.run("DBAccess", "insertAll(" + pDatabase + ")", "rows=" + iRows, insertAll);
+			}
+
+			dbs.close();
+		}
+		finally
+		{
+			dba.close();
+		}
+	}
+
+	/**
+	 * Creates the benchmark table.
+	 *
+	 * @param pDBAccess the database access
+	 * @param pRows the number of rows
+	 * @throws Exception if the creation fails
+	 */
+	private static void createTable(DBAccess pDBAccess, int pRows) throws Exception
+	{
+		pDBAccess.executeStatement("drop table if exists BENCHMARK");
+		pDBAccess.executeStatement("create table BENCHMARK (ID integer primary key, NAME varchar(100), COUNTRY varchar(50), "
+		                           + "STATUS varchar(20), REMARKS varchar(200), AMOUNT decimal(12,2), CREATED timestamp)");
+
+		String[] sStatus = new String[] {"OPEN", "IN PROGRESS", "CLOSED", "CANCELLED"};
+		String[] sCountry = new String[] {"Austria", "Germany", "Switzerland", "Italy", "France", "Hungary"};
+
+		long lTime = System.currentTimeMillis();
+
+		Connection con = pDBAccess.getConnection();
+
+		PreparedStatement pstmt = con.prepareStatement("insert into BENCHMARK values (?, ?, ?, ?, ?, ?, ?)");
+
+		try
+		{
+			for (int i = 0; i < pRows; i++)
+			{
+				pstmt.setInt(1, i);
+				pstmt.setString(2, "Customer " + (i * 7919 % pRows));
+				pstmt.setString(3, sCountry[i % sCountry.length]);
+				pstmt.setString(4, sStatus[i % sStatus.length]);
+				pstmt.setString(5, i % 4 == 0 ? "Some remarks for order " + i : null);
+				pstmt.setBigDecimal(6, BigDecimal.valueOf(i * 37L % 1000000, 2));
+				pstmt.setTimestamp(7, new Timestamp(lTime - (pRows - i) * 60000L));
+				pstmt.addBatch();
+
+				if (i % 1000 == 999)
+				{
+					pstmt.executeBatch();
+				}
+			}
+
+			if (pRows % 1000 != 0)
+			{
+				pstmt.executeBatch();
+			}
+		}
+		finally
+		{
+			CommonUtil.close(pstmt);
+		}
+
+		if (!con.getAutoCommit())
+		{
+			con.commit();
+		}
+	}
+
+}	// TestDBAccessBenchmark
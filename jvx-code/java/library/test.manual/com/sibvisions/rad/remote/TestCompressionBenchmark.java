@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+import com.sibvisions.rad.remote.compression.DeflateCodec;
+import com.sibvisions.rad.remote.compression.GZIPCodec;
+import com.sibvisions.rad.remote.compression.ICompressionCodec;
+import com.sibvisions.rad.remote.compression.LZCodec;
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.Benchmark;
+import com.sibvisions.util.io.GZIPLevelOutputStream;
+
+/**
+ * Benchmarks the compression codecs with serialized fetch results. The compressed size is part of the
+ * benchmark parameter, to compare the ratio with the CPU time.
+ *
+ * @author René Jahn
+ * @see Benchmark
+ */
+public class TestCompressionBenchmark
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the suite name. */
+    private static final String SUITE = "Compression";
+
+    /** the benchmarked codecs. */
+    private static final ICompressionCodec[] CODECS = new ICompressionCodec[] {new GZIPCodec(),
+                                                                               new GZIPCodec(GZIPLevelOutputStream.BESTSPEED_COMPRESSION, 0),
+                                                                               new DeflateCodec(GZIPLevelOutputStream.BESTSPEED_COMPRESSION, 0),
+                                                                               new DeflateCodec(GZIPLevelOutputStream.BEST_COMPRESSION, 0),
+                                                                               new LZCodec()};
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Benchmarks compression of fetch results.
+     *
+     * @throws Throwable if the benchmark fails
+     */
+    @Test
+    public void testCompress() throws Throwable
+    {
+        for (final int iRows : Benchmark.getRowCounts())
+        {
+            final byte[] byContent = createContent(iRows);
+
+            for (final ICompressionCodec codec : CODECS)
+            {
+                int iSize = compress(codec, byContent).length;
+
+                Benchmark.run(SUITE, "compress(" + codec + ")", "rows=" + iRows + ", bytes=" + byContent.length + ", compressed=" + iSize, new Benchmark.Operation()
+                {
+                    @Override
+                    public int run() throws Throwable
+                    {
+                        Benchmark.consume(compress(codec, byContent));
+
+                        return iRows;
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Benchmarks decompression of fetch results.
+     *
+     * @throws Throwable if the benchmark fails
+     */
+    @Test
+    public void testDecompress() throws Throwable
+    {
+        final byte[] byBuffer = new byte[8192];
+
+        for (final int iRows : Benchmark.getRowCounts())
+        {
+            byte[] byContent = createContent(iRows);
+
+            for (final ICompressionCodec codec : CODECS)
+            {
+                final byte[] byCompressed = compress(codec, byContent);
+
+                Benchmark.run(SUITE, "decompress(" + codec + ")", "rows=" + iRows + ", compressed=" + byCompressed.length, new Benchmark.Operation()
+                {
+                    @Override
+                    public int run() throws Throwable
+                    {
+                        InputStream in = codec.createInputStream(new ByteArrayInputStream(byCompressed));
+
+                        int iTotal = 0;
+                        int iRead;
+
+                        while ((iRead = in.read(byBuffer)) >= 0)
+                        {
+                            iTotal += iRead;
+                        }
+
+                        in.close();
+
+                        Benchmark.consume(Integer.valueOf(iTotal));
+
+                        return iRows;
+                    }
+                });
+            }
+        }
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Compresses the content.
+     *
+     * @param pCodec the codec
+     * @param pContent the content
+     * @return the compressed content
+     * @throws Exception if compression fails
+     */
+    private static byte[] compress(ICompressionCodec pCodec, byte[] pContent) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(pContent.length / 2);
+
+        OutputStream os = pCodec.createOutputStream(baos);
+        os.write(pContent);
+        os.close();
+
+        return baos.toByteArray();
+    }
+
+    /**
+     * Creates a serialized fetch result with typical column values.
+     *
+     * @param pRows the number of rows
+     * @return the serialized rows
+     * @throws Exception if serialization fails
+     */
+    private static byte[] createContent(int pRows) throws Exception
+    {
+        String[] sStatus = new String[] {"OPEN", "IN PROGRESS", "CLOSED", "CANCELLED"};
+        String[] sCountry = new String[] {"Austria", "Germany", "Switzerland", "Italy", "France", "Hungary"};
+
+        long lTime = System.currentTimeMillis();
+
+        ArrayUtil<Object[]> auRows = new ArrayUtil<Object[]>(pRows + 1);
+
+        for (int i = 0; i < pRows; i++)
+        {
+            auRows.add(new Object[] {BigDecimal.valueOf(100000 + i),
+                                     sCountry[i % sCountry.length],
+                                     "Customer " + (i * 7919 % pRows),
+                                     sStatus[i % sStatus.length],
+                                     i % 4 == 0 ? "Some remarks for order " + i : null,
+                                     BigDecimal.valueOf(i * 37L % 1000000, 2),
+                                     new Timestamp(lTime - (pRows - i) * 60000L),
+                                     Boolean.valueOf(i % 2 == 0)});
+        }
+
+        auRows.add(null);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(bos);
+
+        new UniversalSerializer().write(dos, auRows);
+
+        dos.flush();
+
+        return bos.toByteArray();
+    }
+
+}   // TestCompressionBenchmark
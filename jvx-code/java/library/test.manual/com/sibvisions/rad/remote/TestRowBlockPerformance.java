@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * Compares bytes on wire and encode/decode time of fetch results written as list and as row block.
+ *
+ * @author Ren Jahn
+ */
+public class TestRowBlockPerformance
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the amount of rows. */
+	private static final int ROW_COUNT = 10000;
+
+	/** the number of measured iterations. */
+	private static final int ITERATIONS = 20;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Measures the stream size, with and without compression, and the encode/decode time.
+	 *
+	 * @throws Exception if serialization fails
+	 */
+	@Test
+	public void testFetchResult() throws Exception
+	{
+		List<Object[]> liRows = createFetchResult();
+
+		for (int i = 0; i < 2; i++)
+		{
+			measure(liRows, false);
+			measure(liRows, true);
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Writes and reads the rows and prints the results.
+	 *
+	 * @param pRows the rows
+	 * @param pRowBlock <code>true</code> to write a row block
+	 * @throws Exception if serialization fails
+	 */
+	private void measure(List<Object[]> pRows, boolean pRowBlock) throws Exception
+	{
+		UniversalSerializer serializer = new UniversalSerializer();
+		serializer.setRowBlockEnabled(pRowBlock);
+
+		byte[] byStream = null;
+
+		long lWrite = 0;
+		long lRead = 0;
+
+		for (int i = 0; i < ITERATIONS; i++)
+		{
+			long lStart = System.nanoTime();
+
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+
+			serializer.write(dos, pRows);
+
+			dos.flush();
+
+			byStream = bos.toByteArray();
+
+			lWrite += System.nanoTime() - lStart;
+
+			lStart = System.nanoTime();
+
+			List<Object[]> liRead = (List<Object[]>)serializer.read(new DataInputStream(new ByteArrayInputStream(byStream)));
+
+			lRead += System.nanoTime() - lStart;
+
+			Assert.assertEquals(pRows.size(), liRead.size());
+		}
+
+		ByteArrayOutputStream bosZip = new ByteArrayOutputStream();
+		GZIPOutputStream gzos = new GZIPOutputStream(bosZip);
+		gzos.write(byStream);
+		gzos.close();
+
+		System.out.println((pRowBlock ? "Row block" : "List     ") +
+		                   "  Bytes: " + byStream.length +
+		                   "  GZIP: " + bosZip.size() +
+		                   "  Encode: " + lWrite / ITERATIONS / 1000 + "us" +
+		                   "  Decode: " + lRead / ITERATIONS / 1000 + "us");
+	}
+
+	/**
+	 * Creates a fetch result with typical column values.
+	 *
+	 * @return the rows
+	 */
+	private static List<Object[]> createFetchResult()
+	{
+		String[] sStatus = new String[] {"OPEN", "IN PROGRESS", "CLOSED", "CANCELLED"};
+		String[] sCountry = new String[] {"Austria", "Germany", "Switzerland", "Italy", "France", "Hungary"};
+
+		long lTime = System.currentTimeMillis();
+
+		ArrayUtil<Object[]> auRows = new ArrayUtil<Object[]>(ROW_COUNT + 1);
+
+		for (int i = 0; i < ROW_COUNT; i++)
+		{
+			auRows.add(new Object[] {BigDecimal.valueOf(100000 + i),
+			                         BigDecimal.valueOf(i % 250),
+			                         sCountry[i % sCountry.length],
+			                         "Customer " + (i * 7919 % ROW_COUNT),
+			                         sStatus[i % sStatus.length],
+			                         i % 4 == 0 ? "Some remarks for order " + i : null,
+			                         BigDecimal.valueOf(i * 37L % 1000000, 2),
+			                         new Timestamp(lTime - (ROW_COUNT - i) * 60000L),
+			                         i % 3 == 0 ? null : new Timestamp(lTime - (ROW_COUNT - i) * 1000L),
+			                         Boolean.valueOf(i % 2 == 0)});
+		}
+
+		// fetch results end with null if all rows were fetched
+		auRows.add(null);
+
+		return auRows;
+	}
+
+}	// TestRowBlockPerformance
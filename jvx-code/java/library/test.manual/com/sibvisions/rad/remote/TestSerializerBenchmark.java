@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.Benchmark;
+
+/**
+ * Benchmarks encoding and decoding of fetch results with the {@link UniversalSerializer}, as list and
+ * as row block.
+ *
+ * @author Ren Jahn
+ * @see Benchmark
+ */
+public class TestSerializerBenchmark
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the suite name. */
+	private static final String SUITE = "UniversalSerializer";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Benchmarks encoding of fetch results.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testEncode() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			final List<Object[]> liRows = createFetchResult(iRows);
+
+			for (final boolean bRowBlock : new boolean[] {false, true})
+			{
+				final UniversalSerializer serializer = new UniversalSerializer();
+				serializer.setRowBlockEnabled(bRowBlock);
+
+				Benchmark.run(SUITE, bRowBlock ? "encodeRowBlock" : "encodeList", "rows=" + iRows, new Benchmark.Operation()
+				{
+					@Override
+					public int run() throws Throwable
+					{
+						Benchmark.consume(write(serializer, liRows));
+
+						return iRows;
+					}
+				});
+			}
+		}
+	}
+
+	/**
+	 * Benchmarks decoding of fetch results.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testDecode() throws Throwable
+	{
+		for (final int iRows : Benchmark.getRowCounts())
+		{
+			List<Object[]> liRows = createFetchResult(iRows);
+
+			for (final boolean bRowBlock : new boolean[] {false, true})
+			{
+				final UniversalSerializer serializer = new UniversalSerializer();
+				serializer.setRowBlockEnabled(bRowBlock);
+
+				final byte[] byStream = write(serializer, liRows);
+
+				Benchmark.run(SUITE, bRowBlock ? "decodeRowBlock" : "decodeList", "rows=" + iRows, new Benchmark.Operation()
+				{
+					@Override
+					public int run() throws Throwable
+					{
+						Benchmark.consume(serializer.read(new DataInputStream(new ByteArrayInputStream(byStream))));
+
+						return iRows;
+					}
+				});
+			}
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Writes an object.
+	 *
+	 * @param pSerializer the serializer
+	 * @param pObject the object
+	 * @return the stream
+	 * @throws Exception if serialization fails
+	 */
+	private static byte[] write(UniversalSerializer pSerializer, Object pObject) throws Exception
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+
+		pSerializer.write(dos, pObject);
+
+		dos.flush();
+
+		return bos.toByteArray();
+	}
+
+	/**
+	 * Creates a fetch result with typical column values.
+	 *
+	 * @param pRows the number of rows
+	 * @return the rows
+	 */
+	private static List<Object[]> createFetchResult(int pRows)
+	{
+		String[] sStatus = new String[] {"OPEN", "IN PROGRESS", "CLOSED", "CANCELLED"};
+		String[] sCountry = new String[] {"Austria", "Germany", "Switzerland", "Italy", "France", "Hungary"};
+
+		long lTime = System.currentTimeMillis();
+
+		ArrayUtil<Object[]> auRows = new ArrayUtil<Object[]>(pRows + 1);
+
+		for (int i = 0; i < pRows; i++)
+		{
+			auRows.add(new Object[] {BigDecimal.valueOf(100000 + i),
+			                         sCountry[i % sCountry.length],
+			                         "Customer " + (i * 7919 % pRows),
+			                         sStatus[i % sStatus.length],
+			                         i % 4 == 0 ? "Some remarks for order " + i : null,
+			                         BigDecimal.valueOf(i * 37L % 1000000, 2),
+			                         new Timestamp(lTime - (pRows - i) * 60000L),
+			                         Boolean.valueOf(i % 2 == 0)});
+		}
+
+		auRows.add(null);
+
+		return auRows;
+	}
+
+}	// TestSerializerBenchmark
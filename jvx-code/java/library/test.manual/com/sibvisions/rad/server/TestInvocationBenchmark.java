@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server;
+
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import com.sibvisions.rad.server.annotation.Accessible;
+import com.sibvisions.util.Benchmark;
+import com.sibvisions.util.Reflective;
+
+/**
+ * Benchmarks the server-side method invocation with {@link Reflective} lookup and {@link AccessHelper}
+ * checks per call, compared to the cached {@link InvocationCache}.
+ *
+ * @author René Jahn
+ * @see Benchmark
+ */
+public class TestInvocationBenchmark
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /** the number of calls per iteration. */
+    private static final int CALLS = 100000;
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Benchmarks action calls, like <code>DefaultObjectProvider.invoke</code>.
+     *
+     * @throws Throwable if the benchmark fails
+     */
+    @Test
+    public void testInvoke() throws Throwable
+    {
+        final Storage storage = new Storage();
+
+        final Object[] params = new Object[] {null, null, Integer.valueOf(0), Integer.valueOf(100)};
+
+        Benchmark.run("Invocation", "invoke(reflective)", "calls=" + CALLS, new Benchmark.Operation()
+        {
+            @Override
+            public int run() throws Throwable
+            {
+                for (int i = 0; i < CALLS; i++)
+                {
+                    Method method = Reflective.getMethodForCall(storage.getClass(), false, "fetch", params);
+
+                    if (AccessHelper.isNotAccesible(method))
+                    {
+                        throw new SecurityException();
+                    }
+
+                    Benchmark.consume(Reflective.call(storage, method, params));
+                }
+
+                return CALLS;
+            }
+        });
+
+        Benchmark.run("Invocation", "invoke(cached)", "calls=" + CALLS, new Benchmark.Operation()
+        {
+            @Override
+            public int run() throws Throwable
+            {
+                for (int i = 0; i < CALLS; i++)
+                {
+                    InvocationCache.Invocation invocation = InvocationCache.getMethodForCall(storage.getClass(), false, "fetch", params);
+
+                    if (invocation.isNotAccessible())
+                    {
+                        throw new SecurityException();
+                    }
+
+                    Benchmark.consume(invocation.invoke(storage, params));
+                }
+
+                return CALLS;
+            }
+        });
+    }
+
+    /**
+     * Benchmarks object access via getter methods, like <code>DefaultObjectProvider.getObject</code>.
+     *
+     * @throws Throwable if the benchmark fails
+     */
+    @Test
+    public void testGetObject() throws Throwable
+    {
+        final Session session = new Session();
+
+        Benchmark.run("Invocation", "getObject(reflective)", "calls=" + CALLS, new Benchmark.Operation()
+        {
+            @Override
+            public int run() throws Throwable
+            {
+                for (int i = 0; i < CALLS; i++)
+                {
+                    Method method = Reflective.getMethod(session.getClass(), "getCustomers");
+
+                    if (!AccessHelper.isAccessible(method))
+                    {
+                        throw new SecurityException();
+                    }
+
+                    Benchmark.consume(method.invoke(session));
+                }
+
+                return CALLS;
+            }
+        });
+
+        Benchmark.run("Invocation", "getObject(cached)", "calls=" + CALLS, new Benchmark.Operation()
+        {
+            @Override
+            public int run() throws Throwable
+            {
+                for (int i = 0; i < CALLS; i++)
+                {
+                    InvocationCache.Invocation invocation = InvocationCache.getMethod(session.getClass(), "getCustomers");
+
+                    if (!invocation.isAccessible())
+                    {
+                        throw new SecurityException();
+                    }
+
+                    Benchmark.consume(invocation.invoke(session));
+                }
+
+                return CALLS;
+            }
+        });
+    }
+
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
+
+    /**
+     * A storage with overloaded methods, like <code>IStorage</code> implementations.
+     *
+     * @author René Jahn
+     */
+    public static class Storage
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // User-defined methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * Fetches rows.
+         *
+         * @param pFilter the filter
+         * @param pSort the sort
+         * @param pFromRow the first row
+         * @param pMinimumRowCount the row count
+         * @return the number of rows
+         */
+        public int fetch(Object pFilter, Object pSort, int pFromRow, int pMinimumRowCount)
+        {
+            return pMinimumRowCount - pFromRow;
+        }
+
+        /**
+         * Fetches rows.
+         *
+         * @param pFilter the filter
+         * @return the number of rows
+         */
+        public int fetch(Object pFilter)
+        {
+            return 0;
+        }
+
+        /**
+         * Sets values.
+         *
+         * @param pColumnNames the column names
+         * @param pValues the values
+         * @return the values
+         */
+        public Object[] setValues(String[] pColumnNames, Object[] pValues)
+        {
+            return pValues;
+        }
+
+    }   // Storage
+
+    /**
+     * A life-cycle object with sub objects.
+     *
+     * @author René Jahn
+     */
+    public static class Session
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // User-defined methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * Gets the customers storage.
+         *
+         * @return the storage
+         */
+        @Accessible
+        public Storage getCustomers()
+        {
+            return null;
+        }
+
+    }   // Session
+
+}   // TestInvocationBenchmark
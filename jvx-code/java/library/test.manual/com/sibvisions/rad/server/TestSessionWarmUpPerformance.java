@@ -0,0 +1,343 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server;
+
+import javax.rad.remote.IConnectionConstants;
+
+import org.junit.Test;
+
+import com.sibvisions.rad.server.annotation.WarmUp;
+import com.sibvisions.util.ChangedHashtable;
+
+/**
+ * Measures the login-to-first-screen latency with and without the warm-up of master session objects.
+ * The storages simulate the latency of opening (connection and meta data queries).
+ *
+ * @author Ren Jahn
+ */
+public class TestSessionWarmUpPerformance
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the simulated time to open the database connection. */
+	private static final long CONNECT_DELAY = 200;
+
+	/** the simulated time to open a storage. */
+	private static final long OPEN_DELAY = 150;
+
+	/** the objects of the first screen. */
+	private static final String[] SCREEN_OBJECTS = new String[] {"contacts", "addresses", "countries",
+	                                                             "educations", "salutations", "healthInsurances"};
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Measures the login and the first access of all screen objects.
+	 *
+	 * @throws Throwable if the session creation fails
+	 */
+	@Test
+	public void testLoginToFirstScreen() throws Throwable
+	{
+		for (int i = 0; i < 3; i++)
+		{
+			measure(ColdSession.class, 0);
+
+			for (int iThreads : new int[] {1, 2, 4, 8})
+			{
+				measure(WarmSession.class, iThreads);
+			}
+		}
+
+		DefaultSessionManager.setWarmUpThreads(0);
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a session, accesses all screen objects and prints the duration.
+	 *
+	 * @param pLifeCycleObject the life-cycle object class
+	 * @param pThreads the number of warm-up threads
+	 * @throws Throwable if the session creation fails
+	 */
+	private static void measure(Class<?> pLifeCycleObject, int pThreads) throws Throwable
+	{
+		DefaultSessionManager.setWarmUpThreads(pThreads);
+
+		Server srv = Server.getInstance();
+
+		ChangedHashtable<String, Object> chtAuth = new ChangedHashtable<String, Object>();
+		chtAuth.put(IConnectionConstants.APPLICATION, "warmup");
+		chtAuth.put(IConnectionConstants.LIFECYCLENAME, pLifeCycleObject.getName());
+		chtAuth.put(IConnectionConstants.USERNAME, "admin");
+		chtAuth.put(IConnectionConstants.PASSWORD, "admin");
+
+		long lStart = System.nanoTime();
+
+		Object oSessId = srv.createSession(chtAuth);
+
+		long lLogin = System.nanoTime() - lStart;
+
+		try
+		{
+			AbstractSession session = srv.getSessionManager().get(oSessId);
+
+			for (String sName : SCREEN_OBJECTS)
+			{
+				session.get(sName);
+			}
+
+			long lTotal = System.nanoTime() - lStart;
+
+			System.out.println(pLifeCycleObject.getSimpleName() + " Threads: " + pThreads +
+			                   "  Login: " + lLogin / 1000000 + " ms" +
+			                   "  Login to first screen: " + lTotal / 1000000 + " ms");
+		}
+		finally
+		{
+			srv.destroySession(oSessId);
+		}
+	}
+
+	/**
+	 * Simulates the latency of an object creation.
+	 *
+	 * @param pDelay the delay in milliseconds
+	 * @return the created object
+	 * @throws InterruptedException if the creation was interrupted
+	 */
+	private static Object create(long pDelay) throws InterruptedException
+	{
+		Thread.sleep(pDelay);
+
+		return new Object();
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * A session LCO without warm-up. The storages are opened with the first access.
+	 *
+	 * @author Ren Jahn
+	 */
+	public static class ColdSession extends GenericBean
+	{
+		/**
+		 * Gets the database access, shared by all storages.
+		 *
+		 * @return the database access
+		 * @throws Exception if the creation fails
+		 */
+		public Object getDBAccess() throws Exception
+		{
+			Object dba = get("dBAccess");
+
+			if (dba == null)
+			{
+				dba = create(CONNECT_DELAY);
+
+				put("dBAccess", dba);
+			}
+
+			return dba;
+		}
+
+		/**
+		 * Gets a storage.
+		 *
+		 * @param pName the storage name
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		protected Object getStorage(String pName) throws Exception
+		{
+			Object dbs = get(pName);
+
+			if (dbs == null)
+			{
+				getDBAccess();
+
+				dbs = create(OPEN_DELAY);
+
+				put(pName, dbs);
+			}
+
+			return dbs;
+		}
+
+		/**
+		 * Gets the contacts storage.
+		 *
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		public Object getContacts() throws Exception
+		{
+			return getStorage("contacts");
+		}
+
+		/**
+		 * Gets the addresses storage.
+		 *
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		public Object getAddresses() throws Exception
+		{
+			return getStorage("addresses");
+		}
+
+		/**
+		 * Gets the countries storage.
+		 *
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		public Object getCountries() throws Exception
+		{
+			return getStorage("countries");
+		}
+
+		/**
+		 * Gets the educations storage.
+		 *
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		public Object getEducations() throws Exception
+		{
+			return getStorage("educations");
+		}
+
+		/**
+		 * Gets the salutations storage.
+		 *
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		public Object getSalutations() throws Exception
+		{
+			return getStorage("salutations");
+		}
+
+		/**
+		 * Gets the health insurances storage.
+		 *
+		 * @return the storage
+		 * @throws Exception if the creation fails
+		 */
+		public Object getHealthInsurances() throws Exception
+		{
+			return getStorage("healthInsurances");
+		}
+
+	}	// ColdSession
+
+	/**
+	 * A session LCO with warm-up. The database access is created in the first step, the storages
+	 * in the second step.
+	 *
+	 * @author Ren Jahn
+	 */
+	public static class WarmSession extends ColdSession
+	{
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp
+		public Object getDBAccess() throws Exception
+		{
+			return super.getDBAccess();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp(step = 1)
+		public Object getContacts() throws Exception
+		{
+			return super.getContacts();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp(step = 1)
+		public Object getAddresses() throws Exception
+		{
+			return super.getAddresses();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp(step = 1)
+		public Object getCountries() throws Exception
+		{
+			return super.getCountries();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp(step = 1)
+		public Object getEducations() throws Exception
+		{
+			return super.getEducations();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp(step = 1)
+		public Object getSalutations() throws Exception
+		{
+			return super.getSalutations();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@WarmUp(step = 1)
+		public Object getHealthInsurances() throws Exception
+		{
+			return super.getHealthInsurances();
+		}
+
+	}	// WarmSession
+
+}	// TestSessionWarmUpPerformance
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import com.sibvisions.util.type.CommonUtil;
+
+/**
+ * The <code>Benchmark</code> is a small benchmark harness for the manual performance tests. Every benchmark
+ * runs warm-up iterations and measured iterations. The results are printed and, if the system property
+ * <code>benchmark.result</code> is set, appended as JSON line to the given file, e.g. to compare releases.
+ * <p>
+ * System properties:
+ * </p>
+ * <ul>
+ *   <li><code>benchmark.warmup</code>: the number of warm-up iterations (default: 3)</li>
+ *   <li><code>benchmark.iterations</code>: the number of measured iterations (default: 5)</li>
+ *   <li><code>benchmark.rows</code>: comma separated row counts for scaled benchmarks (default: 10000,100000)</li>
+ *   <li><code>benchmark.result</code>: the result file (JSON lines)</li>
+ *   <li><code>benchmark.label</code>: a label for the results, e.g. the release</li>
+ * </ul>
+ *
+ * @author Ren Jahn
+ */
+public final class Benchmark
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the consumed results, to avoid dead code elimination. */
+	private static volatile Object consumed;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Invisible constructor because <code>Benchmark</code> is a utility class.
+	 */
+	private Benchmark()
+	{
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the row counts for scaled benchmarks.
+	 *
+	 * @return the row counts
+	 */
+	public static int[] getRowCounts()
+	{
+		String[] sCounts = System.getProperty("benchmark.rows", "10000,100000").split(",");
+
+		int[] iCounts = new int[sCounts.length];
+
+		for (int i = 0; i < sCounts.length; i++)
+		{
+			iCounts[i] = Integer.parseInt(sCounts[i].trim());
+		}
+
+		return iCounts;
+	}
+
+	/**
+	 * Consumes a result, to avoid that the JIT removes the measured code.
+	 *
+	 * @param pResult the result
+	 */
+	public static void consume(Object pResult)
+	{
+		consumed = pResult;
+	}
+
+	/**
+	 * Runs a benchmark and reports the result.
+	 *
+	 * @param pSuite the suite name
+	 * @param pName the benchmark name
+	 * @param pParameter the benchmark parameter, e.g. the row count
+	 * @param pOperation the measured operation
+	 * @return the average time per operation in nanoseconds
+	 * @throws Throwable if the operation fails
+	 */
+	public static double run(String pSuite, String pName, String pParameter, Operation pOperation) throws Throwable
+	{
+		int iWarmUp = Integer.getInteger("benchmark.warmup", 3).intValue();
+		int iIterations = Integer.getInteger("benchmark.iterations", 5).intValue();
+
+		for (int i = 0; i < iWarmUp; i++)
+		{
+			pOperation.setUp();
+
+			consume(Integer.valueOf(pOperation.run()));
+
+			pOperation.tearDown();
+		}
+
+		double[] dNanosPerOp = new double[iIterations];
+
+		for (int i = 0; i < iIterations; i++)
+		{
+			pOperation.setUp();
+
+			long lStart = System.nanoTime();
+
+			int iOps = pOperation.run();
+
+			dNanosPerOp[i] = (double)(System.nanoTime() - lStart) / Math.max(1, iOps);
+
+			pOperation.tearDown();
+		}
+
+		double dAvg = 0;
+		double dMin = Double.MAX_VALUE;
+		double dMax = 0;
+
+		for (int i = 0; i < iIterations; i++)
+		{
+			dAvg += dNanosPerOp[i];
+			dMin = Math.min(dMin, dNanosPerOp[i]);
+			dMax = Math.max(dMax, dNanosPerOp[i]);
+		}
+
+		dAvg /= iIterations;
+
+		double dError = 0;
+
+		for (int i = 0; i < iIterations; i++)
+		{
+			dError += (dNanosPerOp[i] - dAvg) * (dNanosPerOp[i] - dAvg);
+		}
+
+		dError = iIterations > 1 ? Math.sqrt(dError / (iIterations - 1)) : 0;
+
+		System.out.println(String.format("%-20s %-24s %-14s %14.1f ns/op  (min %.1f, max %.1f, stddev %.1f)",
+		                                 pSuite, pName, pParameter, Double.valueOf(dAvg), Double.valueOf(dMin),
+		                                 Double.valueOf(dMax), Double.valueOf(dError)));
+
+		write(pSuite, pName, pParameter, iIterations, dAvg, dMin, dMax, dError);
+
+		return dAvg;
+	}
+
+	/**
+	 * Appends a result to the result file, if configured.
+	 *
+	 * @param pSuite the suite name
+	 * @param pName the benchmark name
+	 * @param pParameter the benchmark parameter
+	 * @param pIterations the number of measured iterations
+	 * @param pAvg the average time per operation
+	 * @param pMin the minimum time per operation
+	 * @param pMax the maximum time per operation
+	 * @param pError the standard deviation
+	 * @throws Exception if writing fails
+	 */
+	private static synchronized void write(String pSuite, String pName, String pParameter, int pIterations,
+	                                       double pAvg, double pMin, double pMax, double pError) throws Exception
+	{
+		String sFile = System.getProperty("benchmark.result");
+
+		if (sFile == null)
+		{
+			return;
+		}
+
+		File fiResult = new File(sFile);
+
+		if (fiResult.getParentFile() != null)
+		{
+			fiResult.getParentFile().mkdirs();
+		}
+
+		StringBuilder sbLine = new StringBuilder("{");
+		sbLine.append("\"timestamp\":\"");
+		sbLine.append(new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date()));
+		sbLine.append("\",\"label\":\"");
+		sbLine.append(System.getProperty("benchmark.label", ""));
+		sbLine.append("\",\"java\":\"");
+		sbLine.append(System.getProperty("java.version"));
+		sbLine.append("\",\"suite\":\"");
+		sbLine.append(pSuite);
+		sbLine.append("\",\"benchmark\":\"");
+		sbLine.append(pName);
+		sbLine.append("\",\"parameter\":\"");
+		sbLine.append(pParameter);
+		sbLine.append("\",\"iterations\":");
+		sbLine.append(pIterations);
+		sbLine.append(",\"unit\":\"ns/op\",\"score\":");
+		sbLine.append(String.format(Locale.ROOT, "%.1f", Double.valueOf(pAvg)));
+		sbLine.append(",\"min\":");
+		sbLine.append(String.format(Locale.ROOT, "%.1f", Double.valueOf(pMin)));
+		sbLine.append(",\"max\":");
+		sbLine.append(String.format(Locale.ROOT, "%.1f", Double.valueOf(pMax)));
+		sbLine.append(",\"error\":");
+		sbLine.append(String.format(Locale.ROOT, "%.1f", Double.valueOf(pError)));
+		sbLine.append("}\n");
+
+		Writer writer = new OutputStreamWriter(new FileOutputStream(fiResult, true), "UTF-8");
+
+		try
+		{
+			writer.write(sbLine.toString());
+		}
+		finally
+		{
+			CommonUtil.close(writer);
+		}
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>Operation</code> is a measured benchmark operation.
+	 *
+	 * @author Ren Jahn
+	 */
+	public abstract static class Operation
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Abstract methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Runs the measured operation.
+		 *
+		 * @return the number of operations, e.g. the number of rows
+		 * @throws Throwable if the operation fails
+		 */
+		public abstract int run() throws Throwable;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Prepares an iteration. The time is not measured.
+		 *
+		 * @throws Throwable if the preparation fails
+		 */
+		public void setUp() throws Throwable
+		{
+		}
+
+		/**
+		 * Cleans up after an iteration. The time is not measured.
+		 *
+		 * @throws Throwable if the clean up fails
+		 */
+		public void tearDown() throws Throwable
+		{
+		}
+
+	}	// Operation
+
+}	// Benchmark
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import org.junit.Test;
+
+/**
+ * Benchmarks {@link Internalize} with concurrent threads. The global lock of the former implementation
+ * is simulated with a synchronization on the <code>Internalize</code> class.
+ * <p>
+ * System properties:
+ * </p>
+ * <ul>
+ *   <li><code>benchmark.threads</code>: the number of threads (default: 8)</li>
+ * </ul>
+ *
+ * @author René Jahn
+ * @see Benchmark
+ */
+public class TestInternalizeBenchmark
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Benchmarks the intern of fetched values, like decimals and timestamps, with concurrent threads.
+	 *
+	 * @throws Throwable if the benchmark fails
+	 */
+	@Test
+	public void testInternConcurrent() throws Throwable
+	{
+		int iThreads = Integer.getInteger("benchmark.threads", 8).intValue();
+
+		for (int iRows : Benchmark.getRowCounts())
+		{
+			final Object[] oaValues = createValues(iRows);
+
+			Internalize.clearCache();
+			Internalize.resetStatistics();
+
+			Benchmark.run("Internalize", "intern(global lock)", "rows=" + iRows + ",threads=" + iThreads,
+			              new InternOperation(oaValues, iThreads, true));
+
+			Internalize.clearCache();
+			Internalize.resetStatistics();
+
+			Benchmark.run("Internalize", "intern(striped)", "rows=" + iRows + ",threads=" + iThreads,
+			              new InternOperation(oaValues, iThreads, false));
+
+			long lHits = Internalize.getHitCount();
+			long lMisses = Internalize.getMissCount();
+
+			System.out.println(String.format("%-20s hit rate %.1f%%, contention %d, segments %d",
+			                                 "Internalize", Double.valueOf(lHits * 100.0 / Math.max(1, lHits + lMisses)),
+			                                 Long.valueOf(Internalize.getContentionCount()),
+			                                 Integer.valueOf(Internalize.getSegmentCount())));
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates the values of fetched rows, with a few repeated values, like in a result set.
+	 *
+	 * @param pRows the number of rows
+	 * @return the values
+	 */
+	private static Object[] createValues(int pRows)
+	{
+		int iDifferent = Math.max(1, pRows / 10);
+
+		Object[] oaValues = new Object[pRows * 2];
+
+		for (int i = 0; i < pRows; i++)
+		{
+			int iValue = i % iDifferent;
+
+			oaValues[i * 2] = new BigDecimal(iValue + ".50");
+			oaValues[i * 2 + 1] = new Timestamp(1500000000000L + iValue * 1000L);
+		}
+
+		return oaValues;
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The <code>InternOperation</code> interns all values with concurrent threads.
+	 *
+	 * @author René Jahn
+	 */
+	private static final class InternOperation extends Benchmark.Operation
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** the values. */
+		private Object[] oaValues;
+
+		/** the number of threads. */
+		private int iThreads;
+
+		/** whether the global lock is used. */
+		private boolean bGlobalLock;
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Creates a new instance of <code>InternOperation</code>.
+		 *
+		 * @param pValues the values
+		 * @param pThreads the number of threads
+		 * @param pGlobalLock <code>true</code> to synchronize every intern with the <code>Internalize</code> class
+		 */
+		private InternOperation(Object[] pValues, int pThreads, boolean pGlobalLock)
+		{
+			oaValues = pValues;
+			iThreads = pThreads;
+			bGlobalLock = pGlobalLock;
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Abstract methods implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int run() throws Throwable
+		{
+			Thread[] threads = new Thread[iThreads];
+
+			for (int i = 0; i < iThreads; i++)
+			{
+				final int iOffset = i * oaValues.length / iThreads;
+
+				threads[i] = new Thread(new Runnable()
+				{
+					public void run()
+					{
+						Object[] oaResult = new Object[oaValues.length];
+
+						// every thread starts at another position, like different sessions
+						for (int j = 0, k = iOffset; j < oaValues.length; j++)
+						{
+							if (bGlobalLock)
+							{
+								synchronized (Internalize.class)
+								{
+									oaResult[j] = Internalize.internNoSync(oaValues[k]);
+								}
+							}
+							else
+							{
+								oaResult[j] = Internalize.intern(oaValues[k]);
+							}
+
+							if (++k == oaValues.length)
+							{
+								k = 0;
+							}
+						}
+
+						Benchmark.consume(oaResult);
+					}
+				});
+			}
+
+			for (int i = 0; i < iThreads; i++)
+			{
+				threads[i].start();
+			}
+
+			for (int i = 0; i < iThreads; i++)
+			{
+				threads[i].join();
+			}
+
+			return oaValues.length * iThreads;
+		}
+
+	}	// InternOperation
+
+}	// TestInternalizeBenchmark
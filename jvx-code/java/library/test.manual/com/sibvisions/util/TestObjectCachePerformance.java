@@ -0,0 +1,381 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util;
+
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Compares the multithreaded throughput of the {@link ObjectCacheInstance} with the former
+ * <code>Hashtable</code> based implementation.
+ *
+ * @author Ren Jahn
+ */
+public class TestObjectCachePerformance
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the amount of cached objects. */
+	private static final int OBJECT_COUNT = 50000;
+
+	/** the operations per thread. */
+	private static final int OPERATIONS = 500000;
+
+	/** the thread counts. */
+	private static final int[] THREADS = new int[] {1, 4, 16};
+
+	/** the keys. */
+	private static final String[] KEYS = new String[OBJECT_COUNT];
+
+	static
+	{
+		for (int i = 0; i < OBJECT_COUNT; i++)
+		{
+			KEYS[i] = "KEY" + i;
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Measures a read-mostly workload (90% get, 10% put).
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testReadMostly() throws Exception
+	{
+		for (int i = 0; i < 2; i++)
+		{
+			for (int iThreads : THREADS)
+			{
+				measure(new LegacyCache(), iThreads, 10);
+				measure(new CurrentCache(new ObjectCacheInstance()), iThreads, 10);
+			}
+		}
+	}
+
+	/**
+	 * Measures a read-mostly workload with a bounded cache, which evicts objects.
+	 *
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testBounded() throws Exception
+	{
+		for (int iThreads : THREADS)
+		{
+			ObjectCacheInstance cache = new ObjectCacheInstance();
+			cache.setMaxSize(OBJECT_COUNT / 2);
+
+			measure(new CurrentCache(cache), iThreads, 10);
+
+			System.out.println("  Hits: " + cache.getHitCount() + "  Misses: " + cache.getMissCount() + "  Evictions: " + cache.getEvictionCount());
+		}
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Runs the workload with the given number of threads and prints the throughput.
+	 *
+	 * @param pCache the cache
+	 * @param pThreads the number of threads
+	 * @param pPutPercent the percentage of put operations
+	 * @throws Exception if a thread fails
+	 */
+	private static void measure(final Cache pCache, int pThreads, final int pPutPercent) throws Exception
+	{
+		for (int i = 0; i < OBJECT_COUNT; i++)
+		{
+			pCache.put(KEYS[i], "Object " + i);
+		}
+
+		final CountDownLatch latchStart = new CountDownLatch(1);
+		final CountDownLatch latchDone = new CountDownLatch(pThreads);
+		final AtomicLong alFound = new AtomicLong();
+
+		for (int i = 0; i < pThreads; i++)
+		{
+			final long lSeed = i * 7919L + 1;
+
+			new Thread(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						latchStart.await();
+
+						long lRandom = lSeed;
+						long lFound = 0;
+
+						for (int j = 0; j < OPERATIONS; j++)
+						{
+							//xorshift, to avoid contention of a shared random
+							lRandom ^= lRandom << 13;
+							lRandom ^= lRandom >>> 7;
+							lRandom ^= lRandom << 17;
+
+							int iRandom = (int)((lRandom >>> 1) % (OBJECT_COUNT * 100L));
+
+							Object oKey = KEYS[iRandom / 100];
+
+
+							if (iRandom % 100 < pPutPercent)
+							{
+								pCache.put(oKey, "Object");
+							}
+							else if (pCache.get(oKey) != null)
+							{
+								lFound++;
+							}
+						}
+
+						alFound.addAndGet(lFound);
+					}
+					catch (InterruptedException ie)
+					{
+						// stop
+					}
+					finally
+					{
+						latchDone.countDown();
+					}
+				}
+			}).start();
+		}
+
+		long lStart = System.nanoTime();
+
+		latchStart.countDown();
+		latchDone.await();
+
+		long lDuration = System.nanoTime() - lStart;
+
+		pCache.stop();
+
+		System.out.println(pCache.getName() + " Threads: " + pThreads +
+		                   "  Throughput: " + (long)pThreads * OPERATIONS * 1000 / (lDuration / 1000) + " ops/ms" +
+		                   "  Found: " + alFound.get());
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * The cache access for the workload.
+	 *
+	 * @author Ren Jahn
+	 */
+	private interface Cache
+	{
+		/**
+		 * Gets the name for the output.
+		 *
+		 * @return the name
+		 */
+		public String getName();
+
+		/**
+		 * Puts an object.
+		 *
+		 * @param pKey the key
+		 * @param pObject the object
+		 */
+		public void put(Object pKey, Object pObject);
+
+		/**
+		 * Gets an object.
+		 *
+		 * @param pKey the key
+		 * @return the object
+		 */
+		public Object get(Object pKey);
+
+		/**
+		 * Stops background work.
+		 */
+		public void stop();
+
+	}	// Cache
+
+	/**
+	 * The {@link ObjectCacheInstance}.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class CurrentCache implements Cache
+	{
+		/** the cache. */
+		private ObjectCacheInstance cache;
+
+		/**
+		 * Creates a new instance of <code>CurrentCache</code>.
+		 *
+		 * @param pCache the cache
+		 */
+		private CurrentCache(ObjectCacheInstance pCache)
+		{
+			cache = pCache;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String getName()
+		{
+			return cache.getMaxSize() > 0 ? "Bounded   " : "Concurrent";
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void put(Object pKey, Object pObject)
+		{
+			cache.put(pKey, pObject, 60000);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object get(Object pKey)
+		{
+			return cache.get(pKey);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void stop()
+		{
+		}
+
+	}	// CurrentCache
+
+	/**
+	 * The former implementation: a <code>Hashtable</code> and a check thread which clones
+	 * the whole table. The check interval is shortened from 30 seconds to 1 second, to
+	 * include the costs of the check in the measurement.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class LegacyCache implements Cache, Runnable
+	{
+		/** the store. */
+		private Hashtable<Object, Object[]> htStore = new Hashtable<Object, Object[]>();
+
+		/** the check thread. */
+		private Thread thCheck;
+
+		/**
+		 * Creates a new instance of <code>LegacyCache</code>.
+		 */
+		private LegacyCache()
+		{
+			thCheck = new Thread(this);
+			thCheck.setDaemon(true);
+			thCheck.start();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String getName()
+		{
+			return "Hashtable ";
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void put(Object pKey, Object pObject)
+		{
+			htStore.put(pKey, new Object[] {pObject, Long.valueOf(System.currentTimeMillis() + 60000)});
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Object get(Object pKey)
+		{
+			Object[] oElement = htStore.get(pKey);
+
+			if (oElement != null && ((Long)oElement[1]).longValue() >= System.currentTimeMillis())
+			{
+				return oElement[0];
+			}
+
+			return null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void stop()
+		{
+			thCheck.interrupt();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void run()
+		{
+			try
+			{
+				while (true)
+				{
+					Thread.sleep(1000);
+
+					Hashtable<Object, Object[]> htClone = (Hashtable<Object, Object[]>)htStore.clone();
+
+					long lNow = System.currentTimeMillis();
+
+					for (Map.Entry<Object, Object[]> entry : htClone.entrySet())
+					{
+						if (((Long)entry.getValue()[1]).longValue() < lNow)
+						{
+							htStore.remove(entry.getKey());
+						}
+					}
+				}
+			}
+			catch (InterruptedException ie)
+			{
+				// stopped
+			}
+		}
+
+	}	// LegacyCache
+
+}	// TestObjectCachePerformance
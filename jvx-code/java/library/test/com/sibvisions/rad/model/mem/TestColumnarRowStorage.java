@@ -0,0 +1,415 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.model.mem;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import javax.rad.model.ColumnDefinition;
+import javax.rad.model.IDataRow;
+import javax.rad.model.ModelException;
+import javax.rad.model.RowDefinition;
+import javax.rad.model.SortDefinition;
+import javax.rad.model.condition.Equals;
+import javax.rad.model.datatype.BigDecimalDataType;
+import javax.rad.model.datatype.BooleanDataType;
+import javax.rad.model.datatype.ObjectDataType;
+import javax.rad.model.datatype.StringDataType;
+import javax.rad.model.datatype.TimestampDataType;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the functionality of {@link ColumnarRowStorage}.
+ *
+ * @author Ren Jahn
+ */
+public class TestColumnarRowStorage
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the row definition. */
+	private RowDefinition rowdef;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates the row definition.
+	 *
+	 * @throws ModelException if creating columns fails
+	 */
+	@Before
+	public void beforeTest() throws ModelException
+	{
+		rowdef = new RowDefinition();
+		rowdef.addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("NAME", new StringDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("CREATED", new TimestampDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("ACTIVE", new BooleanDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("DATA", new ObjectDataType()));
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Tests add, get, set and remove of rows.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testAddGetSetRemove() throws Exception
+	{
+		ColumnarRowStorage storage = new ColumnarRowStorage(rowdef);
+
+		Timestamp tsNanos = new Timestamp(System.currentTimeMillis());
+		tsNanos.setNanos(123456789);
+
+		storage.add(new Object[] {new BigDecimal("1.50"), "A", new Timestamp(1000), Boolean.TRUE, "X"});
+		storage.add(new Object[] {new BigDecimal(-2), null, tsNanos, Boolean.FALSE, null});
+		storage.add(new Object[] {null, "A", null, null, Integer.valueOf(5)});
+
+		Assert.assertEquals(3, storage.size());
+		Assert.assertEquals(0, storage.getObjectRowCount());
+
+		for (int i = 0; i < 5; i++)
+		{
+			Assert.assertTrue(i == 4 || storage.isEncoded(i));
+		}
+
+		Assert.assertArrayEquals(new Object[] {new BigDecimal("1.50"), "A", new Timestamp(1000), Boolean.TRUE, "X"}, storage.get(0));
+		Assert.assertArrayEquals(new Object[] {new BigDecimal(-2), null, tsNanos, Boolean.FALSE, null}, storage.get(1));
+		Assert.assertArrayEquals(new Object[] {null, "A", null, null, Integer.valueOf(5)}, storage.get(2));
+
+		Assert.assertEquals(123456789, ((Timestamp)storage.get(1)[2]).getNanos());
+		Assert.assertEquals(2, ((BigDecimal)storage.get(0)[0]).scale());
+
+		// dictionary encoded strings are shared
+		Assert.assertSame(storage.get(0)[1], storage.get(2)[1]);
+
+		// rows with change information are stored as reference
+		Object[] oaChanged = new Object[] {BigDecimal.ONE, "B", null, null, null, null, null, null};
+
+		storage.set(1, oaChanged);
+
+		Assert.assertSame(oaChanged, storage.get(1));
+		Assert.assertEquals(1, storage.getObjectRowCount());
+
+		storage.add(1, new Object[] {BigDecimal.TEN, "C", null, Boolean.TRUE, null});
+
+		Assert.assertEquals(4, storage.size());
+		Assert.assertEquals(BigDecimal.TEN, storage.get(1)[0]);
+		Assert.assertSame(oaChanged, storage.get(2));
+
+		storage.remove(0);
+
+		Assert.assertEquals(3, storage.size());
+		Assert.assertEquals(BigDecimal.TEN, storage.get(0)[0]);
+		Assert.assertSame(oaChanged, storage.get(1));
+		Assert.assertEquals(Integer.valueOf(5), storage.get(2)[4]);
+
+		// stored again without change information
+		storage.set(1, new Object[] {BigDecimal.ONE, "B", null, null, null});
+
+		Assert.assertEquals(0, storage.getObjectRowCount());
+		Assert.assertArrayEquals(new Object[] {BigDecimal.ONE, "B", null, null, null}, storage.get(1));
+	}
+
+	/**
+	 * Tests the fallback to object columns, if a value can't be encoded.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testFallback() throws Exception
+	{
+		ColumnarRowStorage storage = new ColumnarRowStorage(rowdef);
+
+		for (int i = 0; i < 100; i++)
+		{
+			storage.add(new Object[] {BigDecimal.valueOf(i), "Name " + (i % 3), null, null, null});
+		}
+
+		Assert.assertTrue(storage.isEncoded(0));
+
+		BigDecimal bdBig = new BigDecimal("123456789012345678901234567890.123");
+
+		storage.add(new Object[] {bdBig, "Name 1", null, null, null});
+
+		Assert.assertFalse(storage.isEncoded(0));
+		Assert.assertTrue(storage.isEncoded(1));
+
+		Assert.assertEquals(bdBig, storage.get(100)[0]);
+
+		for (int i = 0; i < 100; i++)
+		{
+			Assert.assertEquals(BigDecimal.valueOf(i), storage.get(i)[0]);
+		}
+	}
+
+	/**
+	 * Tests that rebuilt rows are cached and that the cache follows changes.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testRowCache() throws Exception
+	{
+		ColumnarRowStorage storage = new ColumnarRowStorage(rowdef);
+
+		for (int i = 0; i < 100; i++)
+		{
+			storage.add(new Object[] {BigDecimal.valueOf(i), "Name " + i, null, null, null});
+		}
+
+		Object[] oaRow = storage.get(10);
+
+		// same instance, e.g. for calculated values
+		Assert.assertSame(oaRow, storage.get(10));
+
+		oaRow[4] = "calculated";
+
+		Assert.assertEquals("calculated", storage.get(10)[4]);
+
+		// changed rows are rebuilt
+		storage.set(10, new Object[] {BigDecimal.ONE, "Changed", null, null, null});
+
+		Assert.assertNotSame(oaRow, storage.get(10));
+		Assert.assertEquals("Changed", storage.get(10)[1]);
+
+		// shifted rows
+		oaRow = storage.get(20);
+
+		storage.remove(5);
+
+		Assert.assertNotSame(oaRow, storage.get(20));
+		Assert.assertEquals(BigDecimal.valueOf(21), storage.get(20)[0]);
+		Assert.assertEquals(BigDecimal.valueOf(20), storage.get(19)[0]);
+
+		storage.add(0, new Object[] {BigDecimal.TEN, "First", null, null, null});
+
+		Assert.assertEquals(BigDecimal.TEN, storage.get(0)[0]);
+		Assert.assertEquals(BigDecimal.valueOf(20), storage.get(20)[0]);
+
+		// cache collision of rows with the same cache position
+		for (int i = 0; i < 200; i++)
+		{
+			storage.add(new Object[] {BigDecimal.valueOf(1000 + i), null, null, null, null});
+		}
+
+		for (int i = 0; i < storage.size(); i += 7)
+		{
+			Assert.assertSame(storage.get(i), storage.get(i));
+			Assert.assertEquals(i >= 100 ? BigDecimal.valueOf(900 + i) : storage.get(i)[0], storage.get(i)[0]);
+		}
+	}
+
+	/**
+	 * Tests that concurrent readers, e.g. the parallel filter, always get the row of the requested index,
+	 * also if they replace the same cache positions.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testConcurrentGet() throws Exception
+	{
+		final ColumnarRowStorage storage = new ColumnarRowStorage(rowdef);
+
+		// more rows than cache positions
+		for (int i = 0; i < 4 * 65536; i++)
+		{
+			storage.add(new Object[] {BigDecimal.valueOf(i), null, null, null, null});
+		}
+
+		final Throwable[] thError = new Throwable[1];
+
+		Thread[] threads = new Thread[4];
+
+		for (int t = 0; t < threads.length; t++)
+		{
+			// all threads use the same cache positions
+			final int iOffset = t * 65536;
+
+			threads[t] = new Thread(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						for (int j = 0; j < 5; j++)
+						{
+							for (int i = 0, cnt = storage.size(); i < cnt; i++)
+							{
+								int iIndex = (i + iOffset) % cnt;
+
+								Assert.assertEquals(BigDecimal.valueOf(iIndex), storage.get(iIndex)[0]);
+							}
+						}
+					}
+					catch (Throwable th)
+					{
+						thError[0] = th;
+					}
+				}
+			});
+			threads[t].start();
+		}
+
+		for (int t = 0; t < threads.length; t++)
+		{
+			threads[t].join();
+		}
+
+		if (thError[0] != null)
+		{
+			throw new AssertionError(thError[0]);
+		}
+	}
+
+	/**
+	 * Tests a {@link MemDataBook} with columnar storage and fetched rows.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testDataBook() throws Exception
+	{
+		MemDataBook mdb = new FetchingMemDataBook(rowdef, 1000);
+		mdb.setName("columnar");
+		mdb.setColumnarStorage(true);
+		mdb.open();
+
+		try
+		{
+			mdb.setColumnarStorage(false);
+
+			Assert.fail("Storage changed on open databook");
+		}
+		catch (ModelException me)
+		{
+			// expected
+		}
+
+		Assert.assertEquals(1000, mdb.getRowCount());
+
+		mdb.setSort(new SortDefinition(new String[] {"ID"}, new boolean[] {false}));
+
+		Assert.assertEquals(BigDecimal.valueOf(999), mdb.getDataRow(0).getValue("ID"));
+
+		mdb.setSelectedRow(0);
+		mdb.setValue("NAME", "Changed");
+
+		Assert.assertTrue(mdb.isUpdating());
+		Assert.assertEquals("Changed", mdb.getDataRow(0).getValue("NAME"));
+
+		mdb.saveSelectedRow();
+
+		Assert.assertEquals("Changed", mdb.getDataRow(0).getValue("NAME"));
+
+		mdb.setSelectedRow(1);
+		mdb.setValue("NAME", "Restored");
+		mdb.restoreSelectedRow();
+
+		Assert.assertEquals("Name 8", mdb.getValue("NAME"));
+
+		mdb.setFilter(new Equals("NAME", "Name 1"));
+
+		Assert.assertEquals(100, mdb.getRowCount());
+
+		for (int i = 0, cnt = mdb.getRowCount(); i < cnt; i++)
+		{
+			IDataRow row = mdb.getDataRow(i);
+
+			Assert.assertEquals("Name 1", row.getValue("NAME"));
+			Assert.assertEquals(Boolean.valueOf(((BigDecimal)row.getValue("ID")).intValue() % 2 == 0), row.getValue("ACTIVE"));
+		}
+
+		mdb.setSelectedRow(0);
+		mdb.delete();
+		mdb.saveAllRows();
+
+		Assert.assertEquals(99, mdb.getRowCount());
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * A {@link MemDataBook} which fetches generated rows.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static class FetchingMemDataBook extends MemDataBook
+	{
+		/** the row count. */
+		private int iRowCount;
+
+		/**
+		 * Creates a new instance of <code>FetchingMemDataBook</code>.
+		 *
+		 * @param pRowDefinition the row definition
+		 * @param pRowCount the amount of rows to fetch
+		 */
+		FetchingMemDataBook(RowDefinition pRowDefinition, int pRowCount)
+		{
+			super(pRowDefinition);
+
+			iRowCount = pRowCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected MemDataPage createDataPage(IDataRow pMasterDataRow)
+		{
+			MemDataPage page = new MemDataPage(this, pMasterDataRow);
+
+			try
+			{
+				for (int i = 0; i < iRowCount; i++)
+				{
+					page.addFetchedRow(new Object[] {BigDecimal.valueOf(i),
+					                                 "Name " + (i % 10),
+					                                 new Timestamp(1000L * i),
+					                                 Boolean.valueOf(i % 2 == 0),
+					                                 null});
+				}
+			}
+			catch (ModelException me)
+			{
+				throw new RuntimeException(me);
+			}
+
+			return page;
+		}
+
+	}	// FetchingMemDataBook
+
+}	// TestColumnarRowStorage
@@ -27,10 +27,14 @@
  * 13.04.2013 - [RH] - #155 - Reload with SelectionMode==CURRENT and selfjoined tree's - testSelfjoinedReload()
  * 24.09.2013 - [RH] - #800 - MemDataBook ArrayIndexOutOfBoundsException during insert
  * 27.09.2013 - [RH] - #804 - MemDataBook for UITree with self-joined data
+ * 18.10.2026 - [JR] - testIncrementalSort, testIncrementalSortMasterChange, testIndexes, testParallelFilter
+ *                   - testCompiledCondition
  */
 package com.sibvisions.rad.model.mem;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Random;
 
 import javax.rad.model.ColumnDefinition;
 import javax.rad.model.ColumnView;
@@ -45,10 +49,26 @@ import javax.rad.model.ModelException;
 import javax.rad.model.RowDefinition;
 import javax.rad.model.SortDefinition;
 import javax.rad.model.TreePath;
+import javax.rad.model.condition.And;
+import javax.rad.model.condition.BaseCondition;
+import javax.rad.model.condition.ContainsIgnoreCase;
+import javax.rad.model.condition.EndsWithIgnoreCase;
 import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.Greater;
+import javax.rad.model.condition.GreaterEquals;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.Less;
+import javax.rad.model.condition.LessEquals;
+import javax.rad.model.condition.Like;
 import javax.rad.model.condition.LikeIgnoreCase;
+import javax.rad.model.condition.LikeReverse;
+import javax.rad.model.condition.LikeReverseIgnoreCase;
+import javax.rad.model.condition.Not;
+import javax.rad.model.condition.Or;
+import javax.rad.model.condition.StartsWithIgnoreCase;
 import javax.rad.model.datatype.BigDecimalDataType;
 import javax.rad.model.datatype.StringDataType;
+import javax.rad.model.datatype.TimestampDataType;
 import javax.rad.model.event.DataBookEvent;
 import javax.rad.model.event.IDataBookListener;
 import javax.rad.model.reference.ReferenceDefinition;
@@ -58,7 +78,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.sibvisions.rad.model.EventProtocol;
+import com.sibvisions.rad.model.Filter;
 import com.sibvisions.util.ArrayUtil;
+import com.sibvisions.util.type.StringUtil;
 
 /**
  * Tests all Functions of com.sibvisions.rad.model.MemDataBook and
@@ -3404,4 +3426,507 @@ System.out.println(dbDataBook);
         }
     }    
     
+    /**
+     * Tests that inserted and updated rows are sorted in, without a full re-sort of the page.
+     * 
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testIncrementalSort() throws Exception
+    {
+        MemDataBook mdb = new MemDataBook();
+        mdb.setName("sorted");
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("NAME"));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("VALUE", new BigDecimalDataType()));
+        mdb.setSort(new SortDefinition(new String[] {"VALUE", "ID"}, new boolean[] {false, true}));
+        mdb.open();
+        
+        Random random = new Random(4711);
+        
+        for (int i = 0; i < 200; i++)
+        {
+            mdb.insert(false);
+            mdb.setValue("ID", BigDecimal.valueOf(i));
+            mdb.setValue("VALUE", BigDecimal.valueOf(random.nextInt(50)));
+            mdb.saveSelectedRow();
+            
+            Assert.assertEquals(BigDecimal.valueOf(i), mdb.getValue("ID"));
+        }
+        
+        assertSorted(mdb, 200);
+        
+        // update sorted column
+        for (int i = 0; i < 200; i++)
+        {
+            mdb.setSelectedRow(random.nextInt(200));
+            
+            Object id = mdb.getValue("ID");
+            
+            mdb.setValue("VALUE", BigDecimal.valueOf(random.nextInt(50)));
+            mdb.saveSelectedRow();
+            
+            Assert.assertEquals(id, mdb.getValue("ID"));
+            
+            assertSorted(mdb, 200);
+        }
+        
+        // insert in a filtered page
+        mdb.setFilter(new Equals("NAME", "A"));
+        
+        for (int i = 200; i < 220; i++)
+        {
+            mdb.insert(false);
+            mdb.setValue("ID", BigDecimal.valueOf(i));
+            mdb.setValue("NAME", i % 2 == 0 ? "A" : "B");
+            mdb.setValue("VALUE", BigDecimal.valueOf(random.nextInt(50)));
+            mdb.saveSelectedRow();
+            
+            // inserted rows stay visible until the filter is changed
+            assertSorted(mdb, i - 199);
+        }
+        
+        mdb.setFilter(null);
+        
+        assertSorted(mdb, 220);
+    }
+    
+    /**
+     * Tests that a row, which is moved to another master, is sorted in the detail page of the new master.
+     * 
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testIncrementalSortMasterChange() throws Exception
+    {
+        MemDataBook mdbMaster = new MemDataBook();
+        mdbMaster.setName("master");
+        mdbMaster.getRowDefinition().addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+        mdbMaster.open();
+
+        MemDataBook mdbDetail = new MemDataBook();
+        mdbDetail.setName("detail");
+        mdbDetail.getRowDefinition().addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+        mdbDetail.getRowDefinition().addColumnDefinition(new ColumnDefinition("MASTER_ID", new BigDecimalDataType()));
+        mdbDetail.getRowDefinition().addColumnDefinition(new ColumnDefinition("VALUE", new BigDecimalDataType()));
+        mdbDetail.getRowDefinition().setPrimaryKeyColumnNames(new String[] {"ID"});
+        mdbDetail.setMasterReference(new ReferenceDefinition(new String[] {"MASTER_ID"}, mdbMaster, new String[] {"ID"}));
+        mdbDetail.setSort(new SortDefinition(new String[] {"VALUE", "ID"}, new boolean[] {true, true}));
+        mdbDetail.open();
+        
+        Random random = new Random(815);
+        
+        int id = 0;
+        
+        for (int i = 0; i < 2; i++)
+        {
+            mdbMaster.insert(false);
+            mdbMaster.setValue("ID", BigDecimal.valueOf(i));
+            mdbMaster.saveSelectedRow();
+            
+            for (int j = 0; j < 50; j++)
+            {
+                mdbDetail.insert(false);
+                mdbDetail.setValue("ID", BigDecimal.valueOf(id++));
+                mdbDetail.setValue("VALUE", BigDecimal.valueOf(random.nextInt(20)));
+                mdbDetail.saveSelectedRow();
+            }
+        }
+        
+        mdbMaster.setSelectedRow(1);
+        assertSorted(mdbDetail, 50);
+        
+        mdbMaster.setSelectedRow(0);
+        assertSorted(mdbDetail, 50);
+        
+        for (int i = 0; i < 10; i++)
+        {
+            mdbDetail.setSelectedRow(random.nextInt(mdbDetail.getRowCount()));
+            mdbDetail.setValue("MASTER_ID", BigDecimal.valueOf(1));
+            mdbDetail.saveSelectedRow();
+        }
+        
+        assertSorted(mdbDetail, 40);
+        
+        mdbMaster.setSelectedRow(1);
+        assertSorted(mdbDetail, 60);
+    }
+    
+    /**
+     * Tests that filter and search with secondary indexes have the same result as without indexes.
+     * 
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testIndexes() throws Exception
+    {
+        MemDataBook mdbIndexed = createIndexTestBook("indexed");
+        mdbIndexed.addIndex("NAME");
+        mdbIndexed.addIndex("VALUE");
+        mdbIndexed.addIndex("GROUP_ID", "VALUE");
+        
+        Assert.assertEquals(3, mdbIndexed.getIndexes().length);
+        
+        MemDataBook mdbPlain = createIndexTestBook("plain");
+        
+        Random random = new Random(4711);
+        
+        for (int i = 0; i < 300; i++)
+        {
+            Object[] values = new Object[] {BigDecimal.valueOf(i), 
+                                            random.nextInt(10) == 0 ? null : "Name " + random.nextInt(30), 
+                                            BigDecimal.valueOf(random.nextInt(40)),
+                                            BigDecimal.valueOf(random.nextInt(3))};
+            
+            mdbIndexed.insert(false);
+            mdbIndexed.setValues(null, values);
+            mdbPlain.insert(false);
+            mdbPlain.setValues(null, values);
+        }
+        
+        mdbIndexed.saveAllRows();
+        mdbPlain.saveAllRows();
+        
+        ICondition[] conditions = new ICondition[] {new Equals("NAME", "Name 7"),
+                                                    new Equals("NAME", null),
+                                                    new Equals("VALUE", new BigDecimal("12.00")),
+                                                    new Equals("VALUE", "12"),
+                                                    new GreaterEquals("VALUE", BigDecimal.valueOf(35)),
+                                                    new Less("VALUE", BigDecimal.valueOf(3)),
+                                                    new LikeIgnoreCase("NAME", "name 1*"),
+                                                    new Like("NAME", "Name 2%"),
+                                                    new And(new Equals("GROUP_ID", BigDecimal.ONE), new Equals("VALUE", BigDecimal.TEN)),
+                                                    new And(new Greater("VALUE", BigDecimal.valueOf(10)), new LessEquals("VALUE", BigDecimal.valueOf(20))),
+                                                    new Or(new Equals("NAME", "Name 3"), new Equals("VALUE", BigDecimal.ONE)),
+                                                    new Or(new Equals("NAME", "Name 3"), new Equals("GROUP_ID", BigDecimal.ONE))};
+        
+        assertSameResult(mdbIndexed, mdbPlain, conditions);
+        
+        // update, insert and delete rows
+        for (int i = 0; i < 50; i++)
+        {
+            int row = random.nextInt(mdbIndexed.getRowCount());
+            
+            mdbIndexed.setSelectedRow(row);
+            mdbPlain.setSelectedRow(row);
+            
+            if (i % 5 == 0)
+            {
+                mdbIndexed.delete();
+                mdbPlain.delete();
+            }
+            else
+            {
+                Object[] values = new Object[] {"Name " + random.nextInt(30), BigDecimal.valueOf(random.nextInt(40))};
+                
+                mdbIndexed.setValues(new String[] {"NAME", "VALUE"}, values);
+                mdbPlain.setValues(new String[] {"NAME", "VALUE"}, values);
+            }
+            
+            if (i % 7 == 0)
+            {
+                Object[] values = new Object[] {BigDecimal.valueOf(300 + i), "Name 7", BigDecimal.valueOf(12), BigDecimal.ONE};
+                
+                mdbIndexed.insert(false);
+                mdbIndexed.setValues(null, values);
+                mdbPlain.insert(false);
+                mdbPlain.setValues(null, values);
+            }
+            
+            // unsaved changes have to be found
+            if (i % 10 == 0)
+            {
+                assertSameResult(mdbIndexed, mdbPlain, conditions);
+            }
+            
+            if (i % 3 == 0)
+            {
+                mdbIndexed.saveAllRows();
+                mdbPlain.saveAllRows();
+            }
+        }
+        
+        mdbIndexed.saveAllRows();
+        mdbPlain.saveAllRows();
+        
+        assertSameResult(mdbIndexed, mdbPlain, conditions);
+        
+        // search in a sorted and filtered page
+        mdbIndexed.setSort(new SortDefinition(new String[] {"VALUE"}, new boolean[] {false}));
+        mdbPlain.setSort(new SortDefinition(new String[] {"VALUE"}, new boolean[] {false}));
+        
+        assertSameResult(mdbIndexed, mdbPlain, conditions);
+
+        mdbIndexed.removeIndex("VALUE");
+        
+        Assert.assertEquals(2, mdbIndexed.getIndexes().length);
+        
+        assertSameResult(mdbIndexed, mdbPlain, conditions);
+    }
+    
+    /**
+     * Tests that the parallel filter has the same result as the sequential filter.
+     * 
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testParallelFilter() throws Exception
+    {
+        MemDataBook mdb = new MemDataBook();
+        mdb.setName("parallel");
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("NAME"));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("VALUE", new BigDecimalDataType()));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("GROUP_ID", new BigDecimalDataType()));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("CREATED", new TimestampDataType()));
+        mdb.open();
+        
+        Random random = new Random(4711);
+        
+        for (int i = 0; i < 20000; i++)
+        {
+            mdb.insert(false);
+            mdb.setValues(null, new Object[] {BigDecimal.valueOf(i), 
+                                              "Name " + random.nextInt(1000), 
+                                              BigDecimal.valueOf(random.nextInt(1000), 1),
+                                              BigDecimal.valueOf(random.nextInt(3)),
+                                              new Timestamp(1000000000000L + random.nextInt(1000) * 86400000L)});
+        }
+        
+        mdb.saveAllRows();
+        
+        ICondition[] conditions = new ICondition[] {Filter.createFullTextFilter(mdb, "12", "NAME", "VALUE", "CREATED"),
+                                                    new Equals("GROUP_ID", BigDecimal.ONE).and(new Not(new LikeIgnoreCase("NAME", "*5*"))),
+                                                    new Greater("VALUE", BigDecimal.valueOf(50)).or(new Like("CREATED", "*2002*")),
+                                                    new BaseCondition()
+                                                    {
+                                                        public boolean isFulfilled(IDataRow pDataRow)
+                                                        {
+                                                            try
+                                                            {
+                                                                return ((BigDecimal)pDataRow.getValue("ID")).intValue() % 3 == 0;
+                                                            }
+                                                            catch (ModelException me)
+                                                            {
+                                                                return false;
+                                                            }
+                                                        }
+                                                    }};
+        
+        for (int i = 0; i < conditions.length; i++)
+        {
+            mdb.setParallelFilterThreshold(-1);
+            mdb.setFilter(conditions[i]);
+            
+            Object[] expected = new Object[mdb.getRowCount()];
+            
+            for (int j = 0; j < expected.length; j++)
+            {
+                expected[j] = mdb.getDataRow(j).getValue("ID");
+            }
+            
+            mdb.setFilter(null);
+            mdb.setParallelFilterThreshold(0);
+            mdb.setFilter(conditions[i]);
+
+            Assert.assertTrue(expected.length > 0);
+            Assert.assertEquals(expected.length, mdb.getRowCount());
+            
+            for (int j = 0; j < expected.length; j++)
+            {
+                Assert.assertEquals(expected[j], mdb.getDataRow(j).getValue("ID"));
+            }
+            
+            mdb.setFilter(null);
+        }
+    }
+    
+    /**
+     * Tests that compiled conditions have the same result as the conditions.
+     * 
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testCompiledCondition() throws Exception
+    {
+        MemDataBook mdb = createIndexTestBook("compiled");
+        
+        Random random = new Random(815);
+        
+        for (int i = 0; i < 2000; i++)
+        {
+            mdb.insert(false);
+            mdb.setValues(null, new Object[] {BigDecimal.valueOf(i), 
+                                              i % 17 == 0 ? null : (i % 2 == 0 ? "Name " : "nAME_") + random.nextInt(100) + (i % 5 == 0 ? "%x" : ""), 
+                                              i % 13 == 0 ? null : BigDecimal.valueOf(random.nextInt(1000), 1),
+                                              BigDecimal.valueOf(random.nextInt(3))});
+        }
+        
+        mdb.saveAllRows();
+        
+        ICondition[] conditions = new ICondition[] {new Equals("GROUP_ID", BigDecimal.ONE),
+                                                    new Equals("VALUE", "12.5"),
+                                                    new Equals("VALUE", "no number"),
+                                                    new Equals("NAME", null),
+                                                    new Equals("NAME", null, false),
+                                                    new Greater("VALUE", BigDecimal.valueOf(50)),
+                                                    new GreaterEquals("VALUE", Integer.valueOf(50)),
+                                                    new Less("VALUE", BigDecimal.valueOf(50)).and(new LessEquals("ID", BigDecimal.valueOf(1000))),
+                                                    new Equals("UNKNOWN", "x"),
+                                                    new Not(new Equals("UNKNOWN", "x")),
+                                                    new Not(null),
+                                                    new And(),
+                                                    new Or(),
+                                                    new Like("NAME", "Name 1*"),
+                                                    new Like("NAME", "*5"),
+                                                    new Like("NAME", "*me*1*"),
+                                                    new Like("NAME", "Name ?"),
+                                                    new Like("NAME", "%x"),
+                                                    new Like("NAME", null, false),
+                                                    new Like("VALUE", "1*"),
+                                                    new Like("VALUE", BigDecimal.ONE),
+                                                    new LikeIgnoreCase("NAME", "name_1*"),
+                                                    new LikeIgnoreCase("NAME", "*E*1"),
+                                                    new ContainsIgnoreCase("NAME", "E 4"),
+                                                    new StartsWithIgnoreCase("NAME", "NAME_"),
+                                                    new EndsWithIgnoreCase("NAME", "%X"),
+                                                    new LikeReverse("NAME", "Name 42"),
+                                                    new LikeReverseIgnoreCase("NAME", "name 4%x"),
+                                                    new Equals("GROUP_ID", BigDecimal.ONE).or(new Not(new LikeIgnoreCase("NAME", "*5*")))};
+        
+        for (int i = 0; i < conditions.length; i++)
+        {
+            CompiledCondition compiled = CompiledCondition.compile(conditions[i], mdb.getRowDefinition());
+            
+            Assert.assertNotNull(conditions[i].toString(), compiled);
+            
+            for (int j = 0, cnt = mdb.getRowCount(); j < cnt; j++)
+            {
+                DataRow row = (DataRow)mdb.getDataRow(j);
+                
+                Assert.assertEquals(conditions[i] + " - " + j, conditions[i].isFulfilled(row), compiled.isFulfilled(row.oaStorage));
+            }
+        }
+        
+        Assert.assertNull(CompiledCondition.compile(new Equals(mdb, "ID"), mdb.getRowDefinition()));
+        Assert.assertNull(CompiledCondition.compile(new And(new Equals("ID", BigDecimal.ONE), new BaseCondition()
+        {
+            public boolean isFulfilled(IDataRow pDataRow)
+            {
+                return true;
+            }
+        }), mdb.getRowDefinition()));
+        
+        String[] patterns = new String[] {"", "*", "**", "a", "a*", "*a", "*a*", "a*b", "a*a", "*a*b*", "ab*ba", "a**b", "*b*a", "a*b*c"};
+        String[] texts = new String[] {"", "a", "b", "aa", "ab", "ba", "aba", "abba", "abcba", "aXb", "abc", "bab", "acb"};
+        
+        for (int i = 0; i < patterns.length; i++)
+        {
+            CompiledCondition.WildcardPattern pattern = new CompiledCondition.WildcardPattern(patterns[i]);
+            
+            for (int j = 0; j < texts.length; j++)
+            {
+                Assert.assertEquals(patterns[i] + " - " + texts[j], StringUtil.like(texts[j], patterns[i]), pattern.matches(texts[j]));
+            }
+        }
+    }
+    
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+    /**
+     * Creates an opened mem data book for the index tests.
+     * 
+     * @param pName the name of the data book
+     * @return the data book
+     * @throws ModelException if the data book can't be opened
+     */
+    private MemDataBook createIndexTestBook(String pName) throws ModelException
+    {
+        MemDataBook mdb = new MemDataBook();
+        mdb.setName(pName);
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("NAME"));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("VALUE", new BigDecimalDataType()));
+        mdb.getRowDefinition().addColumnDefinition(new ColumnDefinition("GROUP_ID", new BigDecimalDataType()));
+        mdb.open();
+        
+        return mdb;
+    }
+    
+    /**
+     * Checks that search and filter of both data books have the same result for all given conditions.
+     * 
+     * @param pIndexed the data book with indexes
+     * @param pPlain the data book without indexes
+     * @param pConditions the conditions
+     * @throws ModelException if accessing the rows fails
+     */
+    private void assertSameResult(MemDataBook pIndexed, MemDataBook pPlain, ICondition[] pConditions) throws ModelException
+    {
+        for (int i = 0; i < pConditions.length; i++)
+        {
+            String message = pConditions[i].toString();
+            
+            int expected = pPlain.searchNext(pConditions[i]);
+            
+            Assert.assertEquals(message, expected, pIndexed.searchNext(pConditions[i]));
+            
+            while (expected >= 0)
+            {
+                int next = pPlain.searchNext(pConditions[i], expected + 1);
+                
+                Assert.assertEquals(message, next, pIndexed.searchNext(pConditions[i], expected + 1));
+                
+                expected = next;
+            }
+            
+            Assert.assertEquals(message, pPlain.searchPrevious(pConditions[i]), pIndexed.searchPrevious(pConditions[i]));
+            Assert.assertEquals(message, pPlain.searchPrevious(pConditions[i], 100), pIndexed.searchPrevious(pConditions[i], 100));
+        }
+        
+        ICondition filter = pPlain.getFilter();
+        
+        for (int i = 0; i < pConditions.length; i++)
+        {
+            pIndexed.setFilter(pConditions[i]);
+            pPlain.setFilter(pConditions[i]);
+            
+            Assert.assertEquals(pConditions[i].toString(), pPlain.getRowCount(), pIndexed.getRowCount());
+            
+            for (int j = 0; j < pPlain.getRowCount(); j++)
+            {
+                Assert.assertEquals(pPlain.getDataRow(j).getValue("ID"), pIndexed.getDataRow(j).getValue("ID"));
+            }
+            
+            // search in the filtered page
+            Assert.assertEquals(pPlain.searchNext(pConditions[(i + 1) % pConditions.length]), 
+                                pIndexed.searchNext(pConditions[(i + 1) % pConditions.length]));
+        }
+        
+        pIndexed.setFilter(filter);
+        pPlain.setFilter(filter);
+    }
+    
+    /**
+     * Checks that all rows of the current page are sorted according to the sort of the data book.
+     * 
+     * @param pDataBook the data book
+     * @param pRowCount the expected row count
+     * @throws ModelException if accessing the rows fails
+     */
+    private void assertSorted(MemDataBook pDataBook, int pRowCount) throws ModelException
+    {
+        IDataPage page = pDataBook.getDataPage();
+        
+        Assert.assertEquals(pRowCount, page.getRowCount());
+        
+        for (int i = 1; i < page.getRowCount(); i++)
+        {
+            Assert.assertTrue("Row " + i + " not sorted: " + page.getDataRow(i - 1) + " > " + page.getDataRow(i), 
+                              page.getDataRow(i - 1).compareTo(page.getDataRow(i), pDataBook.getSort()) <= 0);
+        }
+    }
+    
 } 	// TestMemDataBook
@@ -22,6 +22,7 @@
  * 07.04.2009 - [RH] - interface review - Test cases adapted
  * 28.04.2011 - [RH] - #341 -  LikeReverse Condition, LikeReverseIgnoreCase Condition   
  * 23.12.2011 - [JR] - fixed testForumF2P705
+ * 18.10.2026 - [JR] - testStreamingFetch, testStreamingFetchError, testPrefetch, testBatchSave
  */
 package com.sibvisions.rad.model.remote;
 
@@ -1417,4 +1418,366 @@ public class TestRemoteDataBook extends EventProtocol
 		rdbTest.setMemSort(false);
 	}
 
+	/**
+	 * Tests fetching with a fetch stream.
+	 * 
+	 * @throws Exception if the test fails.
+	 */
+	@Test
+	public void testStreamingFetch() throws Exception
+	{
+		HSQLDBAccess dba = new HSQLDBAccess();
+		dba.setUrl("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			for (int i = 0; i < 1200; i++)
+			{
+				dba.executeStatement("insert into test (name) values (?)", "stream " + i);
+			}
+			
+			RemoteDataBook rdbStream = new RemoteDataBook();
+			rdbStream.setDataSource(rds);
+			rdbStream.setName("TEST");
+			rdbStream.setReadAhead(10);
+			rdbStream.setStreamingFetch(true);
+			rdbStream.setFilter(new Like("NAME", "stream *"));
+			rdbStream.setSort(new SortDefinition("ID"));
+			rdbStream.open();
+			
+			Assert.assertEquals("stream 0", rdbStream.getValue("NAME"));
+			
+			rdbStream.fetchAll();
+			
+			Assert.assertTrue(rdbStream.isStreamingFetch());
+			Assert.assertTrue(rdbStream.isAllFetched());
+			Assert.assertEquals(1200, rdbStream.getRowCount());
+			
+			for (int i = 0; i < 1200; i++)
+			{
+				Assert.assertEquals("stream " + i, rdbStream.getDataRow(i).getValue("NAME"));
+			}
+			
+			// reload cancels the running stream
+			rdbStream.reload();
+			
+			Assert.assertEquals("stream 5", rdbStream.getDataRow(5).getValue("NAME"));
+			
+			rdbStream.reload();
+			rdbStream.fetchAll();
+			
+			Assert.assertEquals(1200, rdbStream.getRowCount());
+			Assert.assertEquals("stream 1199", rdbStream.getDataRow(1199).getValue("NAME"));
+			
+			rdbStream.setFilter(new Like("NAME", "stream 1*"));
+			
+			Assert.assertEquals("stream 1", rdbStream.getValue("NAME"));
+			
+			rdbStream.fetchAll();
+			
+			Assert.assertEquals(311, rdbStream.getRowCount());
+			
+			rdbStream.close();
+		}
+		finally
+		{
+			dba.executeStatement("delete from test where name like 'stream %'");
+			dba.close();
+		}
+	}
+	
+	/**
+	 * Tests that a failed fetch stream throws its error and doesn't mark the page as completely fetched.
+	 * 
+	 * @throws Exception if the test fails.
+	 */
+	@Test
+	public void testStreamingFetchError() throws Exception
+	{
+		HSQLDBAccess dba = new HSQLDBAccess();
+		dba.setUrl("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			for (int i = 0; i < 100; i++)
+			{
+				dba.executeStatement("insert into test (name) values (?)", "stream " + i);
+			}
+			
+			RemoteDataBook rdbStream = new RemoteDataBook();
+			rdbStream.setDataSource(rds);
+			rdbStream.setName("TESTSTREAMERROR");
+			rdbStream.setReadAhead(10);
+			rdbStream.setStreamingFetch(true);
+			rdbStream.setFilter(new Like("NAME", "stream *"));
+			rdbStream.setSort(new SortDefinition("ID"));
+			rdbStream.open();
+			
+			Assert.assertEquals("stream 0", rdbStream.getValue("NAME"));
+			
+			// the background fetch fails, the row count is incomplete
+			ModelException meCount = null;
+			
+			for (int i = 0; i < 500 && meCount == null; i++)
+			{
+				try
+				{
+					rdbStream.getRowCount();
+					
+					Thread.sleep(10);
+				}
+				catch (ModelException me)
+				{
+					meCount = me;
+				}
+			}
+			
+			Assert.assertNotNull(meCount);
+			Assert.assertFalse(rdbStream.isAllFetched());
+			
+			try
+			{
+				rdbStream.fetchAll();
+				
+				Assert.fail("Fetch of the failed stream succeeded!");
+			}
+			catch (ModelException me)
+			{
+				// expected
+			}
+			
+			rdbStream.close();
+		}
+		finally
+		{
+			dba.executeStatement("delete from test where name like 'stream %'");
+			dba.close();
+		}
+	}
+	
+	/**
+	 * Tests the asynchronous prefetch and its statistics.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testPrefetch() throws Exception
+	{
+		HSQLDBAccess dba = new HSQLDBAccess();
+		dba.setUrl("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			for (int i = 0; i < 300; i++)
+			{
+				dba.executeStatement("insert into test (name) values (?)", "prefetch " + i);
+			}
+			
+			RemoteDataBook rdbPrefetch = new RemoteDataBook();
+			rdbPrefetch.setDataSource(rds);
+			rdbPrefetch.setName("TESTPREFETCH");
+			rdbPrefetch.setReadAhead(20);
+			rdbPrefetch.setPrefetchEnabled(true);
+			rdbPrefetch.setFilter(new Like("NAME", "prefetch *"));
+			rdbPrefetch.setSort(new SortDefinition("ID"));
+			rdbPrefetch.open();
+			
+			Assert.assertEquals(0f, rdbPrefetch.getPrefetchHitRate(), 0f);
+			
+			for (int i = 0; i < 300; i++)
+			{
+				Assert.assertEquals("prefetch " + i, rdbPrefetch.getDataRow(i).getValue("NAME"));
+				
+				// simulates scrolling slower than the prefetch
+				((RemoteDataPage)rdbPrefetch.getDataPage()).waitForPrefetch();
+			}
+			
+			Assert.assertNull(rdbPrefetch.getDataRow(300));
+			Assert.assertTrue(rdbPrefetch.isAllFetched());
+			Assert.assertEquals(300, rdbPrefetch.getRowCount());
+			
+			// every request was served from prefetched rows
+			Assert.assertTrue(rdbPrefetch.getPrefetchHitCount() > 0);
+			Assert.assertEquals(0, rdbPrefetch.getPrefetchMissCount());
+			Assert.assertEquals(1f, rdbPrefetch.getPrefetchHitRate(), 0f);
+			
+			rdbPrefetch.resetPrefetchStatistics();
+			
+			Assert.assertEquals(0, rdbPrefetch.getPrefetchHitCount());
+			Assert.assertEquals(0, rdbPrefetch.getPrefetchMissCount());
+			
+			// reload cancels the running prefetch
+			rdbPrefetch.reload();
+			rdbPrefetch.reload();
+			rdbPrefetch.fetchAll();
+			
+			Assert.assertEquals(300, rdbPrefetch.getRowCount());
+			Assert.assertEquals("prefetch 299", rdbPrefetch.getDataRow(299).getValue("NAME"));
+			
+			rdbPrefetch.close();
+		}
+		finally
+		{
+			dba.executeStatement("delete from test where name like 'prefetch %'");
+			dba.close();
+		}
+	}
+	
+	/**
+	 * Tests saving all changes of a data page with one remote call.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testBatchSave() throws Exception
+	{
+		HSQLDBAccess dba = new HSQLDBAccess();
+		dba.setUrl("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			for (int i = 0; i < 10; i++)
+			{
+				dba.executeStatement("insert into test (name) values (?)", "batch " + i);
+			}
+			
+			RemoteDataBook rdbBatch = new RemoteDataBook();
+			rdbBatch.setDataSource(rds);
+			rdbBatch.setName("TEST");
+			rdbBatch.setBatchSaveEnabled(true);
+			rdbBatch.setWritebackIsolationLevel(WriteBackIsolationLevel.DATASOURCE);
+			rdbBatch.setFilter(new Like("NAME", "batch *"));
+			rdbBatch.setSort(new SortDefinition("ID"));
+			rdbBatch.open();
+			rdbBatch.fetchAll();
+			
+			Assert.assertTrue(rdbBatch.isBatchSaveEnabled());
+			Assert.assertEquals(10, rdbBatch.getRowCount());
+			
+			for (int i = 0; i < 4; i++)
+			{
+				rdbBatch.setSelectedRow(i);
+				rdbBatch.setValue("NAME", "batch updated " + i);
+			}
+			
+			rdbBatch.setSelectedRow(8);
+			rdbBatch.delete();
+			rdbBatch.setSelectedRow(9);
+			rdbBatch.delete();
+			
+			for (int i = 0; i < 5; i++)
+			{
+				rdbBatch.insert(false);
+				rdbBatch.setValue("NAME", "batch inserted " + i);
+			}
+			
+			rdbBatch.saveAllRows();
+			
+			Assert.assertEquals(0, rdbBatch.getChangedRows().length);
+			Assert.assertEquals(13, rdbBatch.getRowCount());
+			
+			for (int i = 0; i < rdbBatch.getRowCount(); i++)
+			{
+				// the generated keys are returned with the batched save
+				Assert.assertNotNull(rdbBatch.getDataRow(i).getValue("ID"));
+			}
+			
+			Assert.assertEquals(Integer.valueOf(4), getCount(dba, "batch updated %"));
+			Assert.assertEquals(Integer.valueOf(5), getCount(dba, "batch inserted %"));
+			Assert.assertEquals(Integer.valueOf(13), getCount(dba, "batch %"));
+			
+			// all changes are saved in one transaction, so nothing is saved if one change fails
+			Object oDuplicateId = rdbBatch.getDataRow(5).getValue("ID");
+			
+			rdbBatch.setSelectedRow(0);
+			rdbBatch.setValue("NAME", "batch failed 0");
+			rdbBatch.setSelectedRow(1);
+			rdbBatch.delete();
+			
+			rdbBatch.insert(false);
+			rdbBatch.setValue("ID", oDuplicateId);
+			rdbBatch.setValue("NAME", "batch failed 1");
+			
+			// the selected row would be saved alone
+			rdbBatch.setSelectedRow(rdbBatch.getRowCount() - 1);
+			
+			try
+			{
+				rdbBatch.saveAllRows();
+				
+				Assert.fail("Duplicate primary key was saved!");
+			}
+			catch (ModelException me)
+			{
+				// expected
+			}
+			
+			Assert.assertEquals(Integer.valueOf(0), getCount(dba, "batch failed %"));
+			Assert.assertEquals(Integer.valueOf(4), getCount(dba, "batch updated %"));
+			Assert.assertEquals(Integer.valueOf(13), getCount(dba, "batch %"));
+			Assert.assertEquals(3, rdbBatch.getChangedRows().length);
+			
+			rdbBatch.restoreAllRows();
+			
+			Assert.assertEquals(0, rdbBatch.getChangedRows().length);
+			
+			// listeners could change the rows, so the rows are saved one by one
+			rdbBatch.eventBeforeUpdated().addListener(new IDataBookListener()
+			{
+				public void dataBookChanged(DataBookEvent pDataBookEvent) throws ModelException
+				{
+					pDataBookEvent.getChangedDataBook().setValue("NAME", pDataBookEvent.getChangedDataBook().getValue("NAME") + " listener");
+				}
+			});
+			
+			for (int i = 0; i < 3; i++)
+			{
+				rdbBatch.setSelectedRow(i);
+				rdbBatch.setValue("NAME", "batch changed " + i);
+			}
+			
+			rdbBatch.saveAllRows();
+
+			Assert.assertEquals(Integer.valueOf(3), getCount(dba, "batch changed % listener"));
+			
+			rdbBatch.close();
+		}
+		finally
+		{
+			dba.executeStatement("delete from test where name like 'batch %'");
+			dba.close();
+		}
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	
+	/**
+	 * Gets the number of rows in the test table with a name like the given pattern.
+	 * 
+	 * @param pDBAccess the database access
+	 * @param pPattern the name pattern
+	 * @return the number of rows
+	 * @throws Exception if the query fails
+	 */
+	private Integer getCount(DBAccess pDBAccess, String pPattern) throws Exception
+	{
+		return Integer.valueOf(((Number)pDBAccess.executeQuery("select count(*) CNT from test where name like ?", pPattern).get(0).get("CNT")).intValue());
+	}
+	
+
+
 } 	// TestDataBook
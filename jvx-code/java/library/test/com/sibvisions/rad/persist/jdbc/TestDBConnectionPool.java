@@ -0,0 +1,352 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sibvisions.util.type.CommonUtil;
+
+/**
+ * Tests the functionality of {@link DBConnectionPool} with an in-memory HSQLDB.
+ *
+ * @author René Jahn
+ */
+public class TestDBConnectionPool
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the test credentials. */
+	private static final DBCredentials CREDENTIALS = new DBCredentials(null, "jdbc:hsqldb:mem:pooltest", "sa", "");
+
+	/** the pool. */
+	private DBConnectionPool pool;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates the pool.
+	 *
+	 * @throws Exception if the creation fails
+	 */
+	@Before
+	public void beforeTest() throws Exception
+	{
+		pool = new DBConnectionPool(CREDENTIALS, 0, 2);
+	}
+
+	/**
+	 * Closes the pool.
+	 */
+	@After
+	public void afterTest()
+	{
+		pool.close();
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Tests that released connections will be reused.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testReuse() throws Exception
+	{
+		Connection con = pool.getConnection();
+
+		Assert.assertEquals(1, pool.getActiveCount());
+		Assert.assertEquals(0, pool.getIdleCount());
+
+		con.setAutoCommit(false);
+
+		pool.releaseConnection(con);
+
+		Assert.assertTrue(con.isClosed());
+		Assert.assertEquals(0, pool.getActiveCount());
+		Assert.assertEquals(1, pool.getIdleCount());
+
+		try
+		{
+			con.createStatement();
+
+			Assert.fail("Released connection is usable!");
+		}
+		catch (SQLException se)
+		{
+			//expected
+		}
+
+		//releasing twice is ignored
+		pool.releaseConnection(con);
+
+		Assert.assertEquals(1, pool.getIdleCount());
+
+		con = pool.getConnection();
+
+		//reset by the pool
+		Assert.assertTrue(con.getAutoCommit());
+
+		//close releases the connection
+		con.close();
+
+		Assert.assertEquals(1, pool.getCreatedCount());
+		Assert.assertEquals(1, pool.getTotalCount());
+		Assert.assertEquals(1, pool.getIdleCount());
+	}
+
+	/**
+	 * Tests the maximum pool size and the wait time.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testMaxSize() throws Exception
+	{
+		pool.setMaxWait(50);
+
+		Connection con1 = pool.getConnection();
+		Connection con2 = pool.getConnection();
+
+		try
+		{
+			pool.getConnection();
+
+			Assert.fail("Pool size exceeded!");
+		}
+		catch (SQLException se)
+		{
+			//expected
+		}
+
+		Assert.assertEquals(1, pool.getWaitCount());
+		Assert.assertTrue(pool.getWaitTime() >= 40);
+
+		pool.releaseConnection(con1);
+
+		Connection con3 = pool.getConnection();
+
+		Assert.assertEquals(2, pool.getTotalCount());
+
+		pool.releaseConnection(con2);
+		pool.releaseConnection(con3);
+
+		Assert.assertEquals(2, pool.getIdleCount());
+	}
+
+	/**
+	 * Tests the reuse of prepared statements.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testStatementCache() throws Exception
+	{
+		String sSelect = "select count(*) from INFORMATION_SCHEMA.SYSTEM_TABLES where TABLE_NAME = ?";
+
+		for (int i = 0; i < 3; i++)
+		{
+			Connection con = pool.getConnection();
+
+			PreparedStatement pstmt = con.prepareStatement(sSelect);
+
+			Assert.assertEquals(0, pstmt.getMaxRows());
+			Assert.assertSame(con, pstmt.getConnection());
+
+			pstmt.setMaxRows(1);
+			pstmt.setString(1, "SYSTEM_TABLES");
+
+			ResultSet res = pstmt.executeQuery();
+
+			Assert.assertTrue(res.next());
+			Assert.assertEquals(1, res.getInt(1));
+
+			//nested statement, while the cached statement is in use
+			PreparedStatement pstmtNested = con.prepareStatement(sSelect);
+
+			Assert.assertNotSame(pstmt, pstmtNested);
+
+			CommonUtil.close(pstmtNested);
+
+			pstmt.close();
+
+			Assert.assertTrue(pstmt.isClosed());
+			Assert.assertTrue(res.isClosed());
+
+			pool.releaseConnection(con);
+		}
+
+		Assert.assertEquals(2, pool.getStatementCacheHitCount());
+		Assert.assertEquals(4, pool.getStatementCacheMissCount());
+	}
+
+	/**
+	 * Tests the validation and the eviction of idle connections.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testValidationAndEviction() throws Exception
+	{
+		pool.setValidationInterval(0);
+
+		Connection con = pool.getConnection();
+		Connection con2 = pool.getConnection();
+
+		pool.releaseConnection(con);
+		pool.releaseConnection(con2);
+
+		//close the physical connection in the pool
+		con = pool.getConnection();
+		con.unwrap(Connection.class).close();
+
+		pool.releaseConnection(con);
+
+		Assert.assertEquals(1, pool.getTotalCount());
+		Assert.assertEquals(1, pool.getClosedCount());
+
+		con = pool.getConnection();
+
+		Assert.assertFalse(con.isClosed());
+
+		pool.releaseConnection(con);
+
+		pool.setIdleTimeout(0);
+
+		Thread.sleep(5);
+
+		Assert.assertEquals(1, pool.evictIdleConnections());
+		Assert.assertEquals(0, pool.getTotalCount());
+		Assert.assertEquals(0, pool.getIdleCount());
+	}
+
+	/**
+	 * Tests {@link DBAccess#getDBAccess(DBCredentials)} with pooled credentials.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testDBAccess() throws Exception
+	{
+		DBCredentials dbcred = new DBCredentials(null, "jdbc:hsqldb:mem:pooltest", "sa", "");
+		dbcred.setPoolSize(1, 5);
+
+		DBAccess dba = DBAccess.getDBAccess(dbcred);
+		dba.open();
+
+		DBConnectionPool dbpool = (DBConnectionPool)dba.getConnectionPool();
+
+		try
+		{
+			Assert.assertSame(dbpool, DBConnectionPool.getInstance(dbcred));
+			Assert.assertEquals(5, dbpool.getMaxSize());
+
+			Assert.assertTrue(dba.isAlive());
+			Assert.assertEquals(1, dbpool.getActiveCount());
+
+			dba.close();
+
+			Assert.assertEquals(0, dbpool.getActiveCount());
+			Assert.assertEquals(1, dbpool.getIdleCount());
+
+			dba = DBAccess.getDBAccess(dbcred);
+			dba.open();
+
+			Assert.assertTrue(dba.isAlive());
+
+			dba.close();
+
+			Assert.assertEquals(1, dbpool.getCreatedCount());
+		}
+		finally
+		{
+			dba.close();
+
+			dbpool.close();
+		}
+	}
+
+	/**
+	 * Tests that a shared pool is still usable after the password was changed.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testPasswordChange() throws Exception
+	{
+		DBCredentials dbcred = new DBCredentials(null, "jdbc:hsqldb:mem:pooltest", "sa", "");
+		dbcred.setPoolSize(1, 5);
+
+		DBAccess dba = DBAccess.getDBAccess(dbcred);
+		dba.open();
+
+		DBConnectionPool dbpool = (DBConnectionPool)dba.getConnectionPool();
+		DBConnectionPool dbpoolNew = null;
+
+		try
+		{
+			dbpoolNew = DBConnectionPool.getInstance(new DBCredentials(null, "jdbc:hsqldb:mem:pooltest", "sa", "changed"));
+
+			Assert.assertNotSame(dbpool, dbpoolNew);
+			Assert.assertSame(dbpoolNew, DBConnectionPool.getInstance(new DBCredentials(null, "jdbc:hsqldb:mem:pooltest", "sa", "changed")));
+
+			//the old pool is retired but not closed
+			Assert.assertFalse(dbpool.isClosed());
+			Assert.assertTrue(dba.isAlive());
+
+			dba.close();
+
+			//released connections are not pooled
+			Assert.assertEquals(0, dbpool.getIdleCount());
+			Assert.assertEquals(0, dbpool.getTotalCount());
+
+			dba.open();
+
+			Assert.assertTrue(dba.isAlive());
+		}
+		finally
+		{
+			dba.close();
+
+			dbpool.close();
+
+			if (dbpoolNew != null)
+			{
+				dbpoolNew.close();
+			}
+		}
+	}
+
+}	// TestDBConnectionPool
@@ -21,15 +21,24 @@
 package com.sibvisions.rad.persist.jdbc;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.rad.io.IFileHandle;
 import javax.rad.io.RemoteFileHandle;
+import javax.rad.model.ColumnDefinition;
 import javax.rad.model.SortDefinition;
 import javax.rad.model.condition.And;
 import javax.rad.model.condition.Equals;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.condition.LikeIgnoreCase;
 import javax.rad.model.condition.Not;
+import javax.rad.model.datatype.BigDecimalDataType;
+import javax.rad.persist.DataSourceException;
+import javax.rad.persist.ISubStorage;
 import javax.rad.persist.MetaData;
 import javax.rad.persist.MetaData.Feature;
 import javax.rad.remote.MasterConnection;
@@ -40,8 +49,10 @@ import javax.rad.type.bean.IBean;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.sibvisions.rad.model.mem.MemDataBook;
 import com.sibvisions.rad.model.remote.RemoteDataBook;
 import com.sibvisions.rad.model.remote.RemoteDataSource;
+import com.sibvisions.rad.persist.MemDataBookStorage;
 import com.sibvisions.rad.persist.bean.BeanConverter;
 import com.sibvisions.rad.persist.event.IStorageListener;
 import com.sibvisions.rad.persist.event.StorageEvent;
@@ -1025,6 +1036,337 @@ public class TestDBStorage
 		}
 	}
 	
+	/**
+	 * Tests the shared fetch result cache with two database connections.
+	 * 
+	 * @throws Exception if test fails
+	 */
+	@Test
+	public void testFetchResultCache() throws Exception
+	{
+		DBAccess dba1 = DBAccess.getDBAccess("jdbc:hsqldb:hsql://localhost/testdb");
+		dba1.setUsername("sa");
+		dba1.setPassword("");
+		dba1.open();
+		
+		DBAccess dba2 = DBAccess.getDBAccess("jdbc:hsqldb:hsql://localhost/testdb");
+		dba2.setUsername("sa");
+		dba2.setPassword("");
+		dba2.open();
+		
+		try
+		{
+			dba1.executeStatement("drop table if exists FETCH_CACHE");
+			dba1.executeStatement("create table FETCH_CACHE ("
+					+ "ID integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+					+ "NAME varchar(100))");
+			dba1.executeStatement("insert into FETCH_CACHE (NAME) values ('A')");
+			dba1.executeStatement("insert into FETCH_CACHE (NAME) values ('B')");
+			dba1.commit();
+			
+			FetchResultCache cache = FetchResultCache.getInstance();
+			cache.clear();
+			
+			DBStorage dbs1 = new DBStorage();
+			dbs1.setDBAccess(dba1);
+			dbs1.setWritebackTable("FETCH_CACHE");
+			dbs1.setFetchResultCacheTimeToLive(60000);
+			dbs1.open();
+
+			DBStorage dbs2 = new DBStorage();
+			dbs2.setDBAccess(dba2);
+			dbs2.setWritebackTable("FETCH_CACHE");
+			dbs2.setFetchResultCacheTimeToLive(60000);
+			dbs2.open();
+			
+			SortDefinition sort = new SortDefinition("ID");
+			
+			List<Object[]> liRows = dbs1.fetch(null, sort, 0, -1);
+			
+			Assert.assertEquals(3, liRows.size());
+			Assert.assertEquals("A", liRows.get(0)[1]);
+			
+			//the cached rows are copies
+			liRows.get(0)[1] = "CHANGED";
+			
+			//changes without storage are not visible
+			dba1.executeStatement("update FETCH_CACHE set NAME = 'X' where NAME = 'A'");
+			dba1.commit();
+			
+			long lHits = cache.getHitCount();
+			
+			liRows = dbs2.fetch(null, sort, 0, -1);
+			
+			Assert.assertEquals(lHits + 1, cache.getHitCount());
+			Assert.assertEquals("A", liRows.get(0)[1]);
+			
+			//uncommitted changes are only visible for the own transaction
+			dba2.setAutoCommit(false);
+			
+			IBean bean = dbs2.createEmptyBean();
+			bean.put("NAME", "C");
+			
+			dbs2.insert(bean);
+			
+			Assert.assertEquals(4, dbs2.fetch(null, sort, 0, -1).size());
+			Assert.assertEquals(3, dbs1.fetch(null, sort, 0, -1).size());
+			
+			dba2.commit();
+			
+			//the commit removes the results of the table
+			liRows = dbs1.fetch(null, sort, 0, -1);
+			
+			Assert.assertEquals(4, liRows.size());
+			Assert.assertEquals("X", liRows.get(0)[1]);
+			
+			//other filters are cached separately
+			Assert.assertEquals(2, dbs1.fetch(new Equals("NAME", "B"), sort, 0, -1).size());
+			Assert.assertEquals(2, dbs2.fetch(new Equals("NAME", "B"), sort, 0, -1).size());
+			
+			dbs1.close();
+			dbs2.close();
+		}
+		finally
+		{
+			FetchResultCache.getInstance().clear();
+			
+			dba2.close();
+			dba1.close();
+		}
+	}
+	
+	/**
+	 * Tests {@link DBStorage#insertAll(List)}, {@link DBStorage#updateAll(List, List)} and
+	 * {@link DBStorage#deleteAll(List)} with JDBC batches.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testBatchInsertUpdateDelete() throws Exception
+	{
+		DBAccess dba = DBAccess.getDBAccess("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			dba.executeStatement("drop table if exists BATCH_TEST");
+			dba.executeStatement("create table BATCH_TEST ("
+					+ "ID integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+					+ "NAME varchar(100),"
+					+ "AMOUNT decimal(10, 2) default 5)");
+			dba.commit();
+			
+			// more than one batch per statement
+			dba.setBatchSize(7);
+			
+			DBStorage storage = new DBStorage();
+			storage.setDBAccess(dba);
+			storage.setWritebackTable("BATCH_TEST");
+			storage.open();
+			
+			MetaData meta = storage.getMetaData();
+			
+			int iId = meta.getColumnMetaDataIndex("ID");
+			int iName = meta.getColumnMetaDataIndex("NAME");
+			int iAmount = meta.getColumnMetaDataIndex("AMOUNT");
+			
+			List<Object[]> liRows = new ArrayList<Object[]>();
+			
+			for (int i = 0; i < 250; i++)
+			{
+				Object[] oRow = new Object[meta.getColumnMetaData().length];
+				oRow[iName] = "Row " + i;
+				
+				// different statements and the default value
+				if (i % 40 != 0)
+				{
+					oRow[iAmount] = BigDecimal.valueOf(i);
+				}
+				
+				liRows.add(oRow);
+			}
+			
+			List<Object[]> liInserted = storage.insertAll(liRows);
+			
+			Assert.assertEquals(250, liInserted.size());
+			Assert.assertEquals(250, storage.getEstimatedRowCount(null));
+			
+			HashSet<Object> hsIds = new HashSet<Object>();
+			
+			for (int i = 0; i < 250; i++)
+			{
+				Object[] oRow = liInserted.get(i);
+				
+				Assert.assertNotNull(oRow[iId]);
+				Assert.assertTrue(hsIds.add(oRow[iId]));
+				Assert.assertEquals("Row " + i, oRow[iName]);
+				
+				// refetched
+				Assert.assertEquals(0, (i % 40 != 0 ? BigDecimal.valueOf(i) : BigDecimal.valueOf(5)).compareTo((BigDecimal)oRow[iAmount]));
+			}
+			
+			List<Object[]> liNew = new ArrayList<Object[]>();
+			
+			for (int i = 0; i < 250; i++)
+			{
+				Object[] oRow = liInserted.get(i).clone();
+				
+				if (i % 3 == 0)
+				{
+					oRow[iName] = "Changed " + i;
+				}
+				oRow[iAmount] = BigDecimal.valueOf(i * 2);
+				
+				liNew.add(oRow);
+			}
+			
+			List<Object[]> liUpdated = storage.updateAll(liInserted, liNew);
+			
+			Assert.assertEquals(250, liUpdated.size());
+			
+			for (int i = 0; i < 250; i++)
+			{
+				Object[] oRow = liUpdated.get(i);
+				
+				Assert.assertEquals(liInserted.get(i)[iId], oRow[iId]);
+				Assert.assertEquals(i % 3 == 0 ? "Changed " + i : "Row " + i, oRow[iName]);
+				Assert.assertEquals(0, BigDecimal.valueOf(i * 2).compareTo((BigDecimal)oRow[iAmount]));
+			}
+			
+			Assert.assertEquals(84, storage.getEstimatedRowCount(new LikeIgnoreCase("NAME", "changed*")));
+			
+			storage.deleteAll(liUpdated.subList(0, 100));
+			
+			Assert.assertEquals(150, storage.getEstimatedRowCount(null));
+			
+			// events are dispatched for every row
+			final int[] iaEvents = new int[1];
+			
+			storage.eventBeforeDelete().addListener(new IStorageListener()
+			{
+				public void storageChanged(StorageEvent pStorageEvent) throws Throwable
+				{
+					iaEvents[0]++;
+				}
+			});
+			
+			storage.deleteAll(liUpdated.subList(100, 150));
+			
+			Assert.assertEquals(50, iaEvents[0]);
+			Assert.assertEquals(100, storage.getEstimatedRowCount(null));
+			
+			storage.close();
+		}
+		finally
+		{
+			dba.close();
+		}
+	}
+	
+	/**
+	 * Tests that {@link DBStorage#insertAll(List)}, {@link DBStorage#updateAll(List, List)} and
+	 * {@link DBStorage#deleteAll(List)} use overwritten single row methods.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testBatchWithOverwrittenMethods() throws Exception
+	{
+		DBAccess dba = DBAccess.getDBAccess("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			dba.executeStatement("drop table if exists BATCH_TEST");
+			dba.executeStatement("create table BATCH_TEST ("
+					+ "ID integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+					+ "NAME varchar(100),"
+					+ "AMOUNT decimal(10, 2) default 5)");
+			dba.commit();
+			
+			final int[] iaCalls = new int[3];
+			
+			DBStorage storage = new DBStorage()
+			{
+				@Override
+				protected Object[] executeInsert(Object[] pDataRow) throws DataSourceException
+				{
+					iaCalls[0]++;
+					
+					return super.executeInsert(pDataRow);
+				}
+				
+				@Override
+				protected Object[] executeUpdate(Object[] pOldDataRow, Object[] pNewDataRow) throws DataSourceException
+				{
+					iaCalls[1]++;
+					
+					return super.executeUpdate(pOldDataRow, pNewDataRow);
+				}
+				
+				@Override
+				protected void executeDelete(Object[] pDeleteDataRow) throws DataSourceException
+				{
+					iaCalls[2]++;
+					
+					super.executeDelete(pDeleteDataRow);
+				}
+			};
+			storage.setDBAccess(dba);
+			storage.setWritebackTable("BATCH_TEST");
+			storage.open();
+			
+			MetaData meta = storage.getMetaData();
+			
+			int iName = meta.getColumnMetaDataIndex("NAME");
+			
+			List<Object[]> liRows = new ArrayList<Object[]>();
+			
+			for (int i = 0; i < 20; i++)
+			{
+				Object[] oRow = new Object[meta.getColumnMetaData().length];
+				oRow[iName] = "Row " + i;
+				
+				liRows.add(oRow);
+			}
+			
+			List<Object[]> liInserted = storage.insertAll(liRows);
+			
+			Assert.assertEquals(20, iaCalls[0]);
+			Assert.assertEquals(20, storage.getEstimatedRowCount(null));
+			
+			List<Object[]> liNew = new ArrayList<Object[]>();
+			
+			for (int i = 0; i < 20; i++)
+			{
+				Object[] oRow = liInserted.get(i).clone();
+				oRow[iName] = "Changed " + i;
+				
+				liNew.add(oRow);
+			}
+			
+			List<Object[]> liUpdated = storage.updateAll(liInserted, liNew);
+			
+			Assert.assertEquals(20, iaCalls[1]);
+			Assert.assertEquals("Changed 19", liUpdated.get(19)[iName]);
+			
+			storage.deleteAll(liUpdated);
+			
+			Assert.assertEquals(20, iaCalls[2]);
+			Assert.assertEquals(0, storage.getEstimatedRowCount(null));
+			
+			storage.close();
+		}
+		finally
+		{
+			dba.close();
+		}
+	}
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// User-defined methods
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -1133,6 +1475,149 @@ public class TestDBStorage
 		return masterStorage;
 	}
 
+	/**
+	 * Tests that the values of an automatic link reference to a storage which is not a {@link DBStorage}
+	 * are fetched with one condition per block and cached for the next blocks.
+	 * 
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testNotDatabaseAutoLinkValues() throws Exception
+	{
+		DBAccess dba = DBAccess.getDBAccess("jdbc:hsqldb:hsql://localhost/testdb");
+		dba.setUsername("sa");
+		dba.setPassword("");
+		dba.open();
+		
+		try
+		{
+			dba.executeStatement("drop table if exists AUTOLINK_MASTER");
+			dba.executeStatement("create table AUTOLINK_MASTER ("
+					+ "ID integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,"
+					+ "NAME varchar(100),"
+					+ "DETAIL_ID integer)");
+			
+			for (int i = 0; i < 60; i++)
+			{
+				// 99 doesn't exist in the detail storage
+				dba.executeStatement("insert into AUTOLINK_MASTER (NAME, DETAIL_ID) values (?, ?)", 
+				                     "Master " + i, i % 7 == 6 ? Integer.valueOf(99) : Integer.valueOf(i % 7));
+			}
+			dba.commit();
+			
+			MemDataBook mdbDetail = new MemDataBook();
+			mdbDetail.setName("detail");
+			mdbDetail.getRowDefinition().addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+			mdbDetail.getRowDefinition().addColumnDefinition(new ColumnDefinition("NAME"));
+			mdbDetail.getRowDefinition().setPrimaryKeyColumnNames(new String[] {"ID"});
+			mdbDetail.open();
+			
+			for (int i = 0; i < 6; i++)
+			{
+				mdbDetail.insert(false);
+				mdbDetail.setValues(new String[] {"ID", "NAME"}, new Object[] {BigDecimal.valueOf(i), "Detail " + i});
+			}
+			mdbDetail.saveAllRows();
+			
+			CountingSubStorage detailStorage = new CountingSubStorage(mdbDetail);
+			detailStorage.open();
+			
+			DBStorage masterStorage = new DBStorage();
+			masterStorage.setDBAccess(dba);
+			masterStorage.setWritebackTable("AUTOLINK_MASTER");
+			masterStorage.createAutomaticLinkReference(
+					new String[] { "DETAIL_ID", "DETAIL_NAME" },
+					detailStorage,
+					new String[] { "ID", "NAME" });
+			masterStorage.open();
+			
+			MetaData meta = masterStorage.getMetaData();
+			
+			int iDetailId = meta.getColumnMetaDataIndex("DETAIL_ID");
+			int iDetailName = meta.getColumnMetaDataIndex("DETAIL_NAME");
+			
+			List<Object[]> liRows = masterStorage.fetch(null, new SortDefinition("ID"), 0, 30);
+			
+			Assert.assertEquals(1, detailStorage.iFetchCount);
+			
+			for (Object[] oRow : liRows)
+			{
+				if (oRow != null)
+				{
+					int iId = ((Number)oRow[iDetailId]).intValue();
+					
+					Assert.assertEquals(iId == 99 ? null : "Detail " + iId, oRow[iDetailName]);
+				}
+			}
+			
+			// all keys are cached, also the missing key
+			liRows = masterStorage.fetch(null, new SortDefinition("ID"), 30, 30);
+			
+			Assert.assertEquals(1, detailStorage.iFetchCount);
+			Assert.assertEquals("Detail 2", liRows.get(0)[iDetailName]);
+			
+			// the first block reloads the values
+			masterStorage.fetch(null, new SortDefinition("ID"), 0, 30);
+			
+			Assert.assertEquals(2, detailStorage.iFetchCount);
+			
+			// concurrent fetches share the cache, a small cache removes values all the time
+			masterStorage.setAutoLinkValueCacheSize(3);
+			
+			final DBStorage storage = masterStorage;
+			final int iName = iDetailName;
+			final AtomicReference<Throwable> arError = new AtomicReference<Throwable>();
+			
+			Thread[] thFetch = new Thread[4];
+			
+			for (int i = 0; i < thFetch.length; i++)
+			{
+				final int iFrom = i * 10;
+				
+				thFetch[i] = new Thread(new Runnable()
+				{
+					public void run()
+					{
+						try
+						{
+							for (int j = 0; j < 20; j++)
+							{
+								List<Object[]> liBlock = storage.fetch(null, new SortDefinition("ID"), iFrom + (j % 2), 10);
+								
+								// ID 1 + iFrom + (j % 2) has DETAIL_ID (iFrom + (j % 2)) % 7
+								int iId = (iFrom + (j % 2)) % 7;
+								
+								Assert.assertEquals(iId == 6 ? null : "Detail " + iId, liBlock.get(0)[iName]);
+							}
+						}
+						catch (Throwable th)
+						{
+							arError.compareAndSet(null, th);
+						}
+					}
+				});
+				thFetch[i].start();
+			}
+			
+			for (int i = 0; i < thFetch.length; i++)
+			{
+				thFetch[i].join();
+			}
+			
+			if (arError.get() != null)
+			{
+				throw new Exception(arError.get());
+			}
+			
+			masterStorage.close();
+			detailStorage.close();
+		}
+		finally
+		{
+			dba.close();
+		}
+	}
+	
 	/**
 	 * Initializes an {@code byte} array with the given value at every entry.
 	 * 
@@ -1150,4 +1635,67 @@ public class TestDBStorage
 		return pArray;
 	}
 	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+	
+	/**
+	 * The <code>CountingSubStorage</code> is a sub storage which is not a {@link DBStorage} and counts the fetches.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private static final class CountingSubStorage extends MemDataBookStorage 
+	                                              implements ISubStorage
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/** the number of fetches. */
+		private int iFetchCount = 0;
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Creates a new instance of <code>CountingSubStorage</code>.
+		 * 
+		 * @param pBook the data book
+		 */
+		private CountingSubStorage(MemDataBook pBook)
+		{
+			super(pBook);
+		}
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Interface implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		public String createSubStorageName()
+		{
+			return "detail";
+		}
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Overwritten methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected synchronized List<Object[]> executeFetch(String[] pQueryColumns, ICondition pFilter, SortDefinition pSort, 
+		                                                   int pFromRow, int pMinimumRowCount) throws DataSourceException
+		{
+			iFetchCount++;
+			
+			return super.executeFetch(pQueryColumns, pFilter, pSort, pFromRow, pMinimumRowCount);
+		}
+		
+	}	// CountingSubStorage
+	
 }	// TestDBStorage
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.rad.io.RemoteFileHandle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sibvisions.util.ArrayUtil;
+
+/**
+ * Tests the functionality of {@link FetchResultCache}.
+ *
+ * @author Ren Jahn
+ */
+public class TestFetchResultCache
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the test statement. */
+	private static final String SELECT = "SELECT m.ID, m.NAME FROM SCHEMA.CONTACTS m WHERE m.ID = ?";
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Tests caching with bind values and the copies of cached rows.
+	 */
+	@Test
+	public void testGetPut()
+	{
+		FetchResultCache cache = new FetchResultCache();
+
+		Object[] oValues = new Object[] {BigDecimal.ONE};
+
+		Assert.assertNull(cache.get("DB", SELECT, oValues, 0, -1));
+		Assert.assertTrue(cache.put("DB", SELECT, oValues, 0, -1, createRows(2), 60000, cache.getGeneration()));
+
+		List<Object[]> liRows = cache.get("DB", SELECT, new Object[] {BigDecimal.ONE}, 0, -1);
+
+		Assert.assertEquals(3, liRows.size());
+		Assert.assertEquals("Name 0", liRows.get(0)[1]);
+		Assert.assertNull(liRows.get(2));
+
+		liRows.get(0)[1] = "Changed";
+
+		Assert.assertEquals("Name 0", cache.get("DB", SELECT, oValues, 0, -1).get(0)[1]);
+
+		//other values, rows and databases
+		Assert.assertNull(cache.get("DB", SELECT, new Object[] {BigDecimal.TEN}, 0, -1));
+		Assert.assertNull(cache.get("DB", SELECT, oValues, 100, -1));
+		Assert.assertNull(cache.get("OTHER", SELECT, oValues, 0, -1));
+
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(4, cache.getMissCount());
+	}
+
+	/**
+	 * Tests that incomplete results and results with file handles are not cached.
+	 */
+	@Test
+	public void testNotCached()
+	{
+		FetchResultCache cache = new FetchResultCache();
+
+		List<Object[]> liRows = createRows(2);
+		liRows.remove(2);
+
+		Assert.assertFalse(cache.put("DB", SELECT, null, 0, 2, liRows, 60000, cache.getGeneration()));
+
+		liRows = createRows(2);
+		liRows.get(1)[1] = new RemoteFileHandle("file.txt", "KEY");
+
+		Assert.assertFalse(cache.put("DB", SELECT, null, 0, -1, liRows, 60000, cache.getGeneration()));
+
+		//invalidation during fetch
+		long lGeneration = cache.getGeneration();
+
+		cache.invalidate("DB", "OTHER");
+
+		Assert.assertFalse(cache.put("DB", SELECT, null, 0, -1, createRows(2), 60000, lGeneration));
+		Assert.assertEquals(0, cache.size());
+		Assert.assertEquals(0, cache.getMemory());
+	}
+
+	/**
+	 * Tests the invalidation by table name.
+	 */
+	@Test
+	public void testInvalidate()
+	{
+		FetchResultCache cache = new FetchResultCache();
+
+		cache.put("DB", SELECT, null, 0, -1, createRows(2), 60000, cache.getGeneration());
+		cache.put("DB", "SELECT ID FROM CONTACTS_HISTORY", null, 0, -1, createRows(2), 60000, cache.getGeneration());
+		cache.put("OTHER", SELECT, null, 0, -1, createRows(2), 60000, cache.getGeneration());
+
+		cache.invalidate("DB", "CONTACT");
+
+		Assert.assertEquals(3, cache.size());
+
+		cache.invalidate("DB", "\"schema\".\"contacts\"");
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNull(cache.get("DB", SELECT, null, 0, -1));
+		Assert.assertNotNull(cache.get("OTHER", SELECT, null, 0, -1));
+		Assert.assertEquals(1, cache.getInvalidationCount());
+
+		Assert.assertTrue(FetchResultCache.containsTable(SELECT, Arrays.asList("OTHER", "contacts")));
+		Assert.assertFalse(FetchResultCache.containsTable(SELECT, Arrays.asList("CONTACTS_HISTORY")));
+	}
+
+	/**
+	 * Tests the time to live of results.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testTimeToLive() throws Exception
+	{
+		FetchResultCache cache = new FetchResultCache();
+
+		cache.put("DB", SELECT, null, 0, -1, createRows(2), 200, cache.getGeneration());
+
+		Assert.assertNotNull(cache.get("DB", SELECT, null, 0, -1));
+
+		Thread.sleep(300);
+
+		Assert.assertNull(cache.get("DB", SELECT, null, 0, -1));
+		Assert.assertEquals(0, cache.size());
+		Assert.assertEquals(0, cache.getMemory());
+	}
+
+	/**
+	 * Tests the eviction of the results with the oldest access.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testMaxMemory() throws Exception
+	{
+		FetchResultCache cache = new FetchResultCache();
+
+		cache.put("DB", "SELECT 0", null, 0, -1, createRows(100), 60000, cache.getGeneration());
+
+		long lMemory = cache.getMemory();
+
+		cache.setMaxMemory(lMemory * 4);
+
+		for (int i = 1; i < 4; i++)
+		{
+			Thread.sleep(5);
+
+			cache.put("DB", "SELECT " + i, null, 0, -1, createRows(100), 60000, cache.getGeneration());
+		}
+
+		Assert.assertEquals(4, cache.size());
+
+		Thread.sleep(5);
+
+		//access the oldest result
+		Assert.assertNotNull(cache.get("DB", "SELECT 0", null, 0, -1));
+
+		cache.put("DB", "SELECT 4", null, 0, -1, createRows(100), 60000, cache.getGeneration());
+
+		Assert.assertTrue(cache.getMemory() <= lMemory * 4);
+		Assert.assertNotNull(cache.get("DB", "SELECT 0", null, 0, -1));
+		Assert.assertNull(cache.get("DB", "SELECT 1", null, 0, -1));
+		Assert.assertNotNull(cache.get("DB", "SELECT 4", null, 0, -1));
+		Assert.assertTrue(cache.getEvictionCount() >= 1);
+
+		//too large for the cache
+		Assert.assertFalse(cache.put("DB", "SELECT 5", null, 0, -1, createRows(200), 60000, cache.getGeneration()));
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a complete fetch result.
+	 *
+	 * @param pCount the number of rows
+	 * @return the rows and the <code>null</code> row
+	 */
+	private static List<Object[]> createRows(int pCount)
+	{
+		ArrayUtil<Object[]> auRows = new ArrayUtil<Object[]>();
+
+		for (int i = 0; i < pCount; i++)
+		{
+			auRows.add(new Object[] {BigDecimal.valueOf(i), "Name " + i});
+		}
+
+		auRows.add(null);
+
+		return auRows;
+	}
+
+}	// TestFetchResultCache
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.persist.jdbc;
+
+import java.util.Hashtable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.rad.persist.DataSourceException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the functionality of {@link MetaDataCache}.
+ *
+ * @author Ren Jahn
+ */
+public class TestMetaDataCache
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Tests that concurrent requests for the same value load the value only once.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testSingleFlight() throws Exception
+	{
+		final MetaDataCache<String> cache = new MetaDataCache<String>();
+
+		final AtomicInteger aiLoads = new AtomicInteger();
+		final AtomicInteger aiErrors = new AtomicInteger();
+
+		final CountDownLatch latchStart = new CountDownLatch(1);
+		final CountDownLatch latchDone = new CountDownLatch(20);
+
+		for (int i = 0; i < 20; i++)
+		{
+			new Thread(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						latchStart.await();
+
+						String sValue = cache.get("DB", "/TABLE", -1, new MetaDataCache.ILoader<String>()
+						{
+							public String load() throws DataSourceException
+							{
+								aiLoads.incrementAndGet();
+
+								try
+								{
+									Thread.sleep(200);
+								}
+								catch (InterruptedException ie)
+								{
+									throw new DataSourceException("Interrupted", ie);
+								}
+
+								return "LOADED";
+							}
+						});
+
+						if (!"LOADED".equals(sValue))
+						{
+							aiErrors.incrementAndGet();
+						}
+					}
+					catch (Exception e)
+					{
+						aiErrors.incrementAndGet();
+					}
+					finally
+					{
+						latchDone.countDown();
+					}
+				}
+			}).start();
+		}
+
+		latchStart.countDown();
+		latchDone.await();
+
+		Assert.assertEquals(0, aiErrors.get());
+		Assert.assertEquals(1, aiLoads.get());
+		Assert.assertEquals(1, cache.getLoadCount());
+		Assert.assertEquals(20, cache.getMissCount() + cache.getHitCount());
+
+		Assert.assertEquals("LOADED", cache.get("DB", "/TABLE", -1, new FixedLoader("OTHER")));
+	}
+
+	/**
+	 * Tests that a failed load is reported to the loading thread and doesn't cache a value.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testLoadError() throws Exception
+	{
+		MetaDataCache<String> cache = new MetaDataCache<String>();
+
+		try
+		{
+			cache.get("DB", "/TABLE", -1, new MetaDataCache.ILoader<String>()
+			{
+				public String load() throws DataSourceException
+				{
+					throw new DataSourceException("Table not found");
+				}
+			});
+
+			Assert.fail("Exception expected");
+		}
+		catch (DataSourceException dse)
+		{
+			Assert.assertEquals("Table not found", dse.getMessage());
+		}
+
+		Assert.assertNull(cache.get("DB", "/TABLE"));
+		Assert.assertEquals("LOADED", cache.get("DB", "/TABLE", -1, new FixedLoader("LOADED")));
+	}
+
+	/**
+	 * Tests the time to live of single values and of groups which were set at once.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testTimeToLive() throws Exception
+	{
+		MetaDataCache<String> cache = new MetaDataCache<String>();
+
+		Assert.assertEquals("FIRST", cache.get("DB", "/TABLE", 200, new FixedLoader("FIRST")));
+		Assert.assertEquals("FIRST", cache.get("DB", "/TABLE", 200, new FixedLoader("SECOND")));
+
+		Thread.sleep(300);
+
+		Assert.assertEquals("SECOND", cache.get("DB", "/TABLE", 200, new FixedLoader("SECOND")));
+
+		//without time to live, the value doesn't expire
+		Thread.sleep(300);
+
+		Assert.assertEquals("SECOND", cache.get("DB", "/TABLE", -1, new FixedLoader("THIRD")));
+
+		Hashtable<String, String> htAll = new Hashtable<String, String>();
+		htAll.put("/A", "A");
+		htAll.put("/B", "B");
+
+		cache.put("BULK", htAll);
+
+		Assert.assertEquals("A", cache.get("BULK", "/A", 200, new FixedLoader("NEW")));
+
+		Thread.sleep(300);
+
+		//the whole group is removed
+		Assert.assertEquals("NEW", cache.get("BULK", "/A", 200, new FixedLoader("NEW")));
+		Assert.assertNull(cache.get("BULK", "/B"));
+	}
+
+	/**
+	 * Tests the maximum number of entries per group.
+	 *
+	 * @throws Exception if the test fails
+	 */
+	@Test
+	public void testMaxSize() throws Exception
+	{
+		MetaDataCache<String> cache = new MetaDataCache<String>();
+		cache.setMaxSize(10);
+
+		for (int i = 0; i < 10; i++)
+		{
+			cache.get("DB", "/TABLE" + i, -1, new FixedLoader("T" + i));
+
+			Thread.sleep(2);
+		}
+
+		Assert.assertEquals(10, cache.size("DB"));
+
+		cache.get("DB", "/TABLE10", -1, new FixedLoader("T10"));
+
+		Assert.assertEquals(9, cache.size("DB"));
+		Assert.assertNull(cache.get("DB", "/TABLE0"));
+		Assert.assertNull(cache.get("DB", "/TABLE1"));
+		Assert.assertEquals("T10", cache.get("DB", "/TABLE10"));
+
+		//other groups are independent
+		cache.get("OTHER", "/TABLE0", -1, new FixedLoader("O0"));
+
+		Assert.assertEquals(1, cache.size("OTHER"));
+
+		//groups which were set at once are not bounded
+		Hashtable<String, String> htAll = new Hashtable<String, String>();
+
+		for (int i = 0; i < 20; i++)
+		{
+			htAll.put("/TABLE" + i, "T" + i);
+		}
+
+		cache.put("BULK", htAll);
+		cache.put("BULK", "/TABLE20", "T20");
+
+		Assert.assertEquals(21, cache.size("BULK"));
+	}
+
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+
+	/**
+	 * A loader which returns a fixed value.
+	 *
+	 * @author Ren Jahn
+	 */
+	private static final class FixedLoader implements MetaDataCache.ILoader<String>
+	{
+		/** the value. */
+		private String value;
+
+		/**
+		 * Creates a new instance of <code>FixedLoader</code>.
+		 *
+		 * @param pValue the value
+		 */
+		private FixedLoader(String pValue)
+		{
+			value = pValue;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public String load()
+		{
+			return value;
+		}
+
+	}	// FixedLoader
+
+}	// TestMetaDataCache
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
 import java.util.Set;
@@ -54,6 +55,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import com.sibvisions.rad.IPackageSetup;
+import com.sibvisions.rad.remote.serializer.RowBlockSerializer;
 import com.sibvisions.util.ArrayUtil;
 import com.sibvisions.util.ImmutableTimestamp;
 import com.sibvisions.util.type.CodecUtil;
@@ -1106,6 +1108,114 @@ public class TestUniversalSerializer
         Assert.assertEquals(true, rts2.isTimeZoneSet());
     }
 
+	/**
+	 * Tests row blocks against the list serialization.
+	 * 
+	 * @throws Exception if serialization fails
+	 */
+	@Test
+	public void testRowBlock() throws Exception
+	{
+		TimeZone tz = TimeZone.getTimeZone("Europe/Vienna");
+		
+		long lTime = System.currentTimeMillis();
+		
+		ArrayUtil<Object[]> auRows = new ArrayUtil<Object[]>();
+		
+		for (int i = 0; i < 200; i++)
+		{
+			auRows.add(new Object[] {BigDecimal.valueOf(i + 1),
+									 i % 3 == 0 ? null : "Status " + (i % 4),
+									 "Name " + i,
+									 new ImmutableTimestamp(lTime - i * 1000L),
+									 i % 5 == 0 ? null : new BigDecimal(i + ".50"),
+									 Integer.valueOf(-i * 1000),
+									 Long.valueOf(i % 2 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE),
+									 Boolean.valueOf(i % 2 == 0),
+									 null,
+									 i % 2 == 0 ? (Object)"Mixed" : Integer.valueOf(i),
+									 i == 7 ? new BigDecimal("12345678901234567890.123") : BigDecimal.ONE,
+									 i == 9 ? new ImmutableTimestamp(lTime, tz) : new java.sql.Date(lTime),
+									 ""});
+		}
+		
+		auRows.add(null);
+		
+		write(auRows);
+		
+		int iListSize = stream.length;
+		
+		List<Object[]> liList = (List<Object[]>)read();
+		
+		serializer.setRowBlockEnabled(true);
+		
+		try
+		{
+			write(auRows);
+			
+			Assert.assertEquals(RowBlockSerializer.TYPE_ROWBLOCK, stream[0]);
+			Assert.assertTrue(stream.length < iListSize);
+			
+			List<Object[]> liRowBlock = (List<Object[]>)read();
+			
+			Assert.assertEquals(ArrayUtil.class, liRowBlock.getClass());
+			Assert.assertEquals(liList.size(), liRowBlock.size());
+			Assert.assertNull(liRowBlock.get(liRowBlock.size() - 1));
+			
+			for (int i = 0, cnt = liList.size() - 1; i < cnt; i++)
+			{
+				Object[] oList = liList.get(i);
+				Object[] oRowBlock = liRowBlock.get(i);
+				
+				Assert.assertArrayEquals(oList, oRowBlock);
+				
+				for (int j = 0; j < oList.length; j++)
+				{
+					if (oList[j] != null)
+					{
+						Assert.assertEquals(oList[j].getClass(), oRowBlock[j].getClass());
+						
+						if (oList[j] instanceof BigDecimal)
+						{
+							Assert.assertEquals(((BigDecimal)oList[j]).scale(), ((BigDecimal)oRowBlock[j]).scale());
+						}
+						else if (oList[j] instanceof ImmutableTimestamp)
+						{
+							Assert.assertEquals(((ImmutableTimestamp)oList[j]).isTimeZoneSet(), ((ImmutableTimestamp)oRowBlock[j]).isTimeZoneSet());
+						}
+					}
+				}
+			}
+			
+			// not a row block
+			ArrayList<Object> liMixed = new ArrayList<Object>();
+			liMixed.add(new Object[] {"A"});
+			liMixed.add(new Object[] {"B", "C"});
+			
+			write(liMixed);
+			
+			Assert.assertNotEquals(RowBlockSerializer.TYPE_ROWBLOCK, stream[0]);
+			
+			// nested row blocks
+			ArrayList<Object[]> liSmall = new ArrayList<Object[]>();
+			liSmall.add(new Object[] {"A", Long.valueOf(1)});
+			liSmall.add(new Object[] {"A", null});
+			
+			write(new Object[] {"fetch", liSmall});
+			
+			Object[] oResult = (Object[])read();
+			
+			Assert.assertEquals(ArrayList.class, oResult[1].getClass());
+			Assert.assertArrayEquals(liSmall.get(0), ((List<Object[]>)oResult[1]).get(0));
+			Assert.assertArrayEquals(liSmall.get(1), ((List<Object[]>)oResult[1]).get(1));
+		}
+		finally
+		{
+			serializer.setRowBlockEnabled(false);
+		}
+	}
+
+
 	
     //****************************************************************
     // Subclass definition
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.remote.compression;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+
+import javax.rad.remote.IConnection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sibvisions.util.type.FileUtil;
+
+/**
+ * Tests the functionality of {@link CompressionCodecs} and the {@link ICompressionCodec} implementations.
+ *
+ * @author René Jahn
+ * @see CompressionCodecs
+ */
+public class TestCompressionCodecs
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Tests compression and decompression with all codecs.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        Random random = new Random(4711);
+
+        byte[] byRandom = new byte[200000];
+        random.nextBytes(byRandom);
+
+        StringBuilder sbText = new StringBuilder();
+
+        for (int i = 0; sbText.length() < 300000; i++)
+        {
+            sbText.append("Customer ");
+            sbText.append(i % 1000);
+            sbText.append(";Austria;OPEN;");
+            sbText.append(random.nextInt(100));
+            sbText.append('\n');
+        }
+
+        byte[] byText = sbText.toString().getBytes("UTF-8");
+
+        byte[][] byData = new byte[][] {new byte[0],
+                                        new byte[] {1},
+                                        "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa".getBytes("UTF-8"),
+                                        byRandom,
+                                        byText};
+
+        ICompressionCodec[] codecs = new ICompressionCodec[] {new GZIPCodec(), new DeflateCodec(1, 0), new DeflateCodec(9, 0), new LZCodec()};
+
+        for (ICompressionCodec codec : codecs)
+        {
+            for (byte[] by : byData)
+            {
+                byte[] byCompressed = compress(codec, by);
+
+                Assert.assertArrayEquals(codec.getName(), by, decompress(codec, byCompressed));
+
+                if (by == byText)
+                {
+                    Assert.assertTrue(codec.getName() + " ratio", byCompressed.length < by.length / 3);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that closing the compression stream doesn't close the target stream.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testClose() throws Exception
+    {
+        for (ICompressionCodec codec : new ICompressionCodec[] {new GZIPCodec(), new DeflateCodec(), new LZCodec()})
+        {
+            final boolean[] bClosed = new boolean[1];
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream()
+            {
+                @Override
+                public void close()
+                {
+                    bClosed[0] = true;
+                }
+            };
+
+            OutputStream os = codec.createOutputStream(baos);
+            os.write(new byte[] {1, 2, 3});
+            os.close();
+            os.close();
+
+            Assert.assertFalse(codec.getName(), bClosed[0]);
+
+            //more data after the compressed data, e.g. the magic bytes
+            baos.write(new byte[] {9, 9, 9});
+
+            InputStream is = codec.createInputStream(new ByteArrayInputStream(baos.toByteArray()));
+
+            Assert.assertEquals(1, is.read());
+            Assert.assertEquals(2, is.read());
+            Assert.assertEquals(3, is.read());
+            Assert.assertEquals(-1, is.read());
+        }
+    }
+
+    /**
+     * Tests parsing and selection of codecs.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSelect() throws Exception
+    {
+        Assert.assertNull(CompressionCodecs.parse(null));
+
+        ICompressionCodec[] codecs = CompressionCodecs.parse("deflate:9:65536, lz");
+
+        Assert.assertEquals(2, codecs.length);
+        Assert.assertEquals(IConnection.MODE_DEFLATE, codecs[0].getMode());
+        Assert.assertEquals(9, ((AbstractCompressionCodec)codecs[0]).getLevel());
+        Assert.assertEquals(65536, codecs[0].getMinimumBytes());
+        Assert.assertEquals(IConnection.MODE_LZ, codecs[1].getMode());
+
+        //size
+        Assert.assertSame(codecs[0], CompressionCodecs.select(codecs, CompressionCodecs.getNames(), 100000));
+        Assert.assertSame(codecs[1], CompressionCodecs.select(codecs, CompressionCodecs.getNames(), 1000));
+        Assert.assertNull(CompressionCodecs.select(codecs, CompressionCodecs.getNames(), 10));
+
+        //old peers read only gzip
+        Assert.assertNull(CompressionCodecs.select(codecs, null, 100000));
+        Assert.assertSame(CompressionCodecs.GZIP, CompressionCodecs.select(new ICompressionCodec[] {codecs[1], CompressionCodecs.GZIP}, null, 1000));
+        Assert.assertSame(codecs[1], CompressionCodecs.select(codecs, "gzip,lz", 100000));
+        Assert.assertNull(CompressionCodecs.select(codecs, "lzx,xdeflate", 100000));
+
+        Assert.assertNotNull(CompressionCodecs.get(IConnection.MODE_COMPRESSED));
+        Assert.assertNull(CompressionCodecs.get(IConnection.MODE_UNCOMPRESSED));
+
+        try
+        {
+            CompressionCodecs.parse("gzip,unknown");
+
+            Assert.fail("Unknown codec parsed!");
+        }
+        catch (IllegalArgumentException iae)
+        {
+            //expected
+        }
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Compresses data.
+     *
+     * @param pCodec the codec
+     * @param pData the data
+     * @return the compressed data
+     * @throws Exception if compression fails
+     */
+    private static byte[] compress(ICompressionCodec pCodec, byte[] pData) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        OutputStream os = pCodec.createOutputStream(baos);
+
+        //odd chunks
+        for (int i = 0; i < pData.length; i += 7777)
+        {
+            os.write(pData, i, Math.min(7777, pData.length - i));
+        }
+
+        os.close();
+
+        return baos.toByteArray();
+    }
+
+    /**
+     * Decompresses data.
+     *
+     * @param pCodec the codec
+     * @param pData the compressed data
+     * @return the data
+     * @throws Exception if decompression fails
+     */
+    private static byte[] decompress(ICompressionCodec pCodec, byte[] pData) throws Exception
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        FileUtil.copy(pCodec.createInputStream(new ByteArrayInputStream(pData)), true, baos, true);
+
+        return baos.toByteArray();
+    }
+
+}   // TestCompressionCodecs
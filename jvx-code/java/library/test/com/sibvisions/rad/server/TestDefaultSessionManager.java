@@ -18,9 +18,13 @@
  * 
  * 14.02.2011 - [JR] - creation
  * 25.05.2011 - [JR] - #362: test connection remove
+ * 18.10.2026 - [JR] - test warm-up
  */
 package com.sibvisions.rad.server;
 
+import java.util.Hashtable;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.rad.remote.IConnectionConstants;
 import javax.rad.remote.MasterConnection;
 import javax.rad.server.ISession;
@@ -31,6 +35,7 @@ import javax.rad.server.event.ISessionListener;
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.sibvisions.rad.server.annotation.WarmUp;
 import com.sibvisions.rad.server.config.ApplicationZone;
 import com.sibvisions.rad.server.config.Configuration;
 import com.sibvisions.rad.server.config.ServerZone;
@@ -277,4 +282,166 @@ public class TestDefaultSessionManager
 		}
 	}	
 	
+	/**
+	 * Tests the warm-up of master session objects.
+	 * 
+	 * @throws Throwable if the test fails
+	 */
+	@Test
+	public void testWarmUp() throws Throwable
+	{
+		WarmUpLCOTest.HT_CREATED.clear();
+		WarmUpLCOTest.AI_COUNT.set(0);
+		
+		Server srv = Server.getInstance();
+		
+		ChangedHashtable<String, Object> chtAuth = new ChangedHashtable<String, Object>();
+		chtAuth.put(IConnectionConstants.APPLICATION, "warmup");
+		chtAuth.put(IConnectionConstants.USERNAME, "admin");
+		chtAuth.put(IConnectionConstants.PASSWORD, "admin");
+		
+		long lStart = System.currentTimeMillis();
+		
+		Object oSessId = srv.createSession(chtAuth);
+		
+		long lDuration = System.currentTimeMillis() - lStart;
+		
+		try
+		{
+			Assert.assertEquals(4, WarmUpLCOTest.HT_CREATED.size());
+			Assert.assertEquals(4, WarmUpLCOTest.AI_COUNT.get());
+			
+			//all objects of a step were created in parallel
+			Assert.assertTrue("Duration: " + lDuration, lDuration < 3 * WarmUpLCOTest.DELAY);
+			
+			//the shared object was created before the objects of the next step
+			long lShared = WarmUpLCOTest.HT_CREATED.get("shared").longValue();
+			
+			Assert.assertTrue(lShared <= WarmUpLCOTest.HT_CREATED.get("first").longValue());
+			Assert.assertTrue(lShared <= WarmUpLCOTest.HT_CREATED.get("second").longValue());
+			Assert.assertTrue(lShared <= WarmUpLCOTest.HT_CREATED.get("third").longValue());
+			
+			AbstractSession session = srv.getSessionManager().get(oSessId);
+			
+			Object oFirst = session.get("first");
+			
+			Assert.assertNotNull(oFirst);
+			Assert.assertSame(oFirst, session.get("first"));
+			Assert.assertEquals(4, WarmUpLCOTest.AI_COUNT.get());
+		}
+		finally
+		{
+			srv.destroySession(oSessId);
+		}
+	}
+	
+	//****************************************************************
+	// Subclass definition
+	//****************************************************************
+	
+	/**
+	 * A (master)session level LCO for the warm-up test application.
+	 * 
+	 * @author Ren Jahn
+	 */
+	public static class WarmUpLCOTest extends GenericBean
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/** the creation delay. */
+		static final long DELAY = 300;
+		
+		/** the creation times of the objects. */
+		static final Hashtable<String, Long> HT_CREATED = new Hashtable<String, Long>();
+		
+		/** the number of created objects. */
+		static final AtomicInteger AI_COUNT = new AtomicInteger();
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Gets the shared object, configured for the first warm-up step.
+		 * 
+		 * @return the object
+		 * @throws Exception if the creation fails
+		 */
+		public Object getShared() throws Exception
+		{
+			return getOrCreate("shared");
+		}
+		
+		/**
+		 * Gets the first object.
+		 * 
+		 * @return the object
+		 * @throws Exception if the creation fails
+		 */
+		@WarmUp(step = 1)
+		public Object getFirst() throws Exception
+		{
+			getShared();
+			
+			return getOrCreate("first");
+		}
+		
+		/**
+		 * Gets the second object.
+		 * 
+		 * @return the object
+		 * @throws Exception if the creation fails
+		 */
+		@WarmUp(step = 1)
+		public Object getSecond() throws Exception
+		{
+			getShared();
+			
+			return getOrCreate("second");
+		}
+		
+		/**
+		 * Gets the third object, configured for the second warm-up step.
+		 * 
+		 * @return the object
+		 * @throws Exception if the creation fails
+		 */
+		public Object getThird() throws Exception
+		{
+			getShared();
+			
+			return getOrCreate("third");
+		}
+		
+		/**
+		 * Gets an object or creates it with a delay, if it doesn't exist.
+		 * 
+		 * @param pName the object name
+		 * @return the object
+		 * @throws Exception if the creation fails
+		 */
+		private Object getOrCreate(String pName) throws Exception
+		{
+			Object obj = get(pName);
+			
+			if (obj == null)
+			{
+				Thread.sleep(DELAY);
+				
+				obj = new Object();
+				
+				AI_COUNT.incrementAndGet();
+				
+				HT_CREATED.put(pName, Long.valueOf(System.nanoTime()));
+				
+				put(pName, obj);
+			}
+			
+			return obj;
+		}
+		
+	}	// WarmUpLCOTest
+	
 }	// TestDefaultSessionManager
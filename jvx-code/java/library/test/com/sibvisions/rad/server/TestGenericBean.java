@@ -17,11 +17,14 @@
  * History
  *
  * 01.10.2008 - [JR] - creation
+ * 18.10.2026 - [JR] - testParallelGet
  */
 package com.sibvisions.rad.server;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.rad.remote.ConnectionInfo;
 import javax.rad.remote.IConnection;
@@ -272,6 +275,55 @@ public class TestGenericBean
 		Assert.assertEquals(1, test.getCallCount("hallo4"));
 	}
 	
+	/**
+	 * Tests that a thread waits for an object which is created by another thread.
+	 * 
+	 * @throws Throwable if test fails
+	 */
+	@Test
+	public void testParallelGet() throws Throwable
+	{
+		final ParallelBean bean = new ParallelBean();
+		final Object[] oaResult = new Object[2];
+		
+		Thread thFirst = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				oaResult[0] = bean.get("slowObject");
+			}
+		});
+		thFirst.start();
+		
+		bean.entered.await();
+		
+		Thread thSecond = new Thread(new Runnable()
+		{
+			public void run()
+			{
+				oaResult[1] = bean.get("slowObject");
+			}
+		});
+		thSecond.start();
+		
+		//the second thread waits for the result of the first thread
+		while (thSecond.getState() != Thread.State.WAITING && thSecond.isAlive())
+		{
+			Thread.yield();
+		}
+		
+		Assert.assertTrue(thSecond.isAlive());
+		
+		bean.release.countDown();
+		
+		thFirst.join();
+		thSecond.join();
+		
+		Assert.assertNotNull(oaResult[0]);
+		Assert.assertSame(oaResult[0], oaResult[1]);
+		Assert.assertEquals(1, bean.initCount.get());
+	}
+	
 	/**
 	 * Tests toString call.
 	 * 
@@ -863,4 +915,47 @@ public class TestGenericBean
 		
 	}	// TestPutGenericBean
 	
+	/**
+	 * The <code>ParallelBean</code> creates an object which blocks until it
+	 * will be released.
+	 * 
+	 * @author Ren Jahn
+	 */
+	public static class ParallelBean extends GenericBean
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/** signals that the object creation was started. */
+		private CountDownLatch entered = new CountDownLatch(1);
+		
+		/** releases the object creation. */
+		private CountDownLatch release = new CountDownLatch(1);
+		
+		/** the number of init calls. */
+		private AtomicInteger initCount = new AtomicInteger();
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+		/**
+		 * Initializes the slow object.
+		 * 
+		 * @return a new object
+		 * @throws InterruptedException if waiting for the release was interrupted
+		 */
+		public Object initSlowObject() throws InterruptedException
+		{
+			initCount.incrementAndGet();
+			
+			entered.countDown();
+			release.await();
+			
+			return new Object();
+		}
+		
+	}	// ParallelBean
+	
 }	// TestGenericBean
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sibvisions.rad.server.InvocationCache.Invocation;
+import com.sibvisions.rad.server.annotation.Accessible;
+import com.sibvisions.rad.server.annotation.NotAccessible;
+import com.sibvisions.rad.server.annotation.Replacement;
+import com.sibvisions.util.Reflective.Parameter;
+
+/**
+ * Tests the functionality of {@link InvocationCache}.
+ *
+ * @author René Jahn
+ * @see InvocationCache
+ */
+public class TestInvocationCache
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Tests that the resolution is cached per argument types.
+     *
+     * @throws Throwable if the test fails
+     */
+    @Test
+    public void testCache() throws Throwable
+    {
+        Invocation invString = InvocationCache.getMethodForCall(Actions.class, false, "echo", "A");
+
+        Assert.assertSame(invString, InvocationCache.getMethodForCall(Actions.class, false, "echo", "B"));
+        Assert.assertNotSame(invString, InvocationCache.getMethodForCall(Actions.class, false, "echo", Integer.valueOf(1)));
+
+        Assert.assertNull(InvocationCache.getMethodForCall(Actions.class, false, "unknown"));
+        Assert.assertNull(InvocationCache.getMethodForCall(Actions.class, false, "unknown"));
+
+        Assert.assertNull(InvocationCache.getMethod(Actions.class, "getUnknown"));
+        Assert.assertSame(InvocationCache.getMethod(Actions.class, "getName"), InvocationCache.getMethod(Actions.class, "getName"));
+    }
+
+    /**
+     * Tests the invocation with overloaded methods, primitive, <code>null</code> and variable arguments.
+     *
+     * @throws Throwable if the test fails
+     */
+    @Test
+    public void testCall() throws Throwable
+    {
+        Actions actions = new Actions();
+
+        Assert.assertEquals("String:A", InvocationCache.call(actions, false, "echo", "A"));
+        Assert.assertEquals("Integer:1", InvocationCache.call(actions, false, "echo", Integer.valueOf(1)));
+
+        Assert.assertEquals(Integer.valueOf(3), InvocationCache.call(actions, false, "add", Integer.valueOf(1), Integer.valueOf(2)));
+        Assert.assertEquals(Integer.valueOf(3), InvocationCache.call(actions, false, "add", Short.valueOf((short)1), Byte.valueOf((byte)2)));
+
+        Assert.assertEquals("0", InvocationCache.call(actions, false, "join"));
+        Assert.assertEquals("2:a,b", InvocationCache.call(actions, false, "join", "a", "b"));
+        Assert.assertEquals("2:a,b", InvocationCache.call(actions, false, "join", (Object)new String[] {"a", "b"}));
+
+        Assert.assertEquals("null", InvocationCache.call(actions, false, "text", (Object)null));
+        Assert.assertEquals("Parameter", InvocationCache.call(actions, false, "text", new Parameter(String.class, "Parameter")));
+
+        Assert.assertNull(InvocationCache.call(actions, false, "nothing"));
+        Assert.assertEquals("static", InvocationCache.call(actions, false, "getStatic"));
+
+        try
+        {
+            InvocationCache.call(actions, false, "fail");
+
+            Assert.fail("Exception expected!");
+        }
+        catch (IOException ioe)
+        {
+            Assert.assertEquals("fail", ioe.getMessage());
+        }
+
+        try
+        {
+            InvocationCache.call(actions, false, "echo", "A", "B");
+
+            Assert.fail("Method found!");
+        }
+        catch (NoSuchMethodException nsme)
+        {
+            //expected
+        }
+    }
+
+    /**
+     * Tests the precomputed access decisions and replacements.
+     *
+     * @throws Throwable if the test fails
+     */
+    @Test
+    public void testAccessAndReplacement() throws Throwable
+    {
+        Invocation invName = InvocationCache.getMethod(Actions.class, "getName");
+
+        Assert.assertTrue(invName.isAccessible());
+        Assert.assertFalse(invName.isNotAccessible());
+
+        Invocation invHidden = InvocationCache.getMethod(Actions.class, "getHidden");
+
+        Assert.assertFalse(invHidden.isAccessible());
+        Assert.assertTrue(invHidden.isNotAccessible());
+
+        //only for a specific environment
+        Invocation invMobile = InvocationCache.getMethod(Actions.class, "getMobile");
+
+        Assert.assertFalse(invMobile.isAccessible());
+        Assert.assertEquals(AccessHelper.isAccessible(invMobile.getMethod()), invMobile.isAccessible());
+
+        Assert.assertEquals("getName", InvocationCache.getReplacement(Actions.class, true, "fullName").getName());
+        Assert.assertEquals("echo", InvocationCache.getReplacement(Actions.class, false, "say").getName());
+        Assert.assertNull(InvocationCache.getReplacement(Actions.class, true, "say"));
+        Assert.assertNull(InvocationCache.getReplacement(Actions.class, false, "unknown"));
+    }
+
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
+
+    /**
+     * The <code>Actions</code> class contains all test methods.
+     *
+     * @author René Jahn
+     */
+    public static class Actions
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // User-defined methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+        /**
+         * Gets the name.
+         *
+         * @return the name
+         */
+        @Accessible
+        @Replacement(name = "fullName")
+        public String getName()
+        {
+            return "name";
+        }
+
+        /**
+         * Gets a hidden value.
+         *
+         * @return the value
+         */
+        @NotAccessible
+        public String getHidden()
+        {
+            return "hidden";
+        }
+
+        /**
+         * Gets a value for a specific environment.
+         *
+         * @return the value
+         */
+        @Accessible(environment = "mobile")
+        public String getMobile()
+        {
+            return "mobile";
+        }
+
+        /**
+         * Gets a static value.
+         *
+         * @return the value
+         */
+        public static String getStatic()
+        {
+            return "static";
+        }
+
+        /**
+         * Echoes a text.
+         *
+         * @param pText the text
+         * @return the text with type information
+         */
+        @Replacement(name = "say")
+        public String echo(String pText)
+        {
+            return "String:" + pText;
+        }
+
+        /**
+         * Echoes a number.
+         *
+         * @param pNumber the number
+         * @return the number with type information
+         */
+        public String echo(Integer pNumber)
+        {
+            return "Integer:" + pNumber;
+        }
+
+        /**
+         * Adds two values.
+         *
+         * @param pFirst the first value
+         * @param pSecond the second value
+         * @return the sum
+         */
+        public int add(int pFirst, int pSecond)
+        {
+            return pFirst + pSecond;
+        }
+
+        /**
+         * Joins texts.
+         *
+         * @param pTexts the texts
+         * @return the number of texts and the texts
+         */
+        public String join(String... pTexts)
+        {
+            if (pTexts.length == 0)
+            {
+                return "0";
+            }
+
+            return pTexts.length + ":" + String.join(",", pTexts);
+        }
+
+        /**
+         * Returns the text.
+         *
+         * @param pText the text
+         * @return the text or <code>"null"</code>
+         */
+        public String text(String pText)
+        {
+            return String.valueOf(pText);
+        }
+
+        /**
+         * Does nothing.
+         */
+        public void nothing()
+        {
+        }
+
+        /**
+         * Throws an exception.
+         *
+         * @throws IOException always
+         */
+        public void fail() throws IOException
+        {
+            throw new IOException("fail");
+        }
+
+    }   // Actions
+
+}   // TestInvocationCache
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ *            - [JR] - offset fallback
+ */
+package com.sibvisions.rad.server.http.rest.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+
+import javax.rad.model.ColumnDefinition;
+import javax.rad.model.RowDefinition;
+import javax.rad.model.SortDefinition;
+import javax.rad.model.condition.ICondition;
+import javax.rad.model.datatype.BigDecimalDataType;
+import javax.rad.model.datatype.StringDataType;
+import javax.rad.model.datatype.TimestampDataType;
+import javax.rad.persist.ColumnMetaData;
+import javax.rad.persist.MetaData;
+import javax.rad.type.bean.Bean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.sibvisions.rad.model.mem.DataRow;
+
+/**
+ * Tests the functionality of {@link KeysetToken}.
+ *
+ * @author René Jahn
+ */
+public class TestKeysetToken
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Tests that the primary key columns are appended to the sort definition.
+	 */
+	@Test
+	public void testCreateSortDefinition()
+	{
+		SortDefinition sort = KeysetToken.createSortDefinition(null, new String[] {"ID"});
+
+		Assert.assertArrayEquals(new String[] {"ID"}, sort.getColumns());
+		Assert.assertTrue(sort.isAscending()[0]);
+
+		sort = KeysetToken.createSortDefinition(new SortDefinition(false, "NAME"), new String[] {"ID"});
+
+		Assert.assertArrayEquals(new String[] {"NAME", "ID"}, sort.getColumns());
+		Assert.assertFalse(sort.isAscending()[0]);
+		Assert.assertTrue(sort.isAscending()[1]);
+
+		//already sorted by the primary key
+		sort = KeysetToken.createSortDefinition(new SortDefinition(false, "ID", "NAME"), new String[] {"ID"});
+
+		Assert.assertArrayEquals(new String[] {"ID", "NAME"}, sort.getColumns());
+		Assert.assertFalse(sort.isAscending()[0]);
+
+		Assert.assertNull(KeysetToken.createSortDefinition(new SortDefinition("NAME"), null));
+	}
+
+	/**
+	 * Tests encoding and decoding of a token.
+	 */
+	@Test
+	public void testEncodeDecode()
+	{
+		SortDefinition sort = KeysetToken.createSortDefinition(new SortDefinition(new String[] {"NAME", "CREATED"}, new boolean[] {true, false}),
+				                                               new String[] {"ID"});
+
+		Timestamp tsCreated = new Timestamp(1500000000123L);
+		tsCreated.setNanos(123456789);
+
+		Bean bean = new Bean();
+		bean.put("ID", new BigDecimal("17"));
+		bean.put("NAME", "Müller");
+		bean.put("CREATED", tsCreated);
+
+		String sToken = KeysetToken.create(sort, bean).encode();
+
+		//URL safe
+		Assert.assertTrue(sToken.matches("[A-Za-z0-9_\\-=]+"));
+
+		KeysetToken token = KeysetToken.decode(sToken, createMetaData());
+
+		Assert.assertTrue(token.isSortedBy(sort));
+		Assert.assertFalse(token.isSortedBy(new SortDefinition("NAME", "CREATED", "ID")));
+
+		Assert.assertEquals("Müller", token.getValues()[0]);
+		Assert.assertEquals(tsCreated, token.getValues()[1]);
+		Assert.assertEquals(0, new BigDecimal("17").compareTo((BigDecimal)token.getValues()[2]));
+
+		//no position without value
+		bean.put("NAME", null);
+
+		Assert.assertNull(KeysetToken.create(sort, bean));
+	}
+
+	/**
+	 * Tests that invalid tokens are rejected.
+	 */
+	@Test
+	public void testDecodeInvalid()
+	{
+		String[] sTokens = new String[] {"abc", "", "e30", "!!!"};
+
+		for (int i = 0; i < sTokens.length; i++)
+		{
+			try
+			{
+				KeysetToken.decode(sTokens[i], createMetaData());
+
+				Assert.fail("Token '" + sTokens[i] + "' was accepted");
+			}
+			catch (IllegalArgumentException iae)
+			{
+				//expected
+			}
+		}
+	}
+
+	/**
+	 * Tests that the condition of a token contains exactly the rows after the position.
+	 *
+	 * @throws Exception if the condition check fails
+	 */
+	@Test
+	public void testCondition() throws Exception
+	{
+		RowDefinition rowdef = new RowDefinition();
+		rowdef.addColumnDefinition(new ColumnDefinition("ID", new BigDecimalDataType()));
+		rowdef.addColumnDefinition(new ColumnDefinition("NAME", new StringDataType()));
+
+		//sorted by NAME desc, ID asc
+		Object[][] oRows = new Object[][] {{"C", 2}, {"B", 1}, {"B", 3}, {"B", 5}, {"A", 4}};
+
+		SortDefinition sort = KeysetToken.createSortDefinition(new SortDefinition(false, "NAME"), new String[] {"ID"});
+
+		Bean bean = new Bean();
+		bean.put("ID", new BigDecimal(3));
+		bean.put("NAME", "B");
+
+		ICondition cond = KeysetToken.decode(KeysetToken.create(sort, bean).encode(), createMetaData()).createCondition();
+
+		DataRow row = new DataRow(rowdef);
+
+		for (int i = 0; i < oRows.length; i++)
+		{
+			row.setValue("NAME", oRows[i][0]);
+			row.setValue("ID", new BigDecimal(((Integer)oRows[i][1]).intValue()));
+
+			Assert.assertEquals("Row " + i, i > 2, cond.isFulfilled(row));
+		}
+	}
+
+	/**
+	 * Tests that a token continues with the offset, if the position of the last row can't be described.
+	 */
+	@Test
+	public void testOffset()
+	{
+		SortDefinition sort = KeysetToken.createSortDefinition(new SortDefinition("NAME"), new String[] {"ID"});
+
+		//first page
+		KeysetToken token = KeysetToken.decode(KeysetToken.createOffset(sort, null, 10).encode(), createMetaData());
+
+		Assert.assertTrue(token.isSortedBy(sort));
+		Assert.assertNull(token.getValues());
+		Assert.assertNull(token.createCondition());
+		Assert.assertEquals(10, token.getOffset());
+
+		//next page keeps the position of the previous token
+		Bean bean = new Bean();
+		bean.put("ID", new BigDecimal(3));
+		bean.put("NAME", "B");
+
+		token = KeysetToken.decode(KeysetToken.create(sort, bean).encode(), createMetaData());
+
+		Assert.assertEquals(0, token.getOffset());
+
+		token = KeysetToken.decode(KeysetToken.createOffset(sort, token, 10).encode(), createMetaData());
+		token = KeysetToken.decode(KeysetToken.createOffset(sort, token, 5).encode(), createMetaData());
+
+		Assert.assertEquals("B", token.getValues()[0]);
+		Assert.assertNotNull(token.createCondition());
+		Assert.assertEquals(15, token.getOffset());
+	}
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates the meta data of a storage with the columns ID, NAME and CREATED.
+	 *
+	 * @return the meta data
+	 */
+	private static MetaData createMetaData()
+	{
+		MetaData md = new MetaData();
+
+		md.addColumnMetaData(new ColumnMetaData("ID", BigDecimalDataType.TYPE_IDENTIFIER));
+		md.addColumnMetaData(new ColumnMetaData("NAME", StringDataType.TYPE_IDENTIFIER));
+		md.addColumnMetaData(new ColumnMetaData("CREATED", TimestampDataType.TYPE_IDENTIFIER));
+
+		md.setPrimaryKeyColumnNames(new String[] {"ID"});
+
+		return md;
+	}
+
+}	// TestKeysetToken
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.server.protocol;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the functionality of {@link MetricsProtocolWriter} and {@link LatencyHistogram}.
+ *
+ * @author René Jahn
+ * @see MetricsProtocolWriter
+ * @see LatencyHistogram
+ */
+public class TestMetricsProtocolWriter
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Removes all metrics before each test.
+     */
+    @Before
+    public void beforeTest()
+    {
+        MetricsProtocolWriter.reset();
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Tests that the bucket index and the highest value of a bucket match.
+     */
+    @Test
+    public void testBuckets()
+    {
+        for (long lValue = 0; lValue < 1000000; lValue++)
+        {
+            int iIndex = LatencyHistogram.getIndex(lValue);
+
+            Assert.assertTrue("Value " + lValue, LatencyHistogram.getHighestValue(iIndex) >= lValue);
+
+            if (iIndex > 0)
+            {
+                Assert.assertTrue("Value " + lValue, LatencyHistogram.getHighestValue(iIndex - 1) < lValue);
+            }
+        }
+    }
+
+    /**
+     * Tests the percentiles of the histogram.
+     */
+    @Test
+    public void testPercentiles()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+
+        for (int i = 1; i <= 10000; i++)
+        {
+            histogram.record(i);
+        }
+
+        Assert.assertEquals(10000, histogram.getCount());
+        Assert.assertEquals(10000, histogram.getMax());
+        Assert.assertEquals(5000.5, histogram.getMean(), 0.001);
+
+        assertPercentile(5000, histogram.getValueAtPercentile(50));
+        assertPercentile(9000, histogram.getValueAtPercentile(90));
+        assertPercentile(9900, histogram.getValueAtPercentile(99));
+
+        Assert.assertEquals(10000, histogram.getValueAtPercentile(100));
+        Assert.assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    /**
+     * Tests the aggregation of records per category, command and name.
+     * 
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testAggregation() throws Exception
+    {
+        MetricsProtocolWriter writer = new MetricsProtocolWriter();
+
+        for (int i = 0; i < 3; i++)
+        {
+            Record recStorage = writer.openRecord(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_FETCH);
+            recStorage.setName("customers");
+
+            Record recDB = writer.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_FETCH);
+            recDB.setCount(10);
+
+            if (i == 2)
+            {
+                recDB.setException(new Exception("Fetch failed"));
+            }
+
+            recDB.close();
+            
+            Thread.sleep(1);
+            
+            recStorage.close();
+        }
+
+        Record recDB = writer.openRecord(ICategoryConstants.DATABASE, ICommandConstants.DB_FETCH);
+        recDB.close();
+
+        List<Metric> liMetrics = MetricsProtocolWriter.getMetrics(ICategoryConstants.DATABASE);
+
+        Assert.assertEquals(2, liMetrics.size());
+
+        Metric metric = MetricsProtocolWriter.getMetric(ICategoryConstants.DATABASE, ICommandConstants.DB_FETCH, "customers");
+
+        Assert.assertEquals(3, metric.getCalls());
+        Assert.assertEquals(30, metric.getRows());
+        Assert.assertEquals(1, metric.getErrors());
+
+        Assert.assertEquals(1, MetricsProtocolWriter.getMetric(ICategoryConstants.DATABASE, ICommandConstants.DB_FETCH, null).getCalls());
+        Assert.assertEquals(3, MetricsProtocolWriter.getMetric(ICategoryConstants.STORAGE, ICommandConstants.STORAGE_EXEC_FETCH, "customers").getCalls());
+
+        List<Map<String, Object>> liStatistics = MetricsProtocolWriter.getStatistics(null);
+
+        Assert.assertEquals(3, liStatistics.size());
+
+        //sorted by total time
+        Assert.assertEquals(ICategoryConstants.STORAGE, liStatistics.get(0).get("category"));
+        Assert.assertEquals("customers", liStatistics.get(0).get("name"));
+        Assert.assertEquals(Long.valueOf(3), liStatistics.get(0).get("calls"));
+
+        MetricsProtocolWriter.reset();
+
+        Assert.assertEquals(0, MetricsProtocolWriter.getStatistics(null).size());
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Checks that a percentile is within the precision of the histogram.
+     *
+     * @param pExpected the expected value
+     * @param pValue the percentile value
+     */
+    private static void assertPercentile(long pExpected, long pValue)
+    {
+        Assert.assertTrue("Expected " + pExpected + " but was " + pValue, pValue >= pExpected && pValue <= pExpected * 1.04);
+    }
+
+}   // TestMetricsProtocolWriter
@@ -17,9 +17,12 @@
  * History
  *
  * 01.10.2008 - [JR] - creation
+ * 18.10.2026 - [JR] - testGroups
  */
 package com.sibvisions.util;
 
+import java.util.Enumeration;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -149,4 +152,32 @@ public class TestGroupHashtable
 		Assert.assertNull(ght.get("GROUP", "NAME"));
 	}
 	
+	/**
+	 * Tests the groups method.
+	 */
+	@Test
+	public void testGroups()
+	{
+		GroupHashtable<String, String, String> ght = new GroupHashtable<String, String, String>();
+		
+		Assert.assertNull(ght.groups());
+		
+		ght = getData();
+		
+		int iCount = 0;
+		
+		for (Enumeration<String> en = ght.groups(); en.hasMoreElements();)
+		{
+			Assert.assertTrue(ght.containsGroup(en.nextElement()));
+			
+			iCount++;
+		}
+		
+		Assert.assertEquals(2, iCount);
+		
+		ght.clear();
+		
+		Assert.assertFalse(ght.groups().hasMoreElements());
+	}
+	
 }	// TestGroupHashtable
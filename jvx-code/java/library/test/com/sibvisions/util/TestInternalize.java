@@ -17,11 +17,13 @@
  * History
  *
  * 01.10.2008 - [HM] - creation
+ * 18.10.2026 - [JR] - concurrent intern and statistics
  */
 package com.sibvisions.util;
 
 import java.lang.ref.WeakReference;
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.WeakHashMap;
 
 import org.junit.Assert;
@@ -214,4 +216,120 @@ public class TestInternalize extends MemoryInfo
 		iUsed[0] = Internalize.intern(new Integer(0));
 	}
 	
+	/**
+	 * Tests the internalization of timestamps.
+	 */
+	@Test
+	public void testInternTimestamp()
+	{
+		Timestamp ts1 = new Timestamp(1234567890123L);
+		Timestamp ts2 = new Timestamp(1234567890123L);
+		
+		Assert.assertTrue("Internal timestamp reference is different!", Internalize.intern(ts1) == Internalize.intern(ts2));
+		
+		ts2.setNanos(ts1.getNanos() + 1);
+		
+		Assert.assertFalse("Different timestamps are equal!", Internalize.intern(ts1) == Internalize.intern(ts2));
+	}
+	
+	/**
+	 * Tests the statistics.
+	 */
+	@Test
+	public void testStatistics()
+	{
+		Internalize.clearCache();
+		Internalize.resetStatistics();
+		
+		Internalize.intern(new BigDecimal("1234.5"));
+		Internalize.intern(new BigDecimal("1234.5"));
+		Internalize.intern(new BigDecimal("1234.5"));
+		
+		// fixed cache
+		Internalize.intern(Integer.valueOf(1));
+		
+		Assert.assertEquals(1, Internalize.getMissCount());
+		Assert.assertEquals(2, Internalize.getHitCount());
+		Assert.assertEquals(1, Internalize.getObjectCount());
+		
+		Internalize.resetStatistics();
+		
+		Assert.assertEquals(0, Internalize.getMissCount());
+		Assert.assertEquals(0, Internalize.getHitCount());
+	}
+	
+	/**
+	 * Tests that concurrent threads get the same instances.
+	 * 
+	 * @throws Exception if a thread fails
+	 */
+	@Test
+	public void testInternConcurrent() throws Exception
+	{
+		Internalize.clearCache();
+		
+		final int iThreads = 4;
+		final int iValues = 20000;
+		
+		final Object[][] result = new Object[iThreads][iValues];
+		final Throwable[] error = new Throwable[1];
+		
+		Thread[] threads = new Thread[iThreads];
+		
+		for (int i = 0; i < iThreads; i++)
+		{
+			final int iThread = i;
+			
+			threads[i] = new Thread(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						for (int j = 0; j < iValues; j++)
+						{
+							// different order per thread, to force collisions
+							int iValue = iThread % 2 == 0 ? j : iValues - j - 1;
+							
+							if (iValue % 2 == 0)
+							{
+								result[iThread][iValue] = Internalize.intern(new BigDecimal(iValue + ".25"));
+							}
+							else
+							{
+								result[iThread][iValue] = Internalize.intern(Long.valueOf(1000L + iValue));
+							}
+						}
+					}
+					catch (Throwable th)
+					{
+						error[0] = th;
+					}
+				}
+			});
+		}
+		
+		for (int i = 0; i < iThreads; i++)
+		{
+			threads[i].start();
+		}
+		
+		for (int i = 0; i < iThreads; i++)
+		{
+			threads[i].join();
+		}
+		
+		Assert.assertNull(error[0]);
+		
+		for (int i = 1; i < iThreads; i++)
+		{
+			for (int j = 0; j < iValues; j++)
+			{
+				Assert.assertSame(result[0][j], result[i][j]);
+			}
+		}
+		
+		Assert.assertEquals(iValues, Internalize.getObjectCount());
+	}
+	
 }	// TestInternalize
@@ -17,9 +17,13 @@
  * History
  *
  * 11.02.2009 - [JR] - creation
+ * 18.10.2026 - [JR] - testMaxSize, testStatistics, testExpiration
  */
 package com.sibvisions.util;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -120,6 +124,135 @@ public class TestObjectCache
 		Assert.assertNull("Object still in cache!", ObjectCache.get(oKey));
 	}
 	
+	/**
+	 * Tests the LRU eviction if the maximum size is exceeded.
+	 */
+	@Test
+	public void testMaxSize()
+	{
+		final ArrayUtil<Object> auInvalidated = new ArrayUtil<Object>();
+		
+		IInvalidator invalidator = new IInvalidator()
+		{
+			public void invalidate(Object pObject)
+			{
+				synchronized (auInvalidated)
+				{
+					auInvalidated.add(pObject);
+				}
+			}
+		};
+		
+		ObjectCacheInstance cache = new ObjectCacheInstance();
+		cache.setMaxSize(10);
+		
+		for (int i = 0; i < 10; i++)
+		{
+			cache.put("KEY" + i, "Object " + i, ObjectCache.TIMEOUT_INFINITE, invalidator);
+		}
+		
+		Assert.assertEquals(10, cache.size());
+		Assert.assertEquals(0, cache.getEvictionCount());
+		
+		//mark as recently used
+		Assert.assertEquals("Object 0", cache.get("KEY0"));
+		
+		cache.put("KEY10", "Object 10", ObjectCache.TIMEOUT_INFINITE, invalidator);
+		
+		//shrinked to 90 percent
+		Assert.assertEquals(9, cache.size());
+		Assert.assertEquals(2, cache.getEvictionCount());
+		
+		Assert.assertEquals("Object 0", cache.get("KEY0"));
+		Assert.assertNull(cache.get("KEY1"));
+		Assert.assertNull(cache.get("KEY2"));
+		Assert.assertEquals("Object 10", cache.get("KEY10"));
+		
+		Assert.assertEquals(2, auInvalidated.size());
+		Assert.assertTrue(auInvalidated.contains("Object 1"));
+		Assert.assertTrue(auInvalidated.contains("Object 2"));
+		
+		//replacing doesn't evict
+		cache.put("KEY10", "Object 10b", ObjectCache.TIMEOUT_INFINITE);
+		
+		Assert.assertEquals(2, cache.getEvictionCount());
+		
+		cache.setMaxSize(5);
+		
+		Assert.assertEquals(5, cache.size());
+		Assert.assertEquals(6, cache.getEvictionCount());
+		Assert.assertEquals("Object 10b", cache.get("KEY10"));
+		
+		cache.setMaxSize(-1);
+		
+		for (int i = 0; i < 20; i++)
+		{
+			cache.put("UNBOUNDED" + i, "Object " + i, ObjectCache.TIMEOUT_INFINITE);
+		}
+		
+		Assert.assertEquals(25, cache.size());
+	}
+	
+	/**
+	 * Tests the hit and miss count.
+	 */
+	@Test
+	public void testStatistics()
+	{
+		ObjectCacheInstance cache = new ObjectCacheInstance();
+		
+		Object oKey = cache.put("Statistics", 0);
+		
+		cache.get(oKey);
+		cache.get(oKey);
+		cache.get("unknown");
+		
+		Assert.assertEquals(2, cache.getHitCount());
+		Assert.assertEquals(1, cache.getMissCount());
+		
+		cache.remove(oKey);
+		cache.get(oKey);
+		
+		Assert.assertEquals(2, cache.getMissCount());
+		
+		cache.resetStatistics();
+		
+		Assert.assertEquals(0, cache.getHitCount());
+		Assert.assertEquals(0, cache.getMissCount());
+	}
+	
+	/**
+	 * Tests that expired objects are invalidated when the timeout is reached.
+	 * 
+	 * @throws InterruptedException if the test fails
+	 */
+	@Test
+	public void testExpiration() throws InterruptedException
+	{
+		final CountDownLatch latch = new CountDownLatch(1);
+		
+		ObjectCacheInstance cache = new ObjectCacheInstance();
+		
+		cache.put("Short", 500, new IInvalidator()
+		{
+			public void invalidate(Object pObject)
+			{
+				latch.countDown();
+			}
+		});
+		
+		Object oReplaced = cache.put("Replaced", 500);
+		cache.put(oReplaced, "Replacement", 0);
+		
+		Assert.assertTrue("Object not invalidated!", latch.await(5, TimeUnit.SECONDS));
+		
+		Thread.sleep(200);
+		
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals("Replacement", cache.get(oReplaced));
+	}
+	
+
 	//****************************************************************
 	// Subclass definition
 	//****************************************************************
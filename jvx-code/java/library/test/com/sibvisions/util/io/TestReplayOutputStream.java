@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.util.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the functionality of {@link ReplayOutputStream}.
+ *
+ * @author René Jahn
+ * @see ReplayOutputStream
+ */
+public class TestReplayOutputStream
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Tests recording in memory.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testMemory() throws Exception
+    {
+        ReplayOutputStream ros = new ReplayOutputStream(100);
+        ros.write(1);
+        ros.write(new byte[] {2, 3, 4});
+        ros.close();
+
+        Assert.assertFalse(ros.isSpilled());
+        Assert.assertEquals(4, ros.size());
+
+        assertReplay(new byte[] {1, 2, 3, 4}, ros);
+        //again
+        assertReplay(new byte[] {1, 2, 3, 4}, ros);
+    }
+
+    /**
+     * Tests recording with a temporary file and forwarding.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSpillAndForward() throws Exception
+    {
+        ByteArrayOutputStream baosForward = new ByteArrayOutputStream();
+
+        ReplayOutputStream ros = new ReplayOutputStream(baosForward, 10);
+
+        byte[] byExpected = new byte[1000];
+
+        for (int i = 0; i < byExpected.length; i++)
+        {
+            byExpected[i] = (byte)i;
+        }
+
+        ros.write(byExpected, 0, 5);
+        Assert.assertFalse(ros.isSpilled());
+
+        ros.write(byExpected[5]);
+        ros.write(byExpected, 6, byExpected.length - 6);
+        ros.flush();
+
+        Assert.assertTrue(ros.isSpilled());
+        Assert.assertEquals(byExpected.length, ros.size());
+
+        Assert.assertArrayEquals(byExpected, baosForward.toByteArray());
+
+        assertReplay(byExpected, ros);
+        assertReplay(byExpected, ros);
+
+        ros.release();
+
+        try
+        {
+            ros.writeTo(new ByteArrayOutputStream());
+
+            Assert.fail("Stream is released!");
+        }
+        catch (IOException ioe)
+        {
+            //expected
+        }
+
+        try
+        {
+            ros.write(1);
+
+            Assert.fail("Stream is released!");
+        }
+        catch (IOException ioe)
+        {
+            //expected
+        }
+    }
+
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // User-defined methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+    /**
+     * Checks that the stream replays the expected bytes.
+     *
+     * @param pExpected the expected bytes
+     * @param pStream the stream
+     * @throws IOException if replaying fails
+     */
+    private static void assertReplay(byte[] pExpected, ReplayOutputStream pStream) throws IOException
+    {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        pStream.writeTo(baos);
+
+        Assert.assertArrayEquals(pExpected, baos.toByteArray());
+    }
+
+}   // TestReplayOutputStream
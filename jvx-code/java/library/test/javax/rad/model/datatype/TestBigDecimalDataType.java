@@ -231,4 +231,37 @@ public class TestBigDecimalDataType
         bdType.convertAndCheckToTypeClass("0");
     }
     
+    /**
+     * Tests that data types with different number formats don't share the formats per thread.
+     * 
+     * @throws Exception if the test fails
+     */ 
+    @Test
+    public void testNumberFormatPerThread() throws Exception
+    {
+        BigDecimalDataType bdType1 = new BigDecimalDataType();
+        bdType1.setNumberFormat("0");
+        
+        BigDecimalDataType bdType2 = new BigDecimalDataType();
+        bdType2.setNumberFormat("0000");
+        
+        BigDecimalDataType bdType3 = new BigDecimalDataType();
+        bdType3.setNumberFormat("0000");
+        
+        BigDecimal bdValue = BigDecimal.valueOf(5);
+        
+        Assert.assertEquals("5", bdType1.convertToString(bdValue));
+        Assert.assertEquals("0005", bdType2.convertToString(bdValue));
+        Assert.assertEquals("0005", bdType3.convertToString(bdValue));
+        Assert.assertEquals(BigDecimal.valueOf(12), bdType2.convertToTypeClass("0012"));
+        
+        bdType2.setNumberFormat("00");
+        
+        Assert.assertEquals("05", bdType2.convertToString(bdValue));
+        Assert.assertEquals("0005", bdType3.convertToString(bdValue));
+        Assert.assertEquals("5", bdType1.convertToString(bdValue));
+        
+        Assert.assertEquals("05", bdType2.clone().convertToString(bdValue));
+    }
+    
 } 	// TestBigDecimalDataType
@@ -17,10 +17,14 @@
  * History
  *
  * 13.02.2013 - [SW] - creation
+ * 18.10.2026 - [JR] - windowed mode: estimated row count, cache band and prefetch
+ *                   - getItemIds: without list of all item ids
+ *                   - windowed mode: item ids consistent with size
  */
 package com.sibvisions.rad.ui.vaadin.ext.ui.table;
 
 import java.lang.reflect.Field;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -28,12 +32,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 
 import javax.rad.model.ColumnDefinition;
 import javax.rad.model.IDataBook;
+import javax.rad.model.IDataPage;
 import javax.rad.model.ModelException;
 import javax.rad.util.ExceptionHandler;
 
+import com.sibvisions.rad.model.mem.MemDataBook;
 import com.sibvisions.rad.ui.vaadin.impl.control.VaadinTable;
 import com.sibvisions.rad.ui.vaadin.impl.control.VaadinTable.StyleInfo;
 import com.sibvisions.util.type.CommonUtil;
@@ -47,6 +54,11 @@ import com.vaadin.v7.ui.Table;
 /**
  * The <code>JVxContainer</code> class is a container for the vaadin table to
  * interact with an {@link IDataBook} from JVx.
+ * <p>
+ * In windowed mode, only the items of the visible window and a cache band around the window
+ * are cached. The size is the estimated row count of the data book, so that the scrollbar
+ * shows all rows without fetching them.
+ * </p>
  * 
  * Usage:
  * 
@@ -98,6 +110,18 @@ public class JVxContainer extends AbstractContainer
 	/** The map for nullable properties. */
 	private Map<Object, Boolean> nullableProperties = new HashMap<Object, Boolean>();
 	
+	/** Whether only the items of the visible window are cached. */
+	private boolean windowed = false;
+	
+	/** The start index of the last visible window. */
+	private int windowStartIndex = -1;
+	
+	/** The estimated row count or <code>-1</code> if not known. */
+	private int estimatedRowCount = -1;
+	
+	/** The data page of the estimated row count. */
+	private IDataPage estimatedDataPage = null;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~    
@@ -150,6 +174,11 @@ public class JVxContainer extends AbstractContainer
 						itemIds.add(Integer.valueOf(rowIndex));
 					}
 				}
+				
+				if (windowed)
+				{
+					updateWindow(pStartIndex, pNumberOfItems);
+				}
 			}
 			catch (ModelException e)
 			{
@@ -172,7 +201,8 @@ public class JVxContainer extends AbstractContainer
 		String propertyId = (String)pPropertyId;
 		JVxContainerItem rowCache = propertyCache.get(itemId);
 		
-		if (rowCache == null && propertyCache.size() > MAX_CACHE_SIZE)
+		//the windowed cache is limited by the visible window
+		if (rowCache == null && propertyCache.size() > MAX_CACHE_SIZE && !windowed)
 		{
 			propertyCache.clear();
 		}
@@ -255,7 +285,20 @@ public class JVxContainer extends AbstractContainer
 				}
 				else
 				{
-					return dataBook.getRowCount() + vaadinTable.getTable().getPageLength();
+					int rowCount = dataBook.getRowCount();
+					
+					//the scrollbar shows all rows, without fetching them
+					if (windowed && dataBook instanceof MemDataBook)
+					{
+						int estimatedCount = getEstimatedRowCount();
+						
+						if (estimatedCount > rowCount)
+						{
+							return estimatedCount;
+						}
+					}
+					
+					return rowCount + vaadinTable.getTable().getPageLength();
 				}
 				
 			}
@@ -278,7 +321,7 @@ public class JVxContainer extends AbstractContainer
 		
 		try
 		{
-			if (index < (dataBook.getRowCount() - 1))
+			if (index < (getItemCount() - 1))
 			{
 				return Integer.valueOf(index + 1);
 			}
@@ -324,7 +367,7 @@ public class JVxContainer extends AbstractContainer
 	{
 		try
 		{
-			return Integer.valueOf(dataBook.getRowCount() - 1);
+			return Integer.valueOf(getItemCount() - 1);
 		}
 		catch (ModelException e)
 		{
@@ -394,21 +437,19 @@ public class JVxContainer extends AbstractContainer
     @Override
 	public Collection<?> getItemIds()
 	{
-		ArrayList<Integer> alItemIds = new ArrayList<Integer>();
+		int count = 0;
 		
 		try
 		{
-			for (int rowIndex = 0, count = dataBook.getRowCount(); rowIndex < count; rowIndex++)
-			{
-				alItemIds.add(Integer.valueOf(rowIndex));
-			}
+			count = getItemCount();
 		}
 		catch (ModelException e)
 		{
 			e.printStackTrace();
 		}
 		
-		return alItemIds;
+		//the item id is the row index, so it's not necessary to create all ids
+		return new ItemIdList(count);
 	}
 	
 	/**
@@ -430,7 +471,7 @@ public class JVxContainer extends AbstractContainer
 		
 		try
 		{
-			return index >= 0 && index < dataBook.getRowCount();
+			return index >= 0 && index < getItemCount();
 		}
 		catch (ModelException e)
 		{
@@ -626,6 +667,126 @@ public class JVxContainer extends AbstractContainer
 	public void setDataBook(IDataBook pDataBook)
 	{
 		dataBook = pDataBook;
+		
+		resetEstimatedRowCount();
+	}
+	
+	/**
+	 * Sets whether only the items of the visible window should be cached. The size of the container
+	 * is the estimated row count of the data book, if not all rows are fetched. Scrolling down prefetches
+	 * the rows after the window in the UI thread.
+	 * 
+	 * @param pWindowed <code>true</code> to enable windowed mode, <code>false</code> otherwise
+	 */
+	public void setWindowed(boolean pWindowed)
+	{
+		windowed = pWindowed;
+		
+		windowStartIndex = -1;
+	}
+	
+	/**
+	 * Gets whether only the items of the visible window are cached.
+	 * 
+	 * @return <code>true</code> if windowed mode is enabled, <code>false</code> otherwise
+	 * @see #setWindowed(boolean)
+	 */
+	public boolean isWindowed()
+	{
+		return windowed;
+	}
+	
+	/**
+	 * Resets the estimated row count, e.g. after a reload of the data book. The estimated row count
+	 * will be requested again with the next size calculation.
+	 */
+	public void resetEstimatedRowCount()
+	{
+		estimatedRowCount = -1;
+		estimatedDataPage = null;
+	}
+	
+	/**
+	 * Gets the estimated row count of the current data page. The row count is cached until the data page
+	 * is changed or the row count is reset, because it's a storage request for remote data books.
+	 * 
+	 * @return the estimated row count
+	 * @throws ModelException if the row count can't be estimated
+	 * @see #resetEstimatedRowCount()
+	 */
+	private int getEstimatedRowCount() throws ModelException
+	{
+		IDataPage dataPage = dataBook.getDataPage();
+		
+		if (estimatedRowCount < 0 || estimatedDataPage != dataPage)
+		{
+			estimatedRowCount = ((MemDataBook)dataBook).getEstimatedRowCount();
+			estimatedDataPage = dataPage;
+		}
+		
+		return estimatedRowCount;
+	}
+	
+	/**
+	 * Gets the number of item ids. In windowed mode, the item ids of not fetched rows are available,
+	 * because the size is the estimated row count.
+	 * 
+	 * @return the number of item ids
+	 * @throws ModelException if the row count can't be determined
+	 * @see #size()
+	 */
+	private int getItemCount() throws ModelException
+	{
+		if (windowed)
+		{
+			return size();
+		}
+		
+		return dataBook.getRowCount();
+	}
+	
+	/**
+	 * Updates the visible window. All cached items outside of the window and the cache band are removed.
+	 * The cache band is half of the window, before and after the window. If the window was moved down, the
+	 * rows of the next cache band are fetched.
+	 * <p>
+	 * The rows are fetched synchronously, so the prefetch blocks the calling UI thread until the rows are
+	 * available. It's not possible to fetch in the background, because the data book is not thread-safe and
+	 * is used with the lock of the UI. Only the rows of the next cache band are fetched.
+	 * </p>
+	 * 
+	 * @param pStartIndex the start index of the window
+	 * @param pNumberOfItems the number of items in the window
+	 * @throws ModelException if fetching rows fails
+	 */
+	private void updateWindow(int pStartIndex, int pNumberOfItems) throws ModelException
+	{
+		int band = Math.max(1, pNumberOfItems / 2);
+		
+		int firstIndex = pStartIndex - band;
+		int lastIndex = pStartIndex + pNumberOfItems + band;
+		
+		int index;
+		
+		for (Iterator<Integer> it = propertyCache.keySet().iterator(); it.hasNext();)
+		{
+			index = it.next().intValue();
+			
+			if (index < firstIndex || index >= lastIndex)
+			{
+				it.remove();
+			}
+		}
+		
+		//prefetch in scroll direction (blocks until the rows are fetched)
+		if (windowStartIndex >= 0
+			&& pStartIndex > windowStartIndex
+			&& !dataBook.isAllFetched())
+		{
+			dataBook.getDataRow(lastIndex - 1);
+		}
+		
+		windowStartIndex = pStartIndex;
 	}
 	
 	/**
@@ -855,6 +1016,93 @@ public class JVxContainer extends AbstractContainer
 		
 	} 	// JVxContainerItem
 	
+	/**
+	 * The <code>ItemIdList</code> is the list of all item ids. The item id is the row
+	 * index, so the ids are created on access.
+	 * 
+	 * @author Ren Jahn
+	 */
+	private static final class ItemIdList extends AbstractList<Integer> 
+	                                      implements RandomAccess
+	{
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Class members
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~	
+		
+		/** the number of items. */
+		private int size;
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Initialization
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Creates a new instance of <code>ItemIdList</code>.
+		 * 
+		 * @param pSize the number of items
+		 */
+		private ItemIdList(int pSize)
+		{
+			size = pSize;
+		}
+		
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// Abstract methods implementation
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Integer get(int pIndex)
+		{
+			if (pIndex < 0 || pIndex >= size)
+			{
+				throw new IndexOutOfBoundsException("Index: " + pIndex + ", Size: " + size);
+			}
+			
+			return Integer.valueOf(pIndex);
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size()
+		{
+			return size;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int indexOf(Object pItemId)
+		{
+			if (pItemId instanceof Integer)
+			{
+				int index = ((Integer)pItemId).intValue();
+				
+				if (index >= 0 && index < size)
+				{
+					return index;
+				}
+			}
+			
+			return -1;
+		}
+		
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object pItemId)
+		{
+			return indexOf(pItemId) >= 0;
+		}
+		
+	}	// ItemIdList
+	
 	/**
 	 * The <code>JVxContainerProperty</code> class represents one column in the
 	 * table.
@@ -19,6 +19,7 @@
  * 22.01.2013 - [SW] - creation
  * 18.03.2013 - [TK] - #968
  * 18.09.2015 - [JR] - #1470: add column name to cell style
+ * 18.10.2026 - [JR] - windowed container mode
  */
 package com.sibvisions.rad.ui.vaadin.impl.control;
 
@@ -245,6 +246,9 @@ public class VaadinTable extends VaadinComponent<TableComponent>
     /** If sort on header is enabled. */
     private boolean bSortOnHeader = true;
 
+    /** If only the items of the visible window are cached. */
+    private boolean bWindowed = false;
+
     /** The last configured sort. */
     private SortDefinition lastSort = null;
     
@@ -812,6 +816,7 @@ public class VaadinTable extends VaadinComponent<TableComponent>
 		    uninstallTable();
 		    
 			jvxContainer = new JVxContainer(this);
+			jvxContainer.setWindowed(bWindowed);
 
 			resource.setContainerDataSource(null);
 	        
@@ -1136,8 +1141,40 @@ public class VaadinTable extends VaadinComponent<TableComponent>
     {
         dataChanged = true;
         resource.reloadHappened = true;
+        
+        jvxContainer.resetEstimatedRowCount();
     }
 
+	/**
+	 * Sets whether only the items of the visible window and a cache band should be cached. The
+	 * scrollbar is sized with the estimated row count of the data book, without fetching all rows.
+	 * This mode is useful for huge data books. Scrolling down fetches the rows of the next cache band
+	 * in the UI thread, so the UI is blocked until the rows are fetched.
+	 * 
+	 * @param pWindowed <code>true</code> to enable the windowed mode, <code>false</code> otherwise
+	 */
+	public void setWindowed(boolean pWindowed)
+	{
+		bWindowed = pWindowed;
+		
+		jvxContainer.setWindowed(pWindowed);
+		
+		dataChanged = true;
+		
+		notifyRepaint();
+	}
+	
+	/**
+	 * Gets whether only the items of the visible window and a cache band are cached.
+	 * 
+	 * @return <code>true</code> if the windowed mode is enabled, <code>false</code> otherwise
+	 * @see #setWindowed(boolean)
+	 */
+	public boolean isWindowed()
+	{
+		return bWindowed;
+	}
+
 	/**
 	 * True, if delete or insert occured.
 	 * 
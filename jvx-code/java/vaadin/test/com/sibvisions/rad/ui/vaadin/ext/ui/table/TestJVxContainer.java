@@ -0,0 +1,239 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.ui.vaadin.ext.ui.table;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import javax.rad.model.ColumnDefinition;
+import javax.rad.model.IDataRow;
+import javax.rad.model.ModelException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sibvisions.rad.model.mem.MemDataBook;
+import com.sibvisions.rad.model.mem.MemDataPage;
+import com.sibvisions.rad.ui.vaadin.impl.control.VaadinTable;
+
+/**
+ * Tests the windowed mode of {@link JVxContainer}.
+ * 
+ * @author Ren Jahn
+ */
+public class TestJVxContainer
+{
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Class members
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    
+    /** The number of rows in the storage. */
+    private static final int ROW_COUNT = 1000;
+    
+    /** The number of rows per fetch. */
+    private static final int FETCH_SIZE = 20;
+    
+    /** The data book. */
+    private MemDataBook dataBook;
+    
+    /** The container. */
+    private JVxContainer container;
+    
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Initialization
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    
+    /**
+     * Creates a data book which fetches the rows on demand and a windowed container.
+     * 
+     * @throws ModelException if the data book can't be opened
+     */
+    @Before
+    public void beforeTest() throws ModelException
+    {
+        dataBook = new FetchDataBook();
+        dataBook.setName("fetch");
+        dataBook.getRowDefinition().addColumnDefinition(new ColumnDefinition("NUMBER"));
+        dataBook.open();
+        
+        VaadinTable table = new VaadinTable();
+        table.setDataBook(dataBook);
+        
+        container = new JVxContainer(table);
+        container.setDataBook(dataBook);
+        container.setWindowed(true);
+    }
+    
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    // Test methods
+    //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+    
+    /**
+     * Tests that the size is the estimated row count and that the item ids are consistent with the size.
+     * 
+     * @throws ModelException if fetching rows fails
+     */
+    @Test
+    public void testItemIdsWithEstimatedSize() throws ModelException
+    {
+        Assert.assertFalse(dataBook.isAllFetched());
+        Assert.assertTrue(dataBook.getRowCount() < ROW_COUNT);
+        
+        Assert.assertEquals(ROW_COUNT, container.size());
+
+        Collection<?> itemIds = container.getItemIds();
+        
+        Assert.assertEquals(container.size(), itemIds.size());
+        Assert.assertEquals(Integer.valueOf(ROW_COUNT - 1), ((List<?>)itemIds).get(ROW_COUNT - 1));
+        
+        Assert.assertTrue(container.containsId(Integer.valueOf(ROW_COUNT - 1)));
+        Assert.assertFalse(container.containsId(Integer.valueOf(ROW_COUNT)));
+        Assert.assertEquals(Integer.valueOf(ROW_COUNT - 1), container.lastItemId());
+        Assert.assertEquals(Integer.valueOf(ROW_COUNT - 1), container.nextItemId(Integer.valueOf(ROW_COUNT - 2)));
+        Assert.assertNull(container.nextItemId(Integer.valueOf(ROW_COUNT - 1)));
+        
+        //not all rows were fetched
+        Assert.assertFalse(dataBook.isAllFetched());
+        
+        //all fetched -> the row count
+        dataBook.fetchAll();
+        
+        Assert.assertEquals(ROW_COUNT, container.size());
+        Assert.assertEquals(container.size(), container.getItemIds().size());
+    }
+    
+    /**
+     * Tests that scrolling down prefetches the rows of the next cache band.
+     * 
+     * @throws ModelException if fetching rows fails
+     */
+    @Test
+    public void testPrefetch() throws ModelException
+    {
+        List<?> liIds = container.getItemIds(0, 40);
+        
+        Assert.assertEquals(40, liIds.size());
+        
+        liIds = container.getItemIds(100, 40);
+        
+        Assert.assertEquals(40, liIds.size());
+        Assert.assertEquals(Integer.valueOf(100), liIds.get(0));
+        
+        //the window ends with row 140, the band after the window with row 160
+        Assert.assertEquals(160, dataBook.getRowCount());
+        Assert.assertEquals(container.size(), container.getItemIds().size());
+    }
+    
+    //****************************************************************
+    // Subclass definition
+    //****************************************************************
+    
+    /**
+     * The <code>FetchDataBook</code> is a {@link MemDataBook} which fetches the rows on demand,
+     * like a remote data book.
+     * 
+     * @author Ren Jahn
+     */
+    private static final class FetchDataBook extends MemDataBook
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Overwritten methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected MemDataPage createDataPage(IDataRow pMasterDataRow)
+        {
+            return new FetchDataPage(this, pMasterDataRow);
+        }
+        
+    }   // FetchDataBook
+    
+    /**
+     * The <code>FetchDataPage</code> fetches {@link TestJVxContainer#FETCH_SIZE} rows per request.
+     * 
+     * @author Ren Jahn
+     */
+    private static final class FetchDataPage extends MemDataPage
+    {
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Class members
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /** The number of fetched rows. */
+        private int fetched = 0;
+        
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Initialization
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * Creates a new instance of <code>FetchDataPage</code>.
+         * 
+         * @param pDataBook the data book
+         * @param pMasterDataRow the master row
+         */
+        private FetchDataPage(MemDataBook pDataBook, IDataRow pMasterDataRow)
+        {
+            super(pDataBook, pMasterDataRow);
+            
+            setAllFetched(false);
+        }
+        
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        // Overwritten methods
+        //~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int getEstimatedRowCount() throws ModelException
+        {
+            return ROW_COUNT;
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void fetchToRow(int pRowIndex) throws ModelException
+        {
+            int lastIndex = pRowIndex < 0 ? ROW_COUNT : Math.min(ROW_COUNT, (pRowIndex / FETCH_SIZE + 1) * FETCH_SIZE);
+            
+            for (; fetched < lastIndex; fetched++)
+            {
+                addFetchedRow(new Object[] {BigDecimal.valueOf(fetched)});
+            }
+            
+            if (fetched == ROW_COUNT)
+            {
+                setAllFetched(true);
+            }
+        }
+        
+    }   // FetchDataPage
+    
+}   // TestJVxContainer
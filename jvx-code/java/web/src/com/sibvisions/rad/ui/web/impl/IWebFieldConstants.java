@@ -17,6 +17,7 @@
  * History
  * 
  * 07.01.2022 - [JR] - creation
+ * 18.10.2026 - [JR] - CONTENT
  */
 package com.sibvisions.rad.ui.web.impl;
 
@@ -53,6 +54,8 @@ public interface IWebFieldConstants
 	
 	/** the mark for removing component later. */
 	public static final String REMOVE_LATER     = "#component#remove";
+	/** the mark for a component which is or contains a content. */
+	public static final String CONTENT          = "#component#content";
 	/** the mark for a changed component. */
 	public static final String MARK_CHANGED     = "#component#changed";
 	
@@ -19,6 +19,7 @@
  * 19.11.2009 - [HM] - creation
  * 18.03.2011 - [JR] - #313: component moved/resized implemented
  * 22.10.2019 - [JR] - put/getObject implemented
+ * 18.10.2026 - [JR] - dirty tracking for incremental change detection
  */
 package com.sibvisions.rad.ui.web.impl;
 
@@ -78,6 +79,18 @@ public class WebComponent extends WebResource
 	// Class members
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	/** the dirty flag for changed properties of the component itself. */
+	protected static final int DIRTY_SELF = 1;
+	
+	/** the dirty flag for changed properties of at least one sub component. */
+	protected static final int DIRTY_CHILD = 2;
+	
+	/** the dirty flag for possibly changed constraints of all direct sub components. */
+	protected static final int DIRTY_COMPONENTS = 4;
+	
+	/** the dirty flag for structural changes in the component tree, e.g. added or removed components. */
+	protected static final int DIRTY_STRUCTURE = 8;
+	
 	/** the counter for unique id. */
 	private static int counter = 0;
 	
@@ -142,6 +155,12 @@ public class WebComponent extends WebResource
 	/** the debug creation. */
 	private Exception exCreation = null;
 	
+	/** the synchronization object for the dirty flags. */
+	private final Object oSyncDirty = new Object();
+	
+	/** the dirty flags. */
+	private volatile int iDirty = DIRTY_SELF;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -898,7 +917,34 @@ public class WebComponent extends WebResource
 			properties = new ChangedHashtable<String, Object>();
 		}
 		
-		properties.put(pPropertyName, pValue, true, pOverride);
+		Object oOldValue = properties.put(pPropertyName, pValue, true, pOverride);
+		
+		//same instance -> not changed
+		if ((pOverride || oOldValue != pValue) && properties.isChanged(pPropertyName))
+		{
+			if ("parent".equals(pPropertyName))
+			{
+				//the old parent lost a component
+				if (oOldValue instanceof IComponent)
+				{
+					markDirty((IComponent)oOldValue, DIRTY_CHILD | DIRTY_STRUCTURE);
+				}
+				
+				setDirty(DIRTY_SELF);
+				
+				markDirty((IComponent)pValue, DIRTY_CHILD | DIRTY_STRUCTURE);
+			}
+			else if ("visible".equals(pPropertyName)
+					 || "name".equals(pPropertyName)
+					 || ("constraints".equals(pPropertyName) && !isVisible()))
+			{
+				markDirty(DIRTY_STRUCTURE);
+			}
+			else
+			{
+				markDirty();
+			}
+		}
 	}
 
     /**
@@ -960,6 +1006,8 @@ public class WebComponent extends WebResource
 		
 		properties.put(pPropertyName, pValue, true, true);
 		
+		markDirty();
+		
 		if (liCommandProperties == null)
 		{
 			liCommandProperties = new ArrayList<String>();
@@ -1008,6 +1056,121 @@ public class WebComponent extends WebResource
 			{
 				properties.put(key, properties.get(key), true, true);
 			}
+			
+			markDirty();
+		}
+	}
+	
+	/**
+	 * Marks this component as changed. The component will be checked with the next change detection
+	 * of the launcher, even if no property was set, e.g. if a property depends on the state of a model.
+	 */
+	protected void markDirty()
+	{
+		markDirty(0);
+	}
+	
+	/**
+	 * Marks this component and all direct sub components as changed, e.g. if the constraints of the 
+	 * sub components were changed via the layout.
+	 */
+	void markComponentsDirty()
+	{
+		markDirty(DIRTY_COMPONENTS);
+	}
+	
+	/**
+	 * Marks this component as changed and all parents as "child changed". The marks are the path
+	 * for the change detection of the launcher, which doesn't check unchanged sub trees.
+	 * 
+	 * @param pFlags additional dirty flags for this component
+	 */
+	private void markDirty(int pFlags)
+	{
+		setDirty(DIRTY_SELF | (pFlags & DIRTY_COMPONENTS));
+		
+		markDirty(getParentIntern(), DIRTY_CHILD | (pFlags & DIRTY_STRUCTURE));
+	}
+	
+	/**
+	 * Marks the given component and all parents as "child changed". A structural change is marked 
+	 * at the root component of the tree, because the whole tree has to be checked.
+	 * 
+	 * @param pComponent the parent component
+	 * @param pFlags {@link #DIRTY_CHILD} and optional {@link #DIRTY_STRUCTURE}
+	 */
+	private static void markDirty(IComponent pComponent, int pFlags)
+	{
+		IComponent comp = pComponent;
+		
+		WebComponent compRoot = null;
+		
+		while (comp != null)
+		{
+			if (comp instanceof WebComponent)
+			{
+				compRoot = (WebComponent)comp;
+				
+				//the path is already marked
+				if ((compRoot.setDirty(DIRTY_CHILD) & DIRTY_CHILD) != 0 && (pFlags & DIRTY_STRUCTURE) == 0)
+				{
+					return;
+				}
+			}
+			
+			comp = getParent(comp);
+		}
+		
+		if (compRoot != null && (pFlags & DIRTY_STRUCTURE) != 0)
+		{
+			compRoot.setDirty(DIRTY_STRUCTURE);
+		}
+	}
+	
+	/**
+	 * Gets the dirty flags.
+	 * 
+	 * @return the dirty flags or <code>0</code> if nothing was changed since the last change detection
+	 */
+	protected int getDirty()
+	{
+		return iDirty;
+	}
+	
+	/**
+	 * Clears the dirty flags.
+	 * 
+	 * @param pFlags the flags to clear
+	 * @return the dirty flags before clearing
+	 */
+	protected int clearDirty(int pFlags)
+	{
+		synchronized (oSyncDirty)
+		{
+			int iOld = iDirty;
+			
+			iDirty = iOld & ~pFlags;
+			
+			return iOld;
+		}
+	}
+	
+	/**
+	 * Sets dirty flags. The flags are set with the same lock as {@link #clearDirty(int)}, because 
+	 * components are changed by other threads than the change detection of the launcher.
+	 * 
+	 * @param pFlags the flags to set
+	 * @return the dirty flags before setting
+	 */
+	private int setDirty(int pFlags)
+	{
+		synchronized (oSyncDirty)
+		{
+			int iOld = iDirty;
+			
+			iDirty = iOld | pFlags;
+			
+			return iOld;
 		}
 	}
 	
@@ -27,6 +27,7 @@
  * 12.06.2013 - [JR] - has/clearDownloadParameter, has/clearUploadParameter implemented       
  * 27.09.2013 - [JR] - handleException throws RuntimeException
  * 21.12.2016 - [JR] - #1714 (JVx): debug log           
+ * 18.10.2026 - [JR] - getChangedComponents: incremental change detection of dirty components
  */
 package com.sibvisions.rad.ui.web.impl;
 
@@ -34,9 +35,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -227,6 +230,9 @@ public class WebLauncher extends WebFrame
 	/** the last datarow cleanup time. */
 	private long lLastDataRowCleanup;
 	
+	/** whether the last complete change detection found fill-in components. */
+	private boolean bFillInComponents = false;
+	
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Initialization
 	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
@@ -1299,7 +1305,9 @@ public class WebLauncher extends WebFrame
 	}	
 	
 	/**
-	 * Get the changed components since the last call.
+	 * Get the changed components since the last call. The whole component tree is checked if the structure 
+	 * was changed, e.g. a component was added, removed or is invisible now. Otherwise only the paths to 
+	 * changed components are checked.
 	 * 
 	 * @return the changed components.
 	 */
@@ -1318,8 +1326,14 @@ public class WebLauncher extends WebFrame
 		
 		HashMap<String, int[]> changeIndex = new HashMap<String, int[]>();
 		
-		HashMap<String, WebComponent> newCompsById   = new HashMap<String, WebComponent>();
-		HashMap<String, WebComponent> newCompsByName = new HashMap<String, WebComponent>();
+		//without structural changes, the known components are still valid and it's enough to check the changed paths
+		boolean bIncremental = (clearDirty(DIRTY_STRUCTURE) & DIRTY_STRUCTURE) == 0
+							   && hmpCompsById != null
+							   && hstRemoveMark.isEmpty()
+							   && !bFillInComponents;
+		
+		HashMap<String, WebComponent> newCompsById   = bIncremental ? hmpCompsById : new HashMap<String, WebComponent>();
+		HashMap<String, WebComponent> newCompsByName = bIncremental ? hmpCompsByName : new HashMap<String, WebComponent>();
 		
 		HashMap<String, WeakReference<IDataRow>> newDataRows = new HashMap<String, WeakReference<IDataRow>>();
 		
@@ -1329,17 +1343,27 @@ public class WebLauncher extends WebFrame
 		hmpCurrentCompsById.clear();
 		hmpCurrentCompsByName.clear();
 				
+		bFillInComponents = false;
+		
 		fillInChangedComponents(this, changedComponents, allComponents, changeIndex,
 				                newCompsById, newCompsByName, newDataRows, usedDataRowNames, 
-				                null, false);
+				                null, false, bIncremental);
 
 		int[] index = new int[] {changedComponents.size(), -1};
 		
 		//all removed components in this check
 		HashMap<String, WebComponent> oldRemovedById = new HashMap<String, WebComponent>();
 		
-		if (hmpCompsById != null)
+		if (hmpCompsById != null && !bIncremental)
 		{
+			//the ids of all changed components, to avoid duplicate changes
+			HashSet<Object> hstChangedIds = new HashSet<Object>();
+			
+			for (int i = 0, cnt = changedComponents.size(); i < cnt; i++)
+			{
+				hstChangedIds.add(changedComponents.get(i).get("id"));
+			}
+			
 			WebComponent comp;
 			WebComponent compFillIn;
 
@@ -1370,6 +1394,7 @@ public class WebLauncher extends WebFrame
 						map.put("id", sId);
 		
 						changedComponents.add(map);
+						hstChangedIds.add(sId);
 						
 						oldRemovedById.put(sId, comp);
 						
@@ -1398,25 +1423,14 @@ public class WebLauncher extends WebFrame
 							if (cmpParent != null)
 							{
 								//only send component, if not available in the list of changes
-								
-								Map<String, Object> map;
-								
-								boolean bFound = false;
-								
-								for (int i = 0, cnt = changedComponents.size(); i < cnt && !bFound; i++)
+								if (!hstChangedIds.contains(sId))
 								{
-									map = changedComponents.get(i);
-									
-									bFound = sId.equals(map.get("id"));
-								}
-								
-								if (!bFound)
-								{
-									map = new LinkedHashMap<String, Object>();
+									Map<String, Object> map = new LinkedHashMap<String, Object>();
 									map.put("id", sId);
 									map.put("visible", Boolean.FALSE);
 									
 									changedComponents.add(map);
+									hstChangedIds.add(sId);
 									
 									oldRemovedById.put(sId, comp);
 								}
@@ -1433,8 +1447,10 @@ public class WebLauncher extends WebFrame
 		WebComponent comp;
 		
 		//check if a known component is removed, because we don't get the information about removed 
-		//components if a parent component is already removed
-		for (Entry<WebComponent, WebComponent> entry : hmpAllComponents.entrySet())
+		//components if a parent component is already removed. Without structural changes, no component was removed.
+		Map<WebComponent, WebComponent> mpKnown = bIncremental ? Collections.<WebComponent, WebComponent>emptyMap() : hmpAllComponents;
+		
+		for (Entry<WebComponent, WebComponent> entry : mpKnown.entrySet())
 		{
 			compFillIn = entry.getKey();
 			comp = entry.getValue();
@@ -1475,13 +1491,11 @@ public class WebLauncher extends WebFrame
 			hmpAllComponents.remove(compRemove);
 		}
 		
-		HashMap<WebComponent, WebComponent> hmpClone = new HashMap<WebComponent, WebComponent>(hmpAllComponents);
-		
-		for (WebComponent cmp : hmpClone.keySet())
+		for (Iterator<WebComponent> it = hmpAllComponents.keySet().iterator(); !hstRemoveMark.isEmpty() && it.hasNext();)
 		{
-			if (hstRemoveMark.contains(cmp.getComponentId()))
+			if (hstRemoveMark.contains(it.next().getComponentId()))
 			{
-				hmpAllComponents.remove(cmp);
+				it.remove();
 			}
 		}
 		
@@ -1521,8 +1535,11 @@ public class WebLauncher extends WebFrame
 		hmpCompsById = newCompsById;
 		hmpCompsByName = newCompsByName;
 		
-		return new ChangedComponents(changedComponents, newDataRows, usedDataRowNames,
-                					 changeIndex, hmpCompsByName, oldRemovedById, changes);
+		//the name mapping of the previous changes is still valid without structural changes
+		changes = new ChangedComponents(changedComponents, newDataRows, usedDataRowNames,
+                					    changeIndex, bIncremental && changes != null ? null : hmpCompsByName, oldRemovedById, changes);
+		
+		return changes;
 	}
 	
 	/**
@@ -1712,11 +1729,13 @@ public class WebLauncher extends WebFrame
 	 * @param pUsedDataRowNames the used data row names.
 	 * @param pNamePrefix the optional prefix for the component name.
 	 * @param pAdditional whether the given component is additional.
+	 * @param pIncremental <code>true</code> to check only dirty sub components and contents, <code>false</code> to
+	 *                     check all sub components
 	 */
 	private void fillInChangedComponents(WebComponent pComponent, ArrayList<Map<String, Object>> pChangedComponents, ArrayList<String> pAllComponents,
 										 HashMap<String, int[]> pChangeIndex, HashMap<String, WebComponent> pNewCompsById, 
 										 HashMap<String, WebComponent> pNewCompsByName, HashMap<String, WeakReference<IDataRow>> pNewDataRows, 
-										 HashSet<String> pUsedDataRowNames, String pNamePrefix, boolean pAdditional)
+										 HashSet<String> pUsedDataRowNames, String pNamePrefix, boolean pAdditional, boolean pIncremental)
 	{
 		String sPrefix = pNamePrefix;
 		
@@ -1726,10 +1745,15 @@ public class WebLauncher extends WebFrame
 
 		boolean bIsContent = isContent(compSource);
 		
+		//whether the component is or contains a content, e.g. an application or a work-screen
+		boolean bContent = false;
+		
 		if (compSource instanceof IApplication
 			|| compSource instanceof IWorkScreen
 			|| bIsContent)
 		{			
+			bContent = true;
+			
 			sPrefix = getPrefix(pComponent, compSource, sPrefix, bIsContent);
 			
 			if (compSource instanceof IApplication)
@@ -1807,6 +1831,16 @@ public class WebLauncher extends WebFrame
 		
 		updateChangedProperties(compFillIn, pComponent);
 		
+		//the following checks collect all changes of the component
+		int iDirty = compFillIn.clearDirty(DIRTY_SELF | DIRTY_CHILD | DIRTY_COMPONENTS);
+		
+		if (compFillIn != pComponent)
+		{
+			iDirty |= pComponent.clearDirty(DIRTY_SELF | DIRTY_CHILD | DIRTY_COMPONENTS);
+			
+			bFillInComponents = true;
+		}
+		
 		List<Map.Entry<String, Object>> changedProperties = getChangedProperties(compFillIn, pComponent);
 
 		int iInitialChangedComponentsCount = pChangedComponents.size();
@@ -1969,7 +2003,7 @@ public class WebLauncher extends WebFrame
 			pChangedComponents.add(map);
 		}
 		
-		if (hmpCompsById != null)
+		if (hmpCompsById != null && !pIncremental)
 		{
 			if (compFillIn != pComponent)
 			{
@@ -2000,6 +2034,9 @@ public class WebLauncher extends WebFrame
 			if (compFillIn instanceof IWebContainer)
 			{
 				IWebContainer contFillIn = (IWebContainer)compFillIn;
+				
+				//the constraints of all components were changed
+				boolean bCheckAll = !pIncremental || (iDirty & DIRTY_COMPONENTS) != 0;
 			
 				for (int i = 0, count = contFillIn.getComponentCount(); i < count; i++)
 				{
@@ -2050,8 +2087,14 @@ public class WebLauncher extends WebFrame
 							}
 						}
 					
-						fillInChangedComponents(component, pChangedComponents, pAllComponents, pChangeIndex, pNewCompsById, 
-								                pNewCompsByName, pNewDataRows, pUsedDataRowNames, sPrefix, false);
+						//unchanged sub trees without content can't contain changes
+						if (bCheckAll || isDirtyOrContent(component))
+						{
+							fillInChangedComponents(component, pChangedComponents, pAllComponents, pChangeIndex, pNewCompsById, 
+									                pNewCompsByName, pNewDataRows, pUsedDataRowNames, sPrefix, false, pIncremental);
+							
+							bContent |= component.getObject(IWebFieldConstants.CONTENT) != null;
+						}
 					}
 					else if (!component.isVisible() && component.isChanged("visible"))
 					{
@@ -2077,10 +2120,13 @@ public class WebLauncher extends WebFrame
 			{
 				WebComponent component = liAdditionalComps.get(i);
 				
-				if (component.isVisible() || !(component instanceof IWindow))
+				if ((component.isVisible() || !(component instanceof IWindow))
+					&& (!pIncremental || isDirtyOrContent(component)))
 				{
 					fillInChangedComponents(component, pChangedComponents, pAllComponents, pChangeIndex, pNewCompsById, 
-							                pNewCompsByName, pNewDataRows, pUsedDataRowNames, sPrefix, true);
+							                pNewCompsByName, pNewDataRows, pUsedDataRowNames, sPrefix, true, pIncremental);
+					
+					bContent |= component.getObject(IWebFieldConstants.CONTENT) != null;
 				}
 			}
 		}
@@ -2120,6 +2166,25 @@ public class WebLauncher extends WebFrame
 		{
 			postAnalyzeContent(compFillIn, (IContent)compSource, pNewDataRows, pUsedDataRowNames, sPrefix);
 		}
+		
+		if (!pIncremental)
+		{
+			//contents are always checked because of the data rows
+			pComponent.putObject(IWebFieldConstants.CONTENT, bContent ? Boolean.TRUE : null);
+		}
+	}
+	
+	/**
+	 * Gets whether the given component has to be checked for changes. This is the case if the component 
+	 * or a sub component is dirty or if the component is or contains a content.
+	 * 
+	 * @param pComponent the component
+	 * @return <code>true</code> if the component has to be checked, <code>false</code> otherwise
+	 */
+	private boolean isDirtyOrContent(WebComponent pComponent)
+	{
+		return pComponent.getDirty() != 0
+			   || pComponent.getObject(IWebFieldConstants.CONTENT) != null;
 	}
 	
 	/**
@@ -3287,7 +3352,7 @@ public class WebLauncher extends WebFrame
 		 * @param pDataRows the new data rows
 		 * @param pUsedRowNames the used data row names
 		 * @param pChangesIndex the changes per component id
-		 * @param pNameMap the mapping between name and id
+		 * @param pNameMap the mapping between name and id or <code>null</code> to use the mapping of the previous changes
 		 * @param pOldRemoved the mapping between id and component for removed components
 		 * @param pPrevious the previous changes
 		 */
@@ -3301,13 +3366,16 @@ public class WebLauncher extends WebFrame
 			
 			hmpOldRemoved = pOldRemoved;
 			
-			hmpNameToId = new HashMap<String, String>();
-			hmpIdToName = new HashMap<String, String>();
+			//without a name map, the mapping won't be changed
+			hmpNameToId = pNameMap != null ? new HashMap<String, String>() : pPrevious.hmpNameToId;
+			hmpIdToName = pNameMap != null ? new HashMap<String, String>() : pPrevious.hmpIdToName;
 			
 			String sName;
 			String sId;
 			
-			for (Entry<String, WebComponent> entry : pNameMap.entrySet())
+			Map<String, WebComponent> mpNames = pNameMap != null ? pNameMap : Collections.<String, WebComponent>emptyMap();
+			
+			for (Entry<String, WebComponent> entry : mpNames.entrySet())
 			{
 				sId = entry.getValue().getComponentId();
 				sName = entry.getKey();
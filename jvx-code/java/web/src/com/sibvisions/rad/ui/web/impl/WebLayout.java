@@ -17,6 +17,7 @@
  * History
  *
  * 26.11.2009 - [HM] - creation
+ * 18.10.2026 - [JR] - markComponentsChanged
  */
 package com.sibvisions.rad.ui.web.impl;
 
@@ -253,5 +254,17 @@ public abstract class WebLayout<CE> extends WebResource
 			container.setProperty("layout", this, true);
 		}
 	}
+	
+	/**
+	 * Marks the container and all components of the container as changed, without forcing a layout update.
+	 * The layout data and the constraints will be checked with the next change detection.
+	 */
+	protected void markComponentsChanged()
+	{
+		if (container instanceof WebComponent)
+		{
+			((WebComponent)container).markComponentsDirty();
+		}
+	}
     
 }	// WebLayout
@@ -21,6 +21,7 @@
  * 24.03.2011 - [JR] - #317 
  *                     * invoke cancelEditing when enabled state changed
  *                     * updateProperties checks enabled state 
+ * 18.10.2026 - [JR] - notifyRepaint: mark dirty because the style properties depend on the data row
  */
 package com.sibvisions.rad.ui.web.impl.control;
 
@@ -332,6 +333,8 @@ public class WebEditor extends AbstractCellFormatable
 	 */
 	public void notifyRepaint() 
 	{
+		markDirty();
+		
 		if (handler != null)
 		{
 			if (firstNotifyRepaintCall)
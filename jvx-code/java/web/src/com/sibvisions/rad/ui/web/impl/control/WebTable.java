@@ -20,6 +20,7 @@
  * 23.07.2010 - [JR] - #149: setDataBook: RESTORE, RELOAD events set
  * 18.01.2011 - [JR] - setReload: force implemented (support for updates during value changed)
  * 10.04.2013 - [JR] - calculatePreferredSize: check dataBook != null [BUGFIX]
+ * 18.10.2026 - [JR] - notifyRepaint: mark dirty because the column names depend on the data book
  */
 package com.sibvisions.rad.ui.web.impl.control;
 
@@ -303,6 +304,8 @@ public class WebTable extends AbstractCellFormatable
 	 */
 	public void notifyRepaint() 
 	{
+		markDirty();
+		
 		if (dataBook != null)
 		{
 			if (firstNotifyRepaintCall)
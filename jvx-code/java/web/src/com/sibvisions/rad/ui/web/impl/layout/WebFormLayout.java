@@ -17,6 +17,7 @@
  * History
  *
  * 26.11.2009 - [HM] - creation
+ * 18.10.2026 - [JR] - mark components changed if anchors or constraints were changed
  */
 package com.sibvisions.rad.ui.web.impl.layout;
 
@@ -860,6 +861,8 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 		public void setRelatedAnchor(IAnchor pAnchor)
 	    {
 	    	relatedAnchor = (WebAnchor)pAnchor;
+	    	
+	    	layout.markComponentsChanged();
 	    }
 
 		/**
@@ -876,6 +879,8 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 		public void setAutoSize(boolean pAutoSize)
 	    {
 			autoSize = pAutoSize;
+			
+			layout.markComponentsChanged();
 	    }
 
 		/**
@@ -892,6 +897,8 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 		public void setPosition(int pPosition)
 	    {
 			position = pPosition;
+			
+			layout.markComponentsChanged();
 	    }
 
 		/**
@@ -1064,6 +1071,8 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 			{
 				leftAnchor = (WebAnchor)pLeftAnchor;
 			}
+			
+			markChanged(leftAnchor);
 		}
 
 		/**
@@ -1095,6 +1104,8 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 			{
 				rightAnchor = (WebAnchor)pRightAnchor;
 			}
+			
+			markChanged(rightAnchor);
 		}
 
 		/**
@@ -1126,6 +1137,8 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 			{
 				topAnchor = (WebAnchor)pTopAnchor;
 			}
+			
+			markChanged(topAnchor);
 		}
 
 		/**
@@ -1157,6 +1170,25 @@ public class WebFormLayout extends WebLayout<IFormLayout.IConstraints>
 			{
 				bottomAnchor = (WebAnchor)pBottomAnchor;
 			}
+			
+			markChanged(bottomAnchor);
+		}
+
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		// User-defined methods
+		//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+		
+		/**
+		 * Marks the components of the layout as changed, because the constraints were changed.
+		 * 
+		 * @param pAnchor the changed anchor
+		 */
+		private static void markChanged(WebAnchor pAnchor)
+		{
+			if (pAnchor != null && pAnchor.layout != null)
+			{
+				pAnchor.layout.markComponentsChanged();
+			}
 		}
 
 	}	// WebConstraints
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.ui.web.impl;
+
+import java.util.Hashtable;
+
+import javax.rad.genui.component.UILabel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Measures the change detection of {@link WebLauncher} with a synthetic screen of 5,000 labels.
+ * The complete check is forced with a structural change before every poll.
+ * 
+ * @author Ren Jahn
+ */
+public class TestWebLauncherPerformance
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the number of labels. */
+	private static final int LABEL_COUNT = 5000;
+	
+	/** the number of measured polls. */
+	private static final int ITERATIONS = 200;
+
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Measures the poll time with one changed label per poll, without changes and with a complete check.
+	 */
+	@Test
+	public void testChangedComponents()
+	{
+		String sOldCount = System.setProperty("labels", String.valueOf(LABEL_COUNT));
+		
+		WebLauncher launcher;
+		
+		try
+		{
+			launcher = new WebLauncher(LabelApplication.class.getName(), null, new Hashtable<String, String>(), null);
+		}
+		finally
+		{
+			if (sOldCount == null)
+			{
+				System.clearProperty("labels");
+			}
+			else
+			{
+				System.setProperty("labels", sOldCount);
+			}
+		}
+		
+		UILabel[] labels = ((LabelApplication)launcher.getApplication()).getLabels();
+		
+		Assert.assertEquals(LABEL_COUNT, labels.length);
+
+		launcher.getChangedComponents();
+		
+		for (int iRun = 0; iRun < 3; iRun++)
+		{
+			int iChanges = 0;
+			
+			long lStart = System.nanoTime();
+			
+			for (int i = 0; i < ITERATIONS; i++)
+			{
+				labels[i * 7 % labels.length].setText("Text " + iRun + "/" + i);
+				
+				iChanges += launcher.getChangedComponents().getChanges().size();
+			}
+			
+			long lChanged = System.nanoTime() - lStart;
+			
+			Assert.assertEquals(ITERATIONS, iChanges);
+			
+			lStart = System.nanoTime();
+			
+			for (int i = 0; i < ITERATIONS; i++)
+			{
+				iChanges += launcher.getChangedComponents().getChanges().size();
+			}
+			
+			long lIdle = System.nanoTime() - lStart;
+			
+			Assert.assertEquals(ITERATIONS, iChanges);
+			
+			lStart = System.nanoTime();
+			
+			for (int i = 0; i < ITERATIONS; i++)
+			{
+				//the visibility is a structural change: hide and show again
+				labels[i / 2 * 7 % labels.length].setVisible(i % 2 == 1);
+				
+				launcher.getChangedComponents();
+			}
+			
+			long lComplete = System.nanoTime() - lStart;
+			
+			System.out.println("Labels: " + LABEL_COUNT +
+			                   "  One change: " + lChanged / ITERATIONS / 1000 + "us" +
+			                   "  No change: " + lIdle / ITERATIONS / 1000 + "us" +
+			                   "  Complete check: " + lComplete / ITERATIONS / 1000 + "us");
+		}
+	}
+	
+}	// TestWebLauncherPerformance
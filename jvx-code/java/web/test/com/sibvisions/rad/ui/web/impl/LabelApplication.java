@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.ui.web.impl;
+
+import javax.rad.application.genui.Application;
+import javax.rad.application.genui.UILauncher;
+import javax.rad.genui.component.UILabel;
+import javax.rad.genui.container.UIPanel;
+import javax.rad.genui.layout.UIBorderLayout;
+import javax.rad.genui.layout.UIFlowLayout;
+
+/**
+ * The <code>LabelApplication</code> is a synthetic screen with many labels, grouped in panels with
+ * 50 labels each. The number of labels is set with the system property <code>labels</code> (default: 100).
+ * 
+ * @author Ren Jahn
+ */
+public class LabelApplication extends Application
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the number of labels per panel. */
+	private static final int LABELS_PER_PANEL = 50;
+	
+	/** the main panel. */
+	private UIPanel panMain = new UIPanel(new UIFlowLayout());
+	
+	/** the labels. */
+	private UILabel[] labels;
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Creates a new instance of <code>LabelApplication</code>.
+	 * 
+	 * @param pLauncher the launcher
+	 */
+	public LabelApplication(UILauncher pLauncher)
+	{
+		super(pLauncher);
+		
+		labels = new UILabel[Integer.getInteger("labels", 100).intValue()];
+
+		UIPanel panSub = null;
+		
+		for (int i = 0; i < labels.length; i++)
+		{
+			if (i % LABELS_PER_PANEL == 0)
+			{
+				panSub = new UIPanel(new UIFlowLayout());
+				
+				panMain.add(panSub);
+			}
+			
+			labels[i] = new UILabel("Label " + i);
+			
+			panSub.add(labels[i]);
+		}
+		
+		setLayout(new UIBorderLayout());
+		add(panMain, UIBorderLayout.CENTER);
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the main panel.
+	 * 
+	 * @return the panel with the label panels
+	 */
+	public UIPanel getMainPanel()
+	{
+		return panMain;
+	}
+	
+	/**
+	 * Gets the labels.
+	 * 
+	 * @return the labels
+	 */
+	public UILabel[] getLabels()
+	{
+		return labels;
+	}
+	
+}	// LabelApplication
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 SIB Visions GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ *
+ * History
+ *
+ * 18.10.2026 - [JR] - creation
+ */
+package com.sibvisions.rad.ui.web.impl;
+
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.rad.genui.component.UILabel;
+import javax.rad.genui.container.UIPanel;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the change detection of {@link WebLauncher} with dirty marks.
+ * 
+ * @author Ren Jahn
+ */
+public class TestWebLauncher
+{
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Class members
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/** the launcher. */
+	private WebLauncher launcher;
+	
+	/** the application. */
+	private LabelApplication application;
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Initialization
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Starts the application and reads the initial changes.
+	 */
+	@Before
+	public void beforeTest()
+	{
+		launcher = new WebLauncher(LabelApplication.class.getName(), null, new Hashtable<String, String>(), null);
+		
+		application = (LabelApplication)launcher.getApplication();
+		
+		Assert.assertTrue(getChanges().size() > application.getLabels().length);
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Test methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Tests that only changed components are reported.
+	 */
+	@Test
+	public void testPropertyChange()
+	{
+		Assert.assertEquals(0, getChanges().size());
+		
+		UILabel label = application.getLabels()[42];
+		label.setText("Changed");
+		
+		List<Map<String, Object>> liChanges = getChanges();
+		
+		Assert.assertEquals(1, liChanges.size());
+		Assert.assertEquals(getId(label), liChanges.get(0).get("id"));
+		Assert.assertEquals("Changed", liChanges.get(0).get("text"));
+		
+		//the dirty marks were cleared
+		Assert.assertEquals(0, getChanges().size());
+	}
+	
+	/**
+	 * Tests that added, removed and hidden components are reported.
+	 */
+	@Test
+	public void testStructureChange()
+	{
+		UIPanel panel = (UIPanel)application.getMainPanel().getComponent(1);
+
+		UILabel labelNew = new UILabel("New");
+		panel.add(labelNew);
+		
+		Assert.assertNotNull(findChange(getChanges(), getId(labelNew)));
+		
+		UILabel labelRemove = application.getLabels()[60];
+		
+		String sRemoveId = getId(labelRemove);
+		
+		panel.remove(labelRemove);
+		
+		Map<String, Object> mapRemove = findChange(getChanges(), sRemoveId);
+		
+		Assert.assertNotNull(mapRemove);
+		Assert.assertEquals(Boolean.TRUE.toString(), mapRemove.get(IWebFieldConstants.REMOVE));
+
+		UILabel labelHide = application.getLabels()[70];
+		labelHide.setVisible(false);
+		
+		Map<String, Object> mapHide = findChange(getChanges(), getId(labelHide));
+		
+		Assert.assertNotNull(mapHide);
+		Assert.assertEquals(Boolean.FALSE, mapHide.get("visible"));
+		
+		Assert.assertEquals(0, getChanges().size());
+	}
+	
+	/**
+	 * Tests that no change is lost if components are changed by other threads during the change detection.
+	 * 
+	 * @throws Throwable if the test fails
+	 */
+	@Test
+	public void testConcurrentChanges() throws Throwable
+	{
+		final UILabel[] labels = application.getLabels();
+		
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		
+		final Thread[] threads = new Thread[4];
+		
+		for (int i = 0; i < threads.length; i++)
+		{
+			final int iThread = i;
+			
+			threads[i] = new Thread(new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						for (int j = 0; j < 2000; j++)
+						{
+							labels[(j * threads.length + iThread) % labels.length].setText("Text " + iThread + "/" + j);
+						}
+					}
+					catch (Throwable th)
+					{
+						error.compareAndSet(null, th);
+					}
+				}
+			});
+		}
+		
+		//the last reported text per component id
+		HashMap<Object, Object> hmpText = new HashMap<Object, Object>();
+		
+		for (int i = 0; i < threads.length; i++)
+		{
+			threads[i].start();
+		}
+		
+		boolean bAlive = true;
+		
+		while (bAlive)
+		{
+			bAlive = false;
+			
+			for (int i = 0; i < threads.length; i++)
+			{
+				bAlive |= threads[i].isAlive();
+			}
+			
+			collectTexts(getChanges(), hmpText);
+		}
+		
+		if (error.get() != null)
+		{
+			throw error.get();
+		}
+		
+		collectTexts(getChanges(), hmpText);
+		
+		for (int i = 0; i < labels.length; i++)
+		{
+			if (!("Label " + i).equals(labels[i].getText()))
+			{
+				Assert.assertEquals("Label " + i, labels[i].getText(), hmpText.get(getId(labels[i])));
+			}
+		}
+	}
+	
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// User-defined methods
+	//~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * Gets the changes since the last call.
+	 * 
+	 * @return the changes
+	 */
+	private List<Map<String, Object>> getChanges()
+	{
+		return launcher.getChangedComponents().getChanges();
+	}
+	
+	/**
+	 * Gets the component id of a label.
+	 * 
+	 * @param pLabel the label
+	 * @return the id
+	 */
+	private static String getId(UILabel pLabel)
+	{
+		return ((WebComponent)pLabel.getResource()).getComponentId();
+	}
+	
+	/**
+	 * Searches the change of a component.
+	 * 
+	 * @param pChanges the changes
+	 * @param pId the component id
+	 * @return the change or <code>null</code> if the component wasn't changed
+	 */
+	private static Map<String, Object> findChange(List<Map<String, Object>> pChanges, String pId)
+	{
+		for (int i = 0, cnt = pChanges.size(); i < cnt; i++)
+		{
+			if (pId.equals(pChanges.get(i).get("id")))
+			{
+				return pChanges.get(i);
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Collects the reported texts.
+	 * 
+	 * @param pChanges the changes
+	 * @param pText the last reported text per component id
+	 */
+	private static void collectTexts(List<Map<String, Object>> pChanges, Map<Object, Object> pText)
+	{
+		for (int i = 0, cnt = pChanges.size(); i < cnt; i++)
+		{
+			Map<String, Object> map = pChanges.get(i);
+			
+			if (map.containsKey("text"))
+			{
+				pText.put(map.get("id"), map.get("text"));
+			}
+		}
+	}
+	
+}	// TestWebLauncher